@@ -0,0 +1,91 @@
+package Test;
+
+// Simple test class without JUnit dependencies for now
+import model.ScheduledAllowance;
+import service.AllowanceEngine;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class AllowanceEngineTest {
+
+    private static final LocalDate PERIOD_START = LocalDate.of(2025, 6, 1);
+    private static final LocalDate PERIOD_END = LocalDate.of(2025, 6, 30);
+
+    private AllowanceEngine engine;
+
+    public void setUp() {
+        engine = AllowanceEngine.build(PERIOD_START, PERIOD_END, List.of(
+                // Phone allowance raised mid-period, listed out of order
+                allowance(10001, "Phone Allowance", 1000.0, true, "2025-06-15", null),
+                allowance(10001, "Phone Allowance", 800.0, true, "2024-01-01", "2025-06-14"),
+                allowance(10001, "Rice Subsidy", 1500.0, false, null, null),
+                allowance(10001, "Transportation", 500.0, true, "2025-01-01", null),
+                // Clothing allowance that expires before the period ends
+                allowance(10002, "Clothing Allowance", 1000.0, true, "2024-01-01", "2025-06-20"),
+                allowance(10002, "Rice Subsidy", 1500.0, false, "2025-07-01", null)));
+    }
+
+    public void testResolvesLatestEffectiveAmount() {
+        AllowanceEngine.Resolved allowances = engine.resolve(10001);
+        assert allowances.getAmount("Phone Allowance") == 1000.0 : "The raise in effect at period end should apply";
+        assert allowances.getAmount("Rice Subsidy") == 1500.0 : "Open-ended allowance should apply";
+
+        AllowanceEngine.Resolved earlier = engine.resolve(10001, LocalDate.of(2025, 6, 10));
+        assert earlier.getAmount("Phone Allowance") == 800.0 : "Earlier date should see the old amount";
+
+        System.out.println("✅ testResolvesLatestEffectiveAmount passed");
+    }
+
+    public void testTaxableSplitAndOtherTypes() {
+        AllowanceEngine.Resolved allowances = engine.resolve(10001);
+        assert allowances.getTaxableTotal() == 1500.0 : "Phone and transportation are taxable";
+        assert allowances.getNonTaxableTotal() == 1500.0 : "Rice subsidy is not taxable";
+        assert allowances.getOtherTotal() == 500.0 : "Transportation is an other allowance";
+        assert allowances.getTotal() == 3000.0 : "Total should cover every type";
+
+        System.out.println("✅ testTaxableSplitAndOtherTypes passed");
+    }
+
+    public void testExpiredAndFutureAllowances() {
+        AllowanceEngine.Resolved allowances = engine.resolve(10002);
+        assert allowances.getAmount("Clothing Allowance") == 0.0 : "Expired allowance should not apply";
+        assert allowances.getAmount("Rice Subsidy") == 0.0 : "Future allowance should not apply";
+        assert engine.resolve(10003).getTotal() == 0.0 : "Employee without allowances should get none";
+        assert engine.covers(PERIOD_START, PERIOD_END) : "Engine should cover its own period";
+        assert engine.hasAllowancesInPeriod(10002) : "An allowance expiring mid-period is in the period";
+        assert !engine.hasAllowancesInPeriod(10003) : "Employee without allowances has none in the period";
+
+        AllowanceEngine later = AllowanceEngine.build(PERIOD_START, PERIOD_END,
+                List.of(allowance(10004, "Rice Subsidy", 1500.0, false, "2025-07-01", null)));
+        assert !later.hasAllowancesInPeriod(10004) : "An allowance starting after the period is not in it";
+
+        System.out.println("✅ testExpiredAndFutureAllowances passed");
+    }
+
+    private ScheduledAllowance allowance(int employeeId, String type, double amount, boolean taxable,
+                                         String effectiveDate, String expiryDate) {
+        return new ScheduledAllowance(employeeId, type, amount, taxable,
+                effectiveDate != null ? LocalDate.parse(effectiveDate) : null,
+                expiryDate != null ? LocalDate.parse(expiryDate) : null);
+    }
+
+    public static void main(String[] args) {
+        System.out.println("🧪 Running Allowance Engine Tests...");
+
+        AllowanceEngineTest test = new AllowanceEngineTest();
+
+        try {
+            test.setUp();
+            test.testResolvesLatestEffectiveAmount();
+            test.testTaxableSplitAndOtherTypes();
+            test.testExpiredAndFutureAllowances();
+
+            System.out.println("🎉 All Allowance Engine Tests Passed!");
+
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package Test;
+
+// Simple test class without JUnit dependencies for now
+import dao.CredentialsDAO;
+import dao.EmployeeDAO;
+import exception.AuthenticationException;
+import model.Employee;
+import model.UserRole;
+import model.UserSession;
+import service.AuthenticationService;
+import util.PasswordHasher;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class AuthenticationServiceTest {
+
+    private final Map<Integer, String> storedHashes = new HashMap<>();
+    private long now;
+    private AuthenticationService authService;
+
+    public void setUp() {
+        storedHashes.clear();
+        storedHashes.put(10001, PasswordHasher.hash("secret123"));
+        storedHashes.put(10002, "password1234"); // legacy plaintext
+        now = 1_000_000L;
+
+        CredentialsDAO credentials = new CredentialsDAO() {
+            @Override
+            public String getPasswordHash(int employeeId) {
+                return storedHashes.get(employeeId);
+            }
+
+            @Override
+            public boolean updatePasswordHash(int employeeId, String passwordHash) {
+                storedHashes.put(employeeId, passwordHash);
+                return true;
+            }
+        };
+        EmployeeDAO employees = new EmployeeDAO() {
+            @Override
+            public Employee getEmployeeById(int employeeId) {
+                Employee employee = new Employee("Test", "User", employeeId);
+                employee.setPosition("Payroll Manager");
+                return employee;
+            }
+        };
+
+        // 3 attempts, 15 minute lockout, 60 minute idle timeout
+        authService = new AuthenticationService(credentials, employees, 3, 15 * 60_000L, 60 * 60_000L, () -> now);
+    }
+
+    public void testPasswordHasher() {
+        String hash = PasswordHasher.hash("secret123");
+        assert PasswordHasher.isHashed(hash) : "Hash should carry the algorithm prefix";
+        assert !hash.equals(PasswordHasher.hash("secret123")) : "Each hash should use a new salt";
+        assert PasswordHasher.verify("secret123", hash) : "Correct password should verify";
+        assert !PasswordHasher.verify("secret124", hash) : "Wrong password should not verify";
+        assert PasswordHasher.needsRehash("password1234") : "Plaintext should need a rehash";
+        assert !PasswordHasher.needsRehash(hash) : "Current hash should not need a rehash";
+
+        System.out.println("✅ testPasswordHasher passed");
+    }
+
+    public void testLoginCachesRole() throws Exception {
+        UserSession session = authService.login(10001, "secret123");
+        assert session.getRole() == UserRole.PAYROLL_ADMIN : "Role should be resolved at login";
+        assert authService.isAuthorized(session.getToken(), "payroll_processing") : "Payroll admin can process payroll";
+        assert authService.getCurrentSession().isPresent() : "Login should become the current session";
+
+        System.out.println("✅ testLoginCachesRole passed");
+    }
+
+    public void testLegacyPasswordIsRehashed() throws Exception {
+        authService.login(10002, "password1234");
+        assert PasswordHasher.isHashed(storedHashes.get(10002)) : "Plaintext should be replaced by a hash";
+        assert authService.verifyPassword(10002, "password1234") : "Rehashed password should still verify";
+
+        System.out.println("✅ testLegacyPasswordIsRehashed passed");
+    }
+
+    public void testThrottling() throws Exception {
+        for (int attempt = 1; attempt <= 3; attempt++) {
+            try {
+                authService.login(10001, "wrong");
+                assert false : "Wrong password should fail";
+            } catch (AuthenticationException e) {
+                assert e.getRemainingAttempts() == 3 - attempt : "Remaining attempts should count down";
+            }
+        }
+        try {
+            authService.login(10001, "secret123");
+            assert false : "Locked account should reject even the right password";
+        } catch (AuthenticationException e) {
+            assert AuthenticationService.ERROR_ACCOUNT_LOCKED.equals(e.getErrorCode()) : "Should report lockout";
+        }
+
+        now += 16 * 60_000L;
+        UserSession session = authService.login(10001, "secret123");
+        assert session != null : "Lockout should expire";
+
+        System.out.println("✅ testThrottling passed");
+    }
+
+    public void testIdleTimeout() throws Exception {
+        UserSession session = authService.login(10001, "secret123");
+        now += 30 * 60_000L;
+        assert authService.getSession(session.getToken()).isPresent() : "Session should survive 30 idle minutes";
+        now += 59 * 60_000L;
+        assert authService.getSession(session.getToken()).isPresent() : "Access should reset the idle timer";
+        now += 61 * 60_000L;
+        assert !authService.getSession(session.getToken()).isPresent() : "Session should expire after 60 idle minutes";
+
+        System.out.println("✅ testIdleTimeout passed");
+    }
+
+    public static void main(String[] args) {
+        System.out.println("🧪 Running Authentication Service Tests...");
+
+        AuthenticationServiceTest test = new AuthenticationServiceTest();
+
+        try {
+            test.testPasswordHasher();
+
+            test.setUp();
+            test.testLoginCachesRole();
+
+            test.setUp();
+            test.testLegacyPasswordIsRehashed();
+
+            test.setUp();
+            test.testThrottling();
+
+            test.setUp();
+            test.testIdleTimeout();
+
+            System.out.println("🎉 All Authentication Service Tests Passed!");
+
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
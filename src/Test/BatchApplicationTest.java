@@ -0,0 +1,115 @@
+package Test;
+
+// Simple test class without JUnit dependencies for now
+import cli.BatchApplication;
+import cli.BatchSummary;
+import service.AttendanceImportService;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+public class BatchApplicationTest {
+
+    public void testParsesCommandLine() {
+        BatchApplication.Arguments arguments = BatchApplication.Arguments.parse(
+                new String[] {"import-attendance", "clock.csv", "--format", "csv", "--verbose"});
+        assert "import-attendance".equals(arguments.getCommand()) : "First argument should be the command";
+        assert "clock.csv".equals(arguments.positional(0, "a file")) : "Bare arguments should be positional";
+        assert "csv".equals(arguments.option("format", null)) : "Options should take the next argument";
+        assert arguments.has("verbose") : "--verbose should need no value";
+        assert "batch".equals(arguments.option("user", "batch")) : "Missing options should fall back";
+
+        try {
+            BatchApplication.Arguments.parse(new String[] {"payroll", "--period"});
+            assert false : "An option without its value should be rejected";
+        } catch (BatchApplication.UsageException expected) {
+            // expected
+        }
+
+        System.out.println("✅ testParsesCommandLine passed");
+    }
+
+    public void testParsesPeriodsAndFormats() {
+        LocalDate[] period = BatchApplication.parsePeriod("2025-06-01:2025-06-15");
+        assert period[0].equals(LocalDate.of(2025, 6, 1)) && period[1].equals(LocalDate.of(2025, 6, 15))
+                : "Period should be START:END";
+        assert BatchApplication.parseMonth("2025-06").equals(YearMonth.of(2025, 6)) : "Month should be YYYY-MM";
+
+        for (String invalid : List.of("2025-06-15:2025-06-01", "2025-06-01", "2025-06-01:June")) {
+            try {
+                BatchApplication.parsePeriod(invalid);
+                assert false : invalid + " should be rejected";
+            } catch (BatchApplication.UsageException expected) {
+                // expected
+            }
+        }
+
+        assert BatchApplication.parseImportFormat(null, "clock.dat") == AttendanceImportService.Format.FIXED_WIDTH
+                : "Format should follow the extension when not given";
+        assert BatchApplication.parseImportFormat("csv", "clock.dat") == AttendanceImportService.Format.CSV
+                : "A given format should win over the extension";
+
+        System.out.println("✅ testParsesPeriodsAndFormats passed");
+    }
+
+    public void testSummaryIsValidJson() {
+        String json = new BatchSummary()
+                .put("command", "report")
+                .put("error", "Line \"3\"\nfailed")
+                .put("netPay", 1234.5)
+                .put("exceptionsFile", null)
+                .add("runs", new BatchSummary().put("runId", 7).put("closed", true))
+                .toJson();
+
+        assert json.contains("\"error\": \"Line \\\"3\\\"\\nfailed\"") : "Strings should be escaped";
+        assert json.contains("\"netPay\": 1234.50") : "Amounts should have two decimals";
+        assert json.contains("\"exceptionsFile\": null") : "Missing values should be null";
+        assert json.contains("\"runId\": 7") && json.contains("\"closed\": true") : "Nested values should be kept";
+        assert json.startsWith("{") && json.endsWith("}") : "Summary should be one object";
+
+        System.out.println("✅ testSummaryIsValidJson passed");
+    }
+
+    public void testUsageErrorsExitWithoutTheDatabase() throws Exception {
+        int exitCode = BatchApplication.run(new String[0]);
+        assert exitCode == BatchApplication.EXIT_USAGE : "No command is a usage error";
+
+        Path directory = Files.createTempDirectory("batch-test");
+        Path summary = directory.resolve("summary.json");
+        exitCode = BatchApplication.run(new String[] {"report", "--month", "June",
+                "--out", directory.toString(), "--summary", summary.toString()});
+        assert exitCode == BatchApplication.EXIT_USAGE : "An invalid month is a usage error";
+
+        String json = new String(Files.readAllBytes(summary), StandardCharsets.UTF_8);
+        assert json.contains("\"status\": \"usage\"") && json.contains("\"exitCode\": 2")
+                : "The summary should record the outcome";
+
+        exitCode = BatchApplication.run(new String[] {"archive", "--summary", summary.toString()});
+        assert exitCode == BatchApplication.EXIT_USAGE : "Unknown commands are usage errors";
+
+        System.out.println("✅ testUsageErrorsExitWithoutTheDatabase passed");
+    }
+
+    public static void main(String[] args) {
+        System.out.println("🧪 Running Batch Application Tests...");
+
+        BatchApplicationTest test = new BatchApplicationTest();
+
+        try {
+            test.testParsesCommandLine();
+            test.testParsesPeriodsAndFormats();
+            test.testSummaryIsValidJson();
+            test.testUsageErrorsExitWithoutTheDatabase();
+
+            System.out.println("🎉 All Batch Application Tests Passed!");
+
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
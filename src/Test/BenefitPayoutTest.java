@@ -0,0 +1,105 @@
+package Test;
+
+// Simple test class without JUnit dependencies for now
+import dao.BenefitPayoutDAO;
+import model.BenefitPayout;
+import model.PayFrequency;
+import model.TaxYearToDate;
+import service.BenefitPayoutService;
+
+import java.time.LocalDate;
+
+public class BenefitPayoutTest {
+
+    private static final int EMPLOYEE_ID = 10001;
+    private static final int YEAR = 2025;
+
+    public void testThirteenthMonthProjectsOpenMonths() {
+        // Closed through October at 44,000: 440,000 earned plus November and December at the current basic
+        BenefitPayoutDAO.PayoutBasis basis = new BenefitPayoutDAO.PayoutBasis(EMPLOYEE_ID, 44000.0, 440000.0,
+                LocalDate.of(YEAR, 10, 31), 5.0, null,
+                new TaxYearToDate(EMPLOYEE_ID, YEAR, 10, 440000.0, 20000.0, 30000.0, LocalDate.of(YEAR, 10, 31)));
+
+        BenefitPayout payout = BenefitPayoutService.calculateThirteenthMonth(YEAR, basis, PayFrequency.MONTHLY);
+        assert BenefitPayout.THIRTEENTH_MONTH.equals(payout.getPayoutType()) : "Current employee should get a 13th month";
+        assert payout.getThirteenthMonth() == 44000.0 : "13th month should be a twelfth of 528,000";
+        assert payout.getTaxAdjustment() == 0.0 : "13th month under the exemption should not be taxed";
+        assert payout.getNetAmount() == 44000.0 : "Net should be the untaxed 13th month";
+
+        System.out.println("✅ testThirteenthMonthProjectsOpenMonths passed");
+    }
+
+    public void testThirteenthMonthAboveExemption() {
+        // 132,000 a month: 13th month of 132,000, of which 42,000 is taxed at the 25% bracket
+        BenefitPayoutDAO.PayoutBasis basis = new BenefitPayoutDAO.PayoutBasis(EMPLOYEE_ID, 132000.0, 12 * 132000.0,
+                LocalDate.of(YEAR, 12, 31), 0.0, null,
+                new TaxYearToDate(EMPLOYEE_ID, YEAR, 12, 12 * 132000.0, 12 * 5000.0, 0.0, LocalDate.of(YEAR, 12, 31)));
+
+        BenefitPayout payout = BenefitPayoutService.calculateThirteenthMonth(YEAR, basis, PayFrequency.MONTHLY);
+        assert payout.getThirteenthMonth() == 132000.0 : "13th month should be a twelfth of the year's basic";
+        assert payout.getTaxAdjustment() == 10500.0 : "Excess over 90,000 should be taxed at the marginal rate";
+
+        System.out.println("✅ testThirteenthMonthAboveExemption passed");
+    }
+
+    public void testThirteenthMonthProjectsSemiMonthlyPeriods() {
+        // 170,000 a month paid semi-monthly, closed through 15 October: 19 halves earned, the second half
+        // of October and four more halves to come, and the income projected at 85,000 a period
+        BenefitPayoutDAO.PayoutBasis basis = new BenefitPayoutDAO.PayoutBasis(EMPLOYEE_ID, 170000.0, 19 * 85000.0,
+                LocalDate.of(YEAR, 10, 15), 0.0, null,
+                new TaxYearToDate(EMPLOYEE_ID, YEAR, 19, 19 * 85000.0, 0.0, 0.0, LocalDate.of(YEAR, 10, 15)));
+
+        BenefitPayout payout = BenefitPayoutService.calculateThirteenthMonth(YEAR, basis, PayFrequency.SEMI_MONTHLY);
+        assert payout.getBasicEarned() == 2040000.0 : "Five open halves should be added to the basic earned";
+        assert payout.getThirteenthMonth() == 170000.0 : "13th month should be a twelfth of 2,040,000";
+        assert payout.getTaxAdjustment() == 24000.0 : "Excess over 90,000 should be taxed at the 30% bracket of a 2,040,000 year";
+
+        System.out.println("✅ testThirteenthMonthProjectsSemiMonthlyPeriods passed");
+    }
+
+    public void testFinalPayRefundsOverWithholding() {
+        // Paid through May at 44,000 (daily 2,000), separated Wednesday 18 June with 12 leave days left
+        double withheld = 5 * 3608.33;
+        BenefitPayoutDAO.PayoutBasis basis = new BenefitPayoutDAO.PayoutBasis(EMPLOYEE_ID, 44000.0, 5 * 44000.0,
+                LocalDate.of(YEAR, 5, 31), 12.0, LocalDate.of(YEAR, 6, 18),
+                new TaxYearToDate(EMPLOYEE_ID, YEAR, 5, 5 * 44000.0, 5 * 2000.0, withheld, LocalDate.of(YEAR, 5, 31)));
+
+        BenefitPayout payout = BenefitPayoutService.calculateFinalPay(YEAR, basis);
+        assert payout.isFinalPay() : "Separated employee should get a final pay";
+        assert payout.getProratedSalary() == 26000.0 : "13 workdays from 2 to 18 June should be paid";
+        assert payout.getLeaveConversion() == 24000.0 : "12 unused leave days should be converted";
+        assert payout.getThirteenthMonth() == 20500.0 : "13th month should be prorated on 246,000 earned";
+        assert payout.getTaxAdjustment() == -18041.65 : "240,000 actual income is untaxed, so withholding is refunded";
+        assert payout.getNetAmount() == 88541.65 : "Net should include the refund";
+
+        System.out.println("✅ testFinalPayRefundsOverWithholding passed");
+    }
+
+    public void testWorkdayCount() {
+        assert BenefitPayoutService.countWorkdays(LocalDate.of(YEAR, 6, 2), LocalDate.of(YEAR, 6, 8)) == 5 : "A week has 5 workdays";
+        assert BenefitPayoutService.countWorkdays(LocalDate.of(YEAR, 6, 7), LocalDate.of(YEAR, 6, 8)) == 0 : "A weekend has none";
+        assert BenefitPayoutService.countWorkdays(LocalDate.of(YEAR, 6, 9), LocalDate.of(YEAR, 6, 8)) == 0 : "An empty range has none";
+
+        System.out.println("✅ testWorkdayCount passed");
+    }
+
+    public static void main(String[] args) {
+        System.out.println("🧪 Running Benefit Payout Tests...");
+
+        BenefitPayoutTest test = new BenefitPayoutTest();
+
+        try {
+            test.testThirteenthMonthProjectsOpenMonths();
+            test.testThirteenthMonthAboveExemption();
+            test.testThirteenthMonthProjectsSemiMonthlyPeriods();
+            test.testFinalPayRefundsOverWithholding();
+            test.testWorkdayCount();
+
+            System.out.println("🎉 All Benefit Payout Tests Passed!");
+
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
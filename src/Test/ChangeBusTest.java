@@ -0,0 +1,186 @@
+package Test;
+
+// Simple test class without JUnit dependencies for now
+import dao.ChangeLogDAO;
+import model.ChangeEvent;
+import ui.KeyedTableModel;
+import util.ChangeBus;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class ChangeBusTest {
+
+    /**
+     * A change_log kept in memory; every instance in a test shares it as they would the table.
+     * An ID can be reserved and committed later, like an insert whose transaction is slow.
+     */
+    private static class FakeChangeLogDAO extends ChangeLogDAO {
+        // change_id -> {origin, event}; only committed rows
+        private final TreeMap<Long, Object[]> rows = new TreeMap<>();
+        private long nextId = 1;
+
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        public synchronized void append(ChangeEvent event, String origin) {
+            commit(reserve(), event, origin);
+        }
+
+        synchronized long reserve() {
+            return nextId++;
+        }
+
+        synchronized void commit(long changeId, ChangeEvent event, String origin) {
+            rows.put(changeId, new Object[] {origin, event});
+        }
+
+        @Override
+        public synchronized long getLatestChangeId() {
+            return rows.isEmpty() ? 0 : rows.lastKey();
+        }
+
+        @Override
+        public synchronized long readAfter(long afterId, int limit, ChangeHandler handler) {
+            long lastId = afterId;
+            int read = 0;
+            for (Map.Entry<Long, Object[]> row : rows.tailMap(afterId, false).entrySet()) {
+                if (read++ == limit) {
+                    break;
+                }
+                ChangeEvent logged = (ChangeEvent) row.getValue()[1];
+                lastId = row.getKey();
+                handler.handle(lastId, (String) row.getValue()[0], new ChangeEvent(logged.getEntity(),
+                        logged.getKind(), logged.getEntityId(), logged.getEmployeeId(), true));
+            }
+            return lastId;
+        }
+
+        @Override
+        public int purgeBefore(LocalDateTime cutoff) {
+            return 0;
+        }
+    }
+
+    public void testSubscribersReceiveTheirEntityOnly() throws Exception {
+        ChangeBus bus = new ChangeBus(new FakeChangeLogDAO(), false, 1000, 24);
+        BlockingQueue<ChangeEvent> received = new LinkedBlockingQueue<>();
+        ChangeBus.Listener listener = received::add;
+        bus.subscribe(ChangeEvent.Entity.EMPLOYEE, listener);
+
+        bus.publish(ChangeEvent.Entity.ATTENDANCE, ChangeEvent.Kind.INSERTED, 7, 10001);
+        bus.publish(ChangeEvent.Entity.EMPLOYEE, ChangeEvent.Kind.UPDATED, 10001, 10001);
+
+        ChangeEvent event = received.poll(5, TimeUnit.SECONDS);
+        assert event != null : "Employee change should be delivered";
+        assert event.getKind() == ChangeEvent.Kind.UPDATED && event.getEntityId() == 10001 : "Wrong event: " + event;
+        assert !event.isRemote() : "A change made here is not remote";
+        ChangeEvent unrelated = received.poll(200, TimeUnit.MILLISECONDS);
+        assert unrelated == null : "Attendance change should not be delivered";
+
+        bus.unsubscribe(listener);
+        bus.publish(ChangeEvent.Entity.EMPLOYEE, ChangeEvent.Kind.DELETED, 10001, 10001);
+        ChangeEvent afterUnsubscribe = received.poll(200, TimeUnit.MILLISECONDS);
+        assert afterUnsubscribe == null : "Unsubscribed listener should hear nothing";
+
+        System.out.println("✅ testSubscribersReceiveTheirEntityOnly passed");
+    }
+
+    public void testBridgeRelaysChangesOfOtherInstances() throws Exception {
+        FakeChangeLogDAO changeLog = new FakeChangeLogDAO();
+        ChangeBus here = new ChangeBus(changeLog, true, 250, 24);
+        ChangeBus there = new ChangeBus(changeLog, true, 250, 24);
+
+        BlockingQueue<ChangeEvent> receivedHere = new LinkedBlockingQueue<>();
+        BlockingQueue<ChangeEvent> receivedThere = new LinkedBlockingQueue<>();
+        here.subscribe(ChangeEvent.Entity.LEAVE_REQUEST, receivedHere::add);
+        there.subscribe(ChangeEvent.Entity.LEAVE_REQUEST, receivedThere::add);
+
+        // Let both instances take their starting point in the log
+        Thread.sleep(600);
+        there.publish(ChangeEvent.Entity.LEAVE_REQUEST, ChangeEvent.Kind.UPDATED, 42, 10002);
+
+        ChangeEvent local = receivedThere.poll(5, TimeUnit.SECONDS);
+        assert local != null && !local.isRemote() : "Publisher should get its own change directly";
+
+        ChangeEvent remote = receivedHere.poll(5, TimeUnit.SECONDS);
+        assert remote != null : "Other instance's change should arrive through the log";
+        assert remote.isRemote() && remote.getEntityId() == 42 : "Wrong relayed event: " + remote;
+        ChangeEvent echoed = receivedThere.poll(600, TimeUnit.MILLISECONDS);
+        assert echoed == null : "Own changes should not come back from the log";
+
+        System.out.println("✅ testBridgeRelaysChangesOfOtherInstances passed");
+    }
+
+    public void testBridgeDeliversLateCommitsOnce() throws Exception {
+        FakeChangeLogDAO changeLog = new FakeChangeLogDAO();
+        ChangeBus here = new ChangeBus(changeLog, true, 250, 24);
+        BlockingQueue<ChangeEvent> received = new LinkedBlockingQueue<>();
+        here.subscribe(ChangeEvent.Entity.ATTENDANCE, received::add);
+        Thread.sleep(600);
+
+        // Another instance's slow transaction takes an ID before a quick one commits the next
+        long slowId = changeLog.reserve();
+        changeLog.append(new ChangeEvent(ChangeEvent.Entity.ATTENDANCE, ChangeEvent.Kind.INSERTED, 2, 10001), "other");
+
+        ChangeEvent quick = received.poll(5, TimeUnit.SECONDS);
+        assert quick != null && quick.getEntityId() == 2 : "The committed change should arrive: " + quick;
+
+        changeLog.commit(slowId, new ChangeEvent(ChangeEvent.Entity.ATTENDANCE, ChangeEvent.Kind.INSERTED, 1, 10001), "other");
+        ChangeEvent late = received.poll(5, TimeUnit.SECONDS);
+        assert late != null && late.getEntityId() == 1 : "A change committed behind a later ID should still arrive: " + late;
+
+        ChangeEvent repeated = received.poll(600, TimeUnit.MILLISECONDS);
+        assert repeated == null : "Re-reading the gap should not deliver a change twice: " + repeated;
+
+        System.out.println("✅ testBridgeDeliversLateCommitsOnce passed");
+    }
+
+    public void testKeyedTableModelAppliesRowChanges() {
+        KeyedTableModel model = new KeyedTableModel(new String[] {"ID", "Name", "Status"});
+        model.addRow(new Object[] {1, "Garcia", "Pending"});
+        model.addRow(new Object[] {2, "Lim", "Pending"});
+
+        boolean appended = model.upsertRow(new Object[] {2, "Lim", "Approved"});
+        assert !appended && model.getRowCount() == 2 : "Existing key should be updated in place";
+        assert "Approved".equals(model.getValueAt(1, 2)) : "Changed cell should be set";
+
+        appended = model.upsertRow(new Object[] {3, "Aquino", "Pending"});
+        assert appended : "New key should be appended";
+        assert model.indexOfKey(3) == 2 : "Appended row should be last";
+
+        boolean removed = model.removeRowByKey(1);
+        assert removed && model.getRowCount() == 2 : "Row should be removed by key";
+        removed = model.removeRowByKey(1);
+        assert !removed : "Removing a missing key should do nothing";
+        assert model.indexOfKey(2) == 0 && !model.isCellEditable(0, 1) : "Rows should shift and stay read-only";
+
+        System.out.println("✅ testKeyedTableModelAppliesRowChanges passed");
+    }
+
+    public static void main(String[] args) {
+        System.out.println("🧪 Running Change Bus Tests...");
+
+        ChangeBusTest test = new ChangeBusTest();
+
+        try {
+            test.testSubscribersReceiveTheirEntityOnly();
+            test.testBridgeRelaysChangesOfOtherInstances();
+            test.testBridgeDeliversLateCommitsOnce();
+            test.testKeyedTableModelAppliesRowChanges();
+
+            System.out.println("🎉 All Change Bus Tests Passed!");
+
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
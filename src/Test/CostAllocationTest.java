@@ -0,0 +1,115 @@
+package Test;
+
+// Simple test class without JUnit dependencies for now
+import model.CostAllocation;
+import model.CostLine;
+import service.CostAllocationService;
+
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class CostAllocationTest {
+
+    // 25,000 a month in IT: SSS 1,125, PhilHealth 625, Pag-IBIG 200
+    private static CostLine sampleLine(int employeeId) {
+        return new CostLine(employeeId, "Romualdez", "Alice", 4, 2500000L,
+                2450000L, 100001L, 300000L, 112500L, 62500L, 20000L);
+    }
+
+    public void testApportionAddsUpExactly() {
+        long[] parts = CostAllocationService.apportion(100001L, new int[] {3333, 3333, 3334});
+        assert parts[0] + parts[1] + parts[2] == 100001L : "Parts should add up to the amount";
+        assert parts[2] == 33341L : "Largest remainder should get the extra centavo: " + parts[2];
+
+        long[] none = CostAllocationService.apportion(500L, new int[] {0, 0});
+        assert none[0] == 0L && none[1] == 0L : "No weight should allot nothing";
+
+        System.out.println("✅ testApportionAddsUpExactly passed");
+    }
+
+    public void testResolveShares() {
+        Map<Integer, Integer> home = CostAllocationService.resolveShares(4, null);
+        assert home.size() == 1 && home.get(4) == CostAllocation.FULL_SHARE : "No splits should charge the home department";
+
+        Map<Integer, Integer> partial = new LinkedHashMap<>();
+        partial.put(6, 4000);
+        Map<Integer, Integer> shares = CostAllocationService.resolveShares(4, partial);
+        assert shares.get(6) == 4000 && shares.get(4) == 6000 : "Rest of a partial split should stay home: " + shares;
+
+        Map<Integer, Integer> over = new LinkedHashMap<>();
+        over.put(5, 10000);
+        over.put(6, 5000);
+        shares = CostAllocationService.resolveShares(4, over);
+        assert shares.get(5) + shares.get(6) == CostAllocation.FULL_SHARE : "Splits over 100% should be scaled down";
+        assert !shares.containsKey(4) : "Fully split employee should not be charged home";
+
+        System.out.println("✅ testResolveShares passed");
+    }
+
+    public void testSplitEmployeeRollsUp() {
+        CostAllocation company = CostAllocation.company("MotorPH", YearMonth.of(2025, 6), 2, 0, 7);
+        company.child(4, "Information Technology");
+        company.child(6, "Operations");
+
+        Map<Integer, Integer> split = new LinkedHashMap<>();
+        split.put(4, 7000);
+        split.put(6, 3000);
+        CostAllocationService.allocate(company, sampleLine(10008), split, 2.0);
+        CostAllocationService.allocate(company, sampleLine(10009),
+                CostAllocationService.resolveShares(0, null), 2.0);
+
+        // Employer share per employee: SSS 2,250 + PhilHealth 625 + Pag-IBIG 200
+        assert company.getEmployerShare() == 2 * 307500L : "Company employer share: " + company.getEmployerShare();
+
+        CostAllocation it = company.getChild(4);
+        CostAllocation operations = company.getChild(6);
+        CostAllocation unassigned = company.getChild(0);
+        assert unassigned != null && unassigned.getHeadcount() == 1.0 : "Unmapped position should be unassigned";
+        assert it.getHeadcount() == 0.7 && operations.getHeadcount() == 0.3 : "Headcount should follow the split";
+        assert it.getTotalCost() + operations.getTotalCost() + unassigned.getTotalCost() == company.getTotalCost()
+                : "Departments should add up to the company";
+        assert it.getOvertimePay() + operations.getOvertimePay() == 100001L : "Split overtime should lose no centavo";
+
+        CostAllocation employee = operations.getChild(10008);
+        assert employee != null && employee.getLevel() == CostAllocation.Level.EMPLOYEE : "Drill-down should reach the employee";
+        assert employee.getTotalCost() == operations.getTotalCost() : "Only employee in Operations carries its cost";
+
+        System.out.println("✅ testSplitEmployeeRollsUp passed");
+    }
+
+    public void testClosedPeriodIdentity() {
+        CostAllocation closed = CostAllocation.company("MotorPH", YearMonth.of(2025, 6), 2, 0, 7);
+        assert closed.isClosed() : "Period with every run approved should be closed";
+        assert !CostAllocation.company("MotorPH", YearMonth.of(2025, 6), 1, 1, 6).isClosed()
+                : "Period with a draft run should stay open";
+        assert closed.isSameRuns(CostAllocation.company("MotorPH", YearMonth.of(2025, 6), 2, 0, 7))
+                : "Same runs should reuse the cached tree";
+        assert !closed.isSameRuns(CostAllocation.company("MotorPH", YearMonth.of(2025, 6), 3, 0, 9))
+                : "Off-cycle run should rebuild the tree";
+
+        closed.setBudget(50000000L);
+        assert closed.getBudgetVariance() == 50000000L : "Empty period should leave the whole budget";
+
+        System.out.println("✅ testClosedPeriodIdentity passed");
+    }
+
+    public static void main(String[] args) {
+        System.out.println("🧪 Running Cost Allocation Tests...");
+
+        CostAllocationTest test = new CostAllocationTest();
+
+        try {
+            test.testApportionAddsUpExactly();
+            test.testResolveShares();
+            test.testSplitEmployeeRollsUp();
+            test.testClosedPeriodIdentity();
+
+            System.out.println("🎉 All Cost Allocation Tests Passed!");
+
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
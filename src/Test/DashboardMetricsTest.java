@@ -0,0 +1,107 @@
+package Test;
+
+// Simple test class without JUnit dependencies for now
+import dao.WorkforceMetricsDAO;
+import model.WorkforceMetrics;
+import util.DashboardMetrics;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DashboardMetricsTest {
+
+    /**
+     * Counts as the database would return them: 40 employees, 2 new, 30 present, 4 late, 5 pending
+     */
+    private static class FakeMetricsDAO extends WorkforceMetricsDAO {
+        final AtomicInteger loads = new AtomicInteger();
+
+        @Override
+        public WorkforceMetrics load(LocalDate today, LocalDate hiredSince) {
+            loads.incrementAndGet();
+            return new WorkforceMetrics(today, 40, 2, 30, 4, 5, LocalDate.of(2025, 6, 30), 1500000.0, 1200000.0);
+        }
+    }
+
+    private static WorkforceMetrics awaitMetrics(BlockingQueue<WorkforceMetrics> pushed,
+                                                 java.util.function.Predicate<WorkforceMetrics> expected)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            WorkforceMetrics metrics = pushed.poll(100, TimeUnit.MILLISECONDS);
+            if (metrics != null && expected.test(metrics)) {
+                return metrics;
+            }
+        }
+        throw new AssertionError("Expected metrics were not pushed");
+    }
+
+    public void testWritesAdjustCountersWithoutQuerying() throws Exception {
+        FakeMetricsDAO dao = new FakeMetricsDAO();
+        DashboardMetrics metrics = new DashboardMetrics(dao, 30, 3600);
+
+        // Nothing listens yet, so writes are not counted and nothing is read
+        metrics.employeeAdded();
+        assert metrics.getCurrent() == null : "Counters should not exist before a dashboard listens";
+        assert dao.loads.get() == 0 : "No dashboard should mean no query";
+
+        BlockingQueue<WorkforceMetrics> pushed = new LinkedBlockingQueue<>();
+        metrics.addListener(pushed::add);
+        WorkforceMetrics seeded = awaitMetrics(pushed, m -> m.getHeadcount() == 40);
+        assert seeded.getAttendanceRate() == 75.0 : "30 of 40 present should be 75%";
+        int loadsAfterSeed = dao.loads.get();
+
+        metrics.employeeAdded();
+        metrics.attendanceRecorded(LocalDate.now(), LocalTime.of(8, 20));
+        metrics.attendanceRecorded(LocalDate.now().minusDays(1), LocalTime.of(9, 0));
+        metrics.leaveStatusChanged("Pending", "Approved");
+        metrics.leavesDecided(2);
+
+        WorkforceMetrics live = awaitMetrics(pushed, m -> m.getPendingLeaves() == 2);
+        assert live.getHeadcount() == 41 && live.getNewHires() == 3 : "Hire should add to headcount and new hires";
+        assert live.getPresentToday() == 31 && live.getLateToday() == 5 : "Only today's late punch should count";
+        assert dao.loads.get() == loadsAfterSeed : "Known deltas should not query: " + dao.loads.get();
+
+        System.out.println("✅ testWritesAdjustCountersWithoutQuerying passed");
+    }
+
+    public void testUnknownDeltaRecounts() throws Exception {
+        FakeMetricsDAO dao = new FakeMetricsDAO();
+        DashboardMetrics metrics = new DashboardMetrics(dao, 30, 3600);
+        BlockingQueue<WorkforceMetrics> pushed = new LinkedBlockingQueue<>();
+        metrics.addListener(pushed::add);
+        awaitMetrics(pushed, m -> m.getHeadcount() == 40);
+
+        metrics.employeeAdded();
+        awaitMetrics(pushed, m -> m.getHeadcount() == 41);
+        int loadsBefore = dao.loads.get();
+
+        // An edited punch may change anything; the counters are read again
+        metrics.attendanceChanged(null);
+        awaitMetrics(pushed, m -> m.getHeadcount() == 40);
+        assert dao.loads.get() > loadsBefore : "Unknown change should recount";
+
+        System.out.println("✅ testUnknownDeltaRecounts passed");
+    }
+
+    public static void main(String[] args) {
+        System.out.println("🧪 Running Dashboard Metrics Tests...");
+
+        DashboardMetricsTest test = new DashboardMetricsTest();
+
+        try {
+            test.testWritesAdjustCountersWithoutQuerying();
+            test.testUnknownDeltaRecounts();
+
+            System.out.println("🎉 All Dashboard Metrics Tests Passed!");
+
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
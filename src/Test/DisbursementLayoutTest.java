@@ -0,0 +1,88 @@
+package Test;
+
+// Simple test class without JUnit dependencies for now
+import model.DisbursementFile;
+import model.DisbursementRecord;
+import service.CsvDisbursementLayout;
+import service.FixedWidthDisbursementLayout;
+
+import java.time.LocalDate;
+
+public class DisbursementLayoutTest {
+
+    private static DisbursementFile newFile(String layout) {
+        return new DisbursementFile(7, "BDO", layout, LocalDate.of(2025, 6, 30), "MotorPH", "0012-3456-78");
+    }
+
+    public void testFixedWidthRecords() throws Exception {
+        FixedWidthDisbursementLayout layout = new FixedWidthDisbursementLayout();
+        DisbursementFile file = newFile(layout.getName());
+        StringBuilder out = new StringBuilder();
+
+        layout.writeHeader(out, file);
+        DisbursementRecord first = new DisbursementRecord(10001, "BDO", "1234-5678-90", "Señor, Juan Dela Cruz", 4525050L);
+        DisbursementRecord second = new DisbursementRecord(10002, "BDO", "0987654321", "Reyes, Isabella", 2200000L);
+        layout.writeDetail(out, file, first, file.add(first));
+        layout.writeDetail(out, file, second, file.add(second));
+        layout.writeTrailer(out, file);
+
+        String[] lines = out.toString().split("\r\n");
+        assert lines.length == 4 : "Header, two details and a trailer expected";
+        for (String line : lines) {
+            assert line.length() == 80 : "Every record should be 80 columns: " + line;
+        }
+        assert lines[0].startsWith("HBDO       MOTORPH") : "Header should carry bank and company";
+        assert lines[0].substring(57, 65).equals("20250630") : "Header should carry the credit date";
+        assert lines[1].substring(23, 53).startsWith("SENOR, JUAN DELA CRUZ") : "Names should be upper-case ASCII";
+        assert lines[1].substring(53, 68).equals("000000004525050") : "Amounts should be zero-filled centavos";
+        assert lines[3].startsWith("T000002000000006725050000002222222211")
+                : "Trailer should carry count, control total and hash total: " + lines[3];
+
+        System.out.println("✅ testFixedWidthRecords passed");
+    }
+
+    public void testCsvRecords() throws Exception {
+        CsvDisbursementLayout layout = new CsvDisbursementLayout();
+        DisbursementFile file = newFile(layout.getName());
+        StringBuilder out = new StringBuilder();
+
+        DisbursementRecord record = new DisbursementRecord(10003, "BDO", "555", "Aquino, Bianca Sofia", 3000005L);
+        layout.writeHeader(out, file);
+        layout.writeDetail(out, file, record, file.add(record));
+        layout.writeTrailer(out, file);
+
+        String[] lines = out.toString().split("\n");
+        assert lines[1].equals("D,1,555,\"Aquino, Bianca Sofia\",30000.05,10003") : "Unexpected detail: " + lines[1];
+        assert lines[2].equals("T,1,30000.05,555") : "Unexpected trailer: " + lines[2];
+
+        System.out.println("✅ testCsvRecords passed");
+    }
+
+    public void testHashTotalWraps() {
+        DisbursementFile file = newFile("CSV");
+        DisbursementRecord large = new DisbursementRecord(10004, "BDO", "999999999999999", "A", 1L);
+        file.add(large);
+        file.add(large);
+        assert file.getHashTotal() == 999999999999998L : "Hash total should stay within 15 digits";
+
+        System.out.println("✅ testHashTotalWraps passed");
+    }
+
+    public static void main(String[] args) {
+        System.out.println("🧪 Running Disbursement Layout Tests...");
+
+        DisbursementLayoutTest test = new DisbursementLayoutTest();
+
+        try {
+            test.testFixedWidthRecords();
+            test.testCsvRecords();
+            test.testHashTotalWraps();
+
+            System.out.println("🎉 All Disbursement Layout Tests Passed!");
+
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
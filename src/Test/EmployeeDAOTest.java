@@ -129,8 +129,9 @@ public class EmployeeDAOTest {
 
         // Test invalid employee ID
         Employee invalidEmployee = new Employee();
-        invalidEmployee.setEmployeeId(-1);
         try {
+            // The model already rejects it; the DAO checks again for employees built elsewhere
+            invalidEmployee.setEmployeeId(-1);
             employeeDAO.insertEmployee(invalidEmployee);
             assert false : "Should throw exception for invalid employee ID";
         } catch (IllegalArgumentException e) {
@@ -139,8 +140,8 @@ public class EmployeeDAOTest {
 
         // Test missing first name
         invalidEmployee.setEmployeeId(99998);
-        invalidEmployee.setFirstName("");
         try {
+            invalidEmployee.setFirstName("");
             employeeDAO.insertEmployee(invalidEmployee);
             assert false : "Should throw exception for missing first name";
         } catch (IllegalArgumentException e) {
@@ -153,6 +154,7 @@ public class EmployeeDAOTest {
     // Main method to run all tests
     public static void main(String[] args) {
         System.out.println("🧪 Running Employee DAO Tests...");
+        TestDatabase.useEmbeddedUnlessConfigured();
         
         EmployeeDAOTest test = new EmployeeDAOTest();
         
@@ -0,0 +1,72 @@
+package Test;
+
+// Simple test class without JUnit dependencies for now
+import util.Metrics;
+import util.MetricsExporter;
+
+public class MetricsTest {
+
+    public void testCounterIsSharedByNameAndLabels() {
+        Metrics.Counter first = Metrics.counter("test_events_total", "Test events", "kind", "a");
+        Metrics.Counter second = Metrics.counter("test_events_total", "Test events", "kind", "a");
+        Metrics.Counter other = Metrics.counter("test_events_total", "Test events", "kind", "b");
+
+        first.increment();
+        second.add(2);
+
+        assert first == second : "Same name and labels should return the same counter";
+        assert first.getCount() == 3 : "Counter should be 3";
+        assert other.getCount() == 0 : "Different labels should be a different counter";
+
+        System.out.println("✅ testCounterIsSharedByNameAndLabels passed");
+    }
+
+    public void testHistogramBuckets() {
+        Metrics.Histogram histogram = Metrics.histogram("test_sizes", "Test sizes", new double[]{10, 100, 1000});
+        histogram.observe(5);
+        histogram.observe(10);
+        histogram.observe(50);
+        histogram.observe(5000);
+
+        long[] cumulative = histogram.getCumulativeCounts();
+        assert cumulative[0] == 2 : "Two values should be <= 10";
+        assert cumulative[1] == 3 : "Three values should be <= 100";
+        assert cumulative[2] == 3 : "Three values should be <= 1000";
+        assert histogram.getCount() == 4 : "Count should include values above the last bucket";
+        assert Math.abs(histogram.getMax() - 5000) < 0.001 : "Max should be 5000";
+        assert Math.abs(histogram.getSum() - 5065) < 0.001 : "Sum should be 5065";
+
+        System.out.println("✅ testHistogramBuckets passed");
+    }
+
+    public void testPrometheusRendering() {
+        Metrics.Timer timer = Metrics.timer("test_call_seconds", "Test calls", "method", "load");
+        timer.recordNanos(2_000_000);
+
+        String text = MetricsExporter.renderPrometheus();
+        assert text.contains("# TYPE test_call_seconds histogram") : "Should declare histogram type";
+        assert text.contains("test_call_seconds_bucket{method=\"load\",le=\"0.0025\"} 1") : "2 ms should fall in the 2.5 ms bucket";
+        assert text.contains("test_call_seconds_count{method=\"load\"} 1") : "Should render count";
+        assert text.contains("test_events_total{kind=\"a\"} 3") : "Should render counters";
+
+        System.out.println("✅ testPrometheusRendering passed");
+    }
+
+    public static void main(String[] args) {
+        System.out.println("🧪 Running Metrics Tests...");
+
+        MetricsTest test = new MetricsTest();
+
+        try {
+            test.testCounterIsSharedByNameAndLabels();
+            test.testHistogramBuckets();
+            test.testPrometheusRendering();
+
+            System.out.println("🎉 All Metrics Tests Passed!");
+
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
@@ -207,6 +207,7 @@ public class MotorPHPayrollSystemTest {
     // Main method to run all tests
     public static void main(String[] args) {
         setUpClass();
+        TestDatabase.useEmbeddedUnlessConfigured();
         
         MotorPHPayrollSystemTest test = new MotorPHPayrollSystemTest();
         
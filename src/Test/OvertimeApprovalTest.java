@@ -0,0 +1,156 @@
+package Test;
+
+// Simple test class without JUnit dependencies for now
+import dao.OvertimeDAO;
+import model.Overtime;
+import model.OvertimeApprovalResult;
+import service.OvertimeApprovalService;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class OvertimeApprovalTest {
+
+    private List<Overtime> stored;
+    private OvertimeApprovalService approvalService;
+
+    public void setUp() {
+        stored = new ArrayList<>();
+        stored.add(overtime(1, 10001, "2025-03-03", 2.0));
+        stored.add(overtime(2, 10001, "2025-03-04", 7.0));
+        stored.add(overtime(3, 10001, "2025-03-04", 6.0));  // 13 hours on the 4th with #2
+        stored.add(overtime(4, 10002, "2025-03-04", 6.0));  // other employee, same day
+        stored.add(overtime(5, 10002, "2025-03-05", 1.5));
+        stored.get(4).setApproved(true);                    // already decided
+
+        OvertimeDAO dao = new OvertimeDAO() {
+            @Override
+            public List<Overtime> getPendingOvertime(LocalDate from, LocalDate to) {
+                List<Overtime> matches = new ArrayList<>();
+                for (Overtime overtime : stored) {
+                    LocalDate date = overtime.getDateAsLocalDate();
+                    if (overtime.isPending() && !date.isBefore(from) && !date.isAfter(to)) {
+                        matches.add(overtime);
+                    }
+                }
+                return matches;
+            }
+
+            @Override
+            public List<Integer> decidePendingBatch(Map<Integer, Boolean> decisions, Integer decidedBy) {
+                for (Overtime overtime : stored) {
+                    Boolean approve = decisions.get(overtime.getOvertimeId());
+                    if (approve != null) {
+                        overtime.setApproved(approve);
+                        overtime.setRejected(!approve);
+                    }
+                }
+                return new ArrayList<>();
+            }
+
+            @Override
+            public Map<Integer, Map<LocalDate, Double>> getApprovedHoursByEmployeeDay(LocalDate from, LocalDate to) {
+                Map<Integer, Map<LocalDate, Double>> hours = new HashMap<>();
+                for (Overtime overtime : stored) {
+                    LocalDate date = overtime.getDateAsLocalDate();
+                    if (overtime.isApproved() && !date.isBefore(from) && !date.isAfter(to)) {
+                        hours.computeIfAbsent(overtime.getEmployeeId(), id -> new HashMap<>())
+                                .merge(date, overtime.getHours(), Double::sum);
+                    }
+                }
+                return hours;
+            }
+        };
+        approvalService = new OvertimeApprovalService(dao);
+    }
+
+    public void testFindOverDailyLimit() {
+        List<Overtime> candidates = List.of(overtime(1, 10001, "2025-03-04", 7.0),
+                overtime(2, 10001, "2025-03-04", 6.0),
+                overtime(3, 10001, "2025-03-05", 12.0),
+                overtime(4, 10002, "2025-03-04", 0.0));
+
+        Set<Integer> overLimit = OvertimeApprovalService.findOverDailyLimit(candidates, Overtime.MAX_HOURS_PER_DAY);
+        assert overLimit.contains(1) && overLimit.contains(2) : "Both rows of a 13 hour day should be flagged";
+        assert !overLimit.contains(3) : "Exactly the daily limit is allowed";
+        assert overLimit.contains(4) : "Zero hours is not valid overtime";
+
+        Map<Integer, Map<LocalDate, Double>> approved = Map.of(10001, Map.of(LocalDate.of(2025, 3, 5), 0.5));
+        Set<Integer> withApproved = OvertimeApprovalService.findOverDailyLimit(candidates, approved, Overtime.MAX_HOURS_PER_DAY);
+        assert withApproved.contains(3) : "Hours already approved that day should count towards the limit";
+
+        System.out.println("✅ testFindOverDailyLimit passed");
+    }
+
+    public void testApproveAllPending() {
+        OvertimeApprovalResult result = approvalService.process(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31),
+                null, Collections.emptyList(), 10005);
+
+        assert result.getApprovedIds().equals(List.of(1, 4)) : "Rows 1 and 4 should be approved";
+        assert result.getApprovedHours() == 8.0 : "Approved hours should be summed";
+        assert result.getFlagged().size() == 2 : "Rows 2 and 3 should be flagged";
+        assert stored.get(1).isPending() && stored.get(2).isPending() : "Flagged rows should stay pending";
+
+        System.out.println("✅ testApproveAllPending passed");
+    }
+
+    public void testApprovedHoursCountTowardsLimit() {
+        stored.add(overtime(6, 10002, "2025-03-05", 11.0)); // 12.5 hours with approved row 5
+        OvertimeApprovalResult result = approvalService.process(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31),
+                List.of(6), Collections.emptyList(), 10005);
+
+        assert result.getApprovedIds().isEmpty() : "Row 6 would take the day past the limit";
+        assert result.getFlagged().size() == 1 && stored.get(5).isPending() : "Row 6 should be flagged and stay pending";
+
+        System.out.println("✅ testApprovedHoursCountTowardsLimit passed");
+    }
+
+    public void testRejectAndSkip() {
+        OvertimeApprovalResult result = approvalService.process(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31),
+                List.of(2, 5), List.of(3), 10005);
+
+        assert result.getApprovedIds().equals(List.of(2)) : "Row 2 alone is within the daily limit";
+        assert result.getRejectedIds().equals(List.of(3)) : "Row 3 should be rejected";
+        assert result.getSkippedIds().equals(List.of(5)) : "Already approved row should be skipped";
+        assert stored.get(2).isRejected() : "Rejected row should be marked rejected";
+
+        System.out.println("✅ testRejectAndSkip passed");
+    }
+
+    private Overtime overtime(int id, int employeeId, String date, double hours) {
+        Overtime overtime = new Overtime(employeeId, Date.valueOf(date), hours, "Line support");
+        overtime.setOvertimeId(id);
+        return overtime;
+    }
+
+    public static void main(String[] args) {
+        System.out.println("🧪 Running Overtime Approval Tests...");
+
+        OvertimeApprovalTest test = new OvertimeApprovalTest();
+
+        try {
+            test.testFindOverDailyLimit();
+
+            test.setUp();
+            test.testApproveAllPending();
+
+            test.setUp();
+            test.testApprovedHoursCountTowardsLimit();
+
+            test.setUp();
+            test.testRejectAndSkip();
+
+            System.out.println("🎉 All Overtime Approval Tests Passed!");
+
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
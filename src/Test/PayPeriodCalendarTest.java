@@ -0,0 +1,104 @@
+package Test;
+
+// Simple test class without JUnit dependencies for now
+import model.PayFrequency;
+import model.PayPeriod;
+import model.TaxYearToDate;
+import service.PayPeriodCalendar;
+import service.WithholdingTaxEngine;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class PayPeriodCalendarTest {
+
+    public void testPeriodsContainingADate() {
+        LocalDate date = LocalDate.of(2025, 6, 18);
+        assert PayPeriodCalendar.periodContaining(PayFrequency.MONTHLY, date).getEnd().equals(LocalDate.of(2025, 6, 30))
+                : "Monthly period should be the calendar month";
+        assert PayPeriodCalendar.periodContaining(PayFrequency.SEMI_MONTHLY, date).getStart().equals(LocalDate.of(2025, 6, 16))
+                : "The 18th should fall in the second half";
+        PayPeriod week = PayPeriodCalendar.periodContaining(PayFrequency.WEEKLY, date);
+        assert week.getStart().equals(LocalDate.of(2025, 6, 16)) && week.getEnd().equals(LocalDate.of(2025, 6, 22))
+                : "Weeks should run Monday to Sunday";
+
+        assert PayPeriodCalendar.latestClosedPeriod(PayFrequency.SEMI_MONTHLY, LocalDate.of(2025, 6, 15))
+                .getStart().equals(LocalDate.of(2025, 6, 1)) : "A period ending on the date is due";
+        assert PayPeriodCalendar.latestClosedPeriod(PayFrequency.SEMI_MONTHLY, LocalDate.of(2025, 6, 14))
+                .getStart().equals(LocalDate.of(2025, 5, 16)) : "An open period is not due yet";
+
+        System.out.println("✅ testPeriodsContainingADate passed");
+    }
+
+    public void testPeriodsInMonthAndYear() {
+        List<PayPeriod> weeks = PayPeriodCalendar.periodsInMonth(PayFrequency.WEEKLY, 2025, 6);
+        assert weeks.size() == 5 : "June 2025 has five Sundays";
+        assert weeks.get(0).getStart().equals(LocalDate.of(2025, 5, 26)) : "A week belongs to the month it ends in";
+        assert PayPeriodCalendar.indexInMonth(weeks.get(4)) == 5 : "Last week should be the fifth";
+
+        PayPeriod firstHalf = PayPeriodCalendar.periodContaining(PayFrequency.SEMI_MONTHLY, LocalDate.of(2025, 1, 10));
+        assert PayPeriodCalendar.remainingPeriodsInYear(firstHalf) == 23 : "January's first half leaves 23";
+        PayPeriod firstWeek = PayPeriodCalendar.periodContaining(PayFrequency.WEEKLY, LocalDate.of(2025, 1, 5));
+        assert PayPeriodCalendar.remainingPeriodsInYear(firstWeek) == 51 : "2025 has 52 weeks ending in it";
+        PayPeriod lastWeek = PayPeriodCalendar.periodContaining(PayFrequency.WEEKLY, LocalDate.of(2025, 12, 28));
+        assert WithholdingTaxEngine.isTrueUpPeriod(lastWeek) : "Week ending 28 December closes 2025";
+
+        System.out.println("✅ testPeriodsInMonthAndYear passed");
+    }
+
+    public void testRecognizesPeriodsFromDates() {
+        assert PayPeriodCalendar.fromDates(LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 15)).getFrequency()
+                == PayFrequency.SEMI_MONTHLY : "1st to 15th is a semi-monthly period";
+        assert PayPeriodCalendar.fromDates(LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 30)).getFrequency()
+                == PayFrequency.MONTHLY : "A whole month is a monthly period";
+        assert PayPeriodCalendar.fromDates(LocalDate.of(2025, 6, 3), LocalDate.of(2025, 6, 20)) == null
+                : "An ad hoc range is not a period";
+
+        System.out.println("✅ testRecognizesPeriodsFromDates passed");
+    }
+
+    public void testMonthlyAmountsAddUp() {
+        PayPeriod firstHalf = PayPeriodCalendar.periodContaining(PayFrequency.SEMI_MONTHLY, LocalDate.of(2025, 6, 1));
+        PayPeriod secondHalf = PayPeriodCalendar.periodContaining(PayFrequency.SEMI_MONTHLY, LocalDate.of(2025, 6, 30));
+        assert PayPeriodCalendar.splitMonthlyAmount(1000.01, firstHalf) == 500.01 : "First half should take the rounded share";
+        assert PayPeriodCalendar.splitMonthlyAmount(1000.01, secondHalf) == 500.0 : "Second half should take the remainder";
+
+        double weeklyTotal = 0.0;
+        for (PayPeriod week : PayPeriodCalendar.periodsInMonth(PayFrequency.WEEKLY, 2025, 6)) {
+            weeklyTotal += PayPeriodCalendar.splitMonthlyAmount(1125.0, week);
+        }
+        assert Math.abs(weeklyTotal - 1125.0) < 0.001 : "Weekly shares should add up to the month";
+
+        System.out.println("✅ testMonthlyAmountsAddUp passed");
+    }
+
+    public void testSemiMonthlyWithholding() {
+        // 25,000 net taxable per half is 600,000 a year: 62,500 over 24 periods
+        PayPeriod firstHalf = PayPeriodCalendar.periodContaining(PayFrequency.SEMI_MONTHLY, LocalDate.of(2025, 1, 1));
+        double tax = WithholdingTaxEngine.calculatePeriodWithholding(TaxYearToDate.empty(10001, 2025), 26000.0, 1000.0,
+                WithholdingTaxEngine.remainingPeriods(firstHalf));
+        assert tax == 2604.17 : "First half of January should withhold a 24th of the annual tax";
+
+        System.out.println("✅ testSemiMonthlyWithholding passed");
+    }
+
+    public static void main(String[] args) {
+        System.out.println("🧪 Running Pay Period Calendar Tests...");
+
+        PayPeriodCalendarTest test = new PayPeriodCalendarTest();
+
+        try {
+            test.testPeriodsContainingADate();
+            test.testPeriodsInMonthAndYear();
+            test.testRecognizesPeriodsFromDates();
+            test.testMonthlyAmountsAddUp();
+            test.testSemiMonthlyWithholding();
+
+            System.out.println("🎉 All Pay Period Calendar Tests Passed!");
+
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
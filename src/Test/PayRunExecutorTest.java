@@ -0,0 +1,279 @@
+package Test;
+
+// Simple test class without JUnit dependencies for now
+import dao.PayRunDAO;
+import dao.PayrollPartitionDAO;
+import model.Employee;
+import model.PayRun;
+import model.PayRunPartition;
+import model.Payroll;
+import service.PayRunExecutor;
+import service.PayrollCalculator;
+import util.ConfigurationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PayRunExecutorTest {
+    private static final LocalDate START = LocalDate.of(2025, 6, 1);
+    private static final LocalDate END = LocalDate.of(2025, 6, 15);
+
+    /**
+     * payroll_run_partition and the run's snapshot kept in memory; every executor in a test
+     * shares it as they would the tables. Claims go stale only when a test expires them.
+     */
+    private static class FakePartitionDAO extends PayrollPartitionDAO {
+        // {first, last, status, claimedBy, attempts, stale}
+        private final List<Object[]> partitions = new ArrayList<>();
+        private final Map<Integer, Integer> storedBy = new ConcurrentHashMap<>();
+        private final AtomicInteger finished = new AtomicInteger();
+
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        public synchronized boolean plan(int runId, List<int[]> ranges) {
+            for (Object[] partition : partitions) {
+                PayRunPartition.Status status = (PayRunPartition.Status) partition[2];
+                if (status == PayRunPartition.Status.PENDING || status == PayRunPartition.Status.RUNNING) {
+                    return false;
+                }
+            }
+            partitions.clear();
+            storedBy.clear();
+            for (int[] range : ranges) {
+                partitions.add(new Object[] {range[0], range[1], PayRunPartition.Status.PENDING, null, 0, false});
+            }
+            return true;
+        }
+
+        @Override
+        public synchronized Optional<PayRunPartition> claim(Integer runId, String workerId, int staleSeconds) {
+            for (int no = 0; no < partitions.size(); no++) {
+                Object[] partition = partitions.get(no);
+                boolean claimable = partition[2] == PayRunPartition.Status.PENDING
+                        || (partition[2] == PayRunPartition.Status.RUNNING && (Boolean) partition[5]);
+                if (claimable) {
+                    partition[2] = PayRunPartition.Status.RUNNING;
+                    partition[3] = workerId;
+                    partition[4] = (Integer) partition[4] + 1;
+                    partition[5] = false;
+                    return Optional.of(new PayRunPartition(1, no, (Integer) partition[0], (Integer) partition[1],
+                            workerId, (Integer) partition[4]));
+                }
+            }
+            return Optional.empty();
+        }
+
+        private boolean owns(PayRunPartition claim) {
+            Object[] partition = partitions.get(claim.getPartitionNo());
+            return partition[2] == PayRunPartition.Status.RUNNING && claim.getClaimedBy().equals(partition[3])
+                    && claim.getAttempt() == (Integer) partition[4];
+        }
+
+        @Override
+        public synchronized boolean heartbeat(PayRunPartition claim) {
+            return owns(claim);
+        }
+
+        @Override
+        public synchronized boolean complete(PayRunPartition claim, List<Payroll> payrolls) {
+            if (!owns(claim)) {
+                return false;
+            }
+            partitions.get(claim.getPartitionNo())[2] = PayRunPartition.Status.DONE;
+            for (Payroll payroll : payrolls) {
+                storedBy.merge(payroll.getEmployeeId(), 1, Integer::sum);
+            }
+            return true;
+        }
+
+        @Override
+        public synchronized void release(PayRunPartition claim, int maxAttempts) {
+            if (owns(claim)) {
+                Object[] partition = partitions.get(claim.getPartitionNo());
+                partition[2] = (Integer) partition[4] >= maxAttempts
+                        ? PayRunPartition.Status.FAILED : PayRunPartition.Status.PENDING;
+                partition[3] = null;
+            }
+        }
+
+        @Override
+        public synchronized Map<PayRunPartition.Status, Integer> getProgress(int runId) {
+            Map<PayRunPartition.Status, Integer> progress = new EnumMap<>(PayRunPartition.Status.class);
+            for (Object[] partition : partitions) {
+                progress.merge((PayRunPartition.Status) partition[2], 1, Integer::sum);
+            }
+            return progress;
+        }
+
+        @Override
+        public synchronized boolean finish(int runId) {
+            finished.incrementAndGet();
+            return true;
+        }
+
+        synchronized void expire(int partitionNo) {
+            partitions.get(partitionNo)[5] = true;
+        }
+    }
+
+    private static class FakePayRunDAO extends PayRunDAO {
+        @Override
+        public Optional<PayRun> getRunById(int runId) {
+            PayRun run = new PayRun(START, END, "tester");
+            run.setRunId(runId);
+            return Optional.of(run);
+        }
+    }
+
+    /**
+     * Calculates instantly; fails every time for the employee given
+     */
+    private static class FakeCalculator extends PayrollCalculator {
+        private final int failingEmployeeId;
+
+        FakeCalculator(int failingEmployeeId) {
+            this.failingEmployeeId = failingEmployeeId;
+        }
+
+        @Override
+        public Payroll calculatePayroll(int employeeId, LocalDate periodStart, LocalDate periodEnd) {
+            if (employeeId == failingEmployeeId) {
+                throw new IllegalStateException("Employee " + employeeId + " cannot be calculated");
+            }
+            Payroll payroll = new Payroll();
+            payroll.setEmployeeId(employeeId);
+            return payroll;
+        }
+    }
+
+    private static List<Employee> employees(int count) {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Employee employee = new Employee();
+            employee.setEmployeeId(10001 + i);
+            employees.add(employee);
+        }
+        return employees;
+    }
+
+    private static PayRun run() {
+        PayRun run = new PayRun(START, END, "tester");
+        run.setRunId(1);
+        return run;
+    }
+
+    private static PayRunExecutor executor(FakePartitionDAO partitionDAO, PayrollCalculator calculator,
+                                           List<Employee> employees) {
+        return new PayRunExecutor(new FakePayRunDAO(), partitionDAO, calculator,
+                (start, end) -> employees, ConfigurationManager.getInstance());
+    }
+
+    public void testPartitionsSplitSortedIds() {
+        List<int[]> ranges = PayRunExecutor.partition(List.of(1, 2, 5, 9, 10), 2);
+        assert ranges.size() == 3 : "Five IDs in twos should make three partitions";
+        assert ranges.get(0)[0] == 1 && ranges.get(0)[1] == 2 : "First partition should be 1-2";
+        assert ranges.get(1)[0] == 5 && ranges.get(1)[1] == 9 : "Ranges should follow the IDs, not their count";
+        assert ranges.get(2)[0] == 10 && ranges.get(2)[1] == 10 : "Last partition may be short";
+        assert PayRunExecutor.partition(List.of(), 200).isEmpty() : "No employees, no partitions";
+
+        System.out.println("✅ testPartitionsSplitSortedIds passed");
+    }
+
+    public void testWorkersShareARunWithoutOverlap() throws Exception {
+        List<Employee> employees = employees(1000);
+        FakePartitionDAO partitionDAO = new FakePartitionDAO();
+        PayrollCalculator calculator = new FakeCalculator(0);
+
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            PayRunExecutor executor = executor(partitionDAO, calculator, employees);
+            workers.add(pool.submit(() -> executor.calculate(run(), employees)));
+        }
+        for (Future<?> worker : workers) {
+            worker.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assert partitionDAO.storedBy.size() == 1000 : "Every employee should be stored";
+        for (int times : partitionDAO.storedBy.values()) {
+            assert times == 1 : "No employee should be stored twice";
+        }
+        assert partitionDAO.finished.get() >= 1 : "The run's totals should be summed";
+
+        System.out.println("✅ testWorkersShareARunWithoutOverlap passed");
+    }
+
+    public void testStalledClaimIsTakenOverAndFenced() {
+        List<Employee> employees = employees(10);
+        FakePartitionDAO partitionDAO = new FakePartitionDAO();
+        partitionDAO.plan(1, PayRunExecutor.partition(List.of(10001, 10010), 10));
+        PayRunPartition stalled = partitionDAO.claim(1, "crashed/0000", 90).orElseThrow();
+        partitionDAO.expire(stalled.getPartitionNo());
+
+        executor(partitionDAO, new FakeCalculator(0), employees).calculate(run(), employees);
+        assert partitionDAO.storedBy.size() == 10 : "The stalled partition should be taken over";
+        boolean stored = partitionDAO.complete(stalled, List.of(new Payroll()));
+        assert !stored : "The stalled worker may no longer store its results";
+        assert partitionDAO.storedBy.size() == 10 : "Late results should be discarded";
+
+        System.out.println("✅ testStalledClaimIsTakenOverAndFenced passed");
+    }
+
+    public void testFailingPartitionFailsTheRun() {
+        List<Employee> employees = employees(4);
+        FakePartitionDAO partitionDAO = new FakePartitionDAO();
+        // A bad employee is skipped; a partition that cannot be stored is retried until it fails
+        PayrollCalculator calculator = new FakeCalculator(10002);
+        executor(partitionDAO, calculator, employees).calculate(run(), employees);
+        assert partitionDAO.storedBy.size() == 3 : "One bad employee should not hold up the others";
+
+        FakePartitionDAO failingDAO = new FakePartitionDAO() {
+            @Override
+            public synchronized boolean complete(PayRunPartition claim, List<Payroll> payrolls) {
+                throw new RuntimeException("Failed to store partition");
+            }
+        };
+        try {
+            executor(failingDAO, calculator, employees).calculate(run(), employees);
+            assert false : "A partition failing on every attempt should fail the run";
+        } catch (IllegalStateException expected) {
+            assert failingDAO.getProgress(1).get(PayRunPartition.Status.FAILED) == 1 : "The partition should be Failed";
+        }
+
+        System.out.println("✅ testFailingPartitionFailsTheRun passed");
+    }
+
+    public static void main(String[] args) {
+        System.out.println("🧪 Running Pay Run Executor Tests...");
+
+        PayRunExecutorTest test = new PayRunExecutorTest();
+
+        try {
+            test.testPartitionsSplitSortedIds();
+            test.testWorkersShareARunWithoutOverlap();
+            test.testStalledClaimIsTakenOverAndFenced();
+            test.testFailingPartitionFailsTheRun();
+
+            System.out.println("🎉 All Pay Run Executor Tests Passed!");
+
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package Test;
+
+// Simple test class without JUnit dependencies for now
+import dao.PayrollArchive;
+import model.Payroll;
+import service.PayrollArchiveService;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PayrollArchiveTest {
+
+    private Path archiveDirectory;
+    private Path archiveFile;
+    private PayrollArchiveService archiveService;
+
+    public void setUp() throws Exception {
+        archiveDirectory = Files.createTempDirectory("payroll-archive");
+        archiveService = new PayrollArchiveService(null, archiveDirectory);
+        archiveFile = archiveService.getArchiveFile(2025);
+        List<Payroll> payrolls = new ArrayList<>();
+        // Written out of order on purpose; the archive sorts by employee and period
+        for (int month = 12; month >= 1; month--) {
+            payrolls.add(payroll(10002, month, 30000.00, 150.00));
+            Payroll withAllowances = payroll(10001, month, 50000.00, 0.00);
+            withAllowances.setPhoneAllowance(1000.00);
+            withAllowances.setOtherAllowances(500.00);
+            withAllowances.setTaxableAllowances(1500.00);
+            payrolls.add(withAllowances);
+        }
+        PayrollArchive.write(archiveFile, 2025, payrolls);
+
+        // 2024: one employee paid semi-monthly, archived through June
+        List<Payroll> semiMonthly = new ArrayList<>();
+        for (int month = 1; month <= 6; month++) {
+            LocalDate first = LocalDate.of(2024, month, 1);
+            semiMonthly.add(payroll(10003, first, first.withDayOfMonth(15), 25000.00, 0.00));
+            semiMonthly.add(payroll(10003, first.withDayOfMonth(16), first.withDayOfMonth(first.lengthOfMonth()), 25000.00, 0.00));
+        }
+        PayrollArchive.write(archiveService.getArchiveFile(2024), 2024, semiMonthly);
+    }
+
+    public void tearDown() throws Exception {
+        archiveService.close();
+        Files.deleteIfExists(archiveFile);
+        Files.deleteIfExists(archiveService.getArchiveFile(2024));
+        Files.deleteIfExists(archiveDirectory);
+    }
+
+    public void testHeaderAndIndex() throws Exception {
+        try (PayrollArchive archive = PayrollArchive.open(archiveFile)) {
+            assert archive.getYear() == 2025 : "Year should be stored in the header";
+            assert archive.getRecordCount() == 24 : "One record per employee-period";
+            assert archive.getEmployeeCount() == 2 : "Two employees should be indexed";
+            assert archive.getEmployeeIds()[0] == 10001 : "Index should be sorted by employee ID";
+            assert !archive.contains(10003) : "Unknown employee should not be found";
+        }
+
+        System.out.println("✅ testHeaderAndIndex passed");
+    }
+
+    public void testYearToDate() throws Exception {
+        try (PayrollArchive archive = PayrollArchive.open(archiveFile)) {
+            PayrollArchive.Totals ytd = archive.getYearToDate(10002, LocalDate.of(2025, 6, 30));
+            assert ytd.getPeriods() == 6 : "Six periods end on or before June 30";
+            assert ytd.getBasicPay() == 180000.00 : "Basic pay should add up exactly";
+            assert ytd.getTimeDeductions() == 900.00 : "Late deductions should add up exactly";
+            assert ytd.getLastPeriodEnd().equals(LocalDate.of(2025, 6, 30)) : "Last period should be June";
+
+            PayrollArchive.Totals withAllowances = archive.getYearToDate(10001, null);
+            assert withAllowances.getAllowances() == 12 * 1500.00 : "Other allowances should count as allowances";
+            assert withAllowances.getTaxableIncome() == 12 * 51500.00 : "Taxable allowances should be taxable income";
+
+            PayrollArchive.Totals missing = archive.getYearToDate(10003, null);
+            assert missing.getPeriods() == 0 : "Unknown employee should have empty totals";
+        }
+
+        System.out.println("✅ testYearToDate passed");
+    }
+
+    public void testThirteenthMonthPay() throws Exception {
+        assert archiveService.getThirteenthMonthPay(10001, 2025) == 50000.00 : "Full year without deductions is one month";
+        assert archiveService.getThirteenthMonthPay(10002, 2025) == 29850.00 : "Late deductions reduce 13th month pay";
+
+        PayrollArchiveService.YearSummary summary = archiveService.summarizeYear(2025);
+        assert summary.getEmployees() == 2 : "Every archived employee should be summarized";
+        assert summary.getThirteenthMonthPay() == 79850.00 : "13th month pay should add up over employees";
+
+        System.out.println("✅ testThirteenthMonthPay passed");
+    }
+
+    public void testAnnualizedTaxProjectsRemainingPeriods() throws Exception {
+        // Monthly through June: 6 x 29,850 earned, projected over the six months left
+        assert archiveService.getAnnualizedTax(10002, LocalDate.of(2025, 6, 30)) == 16230.00
+                : "Half a year at 29,850 should be projected to 358,200";
+        // Semi-monthly through June: 12 halves of 25,000, projected over the 12 halves left
+        assert archiveService.getAnnualizedTax(10003, LocalDate.of(2024, 6, 30)) == 62500.00
+                : "Twelve halves at 25,000 should be projected to 600,000, not 300,000";
+
+        System.out.println("✅ testAnnualizedTaxProjectsRemainingPeriods passed");
+    }
+
+    public void testPeriodRoundTrip() throws Exception {
+        try (PayrollArchive archive = PayrollArchive.open(archiveFile)) {
+            Payroll march = archive.getPeriod(10002, LocalDate.of(2025, 3, 1));
+            assert march != null : "March should be archived";
+            assert march.getPeriodEnd().toLocalDate().equals(LocalDate.of(2025, 3, 31)) : "Period end should round-trip";
+            assert march.getLateDeduction() == 150.00 : "Late deduction should round-trip";
+            assert march.getNetPay() == 29850.00 : "Net pay should round-trip";
+
+            Payroll april = archive.getPeriod(10001, LocalDate.of(2025, 4, 1));
+            assert april.getOtherAllowances() == 500.00 : "Other allowances should round-trip";
+            assert april.getTaxableAllowances() == 1500.00 : "Taxable allowances should round-trip";
+        }
+
+        System.out.println("✅ testPeriodRoundTrip passed");
+    }
+
+    private Payroll payroll(int employeeId, int month, double basicPay, double late) {
+        LocalDate start = LocalDate.of(2025, month, 1);
+        return payroll(employeeId, start, start.withDayOfMonth(start.lengthOfMonth()), basicPay, late);
+    }
+
+    private Payroll payroll(int employeeId, LocalDate start, LocalDate end, double basicPay, double late) {
+        Payroll payroll = new Payroll();
+        payroll.setEmployeeId(employeeId);
+        payroll.setPeriodStart(Date.valueOf(start));
+        payroll.setPeriodEnd(Date.valueOf(end));
+        payroll.setMonthlyRate(basicPay);
+        payroll.setDaysWorked(22);
+        payroll.setGrossEarnings(basicPay);
+        payroll.setLateDeduction(late);
+        payroll.setGrossPay(basicPay);
+        payroll.setNetPay(basicPay - late);
+        return payroll;
+    }
+
+    public static void main(String[] args) {
+        System.out.println("🧪 Running Payroll Archive Tests...");
+
+        PayrollArchiveTest test = new PayrollArchiveTest();
+
+        try {
+            test.setUp();
+            test.testHeaderAndIndex();
+            test.testYearToDate();
+            test.testThirteenthMonthPay();
+            test.testAnnualizedTaxProjectsRemainingPeriods();
+            test.testPeriodRoundTrip();
+            test.tearDown();
+
+            System.out.println("🎉 All Payroll Archive Tests Passed!");
+
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
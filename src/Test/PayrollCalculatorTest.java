@@ -206,6 +206,7 @@ public class PayrollCalculatorTest {
     // Main method to run all tests
     public static void main(String[] args) {
         System.out.println("🧪 Running Payroll Calculator Tests...");
+        TestDatabase.useEmbeddedUnlessConfigured();
         
         PayrollCalculatorTest test = new PayrollCalculatorTest();
         
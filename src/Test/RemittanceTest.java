@@ -0,0 +1,104 @@
+package Test;
+
+// Simple test class without JUnit dependencies for now
+import model.RemittanceAgency;
+import model.RemittanceFile;
+import model.RemittanceLine;
+import service.CsvRemittanceLayout;
+import service.RemittanceService;
+import service.SssR3Layout;
+
+import java.time.LocalDate;
+
+public class RemittanceTest {
+
+    // 25,000 a month: SSS 1,125, PhilHealth 625, Pag-IBIG 200, tax 1,000
+    private static RemittanceLine sampleLine(String sssNumber) {
+        return new RemittanceLine(10008, "Romualdez", "Alice", LocalDate.of(1992, 5, 14),
+                sssNumber, "545652640232", "211385556888", "888-572-294-000",
+                1, 2500000L, 2700000L, 2300000L, 112500L, 62500L, 20000L, 100000L);
+    }
+
+    public void testValidatesIdFormats() {
+        assert RemittanceAgency.SSS.isValidId("55-4476527-2") : "Dashed SSS number should be valid";
+        assert RemittanceAgency.SSS.isValidId("5544765272") : "Plain SSS number should be valid";
+        assert !RemittanceAgency.SSS.isValidId("55-447652-2") : "Short SSS number should be rejected";
+        assert !RemittanceAgency.SSS.isValidId(null) : "Missing SSS number should be rejected";
+        assert RemittanceAgency.PHILHEALTH.isValidId("545652640232") : "12-digit PhilHealth number should be valid";
+        assert RemittanceAgency.PAGIBIG.isValidId("2113-8555-6888") : "Dashed MID number should be valid";
+        assert RemittanceAgency.BIR.isValidId("888-572-294-000") : "TIN with branch code should be valid";
+        assert !RemittanceAgency.BIR.isValidId("888-572-29") : "Short TIN should be rejected";
+
+        System.out.println("✅ testValidatesIdFormats passed");
+    }
+
+    public void testEmployerShares() {
+        RemittanceLine line = sampleLine("55-4476527-2");
+        assert RemittanceService.employerShare(RemittanceAgency.PHILHEALTH, line, 2.0) == 62500L
+                : "PhilHealth premium should be split equally";
+        assert RemittanceService.employerShare(RemittanceAgency.PAGIBIG, line, 2.0) == 20000L
+                : "Employer Pag-IBIG share should be capped at 200";
+        assert RemittanceService.employerShare(RemittanceAgency.SSS, line, 2.0) == 225000L
+                : "SSS employer share should follow the ratio";
+        assert RemittanceService.employerShare(RemittanceAgency.BIR, line, 2.0) == 0L : "BIR has no employer share";
+        assert line.getNonTaxableCompensation() == 400000L : "Non-taxable is gross less taxable";
+
+        System.out.println("✅ testEmployerShares passed");
+    }
+
+    public void testSssFixedWidthFile() throws Exception {
+        SssR3Layout layout = new SssR3Layout();
+        RemittanceFile file = new RemittanceFile(RemittanceAgency.SSS, LocalDate.of(2025, 6, 1),
+                LocalDate.of(2025, 6, 30), "03-9999999-1", "MotorPH");
+        RemittanceLine line = sampleLine("55-4476527-2");
+        StringBuilder out = new StringBuilder();
+
+        layout.writeHeader(out, file);
+        layout.writeDetail(out, file, line, 225000L, file.add(112500L, 225000L, line.getMonthlyRate()));
+        layout.writeTrailer(out, file);
+
+        String[] records = out.toString().split("\r\n");
+        assert records.length == 3 : "Header, detail and trailer expected";
+        for (String record : records) {
+            assert record.length() == 100 : "Every record should be 100 columns";
+        }
+        assert records[0].startsWith("000399999991MOTORPH") && records[0].contains("062025") : "Unexpected header";
+        assert records[1].substring(42, 52).equals("5544765272") : "SSS number should be digits only";
+        assert records[2].startsWith("99000001000000112500000000225000") : "Unexpected trailer: " + records[2];
+
+        System.out.println("✅ testSssFixedWidthFile passed");
+    }
+
+    public void testBirAlphalistLine() throws Exception {
+        CsvRemittanceLayout layout = new CsvRemittanceLayout(RemittanceAgency.BIR);
+        RemittanceFile file = new RemittanceFile(RemittanceAgency.BIR, LocalDate.of(2025, 1, 1),
+                LocalDate.of(2025, 12, 31), "000-123-456-000", "MotorPH");
+        RemittanceLine line = sampleLine("55-4476527-2");
+        StringBuilder out = new StringBuilder();
+
+        layout.writeDetail(out, file, line, 0L, file.add(line.getTax(), 0L, line.getGrossCompensation()));
+        assert out.toString().equals("1,888-572-294-000,Romualdez,Alice,27000.00,4000.00,23000.00,1000.00\n")
+                : "Unexpected alphalist line: " + out;
+
+        System.out.println("✅ testBirAlphalistLine passed");
+    }
+
+    public static void main(String[] args) {
+        System.out.println("🧪 Running Remittance Tests...");
+
+        RemittanceTest test = new RemittanceTest();
+
+        try {
+            test.testValidatesIdFormats();
+            test.testEmployerShares();
+            test.testSssFixedWidthFile();
+            test.testBirAlphalistLine();
+
+            System.out.println("🎉 All Remittance Tests Passed!");
+
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package Test;
+
+// Simple test class without JUnit dependencies for now
+import util.RingBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class RingBufferTest {
+
+    private RingBuffer<Integer> buffer;
+
+    public void setUp() {
+        buffer = new RingBuffer<>(5);
+    }
+
+    public void testCapacityRoundedToPowerOfTwo() {
+        assert buffer.capacity() == 8 : "Capacity should round up to 8";
+        System.out.println("✅ testCapacityRoundedToPowerOfTwo passed");
+    }
+
+    public void testOfferFailsWhenFull() {
+        for (int i = 0; i < buffer.capacity(); i++) {
+            boolean offered = buffer.offer(i);
+            assert offered : "Offer should succeed while there is room";
+        }
+        boolean offeredWhenFull = buffer.offer(99);
+        assert !offeredWhenFull : "Offer should fail when full";
+
+        List<Integer> drained = new ArrayList<>();
+        int drainedCount = buffer.drainTo(drained, 3);
+        assert drainedCount == 3 : "Should drain requested count";
+        assert drained.get(0) == 0 && drained.get(2) == 2 : "Should drain in FIFO order";
+        boolean offeredAfterDrain = buffer.offer(99);
+        assert offeredAfterDrain : "Offer should succeed after draining";
+        assert buffer.size() == 6 : "Size should be 6";
+
+        System.out.println("✅ testOfferFailsWhenFull passed");
+    }
+
+    public void testConcurrentProducers() throws InterruptedException {
+        RingBuffer<Integer> shared = new RingBuffer<>(64);
+        int producers = 4;
+        int perProducer = 10_000;
+        Thread[] threads = new Thread[producers];
+
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!shared.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            threads[p].start();
+        }
+
+        Set<Integer> seen = new HashSet<>();
+        List<Integer> batch = new ArrayList<>();
+        while (seen.size() < producers * perProducer) {
+            batch.clear();
+            shared.drainTo(batch, 32);
+            for (Integer value : batch) {
+                boolean firstDelivery = seen.add(value);
+                assert firstDelivery : "Element delivered twice: " + value;
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assert shared.isEmpty() : "Buffer should be empty";
+        System.out.println("✅ testConcurrentProducers passed");
+    }
+
+    public static void main(String[] args) {
+        System.out.println("🧪 Running Ring Buffer Tests...");
+
+        RingBufferTest test = new RingBufferTest();
+
+        try {
+            test.setUp();
+            test.testCapacityRoundedToPowerOfTwo();
+
+            test.setUp();
+            test.testOfferFailsWhenFull();
+
+            test.setUp();
+            test.testConcurrentProducers();
+
+            System.out.println("🎉 All Ring Buffer Tests Passed!");
+
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
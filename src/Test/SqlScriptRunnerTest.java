@@ -0,0 +1,165 @@
+package Test;
+
+// Simple test class without JUnit dependencies for now
+import util.SqlScriptRunner;
+import util.SqlScriptRunner.ScriptStatement;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SqlScriptRunnerTest {
+
+    private static final String CONDITIONAL_DDL = String.join("\n",
+            "-- Snapshot columns (skipped when they already exist)",
+            "USE aoopdatabase_payroll;",
+            "",
+            "SET @has_column = (",
+            "    SELECT COUNT(*) FROM information_schema.columns",
+            "    WHERE table_schema = DATABASE() AND table_name = 'pay_run_snapshot' AND column_name = 'other_allowances'",
+            ");",
+            "SET @ddl = IF(@has_column = 0,",
+            "    'ALTER TABLE pay_run_snapshot ADD COLUMN note VARCHAR(20) DEFAULT ''n/a''',",
+            "    'SELECT 1');",
+            "PREPARE stmt FROM @ddl;",
+            "EXECUTE stmt;",
+            "DEALLOCATE PREPARE stmt;");
+
+    /**
+     * Answers every query with one value and records what would have run on the database
+     */
+    private static class RecordingTarget implements SqlScriptRunner.Target {
+        private final String answer;
+        private final List<String> queries = new ArrayList<>();
+        private final List<String> executed = new ArrayList<>();
+
+        RecordingTarget(String answer) {
+            this.answer = answer;
+        }
+
+        @Override
+        public String queryValue(String sql) {
+            queries.add(sql);
+            return answer;
+        }
+
+        @Override
+        public void execute(String sql) {
+            executed.add(sql);
+        }
+    }
+
+    private static RecordingTarget runConditionalDdl(String columnCount) throws SQLException {
+        RecordingTarget target = new RecordingTarget(columnCount);
+        SqlScriptRunner.Emulation emulation = new SqlScriptRunner.Emulation("PUBLIC", target);
+        for (ScriptStatement statement : SqlScriptRunner.split(CONDITIONAL_DDL)) {
+            if (!statement.getSql().startsWith("USE ")) {
+                boolean handled = emulation.emulate(statement.getSql());
+                assert handled : "The idiom should be emulated: " + statement.getSql();
+            }
+        }
+        return target;
+    }
+
+    public void testSplitHonoursDelimiterBlocks() {
+        List<ScriptStatement> statements = SqlScriptRunner.split(String.join("\r\n",
+                "-- Totals kept by a trigger",
+                "DROP TRIGGER IF EXISTS tr_total;",
+                "",
+                "DELIMITER //",
+                "CREATE TRIGGER tr_total AFTER INSERT ON overtime FOR EACH ROW",
+                "BEGIN",
+                "    -- one row per month",
+                "    UPDATE totals SET hours = hours + NEW.hours;",
+                "END //",
+                "DELIMITER ;",
+                "",
+                "SELECT 'done' AS Status;",
+                "SELECT 1"));
+
+        assert statements.size() == 4 : "Should split into 4 statements, got " + statements.size();
+        assert "DROP TRIGGER IF EXISTS tr_total".equals(statements.get(0).getSql()) : "Delimiter should be stripped";
+        assert !statements.get(0).isRoutine() : "A plain statement is not a routine";
+
+        String trigger = statements.get(1).getSql();
+        assert statements.get(1).isRoutine() : "A DELIMITER block should be flagged as a routine";
+        assert trigger.startsWith("CREATE TRIGGER") && trigger.endsWith("END") : "The block should be one statement";
+        assert trigger.contains("hours + NEW.hours;") : "Semicolons inside the block should be kept";
+        assert !trigger.contains("one row per month") : "Comment lines should be dropped";
+
+        assert !statements.get(2).isRoutine() : "DELIMITER ; should end the block";
+        assert "SELECT 1".equals(statements.get(3).getSql()) : "A last statement without delimiter should be kept";
+
+        System.out.println("✅ testSplitHonoursDelimiterBlocks passed");
+    }
+
+    public void testEmulatesMissingColumnDdl() throws SQLException {
+        RecordingTarget target = runConditionalDdl("0");
+
+        assert target.queries.size() == 1 : "The existence check should be queried once";
+        assert target.queries.get(0).contains("table_schema = 'PUBLIC'") : "DATABASE() should become the schema";
+        assert target.executed.size() == 1 : "The chosen DDL should be executed once";
+        assert "ALTER TABLE pay_run_snapshot ADD COLUMN note VARCHAR(20) DEFAULT 'n/a'".equals(target.executed.get(0))
+                : "The ALTER branch should run with its quotes unescaped";
+
+        System.out.println("✅ testEmulatesMissingColumnDdl passed");
+    }
+
+    public void testEmulatesExistingColumnDdl() throws SQLException {
+        RecordingTarget target = runConditionalDdl("1");
+
+        assert target.executed.size() == 1 && "SELECT 1".equals(target.executed.get(0))
+                : "An existing column should run the no-op branch";
+
+        System.out.println("✅ testEmulatesExistingColumnDdl passed");
+    }
+
+    public void testOtherStatementsAreNotEmulated() throws SQLException {
+        RecordingTarget target = new RecordingTarget(null);
+        SqlScriptRunner.Emulation emulation = new SqlScriptRunner.Emulation("PUBLIC", target);
+
+        boolean createHandled = emulation.emulate("CREATE TABLE t (id INT)");
+        boolean unknownExecuted = emulation.emulate("EXECUTE missing");
+        boolean nullFlag = emulation.emulate("SET @flag = (SELECT 1 FROM t WHERE 1 = 0)");
+
+        assert !createHandled : "Plain DDL should be left to the database";
+        assert unknownExecuted && target.executed.isEmpty() : "Executing an unprepared statement should do nothing";
+        assert nullFlag && emulation.getVariable("flag") == null : "A query without rows should leave the variable null";
+
+        System.out.println("✅ testOtherStatementsAreNotEmulated passed");
+    }
+
+    public void testPortableStatements() {
+        String escaped = SqlScriptRunner.portable("INSERT INTO t VALUES ('O\\'Keefe', 'C:\\\\temp')");
+        List<String> clauses = SqlScriptRunner.splitAlterTable(
+                "ALTER TABLE s ADD COLUMN a DECIMAL(8,2) DEFAULT 0 AFTER b, ADD COLUMN c INT NULL AFTER a");
+
+        assert "INSERT INTO t VALUES ('O''Keefe', 'C:\\temp')".equals(escaped) : "MySQL escapes should become standard";
+        assert clauses.size() == 2 : "Each ADD clause should be its own statement";
+        assert "ALTER TABLE s ADD COLUMN a DECIMAL(8,2) DEFAULT 0 AFTER b".equals(clauses.get(0)) : "Commas inside types should stay";
+        assert "ALTER TABLE s ADD COLUMN c INT NULL AFTER a".equals(clauses.get(1)) : "The table should prefix every clause";
+        assert SqlScriptRunner.splitAlterTable("DROP TABLE s").size() == 1 : "Other statements should be left alone";
+
+        System.out.println("✅ testPortableStatements passed");
+    }
+
+    public static void main(String[] args) {
+        System.out.println("🧪 Running SQL Script Runner Tests...");
+
+        SqlScriptRunnerTest test = new SqlScriptRunnerTest();
+
+        try {
+            test.testSplitHonoursDelimiterBlocks();
+            test.testEmulatesMissingColumnDdl();
+            test.testEmulatesExistingColumnDdl();
+            test.testOtherStatementsAreNotEmulated();
+            test.testPortableStatements();
+
+            System.out.println("🎉 All SQL Script Runner Tests Passed!");
+
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
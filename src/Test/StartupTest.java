@@ -0,0 +1,87 @@
+package Test;
+
+// Simple test class without JUnit dependencies for now
+import ui.LazyTabbedPane;
+import util.Metrics;
+import util.StartupTimings;
+
+import javax.swing.JLabel;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StartupTest {
+
+    public void testLazyTabsBuildOnFirstSelection() {
+        AtomicInteger firstBuilds = new AtomicInteger();
+        AtomicInteger secondBuilds = new AtomicInteger();
+        LazyTabbedPane tabs = new LazyTabbedPane();
+        tabs.addLazyTab("First", () -> {
+            firstBuilds.incrementAndGet();
+            return new JLabel("first");
+        });
+        tabs.addLazyTab("Second", () -> {
+            secondBuilds.incrementAndGet();
+            return new JLabel("second");
+        });
+
+        assert firstBuilds.get() == 1 : "The selected tab should be built straight away";
+        assert secondBuilds.get() == 0 && tabs.isPending(1) : "Other tabs should wait until shown";
+
+        tabs.setSelectedIndex(1);
+        tabs.setSelectedIndex(0);
+        tabs.setSelectedIndex(1);
+        assert secondBuilds.get() == 1 : "A tab should be built once, on first selection";
+        assert !tabs.isPending(1) && "second".equals(((JLabel) tabs.getComponentAt(1)).getText())
+                : "The built content should replace the placeholder";
+        assert tabs.getTabCount() == 2 && "Second".equals(tabs.getTitleAt(1)) : "Tabs should keep their titles";
+
+        System.out.println("✅ testLazyTabsBuildOnFirstSelection passed");
+    }
+
+    public void testMilestonesKeepFirstTime() throws Exception {
+        long first = StartupTimings.mark("test milestone");
+        Thread.sleep(20);
+        long again = StartupTimings.mark("test milestone");
+        assert again == first : "A milestone should keep the first time it was reached";
+        assert first >= 0 && first <= StartupTimings.sinceLaunchMillis() : "Milestones are measured since launch";
+        assert StartupTimings.getMilestones().containsKey("test milestone") : "The milestone should be listed";
+
+        System.out.println("✅ testMilestonesKeepFirstTime passed");
+    }
+
+    @SuppressWarnings("try")
+    public void testPhasesAreRecorded() throws Exception {
+        try (StartupTimings.Phase phase = StartupTimings.begin("test phase")) {
+            Thread.sleep(20);
+        }
+        try (StartupTimings.Phase phase = StartupTimings.begin("test phase")) {
+            Thread.sleep(5);
+        }
+
+        Metrics.Timer timer = Metrics.timer("motorph_startup_phase_seconds", "", "phase", "test phase");
+        assert timer.getCount() == 2 : "Every occurrence of a phase should be timed";
+        assert timer.getMax() >= 0.015 : "The timer should hold the phase duration";
+        assert StartupTimings.getPhases().get("test phase") < 20 : "The last duration should be kept";
+        assert StartupTimings.summary().contains("test milestone") && StartupTimings.summary().contains("test phase")
+                : "The summary should name milestones and phases";
+
+        System.out.println("✅ testPhasesAreRecorded passed");
+    }
+
+    public static void main(String[] args) {
+        System.out.println("🧪 Running Startup Tests...");
+
+        StartupTest test = new StartupTest();
+
+        try {
+            test.testLazyTabsBuildOnFirstSelection();
+            test.testMilestonesKeepFirstTime();
+            test.testPhasesAreRecorded();
+
+            System.out.println("🎉 All Startup Tests Passed!");
+
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
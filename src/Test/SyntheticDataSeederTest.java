@@ -0,0 +1,92 @@
+package Test;
+
+// Simple test class without JUnit dependencies for now
+import util.PasswordHasher;
+import util.PositionRoleMapper;
+import util.SyntheticDataSeeder;
+import util.SyntheticDataSeeder.Table;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class SyntheticDataSeederTest {
+
+    private static final YearMonth FROM = YearMonth.of(2025, 1);
+    private static final YearMonth THROUGH = YearMonth.of(2025, 6);
+
+    private static List<String> generate(long seed, int employees) throws Exception {
+        List<String> rows = new ArrayList<>();
+        new SyntheticDataSeeder(seed).generate(20001, employees, FROM, THROUGH,
+                (table, values) -> rows.add(table + Arrays.toString(values)));
+        return rows;
+    }
+
+    public void testSameSeedSameRows() throws Exception {
+        assert generate(7, 20).equals(generate(7, 20)) : "The same seed should produce the same rows";
+        assert !generate(7, 20).equals(generate(8, 20)) : "Another seed should produce other rows";
+
+        List<String> more = generate(7, 30);
+        assert more.containsAll(generate(7, 20)) : "Adding employees should not change the others";
+
+        System.out.println("✅ testSameSeedSameRows passed");
+    }
+
+    public void testWorkloadIsConsistent() throws Exception {
+        Set<String> approvedLeaveDays = new HashSet<>();
+        List<Object[]> attendance = new ArrayList<>();
+        List<Object[]> employees = new ArrayList<>();
+        List<Object[]> credentials = new ArrayList<>();
+
+        new SyntheticDataSeeder(42).generate(20001, 50, FROM, THROUGH, (table, values) -> {
+            if (table == Table.EMPLOYEES) {
+                employees.add(values);
+            } else if (table == Table.CREDENTIALS) {
+                credentials.add(values);
+            } else if (table == Table.ATTENDANCE) {
+                attendance.add(values);
+            } else if (table == Table.LEAVE_REQUEST && "Approved".equals(values[4])) {
+                for (LocalDate day = (LocalDate) values[2]; !day.isAfter((LocalDate) values[3]); day = day.plusDays(1)) {
+                    approvedLeaveDays.add(values[0] + "@" + day);
+                }
+            }
+        });
+
+        assert employees.size() == 50 : "Should generate the requested employees";
+        for (Object[] employee : employees) {
+            assert PositionRoleMapper.isPositionMapped((String) employee[5]) : "Unknown position " + employee[5];
+        }
+        Object[] first = credentials.get(0);
+        assert PasswordHasher.isHashed((String) first[1]) : "Credentials should be stored hashed";
+        assert PasswordHasher.verify("password" + first[0], (String) first[1]) : "The hash should match the password";
+        assert !approvedLeaveDays.isEmpty() : "Six months of 50 employees should include leave";
+        for (Object[] day : attendance) {
+            assert !approvedLeaveDays.contains(day[0] + "@" + day[1]) : "No attendance on approved leave";
+            LocalDate date = (LocalDate) day[1];
+            assert date.getDayOfWeek().getValue() <= 5 : "Attendance should be on weekdays";
+        }
+
+        System.out.println("✅ testWorkloadIsConsistent passed");
+    }
+
+    public static void main(String[] args) {
+        System.out.println("🧪 Running Synthetic Data Seeder Tests...");
+
+        SyntheticDataSeederTest test = new SyntheticDataSeederTest();
+
+        try {
+            test.testSameSeedSameRows();
+            test.testWorkloadIsConsistent();
+
+            System.out.println("🎉 All Synthetic Data Seeder Tests Passed!");
+
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package Test;
+
+/**
+ * Points the database tests at the embedded profile, so they run without a MySQL server.
+ * Pass -Ddb.profile=mysql to run them against the configured server instead.
+ */
+public final class TestDatabase {
+
+    private TestDatabase() {
+    }
+
+    /**
+     * Selects the embedded database unless a profile was given on the command line.
+     * Has to run before the first connection, since the data source is created once.
+     */
+    public static void useEmbeddedUnlessConfigured() {
+        if (System.getProperty("db.profile") == null) {
+            System.setProperty("db.profile", "embedded");
+        }
+    }
+}
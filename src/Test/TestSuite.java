@@ -8,6 +8,7 @@ public class TestSuite {
     
     public static void main(String[] args) {
         System.out.println("🧪 Running MotorPH Payroll System Test Suite");
+        TestDatabase.useEmbeddedUnlessConfigured();
         System.out.println("=" .repeat(60));
         
         try {
@@ -27,6 +28,72 @@ public class TestSuite {
             System.out.println("\n📋 Running Payroll Calculator Tests...");
             PayrollCalculatorTest.main(args);
             
+            System.out.println("\n📋 Running Ring Buffer Tests...");
+            RingBufferTest.main(args);
+            
+            System.out.println("\n📋 Running Metrics Tests...");
+            MetricsTest.main(args);
+            
+            System.out.println("\n📋 Running Attendance Import Tests...");
+            AttendanceImportTest.main(args);
+            
+            System.out.println("\n📋 Running Payroll Archive Tests...");
+            PayrollArchiveTest.main(args);
+            
+            System.out.println("\n📋 Running Authentication Service Tests...");
+            AuthenticationServiceTest.main(args);
+            
+            System.out.println("\n📋 Running Leave Approval Tests...");
+            LeaveApprovalTest.main(args);
+            
+            System.out.println("\n📋 Running Leave Balance Tests...");
+            LeaveBalanceTest.main(args);
+
+            System.out.println("\n📋 Running Overtime Approval Tests...");
+            OvertimeApprovalTest.main(args);
+
+            System.out.println("\n📋 Running Allowance Engine Tests...");
+            AllowanceEngineTest.main(args);
+
+            System.out.println("\n📋 Running Withholding Tax Tests...");
+            WithholdingTaxTest.main(args);
+
+            System.out.println("\n📋 Running Benefit Payout Tests...");
+            BenefitPayoutTest.main(args);
+
+            System.out.println("\n📋 Running Pay Period Calendar Tests...");
+            PayPeriodCalendarTest.main(args);
+
+            System.out.println("\n📋 Running Synthetic Data Seeder Tests...");
+            SyntheticDataSeederTest.main(args);
+
+            System.out.println("\n📋 Running SQL Script Runner Tests...");
+            SqlScriptRunnerTest.main(args);
+
+            System.out.println("\n📋 Running Disbursement Layout Tests...");
+            DisbursementLayoutTest.main(args);
+
+            System.out.println("\n📋 Running Remittance Tests...");
+            RemittanceTest.main(args);
+
+            System.out.println("\n📋 Running Cost Allocation Tests...");
+            CostAllocationTest.main(args);
+
+            System.out.println("\n📋 Running Dashboard Metrics Tests...");
+            DashboardMetricsTest.main(args);
+
+            System.out.println("\n📋 Running Change Bus Tests...");
+            ChangeBusTest.main(args);
+
+            System.out.println("\n📋 Running Pay Run Executor Tests...");
+            PayRunExecutorTest.main(args);
+
+            System.out.println("\n📋 Running Batch Application Tests...");
+            BatchApplicationTest.main(args);
+
+            System.out.println("\n📋 Running Startup Tests...");
+            StartupTest.main(args);
+
             System.out.println("\n📋 Running MotorPH System Tests...");
             MotorPHPayrollSystemTest.main(args);
             
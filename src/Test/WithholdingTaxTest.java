@@ -0,0 +1,65 @@
+package Test;
+
+// Simple test class without JUnit dependencies for now
+import model.TaxYearToDate;
+import service.WithholdingTaxEngine;
+
+import java.time.LocalDate;
+
+public class WithholdingTaxTest {
+
+    private static final int EMPLOYEE_ID = 10001;
+
+    public void testSteadySalary() {
+        // 50,000 net taxable a month is 600,000 a year: 22,500 + 20% of 200,000 = 62,500
+        double january = WithholdingTaxEngine.calculatePeriodWithholding(
+                TaxYearToDate.empty(EMPLOYEE_ID, 2025), 52000.0, 2000.0, 11);
+        assert january == 5208.33 : "January should withhold a twelfth of the annual tax";
+
+        TaxYearToDate throughNovember = new TaxYearToDate(EMPLOYEE_ID, 2025, 11, 11 * 52000.0, 11 * 2000.0,
+                11 * 5208.33, LocalDate.of(2025, 11, 30));
+        double december = WithholdingTaxEngine.calculatePeriodWithholding(throughNovember, 52000.0, 2000.0, 0);
+        assert december == 5208.37 : "December should true up the rounding to exactly 62,500";
+
+        System.out.println("✅ testSteadySalary passed");
+    }
+
+    public void testMidYearRaise() {
+        // Six months at 50,000 net, then 70,000: projected 300,000 + 6 x 70,000 = 720,000
+        TaxYearToDate throughJune = new TaxYearToDate(EMPLOYEE_ID, 2025, 6, 6 * 52000.0, 6 * 2000.0,
+                6 * 5208.33, LocalDate.of(2025, 6, 30));
+        double july = WithholdingTaxEngine.calculatePeriodWithholding(throughJune, 72000.0, 2000.0, 5);
+        assert july == 9208.34 : "The raise should spread the extra annual tax over the rest of the year";
+
+        System.out.println("✅ testMidYearRaise passed");
+    }
+
+    public void testOverWithheldTrueUp() {
+        TaxYearToDate overWithheld = new TaxYearToDate(EMPLOYEE_ID, 2025, 11, 11 * 30000.0, 11 * 2000.0,
+                20000.0, LocalDate.of(2025, 11, 30));
+        double december = WithholdingTaxEngine.calculatePeriodWithholding(overWithheld, 30000.0, 2000.0, 0);
+        assert december == 0.0 : "Withholding should never be negative";
+        assert WithholdingTaxEngine.isTrueUpPeriod(LocalDate.of(2025, 12, 31)) : "December closes the tax year";
+        assert WithholdingTaxEngine.remainingMonthlyPeriods(LocalDate.of(2025, 3, 31)) == 9 : "March leaves nine periods";
+
+        System.out.println("✅ testOverWithheldTrueUp passed");
+    }
+
+    public static void main(String[] args) {
+        System.out.println("🧪 Running Withholding Tax Tests...");
+
+        WithholdingTaxTest test = new WithholdingTaxTest();
+
+        try {
+            test.testSteadySalary();
+            test.testMidYearRaise();
+            test.testOverWithheldTrueUp();
+
+            System.out.println("🎉 All Withholding Tax Tests Passed!");
+
+        } catch (Exception e) {
+            System.err.println("❌ Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,520 @@
+package cli;
+
+import dao.EmployeeDAO;
+import model.AttendanceImportResult;
+import model.Employee;
+import model.PayRun;
+import model.Payroll;
+import model.RemittanceFile;
+import service.AttendanceImportService;
+import service.JasperReportService;
+import service.PayRunService;
+import service.PayrollReport;
+import service.RemittanceService;
+import service.ReportGenerator;
+import util.ConfigurationManager;
+import util.SchemaProbe;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Headless entry point for the month-end jobs, so a scheduler can run them overnight on a
+ * server without starting AWT or a person clicking through the dashboards:
+ * <pre>
+ *   payroll            --period START:END | --pay-date DATE
+ *   report             --month YYYY-MM [--type payroll|contributions] [--format csv|html]
+ *   payslips           --run ID | --period START:END
+ *   import-attendance  FILE [--format csv|fixed-width]
+ *   remittance         --month YYYY-MM | --alphalist YEAR
+ * </pre>
+ * Every command prints its progress, writes a JSON summary (--summary FILE, or under
+ * batch.output.path/summaries) and exits with one of the EXIT_ codes.
+ */
+public class BatchApplication {
+    private static final Logger LOGGER = Logger.getLogger(BatchApplication.class.getName());
+
+    public static final int EXIT_OK = 0;
+    public static final int EXIT_FAILED = 1;
+    public static final int EXIT_USAGE = 2;
+    // Completed, but some rows were rejected or some employees skipped
+    public static final int EXIT_PARTIAL = 3;
+    public static final int EXIT_NO_DATABASE = 4;
+
+    private static final int PROGRESS_EVERY = 100;
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: BatchApplication <command> [options]",
+            "",
+            "Commands:",
+            "  payroll            --period START:END | --pay-date DATE   Calculate draft pay runs",
+            "  report             --month YYYY-MM [--type payroll|contributions] [--format csv|html]",
+            "  payslips           --run ID | --period START:END        Issue payslips of an approved run",
+            "  import-attendance  FILE [--format csv|fixed-width]      Import a biometric export",
+            "  remittance         --month YYYY-MM | --alphalist YEAR   Write government remittance files",
+            "",
+            "Options:",
+            "  --out DIR          Output directory (batch.output.path)",
+            "  --summary FILE     Where to write the JSON summary",
+            "  --user NAME        Name recorded on runs and files (default: batch)",
+            "  --verbose          Show the application log",
+            "",
+            "Exit codes: 0 ok, 1 failed, 2 usage, 3 completed with rejections, 4 database unreachable");
+
+    /**
+     * Invalid command line; reported with the usage text
+     */
+    public static class UsageException extends RuntimeException {
+        public UsageException(String message) {
+            super(message);
+        }
+    }
+
+    private static class DatabaseUnavailableException extends RuntimeException {
+        DatabaseUnavailableException() {
+            super("The database is not reachable");
+        }
+    }
+
+    /**
+     * Parsed command line: the command, its positional arguments and its --name value options
+     */
+    public static class Arguments {
+        private final String command;
+        private final List<String> positional = new ArrayList<>();
+        private final Map<String, String> options = new LinkedHashMap<>();
+
+        private Arguments(String command) {
+            this.command = command;
+        }
+
+        public static Arguments parse(String[] args) {
+            if (args.length == 0) {
+                throw new UsageException("No command given");
+            }
+            Arguments arguments = new Arguments(args[0]);
+            for (int i = 1; i < args.length; i++) {
+                String arg = args[i];
+                if (!arg.startsWith("--")) {
+                    arguments.positional.add(arg);
+                } else if ("--verbose".equals(arg)) {
+                    arguments.options.put("verbose", "true");
+                } else if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                    arguments.options.put(arg.substring(2), args[++i]);
+                } else {
+                    throw new UsageException("Option " + arg + " needs a value");
+                }
+            }
+            return arguments;
+        }
+
+        public String getCommand() {
+            return command;
+        }
+
+        public String option(String name, String defaultValue) {
+            return options.getOrDefault(name, defaultValue);
+        }
+
+        public boolean has(String name) {
+            return options.containsKey(name);
+        }
+
+        public String required(String name) {
+            String value = options.get(name);
+            if (value == null) {
+                throw new UsageException(command + " needs --" + name);
+            }
+            return value;
+        }
+
+        public String positional(int index, String description) {
+            if (index >= positional.size()) {
+                throw new UsageException(command + " needs " + description);
+            }
+            return positional.get(index);
+        }
+    }
+
+    private final Arguments arguments;
+    private final Path outputDirectory;
+    private final String user;
+    private final BatchSummary summary = new BatchSummary();
+
+    public BatchApplication(Arguments arguments) {
+        this.arguments = arguments;
+        this.outputDirectory = Paths.get(arguments.option("out", ConfigurationManager.getInstance().getBatchOutputDirectory()));
+        this.user = arguments.option("user", "batch");
+    }
+
+    public static void main(String[] args) {
+        // Reports and payslips must not reach for a display on a server
+        System.setProperty("java.awt.headless", "true");
+        System.exit(run(args));
+    }
+
+    /**
+     * Runs one command
+     * @return Exit code
+     */
+    public static int run(String[] args) {
+        if (args.length > 0 && ("help".equals(args[0]) || "--help".equals(args[0]))) {
+            System.out.println(USAGE);
+            return EXIT_OK;
+        }
+        Arguments arguments;
+        try {
+            arguments = Arguments.parse(args);
+        } catch (UsageException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return EXIT_USAGE;
+        }
+        if (!arguments.has("verbose")) {
+            Logger.getLogger("").setLevel(Level.WARNING);
+        }
+        return new BatchApplication(arguments).execute();
+    }
+
+    int execute() {
+        LocalDateTime started = LocalDateTime.now();
+        summary.put("command", arguments.getCommand()).put("user", user);
+
+        int exitCode;
+        try {
+            exitCode = dispatch();
+        } catch (UsageException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            summary.put("error", e.getMessage());
+            exitCode = EXIT_USAGE;
+        } catch (DatabaseUnavailableException e) {
+            progress("❌ " + e.getMessage());
+            summary.put("error", e.getMessage());
+            exitCode = EXIT_NO_DATABASE;
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Batch command " + arguments.getCommand() + " failed", e);
+            progress("❌ " + arguments.getCommand() + " failed: " + e.getMessage());
+            summary.put("error", String.valueOf(e.getMessage()));
+            exitCode = EXIT_FAILED;
+        }
+
+        LocalDateTime finished = LocalDateTime.now();
+        summary.put("status", statusOf(exitCode)).put("exitCode", exitCode).timing(started, finished);
+        Path summaryFile = arguments.has("summary")
+                ? Paths.get(arguments.option("summary", null))
+                : outputDirectory.resolve("summaries")
+                        .resolve(arguments.getCommand() + "-" + finished.format(FILE_TIMESTAMP) + ".json");
+        try {
+            summary.writeTo(summaryFile);
+            progress("📄 Summary written to " + summaryFile);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not write the batch summary to " + summaryFile, e);
+            System.out.println(summary.toJson());
+        }
+        return exitCode;
+    }
+
+    private int dispatch() throws IOException {
+        switch (arguments.getCommand()) {
+            case "payroll":
+                return payroll();
+            case "report":
+                return report();
+            case "payslips":
+                return payslips();
+            case "import-attendance":
+                return importAttendance();
+            case "remittance":
+                return remittance();
+            default:
+                throw new UsageException("Unknown command: " + arguments.getCommand());
+        }
+    }
+
+    private int payroll() {
+        List<PayRun> runs;
+        if (arguments.has("period")) {
+            LocalDate[] period = parsePeriod(arguments.required("period"));
+            requireDatabase();
+            progress("🧮 Calculating the pay run of " + period[0] + " to " + period[1]);
+            runs = List.of(new PayRunService().calculateDraft(period[0], period[1], user));
+        } else {
+            LocalDate payDate = parseDate(arguments.option("pay-date", LocalDate.now().toString()), "--pay-date");
+            requireDatabase();
+            progress("🧮 Calculating the pay runs due by " + payDate);
+            runs = new PayRunService().calculateDrafts(payDate, user);
+        }
+
+        for (PayRun run : runs) {
+            progress(String.format("✅ Pay run %d, %s to %s: %d employees, net %.2f",
+                    run.getRunId(), run.getPeriodStart(), run.getPeriodEnd(), run.getEmployeeCount(), run.getTotalNetPay()));
+            summary.add("runs", new BatchSummary()
+                    .put("runId", run.getRunId())
+                    .put("periodStart", run.getPeriodStart())
+                    .put("periodEnd", run.getPeriodEnd())
+                    .put("status", run.getStatus())
+                    .put("employees", run.getEmployeeCount())
+                    .put("grossPay", run.getTotalGrossPay())
+                    .put("deductions", run.getTotalDeductions())
+                    .put("netPay", run.getTotalNetPay()));
+        }
+        if (runs.isEmpty()) {
+            progress("No pay run is due");
+            summary.put("runs", List.of());
+        }
+        return EXIT_OK;
+    }
+
+    private int report() throws IOException {
+        String type = arguments.option("type", "payroll");
+        if (!"payroll".equals(type) && !"contributions".equals(type)) {
+            throw new UsageException("Unknown report type: " + type);
+        }
+        String format = arguments.option("format", "csv");
+        if (!"csv".equals(format) && !"html".equals(format)) {
+            throw new UsageException("Unknown report format: " + format);
+        }
+        YearMonth month = parseMonth(arguments.required("month"));
+        requireDatabase();
+
+        progress("📊 Generating the " + type + " report of " + month);
+        ReportGenerator generator = new ReportGenerator();
+        PayrollReport report = "payroll".equals(type)
+                ? generator.generateMonthlyPayrollReport(month.atDay(1), user)
+                : generator.generateGovernmentContributionsReport(month.atDay(1), user);
+
+        Path file = outputDirectory.resolve("reports").resolve(type + "-" + month + "." + format);
+        Files.createDirectories(file.getParent());
+        if ("csv".equals(format)) {
+            generator.exportReportToCSV(report, file.toString());
+        } else {
+            generator.exportReportToHTML(report, file.toString());
+        }
+
+        progress("✅ " + report.getTotalEmployees() + " employees written to " + file);
+        summary.put("report", report.getReportTitle())
+                .put("file", file)
+                .put("employees", report.getTotalEmployees())
+                .put("grossPay", report.getTotalGrossPay())
+                .put("deductions", report.getTotalDeductions())
+                .put("netPay", report.getTotalNetPay());
+        return EXIT_OK;
+    }
+
+    private int payslips() {
+        Integer runId = arguments.has("run") ? parseInt(arguments.required("run"), "--run") : null;
+        LocalDate[] period = runId == null ? parsePeriod(arguments.required("period")) : null;
+        requireDatabase();
+
+        PayRunService payRunService = new PayRunService();
+        PayRun run = (runId != null ? payRunService.findRunById(runId) : payRunService.findRun(period[0], period[1]))
+                .orElseThrow(() -> new IllegalStateException("No pay run found for " +
+                        (runId != null ? "ID " + runId : period[0] + " to " + period[1])));
+        if (!run.isClosed()) {
+            throw new IllegalStateException("Payslips are issued from approved pay runs; run " + run.getRunId() +
+                    " is " + run.getStatus());
+        }
+
+        Map<Integer, Employee> employees = new HashMap<>();
+        for (Employee employee : new EmployeeDAO().getAllEmployees()) {
+            employees.put(employee.getEmployeeId(), employee);
+        }
+        List<Payroll> payrolls = payRunService.getSnapshot(run.getRunId());
+        Path directory = outputDirectory.resolve("payslips").resolve(run.getPeriodStart() + "_" + run.getPeriodEnd());
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create " + directory, e);
+        }
+
+        progress("🧾 Issuing " + payrolls.size() + " payslips of pay run " + run.getRunId());
+        JasperReportService payslipService = new JasperReportService();
+        int issued = 0;
+        List<Integer> failed = new ArrayList<>();
+        for (Payroll payroll : payrolls) {
+            Employee employee = employees.get(payroll.getEmployeeId());
+            try {
+                if (employee == null) {
+                    throw new IllegalStateException("Employee no longer exists");
+                }
+                payslipService.generatePayslipPDF(employee, payroll,
+                        directory.resolve("payslip_" + payroll.getEmployeeId() + ".pdf").toString());
+                issued++;
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Payslip of employee " + payroll.getEmployeeId() + " failed", e);
+                failed.add(payroll.getEmployeeId());
+            }
+            if ((issued + failed.size()) % PROGRESS_EVERY == 0) {
+                progress(String.format("   %d of %d", issued + failed.size(), payrolls.size()));
+            }
+        }
+
+        progress("✅ " + issued + " payslips written to " + directory +
+                (failed.isEmpty() ? "" : "; " + failed.size() + " failed"));
+        summary.put("runId", run.getRunId())
+                .put("periodStart", run.getPeriodStart())
+                .put("periodEnd", run.getPeriodEnd())
+                .put("directory", directory)
+                .put("issued", issued)
+                .put("failedEmployees", new ArrayList<Object>(failed));
+        return failed.isEmpty() ? EXIT_OK : EXIT_PARTIAL;
+    }
+
+    private int importAttendance() throws IOException {
+        Path file = Paths.get(arguments.positional(0, "the file to import"));
+        if (!Files.isReadable(file)) {
+            throw new UsageException("Cannot read " + file);
+        }
+        AttendanceImportService.Format format = parseImportFormat(
+                arguments.option("format", null), file.getFileName().toString());
+        requireDatabase();
+
+        progress("⏱️ Importing " + file + " as " + format);
+        AttendanceImportService importService = new AttendanceImportService();
+        AttendanceImportResult result = importService.importFile(file, format);
+        progress("✅ " + result.getSummary());
+
+        summary.put("source", file)
+                .put("format", format)
+                .put("linesRead", result.getLinesRead())
+                .put("imported", result.getImported())
+                .put("duplicates", result.getDuplicates())
+                .put("rejected", result.getRejected());
+        if (!result.hasRejections()) {
+            return EXIT_OK;
+        }
+
+        Path rejects = outputDirectory.resolve("imports")
+                .resolve(file.getFileName() + "-rejects-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".csv");
+        Files.createDirectories(rejects.getParent());
+        importService.writeRejectReport(result, rejects);
+        progress("⚠️ Rejected rows written to " + rejects);
+        summary.put("rejectReport", rejects);
+        return EXIT_PARTIAL;
+    }
+
+    private int remittance() throws IOException {
+        YearMonth month = arguments.has("alphalist") ? null : parseMonth(arguments.required("month"));
+        int year = month == null ? parseInt(arguments.required("alphalist"), "--alphalist") : 0;
+        requireDatabase();
+
+        RemittanceService remittanceService = new RemittanceService();
+        RemittanceService.Result result;
+        if (month != null) {
+            progress("🏛️ Writing the remittance files of " + month);
+            result = remittanceService.generateMonth(month, user);
+        } else {
+            progress("🏛️ Writing the BIR alphalist of " + year);
+            result = remittanceService.generateAlphalist(year, user);
+        }
+
+        for (RemittanceFile file : result.getFiles()) {
+            progress(String.format("✅ %s: %d records, %d rejected -> %s",
+                    file.getAgency(), file.getRecordCount(), file.getRejectedCount(), file.getFileName()));
+            summary.add("files", new BatchSummary()
+                    .put("agency", file.getAgency())
+                    .put("file", file.getFileName())
+                    .put("records", file.getRecordCount())
+                    .put("rejected", file.getRejectedCount())
+                    .put("employeeShare", file.getEmployeeShare())
+                    .put("employerShare", file.getEmployerShare()));
+        }
+        summary.put("employees", result.getEmployees())
+                .put("rejected", result.getRejectedCount())
+                .put("exceptionsFile", result.getExceptionsFile());
+        if (result.getExceptionsFile() != null) {
+            progress("⚠️ Employees with missing or invalid IDs listed in " + result.getExceptionsFile());
+            return EXIT_PARTIAL;
+        }
+        return EXIT_OK;
+    }
+
+    private static void requireDatabase() {
+        if (!SchemaProbe.getInstance().start().isConnected()) {
+            throw new DatabaseUnavailableException();
+        }
+    }
+
+    private static void progress(String message) {
+        System.out.println("[" + LocalTime.now().truncatedTo(ChronoUnit.SECONDS) + "] " + message);
+    }
+
+    private static String statusOf(int exitCode) {
+        switch (exitCode) {
+            case EXIT_OK: return "ok";
+            case EXIT_PARTIAL: return "partial";
+            case EXIT_USAGE: return "usage";
+            case EXIT_NO_DATABASE: return "no-database";
+            default: return "failed";
+        }
+    }
+
+    /**
+     * Parses START:END, both yyyy-MM-dd
+     */
+    public static LocalDate[] parsePeriod(String value) {
+        String[] parts = value.split(":");
+        if (parts.length != 2) {
+            throw new UsageException("Expected a period as START:END but got " + value);
+        }
+        LocalDate start = parseDate(parts[0], "period start");
+        LocalDate end = parseDate(parts[1], "period end");
+        if (end.isBefore(start)) {
+            throw new UsageException("Period ends before it starts: " + value);
+        }
+        return new LocalDate[] {start, end};
+    }
+
+    public static YearMonth parseMonth(String value) {
+        try {
+            return YearMonth.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new UsageException("Expected a month as YYYY-MM but got " + value);
+        }
+    }
+
+    public static AttendanceImportService.Format parseImportFormat(String value, String fileName) {
+        if (value == null) {
+            return AttendanceImportService.Format.fromFileName(fileName);
+        }
+        switch (value.toLowerCase()) {
+            case "csv": return AttendanceImportService.Format.CSV;
+            case "fixed-width": return AttendanceImportService.Format.FIXED_WIDTH;
+            default: throw new UsageException("Unknown import format: " + value);
+        }
+    }
+
+    private static LocalDate parseDate(String value, String what) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new UsageException("Expected " + what + " as yyyy-MM-dd but got " + value);
+        }
+    }
+
+    private static int parseInt(String value, String what) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new UsageException("Expected a number for " + what + " but got " + value);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package cli;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * JSON summary of one batch command, written when the command ends so a scheduler can tell
+ * what ran and with what outcome without parsing the log. Values are strings, numbers,
+ * booleans, nested summaries or lists of those; keys keep the order they were put in.
+ */
+public class BatchSummary {
+    private final Map<String, Object> values = new LinkedHashMap<>();
+
+    /**
+     * @return this summary, for chaining
+     */
+    public BatchSummary put(String key, Object value) {
+        values.put(key, value);
+        return this;
+    }
+
+    /**
+     * Appends an entry to the list under the key, creating the list on first use
+     */
+    @SuppressWarnings("unchecked")
+    public BatchSummary add(String key, Object entry) {
+        ((List<Object>) values.computeIfAbsent(key, k -> new ArrayList<>())).add(entry);
+        return this;
+    }
+
+    public Object get(String key) {
+        return values.get(key);
+    }
+
+    /**
+     * Records the command's timing; started and finished are local times, duration in milliseconds
+     */
+    public BatchSummary timing(LocalDateTime started, LocalDateTime finished) {
+        put("started", started.truncatedTo(ChronoUnit.SECONDS).toString());
+        put("finished", finished.truncatedTo(ChronoUnit.SECONDS).toString());
+        put("durationMillis", Duration.between(started, finished).toMillis());
+        return this;
+    }
+
+    public void writeTo(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.write(file, (toJson() + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String toJson() {
+        StringBuilder json = new StringBuilder();
+        appendValue(json, this, 0);
+        return json.toString();
+    }
+
+    private static void appendValue(StringBuilder json, Object value, int depth) {
+        if (value == null) {
+            json.append("null");
+        } else if (value instanceof BatchSummary) {
+            Map<String, Object> entries = ((BatchSummary) value).values;
+            if (entries.isEmpty()) {
+                json.append("{}");
+                return;
+            }
+            json.append("{\n");
+            int i = 0;
+            for (Map.Entry<String, Object> entry : entries.entrySet()) {
+                indent(json, depth + 1);
+                appendString(json, entry.getKey());
+                json.append(": ");
+                appendValue(json, entry.getValue(), depth + 1);
+                json.append(++i < entries.size() ? ",\n" : "\n");
+            }
+            indent(json, depth);
+            json.append('}');
+        } else if (value instanceof List) {
+            List<?> entries = (List<?>) value;
+            if (entries.isEmpty()) {
+                json.append("[]");
+                return;
+            }
+            json.append("[\n");
+            for (int i = 0; i < entries.size(); i++) {
+                indent(json, depth + 1);
+                appendValue(json, entries.get(i), depth + 1);
+                json.append(i + 1 < entries.size() ? ",\n" : "\n");
+            }
+            indent(json, depth);
+            json.append(']');
+        } else if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            // JSON has no NaN or infinity
+            json.append(Double.isFinite(number) ? String.format(Locale.ROOT, "%.2f", number) : "null");
+        } else if (value instanceof Number || value instanceof Boolean) {
+            json.append(value);
+        } else {
+            appendString(json, value.toString());
+        }
+    }
+
+    private static void appendString(StringBuilder json, String text) {
+        json.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"': json.append("\\\""); break;
+                case '\\': json.append("\\\\"); break;
+                case '\n': json.append("\\n"); break;
+                case '\r': json.append("\\r"); break;
+                case '\t': json.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+
+    private static void indent(StringBuilder json, int depth) {
+        for (int i = 0; i < depth; i++) {
+            json.append("  ");
+        }
+    }
+}
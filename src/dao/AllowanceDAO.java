@@ -0,0 +1,96 @@
+package dao;
+
+import util.DBConnection;
+import model.ScheduledAllowance;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * Data Access Object for employee_allowances.
+ * Reads every active allowance whose effective window overlaps a pay period in one query,
+ * ordered so AllowanceEngine can pack them without sorting.
+ */
+public class AllowanceDAO {
+    private static final Logger logger = Logger.getLogger(AllowanceDAO.class.getName());
+
+    // SQL Query constants
+    private static final String SELECT_IN_PERIOD =
+        "SELECT employee_id, allowance_type, amount, is_taxable, effective_date, expiry_date " +
+        "FROM employee_allowances " +
+        "WHERE is_active = TRUE AND (effective_date IS NULL OR effective_date <= ?) " +
+        "AND (expiry_date IS NULL OR expiry_date >= ?)";
+
+    private static final String ORDER_FOR_ENGINE = " ORDER BY employee_id, allowance_type, effective_date";
+
+    /**
+     * Retrieves the active allowances of every employee that are in effect on any day of a period
+     * @throws RuntimeException if database error occurs
+     */
+    public List<ScheduledAllowance> getAllowancesInPeriod(LocalDate periodStart, LocalDate periodEnd) {
+        validatePeriod(periodStart, periodEnd);
+        return query(SELECT_IN_PERIOD + ORDER_FOR_ENGINE, periodStart, periodEnd, null);
+    }
+
+    /**
+     * Retrieves one employee's active allowances that are in effect on any day of a period
+     * @throws RuntimeException if database error occurs
+     */
+    public List<ScheduledAllowance> getAllowancesInPeriod(int employeeId, LocalDate periodStart, LocalDate periodEnd) {
+        if (employeeId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be positive");
+        }
+        validatePeriod(periodStart, periodEnd);
+        return query(SELECT_IN_PERIOD + " AND employee_id = ?" + ORDER_FOR_ENGINE, periodStart, periodEnd, employeeId);
+    }
+
+    private List<ScheduledAllowance> query(String sql, LocalDate periodStart, LocalDate periodEnd, Integer employeeId) {
+        List<ScheduledAllowance> allowances = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setDate(1, java.sql.Date.valueOf(periodEnd));
+            stmt.setDate(2, java.sql.Date.valueOf(periodStart));
+            if (employeeId != null) {
+                stmt.setInt(3, employeeId);
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    allowances.add(mapResultSetToAllowance(rs));
+                }
+            }
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error retrieving allowances for period " + periodStart + " to " + periodEnd, e);
+            throw new RuntimeException("Failed to retrieve allowances", e);
+        }
+
+        return allowances;
+    }
+
+    private void validatePeriod(LocalDate periodStart, LocalDate periodEnd) {
+        if (periodStart == null || periodEnd == null) {
+            throw new IllegalArgumentException("Period dates cannot be null");
+        }
+        if (periodEnd.isBefore(periodStart)) {
+            throw new IllegalArgumentException("Period end cannot be before period start");
+        }
+    }
+
+    private ScheduledAllowance mapResultSetToAllowance(ResultSet rs) throws SQLException {
+        java.sql.Date effectiveDate = rs.getDate("effective_date");
+        java.sql.Date expiryDate = rs.getDate("expiry_date");
+        return new ScheduledAllowance(
+            rs.getInt("employee_id"),
+            rs.getString("allowance_type"),
+            rs.getDouble("amount"),
+            rs.getBoolean("is_taxable"),
+            effectiveDate != null ? effectiveDate.toLocalDate() : null,
+            expiryDate != null ? expiryDate.toLocalDate() : null
+        );
+    }
+}
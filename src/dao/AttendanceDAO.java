@@ -1,7 +1,12 @@
 package dao;
 
+import util.AuditTrail;
+import util.ChangeBus;
+import util.DashboardMetrics;
 import util.DBConnection;
 import model.Attendance;
+import model.AuditEvent;
+import model.ChangeEvent;
 import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -188,6 +193,10 @@ public class AttendanceDAO {
 
                     logger.info(String.format("Successfully inserted attendance record with ID: %d for employee %d",
                             generatedId, attendance.getEmployeeId()));
+                    // The duplicate check above makes this the employee's first punch of the day
+                    DashboardMetrics.getInstance().attendanceRecorded(attendanceDate, attendance.getLogIn().toLocalTime());
+                    ChangeBus.getInstance().publish(ChangeEvent.Entity.ATTENDANCE, ChangeEvent.Kind.INSERTED,
+                            generatedId, attendance.getEmployeeId());
 
                     return generatedId;
                 } else {
@@ -240,6 +249,15 @@ public class AttendanceDAO {
             stmt.setInt(5, attendance.getId());
 
             int affectedRows = stmt.executeUpdate();
+            if (affectedRows > 0) {
+                AuditTrail.getInstance().record(AuditEvent.ACTION_UPDATE, AuditEvent.ENTITY_ATTENDANCE, attendance.getId(),
+                        "Employee " + attendance.getEmployeeId() + " on " + attendance.getDate() +
+                                ": in=" + attendance.getLogIn() + ", out=" + attendance.getLogOut());
+                // The record may also have moved off another day
+                DashboardMetrics.getInstance().attendanceChanged(null);
+                ChangeBus.getInstance().publish(ChangeEvent.Entity.ATTENDANCE, ChangeEvent.Kind.UPDATED,
+                        attendance.getId(), attendance.getEmployeeId());
+            }
             return affectedRows > 0;
 
         } catch (SQLException ex) {
@@ -260,6 +278,12 @@ public class AttendanceDAO {
 
             stmt.setInt(1, attendanceId);
             int affectedRows = stmt.executeUpdate();
+            if (affectedRows > 0) {
+                AuditTrail.getInstance().record(AuditEvent.ACTION_DELETE, AuditEvent.ENTITY_ATTENDANCE, attendanceId,
+                        "Deleted attendance record " + attendanceId);
+                DashboardMetrics.getInstance().attendanceChanged(null);
+                ChangeBus.getInstance().publish(ChangeEvent.Entity.ATTENDANCE, ChangeEvent.Kind.DELETED, attendanceId, 0);
+            }
             return affectedRows > 0;
 
         } catch (SQLException ex) {
@@ -391,6 +415,54 @@ public class AttendanceDAO {
     }
 
 
+    /**
+     * Inserts or replaces attendance rows in batches, keyed on (employee_id, date).
+     * Re-importing the same punches is therefore idempotent.
+     * @param records Validated attendance rows
+     * @return Number of rows sent to the database
+     */
+    public int upsertAttendanceBatch(List<Attendance> records) {
+        if (records == null || records.isEmpty()) {
+            return 0;
+        }
+
+        String query = "INSERT INTO attendance (employee_id, date, log_in, log_out) VALUES (?, ?, ?, ?) " +
+                "ON DUPLICATE KEY UPDATE log_in = VALUES(log_in), log_out = VALUES(log_out)";
+
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                for (Attendance attendance : records) {
+                    stmt.setInt(1, attendance.getEmployeeId());
+                    stmt.setDate(2, attendance.getDate());
+                    stmt.setTime(3, attendance.getLogIn());
+                    stmt.setTime(4, attendance.getLogOut());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+                LocalDate today = LocalDate.now();
+                if (records.stream().anyMatch(a -> a.getDate() != null && today.equals(a.getDate().toLocalDate()))) {
+                    DashboardMetrics.getInstance().attendanceChanged(today);
+                }
+                ChangeBus.getInstance().publish(ChangeEvent.Entity.ATTENDANCE, ChangeEvent.Kind.BULK, 0, 0);
+                return records.size();
+
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error upserting " + records.size() + " attendance records", ex);
+            throw new RuntimeException("Failed to import attendance records", ex);
+        }
+    }
+
+
     private Attendance mapResultSetToAttendance(ResultSet rs) throws SQLException {
         Attendance attendance = new Attendance();
         attendance.setId(rs.getInt("id")); // Using 'id' from database instead of 'attendance_id'
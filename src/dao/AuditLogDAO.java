@@ -0,0 +1,127 @@
+package dao;
+
+import util.DBConnection;
+import model.AuditEvent;
+import java.sql.*;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * Data Access Object for the append-only audit log
+ */
+public class AuditLogDAO {
+    private static final Logger logger = Logger.getLogger(AuditLogDAO.class.getName());
+
+    // SQL Query constants
+    private static final String INSERT_EVENT =
+        "INSERT INTO audit_log (event_time, actor_id, actor_name, action, entity_type, entity_id, details) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_COLUMNS =
+        "SELECT audit_id, event_time, actor_id, actor_name, action, entity_type, entity_id, details FROM audit_log ";
+
+    private static final String SELECT_RECENT =
+        SELECT_COLUMNS + "ORDER BY event_time DESC, audit_id DESC LIMIT ?";
+
+    private static final String SELECT_RECENT_BY_ENTITY_TYPE =
+        SELECT_COLUMNS + "WHERE entity_type = ? ORDER BY event_time DESC, audit_id DESC LIMIT ?";
+
+    private static final int MAX_DETAILS_LENGTH = 1000;
+
+    /**
+     * Writes a batch of audit events in a single transaction
+     * @param events Events to persist, in publication order
+     */
+    public void insertBatch(List<AuditEvent> events) {
+        if (events == null || events.isEmpty()) {
+            return;
+        }
+
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement stmt = conn.prepareStatement(INSERT_EVENT)) {
+                for (AuditEvent event : events) {
+                    stmt.setTimestamp(1, event.getEventTime());
+                    if (event.getActorId() != null) {
+                        stmt.setInt(2, event.getActorId());
+                    } else {
+                        stmt.setNull(2, Types.INTEGER);
+                    }
+                    stmt.setString(3, event.getActorName());
+                    stmt.setString(4, event.getAction());
+                    stmt.setString(5, event.getEntityType());
+                    stmt.setString(6, event.getEntityId());
+                    stmt.setString(7, truncate(event.getDetails()));
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error writing " + events.size() + " audit events", ex);
+            throw new RuntimeException("Failed to write audit events", ex);
+        }
+    }
+
+    /**
+     * Gets the most recent audit events
+     * @param entityType Entity type to filter on, or null for all
+     * @param limit Maximum number of events
+     */
+    public List<AuditEvent> getRecentEvents(String entityType, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        List<AuditEvent> events = new ArrayList<>();
+        String sql = entityType == null ? SELECT_RECENT : SELECT_RECENT_BY_ENTITY_TYPE;
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            if (entityType != null) {
+                stmt.setString(index++, entityType);
+            }
+            stmt.setInt(index, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    int actorValue = rs.getInt("actor_id");
+                    Integer actorId = rs.wasNull() ? null : actorValue;
+                    events.add(new AuditEvent(
+                        rs.getLong("audit_id"),
+                        rs.getTimestamp("event_time"),
+                        actorId,
+                        rs.getString("actor_name"),
+                        rs.getString("action"),
+                        rs.getString("entity_type"),
+                        rs.getString("entity_id"),
+                        rs.getString("details")));
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error retrieving audit events", ex);
+            throw new RuntimeException("Failed to retrieve audit events", ex);
+        }
+
+        return events;
+    }
+
+    private String truncate(String details) {
+        if (details == null || details.length() <= MAX_DETAILS_LENGTH) {
+            return details;
+        }
+        return details.substring(0, MAX_DETAILS_LENGTH);
+    }
+}
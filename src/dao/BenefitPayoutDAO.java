@@ -0,0 +1,303 @@
+package dao;
+
+import util.DBConnection;
+import util.SchemaProbe;
+import model.BenefitPayout;
+import model.LeaveRequest;
+import model.TaxYearToDate;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * Data Access Object for 13th month and final pay.
+ * Everything a payout needs for every employee of a year comes from one aggregated scan
+ * of the closed pay run snapshots, joined to the YTD tax accumulators, the Annual leave
+ * balance and the separations; the computed payouts are written back in one batch.
+ */
+public class BenefitPayoutDAO {
+    private static final Logger logger = Logger.getLogger(BenefitPayoutDAO.class.getName());
+
+    // SQL Query constants
+    // Basic pay earned is the period's basic less late, undertime and unpaid leave.
+    // A separation after the year does not count: the employee was still employed through it.
+    private static final String SELECT_PAYOUT_BASIS =
+        "SELECT e.employee_id, e.basic_salary, COALESCE(b.basic_earned, 0) AS basic_earned, b.last_period_end, " +
+        "COALESCE(y.periods, 0) AS periods, COALESCE(y.taxable_gross, 0) AS taxable_gross, " +
+        "COALESCE(y.contributions, 0) AS contributions, COALESCE(y.tax_withheld, 0) AS tax_withheld, " +
+        "COALESCE(l.accrued - l.used, 0) AS leave_available, " +
+        "CASE WHEN sep.separation_date < ? THEN sep.separation_date END AS separation_date " +
+        "FROM employees e " +
+        "LEFT JOIN (SELECT s.employee_id, " +
+        "SUM(s.gross_earnings - s.late_deduction - s.undertime_deduction - s.unpaid_leave_deduction) AS basic_earned, " +
+        "MAX(s.period_end) AS last_period_end " +
+        "FROM pay_run_snapshot s JOIN pay_run r ON r.run_id = s.run_id " +
+        "WHERE r.status IN ('Approved', 'Locked') AND s.period_end >= ? AND s.period_end < ? " +
+        "GROUP BY s.employee_id) b ON b.employee_id = e.employee_id " +
+        "LEFT JOIN payroll_ytd y ON y.employee_id = e.employee_id AND y.year = ? " +
+        "LEFT JOIN leave_balance l ON l.employee_id = e.employee_id AND l.leave_type = ? AND l.year = ? " +
+        "LEFT JOIN employee_separation sep ON sep.employee_id = e.employee_id " +
+        "WHERE sep.separation_date IS NULL OR sep.separation_date >= ? " +
+        "ORDER BY e.employee_id";
+
+    private static final String DELETE_PAYOUTS_FOR_YEAR =
+        "DELETE FROM benefit_payout WHERE year = ?";
+
+    private static final String INSERT_PAYOUT =
+        "INSERT INTO benefit_payout (employee_id, year, payout_type, basic_earned, thirteenth_month, prorated_salary, " +
+        "leave_days, leave_conversion, tax_adjustment, net_amount, separation_date) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_PAYOUTS_FOR_YEAR =
+        "SELECT employee_id, year, payout_type, basic_earned, thirteenth_month, prorated_salary, leave_days, " +
+        "leave_conversion, tax_adjustment, separation_date FROM benefit_payout WHERE year = ? " +
+        "ORDER BY payout_type, employee_id";
+
+    private static final String UPSERT_SEPARATION =
+        "INSERT INTO employee_separation (employee_id, separation_date, reason) VALUES (?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE separation_date = VALUES(separation_date), reason = VALUES(reason)";
+
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * Inputs of one employee's payout for a year, as read by the aggregated scan
+     */
+    public static final class PayoutBasis {
+        private final int employeeId;
+        private final double monthlyBasic;
+        private final double basicEarned;
+        private final LocalDate lastPeriodEnd;
+        private final double leaveAvailable;
+        private final LocalDate separationDate;
+        private final TaxYearToDate yearToDate;
+
+        public PayoutBasis(int employeeId, double monthlyBasic, double basicEarned, LocalDate lastPeriodEnd,
+                           double leaveAvailable, LocalDate separationDate, TaxYearToDate yearToDate) {
+            this.employeeId = employeeId;
+            this.monthlyBasic = monthlyBasic;
+            this.basicEarned = basicEarned;
+            this.lastPeriodEnd = lastPeriodEnd;
+            this.leaveAvailable = leaveAvailable;
+            this.separationDate = separationDate;
+            this.yearToDate = yearToDate;
+        }
+
+        public int getEmployeeId() { return employeeId; }
+        public double getMonthlyBasic() { return monthlyBasic; }
+        public double getBasicEarned() { return basicEarned; }
+        public LocalDate getLastPeriodEnd() { return lastPeriodEnd; }
+        public double getLeaveAvailable() { return leaveAvailable; }
+        public LocalDate getSeparationDate() { return separationDate; }
+        public TaxYearToDate getYearToDate() { return yearToDate; }
+
+        public boolean isSeparated() {
+            return separationDate != null;
+        }
+    }
+
+    /**
+     * @return true unless the schema probe found a table of the scan or the payouts missing
+     */
+    public boolean isAvailable() {
+        SchemaProbe.Snapshot schema = SchemaProbe.getInstance().getSnapshot();
+        return !schema.isTableMissing("benefit_payout") && !schema.isTableMissing("employee_separation")
+                && !schema.isTableMissing("payroll_ytd") && !schema.isTableMissing("leave_balance");
+    }
+
+    /**
+     * Reads the payout inputs of every employee still employed at the start of the year
+     * in one aggregated query; only a separation within the year makes a final pay
+     * @param year Calendar year
+     * @return Inputs ordered by employee ID
+     * @throws RuntimeException if database error occurs
+     */
+    public List<PayoutBasis> getPayoutBasis(int year) {
+        List<PayoutBasis> basis = new ArrayList<>();
+        java.sql.Date yearStart = java.sql.Date.valueOf(LocalDate.of(year, 1, 1));
+        java.sql.Date nextYearStart = java.sql.Date.valueOf(LocalDate.of(year + 1, 1, 1));
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_PAYOUT_BASIS)) {
+
+            stmt.setDate(1, nextYearStart);
+            stmt.setDate(2, yearStart);
+            stmt.setDate(3, nextYearStart);
+            stmt.setInt(4, year);
+            stmt.setString(5, LeaveRequest.ANNUAL_LEAVE);
+            stmt.setInt(6, year);
+            stmt.setDate(7, yearStart);
+            stmt.setFetchSize(BATCH_SIZE);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    basis.add(mapResultSetToPayoutBasis(rs, year));
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error reading payout basis for " + year, ex);
+            throw new RuntimeException("Failed to read payout basis", ex);
+        }
+
+        return basis;
+    }
+
+    /**
+     * Replaces the payouts of a year in one transaction, so an employee separated after an
+     * earlier run does not keep a stale 13th month row
+     * @param year Calendar year
+     * @param payouts Every computed payout of the year
+     * @throws RuntimeException if database error occurs
+     */
+    public void replacePayouts(int year, List<BenefitPayout> payouts) {
+        if (payouts == null) {
+            throw new IllegalArgumentException("Payout list cannot be null");
+        }
+
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement deleteStmt = conn.prepareStatement(DELETE_PAYOUTS_FOR_YEAR);
+                 PreparedStatement insertStmt = conn.prepareStatement(INSERT_PAYOUT)) {
+
+                deleteStmt.setInt(1, year);
+                deleteStmt.executeUpdate();
+
+                int pending = 0;
+                for (BenefitPayout payout : payouts) {
+                    setPayoutParameters(insertStmt, year, payout);
+                    insertStmt.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        insertStmt.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    insertStmt.executeBatch();
+                }
+
+                conn.commit();
+                logger.info(String.format("Stored %d benefit payouts for %d", payouts.size(), year));
+
+            } catch (SQLException | RuntimeException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error storing benefit payouts for " + year, ex);
+            throw new RuntimeException("Failed to store benefit payouts", ex);
+        }
+    }
+
+    /**
+     * Retrieves the stored payouts of a year
+     * @return Payouts ordered by type and employee ID
+     * @throws RuntimeException if database error occurs
+     */
+    public List<BenefitPayout> getPayouts(int year) {
+        List<BenefitPayout> payouts = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_PAYOUTS_FOR_YEAR)) {
+
+            stmt.setInt(1, year);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    payouts.add(mapResultSetToBenefitPayout(rs));
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error retrieving benefit payouts for " + year, ex);
+            throw new RuntimeException("Failed to retrieve benefit payouts", ex);
+        }
+
+        return payouts;
+    }
+
+    /**
+     * Records or corrects an employee's separation
+     * @param employeeId Separated employee
+     * @param separationDate Last working day
+     * @param reason Reason for leaving, may be null
+     * @throws RuntimeException if database error occurs
+     */
+    public void recordSeparation(int employeeId, LocalDate separationDate, String reason) {
+        if (employeeId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be positive");
+        }
+        if (separationDate == null) {
+            throw new IllegalArgumentException("Separation date cannot be null");
+        }
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPSERT_SEPARATION)) {
+
+            stmt.setInt(1, employeeId);
+            stmt.setDate(2, java.sql.Date.valueOf(separationDate));
+            stmt.setString(3, reason);
+            stmt.executeUpdate();
+            logger.info(String.format("Recorded separation of employee %d on %s", employeeId, separationDate));
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error recording separation for employee " + employeeId, ex);
+            throw new RuntimeException("Failed to record separation", ex);
+        }
+    }
+
+    private void setPayoutParameters(PreparedStatement stmt, int year, BenefitPayout payout) throws SQLException {
+        stmt.setInt(1, payout.getEmployeeId());
+        stmt.setInt(2, year);
+        stmt.setString(3, payout.getPayoutType());
+        stmt.setDouble(4, payout.getBasicEarned());
+        stmt.setDouble(5, payout.getThirteenthMonth());
+        stmt.setDouble(6, payout.getProratedSalary());
+        stmt.setDouble(7, payout.getLeaveDays());
+        stmt.setDouble(8, payout.getLeaveConversion());
+        stmt.setDouble(9, payout.getTaxAdjustment());
+        stmt.setDouble(10, payout.getNetAmount());
+        stmt.setDate(11, payout.getSeparationDate() != null ? java.sql.Date.valueOf(payout.getSeparationDate()) : null);
+    }
+
+    private PayoutBasis mapResultSetToPayoutBasis(ResultSet rs, int year) throws SQLException {
+        int employeeId = rs.getInt("employee_id");
+        java.sql.Date lastPeriodEnd = rs.getDate("last_period_end");
+        java.sql.Date separationDate = rs.getDate("separation_date");
+        TaxYearToDate ytd = new TaxYearToDate(
+            employeeId,
+            year,
+            rs.getInt("periods"),
+            rs.getDouble("taxable_gross"),
+            rs.getDouble("contributions"),
+            rs.getDouble("tax_withheld"),
+            lastPeriodEnd != null ? lastPeriodEnd.toLocalDate() : null
+        );
+        return new PayoutBasis(
+            employeeId,
+            rs.getDouble("basic_salary"),
+            rs.getDouble("basic_earned"),
+            lastPeriodEnd != null ? lastPeriodEnd.toLocalDate() : null,
+            rs.getDouble("leave_available"),
+            separationDate != null ? separationDate.toLocalDate() : null,
+            ytd
+        );
+    }
+
+    private BenefitPayout mapResultSetToBenefitPayout(ResultSet rs) throws SQLException {
+        BenefitPayout payout = new BenefitPayout(rs.getInt("employee_id"), rs.getInt("year"), rs.getString("payout_type"));
+        payout.setBasicEarned(rs.getDouble("basic_earned"));
+        payout.setThirteenthMonth(rs.getDouble("thirteenth_month"));
+        payout.setProratedSalary(rs.getDouble("prorated_salary"));
+        payout.setLeaveDays(rs.getDouble("leave_days"));
+        payout.setLeaveConversion(rs.getDouble("leave_conversion"));
+        payout.setTaxAdjustment(rs.getDouble("tax_adjustment"));
+        java.sql.Date separationDate = rs.getDate("separation_date");
+        payout.setSeparationDate(separationDate != null ? separationDate.toLocalDate() : null);
+        return payout;
+    }
+}
@@ -0,0 +1,135 @@
+package dao;
+
+import util.DBConnection;
+import util.SchemaProbe;
+import model.ChangeEvent;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * Data Access Object for the change_log table, which relays change events between
+ * running instances of the application. Instances append their own events and read
+ * the others' by primary key range; IDs are allocated before commit, so a reader goes
+ * back to re-read IDs it found missing (see ChangeBus).
+ */
+public class ChangeLogDAO {
+    private static final Logger logger = Logger.getLogger(ChangeLogDAO.class.getName());
+
+    // SQL Query constants
+    private static final String INSERT_CHANGE =
+        "INSERT INTO change_log (entity, entity_id, employee_id, change_kind, origin) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String SELECT_LATEST_ID =
+        "SELECT COALESCE(MAX(change_id), 0) FROM change_log";
+
+    private static final String SELECT_AFTER =
+        "SELECT change_id, entity, entity_id, employee_id, change_kind, origin FROM change_log " +
+        "WHERE change_id > ? ORDER BY change_id LIMIT ?";
+
+    private static final String DELETE_BEFORE =
+        "DELETE FROM change_log WHERE changed_at < ?";
+
+    /**
+     * Receives the changes read by readAfter, in change ID order
+     */
+    public interface ChangeHandler {
+        void handle(long changeId, String origin, ChangeEvent event);
+    }
+
+    public boolean isAvailable() {
+        return !SchemaProbe.getInstance().getSnapshot().isTableMissing("change_log");
+    }
+
+    /**
+     * Appends a change made by this instance
+     * @param origin Identifier of the instance that made the change
+     */
+    public void append(ChangeEvent event, String origin) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_CHANGE)) {
+
+            stmt.setString(1, event.getEntity().name());
+            stmt.setInt(2, event.getEntityId());
+            stmt.setInt(3, event.getEmployeeId());
+            stmt.setString(4, event.getKind().name());
+            stmt.setString(5, origin);
+            stmt.executeUpdate();
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error logging change " + event, ex);
+            throw new RuntimeException("Failed to log change", ex);
+        }
+    }
+
+    /**
+     * @return ID of the newest logged change, or 0 if none; polling starts after it
+     */
+    public long getLatestChangeId() {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_LATEST_ID);
+             ResultSet rs = stmt.executeQuery()) {
+
+            return rs.next() ? rs.getLong(1) : 0L;
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error reading latest change ID", ex);
+            throw new RuntimeException("Failed to read change log", ex);
+        }
+    }
+
+    /**
+     * Reads the changes logged after the given one; the events are marked remote
+     * @param afterId Last change ID already seen
+     * @param limit Maximum number of changes to read
+     * @return ID of the last change read, or afterId if there was none
+     */
+    public long readAfter(long afterId, int limit, ChangeHandler handler) {
+        long lastId = afterId;
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_AFTER)) {
+
+            stmt.setLong(1, afterId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    lastId = rs.getLong("change_id");
+                    ChangeEvent.Entity entity;
+                    ChangeEvent.Kind kind;
+                    try {
+                        entity = ChangeEvent.Entity.valueOf(rs.getString("entity"));
+                        kind = ChangeEvent.Kind.valueOf(rs.getString("change_kind"));
+                    } catch (IllegalArgumentException e) {
+                        // Written by a newer version of the application
+                        continue;
+                    }
+                    handler.handle(lastId, rs.getString("origin"), new ChangeEvent(entity, kind,
+                            rs.getInt("entity_id"), rs.getInt("employee_id"), true));
+                }
+            }
+            return lastId;
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error reading changes after " + afterId, ex);
+            throw new RuntimeException("Failed to read change log", ex);
+        }
+    }
+
+    /**
+     * Deletes changes logged before the given time
+     * @return Number of changes deleted
+     */
+    public int purgeBefore(LocalDateTime cutoff) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(DELETE_BEFORE)) {
+
+            stmt.setTimestamp(1, Timestamp.valueOf(cutoff));
+            return stmt.executeUpdate();
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error purging change log", ex);
+            throw new RuntimeException("Failed to purge change log", ex);
+        }
+    }
+}
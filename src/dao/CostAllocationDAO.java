@@ -0,0 +1,214 @@
+package dao;
+
+import util.DBConnection;
+import util.SchemaProbe;
+import model.CostAllocation;
+import model.CostLine;
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * Data Access Object for payroll cost allocation.
+ * A period's cost is read in one aggregated query over the approved pay run snapshots, one
+ * row per employee with the department of their position, and streamed into the allocation
+ * tree. Split allocations for shared employees come from employee_cost_allocation.
+ */
+public class CostAllocationDAO {
+    private static final Logger logger = Logger.getLogger(CostAllocationDAO.class.getName());
+
+    /**
+     * Receives a period's lines in employee order
+     */
+    public interface LineHandler {
+        void accept(CostLine line);
+    }
+
+    // SQL Query constants
+    private static final String SELECT_RUN_STATUS =
+        "SELECT COALESCE(SUM(CASE WHEN status IN ('Approved', 'Locked') THEN 1 ELSE 0 END), 0) AS closed_runs, " +
+        "COALESCE(SUM(CASE WHEN status IN ('Approved', 'Locked') THEN 0 ELSE 1 END), 0) AS open_runs, " +
+        "COALESCE(MAX(CASE WHEN status IN ('Approved', 'Locked') THEN run_id END), 0) AS last_run_id " +
+        "FROM pay_run WHERE period_end >= ? AND period_end < ?";
+
+    private static final String SELECT_LATEST_CLOSED_PERIOD_END =
+        "SELECT MAX(period_end) FROM pay_run WHERE status IN ('Approved', 'Locked')";
+
+    private static final String SELECT_DEPARTMENTS =
+        "SELECT department_id, department_name, budget_allocation FROM departments ORDER BY department_id";
+
+    private static final String SELECT_SPLITS =
+        "SELECT employee_id, department_id, share_percent FROM employee_cost_allocation " +
+        "WHERE effective_date <= ? AND (expiry_date IS NULL OR expiry_date >= ?) " +
+        "ORDER BY employee_id, department_id";
+
+    // A title listed under several departments is charged to the first
+    private static final String SELECT_LINES =
+        "SELECT e.employee_id, MAX(e.last_name) AS last_name, MAX(e.first_name) AS first_name, " +
+        "MAX(pd.department_id) AS department_id, MAX(s.monthly_rate) AS monthly_rate, " +
+        "SUM(s.gross_earnings - s.late_deduction - s.undertime_deduction - s.unpaid_leave_deduction) AS basic_pay, " +
+        "SUM(s.overtime_pay) AS overtime_pay, " +
+        "SUM(s.rice_subsidy + s.phone_allowance + s.clothing_allowance + s.other_allowances) AS allowances, " +
+        "SUM(s.sss) AS sss, SUM(s.philhealth) AS philhealth, SUM(s.pagibig) AS pagibig " +
+        "FROM pay_run_snapshot s " +
+        "JOIN pay_run r ON r.run_id = s.run_id " +
+        "JOIN employees e ON e.employee_id = s.employee_id " +
+        "LEFT JOIN (SELECT position_title, MIN(department_id) AS department_id FROM positions " +
+        "GROUP BY position_title) pd ON pd.position_title = e.position " +
+        "WHERE r.status IN ('Approved', 'Locked') AND s.period_end >= ? AND s.period_end < ? " +
+        "GROUP BY e.employee_id ORDER BY e.employee_id";
+
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * @return true unless the schema probe found the pay run snapshots missing
+     */
+    public boolean isAvailable() {
+        return !SchemaProbe.getInstance().getSnapshot().isTableMissing("pay_run_snapshot");
+    }
+
+    /**
+     * Builds the empty tree of a month: the company with the state of the month's pay runs,
+     * and every department with its budget
+     * @throws RuntimeException if database error occurs
+     */
+    public CostAllocation openPeriod(String companyName, YearMonth period) {
+        try (Connection conn = DBConnection.getConnection()) {
+            CostAllocation company;
+            try (PreparedStatement stmt = conn.prepareStatement(SELECT_RUN_STATUS)) {
+                stmt.setDate(1, java.sql.Date.valueOf(period.atDay(1)));
+                stmt.setDate(2, java.sql.Date.valueOf(period.plusMonths(1).atDay(1)));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    rs.next();
+                    company = CostAllocation.company(companyName, period,
+                            rs.getInt("closed_runs"), rs.getInt("open_runs"), rs.getInt("last_run_id"));
+                }
+            }
+
+            if (!SchemaProbe.getInstance().getSnapshot().isTableMissing("departments")) {
+                try (PreparedStatement stmt = conn.prepareStatement(SELECT_DEPARTMENTS);
+                     ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        company.child(rs.getInt("department_id"), rs.getString("department_name"))
+                                .setBudget(centavos(rs, "budget_allocation"));
+                    }
+                }
+            }
+            return company;
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error reading pay runs for " + period, ex);
+            throw new RuntimeException("Failed to open cost allocation period", ex);
+        }
+    }
+
+    /**
+     * Month of the latest approved pay period
+     * @return The month, or null if no run is approved yet
+     * @throws RuntimeException if database error occurs
+     */
+    public YearMonth getLatestClosedMonth() {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_LATEST_CLOSED_PERIOD_END);
+             ResultSet rs = stmt.executeQuery()) {
+
+            java.sql.Date periodEnd = rs.next() ? rs.getDate(1) : null;
+            return periodEnd != null ? YearMonth.from(periodEnd.toLocalDate()) : null;
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error reading latest approved pay run", ex);
+            throw new RuntimeException("Failed to read latest approved pay run", ex);
+        }
+    }
+
+    /**
+     * Split allocations in force on a date
+     * @return Shares in hundredths of a percent by department, by employee ID;
+     *         employees charged wholly to their position's department are absent
+     * @throws RuntimeException if database error occurs
+     */
+    public Map<Integer, Map<Integer, Integer>> getSplits(LocalDate asOf) {
+        Map<Integer, Map<Integer, Integer>> splits = new HashMap<>();
+        if (SchemaProbe.getInstance().getSnapshot().isTableMissing("employee_cost_allocation")) {
+            return splits;
+        }
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_SPLITS)) {
+
+            stmt.setDate(1, java.sql.Date.valueOf(asOf));
+            stmt.setDate(2, java.sql.Date.valueOf(asOf));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    splits.computeIfAbsent(rs.getInt("employee_id"), key -> new LinkedHashMap<>())
+                            .put(rs.getInt("department_id"), (int) centavos(rs, "share_percent"));
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error reading cost allocation splits as of " + asOf, ex);
+            throw new RuntimeException("Failed to read cost allocation splits", ex);
+        }
+
+        return splits;
+    }
+
+    /**
+     * Streams one line per employee with approved pay periods ending in the range
+     * @param periodStart First day of the range
+     * @param periodEnd Last day of the range
+     * @param handler Receives each line as it is read
+     * @return Number of lines read
+     * @throws RuntimeException if database error occurs
+     */
+    public int streamLines(LocalDate periodStart, LocalDate periodEnd, LineHandler handler) {
+        int count = 0;
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_LINES)) {
+
+            stmt.setDate(1, java.sql.Date.valueOf(periodStart));
+            stmt.setDate(2, java.sql.Date.valueOf(periodEnd.plusDays(1)));
+            stmt.setFetchSize(BATCH_SIZE);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    handler.accept(mapResultSetToLine(rs));
+                    count++;
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error reading payroll cost from " + periodStart + " to " + periodEnd, ex);
+            throw new RuntimeException("Failed to read payroll cost lines", ex);
+        }
+
+        return count;
+    }
+
+    private CostLine mapResultSetToLine(ResultSet rs) throws SQLException {
+        return new CostLine(
+            rs.getInt("employee_id"),
+            rs.getString("last_name"),
+            rs.getString("first_name"),
+            rs.getInt("department_id"),
+            centavos(rs, "monthly_rate"),
+            centavos(rs, "basic_pay"),
+            centavos(rs, "overtime_pay"),
+            centavos(rs, "allowances"),
+            centavos(rs, "sss"),
+            centavos(rs, "philhealth"),
+            centavos(rs, "pagibig")
+        );
+    }
+
+    // Also turns a two-decimal percentage into hundredths of a percent
+    private static long centavos(ResultSet rs, String column) throws SQLException {
+        BigDecimal value = rs.getBigDecimal(column);
+        return value == null ? 0L : value.movePointRight(2).setScale(0, java.math.RoundingMode.HALF_UP).longValue();
+    }
+}
@@ -1,57 +1,88 @@
 package dao;
 
+import util.AuditTrail;
 import util.DBConnection;
+import util.PasswordHasher;
+import model.AuditEvent;
 import java.sql.*;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
+/**
+ * Data Access Object for login credentials.
+ * Only salted hashes are written; verification lives in AuthenticationService.
+ */
 public class CredentialsDAO {
     private static final Logger logger = Logger.getLogger(CredentialsDAO.class.getName());
 
-    public boolean authenticateUser(int employeeId, String password) {
-        String query = "SELECT employee_id FROM credentials WHERE employee_id = ? AND password = ?";
+    private static final String SELECT_PASSWORD_HASH =
+        "SELECT password_hash FROM credentials WHERE employee_id = ?";
 
+    // Clears the legacy plaintext column along the way
+    private static final String UPDATE_PASSWORD_HASH =
+        "UPDATE credentials SET password_hash = ?, password = NULL WHERE employee_id = ?";
+
+    private static final String INSERT_CREDENTIALS =
+        "INSERT INTO credentials (employee_id, password_hash) VALUES (?, ?)";
+
+    /**
+     * Retrieves the stored password hash of an employee
+     * @param employeeId Employee ID
+     * @return Encoded hash (or legacy plaintext), or null if the employee has no credentials
+     * @throws RuntimeException if database error occurs
+     */
+    public String getPasswordHash(int employeeId) {
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+             PreparedStatement stmt = conn.prepareStatement(SELECT_PASSWORD_HASH)) {
 
             stmt.setInt(1, employeeId);
-            stmt.setString(2, password);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                return rs.next();
+                return rs.next() ? rs.getString("password_hash") : null;
             }
 
         } catch (SQLException ex) {
-            logger.log(Level.SEVERE, "Error authenticating user", ex);
-            return false;
+            logger.log(Level.SEVERE, "Error retrieving credentials for employee " + employeeId, ex);
+            throw new RuntimeException("Failed to retrieve credentials", ex);
         }
     }
 
-    public boolean updatePassword(int employeeId, String newPassword) {
-        String query = "UPDATE credentials SET password = ? WHERE employee_id = ?";
-
+    /**
+     * Replaces a stored hash without auditing, e.g. when a legacy password is re-hashed on login
+     * @param employeeId Employee ID
+     * @param passwordHash Encoded hash from PasswordHasher
+     * @return true if the row was updated
+     */
+    public boolean updatePasswordHash(int employeeId, String passwordHash) {
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_PASSWORD_HASH)) {
 
-            stmt.setString(1, newPassword);
+            stmt.setString(1, passwordHash);
             stmt.setInt(2, employeeId);
 
             return stmt.executeUpdate() > 0;
 
         } catch (SQLException ex) {
-            logger.log(Level.SEVERE, "Error updating password", ex);
+            logger.log(Level.SEVERE, "Error updating password hash", ex);
             return false;
         }
     }
 
-    public boolean createCredentials(int employeeId, String password) {
-        String query = "INSERT INTO credentials (employee_id, password) VALUES (?, ?)";
+    public boolean updatePassword(int employeeId, String newPassword) {
+        boolean updated = updatePasswordHash(employeeId, PasswordHasher.hash(newPassword));
+        if (updated) {
+            AuditTrail.getInstance().record(AuditEvent.ACTION_PASSWORD_CHANGE, AuditEvent.ENTITY_CREDENTIALS,
+                    employeeId, "Password changed");
+        }
+        return updated;
+    }
 
+    public boolean createCredentials(int employeeId, String password) {
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+             PreparedStatement stmt = conn.prepareStatement(INSERT_CREDENTIALS)) {
 
             stmt.setInt(1, employeeId);
-            stmt.setString(2, password);
+            stmt.setString(2, PasswordHasher.hash(password));
 
             return stmt.executeUpdate() > 0;
 
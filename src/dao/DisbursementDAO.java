@@ -0,0 +1,155 @@
+package dao;
+
+import util.DBConnection;
+import util.SchemaProbe;
+import model.DisbursementFile;
+import model.DisbursementRecord;
+import java.io.IOException;
+import java.sql.*;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * Data Access Object for payroll bank accounts and generated disbursement files.
+ * A run's credits are streamed row by row, ordered by bank, so a file can be written
+ * while reading without holding the run in memory.
+ */
+public class DisbursementDAO {
+    private static final Logger logger = Logger.getLogger(DisbursementDAO.class.getName());
+
+    /**
+     * Receives a run's credits in bank and employee order
+     */
+    public interface RecordHandler {
+        void accept(DisbursementRecord record) throws IOException;
+    }
+
+    // SQL Query constants
+    // Employees without an active account come first, with a null bank code
+    private static final String SELECT_RUN_CREDITS =
+        "SELECT s.employee_id, s.net_pay, b.bank_code, b.account_number, b.account_name " +
+        "FROM pay_run_snapshot s " +
+        "LEFT JOIN employee_bank_account b ON b.employee_id = s.employee_id AND b.is_active = TRUE " +
+        "WHERE s.run_id = ? AND s.net_pay > 0 " +
+        "ORDER BY b.bank_code, s.employee_id";
+
+    private static final String UPSERT_ACCOUNT =
+        "INSERT INTO employee_bank_account (employee_id, bank_code, account_number, account_name, is_active) " +
+        "VALUES (?, ?, ?, ?, TRUE) " +
+        "ON DUPLICATE KEY UPDATE bank_code = VALUES(bank_code), account_number = VALUES(account_number), " +
+        "account_name = VALUES(account_name), is_active = TRUE";
+
+    private static final String INSERT_FILE =
+        "INSERT INTO disbursement_file (run_id, bank_code, layout, file_name, credit_date, record_count, " +
+        "control_total, hash_total, created_by) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * @return true unless the schema probe found the account table missing
+     */
+    public boolean isAvailable() {
+        return !SchemaProbe.getInstance().getSnapshot().isTableMissing("employee_bank_account");
+    }
+
+    /**
+     * Streams the positive net pay credits of a run to a handler
+     * @param runId Pay run ID
+     * @param handler Receives each credit as it is read
+     * @return Number of credits read
+     * @throws IOException if the handler fails; reading stops
+     * @throws RuntimeException if database error occurs
+     */
+    public int streamRunCredits(int runId, RecordHandler handler) throws IOException {
+        if (runId <= 0) {
+            throw new IllegalArgumentException("Run ID must be positive");
+        }
+
+        int count = 0;
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_RUN_CREDITS)) {
+
+            stmt.setInt(1, runId);
+            stmt.setFetchSize(BATCH_SIZE);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    handler.accept(new DisbursementRecord(
+                        rs.getInt("employee_id"),
+                        rs.getString("bank_code"),
+                        rs.getString("account_number"),
+                        rs.getString("account_name"),
+                        rs.getBigDecimal("net_pay").movePointRight(2).longValue()
+                    ));
+                    count++;
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error streaming credits of pay run: " + runId, ex);
+            throw new RuntimeException("Failed to read pay run credits", ex);
+        }
+
+        return count;
+    }
+
+    /**
+     * Sets an employee's payroll account, replacing the previous one
+     * @throws RuntimeException if database error occurs
+     */
+    public void saveAccount(int employeeId, String bankCode, String accountNumber, String accountName) {
+        if (employeeId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be positive");
+        }
+        if (bankCode == null || bankCode.trim().isEmpty() || accountNumber == null || accountNumber.trim().isEmpty()) {
+            throw new IllegalArgumentException("Bank code and account number are required");
+        }
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPSERT_ACCOUNT)) {
+
+            stmt.setInt(1, employeeId);
+            stmt.setString(2, bankCode.trim().toUpperCase());
+            stmt.setString(3, accountNumber.trim());
+            stmt.setString(4, accountName);
+            stmt.executeUpdate();
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error saving bank account of employee " + employeeId, ex);
+            throw new RuntimeException("Failed to save bank account", ex);
+        }
+    }
+
+    /**
+     * Records the files generated for a run
+     * @throws RuntimeException if database error occurs
+     */
+    public void recordFiles(List<DisbursementFile> files, String createdBy) {
+        if (files == null || files.isEmpty()) {
+            return;
+        }
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_FILE)) {
+
+            for (DisbursementFile file : files) {
+                stmt.setInt(1, file.getRunId());
+                stmt.setString(2, file.getBankCode());
+                stmt.setString(3, file.getLayout());
+                stmt.setString(4, file.getFileName());
+                stmt.setDate(5, java.sql.Date.valueOf(file.getCreditDate()));
+                stmt.setInt(6, file.getRecordCount());
+                stmt.setBigDecimal(7, java.math.BigDecimal.valueOf(file.getControlTotal(), 2));
+                stmt.setLong(8, file.getHashTotal());
+                stmt.setString(9, createdBy);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error recording disbursement files", ex);
+            throw new RuntimeException("Failed to record disbursement files", ex);
+        }
+    }
+}
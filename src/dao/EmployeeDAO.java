@@ -1,6 +1,12 @@
 package dao;
 
+import util.AuditTrail;
+import util.ChangeBus;
+import util.DashboardMetrics;
 import util.DBConnection;
+import util.SchemaProbe;
+import model.AuditEvent;
+import model.ChangeEvent;
 import model.Employee;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -10,16 +16,78 @@ import java.sql.Statement;
 import java.sql.Date;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+/**
+ * Data Access Object for employees.
+ * Writes go to the employees table and the normalized government ID and allowance tables in
+ * one transaction that also re-projects the employee's snapshot row. Reads are served from
+ * the employee_snapshot read model (see EmployeeSnapshotDAO), falling back to the employees
+ * table when the snapshot has not been migrated.
+ */
 public class EmployeeDAO {
     private static final Logger LOGGER = Logger.getLogger(EmployeeDAO.class.getName());
 
+    // Columns read by mapResultSetToEmployee; employees and employee_snapshot share them
+    private static final String EMPLOYEE_COLUMNS =
+            "employee_id, last_name, first_name, birthday, address, phone_number, sss_number, " +
+            "philhealth_number, tin_number, pagibig_number, status, position, immediate_supervisor, " +
+            "basic_salary, rice_subsidy, phone_allowance, clothing_allowance, gross_semi_monthly_rate, hourly_rate";
+
+    private static final String SELECT_SNAPSHOT_BY_ID =
+            "SELECT " + EMPLOYEE_COLUMNS + " FROM employee_snapshot WHERE employee_id = ? AND stale = FALSE";
+
+    private static final String SELECT_EMPLOYEE_BY_ID =
+            "SELECT " + EMPLOYEE_COLUMNS + " FROM employees WHERE employee_id = ?";
+
+    // Government ID type IDs seeded in government_id_types
+    private static final int SSS_ID_TYPE = 1;
+    private static final int PHILHEALTH_ID_TYPE = 2;
+    private static final int TIN_ID_TYPE = 3;
+    private static final int PAGIBIG_ID_TYPE = 4;
+
+    private static final String UPSERT_GOVERNMENT_ID =
+            "INSERT INTO employee_government_ids (employee_id, id_type_id, id_number) VALUES (?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE id_number = VALUES(id_number)";
+
+    private static final String DELETE_GOVERNMENT_ID =
+            "DELETE FROM employee_government_ids WHERE employee_id = ? AND id_type_id = ?";
+
+    private static final String ALLOWANCE_IN_EFFECT_TODAY =
+            "employee_id = ? AND allowance_type = ? AND is_active = TRUE " +
+            "AND (effective_date IS NULL OR effective_date <= CURDATE()) " +
+            "AND (expiry_date IS NULL OR expiry_date >= CURDATE())";
+
+    private static final String SELECT_ALLOWANCE_IN_EFFECT =
+            "SELECT amount, is_taxable FROM employee_allowances WHERE " + ALLOWANCE_IN_EFFECT_TODAY +
+            " ORDER BY effective_date DESC";
+
+    // Rows that took effect before today end yesterday; today's row is replaced below
+    private static final String EXPIRE_ALLOWANCE_IN_EFFECT =
+            "UPDATE employee_allowances SET expiry_date = TIMESTAMPADD(DAY, -1, CURDATE()) WHERE " +
+            ALLOWANCE_IN_EFFECT_TODAY + " AND (effective_date IS NULL OR effective_date < CURDATE())";
+
+    private static final String UPSERT_ALLOWANCE_FROM_TODAY =
+            "INSERT INTO employee_allowances (employee_id, allowance_type, amount, is_taxable, effective_date) " +
+            "VALUES (?, ?, ?, ?, CURDATE()) " +
+            "ON DUPLICATE KEY UPDATE amount = VALUES(amount), is_taxable = VALUES(is_taxable), " +
+            "is_active = TRUE, expiry_date = NULL";
+
+    private static final String DEACTIVATE_ALLOWANCE_FROM_TODAY =
+            "UPDATE employee_allowances SET is_active = FALSE " +
+            "WHERE employee_id = ? AND allowance_type = ? AND effective_date = CURDATE()";
+
+    private final EmployeeSnapshotDAO snapshotDAO = new EmployeeSnapshotDAO();
+
     public List<Employee> getAllEmployees() {
         List<Employee> employees = new ArrayList<>();
-        String query = "SELECT * FROM employees ORDER BY last_name, first_name";
+        String query = "SELECT " + EMPLOYEE_COLUMNS + " FROM " + readSource() + " ORDER BY last_name, first_name";
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query);
@@ -38,9 +106,47 @@ public class EmployeeDAO {
         return employees;
     }
 
+    /**
+     * Loads just the employee IDs, for bulk validation without mapping full rows
+     */
+    public Set<Integer> getAllEmployeeIds() {
+        Set<Integer> ids = new HashSet<>();
+        String query = "SELECT employee_id FROM employees";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error fetching employee IDs", ex);
+            throw new RuntimeException("Failed to fetch employee IDs", ex);
+        }
+
+        return ids;
+    }
+
     public Employee getEmployeeById(int employeeId) {
-        String query = "SELECT * FROM employees WHERE employee_id = ?";
+        if (snapshotDAO.isAvailable()) {
+            try {
+                Employee snapshot = findEmployee(SELECT_SNAPSHOT_BY_ID, employeeId);
+                if (snapshot != null) {
+                    return snapshot;
+                }
+                // Stale or not projected yet: project it and read it again
+                snapshotDAO.refresh(employeeId);
+                return findEmployee(SELECT_SNAPSHOT_BY_ID, employeeId);
+            } catch (RuntimeException ex) {
+                LOGGER.log(Level.WARNING, "Employee snapshot unavailable, reading employees directly", ex);
+            }
+        }
+        return findEmployee(SELECT_EMPLOYEE_BY_ID, employeeId);
+    }
 
+    private Employee findEmployee(String query, int employeeId) {
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
 
@@ -59,6 +165,22 @@ public class EmployeeDAO {
         return null;
     }
 
+    /**
+     * Table list reads go to: the snapshot once its stale rows are re-projected,
+     * otherwise the employees table itself
+     */
+    private String readSource() {
+        if (snapshotDAO.isAvailable()) {
+            try {
+                snapshotDAO.refreshStale();
+                return "employee_snapshot";
+            } catch (RuntimeException ex) {
+                LOGGER.log(Level.WARNING, "Employee snapshot unavailable, reading employees directly", ex);
+            }
+        }
+        return "employees";
+    }
+
     /**
      * Enhanced insertEmployee method with comprehensive validation
      * @param e Employee object to insert
@@ -170,10 +292,30 @@ public class EmployeeDAO {
             stmt.setDouble(18, e.getGrossSemiMonthlyRate());
             stmt.setDouble(19, e.getHourlyRate());
 
-            int result = stmt.executeUpdate();
+            // The employees row, its normalized rows and its snapshot change together
+            int result;
+            conn.setAutoCommit(false);
+            try {
+                result = stmt.executeUpdate();
+                if (result > 0) {
+                    writeNormalized(conn, e);
+                }
+                conn.commit();
+            } catch (SQLException | RuntimeException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
 
             if (result > 0) {
                 LOGGER.info("Successfully inserted employee: " + e.getEmployeeId() + " - " + e.getFullName());
+                AuditTrail.getInstance().record(AuditEvent.ACTION_CREATE, AuditEvent.ENTITY_EMPLOYEE, e.getEmployeeId(),
+                        String.format("Created %s: status=%s, position=%s, basic_salary=%.2f",
+                                e.getFullName(), e.getStatus(), e.getPosition(), e.getBasicSalary()));
+                DashboardMetrics.getInstance().employeeAdded();
+                ChangeBus.getInstance().publish(ChangeEvent.Entity.EMPLOYEE, ChangeEvent.Kind.INSERTED,
+                        e.getEmployeeId(), e.getEmployeeId());
                 return true;
             } else {
                 LOGGER.warning("No rows affected when inserting employee: " + e.getEmployeeId());
@@ -244,10 +386,29 @@ public class EmployeeDAO {
             stmt.setDouble(18, e.getHourlyRate());
             stmt.setInt(19, e.getEmployeeId());
 
-            int result = stmt.executeUpdate();
+            // The employees row, its normalized rows and its snapshot change together
+            int result;
+            conn.setAutoCommit(false);
+            try {
+                result = stmt.executeUpdate();
+                if (result > 0) {
+                    writeNormalized(conn, e);
+                }
+                conn.commit();
+            } catch (SQLException | RuntimeException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
 
             if (result > 0) {
                 LOGGER.info("Successfully updated employee: " + e.getEmployeeId() + " - " + e.getFullName());
+                AuditTrail.getInstance().record(AuditEvent.ACTION_UPDATE, AuditEvent.ENTITY_EMPLOYEE, e.getEmployeeId(),
+                        String.format("Updated %s: status=%s, position=%s, basic_salary=%.2f",
+                                e.getFullName(), e.getStatus(), e.getPosition(), e.getBasicSalary()));
+                ChangeBus.getInstance().publish(ChangeEvent.Entity.EMPLOYEE, ChangeEvent.Kind.UPDATED,
+                        e.getEmployeeId(), e.getEmployeeId());
                 return true;
             } else {
                 LOGGER.warning("No employee found with ID: " + e.getEmployeeId() + " for update");
@@ -260,6 +421,101 @@ public class EmployeeDAO {
         }
     }
 
+    /**
+     * Mirrors the employee's government IDs and allowances into the normalized tables and
+     * re-projects its snapshot row, on the caller's transaction
+     */
+    private void writeNormalized(Connection conn, Employee e) throws SQLException {
+        SchemaProbe.Snapshot schema = SchemaProbe.getInstance().getSnapshot();
+
+        if (!schema.isTableMissing("employee_government_ids")) {
+            Map<Integer, String> governmentIds = new LinkedHashMap<>();
+            governmentIds.put(SSS_ID_TYPE, e.getSssNumber());
+            governmentIds.put(PHILHEALTH_ID_TYPE, e.getPhilhealthNumber());
+            governmentIds.put(TIN_ID_TYPE, e.getTinNumber());
+            governmentIds.put(PAGIBIG_ID_TYPE, e.getPagibigNumber());
+
+            try (PreparedStatement upsert = conn.prepareStatement(UPSERT_GOVERNMENT_ID);
+                 PreparedStatement delete = conn.prepareStatement(DELETE_GOVERNMENT_ID)) {
+                for (Map.Entry<Integer, String> governmentId : governmentIds.entrySet()) {
+                    String number = governmentId.getValue() != null ? governmentId.getValue().trim() : "";
+                    if (number.isEmpty()) {
+                        delete.setInt(1, e.getEmployeeId());
+                        delete.setInt(2, governmentId.getKey());
+                        delete.addBatch();
+                    } else {
+                        upsert.setInt(1, e.getEmployeeId());
+                        upsert.setInt(2, governmentId.getKey());
+                        upsert.setString(3, number);
+                        upsert.addBatch();
+                    }
+                }
+                upsert.executeBatch();
+                delete.executeBatch();
+            }
+        }
+
+        if (!schema.isTableMissing("employee_allowances")) {
+            Map<String, Double> allowances = new LinkedHashMap<>();
+            allowances.put("Rice Subsidy", e.getRiceSubsidy());
+            allowances.put("Phone Allowance", e.getPhoneAllowance());
+            allowances.put("Clothing Allowance", e.getClothingAllowance());
+
+            // A changed amount takes effect today: the row in effect is expired, never
+            // overwritten, so earlier periods keep resolving to the amount they were paid
+            try (PreparedStatement select = conn.prepareStatement(SELECT_ALLOWANCE_IN_EFFECT);
+                 PreparedStatement expire = conn.prepareStatement(EXPIRE_ALLOWANCE_IN_EFFECT);
+                 PreparedStatement upsert = conn.prepareStatement(UPSERT_ALLOWANCE_FROM_TODAY);
+                 PreparedStatement deactivate = conn.prepareStatement(DEACTIVATE_ALLOWANCE_FROM_TODAY)) {
+                for (Map.Entry<String, Double> allowance : allowances.entrySet()) {
+                    String type = allowance.getKey();
+                    double amount = allowance.getValue();
+
+                    select.setInt(1, e.getEmployeeId());
+                    select.setString(2, type);
+                    double current = 0;
+                    // Rice subsidy is a de minimis benefit
+                    boolean taxable = !"Rice Subsidy".equals(type);
+                    boolean first = true;
+                    try (ResultSet rs = select.executeQuery()) {
+                        while (rs.next()) {
+                            current += rs.getDouble("amount");
+                            if (first) {
+                                taxable = rs.getBoolean("is_taxable");
+                                first = false;
+                            }
+                        }
+                    }
+                    if (Math.abs(current - amount) < 0.005) {
+                        continue;
+                    }
+
+                    expire.setInt(1, e.getEmployeeId());
+                    expire.setString(2, type);
+                    expire.addBatch();
+                    if (amount > 0) {
+                        upsert.setInt(1, e.getEmployeeId());
+                        upsert.setString(2, type);
+                        upsert.setDouble(3, amount);
+                        upsert.setBoolean(4, taxable);
+                        upsert.addBatch();
+                    } else {
+                        deactivate.setInt(1, e.getEmployeeId());
+                        deactivate.setString(2, type);
+                        deactivate.addBatch();
+                    }
+                }
+                expire.executeBatch();
+                upsert.executeBatch();
+                deactivate.executeBatch();
+            }
+        }
+
+        if (snapshotDAO.isAvailable()) {
+            snapshotDAO.project(conn, e.getEmployeeId());
+        }
+    }
+
     public boolean deleteEmployee(int employeeId) {
         if (employeeId <= 0) {
             throw new IllegalArgumentException("Employee ID must be positive");
@@ -275,6 +531,11 @@ public class EmployeeDAO {
 
             if (result > 0) {
                 LOGGER.info("Successfully deleted employee with ID: " + employeeId);
+                AuditTrail.getInstance().record(AuditEvent.ACTION_DELETE, AuditEvent.ENTITY_EMPLOYEE, employeeId,
+                        "Deleted employee " + employeeId);
+                DashboardMetrics.getInstance().employeeRemoved();
+                ChangeBus.getInstance().publish(ChangeEvent.Entity.EMPLOYEE, ChangeEvent.Kind.DELETED,
+                        employeeId, employeeId);
                 return true;
             } else {
                 LOGGER.warning("No employee found with ID: " + employeeId + " for deletion");
@@ -299,7 +560,7 @@ public class EmployeeDAO {
         }
 
         List<Employee> employees = new ArrayList<>();
-        String query = "SELECT * FROM employees WHERE status = ? ORDER BY last_name, first_name";
+        String query = "SELECT " + EMPLOYEE_COLUMNS + " FROM " + readSource() + " WHERE status = ? ORDER BY last_name, first_name";
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
@@ -326,7 +587,7 @@ public class EmployeeDAO {
         }
 
         List<Employee> employees = new ArrayList<>();
-        String query = "SELECT * FROM employees WHERE position = ? ORDER BY last_name, first_name";
+        String query = "SELECT " + EMPLOYEE_COLUMNS + " FROM " + readSource() + " WHERE position = ? ORDER BY last_name, first_name";
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
@@ -353,7 +614,7 @@ public class EmployeeDAO {
         }
 
         List<Employee> employees = new ArrayList<>();
-        String query = "SELECT * FROM employees WHERE immediate_supervisor = ? ORDER BY last_name, first_name";
+        String query = "SELECT " + EMPLOYEE_COLUMNS + " FROM " + readSource() + " WHERE immediate_supervisor = ? ORDER BY last_name, first_name";
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
@@ -380,7 +641,7 @@ public class EmployeeDAO {
         }
 
         List<Employee> employees = new ArrayList<>();
-        String query = "SELECT * FROM employees WHERE " +
+        String query = "SELECT " + EMPLOYEE_COLUMNS + " FROM " + readSource() + " WHERE " +
                 "CONCAT(first_name, ' ', last_name) LIKE ? OR " +
                 "employee_id LIKE ? OR " +
                 "position LIKE ? " +
@@ -0,0 +1,187 @@
+package dao;
+
+import util.DBConnection;
+import util.SchemaProbe;
+import java.sql.*;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * Read-model projector for employees.
+ * employee_snapshot keeps one denormalized row per employee, projected from employees, the
+ * normalized government ID and allowance tables, positions and departments by a single
+ * INSERT ... SELECT with pivoted aggregates. Triggers on the source tables flag rows as
+ * stale; EmployeeDAO re-projects an employee inside its own write transaction and calls
+ * refreshStale() before reading, so reads are primary-key lookups on an up-to-date row.
+ */
+public class EmployeeSnapshotDAO {
+    private static final Logger logger = Logger.getLogger(EmployeeSnapshotDAO.class.getName());
+
+    // SQL Query constants
+    private static final String ALLOWANCE_IN_EFFECT =
+        "is_active = TRUE AND (effective_date IS NULL OR effective_date <= CURDATE()) " +
+        "AND (expiry_date IS NULL OR expiry_date >= CURDATE())";
+
+    // Each %s is an employee_id predicate; it is applied to both pivots and the employees scan
+    private static final String PROJECT_TEMPLATE =
+        "INSERT INTO employee_snapshot (employee_id, last_name, first_name, birthday, address, phone_number, " +
+        "sss_number, philhealth_number, tin_number, pagibig_number, status, position, department_name, " +
+        "immediate_supervisor, basic_salary, rice_subsidy, phone_allowance, clothing_allowance, " +
+        "gross_semi_monthly_rate, hourly_rate, stale, projected_at) " +
+        "SELECT e.employee_id, e.last_name, e.first_name, e.birthday, e.address, e.phone_number, " +
+        "COALESCE(g.sss_number, e.sss_number), COALESCE(g.philhealth_number, e.philhealth_number), " +
+        "COALESCE(g.tin_number, e.tin_number), COALESCE(g.pagibig_number, e.pagibig_number), " +
+        "e.status, e.position, pd.department_name, e.immediate_supervisor, e.basic_salary, " +
+        "COALESCE(a.rice_subsidy, e.rice_subsidy), COALESCE(a.phone_allowance, e.phone_allowance), " +
+        "COALESCE(a.clothing_allowance, e.clothing_allowance), e.gross_semi_monthly_rate, e.hourly_rate, " +
+        "FALSE, CURRENT_TIMESTAMP " +
+        "FROM employees e " +
+        "LEFT JOIN (SELECT employee_id, " +
+        "MAX(CASE WHEN id_type_id = 1 THEN id_number END) AS sss_number, " +
+        "MAX(CASE WHEN id_type_id = 2 THEN id_number END) AS philhealth_number, " +
+        "MAX(CASE WHEN id_type_id = 3 THEN id_number END) AS tin_number, " +
+        "MAX(CASE WHEN id_type_id = 4 THEN id_number END) AS pagibig_number " +
+        "FROM employee_government_ids WHERE employee_id %s GROUP BY employee_id) g ON g.employee_id = e.employee_id " +
+        "LEFT JOIN (SELECT employee_id, " +
+        "SUM(CASE WHEN allowance_type = 'Rice Subsidy' THEN amount END) AS rice_subsidy, " +
+        "SUM(CASE WHEN allowance_type = 'Phone Allowance' THEN amount END) AS phone_allowance, " +
+        "SUM(CASE WHEN allowance_type = 'Clothing Allowance' THEN amount END) AS clothing_allowance " +
+        "FROM employee_allowances WHERE " + ALLOWANCE_IN_EFFECT + " AND employee_id %s " +
+        "GROUP BY employee_id) a ON a.employee_id = e.employee_id " +
+        "LEFT JOIN (SELECT p.position_title, MIN(d.department_name) AS department_name " +
+        "FROM positions p JOIN departments d ON d.department_id = p.department_id " +
+        "GROUP BY p.position_title) pd ON pd.position_title = e.position " +
+        "WHERE e.employee_id %s " +
+        "ON DUPLICATE KEY UPDATE last_name = VALUES(last_name), first_name = VALUES(first_name), " +
+        "birthday = VALUES(birthday), address = VALUES(address), phone_number = VALUES(phone_number), " +
+        "sss_number = VALUES(sss_number), philhealth_number = VALUES(philhealth_number), " +
+        "tin_number = VALUES(tin_number), pagibig_number = VALUES(pagibig_number), status = VALUES(status), " +
+        "position = VALUES(position), department_name = VALUES(department_name), " +
+        "immediate_supervisor = VALUES(immediate_supervisor), basic_salary = VALUES(basic_salary), " +
+        "rice_subsidy = VALUES(rice_subsidy), phone_allowance = VALUES(phone_allowance), " +
+        "clothing_allowance = VALUES(clothing_allowance), gross_semi_monthly_rate = VALUES(gross_semi_monthly_rate), " +
+        "hourly_rate = VALUES(hourly_rate), stale = FALSE, projected_at = CURRENT_TIMESTAMP";
+
+    private static final String SELECT_STALE_IDS =
+        "SELECT employee_id FROM employee_snapshot WHERE stale = TRUE";
+
+    // Employees inserted before the snapshot triggers existed have no row yet
+    private static final String INSERT_MISSING_ROWS =
+        "INSERT IGNORE INTO employee_snapshot (employee_id, stale) " +
+        "SELECT employee_id, TRUE FROM employees";
+
+    private static final int BATCH_SIZE = 500;
+
+    // Flag rows stale on writes that bypass EmployeeDAO; the embedded profile does not create them
+    private static final String[] STALE_TRIGGERS = {
+        "tr_employee_snapshot_insert", "tr_employee_snapshot_update",
+        "tr_employee_snapshot_gov_id_insert", "tr_employee_snapshot_gov_id_update",
+        "tr_employee_snapshot_gov_id_delete", "tr_employee_snapshot_allowance_insert",
+        "tr_employee_snapshot_allowance_update", "tr_employee_snapshot_allowance_delete"
+    };
+
+    /**
+     * @return true if the snapshot table and the triggers flagging its rows stale both exist;
+     * without the triggers a row could silently lag its source tables
+     */
+    public boolean isAvailable() {
+        return SchemaProbe.getInstance().getSnapshot().isMaintainedTable("employee_snapshot", STALE_TRIGGERS);
+    }
+
+    /**
+     * Re-projects one employee on the caller's transaction
+     * @param conn Connection of the write that changed the employee
+     * @param employeeId Employee to project
+     * @throws SQLException if the projection fails
+     */
+    public void project(Connection conn, int employeeId) throws SQLException {
+        projectIds(conn, Collections.singletonList(employeeId));
+    }
+
+    /**
+     * Re-projects one employee
+     * @throws RuntimeException if database error occurs
+     */
+    public void refresh(int employeeId) {
+        try (Connection conn = DBConnection.getConnection()) {
+            project(conn, employeeId);
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error projecting employee snapshot: " + employeeId, ex);
+            throw new RuntimeException("Failed to project employee snapshot", ex);
+        }
+    }
+
+    /**
+     * Re-projects every row flagged stale by the source-table triggers.
+     * When nothing changed this is one indexed read.
+     * @return Number of employees re-projected
+     * @throws RuntimeException if database error occurs
+     */
+    public int refreshStale() {
+        try (Connection conn = DBConnection.getConnection()) {
+            List<Integer> staleIds = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(SELECT_STALE_IDS);
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    staleIds.add(rs.getInt(1));
+                }
+            }
+
+            for (int from = 0; from < staleIds.size(); from += BATCH_SIZE) {
+                projectIds(conn, staleIds.subList(from, Math.min(from + BATCH_SIZE, staleIds.size())));
+            }
+            if (!staleIds.isEmpty()) {
+                logger.fine("Re-projected " + staleIds.size() + " stale employee snapshots");
+            }
+            return staleIds.size();
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error refreshing stale employee snapshots", ex);
+            throw new RuntimeException("Failed to refresh employee snapshots", ex);
+        }
+    }
+
+    /**
+     * Re-projects every employee.
+     * Picks up changes the triggers cannot see, such as allowances reaching their effective or
+     * expiry date and renamed positions or departments.
+     * @return Number of snapshot rows written
+     * @throws RuntimeException if database error occurs
+     */
+    public int rebuild() {
+        try (Connection conn = DBConnection.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(INSERT_MISSING_ROWS)) {
+                stmt.executeUpdate();
+            }
+            String predicate = "IS NOT NULL";
+            try (PreparedStatement stmt = conn.prepareStatement(String.format(PROJECT_TEMPLATE, predicate, predicate, predicate))) {
+                int rows = stmt.executeUpdate();
+                logger.info("✅ Employee snapshot rebuilt");
+                return rows;
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error rebuilding employee snapshot", ex);
+            throw new RuntimeException("Failed to rebuild employee snapshot", ex);
+        }
+    }
+
+    private void projectIds(Connection conn, List<Integer> employeeIds) throws SQLException {
+        if (employeeIds.isEmpty()) {
+            return;
+        }
+        String predicate = employeeIds.size() == 1 ? "= ?"
+            : "IN (" + String.join(", ", Collections.nCopies(employeeIds.size(), "?")) + ")";
+
+        try (PreparedStatement stmt = conn.prepareStatement(String.format(PROJECT_TEMPLATE, predicate, predicate, predicate))) {
+            int index = 1;
+            for (int pass = 0; pass < 3; pass++) {
+                for (Integer employeeId : employeeIds) {
+                    stmt.setInt(index++, employeeId);
+                }
+            }
+            stmt.executeUpdate();
+        }
+    }
+}
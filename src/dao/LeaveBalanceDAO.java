@@ -0,0 +1,303 @@
+package dao;
+
+import util.DBConnection;
+import model.LeaveBalance;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * Data Access Object for leave balances and their ledger.
+ * Balance rows are keyed by (employee_id, leave_type, year), so a balance check is one
+ * primary-key read. Usage and reversals are applied by the leave request writes inside
+ * their own transaction; accrual is applied by LeaveAccrualJob.
+ */
+public class LeaveBalanceDAO {
+    private static final Logger logger = Logger.getLogger(LeaveBalanceDAO.class.getName());
+
+    // SQL Query constants
+    private static final String BALANCE_COLUMNS =
+        "employee_id, leave_type, year, entitled, accrued, used, accrued_through_month, updated_at";
+
+    private static final String SELECT_BALANCE =
+        "SELECT " + BALANCE_COLUMNS + " FROM leave_balance WHERE employee_id = ? AND leave_type = ? AND year = ?";
+
+    private static final String SELECT_BALANCES_FOR_EMPLOYEE =
+        "SELECT " + BALANCE_COLUMNS + " FROM leave_balance WHERE employee_id = ? AND year = ? ORDER BY leave_type";
+
+    private static final String TRACKED_TYPE_LIST = "('Annual', 'Sick', 'Emergency')";
+
+    // Days of a leave are charged to the year it starts in
+    private static final String INSERT_LEAVE_LEDGER_ENTRY =
+        "INSERT INTO leave_ledger (employee_id, leave_type, year, entry_type, days, leave_id, entry_date) " +
+        "SELECT employee_id, leave_type, YEAR(start_date), ?, ? * (TIMESTAMPDIFF(DAY, start_date, end_date) + 1), leave_id, CURDATE() " +
+        "FROM leave_request WHERE leave_id = ? AND leave_type IN " + TRACKED_TYPE_LIST;
+
+    private static final String UPSERT_USED_FROM_LEAVE =
+        "INSERT INTO leave_balance (employee_id, leave_type, year, used) " +
+        "SELECT employee_id, leave_type, YEAR(start_date), ? * (TIMESTAMPDIFF(DAY, start_date, end_date) + 1) " +
+        "FROM leave_request WHERE leave_id = ? AND leave_type IN " + TRACKED_TYPE_LIST + " " +
+        "ON DUPLICATE KEY UPDATE used = used + VALUES(used)";
+
+    private static final String UPSERT_ENTITLEMENT =
+        "INSERT INTO leave_balance (employee_id, leave_type, year, entitled) " +
+        "SELECT employee_id, ?, ?, ? FROM employees " +
+        "ON DUPLICATE KEY UPDATE entitled = VALUES(entitled)";
+
+    // Accrual tops each balance up to its entitlement through the month; re-running a month is a no-op
+    private static final String INSERT_ACCRUAL_LEDGER =
+        "INSERT INTO leave_ledger (employee_id, leave_type, year, entry_type, days, entry_date) " +
+        "SELECT employee_id, leave_type, year, 'Accrual', ROUND(entitled * ? / 12, 2) - accrued, ? " +
+        "FROM leave_balance WHERE year = ? AND accrued_through_month < ? AND ROUND(entitled * ? / 12, 2) <> accrued";
+
+    private static final String UPDATE_ACCRUED =
+        "UPDATE leave_balance SET accrued = ROUND(entitled * ? / 12, 2), accrued_through_month = ? " +
+        "WHERE year = ? AND accrued_through_month < ?";
+
+    private static final String INSERT_ADJUSTMENT_LEDGER =
+        "INSERT INTO leave_ledger (employee_id, leave_type, year, entry_type, days, entry_date) " +
+        "VALUES (?, ?, ?, 'Adjustment', ?, CURDATE())";
+
+    private static final String UPSERT_ADJUSTMENT =
+        "INSERT INTO leave_balance (employee_id, leave_type, year, accrued) VALUES (?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE accrued = accrued + VALUES(accrued)";
+
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * Retrieves one balance by primary key
+     * @return Balance, or an empty balance if the employee has none for that type and year
+     * @throws RuntimeException if database error occurs
+     */
+    public LeaveBalance getBalance(int employeeId, String leaveType, int year) {
+        validateEmployeeId(employeeId);
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_BALANCE)) {
+
+            stmt.setInt(1, employeeId);
+            stmt.setString(2, leaveType);
+            stmt.setInt(3, year);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapResultSetToLeaveBalance(rs);
+                }
+            }
+            return LeaveBalance.empty(employeeId, leaveType, year);
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, String.format("Error retrieving %s leave balance for employee %d", leaveType, employeeId), ex);
+            throw new RuntimeException("Failed to retrieve leave balance", ex);
+        }
+    }
+
+    /**
+     * Retrieves every tracked balance of an employee for a year, filling in empty
+     * balances for types without a row
+     * @throws RuntimeException if database error occurs
+     */
+    public List<LeaveBalance> getBalances(int employeeId, int year) {
+        validateEmployeeId(employeeId);
+        Map<String, LeaveBalance> byType = new LinkedHashMap<>();
+        for (String type : LeaveBalance.TRACKED_TYPES) {
+            byType.put(type, LeaveBalance.empty(employeeId, type, year));
+        }
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_BALANCES_FOR_EMPLOYEE)) {
+
+            stmt.setInt(1, employeeId);
+            stmt.setInt(2, year);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    LeaveBalance balance = mapResultSetToLeaveBalance(rs);
+                    byType.put(balance.getLeaveType(), balance);
+                }
+            }
+            return new ArrayList<>(byType.values());
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, String.format("Error retrieving leave balances for employee %d", employeeId), ex);
+            throw new RuntimeException("Failed to retrieve leave balances", ex);
+        }
+    }
+
+    /**
+     * Charges approved leaves to their balances, on the caller's connection and transaction.
+     * Leaves of untracked types are ignored.
+     * @param conn Connection with an open transaction
+     * @param leaveIds Leaves that were just approved
+     */
+    public void recordUsage(Connection conn, Collection<Integer> leaveIds) throws SQLException {
+        applyLeaveDays(conn, leaveIds, LeaveBalance.ENTRY_USAGE, 1);
+    }
+
+    /**
+     * Returns the days of cancelled approved leaves to their balances, on the caller's
+     * connection and transaction
+     * @param conn Connection with an open transaction
+     * @param leaveIds Leaves that were approved and are now rejected or deleted
+     */
+    public void recordReversal(Connection conn, Collection<Integer> leaveIds) throws SQLException {
+        applyLeaveDays(conn, leaveIds, LeaveBalance.ENTRY_REVERSAL, -1);
+    }
+
+    private void applyLeaveDays(Connection conn, Collection<Integer> leaveIds, String entryType, int usedSign)
+            throws SQLException {
+        if (leaveIds == null || leaveIds.isEmpty()) {
+            return;
+        }
+
+        try (PreparedStatement ledgerStmt = conn.prepareStatement(INSERT_LEAVE_LEDGER_ENTRY);
+             PreparedStatement balanceStmt = conn.prepareStatement(UPSERT_USED_FROM_LEAVE)) {
+            int pending = 0;
+            for (Integer leaveId : leaveIds) {
+                // Ledger days are the change to the available balance
+                ledgerStmt.setString(1, entryType);
+                ledgerStmt.setInt(2, -usedSign);
+                ledgerStmt.setInt(3, leaveId);
+                ledgerStmt.addBatch();
+
+                balanceStmt.setInt(1, usedSign);
+                balanceStmt.setInt(2, leaveId);
+                balanceStmt.addBatch();
+
+                if (++pending == BATCH_SIZE) {
+                    ledgerStmt.executeBatch();
+                    balanceStmt.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                ledgerStmt.executeBatch();
+                balanceStmt.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Accrues every employee's tracked leave through the end of a month in one transaction.
+     * Entitlements are refreshed from the configuration first; balances already accrued
+     * through the month are left alone, so running the same month twice changes nothing.
+     * @param year Calendar year
+     * @param month Month of the year (1-12)
+     * @param entitlements Days per year of each tracked leave type
+     * @return Number of balances that accrued
+     * @throws RuntimeException if database error occurs; nothing is accrued in that case
+     */
+    public int accrueThrough(int year, int month, Map<String, Integer> entitlements) {
+        if (month < 1 || month > 12) {
+            throw new IllegalArgumentException("Month must be between 1 and 12, got: " + month);
+        }
+
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(UPSERT_ENTITLEMENT)) {
+                    for (Map.Entry<String, Integer> entitlement : entitlements.entrySet()) {
+                        stmt.setString(1, entitlement.getKey());
+                        stmt.setInt(2, year);
+                        stmt.setInt(3, entitlement.getValue());
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+
+                try (PreparedStatement stmt = conn.prepareStatement(INSERT_ACCRUAL_LEDGER)) {
+                    stmt.setInt(1, month);
+                    stmt.setDate(2, java.sql.Date.valueOf(LocalDate.of(year, month, 1)));
+                    stmt.setInt(3, year);
+                    stmt.setInt(4, month);
+                    stmt.setInt(5, month);
+                    stmt.executeUpdate();
+                }
+
+                int accrued;
+                try (PreparedStatement stmt = conn.prepareStatement(UPDATE_ACCRUED)) {
+                    stmt.setInt(1, month);
+                    stmt.setInt(2, month);
+                    stmt.setInt(3, year);
+                    stmt.setInt(4, month);
+                    accrued = stmt.executeUpdate();
+                }
+
+                conn.commit();
+                logger.info(String.format("Accrued leave through %d-%02d for %d balances", year, month, accrued));
+                return accrued;
+
+            } catch (SQLException | RuntimeException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, String.format("Error accruing leave through %d-%02d", year, month), ex);
+            throw new RuntimeException("Failed to accrue leave", ex);
+        }
+    }
+
+    /**
+     * Manually credits (positive) or debits (negative) accrued days, e.g. for carry-over
+     * @throws RuntimeException if database error occurs
+     */
+    public void adjust(int employeeId, String leaveType, int year, double days) {
+        validateEmployeeId(employeeId);
+
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement ledgerStmt = conn.prepareStatement(INSERT_ADJUSTMENT_LEDGER);
+                 PreparedStatement balanceStmt = conn.prepareStatement(UPSERT_ADJUSTMENT)) {
+                ledgerStmt.setInt(1, employeeId);
+                ledgerStmt.setString(2, leaveType);
+                ledgerStmt.setInt(3, year);
+                ledgerStmt.setDouble(4, days);
+                ledgerStmt.executeUpdate();
+
+                balanceStmt.setInt(1, employeeId);
+                balanceStmt.setString(2, leaveType);
+                balanceStmt.setInt(3, year);
+                balanceStmt.setDouble(4, days);
+                balanceStmt.executeUpdate();
+
+                conn.commit();
+                logger.info(String.format("Adjusted %s leave of employee %d for %d by %.2f days", leaveType, employeeId, year, days));
+
+            } catch (SQLException | RuntimeException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, String.format("Error adjusting leave balance for employee %d", employeeId), ex);
+            throw new RuntimeException("Failed to adjust leave balance", ex);
+        }
+    }
+
+    private LeaveBalance mapResultSetToLeaveBalance(ResultSet rs) throws SQLException {
+        return new LeaveBalance(
+                rs.getInt("employee_id"),
+                rs.getString("leave_type"),
+                rs.getInt("year"),
+                rs.getDouble("entitled"),
+                rs.getDouble("accrued"),
+                rs.getDouble("used"),
+                rs.getInt("accrued_through_month"),
+                rs.getTimestamp("updated_at"));
+    }
+
+    private void validateEmployeeId(int employeeId) {
+        if (employeeId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be positive, got: " + employeeId);
+        }
+    }
+}
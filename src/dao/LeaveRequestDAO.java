@@ -1,6 +1,10 @@
 package dao;
 
+import util.ChangeBus;
+import util.DashboardMetrics;
 import util.DBConnection;
+import util.SchemaProbe;
+import model.ChangeEvent;
 import model.LeaveRequest;
 import java.sql.*;
 import java.time.LocalDate;
@@ -53,6 +57,33 @@ public class LeaveRequestDAO {
              OR (start_date <= ? AND end_date >= ?))
         """;
 
+    // Every request of the given status that overlaps a window, grouped for per-employee sweeps
+    private static final String SELECT_BY_STATUS_IN_WINDOW =
+            "SELECT * FROM leave_request WHERE status = ? AND start_date <= ? AND end_date >= ? " +
+            "ORDER BY employee_id, start_date, leave_id";
+
+    // Only pending rows change, so a request decided elsewhere in the meantime is left alone
+    private static final String UPDATE_PENDING_STATUS =
+            "UPDATE leave_request SET status = ? WHERE leave_id = ? AND status = 'Pending'";
+
+    // Locks the row so the ledger sees the status the write replaces
+    private static final String SELECT_STATUS_FOR_UPDATE =
+            "SELECT status FROM leave_request WHERE leave_id = ? FOR UPDATE";
+
+    // Every request of the employees being approved, locked so another batch cannot approve an
+    // overlapping one until this transaction ends; the first query finds the employees
+    private static final String SELECT_EMPLOYEES_OF_REQUESTS_FOR_UPDATE =
+            "SELECT employee_id FROM leave_request WHERE leave_id IN (%s) FOR UPDATE";
+
+    private static final String SELECT_REQUESTS_OF_EMPLOYEES_FOR_UPDATE =
+            "SELECT * FROM leave_request WHERE employee_id IN (%s) FOR UPDATE";
+
+    private static final int BATCH_SIZE = 500;
+    // Beyond this many decisions open screens reload rather than apply each row
+    private static final int MAX_ROW_EVENTS = 100;
+
+    private final LeaveBalanceDAO leaveBalanceDAO = new LeaveBalanceDAO();
+
     // Status constants
     private static final String STATUS_PENDING = "Pending";
     private static final String STATUS_APPROVED = "Approved";
@@ -209,35 +240,10 @@ public class LeaveRequestDAO {
     public int insertLeaveRequest(LeaveRequest leaveRequest) {
         validateLeaveRequestForInsert(leaveRequest);
 
-        // ENHANCED: Check if leave_request table exists before attempting insert
-        try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement()) {
-
-            stmt.executeQuery("SELECT 1 FROM leave_request LIMIT 1");
-            logger.fine("Leave request table validation successful");
-
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "Leave request table validation failed", e);
-
-            // Enhanced error message based on specific SQL error
-            if (e.getMessage().contains("doesn't exist") ||
-                    e.getMessage().contains("Table") && e.getMessage().contains("doesn't exist")) {
-                throw new RuntimeException(
-                        "Leave request table not found. Please run the database setup script to create required tables.\n" +
-                                "Technical details: " + e.getMessage());
-            } else if (e.getMessage().contains("Access denied")) {
-                throw new RuntimeException(
-                        "Database access denied. Please check your database credentials and permissions.\n" +
-                                "Technical details: " + e.getMessage());
-            } else if (e.getMessage().contains("Connection")) {
-                throw new RuntimeException(
-                        "Database connection failed. Please check if MySQL server is running.\n" +
-                                "Technical details: " + e.getMessage());
-            } else {
-                throw new RuntimeException(
-                        "Database validation failed. Please check your database configuration.\n" +
-                                "Technical details: " + e.getMessage(), e);
-            }
+        // Table presence comes from the startup schema probe, not a query per insert
+        if (SchemaProbe.getInstance().getSnapshot().isTableMissing("leave_request")) {
+            throw new RuntimeException(
+                    "Leave request table not found. Please run the database setup script to create required tables.");
         }
 
         // ENHANCED: Insert leave request with better error handling
@@ -265,6 +271,10 @@ public class LeaveRequestDAO {
                     leaveRequest.setLeaveId(generatedId);
                     logger.info(String.format("Successfully inserted leave request with ID: %d for employee %d",
                             generatedId, leaveRequest.getEmployeeId()));
+                    DashboardMetrics.getInstance().leaveStatusChanged(null,
+                            leaveRequest.getStatus() != null ? leaveRequest.getStatus() : STATUS_PENDING);
+                    ChangeBus.getInstance().publish(ChangeEvent.Entity.LEAVE_REQUEST, ChangeEvent.Kind.INSERTED,
+                            generatedId, leaveRequest.getEmployeeId());
                     return generatedId;
                 } else {
                     throw new SQLException("Creating leave request failed, no ID obtained.");
@@ -279,6 +289,8 @@ public class LeaveRequestDAO {
 
             if (ex.getMessage().contains("Duplicate entry")) {
                 errorMessage = "Duplicate leave request detected. Please check if this request already exists.";
+            } else if (ex.getMessage().contains("doesn't exist")) {
+                errorMessage = "Leave request table not found. Please run the database setup script to create required tables.";
             } else if (ex.getMessage().contains("foreign key constraint")) {
                 errorMessage = "Invalid employee ID. The specified employee does not exist in the system.";
             } else if (ex.getMessage().contains("Data too long")) {
@@ -307,22 +319,45 @@ public class LeaveRequestDAO {
         validateLeaveId(leaveId);
         validateStatus(status);
 
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(UPDATE_STATUS)) {
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
 
-            stmt.setString(1, status.trim());
-            stmt.setInt(2, leaveId);
+            try (PreparedStatement stmt = conn.prepareStatement(UPDATE_STATUS)) {
+                String previousStatus = lockStatus(conn, leaveId);
+                boolean wasApproved = STATUS_APPROVED.equalsIgnoreCase(previousStatus);
+                boolean isApproved = STATUS_APPROVED.equalsIgnoreCase(status.trim());
 
-            int affectedRows = stmt.executeUpdate();
-            boolean updated = affectedRows > 0;
+                stmt.setString(1, status.trim());
+                stmt.setInt(2, leaveId);
 
-            if (updated) {
-                logger.info(String.format("Successfully updated leave request %d status to %s", leaveId, status));
-            } else {
-                logger.warning(String.format("No leave request found with ID: %d", leaveId));
-            }
+                int affectedRows = stmt.executeUpdate();
+                boolean updated = affectedRows > 0;
+
+                if (updated && wasApproved != isApproved && isLedgerAvailable()) {
+                    if (isApproved) {
+                        leaveBalanceDAO.recordUsage(conn, List.of(leaveId));
+                    } else {
+                        leaveBalanceDAO.recordReversal(conn, List.of(leaveId));
+                    }
+                }
+                conn.commit();
+
+                if (updated) {
+                    logger.info(String.format("Successfully updated leave request %d status to %s", leaveId, status));
+                    DashboardMetrics.getInstance().leaveStatusChanged(previousStatus, status.trim());
+                    ChangeBus.getInstance().publish(ChangeEvent.Entity.LEAVE_REQUEST, ChangeEvent.Kind.UPDATED, leaveId, 0);
+                } else {
+                    logger.warning(String.format("No leave request found with ID: %d", leaveId));
+                }
 
-            return updated;
+                return updated;
+
+            } catch (SQLException | RuntimeException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
 
         } catch (SQLException ex) {
             logger.log(Level.SEVERE, String.format("Error updating leave request status for ID: %d", leaveId), ex);
@@ -340,26 +375,48 @@ public class LeaveRequestDAO {
     public boolean updateLeaveRequest(LeaveRequest leaveRequest) {
         validateLeaveRequestForUpdate(leaveRequest);
 
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(UPDATE_LEAVE_REQUEST)) {
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
 
-            stmt.setInt(1, leaveRequest.getEmployeeId());
-            stmt.setString(2, leaveRequest.getLeaveType());
-            stmt.setDate(3, leaveRequest.getStartDate());
-            stmt.setDate(4, leaveRequest.getEndDate());
-            stmt.setString(5, leaveRequest.getStatus());
-            stmt.setInt(6, leaveRequest.getLeaveId());
+            try (PreparedStatement stmt = conn.prepareStatement(UPDATE_LEAVE_REQUEST)) {
+                boolean ledger = isLedgerAvailable();
+                // An approved leave is re-charged in full since its type or dates may change
+                if (ledger && STATUS_APPROVED.equalsIgnoreCase(lockStatus(conn, leaveRequest.getLeaveId()))) {
+                    leaveBalanceDAO.recordReversal(conn, List.of(leaveRequest.getLeaveId()));
+                }
 
-            int affectedRows = stmt.executeUpdate();
-            boolean updated = affectedRows > 0;
+                stmt.setInt(1, leaveRequest.getEmployeeId());
+                stmt.setString(2, leaveRequest.getLeaveType());
+                stmt.setDate(3, leaveRequest.getStartDate());
+                stmt.setDate(4, leaveRequest.getEndDate());
+                stmt.setString(5, leaveRequest.getStatus());
+                stmt.setInt(6, leaveRequest.getLeaveId());
 
-            if (updated) {
-                logger.info(String.format("Successfully updated leave request with ID: %d", leaveRequest.getLeaveId()));
-            } else {
-                logger.warning(String.format("No leave request found with ID: %d", leaveRequest.getLeaveId()));
-            }
+                int affectedRows = stmt.executeUpdate();
+                boolean updated = affectedRows > 0;
+
+                if (updated && ledger && STATUS_APPROVED.equalsIgnoreCase(leaveRequest.getStatus())) {
+                    leaveBalanceDAO.recordUsage(conn, List.of(leaveRequest.getLeaveId()));
+                }
+                conn.commit();
+
+                if (updated) {
+                    logger.info(String.format("Successfully updated leave request with ID: %d", leaveRequest.getLeaveId()));
+                    DashboardMetrics.getInstance().leaveChanged();
+                    ChangeBus.getInstance().publish(ChangeEvent.Entity.LEAVE_REQUEST, ChangeEvent.Kind.UPDATED,
+                            leaveRequest.getLeaveId(), leaveRequest.getEmployeeId());
+                } else {
+                    logger.warning(String.format("No leave request found with ID: %d", leaveRequest.getLeaveId()));
+                }
 
-            return updated;
+                return updated;
+
+            } catch (SQLException | RuntimeException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
 
         } catch (SQLException ex) {
             logger.log(Level.SEVERE, String.format("Error updating leave request with ID: %d", leaveRequest.getLeaveId()), ex);
@@ -377,20 +434,36 @@ public class LeaveRequestDAO {
     public boolean deleteLeaveRequest(int leaveId) {
         validateLeaveId(leaveId);
 
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(DELETE_LEAVE_REQUEST)) {
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
 
-            stmt.setInt(1, leaveId);
-            int affectedRows = stmt.executeUpdate();
-            boolean deleted = affectedRows > 0;
+            try (PreparedStatement stmt = conn.prepareStatement(DELETE_LEAVE_REQUEST)) {
+                // Cancelling an approved leave gives its days back; the ledger reads the row, so reverse first
+                if (isLedgerAvailable() && STATUS_APPROVED.equalsIgnoreCase(lockStatus(conn, leaveId))) {
+                    leaveBalanceDAO.recordReversal(conn, List.of(leaveId));
+                }
 
-            if (deleted) {
-                logger.info(String.format("Successfully deleted leave request with ID: %d", leaveId));
-            } else {
-                logger.warning(String.format("No leave request found with ID: %d", leaveId));
-            }
+                stmt.setInt(1, leaveId);
+                int affectedRows = stmt.executeUpdate();
+                boolean deleted = affectedRows > 0;
+                conn.commit();
+
+                if (deleted) {
+                    logger.info(String.format("Successfully deleted leave request with ID: %d", leaveId));
+                    DashboardMetrics.getInstance().leaveChanged();
+                    ChangeBus.getInstance().publish(ChangeEvent.Entity.LEAVE_REQUEST, ChangeEvent.Kind.DELETED, leaveId, 0);
+                } else {
+                    logger.warning(String.format("No leave request found with ID: %d", leaveId));
+                }
+
+                return deleted;
 
-            return deleted;
+            } catch (SQLException | RuntimeException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
 
         } catch (SQLException ex) {
             logger.log(Level.SEVERE, String.format("Error deleting leave request with ID: %d", leaveId), ex);
@@ -478,6 +551,235 @@ public class LeaveRequestDAO {
         return false;
     }
 
+    /**
+     * Retrieves every leave request of a status that overlaps a date window in one query
+     * @param status Leave status
+     * @param windowStart First day of the window
+     * @param windowEnd Last day of the window
+     * @return Leave requests ordered by employee and start date
+     * @throws RuntimeException if database error occurs
+     */
+    public List<LeaveRequest> getLeaveRequestsByStatusInWindow(String status, LocalDate windowStart, LocalDate windowEnd) {
+        validateStatus(status);
+        validateDateRange(windowStart, windowEnd);
+        List<LeaveRequest> leaveRequests = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_BY_STATUS_IN_WINDOW)) {
+
+            stmt.setString(1, status);
+            stmt.setDate(2, java.sql.Date.valueOf(windowEnd));
+            stmt.setDate(3, java.sql.Date.valueOf(windowStart));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    leaveRequests.add(mapResultSetToLeaveRequest(rs));
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, String.format("Error retrieving %s leave requests for %s to %s",
+                    status, windowStart, windowEnd), ex);
+            throw new RuntimeException("Failed to retrieve leave requests for window", ex);
+        }
+
+        return leaveRequests;
+    }
+
+    /**
+     * Applies many approval decisions in one transaction. Only requests that are still
+     * pending are changed; approved ones are charged to the leave balances in the same transaction.
+     * The approving employees' requests are locked first and the approvals checked again for
+     * overlaps, since a leave may have been approved after the caller read them.
+     * @param decisions Leave ID to new status
+     * @return IDs that were not updated because they are no longer pending, no longer exist
+     *         or now overlap an approved leave
+     * @throws RuntimeException if database error occurs; no decision is applied in that case
+     */
+    public List<Integer> updatePendingStatusBatch(Map<Integer, String> decisions) {
+        if (decisions == null) {
+            throw new IllegalArgumentException("Decisions cannot be null");
+        }
+        List<Integer> notUpdated = new ArrayList<>();
+        if (decisions.isEmpty()) {
+            return notUpdated;
+        }
+
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement stmt = conn.prepareStatement(UPDATE_PENDING_STATUS)) {
+                List<Integer> approvalIds = new ArrayList<>();
+                for (Map.Entry<Integer, String> decision : decisions.entrySet()) {
+                    validateLeaveId(decision.getKey());
+                    validateStatus(decision.getValue());
+                    if (STATUS_APPROVED.equalsIgnoreCase(decision.getValue())) {
+                        approvalIds.add(decision.getKey());
+                    }
+                }
+                Set<Integer> overlapping = lockAndFindOverlaps(conn, approvalIds);
+                notUpdated.addAll(overlapping);
+
+                List<Integer> batchIds = new ArrayList<>(BATCH_SIZE);
+                for (Map.Entry<Integer, String> decision : decisions.entrySet()) {
+                    if (overlapping.contains(decision.getKey())) {
+                        continue;
+                    }
+                    stmt.setString(1, decision.getValue());
+                    stmt.setInt(2, decision.getKey());
+                    stmt.addBatch();
+                    batchIds.add(decision.getKey());
+
+                    if (batchIds.size() == BATCH_SIZE) {
+                        collectNotUpdated(stmt.executeBatch(), batchIds, notUpdated);
+                        batchIds.clear();
+                    }
+                }
+                if (!batchIds.isEmpty()) {
+                    collectNotUpdated(stmt.executeBatch(), batchIds, notUpdated);
+                }
+
+                if (isLedgerAvailable()) {
+                    Set<Integer> skipped = new HashSet<>(notUpdated);
+                    List<Integer> approvedIds = new ArrayList<>();
+                    for (Map.Entry<Integer, String> decision : decisions.entrySet()) {
+                        if (STATUS_APPROVED.equalsIgnoreCase(decision.getValue()) && !skipped.contains(decision.getKey())) {
+                            approvedIds.add(decision.getKey());
+                        }
+                    }
+                    leaveBalanceDAO.recordUsage(conn, approvedIds);
+                }
+
+                conn.commit();
+                logger.info(String.format("Applied %d leave decisions (%d no longer pending)",
+                        decisions.size() - notUpdated.size(), notUpdated.size()));
+                DashboardMetrics.getInstance().leavesDecided(decisions.size() - notUpdated.size());
+                publishDecided(decisions.keySet(), notUpdated);
+
+            } catch (SQLException | RuntimeException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error applying leave decisions", ex);
+            throw new RuntimeException("Failed to apply leave decisions", ex);
+        }
+
+        return notUpdated;
+    }
+
+    /**
+     * Locks every request of the employees with an approval in the batch and finds the
+     * approvals that overlap an approved leave, or an approval of the batch starting earlier
+     * (ties go to the lower leave ID), as LeaveApprovalService decides them
+     * @return Leave IDs that can no longer be approved
+     */
+    private Set<Integer> lockAndFindOverlaps(Connection conn, List<Integer> approvalIds) throws SQLException {
+        Set<Integer> overlapping = new HashSet<>();
+        if (approvalIds.isEmpty()) {
+            return overlapping;
+        }
+
+        Set<Integer> employeeIds = new TreeSet<>();
+        for (int from = 0; from < approvalIds.size(); from += BATCH_SIZE) {
+            List<Integer> chunk = approvalIds.subList(from, Math.min(from + BATCH_SIZE, approvalIds.size()));
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    String.format(SELECT_EMPLOYEES_OF_REQUESTS_FOR_UPDATE, placeholders(chunk.size())))) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    stmt.setInt(i + 1, chunk.get(i));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        employeeIds.add(rs.getInt("employee_id"));
+                    }
+                }
+            }
+        }
+
+        Set<Integer> approving = new HashSet<>(approvalIds);
+        Map<Integer, List<LeaveRequest>> approvedByEmployee = new HashMap<>();
+        List<LeaveRequest> candidates = new ArrayList<>();
+        List<Integer> employees = new ArrayList<>(employeeIds);
+        for (int from = 0; from < employees.size(); from += BATCH_SIZE) {
+            List<Integer> chunk = employees.subList(from, Math.min(from + BATCH_SIZE, employees.size()));
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    String.format(SELECT_REQUESTS_OF_EMPLOYEES_FOR_UPDATE, placeholders(chunk.size())))) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    stmt.setInt(i + 1, chunk.get(i));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        LeaveRequest request = mapResultSetToLeaveRequest(rs);
+                        if (STATUS_APPROVED.equalsIgnoreCase(request.getStatus())) {
+                            approvedByEmployee.computeIfAbsent(request.getEmployeeId(), id -> new ArrayList<>()).add(request);
+                        } else if (approving.contains(request.getLeaveId()) && STATUS_PENDING.equalsIgnoreCase(request.getStatus())) {
+                            candidates.add(request);
+                        }
+                    }
+                }
+            }
+        }
+
+        candidates.sort(Comparator.comparing(LeaveRequest::getStartDateAsLocalDate).thenComparingInt(LeaveRequest::getLeaveId));
+        for (LeaveRequest candidate : candidates) {
+            List<LeaveRequest> taken = approvedByEmployee.computeIfAbsent(candidate.getEmployeeId(), id -> new ArrayList<>());
+            boolean overlaps = taken.stream().anyMatch(other ->
+                    !candidate.getStartDateAsLocalDate().isAfter(other.getEndDateAsLocalDate())
+                            && !candidate.getEndDateAsLocalDate().isBefore(other.getStartDateAsLocalDate()));
+            if (overlaps) {
+                overlapping.add(candidate.getLeaveId());
+            } else {
+                taken.add(candidate);
+            }
+        }
+        return overlapping;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * @return Current status of a leave request, locked until the transaction ends, or null if it does not exist
+     */
+    private String lockStatus(Connection conn, int leaveId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_STATUS_FOR_UPDATE)) {
+            stmt.setInt(1, leaveId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getString("status") : null;
+            }
+        }
+    }
+
+    private boolean isLedgerAvailable() {
+        return !SchemaProbe.getInstance().getSnapshot().isTableMissing("leave_balance");
+    }
+
+    private void publishDecided(Collection<Integer> leaveIds, List<Integer> notUpdated) {
+        if (leaveIds.size() - notUpdated.size() > MAX_ROW_EVENTS) {
+            ChangeBus.getInstance().publish(ChangeEvent.Entity.LEAVE_REQUEST, ChangeEvent.Kind.BULK, 0, 0);
+            return;
+        }
+        Set<Integer> skipped = new HashSet<>(notUpdated);
+        for (Integer leaveId : leaveIds) {
+            if (!skipped.contains(leaveId)) {
+                ChangeBus.getInstance().publish(ChangeEvent.Entity.LEAVE_REQUEST, ChangeEvent.Kind.UPDATED, leaveId, 0);
+            }
+        }
+    }
+
+    private void collectNotUpdated(int[] counts, List<Integer> batchIds, List<Integer> notUpdated) {
+        for (int i = 0; i < counts.length; i++) {
+            // SUCCESS_NO_INFO means the row was updated but the driver did not report a count
+            if (counts[i] == 0) {
+                notUpdated.add(batchIds.get(i));
+            }
+        }
+    }
+
     /**
      * Maps ResultSet to LeaveRequest object
      * @param rs ResultSet from database
@@ -1,9 +1,11 @@
 package dao;
 
 import util.DBConnection;
+import util.SchemaProbe;
 import model.Overtime;
 import java.sql.*;
 import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
 import java.util.*;
 import java.util.logging.Logger;
 import java.util.logging.Level;
@@ -18,10 +20,10 @@ public class OvertimeDAO {
     
     // SQL Query constants for better maintainability
     private static final String SELECT_BY_EMPLOYEE_ID = 
-        "SELECT overtime_id, employee_id, date, hours, reason, approved FROM overtime WHERE employee_id = ? ORDER BY date DESC";
+        "SELECT overtime_id, employee_id, date, hours, reason, approved, rejected FROM overtime WHERE employee_id = ? ORDER BY date DESC";
     
     private static final String SELECT_BY_EMPLOYEE_ID_AND_DATE_RANGE = 
-        "SELECT overtime_id, employee_id, date, hours, reason, approved FROM overtime " +
+        "SELECT overtime_id, employee_id, date, hours, reason, approved, rejected FROM overtime " +
         "WHERE employee_id = ? AND date >= ? AND date <= ? ORDER BY date DESC";
     
     private static final String INSERT_OVERTIME = 
@@ -38,7 +40,43 @@ public class OvertimeDAO {
         "WHERE employee_id = ? AND date >= ? AND date <= ?";
     
     private static final String SELECT_BY_ID = 
-        "SELECT overtime_id, employee_id, date, hours, reason, approved FROM overtime WHERE overtime_id = ?";
+        "SELECT overtime_id, employee_id, date, hours, reason, approved, rejected FROM overtime WHERE overtime_id = ?";
+    
+    // Approval queue: neither approved nor rejected, oldest first
+    private static final String SELECT_PENDING_IN_WINDOW = 
+        "SELECT overtime_id, employee_id, date, hours, reason, approved, rejected FROM overtime " +
+        "WHERE approved = FALSE AND rejected = FALSE AND date >= ? AND date <= ? " +
+        "ORDER BY date, employee_id, overtime_id";
+    
+    // Only pending rows change, so a row decided elsewhere in the meantime is left alone
+    private static final String DECIDE_PENDING = 
+        "UPDATE overtime SET approved = ?, rejected = ?, decided_by = ?, decided_at = CURRENT_TIMESTAMP " +
+        "WHERE overtime_id = ? AND approved = FALSE AND rejected = FALSE";
+    
+    // Pre-summed by the overtime triggers, one row per employee and month
+    private static final String SELECT_APPROVED_HOURS_BY_MONTH = 
+        "SELECT employee_id, SUM(approved_hours) AS approved_hours FROM overtime_monthly_total " +
+        "WHERE period_month >= ? AND period_month <= ? GROUP BY employee_id";
+    
+    private static final String SELECT_APPROVED_HOURS_BY_RANGE = 
+        "SELECT employee_id, SUM(hours) AS approved_hours FROM overtime " +
+        "WHERE approved = TRUE AND date >= ? AND date <= ? GROUP BY employee_id";
+    
+    // Without them (e.g. the embedded profile, which skips trigger blocks) the totals go stale
+    private static final String[] MONTHLY_TOTAL_TRIGGERS = {
+        "tr_overtime_total_insert", "tr_overtime_total_update", "tr_overtime_total_delete"
+    };
+    
+    // Already approved hours per employee-day, for the daily limit of an approval batch
+    private static final String SELECT_APPROVED_HOURS_BY_DAY = 
+        "SELECT employee_id, date, SUM(hours) AS approved_hours FROM overtime " +
+        "WHERE approved = TRUE AND date >= ? AND date <= ? GROUP BY employee_id, date";
+    
+    private static final String SELECT_APPROVED_HOURS_FOR_EMPLOYEE = 
+        "SELECT COALESCE(SUM(hours), 0) AS approved_hours FROM overtime " +
+        "WHERE employee_id = ? AND approved = TRUE AND date >= ? AND date <= ?";
+    
+    private static final int BATCH_SIZE = 500;
     
     /**
      * Retrieves all overtime records for a specific employee
@@ -324,6 +362,224 @@ public class OvertimeDAO {
         return 0;
     }
     
+    /**
+     * Retrieves the approval queue of a window
+     * @param windowStart First overtime date to include
+     * @param windowEnd Last overtime date to include
+     * @return Pending overtime records, oldest first
+     * @throws RuntimeException if database error occurs
+     */
+    public List<Overtime> getPendingOvertime(LocalDate windowStart, LocalDate windowEnd) {
+        validateDateRange(windowStart, windowEnd);
+        
+        List<Overtime> overtimeList = new ArrayList<>();
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_PENDING_IN_WINDOW)) {
+            
+            stmt.setDate(1, java.sql.Date.valueOf(windowStart));
+            stmt.setDate(2, java.sql.Date.valueOf(windowEnd));
+            stmt.setFetchSize(BATCH_SIZE);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    overtimeList.add(mapResultSetToOvertime(rs));
+                }
+            }
+            
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, 
+                String.format("Error retrieving pending overtime between %s and %s", windowStart, windowEnd), ex);
+            throw new RuntimeException("Failed to retrieve pending overtime", ex);
+        }
+        
+        return overtimeList;
+    }
+    
+    /**
+     * Approves and rejects many pending overtime records in one transaction
+     * @param decisions Overtime ID to true (approve) or false (reject)
+     * @param decidedBy Employee ID of the approver, or null
+     * @return IDs that were not updated because they are no longer pending or no longer exist
+     * @throws RuntimeException if database error occurs; no decision is applied in that case
+     */
+    public List<Integer> decidePendingBatch(Map<Integer, Boolean> decisions, Integer decidedBy) {
+        if (decisions == null) {
+            throw new IllegalArgumentException("Decisions cannot be null");
+        }
+        List<Integer> notUpdated = new ArrayList<>();
+        if (decisions.isEmpty()) {
+            return notUpdated;
+        }
+        
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            
+            try (PreparedStatement stmt = conn.prepareStatement(DECIDE_PENDING)) {
+                List<Integer> batchIds = new ArrayList<>(BATCH_SIZE);
+                
+                for (Map.Entry<Integer, Boolean> decision : decisions.entrySet()) {
+                    if (decision.getKey() == null || decision.getKey() <= 0) {
+                        throw new IllegalArgumentException("Overtime ID must be positive");
+                    }
+                    boolean approve = Boolean.TRUE.equals(decision.getValue());
+                    stmt.setBoolean(1, approve);
+                    stmt.setBoolean(2, !approve);
+                    if (decidedBy != null) {
+                        stmt.setInt(3, decidedBy);
+                    } else {
+                        stmt.setNull(3, Types.INTEGER);
+                    }
+                    stmt.setInt(4, decision.getKey());
+                    stmt.addBatch();
+                    batchIds.add(decision.getKey());
+                    
+                    if (batchIds.size() == BATCH_SIZE) {
+                        collectNotUpdated(stmt.executeBatch(), batchIds, notUpdated);
+                        batchIds.clear();
+                    }
+                }
+                if (!batchIds.isEmpty()) {
+                    collectNotUpdated(stmt.executeBatch(), batchIds, notUpdated);
+                }
+                
+                conn.commit();
+                logger.info(String.format("Applied %d overtime decisions (%d no longer pending)", 
+                    decisions.size() - notUpdated.size(), notUpdated.size()));
+                
+            } catch (SQLException | RuntimeException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error applying overtime decisions", ex);
+            throw new RuntimeException("Failed to apply overtime decisions", ex);
+        }
+        
+        return notUpdated;
+    }
+    
+    /**
+     * Approved overtime hours of every employee within a period, in one query.
+     * Whole calendar months are read from the pre-summed monthly totals while their
+     * triggers exist; other periods are summed from the approved overtime rows.
+     * @param periodStart Start date of the period (inclusive)
+     * @param periodEnd End date of the period (inclusive)
+     * @return Employee ID to approved hours; employees without approved overtime are absent
+     * @throws RuntimeException if database error occurs
+     */
+    public Map<Integer, Double> getApprovedHoursByEmployee(LocalDate periodStart, LocalDate periodEnd) {
+        validateDateRange(periodStart, periodEnd);
+        
+        boolean wholeMonths = periodStart.getDayOfMonth() == 1
+                && periodEnd.equals(periodEnd.with(TemporalAdjusters.lastDayOfMonth()));
+        boolean useTotals = wholeMonths
+                && SchemaProbe.getInstance().getSnapshot()
+                        .isMaintainedTable("overtime_monthly_total", MONTHLY_TOTAL_TRIGGERS);
+        
+        Map<Integer, Double> hoursByEmployee = new HashMap<>();
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 useTotals ? SELECT_APPROVED_HOURS_BY_MONTH : SELECT_APPROVED_HOURS_BY_RANGE)) {
+            
+            stmt.setDate(1, java.sql.Date.valueOf(useTotals ? periodStart.withDayOfMonth(1) : periodStart));
+            stmt.setDate(2, java.sql.Date.valueOf(useTotals ? periodEnd.withDayOfMonth(1) : periodEnd));
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    hoursByEmployee.put(rs.getInt("employee_id"), rs.getDouble("approved_hours"));
+                }
+            }
+            
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, 
+                String.format("Error summing approved overtime between %s and %s", periodStart, periodEnd), ex);
+            throw new RuntimeException("Failed to sum approved overtime hours", ex);
+        }
+        
+        return hoursByEmployee;
+    }
+    
+    /**
+     * Approved overtime hours of every employee and day within a window, in one query
+     * @param windowStart First overtime date to include
+     * @param windowEnd Last overtime date to include
+     * @return Employee ID to date to approved hours; days without approved overtime are absent
+     * @throws RuntimeException if database error occurs
+     */
+    public Map<Integer, Map<LocalDate, Double>> getApprovedHoursByEmployeeDay(LocalDate windowStart, LocalDate windowEnd) {
+        validateDateRange(windowStart, windowEnd);
+        
+        Map<Integer, Map<LocalDate, Double>> hoursByEmployeeDay = new HashMap<>();
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_APPROVED_HOURS_BY_DAY)) {
+            
+            stmt.setDate(1, java.sql.Date.valueOf(windowStart));
+            stmt.setDate(2, java.sql.Date.valueOf(windowEnd));
+            stmt.setFetchSize(BATCH_SIZE);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    hoursByEmployeeDay.computeIfAbsent(rs.getInt("employee_id"), id -> new HashMap<>())
+                            .put(rs.getDate("date").toLocalDate(), rs.getDouble("approved_hours"));
+                }
+            }
+            
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, 
+                String.format("Error summing approved overtime per day between %s and %s", windowStart, windowEnd), ex);
+            throw new RuntimeException("Failed to sum approved overtime hours per day", ex);
+        }
+        
+        return hoursByEmployeeDay;
+    }
+    
+    /**
+     * Approved overtime hours of one employee within a period
+     * @return Total approved hours (0.0 if none)
+     * @throws RuntimeException if database error occurs
+     */
+    public double getApprovedOvertimeHours(int employeeId, LocalDate periodStart, LocalDate periodEnd) {
+        validateEmployeeId(employeeId);
+        validateDateRange(periodStart, periodEnd);
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_APPROVED_HOURS_FOR_EMPLOYEE)) {
+            
+            stmt.setInt(1, employeeId);
+            stmt.setDate(2, java.sql.Date.valueOf(periodStart));
+            stmt.setDate(3, java.sql.Date.valueOf(periodEnd));
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getDouble("approved_hours");
+                }
+            }
+            
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, 
+                String.format("Error summing approved overtime for employee ID: %d between %s and %s", 
+                    employeeId, periodStart, periodEnd), ex);
+            throw new RuntimeException("Failed to sum approved overtime hours", ex);
+        }
+        
+        return 0.0;
+    }
+    
+    private void collectNotUpdated(int[] counts, List<Integer> batchIds, List<Integer> notUpdated) {
+        for (int i = 0; i < counts.length; i++) {
+            // SUCCESS_NO_INFO means the row was updated but the driver did not report a count
+            if (counts[i] == 0) {
+                notUpdated.add(batchIds.get(i));
+            }
+        }
+    }
+    
     // Private helper methods for validation
     
     private void validateEmployeeId(int employeeId) {
@@ -377,6 +633,7 @@ public class OvertimeDAO {
         overtime.setHours(rs.getDouble("hours"));
         overtime.setReason(rs.getString("reason"));
         overtime.setApproved(rs.getBoolean("approved"));
+        overtime.setRejected(rs.getBoolean("rejected"));
         return overtime;
     }
 }
\ No newline at end of file
@@ -0,0 +1,132 @@
+package dao;
+
+import util.ConfigurationManager;
+import util.DBConnection;
+import util.SchemaProbe;
+import model.PayFrequency;
+import java.sql.*;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * Data Access Object for employee pay frequencies.
+ * Employees without a row are paid at the configured default frequency, so a database
+ * without the table keeps paying everyone at that frequency.
+ */
+public class PayFrequencyDAO {
+    private static final Logger logger = Logger.getLogger(PayFrequencyDAO.class.getName());
+
+    // SQL Query constants
+    private static final String SELECT_ALL_FREQUENCIES =
+        "SELECT employee_id, pay_frequency FROM employee_pay_frequency";
+
+    private static final String SELECT_FREQUENCY =
+        "SELECT pay_frequency FROM employee_pay_frequency WHERE employee_id = ?";
+
+    private static final String UPSERT_FREQUENCY =
+        "INSERT INTO employee_pay_frequency (employee_id, pay_frequency) VALUES (?, ?) " +
+        "ON DUPLICATE KEY UPDATE pay_frequency = VALUES(pay_frequency)";
+
+    /**
+     * @return true unless the schema probe found the frequency table missing
+     */
+    public boolean isAvailable() {
+        return !SchemaProbe.getInstance().getSnapshot().isTableMissing("employee_pay_frequency");
+    }
+
+    /**
+     * Frequency of employees without a row
+     */
+    public PayFrequency getDefaultFrequency() {
+        String configured = ConfigurationManager.getInstance().getDefaultPayFrequency();
+        try {
+            return PayFrequency.fromDbValue(configured);
+        } catch (IllegalArgumentException e) {
+            logger.warning("Unknown payroll.pay.frequency '" + configured + "', using Monthly");
+            return PayFrequency.MONTHLY;
+        }
+    }
+
+    /**
+     * Reads every recorded frequency in one query
+     * @return Frequencies by employee ID; employees on the default frequency may be absent
+     * @throws RuntimeException if database error occurs
+     */
+    public Map<Integer, PayFrequency> getFrequencies() {
+        Map<Integer, PayFrequency> frequencies = new HashMap<>();
+        if (!isAvailable()) {
+            return frequencies;
+        }
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_FREQUENCIES);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                frequencies.put(rs.getInt("employee_id"), PayFrequency.fromDbValue(rs.getString("pay_frequency")));
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error retrieving pay frequencies", ex);
+            throw new RuntimeException("Failed to retrieve pay frequencies", ex);
+        }
+
+        return frequencies;
+    }
+
+    /**
+     * Retrieves one employee's frequency
+     * @return Recorded frequency, or the default one
+     * @throws RuntimeException if database error occurs
+     */
+    public PayFrequency getFrequency(int employeeId) {
+        validateEmployeeId(employeeId);
+        if (!isAvailable()) {
+            return getDefaultFrequency();
+        }
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_FREQUENCY)) {
+
+            stmt.setInt(1, employeeId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? PayFrequency.fromDbValue(rs.getString("pay_frequency")) : getDefaultFrequency();
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error retrieving pay frequency for employee " + employeeId, ex);
+            throw new RuntimeException("Failed to retrieve pay frequency", ex);
+        }
+    }
+
+    /**
+     * Records an employee's frequency; takes effect from the next pay run
+     * @throws RuntimeException if database error occurs
+     */
+    public void setFrequency(int employeeId, PayFrequency frequency) {
+        validateEmployeeId(employeeId);
+        if (frequency == null) {
+            throw new IllegalArgumentException("Pay frequency cannot be null");
+        }
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPSERT_FREQUENCY)) {
+
+            stmt.setInt(1, employeeId);
+            stmt.setString(2, frequency.getDbValue());
+            stmt.executeUpdate();
+            logger.info(String.format("Set pay frequency of employee %d to %s", employeeId, frequency));
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error setting pay frequency for employee " + employeeId, ex);
+            throw new RuntimeException("Failed to set pay frequency", ex);
+        }
+    }
+
+    private void validateEmployeeId(int employeeId) {
+        if (employeeId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be positive");
+        }
+    }
+}
@@ -0,0 +1,534 @@
+package dao;
+
+import util.AuditTrail;
+import util.ChangeBus;
+import util.DashboardMetrics;
+import util.DBConnection;
+import model.AuditEvent;
+import model.ChangeEvent;
+import model.PayRun;
+import model.Payroll;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * Data Access Object for pay runs and their frozen payroll snapshots
+ */
+public class PayRunDAO {
+    private static final Logger logger = Logger.getLogger(PayRunDAO.class.getName());
+
+    // SQL Query constants
+    private static final String PAY_RUN_COLUMNS =
+        "run_id, period_start, period_end, status, employee_count, total_gross_pay, total_deductions, " +
+        "total_net_pay, created_by, reviewed_by, approved_by, locked_by, created_at, approved_at";
+
+    private static final String SNAPSHOT_COLUMNS =
+        "employee_id, period_start, period_end, monthly_rate, daily_rate, days_worked, overtime_hours, " +
+        "gross_pay, total_deductions, net_pay, gross_earnings, late_deduction, undertime_deduction, " +
+        "unpaid_leave_deduction, unpaid_leave_count, overtime_pay, rice_subsidy, phone_allowance, " +
+        "clothing_allowance, other_allowances, taxable_allowances, sss, philhealth, pagibig, tax";
+
+    private static final String INSERT_PAY_RUN =
+        "INSERT INTO pay_run (period_start, period_end, status, created_by) VALUES (?, ?, ?, ?)";
+
+    private static final String SELECT_BY_ID =
+        "SELECT " + PAY_RUN_COLUMNS + " FROM pay_run WHERE run_id = ?";
+
+    private static final String SELECT_BY_PERIOD =
+        "SELECT " + PAY_RUN_COLUMNS + " FROM pay_run WHERE period_start = ? AND period_end = ?";
+
+    private static final String SELECT_RECENT =
+        "SELECT " + PAY_RUN_COLUMNS + " FROM pay_run ORDER BY period_start DESC LIMIT ?";
+
+    private static final String UPDATE_TOTALS =
+        "UPDATE pay_run SET employee_count = ?, total_gross_pay = ?, total_deductions = ?, total_net_pay = ? " +
+        "WHERE run_id = ? AND status = 'Draft'";
+
+    private static final String DELETE_SNAPSHOT =
+        "DELETE FROM pay_run_snapshot WHERE run_id = ?";
+
+    private static final String INSERT_SNAPSHOT =
+        "INSERT INTO pay_run_snapshot (run_id, " + SNAPSHOT_COLUMNS + ") " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Both reads walk the (run_id, employee_id) primary key
+    private static final String SELECT_SNAPSHOT =
+        "SELECT " + SNAPSHOT_COLUMNS + " FROM pay_run_snapshot WHERE run_id = ? ORDER BY employee_id";
+
+    private static final String SELECT_SNAPSHOT_FOR_EMPLOYEE =
+        "SELECT " + SNAPSHOT_COLUMNS + " FROM pay_run_snapshot WHERE run_id = ? AND employee_id = ?";
+
+    // Closed runs of a calendar year, in archive order
+    private static final String SELECT_CLOSED_SNAPSHOTS_FOR_YEAR =
+        "SELECT s.employee_id, s.period_start, s.period_end, s.monthly_rate, s.daily_rate, s.days_worked, " +
+        "s.overtime_hours, s.gross_pay, s.total_deductions, s.net_pay, s.gross_earnings, s.late_deduction, " +
+        "s.undertime_deduction, s.unpaid_leave_deduction, s.unpaid_leave_count, s.overtime_pay, s.rice_subsidy, " +
+        "s.phone_allowance, s.clothing_allowance, s.other_allowances, s.taxable_allowances, " +
+        "s.sss, s.philhealth, s.pagibig, s.tax " +
+        "FROM pay_run_snapshot s JOIN pay_run r ON r.run_id = s.run_id " +
+        "WHERE r.status IN ('Approved', 'Locked') AND r.period_start >= ? AND r.period_start < ? " +
+        "ORDER BY s.employee_id, s.period_start";
+
+    private static final int BATCH_SIZE = 500;
+
+    private final PayrollYtdDAO payrollYtdDAO = new PayrollYtdDAO();
+
+    /**
+     * Creates a new draft pay run
+     * @param payRun Pay run to insert
+     * @return Generated run ID
+     */
+    public int createRun(PayRun payRun) {
+        if (payRun == null) {
+            throw new IllegalArgumentException("Pay run cannot be null");
+        }
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_PAY_RUN, Statement.RETURN_GENERATED_KEYS)) {
+
+            stmt.setDate(1, payRun.getPeriodStart());
+            stmt.setDate(2, payRun.getPeriodEnd());
+            stmt.setString(3, PayRun.Status.DRAFT.getDbValue());
+            stmt.setString(4, payRun.getCreatedBy());
+
+            stmt.executeUpdate();
+
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    int runId = keys.getInt(1);
+                    payRun.setRunId(runId);
+                    payRun.setStatus(PayRun.Status.DRAFT);
+                    ChangeBus.getInstance().publish(ChangeEvent.Entity.PAY_RUN, ChangeEvent.Kind.INSERTED, runId, 0);
+                    return runId;
+                }
+                throw new SQLException("Creating pay run failed, no ID obtained");
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error creating pay run", ex);
+            if (ex.getErrorCode() == 1062) {
+                throw new RuntimeException("A pay run already exists for this period", ex);
+            }
+            throw new RuntimeException("Failed to create pay run", ex);
+        }
+    }
+
+    /**
+     * Retrieves a pay run by ID
+     * @param runId Pay run ID
+     * @return Pay run, or empty if not found
+     */
+    public Optional<PayRun> getRunById(int runId) {
+        validateRunId(runId);
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_BY_ID)) {
+
+            stmt.setInt(1, runId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(mapResultSetToPayRun(rs));
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error retrieving pay run: " + runId, ex);
+            throw new RuntimeException("Failed to retrieve pay run", ex);
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Retrieves the pay run for an exact pay period
+     * @param periodStart Period start date
+     * @param periodEnd Period end date
+     * @return Pay run, or empty if the period has never been run
+     */
+    public Optional<PayRun> getRunByPeriod(LocalDate periodStart, LocalDate periodEnd) {
+        if (periodStart == null || periodEnd == null) {
+            throw new IllegalArgumentException("Period dates cannot be null");
+        }
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_BY_PERIOD)) {
+
+            stmt.setDate(1, java.sql.Date.valueOf(periodStart));
+            stmt.setDate(2, java.sql.Date.valueOf(periodEnd));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(mapResultSetToPayRun(rs));
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error retrieving pay run for period " + periodStart + " to " + periodEnd, ex);
+            throw new RuntimeException("Failed to retrieve pay run", ex);
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Retrieves the most recent pay runs
+     * @param limit Maximum number of runs to return
+     * @return Pay runs ordered by period, newest first
+     */
+    public List<PayRun> getRecentRuns(int limit) {
+        List<PayRun> runs = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_RECENT)) {
+
+            stmt.setInt(1, Math.max(1, limit));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    runs.add(mapResultSetToPayRun(rs));
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error retrieving recent pay runs", ex);
+            throw new RuntimeException("Failed to retrieve pay runs", ex);
+        }
+
+        return runs;
+    }
+
+    /**
+     * Moves a pay run from one status to the next. The update is conditional on the
+     * current status so two users cannot both approve (or reopen) the same run.
+     * @param runId Pay run ID
+     * @param from Expected current status
+     * @param to Target status
+     * @param actor Name of the user performing the transition
+     * @return true if the transition was applied
+     */
+    public boolean transitionStatus(int runId, PayRun.Status from, PayRun.Status to, String actor) {
+        validateRunId(runId);
+        if (from == null || to == null || !from.canTransitionTo(to)) {
+            throw new IllegalArgumentException("Invalid pay run transition: " + from + " -> " + to);
+        }
+
+        String sql;
+        switch (to) {
+            case REVIEWED:
+                sql = "UPDATE pay_run SET status = ?, reviewed_by = ?, reviewed_at = CURRENT_TIMESTAMP WHERE run_id = ? AND status = ?";
+                break;
+            case APPROVED:
+                sql = "UPDATE pay_run SET status = ?, approved_by = ?, approved_at = CURRENT_TIMESTAMP WHERE run_id = ? AND status = ?";
+                break;
+            case LOCKED:
+                sql = "UPDATE pay_run SET status = ?, locked_by = ?, locked_at = CURRENT_TIMESTAMP WHERE run_id = ? AND status = ?";
+                break;
+            default:
+                // Reopening a reviewed run clears the review sign-off
+                sql = "UPDATE pay_run SET status = ?, reviewed_by = NULL, reviewed_at = NULL WHERE run_id = ? AND status = ?";
+                break;
+        }
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, to.getDbValue());
+            if (to == PayRun.Status.DRAFT) {
+                stmt.setInt(2, runId);
+                stmt.setString(3, from.getDbValue());
+            } else {
+                stmt.setString(2, actor);
+                stmt.setInt(3, runId);
+                stmt.setString(4, from.getDbValue());
+            }
+
+            // An approved run enters the YTD tax accumulators with its approval
+            boolean updated;
+            conn.setAutoCommit(false);
+            try {
+                updated = stmt.executeUpdate() > 0;
+                if (updated && to == PayRun.Status.APPROVED && payrollYtdDAO.isAvailable()) {
+                    payrollYtdDAO.accumulateRun(conn, runId);
+                }
+                conn.commit();
+            } catch (SQLException | RuntimeException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+
+            if (updated) {
+                logger.info(String.format("Pay run %d moved from %s to %s by %s", runId, from, to, actor));
+                AuditTrail.getInstance().record(AuditEvent.ACTION_STATUS_CHANGE, AuditEvent.ENTITY_PAY_RUN, runId,
+                        String.format("%s -> %s by %s", from.getDbValue(), to.getDbValue(), actor));
+                if (to == PayRun.Status.APPROVED) {
+                    DashboardMetrics.getInstance().payrollApproved();
+                }
+                ChangeBus.getInstance().publish(ChangeEvent.Entity.PAY_RUN, ChangeEvent.Kind.UPDATED, runId, 0);
+            } else {
+                logger.warning(String.format("Pay run %d was not in status %s; transition to %s skipped", runId, from, to));
+            }
+            return updated;
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error updating pay run status: " + runId, ex);
+            throw new RuntimeException("Failed to update pay run status", ex);
+        }
+    }
+
+    /**
+     * Replaces the snapshot rows of a draft pay run and refreshes its totals in one transaction
+     * @param runId Draft pay run ID
+     * @param payrolls Calculated payroll for every employee in the run
+     */
+    public void replaceSnapshot(int runId, List<Payroll> payrolls) {
+        validateRunId(runId);
+        if (payrolls == null) {
+            throw new IllegalArgumentException("Payroll list cannot be null");
+        }
+
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement totalsStmt = conn.prepareStatement(UPDATE_TOTALS);
+                 PreparedStatement deleteStmt = conn.prepareStatement(DELETE_SNAPSHOT);
+                 PreparedStatement insertStmt = conn.prepareStatement(INSERT_SNAPSHOT)) {
+
+                // Update totals first: it only matches a Draft run and doubles as the guard
+                totalsStmt.setInt(1, payrolls.size());
+                totalsStmt.setDouble(2, payrolls.stream().mapToDouble(Payroll::getGrossPay).sum());
+                totalsStmt.setDouble(3, payrolls.stream().mapToDouble(Payroll::getTotalDeductions).sum());
+                totalsStmt.setDouble(4, payrolls.stream().mapToDouble(Payroll::getNetPay).sum());
+                totalsStmt.setInt(5, runId);
+                if (totalsStmt.executeUpdate() == 0) {
+                    throw new IllegalStateException("Pay run " + runId + " is not in Draft status");
+                }
+
+                deleteStmt.setInt(1, runId);
+                deleteStmt.executeUpdate();
+
+                insertSnapshotRows(insertStmt, runId, payrolls);
+
+                conn.commit();
+                logger.info(String.format("Stored %d snapshot rows for pay run %d", payrolls.size(), runId));
+                ChangeBus.getInstance().publish(ChangeEvent.Entity.PAY_RUN, ChangeEvent.Kind.UPDATED, runId, 0);
+
+            } catch (SQLException | RuntimeException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error storing snapshot for pay run: " + runId, ex);
+            throw new RuntimeException("Failed to store pay run snapshot", ex);
+        }
+    }
+
+    /**
+     * Reads every snapshot row of a pay run in one primary-key range scan
+     * @param runId Pay run ID
+     * @return Payroll rows ordered by employee ID
+     */
+    public List<Payroll> getSnapshot(int runId) {
+        validateRunId(runId);
+
+        List<Payroll> payrolls = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_SNAPSHOT)) {
+
+            stmt.setInt(1, runId);
+            stmt.setFetchSize(BATCH_SIZE);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    payrolls.add(mapResultSetToPayroll(rs));
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error retrieving snapshot for pay run: " + runId, ex);
+            throw new RuntimeException("Failed to retrieve pay run snapshot", ex);
+        }
+
+        return payrolls;
+    }
+
+    /**
+     * Reads one employee's snapshot row of a pay run
+     * @param runId Pay run ID
+     * @param employeeId Employee ID
+     * @return Payroll row, or empty if the employee was not part of the run
+     */
+    public Optional<Payroll> getSnapshotForEmployee(int runId, int employeeId) {
+        validateRunId(runId);
+        if (employeeId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be positive");
+        }
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_SNAPSHOT_FOR_EMPLOYEE)) {
+
+            stmt.setInt(1, runId);
+            stmt.setInt(2, employeeId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(mapResultSetToPayroll(rs));
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error retrieving snapshot row for employee " + employeeId, ex);
+            throw new RuntimeException("Failed to retrieve pay run snapshot", ex);
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Retrieves every snapshot row of the approved and locked runs that start in a year,
+     * ordered by employee and period so the rows can be written straight to an archive
+     * @param year Calendar year
+     * @return Payroll rows of the closed runs
+     */
+    public List<Payroll> getClosedSnapshotsForYear(int year) {
+        List<Payroll> payrolls = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_CLOSED_SNAPSHOTS_FOR_YEAR)) {
+
+            stmt.setDate(1, java.sql.Date.valueOf(LocalDate.of(year, 1, 1)));
+            stmt.setDate(2, java.sql.Date.valueOf(LocalDate.of(year + 1, 1, 1)));
+            stmt.setFetchSize(BATCH_SIZE);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    payrolls.add(mapResultSetToPayroll(rs));
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error retrieving closed snapshots for " + year, ex);
+            throw new RuntimeException("Failed to retrieve closed pay runs", ex);
+        }
+
+        return payrolls;
+    }
+
+    /**
+     * Inserts snapshot rows in batches on the caller's transaction
+     */
+    void insertSnapshotRows(Connection conn, int runId, List<Payroll> payrolls) throws SQLException {
+        try (PreparedStatement insertStmt = conn.prepareStatement(INSERT_SNAPSHOT)) {
+            insertSnapshotRows(insertStmt, runId, payrolls);
+        }
+    }
+
+    private void insertSnapshotRows(PreparedStatement insertStmt, int runId, List<Payroll> payrolls) throws SQLException {
+        int pending = 0;
+        for (Payroll payroll : payrolls) {
+            setSnapshotParameters(insertStmt, runId, payroll);
+            insertStmt.addBatch();
+            if (++pending == BATCH_SIZE) {
+                insertStmt.executeBatch();
+                pending = 0;
+            }
+        }
+        if (pending > 0) {
+            insertStmt.executeBatch();
+        }
+    }
+
+    private void validateRunId(int runId) {
+        if (runId <= 0) {
+            throw new IllegalArgumentException("Pay run ID must be positive");
+        }
+    }
+
+    private void setSnapshotParameters(PreparedStatement stmt, int runId, Payroll payroll) throws SQLException {
+        stmt.setInt(1, runId);
+        stmt.setInt(2, payroll.getEmployeeId());
+        stmt.setDate(3, payroll.getPeriodStart());
+        stmt.setDate(4, payroll.getPeriodEnd());
+        stmt.setDouble(5, payroll.getMonthlyRate());
+        stmt.setDouble(6, payroll.getDailyRate());
+        stmt.setInt(7, payroll.getDaysWorked());
+        stmt.setDouble(8, payroll.getTotalOvertimeHours());
+        stmt.setDouble(9, payroll.getGrossPay());
+        stmt.setDouble(10, payroll.getTotalDeductions());
+        stmt.setDouble(11, payroll.getNetPay());
+        stmt.setDouble(12, payroll.getGrossEarnings());
+        stmt.setDouble(13, payroll.getLateDeduction());
+        stmt.setDouble(14, payroll.getUndertimeDeduction());
+        stmt.setDouble(15, payroll.getUnpaidLeaveDeduction());
+        stmt.setInt(16, payroll.getUnpaidLeaveCount());
+        stmt.setDouble(17, payroll.getOvertimePay());
+        stmt.setDouble(18, payroll.getRiceSubsidy());
+        stmt.setDouble(19, payroll.getPhoneAllowance());
+        stmt.setDouble(20, payroll.getClothingAllowance());
+        stmt.setDouble(21, payroll.getOtherAllowances());
+        stmt.setDouble(22, payroll.getTaxableAllowances());
+        stmt.setDouble(23, payroll.getSss());
+        stmt.setDouble(24, payroll.getPhilhealth());
+        stmt.setDouble(25, payroll.getPagibig());
+        stmt.setDouble(26, payroll.getTax());
+    }
+
+    private PayRun mapResultSetToPayRun(ResultSet rs) throws SQLException {
+        PayRun run = new PayRun();
+        run.setRunId(rs.getInt("run_id"));
+        run.setPeriodStart(rs.getDate("period_start"));
+        run.setPeriodEnd(rs.getDate("period_end"));
+        run.setStatus(PayRun.Status.fromDbValue(rs.getString("status")));
+        run.setEmployeeCount(rs.getInt("employee_count"));
+        run.setTotalGrossPay(rs.getDouble("total_gross_pay"));
+        run.setTotalDeductions(rs.getDouble("total_deductions"));
+        run.setTotalNetPay(rs.getDouble("total_net_pay"));
+        run.setCreatedBy(rs.getString("created_by"));
+        run.setReviewedBy(rs.getString("reviewed_by"));
+        run.setApprovedBy(rs.getString("approved_by"));
+        run.setLockedBy(rs.getString("locked_by"));
+        run.setCreatedAt(rs.getTimestamp("created_at"));
+        run.setApprovedAt(rs.getTimestamp("approved_at"));
+        return run;
+    }
+
+    private Payroll mapResultSetToPayroll(ResultSet rs) throws SQLException {
+        Payroll payroll = new Payroll();
+        payroll.setEmployeeId(rs.getInt("employee_id"));
+        payroll.setPeriodStart(rs.getDate("period_start"));
+        payroll.setPeriodEnd(rs.getDate("period_end"));
+        payroll.setMonthlyRate(rs.getDouble("monthly_rate"));
+        payroll.setDailyRate(rs.getDouble("daily_rate"));
+        payroll.setDaysWorked(rs.getInt("days_worked"));
+        payroll.setTotalOvertimeHours(rs.getDouble("overtime_hours"));
+        payroll.setOvertimeHours(rs.getDouble("overtime_hours"));
+        payroll.setGrossPay(rs.getDouble("gross_pay"));
+        payroll.setTotalDeductions(rs.getDouble("total_deductions"));
+        payroll.setNetPay(rs.getDouble("net_pay"));
+        payroll.setGrossEarnings(rs.getDouble("gross_earnings"));
+        payroll.setLateDeduction(rs.getDouble("late_deduction"));
+        payroll.setUndertimeDeduction(rs.getDouble("undertime_deduction"));
+        payroll.setUnpaidLeaveDeduction(rs.getDouble("unpaid_leave_deduction"));
+        payroll.setUnpaidLeaveCount(rs.getInt("unpaid_leave_count"));
+        payroll.setOvertimePay(rs.getDouble("overtime_pay"));
+        payroll.setRiceSubsidy(rs.getDouble("rice_subsidy"));
+        payroll.setPhoneAllowance(rs.getDouble("phone_allowance"));
+        payroll.setClothingAllowance(rs.getDouble("clothing_allowance"));
+        payroll.setOtherAllowances(rs.getDouble("other_allowances"));
+        payroll.setTaxableAllowances(rs.getDouble("taxable_allowances"));
+        payroll.setSss(rs.getDouble("sss"));
+        payroll.setPhilhealth(rs.getDouble("philhealth"));
+        payroll.setPagibig(rs.getDouble("pagibig"));
+        payroll.setTax(rs.getDouble("tax"));
+        return payroll;
+    }
+}
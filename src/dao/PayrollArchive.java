@@ -0,0 +1,411 @@
+package dao;
+
+import model.Payroll;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Read-only, memory-mapped archive of the closed payroll periods of one year.
+ *
+ * File layout (big-endian):
+ * <pre>
+ *   header   32 bytes   magic "MPHA", version, year, record count, employee count, reserved, index offset
+ *   records  152 bytes  one per employee-period, sorted by employee ID then period start
+ *   index    12 bytes   one per employee: employee ID, first record, record count
+ * </pre>
+ * Amounts are stored as centavos in longs so totals add up exactly. Lookups binary-search
+ * the index and read the records with absolute gets, so one archive can be shared by threads.
+ * Version 2 added other and taxable allowances; a version 1 archive has to be written again.
+ */
+public class PayrollArchive implements AutoCloseable {
+
+    public static final int MAGIC = 0x4D504841; // "MPHA"
+    public static final int VERSION = 2;
+
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_SIZE = 152;
+    static final int INDEX_ENTRY_SIZE = 12;
+
+    // Records are written to the channel in chunks of this many
+    private static final int WRITE_BUFFER_RECORDS = 480;
+
+    // Record field offsets
+    private static final int EMPLOYEE_ID = 0;
+    private static final int PERIOD_START = 4;
+    private static final int PERIOD_END = 8;
+    private static final int DAYS_WORKED = 12;
+    private static final int MONTHLY_RATE = 16;
+    private static final int BASIC_PAY = 24;
+    private static final int OVERTIME_PAY = 32;
+    private static final int RICE_SUBSIDY = 40;
+    private static final int PHONE_ALLOWANCE = 48;
+    private static final int CLOTHING_ALLOWANCE = 56;
+    private static final int LATE_DEDUCTION = 64;
+    private static final int UNDERTIME_DEDUCTION = 72;
+    private static final int UNPAID_LEAVE_DEDUCTION = 80;
+    private static final int GROSS_PAY = 88;
+    private static final int SSS = 96;
+    private static final int PHILHEALTH = 104;
+    private static final int PAGIBIG = 112;
+    private static final int TAX = 120;
+    private static final int NET_PAY = 128;
+    private static final int OTHER_ALLOWANCES = 136;
+    private static final int TAXABLE_ALLOWANCES = 144;
+
+    /**
+     * Sums of an employee's archived periods
+     */
+    public static class Totals {
+        private int periods;
+        private LocalDate lastPeriodStart;
+        private LocalDate lastPeriodEnd;
+        private long basicPay;
+        private long timeDeductions;
+        private long overtimePay;
+        private long allowances;
+        private long taxableAllowances;
+        private long grossPay;
+        private long sss;
+        private long philhealth;
+        private long pagibig;
+        private long tax;
+        private long netPay;
+
+        public int getPeriods() { return periods; }
+        public LocalDate getLastPeriodStart() { return lastPeriodStart; }
+        public LocalDate getLastPeriodEnd() { return lastPeriodEnd; }
+        public double getBasicPay() { return toPesos(basicPay); }
+        public double getTimeDeductions() { return toPesos(timeDeductions); }
+        public double getOvertimePay() { return toPesos(overtimePay); }
+        public double getAllowances() { return toPesos(allowances); }
+        public double getTaxableAllowances() { return toPesos(taxableAllowances); }
+        public double getGrossPay() { return toPesos(grossPay); }
+        public double getSss() { return toPesos(sss); }
+        public double getPhilhealth() { return toPesos(philhealth); }
+        public double getPagibig() { return toPesos(pagibig); }
+        public double getTax() { return toPesos(tax); }
+        public double getNetPay() { return toPesos(netPay); }
+
+        public double getContributions() {
+            return toPesos(sss + philhealth + pagibig);
+        }
+
+        /**
+         * Basic pay actually earned: basic pay less late, undertime and unpaid leave
+         */
+        public double getEarnedBasicPay() {
+            return toPesos(basicPay - timeDeductions);
+        }
+
+        /**
+         * Taxable compensation: earned basic pay, overtime and taxable allowances less mandatory
+         * contributions, the same net taxable income the withholding engine accumulates
+         */
+        public double getTaxableIncome() {
+            return toPesos(basicPay - timeDeductions + overtimePay + taxableAllowances - sss - philhealth - pagibig);
+        }
+    }
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int year;
+    private final int recordCount;
+    private final int employeeCount;
+    private final int indexOffset;
+
+    private PayrollArchive(Path file, FileChannel channel, MappedByteBuffer buffer) throws IOException {
+        this.file = file;
+        this.channel = channel;
+        this.buffer = buffer;
+
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a payroll archive: " + file);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported payroll archive version " + buffer.getInt(4) + ": " + file);
+        }
+        this.year = buffer.getInt(8);
+        this.recordCount = buffer.getInt(12);
+        this.employeeCount = buffer.getInt(16);
+        this.indexOffset = (int) buffer.getLong(24);
+
+        long expectedSize = (long) indexOffset + (long) employeeCount * INDEX_ENTRY_SIZE;
+        if (indexOffset != HEADER_SIZE + recordCount * RECORD_SIZE || buffer.capacity() != expectedSize) {
+            throw new IOException("Payroll archive is truncated or corrupt: " + file);
+        }
+    }
+
+    /**
+     * Maps an archive file read-only
+     * @param file Archive written by {@link #write(Path, int, List)}
+     */
+    public static PayrollArchive open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new PayrollArchive(file, channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the closed periods of a year to an archive file.
+     * The file is written next to the target and moved into place, so readers never see a partial archive.
+     * @param target Archive file
+     * @param year Calendar year of the periods
+     * @param payrolls Payroll rows of the closed periods
+     * @return Number of records written
+     */
+    public static int write(Path target, int year, List<Payroll> payrolls) throws IOException {
+        List<Payroll> sorted = new ArrayList<>(payrolls);
+        sorted.sort(Comparator.comparingInt(Payroll::getEmployeeId)
+                .thenComparing(p -> p.getPeriodStart().toLocalDate()));
+
+        int employees = 0;
+        for (int i = 0; i < sorted.size(); i++) {
+            if (i == 0 || sorted.get(i).getEmployeeId() != sorted.get(i - 1).getEmployeeId()) {
+                employees++;
+            }
+        }
+
+        ByteBuffer index = ByteBuffer.allocate(employees * INDEX_ENTRY_SIZE);
+        ByteBuffer records = ByteBuffer.allocate(RECORD_SIZE * WRITE_BUFFER_RECORDS);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putInt(year).putInt(sorted.size()).putInt(employees).putInt(0)
+                .putLong(HEADER_SIZE + (long) sorted.size() * RECORD_SIZE);
+        header.flip();
+
+        if (target.getParent() != null) {
+            Files.createDirectories(target.getParent());
+        }
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(out, header);
+
+            int first = 0;
+            for (int i = 0; i < sorted.size(); i++) {
+                Payroll payroll = sorted.get(i);
+                if (i > 0 && payroll.getEmployeeId() != sorted.get(i - 1).getEmployeeId()) {
+                    index.putInt(sorted.get(i - 1).getEmployeeId()).putInt(first).putInt(i - first);
+                    first = i;
+                }
+                if (records.remaining() < RECORD_SIZE) {
+                    records.flip();
+                    writeFully(out, records);
+                    records.clear();
+                }
+                putRecord(records, payroll);
+            }
+            records.flip();
+            writeFully(out, records);
+            if (!sorted.isEmpty()) {
+                index.putInt(sorted.get(sorted.size() - 1).getEmployeeId()).putInt(first).putInt(sorted.size() - first);
+            }
+
+            index.flip();
+            writeFully(out, index);
+            out.force(true);
+        }
+
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return sorted.size();
+    }
+
+    // Getters
+    public Path getFile() { return file; }
+    public int getYear() { return year; }
+    public int getRecordCount() { return recordCount; }
+    public int getEmployeeCount() { return employeeCount; }
+
+    /**
+     * @return Archived employee IDs in ascending order
+     */
+    public int[] getEmployeeIds() {
+        int[] ids = new int[employeeCount];
+        for (int i = 0; i < employeeCount; i++) {
+            ids[i] = buffer.getInt(indexOffset + i * INDEX_ENTRY_SIZE);
+        }
+        return ids;
+    }
+
+    public boolean contains(int employeeId) {
+        return findIndexEntry(employeeId) >= 0;
+    }
+
+    /**
+     * Sums an employee's periods that end on or before a date
+     * @param employeeId Employee ID
+     * @param asOf Last day to include, or null for the whole year
+     * @return Totals, all zero if the employee is not in the archive
+     */
+    public Totals getYearToDate(int employeeId, LocalDate asOf) {
+        Totals totals = new Totals();
+        int entry = findIndexEntry(employeeId);
+        if (entry < 0) {
+            return totals;
+        }
+
+        int entryOffset = indexOffset + entry * INDEX_ENTRY_SIZE;
+        int first = buffer.getInt(entryOffset + 4);
+        int count = buffer.getInt(entryOffset + 8);
+        long lastDay = asOf == null ? Long.MAX_VALUE : asOf.toEpochDay();
+
+        for (int r = first; r < first + count; r++) {
+            int offset = HEADER_SIZE + r * RECORD_SIZE;
+            int periodEnd = buffer.getInt(offset + PERIOD_END);
+            if (periodEnd > lastDay) {
+                break; // records are in period order
+            }
+            totals.periods++;
+            totals.lastPeriodStart = LocalDate.ofEpochDay(buffer.getInt(offset + PERIOD_START));
+            totals.lastPeriodEnd = LocalDate.ofEpochDay(periodEnd);
+            totals.basicPay += buffer.getLong(offset + BASIC_PAY);
+            totals.timeDeductions += buffer.getLong(offset + LATE_DEDUCTION)
+                    + buffer.getLong(offset + UNDERTIME_DEDUCTION)
+                    + buffer.getLong(offset + UNPAID_LEAVE_DEDUCTION);
+            totals.overtimePay += buffer.getLong(offset + OVERTIME_PAY);
+            totals.allowances += buffer.getLong(offset + RICE_SUBSIDY)
+                    + buffer.getLong(offset + PHONE_ALLOWANCE)
+                    + buffer.getLong(offset + CLOTHING_ALLOWANCE)
+                    + buffer.getLong(offset + OTHER_ALLOWANCES);
+            totals.taxableAllowances += buffer.getLong(offset + TAXABLE_ALLOWANCES);
+            totals.grossPay += buffer.getLong(offset + GROSS_PAY);
+            totals.sss += buffer.getLong(offset + SSS);
+            totals.philhealth += buffer.getLong(offset + PHILHEALTH);
+            totals.pagibig += buffer.getLong(offset + PAGIBIG);
+            totals.tax += buffer.getLong(offset + TAX);
+            totals.netPay += buffer.getLong(offset + NET_PAY);
+        }
+        return totals;
+    }
+
+    /**
+     * Reads one archived period back as a payroll row
+     * @return Payroll row, or null if the employee has no period starting on that date
+     */
+    public Payroll getPeriod(int employeeId, LocalDate periodStart) {
+        int entry = findIndexEntry(employeeId);
+        if (entry < 0) {
+            return null;
+        }
+        int entryOffset = indexOffset + entry * INDEX_ENTRY_SIZE;
+        int first = buffer.getInt(entryOffset + 4);
+        int count = buffer.getInt(entryOffset + 8);
+        int day = (int) periodStart.toEpochDay();
+
+        for (int r = first; r < first + count; r++) {
+            int offset = HEADER_SIZE + r * RECORD_SIZE;
+            if (buffer.getInt(offset + PERIOD_START) == day) {
+                return readRecord(offset);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int findIndexEntry(int employeeId) {
+        int low = 0;
+        int high = employeeCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int id = buffer.getInt(indexOffset + mid * INDEX_ENTRY_SIZE);
+            if (id < employeeId) {
+                low = mid + 1;
+            } else if (id > employeeId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private Payroll readRecord(int offset) {
+        Payroll payroll = new Payroll();
+        payroll.setEmployeeId(buffer.getInt(offset + EMPLOYEE_ID));
+        payroll.setPeriodStart(java.sql.Date.valueOf(LocalDate.ofEpochDay(buffer.getInt(offset + PERIOD_START))));
+        payroll.setPeriodEnd(java.sql.Date.valueOf(LocalDate.ofEpochDay(buffer.getInt(offset + PERIOD_END))));
+        payroll.setDaysWorked(buffer.getInt(offset + DAYS_WORKED));
+        payroll.setMonthlyRate(readPesos(offset + MONTHLY_RATE));
+        payroll.setGrossEarnings(readPesos(offset + BASIC_PAY));
+        payroll.setOvertimePay(readPesos(offset + OVERTIME_PAY));
+        payroll.setRiceSubsidy(readPesos(offset + RICE_SUBSIDY));
+        payroll.setPhoneAllowance(readPesos(offset + PHONE_ALLOWANCE));
+        payroll.setClothingAllowance(readPesos(offset + CLOTHING_ALLOWANCE));
+        payroll.setOtherAllowances(readPesos(offset + OTHER_ALLOWANCES));
+        payroll.setTaxableAllowances(readPesos(offset + TAXABLE_ALLOWANCES));
+        payroll.setLateDeduction(readPesos(offset + LATE_DEDUCTION));
+        payroll.setUndertimeDeduction(readPesos(offset + UNDERTIME_DEDUCTION));
+        payroll.setUnpaidLeaveDeduction(readPesos(offset + UNPAID_LEAVE_DEDUCTION));
+        payroll.setSss(readPesos(offset + SSS));
+        payroll.setPhilhealth(readPesos(offset + PHILHEALTH));
+        payroll.setPagibig(readPesos(offset + PAGIBIG));
+        payroll.setTax(readPesos(offset + TAX));
+        payroll.setGrossPay(readPesos(offset + GROSS_PAY));
+        payroll.setNetPay(readPesos(offset + NET_PAY));
+        payroll.setTotalDeductions(toPesos(buffer.getLong(offset + GROSS_PAY) - buffer.getLong(offset + NET_PAY)));
+        return payroll;
+    }
+
+    private double readPesos(int offset) {
+        return toPesos(buffer.getLong(offset));
+    }
+
+    private static void putRecord(ByteBuffer record, Payroll payroll) {
+        record.putInt(payroll.getEmployeeId());
+        record.putInt((int) payroll.getPeriodStart().toLocalDate().toEpochDay());
+        record.putInt((int) payroll.getPeriodEnd().toLocalDate().toEpochDay());
+        record.putInt(payroll.getDaysWorked());
+        record.putLong(toCentavos(payroll.getMonthlyRate()));
+        record.putLong(toCentavos(payroll.getGrossEarnings()));
+        record.putLong(toCentavos(payroll.getOvertimePay()));
+        record.putLong(toCentavos(payroll.getRiceSubsidy()));
+        record.putLong(toCentavos(payroll.getPhoneAllowance()));
+        record.putLong(toCentavos(payroll.getClothingAllowance()));
+        record.putLong(toCentavos(payroll.getLateDeduction()));
+        record.putLong(toCentavos(payroll.getUndertimeDeduction()));
+        record.putLong(toCentavos(payroll.getUnpaidLeaveDeduction()));
+        record.putLong(toCentavos(payroll.getGrossPay()));
+        record.putLong(toCentavos(payroll.getSss()));
+        record.putLong(toCentavos(payroll.getPhilhealth()));
+        record.putLong(toCentavos(payroll.getPagibig()));
+        record.putLong(toCentavos(payroll.getTax()));
+        record.putLong(toCentavos(payroll.getNetPay()));
+        record.putLong(toCentavos(payroll.getOtherAllowances()));
+        record.putLong(toCentavos(payroll.getTaxableAllowances()));
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static long toCentavos(double pesos) {
+        return Math.round(pesos * 100.0);
+    }
+
+    private static double toPesos(long centavos) {
+        return centavos / 100.0;
+    }
+}
@@ -9,6 +9,11 @@ import java.util.logging.Level;
 public class PayrollCalculatorDAO {
     private static final Logger logger = Logger.getLogger(PayrollCalculatorDAO.class.getName());
 
+    /**
+     * Writes one calculated payroll to the legacy payroll table
+     * @deprecated Payroll is stored per pay run through PayRunService and PayRunExecutor
+     */
+    @Deprecated
     public boolean saveCalculatedPayroll(Payroll payroll) {
         String query = "INSERT INTO payroll (employee_id, period_start, period_end, monthly_rate, " +
                 "days_worked, overtime_hours, gross_pay, total_deductions, net_pay, " +
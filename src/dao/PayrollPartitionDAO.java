@@ -0,0 +1,343 @@
+package dao;
+
+import util.ChangeBus;
+import util.DBConnection;
+import util.SchemaProbe;
+import model.ChangeEvent;
+import model.PayRunPartition;
+import model.Payroll;
+import java.sql.*;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * Data Access Object for the partitions of a coordinated pay run calculation.
+ * Workers on any machine claim partitions with FOR UPDATE SKIP LOCKED, so concurrent claimers
+ * never wait on or take the same partition. Heartbeats and staleness are measured on the
+ * database clock, which every workstation shares, and a partition's snapshot rows are stored
+ * in the same transaction that checks the claim is still held.
+ */
+public class PayrollPartitionDAO {
+    private static final Logger logger = Logger.getLogger(PayrollPartitionDAO.class.getName());
+
+    // SQL Query constants
+    private static final String LOCK_RUN =
+        "SELECT status FROM pay_run WHERE run_id = ? FOR UPDATE";
+
+    private static final String COUNT_OPEN =
+        "SELECT COUNT(*) FROM payroll_run_partition WHERE run_id = ? AND status IN ('Pending', 'Running')";
+
+    private static final String DELETE_PARTITIONS =
+        "DELETE FROM payroll_run_partition WHERE run_id = ?";
+
+    private static final String DELETE_SNAPSHOT =
+        "DELETE FROM pay_run_snapshot WHERE run_id = ?";
+
+    private static final String INSERT_PARTITION =
+        "INSERT INTO payroll_run_partition (run_id, partition_no, first_employee_id, last_employee_id, status) " +
+        "VALUES (?, ?, ?, ?, 'Pending')";
+
+    // A running partition is claimable again once its heartbeat is older than the stale limit
+    private static final String CLAIMABLE =
+        "(status = 'Pending' OR (status = 'Running' AND TIMESTAMPADD(SECOND, ?, heartbeat_at) < CURRENT_TIMESTAMP))";
+
+    private static final String SELECT_CLAIMABLE_IN_RUN =
+        "SELECT run_id, partition_no, first_employee_id, last_employee_id, attempts FROM payroll_run_partition " +
+        "WHERE run_id = ? AND " + CLAIMABLE + " ORDER BY partition_no LIMIT 1 FOR UPDATE SKIP LOCKED";
+
+    private static final String SELECT_CLAIMABLE_ANY =
+        "SELECT run_id, partition_no, first_employee_id, last_employee_id, attempts FROM payroll_run_partition " +
+        "WHERE " + CLAIMABLE + " ORDER BY run_id, partition_no LIMIT 1 FOR UPDATE SKIP LOCKED";
+
+    private static final String UPDATE_CLAIM =
+        "UPDATE payroll_run_partition SET status = 'Running', claimed_by = ?, attempts = attempts + 1, " +
+        "heartbeat_at = CURRENT_TIMESTAMP WHERE run_id = ? AND partition_no = ?";
+
+    // Every write after the claim is fenced on the claimer and its attempt
+    private static final String OWNED =
+        " WHERE run_id = ? AND partition_no = ? AND claimed_by = ? AND attempts = ? AND status = 'Running'";
+
+    private static final String UPDATE_HEARTBEAT =
+        "UPDATE payroll_run_partition SET heartbeat_at = CURRENT_TIMESTAMP" + OWNED;
+
+    private static final String UPDATE_DONE =
+        "UPDATE payroll_run_partition SET status = 'Done', completed_at = CURRENT_TIMESTAMP" + OWNED;
+
+    private static final String UPDATE_RELEASE =
+        "UPDATE payroll_run_partition SET status = CASE WHEN attempts >= ? THEN 'Failed' ELSE 'Pending' END, " +
+        "claimed_by = NULL" + OWNED;
+
+    private static final String DELETE_SNAPSHOT_RANGE =
+        "DELETE FROM pay_run_snapshot WHERE run_id = ? AND employee_id BETWEEN ? AND ?";
+
+    private static final String COUNT_BY_STATUS =
+        "SELECT status, COUNT(*) AS partitions FROM payroll_run_partition WHERE run_id = ? GROUP BY status";
+
+    // Totals are summed from the stored rows once every partition is done
+    private static final String UPDATE_RUN_TOTALS =
+        "UPDATE pay_run SET " +
+        "employee_count = (SELECT COUNT(*) FROM pay_run_snapshot WHERE run_id = ?), " +
+        "total_gross_pay = (SELECT COALESCE(SUM(gross_pay), 0) FROM pay_run_snapshot WHERE run_id = ?), " +
+        "total_deductions = (SELECT COALESCE(SUM(total_deductions), 0) FROM pay_run_snapshot WHERE run_id = ?), " +
+        "total_net_pay = (SELECT COALESCE(SUM(net_pay), 0) FROM pay_run_snapshot WHERE run_id = ?) " +
+        "WHERE run_id = ? AND status = 'Draft' " +
+        "AND NOT EXISTS (SELECT 1 FROM payroll_run_partition WHERE run_id = ? AND status <> 'Done')";
+
+    private final PayRunDAO payRunDAO = new PayRunDAO();
+
+    public boolean isAvailable() {
+        return !SchemaProbe.getInstance().getSnapshot().isTableMissing("payroll_run_partition");
+    }
+
+    /**
+     * Splits a draft run into pending partitions, replacing its previous snapshot, unless a
+     * calculation of the run is already in progress; the caller then joins that one.
+     * @param ranges First and last employee ID of each partition, in order
+     * @return true if the partitions were created, false if a calculation was in progress
+     * @throws IllegalStateException if the run is not in Draft status
+     */
+    public boolean plan(int runId, List<int[]> ranges) {
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try {
+                // The run row lock serializes planners of the same run
+                String status;
+                try (PreparedStatement stmt = conn.prepareStatement(LOCK_RUN)) {
+                    stmt.setInt(1, runId);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        status = rs.next() ? rs.getString("status") : null;
+                    }
+                }
+                if (!"Draft".equalsIgnoreCase(status)) {
+                    throw new IllegalStateException("Pay run " + runId + " is not in Draft status");
+                }
+
+                try (PreparedStatement stmt = conn.prepareStatement(COUNT_OPEN)) {
+                    stmt.setInt(1, runId);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (rs.next() && rs.getInt(1) > 0) {
+                            conn.rollback();
+                            return false;
+                        }
+                    }
+                }
+
+                try (PreparedStatement deletePartitions = conn.prepareStatement(DELETE_PARTITIONS);
+                     PreparedStatement deleteSnapshot = conn.prepareStatement(DELETE_SNAPSHOT);
+                     PreparedStatement insert = conn.prepareStatement(INSERT_PARTITION)) {
+                    deletePartitions.setInt(1, runId);
+                    deletePartitions.executeUpdate();
+                    deleteSnapshot.setInt(1, runId);
+                    deleteSnapshot.executeUpdate();
+
+                    int partitionNo = 0;
+                    for (int[] range : ranges) {
+                        insert.setInt(1, runId);
+                        insert.setInt(2, ++partitionNo);
+                        insert.setInt(3, range[0]);
+                        insert.setInt(4, range[1]);
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                }
+
+                conn.commit();
+                logger.info(String.format("Planned pay run %d in %d partitions", runId, ranges.size()));
+                return true;
+
+            } catch (SQLException | RuntimeException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error planning partitions of pay run: " + runId, ex);
+            throw new RuntimeException("Failed to plan pay run partitions", ex);
+        }
+    }
+
+    /**
+     * Claims the next pending partition, or one whose worker stopped sending heartbeats
+     * @param runId Run to claim from, or null for any run
+     * @param workerId Identifies the claiming worker
+     * @param staleSeconds Age of the last heartbeat after which a running partition is reclaimed
+     * @return The claimed partition, or empty if none is claimable right now
+     */
+    public Optional<PayRunPartition> claim(Integer runId, String workerId, int staleSeconds) {
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try {
+                PayRunPartition claimed = null;
+                try (PreparedStatement stmt = conn.prepareStatement(runId != null ? SELECT_CLAIMABLE_IN_RUN : SELECT_CLAIMABLE_ANY)) {
+                    int index = 1;
+                    if (runId != null) {
+                        stmt.setInt(index++, runId);
+                    }
+                    stmt.setInt(index, staleSeconds);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (rs.next()) {
+                            claimed = new PayRunPartition(rs.getInt("run_id"), rs.getInt("partition_no"),
+                                    rs.getInt("first_employee_id"), rs.getInt("last_employee_id"),
+                                    workerId, rs.getInt("attempts") + 1);
+                        }
+                    }
+                }
+
+                if (claimed != null) {
+                    try (PreparedStatement stmt = conn.prepareStatement(UPDATE_CLAIM)) {
+                        stmt.setString(1, workerId);
+                        stmt.setInt(2, claimed.getRunId());
+                        stmt.setInt(3, claimed.getPartitionNo());
+                        stmt.executeUpdate();
+                    }
+                }
+                conn.commit();
+                return Optional.ofNullable(claimed);
+
+            } catch (SQLException | RuntimeException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error claiming a pay run partition", ex);
+            throw new RuntimeException("Failed to claim pay run partition", ex);
+        }
+    }
+
+    /**
+     * Renews the claim on a partition
+     * @return false if the claim has been lost to another worker
+     */
+    public boolean heartbeat(PayRunPartition partition) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_HEARTBEAT)) {
+
+            setOwner(stmt, 1, partition);
+            return stmt.executeUpdate() > 0;
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error renewing claim on " + partition, ex);
+            throw new RuntimeException("Failed to renew pay run partition claim", ex);
+        }
+    }
+
+    /**
+     * Stores a partition's calculated payroll and marks it done, provided the claim is still held
+     * @return false if the claim had been lost; nothing is stored then
+     */
+    public boolean complete(PayRunPartition partition, List<Payroll> payrolls) {
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try {
+                // Marking done first locks the partition row and fences out a reclaiming worker
+                try (PreparedStatement stmt = conn.prepareStatement(UPDATE_DONE)) {
+                    setOwner(stmt, 1, partition);
+                    if (stmt.executeUpdate() == 0) {
+                        conn.rollback();
+                        return false;
+                    }
+                }
+
+                try (PreparedStatement stmt = conn.prepareStatement(DELETE_SNAPSHOT_RANGE)) {
+                    stmt.setInt(1, partition.getRunId());
+                    stmt.setInt(2, partition.getFirstEmployeeId());
+                    stmt.setInt(3, partition.getLastEmployeeId());
+                    stmt.executeUpdate();
+                }
+                payRunDAO.insertSnapshotRows(conn, partition.getRunId(), payrolls);
+
+                conn.commit();
+                return true;
+
+            } catch (SQLException | RuntimeException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error storing " + partition, ex);
+            throw new RuntimeException("Failed to store pay run partition", ex);
+        }
+    }
+
+    /**
+     * Gives a partition back after a failure; it fails for good after maxAttempts claims
+     */
+    public void release(PayRunPartition partition, int maxAttempts) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_RELEASE)) {
+
+            stmt.setInt(1, maxAttempts);
+            setOwner(stmt, 2, partition);
+            stmt.executeUpdate();
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error releasing " + partition, ex);
+            throw new RuntimeException("Failed to release pay run partition", ex);
+        }
+    }
+
+    /**
+     * @return Number of partitions of the run in each status
+     */
+    public Map<PayRunPartition.Status, Integer> getProgress(int runId) {
+        Map<PayRunPartition.Status, Integer> progress = new EnumMap<>(PayRunPartition.Status.class);
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(COUNT_BY_STATUS)) {
+
+            stmt.setInt(1, runId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    progress.put(PayRunPartition.Status.fromDbValue(rs.getString("status")), rs.getInt("partitions"));
+                }
+            }
+            return progress;
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error reading partitions of pay run: " + runId, ex);
+            throw new RuntimeException("Failed to read pay run progress", ex);
+        }
+    }
+
+    /**
+     * Sums the stored rows into the run's totals once every partition is done.
+     * Any worker may call it; the totals come out the same whoever does.
+     * @return true if the run's totals were written
+     */
+    public boolean finish(int runId) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_RUN_TOTALS)) {
+
+            for (int index = 1; index <= 6; index++) {
+                stmt.setInt(index, runId);
+            }
+            boolean finished = stmt.executeUpdate() > 0;
+            if (finished) {
+                ChangeBus.getInstance().publish(ChangeEvent.Entity.PAY_RUN, ChangeEvent.Kind.UPDATED, runId, 0);
+            }
+            return finished;
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error finishing pay run: " + runId, ex);
+            throw new RuntimeException("Failed to finish pay run", ex);
+        }
+    }
+
+    private static void setOwner(PreparedStatement stmt, int index, PayRunPartition partition) throws SQLException {
+        stmt.setInt(index, partition.getRunId());
+        stmt.setInt(index + 1, partition.getPartitionNo());
+        stmt.setString(index + 2, partition.getClaimedBy());
+        stmt.setInt(index + 3, partition.getAttempt());
+    }
+}
@@ -0,0 +1,138 @@
+package dao;
+
+import util.DBConnection;
+import util.SchemaProbe;
+import model.TaxYearToDate;
+import java.sql.*;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * Data Access Object for the year-to-date tax accumulators.
+ * Rows are keyed by (employee_id, year), so withholding reads one row per employee.
+ * A pay run's snapshot is added to the accumulators once, on the approval transaction.
+ */
+public class PayrollYtdDAO {
+    private static final Logger logger = Logger.getLogger(PayrollYtdDAO.class.getName());
+
+    // SQL Query constants
+    private static final String YTD_COLUMNS =
+        "employee_id, year, periods, taxable_gross, contributions, tax_withheld, last_period_end";
+
+    private static final String SELECT_YTD =
+        "SELECT " + YTD_COLUMNS + " FROM payroll_ytd WHERE employee_id = ? AND year = ?";
+
+    private static final String SELECT_YTD_FOR_YEAR =
+        "SELECT " + YTD_COLUMNS + " FROM payroll_ytd WHERE year = ?";
+
+    // Doubles as the guard: for a run already applied it inserts nothing
+    private static final String INSERT_APPLIED_RUN =
+        "INSERT IGNORE INTO payroll_ytd_run (run_id) VALUES (?)";
+
+    private static final String ACCUMULATE_RUN =
+        "INSERT INTO payroll_ytd (employee_id, year, periods, taxable_gross, contributions, tax_withheld, last_period_end) " +
+        "SELECT employee_id, YEAR(period_end), 1, " +
+        "gross_earnings - late_deduction - undertime_deduction - unpaid_leave_deduction + overtime_pay + taxable_allowances, " +
+        "sss + philhealth + pagibig, tax, period_end " +
+        "FROM pay_run_snapshot WHERE run_id = ? " +
+        "ON DUPLICATE KEY UPDATE periods = periods + 1, taxable_gross = taxable_gross + VALUES(taxable_gross), " +
+        "contributions = contributions + VALUES(contributions), tax_withheld = tax_withheld + VALUES(tax_withheld), " +
+        "last_period_end = GREATEST(COALESCE(last_period_end, VALUES(last_period_end)), VALUES(last_period_end))";
+
+    /**
+     * @return true unless the schema probe found the accumulator table missing
+     */
+    public boolean isAvailable() {
+        return !SchemaProbe.getInstance().getSnapshot().isTableMissing("payroll_ytd");
+    }
+
+    /**
+     * Retrieves one employee's accumulators by primary key
+     * @return Accumulators, or empty ones if the employee has no approved period in the year
+     * @throws RuntimeException if database error occurs
+     */
+    public TaxYearToDate getYearToDate(int employeeId, int year) {
+        if (employeeId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be positive");
+        }
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_YTD)) {
+
+            stmt.setInt(1, employeeId);
+            stmt.setInt(2, year);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? mapResultSetToYearToDate(rs) : TaxYearToDate.empty(employeeId, year);
+            }
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error retrieving YTD accumulators for employee " + employeeId, e);
+            throw new RuntimeException("Failed to retrieve YTD accumulators", e);
+        }
+    }
+
+    /**
+     * Retrieves the accumulators of every employee for a year in one query
+     * @return Accumulators by employee ID; employees without approved periods are absent
+     * @throws RuntimeException if database error occurs
+     */
+    public Map<Integer, TaxYearToDate> getYearToDateForYear(int year) {
+        Map<Integer, TaxYearToDate> accumulators = new HashMap<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_YTD_FOR_YEAR)) {
+
+            stmt.setInt(1, year);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    TaxYearToDate ytd = mapResultSetToYearToDate(rs);
+                    accumulators.put(ytd.getEmployeeId(), ytd);
+                }
+            }
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error retrieving YTD accumulators for " + year, e);
+            throw new RuntimeException("Failed to retrieve YTD accumulators", e);
+        }
+
+        return accumulators;
+    }
+
+    /**
+     * Adds an approved run's snapshot to the accumulators on the caller's transaction
+     * @param conn Connection of the approval
+     * @param runId Pay run being approved
+     * @return true if the run was added, false if it was already applied
+     * @throws SQLException if the update fails
+     */
+    public boolean accumulateRun(Connection conn, int runId) throws SQLException {
+        try (PreparedStatement guard = conn.prepareStatement(INSERT_APPLIED_RUN)) {
+            guard.setInt(1, runId);
+            if (guard.executeUpdate() == 0) {
+                logger.warning("Pay run " + runId + " is already in the YTD accumulators; skipped");
+                return false;
+            }
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(ACCUMULATE_RUN)) {
+            stmt.setInt(1, runId);
+            stmt.executeUpdate();
+            logger.info("Accumulated pay run " + runId + " into YTD tax totals");
+            return true;
+        }
+    }
+
+    private TaxYearToDate mapResultSetToYearToDate(ResultSet rs) throws SQLException {
+        java.sql.Date lastPeriodEnd = rs.getDate("last_period_end");
+        return new TaxYearToDate(
+            rs.getInt("employee_id"),
+            rs.getInt("year"),
+            rs.getInt("periods"),
+            rs.getDouble("taxable_gross"),
+            rs.getDouble("contributions"),
+            rs.getDouble("tax_withheld"),
+            lastPeriodEnd != null ? lastPeriodEnd.toLocalDate() : null
+        );
+    }
+}
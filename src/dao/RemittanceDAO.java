@@ -0,0 +1,175 @@
+package dao;
+
+import util.DBConnection;
+import util.SchemaProbe;
+import model.RemittanceFile;
+import model.RemittanceLine;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * Data Access Object for government remittances.
+ * A period's contributions are read in one aggregated query over the approved pay run
+ * snapshots, one row per employee, and streamed so every agency's file is written in the
+ * same pass.
+ */
+public class RemittanceDAO {
+    private static final Logger logger = Logger.getLogger(RemittanceDAO.class.getName());
+
+    /**
+     * Receives a period's lines in employee order
+     */
+    public interface LineHandler {
+        void accept(RemittanceLine line) throws IOException;
+    }
+
+    // SQL Query constants
+    private static final String AGGREGATED_COLUMNS =
+        "COUNT(*) AS periods, MAX(s.monthly_rate) AS monthly_rate, SUM(s.gross_pay) AS gross_pay, " +
+        "SUM(s.gross_earnings - s.late_deduction - s.undertime_deduction - s.unpaid_leave_deduction " +
+        "+ s.overtime_pay + s.taxable_allowances - s.sss - s.philhealth - s.pagibig) AS taxable, " +
+        "SUM(s.sss) AS sss, SUM(s.philhealth) AS philhealth, SUM(s.pagibig) AS pagibig, SUM(s.tax) AS tax ";
+
+    private static final String CLOSED_SNAPSHOTS =
+        "FROM pay_run_snapshot s " +
+        "JOIN pay_run r ON r.run_id = s.run_id " +
+        "JOIN employees e ON e.employee_id = s.employee_id ";
+
+    private static final String PERIOD_FILTER =
+        "WHERE r.status IN ('Approved', 'Locked') AND s.period_end >= ? AND s.period_end < ? " +
+        "GROUP BY e.employee_id ORDER BY e.employee_id";
+
+    // Normalized IDs take precedence over the legacy employee columns
+    private static final String SELECT_LINES_WITH_NORMALIZED_IDS =
+        "SELECT e.employee_id, MAX(e.last_name) AS last_name, MAX(e.first_name) AS first_name, MAX(e.birthday) AS birthday, " +
+        "MAX(COALESCE(g.sss, e.sss_number)) AS sss_number, MAX(COALESCE(g.philhealth, e.philhealth_number)) AS philhealth_number, " +
+        "MAX(COALESCE(g.pagibig, e.pagibig_number)) AS pagibig_number, MAX(COALESCE(g.tin, e.tin_number)) AS tin_number, " +
+        AGGREGATED_COLUMNS + CLOSED_SNAPSHOTS +
+        "LEFT JOIN (SELECT gi.employee_id, " +
+        "MAX(CASE WHEN t.id_type_name = 'SSS' THEN gi.id_number END) AS sss, " +
+        "MAX(CASE WHEN t.id_type_name = 'PhilHealth' THEN gi.id_number END) AS philhealth, " +
+        "MAX(CASE WHEN t.id_type_name = 'Pag-IBIG' THEN gi.id_number END) AS pagibig, " +
+        "MAX(CASE WHEN t.id_type_name = 'TIN' THEN gi.id_number END) AS tin " +
+        "FROM employee_government_ids gi JOIN government_id_types t ON t.id_type_id = gi.id_type_id " +
+        "GROUP BY gi.employee_id) g ON g.employee_id = e.employee_id " +
+        PERIOD_FILTER;
+
+    private static final String SELECT_LINES =
+        "SELECT e.employee_id, MAX(e.last_name) AS last_name, MAX(e.first_name) AS first_name, MAX(e.birthday) AS birthday, " +
+        "MAX(e.sss_number) AS sss_number, MAX(e.philhealth_number) AS philhealth_number, " +
+        "MAX(e.pagibig_number) AS pagibig_number, MAX(e.tin_number) AS tin_number, " +
+        AGGREGATED_COLUMNS + CLOSED_SNAPSHOTS + PERIOD_FILTER;
+
+    private static final String INSERT_FILE =
+        "INSERT INTO remittance_file (agency, period_start, period_end, file_name, record_count, rejected_count, " +
+        "employee_share, employer_share, created_by) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * @return true unless the schema probe found the remittance log missing
+     */
+    public boolean isAvailable() {
+        return !SchemaProbe.getInstance().getSnapshot().isTableMissing("remittance_file");
+    }
+
+    /**
+     * Streams one line per employee with approved pay periods ending in the range
+     * @param periodStart First day of the range
+     * @param periodEnd Last day of the range
+     * @param handler Receives each line as it is read
+     * @return Number of lines read
+     * @throws IOException if the handler fails; reading stops
+     * @throws RuntimeException if database error occurs
+     */
+    public int streamLines(LocalDate periodStart, LocalDate periodEnd, LineHandler handler) throws IOException {
+        boolean normalizedIds = !SchemaProbe.getInstance().getSnapshot().isTableMissing("employee_government_ids");
+        int count = 0;
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(normalizedIds ? SELECT_LINES_WITH_NORMALIZED_IDS : SELECT_LINES)) {
+
+            stmt.setDate(1, java.sql.Date.valueOf(periodStart));
+            stmt.setDate(2, java.sql.Date.valueOf(periodEnd.plusDays(1)));
+            // Read through a server-side cursor (useCursorFetch), never the whole month at once
+            stmt.setFetchSize(BATCH_SIZE);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    handler.accept(mapResultSetToLine(rs));
+                    count++;
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error reading remittances from " + periodStart + " to " + periodEnd, ex);
+            throw new RuntimeException("Failed to read remittance lines", ex);
+        }
+
+        return count;
+    }
+
+    /**
+     * Records the files generated for a period
+     * @throws RuntimeException if database error occurs
+     */
+    public void recordFiles(List<RemittanceFile> files, String createdBy) {
+        if (files == null || files.isEmpty()) {
+            return;
+        }
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_FILE)) {
+
+            for (RemittanceFile file : files) {
+                stmt.setString(1, file.getAgency().getDbValue());
+                stmt.setDate(2, java.sql.Date.valueOf(file.getPeriodStart()));
+                stmt.setDate(3, java.sql.Date.valueOf(file.getPeriodEnd()));
+                stmt.setString(4, file.getFileName());
+                stmt.setInt(5, file.getRecordCount());
+                stmt.setInt(6, file.getRejectedCount());
+                stmt.setBigDecimal(7, BigDecimal.valueOf(file.getEmployeeShare(), 2));
+                stmt.setBigDecimal(8, BigDecimal.valueOf(file.getEmployerShare(), 2));
+                stmt.setString(9, createdBy);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error recording remittance files", ex);
+            throw new RuntimeException("Failed to record remittance files", ex);
+        }
+    }
+
+    private RemittanceLine mapResultSetToLine(ResultSet rs) throws SQLException {
+        java.sql.Date birthday = rs.getDate("birthday");
+        return new RemittanceLine(
+            rs.getInt("employee_id"),
+            rs.getString("last_name"),
+            rs.getString("first_name"),
+            birthday != null ? birthday.toLocalDate() : null,
+            rs.getString("sss_number"),
+            rs.getString("philhealth_number"),
+            rs.getString("pagibig_number"),
+            rs.getString("tin_number"),
+            rs.getInt("periods"),
+            centavos(rs, "monthly_rate"),
+            centavos(rs, "gross_pay"),
+            centavos(rs, "taxable"),
+            centavos(rs, "sss"),
+            centavos(rs, "philhealth"),
+            centavos(rs, "pagibig"),
+            centavos(rs, "tax")
+        );
+    }
+
+    private static long centavos(ResultSet rs, String column) throws SQLException {
+        BigDecimal value = rs.getBigDecimal(column);
+        return value == null ? 0L : value.movePointRight(2).setScale(0, java.math.RoundingMode.HALF_UP).longValue();
+    }
+}
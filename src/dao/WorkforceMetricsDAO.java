@@ -0,0 +1,81 @@
+package dao;
+
+import util.DBConnection;
+import util.SchemaProbe;
+import model.WorkforceMetrics;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * Data Access Object for the dashboard metric counters.
+ * Every counter is read in one single-row statement of indexed counts. It is used to seed
+ * the counters and to reconcile them now and then, not to poll.
+ */
+public class WorkforceMetricsDAO {
+    private static final Logger logger = Logger.getLogger(WorkforceMetricsDAO.class.getName());
+
+    // SQL Query constants
+    // Late matches Attendance.isLate(): logged in after 08:00
+    private static final String SELECT_COUNTERS =
+        "SELECT (SELECT COUNT(*) FROM employees) AS headcount, " +
+        "(SELECT COUNT(*) FROM employees WHERE created_at >= ?) AS new_hires, " +
+        "(SELECT COUNT(DISTINCT employee_id) FROM attendance WHERE date = ?) AS present_today, " +
+        "(SELECT COUNT(DISTINCT employee_id) FROM attendance WHERE date = ? AND log_in > '08:00:00') AS late_today, " +
+        "(SELECT COUNT(*) FROM leave_request WHERE status = 'Pending') AS pending_leaves";
+
+    private static final String SELECT_LATEST_PAY_RUN =
+        "SELECT period_end, total_gross_pay, total_net_pay FROM pay_run " +
+        "WHERE status IN ('Approved', 'Locked') ORDER BY period_end DESC, run_id DESC LIMIT 1";
+
+    /**
+     * Reads every counter
+     * @param today Day of the attendance counters
+     * @param hiredSince Employees added on or after this day count as new hires
+     * @throws RuntimeException if database error occurs
+     */
+    public WorkforceMetrics load(LocalDate today, LocalDate hiredSince) {
+        try (Connection conn = DBConnection.getConnection()) {
+            int headcount;
+            int newHires;
+            int presentToday;
+            int lateToday;
+            int pendingLeaves;
+            try (PreparedStatement stmt = conn.prepareStatement(SELECT_COUNTERS)) {
+                stmt.setTimestamp(1, Timestamp.valueOf(hiredSince.atStartOfDay()));
+                stmt.setDate(2, java.sql.Date.valueOf(today));
+                stmt.setDate(3, java.sql.Date.valueOf(today));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    rs.next();
+                    headcount = rs.getInt("headcount");
+                    newHires = rs.getInt("new_hires");
+                    presentToday = rs.getInt("present_today");
+                    lateToday = rs.getInt("late_today");
+                    pendingLeaves = rs.getInt("pending_leaves");
+                }
+            }
+
+            LocalDate payrollPeriodEnd = null;
+            double payrollGross = 0.0;
+            double payrollNet = 0.0;
+            if (!SchemaProbe.getInstance().getSnapshot().isTableMissing("pay_run")) {
+                try (PreparedStatement stmt = conn.prepareStatement(SELECT_LATEST_PAY_RUN);
+                     ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        payrollPeriodEnd = rs.getDate("period_end").toLocalDate();
+                        payrollGross = rs.getDouble("total_gross_pay");
+                        payrollNet = rs.getDouble("total_net_pay");
+                    }
+                }
+            }
+
+            return new WorkforceMetrics(today, headcount, newHires, presentToday, lateToday, pendingLeaves,
+                    payrollPeriodEnd, payrollGross, payrollNet);
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error reading dashboard metrics", ex);
+            throw new RuntimeException("Failed to read dashboard metrics", ex);
+        }
+    }
+}
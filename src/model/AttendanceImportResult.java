@@ -0,0 +1,94 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Model class summarizing a bulk attendance import.
+ * Keeps every count, but only the first MAX_STORED_REJECTIONS rejected rows.
+ */
+public class AttendanceImportResult {
+
+    public static final int MAX_STORED_REJECTIONS = 10000;
+
+    /**
+     * A line of the input that was not imported
+     */
+    public static class RejectedRow {
+        private final long lineNumber;
+        private final String line;
+        private final String reason;
+
+        public RejectedRow(long lineNumber, String line, String reason) {
+            this.lineNumber = lineNumber;
+            this.line = line;
+            this.reason = reason;
+        }
+
+        public long getLineNumber() { return lineNumber; }
+        public String getLine() { return line; }
+        public String getReason() { return reason; }
+
+        @Override
+        public String toString() {
+            return "Line " + lineNumber + ": " + reason;
+        }
+    }
+
+    private final String sourceName;
+    private long linesRead;
+    private long imported;
+    private long duplicates;
+    private long rejected;
+    private long elapsedMillis;
+    private final List<RejectedRow> rejectedRows = new ArrayList<>();
+
+    public AttendanceImportResult(String sourceName) {
+        this.sourceName = sourceName;
+    }
+
+    public void lineRead() {
+        linesRead++;
+    }
+
+    public void addImported(int count) {
+        imported += count;
+    }
+
+    public void reject(long lineNumber, String line, String reason, boolean duplicate) {
+        if (duplicate) {
+            duplicates++;
+        } else {
+            rejected++;
+        }
+        if (rejectedRows.size() < MAX_STORED_REJECTIONS) {
+            rejectedRows.add(new RejectedRow(lineNumber, line, reason));
+        }
+    }
+
+    // Getters and Setters
+    public String getSourceName() { return sourceName; }
+    public long getLinesRead() { return linesRead; }
+    public long getImported() { return imported; }
+    public long getDuplicates() { return duplicates; }
+    public long getRejected() { return rejected; }
+    public List<RejectedRow> getRejectedRows() { return Collections.unmodifiableList(rejectedRows); }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+
+    public boolean hasRejections() {
+        return duplicates + rejected > 0;
+    }
+
+    public String getSummary() {
+        return String.format("%s: %,d lines read, %,d imported, %,d duplicates skipped, %,d rejected (%.1fs)",
+                sourceName, linesRead, imported, duplicates, rejected, elapsedMillis / 1000.0);
+    }
+
+    @Override
+    public String toString() {
+        return getSummary();
+    }
+}
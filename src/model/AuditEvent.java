@@ -0,0 +1,80 @@
+package model;
+
+import java.sql.Timestamp;
+
+/**
+ * Model class representing a single entry of the audit trail.
+ * Events are immutable once created; they are queued in memory and written in batches.
+ */
+public class AuditEvent {
+
+    // Common actions
+    public static final String ACTION_CREATE = "CREATE";
+    public static final String ACTION_UPDATE = "UPDATE";
+    public static final String ACTION_DELETE = "DELETE";
+    public static final String ACTION_STATUS_CHANGE = "STATUS_CHANGE";
+    public static final String ACTION_PASSWORD_CHANGE = "PASSWORD_CHANGE";
+    public static final String ACTION_IMPORT = "IMPORT";
+    public static final String ACTION_BULK_DECISION = "BULK_DECISION";
+
+    // Audited entity types
+    public static final String ENTITY_EMPLOYEE = "Employee";
+    public static final String ENTITY_ATTENDANCE = "Attendance";
+    public static final String ENTITY_CREDENTIALS = "Credentials";
+    public static final String ENTITY_LEAVE_REQUEST = "LeaveRequest";
+    public static final String ENTITY_OVERTIME = "Overtime";
+    public static final String ENTITY_PAY_RUN = "PayRun";
+
+    private final long auditId;
+    private final Timestamp eventTime;
+    private final Integer actorId;
+    private final String actorName;
+    private final String action;
+    private final String entityType;
+    private final String entityId;
+    private final String details;
+
+    public AuditEvent(Integer actorId, String actorName, String action,
+                      String entityType, String entityId, String details) {
+        this(0, new Timestamp(System.currentTimeMillis()), actorId, actorName,
+                action, entityType, entityId, details);
+    }
+
+    public AuditEvent(long auditId, Timestamp eventTime, Integer actorId, String actorName,
+                      String action, String entityType, String entityId, String details) {
+        if (action == null || action.trim().isEmpty()) {
+            throw new IllegalArgumentException("Audit action cannot be empty");
+        }
+        if (entityType == null || entityType.trim().isEmpty()) {
+            throw new IllegalArgumentException("Audit entity type cannot be empty");
+        }
+        this.auditId = auditId;
+        this.eventTime = eventTime;
+        this.actorId = actorId;
+        this.actorName = actorName;
+        this.action = action;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.details = details;
+    }
+
+    // Getters
+    public long getAuditId() { return auditId; }
+    public Timestamp getEventTime() { return eventTime; }
+    public Integer getActorId() { return actorId; }
+    public String getActorName() { return actorName; }
+    public String getAction() { return action; }
+    public String getEntityType() { return entityType; }
+    public String getEntityId() { return entityId; }
+    public String getDetails() { return details; }
+
+    @Override
+    public String toString() {
+        return "AuditEvent{" +
+                "time=" + eventTime +
+                ", actor=" + actorName +
+                ", action='" + action + '\'' +
+                ", entity=" + entityType + "#" + entityId +
+                '}';
+    }
+}
@@ -0,0 +1,81 @@
+package model;
+
+import java.time.LocalDate;
+
+/**
+ * Model class representing a computed 13th month or final pay, as kept in benefit_payout.
+ * Net amount is the prorated salary, leave conversion and 13th month less the tax
+ * adjustment; a negative tax adjustment refunds tax withheld in excess during the year.
+ */
+public class BenefitPayout {
+
+    // Payout types as stored in benefit_payout.payout_type
+    public static final String THIRTEENTH_MONTH = "13th Month";
+    public static final String FINAL_PAY = "Final Pay";
+
+    private int employeeId;
+    private int year;
+    private String payoutType;
+    private double basicEarned;
+    private double thirteenthMonth;
+    private double proratedSalary;
+    private double leaveDays;
+    private double leaveConversion;
+    private double taxAdjustment;
+    private LocalDate separationDate;
+
+    public BenefitPayout() {}
+
+    public BenefitPayout(int employeeId, int year, String payoutType) {
+        this.employeeId = employeeId;
+        this.year = year;
+        this.payoutType = payoutType;
+    }
+
+    public boolean isFinalPay() {
+        return FINAL_PAY.equals(payoutType);
+    }
+
+    /**
+     * Amount released to the employee
+     */
+    public double getNetAmount() {
+        return Math.round((proratedSalary + leaveConversion + thirteenthMonth - taxAdjustment) * 100.0) / 100.0;
+    }
+
+    public int getEmployeeId() { return employeeId; }
+    public void setEmployeeId(int employeeId) { this.employeeId = employeeId; }
+
+    public int getYear() { return year; }
+    public void setYear(int year) { this.year = year; }
+
+    public String getPayoutType() { return payoutType; }
+    public void setPayoutType(String payoutType) { this.payoutType = payoutType; }
+
+    public double getBasicEarned() { return basicEarned; }
+    public void setBasicEarned(double basicEarned) { this.basicEarned = basicEarned; }
+
+    public double getThirteenthMonth() { return thirteenthMonth; }
+    public void setThirteenthMonth(double thirteenthMonth) { this.thirteenthMonth = thirteenthMonth; }
+
+    public double getProratedSalary() { return proratedSalary; }
+    public void setProratedSalary(double proratedSalary) { this.proratedSalary = proratedSalary; }
+
+    public double getLeaveDays() { return leaveDays; }
+    public void setLeaveDays(double leaveDays) { this.leaveDays = leaveDays; }
+
+    public double getLeaveConversion() { return leaveConversion; }
+    public void setLeaveConversion(double leaveConversion) { this.leaveConversion = leaveConversion; }
+
+    public double getTaxAdjustment() { return taxAdjustment; }
+    public void setTaxAdjustment(double taxAdjustment) { this.taxAdjustment = taxAdjustment; }
+
+    public LocalDate getSeparationDate() { return separationDate; }
+    public void setSeparationDate(LocalDate separationDate) { this.separationDate = separationDate; }
+
+    @Override
+    public String toString() {
+        return String.format("BenefitPayout{employee=%d, year=%d, type=%s, thirteenthMonth=%.2f, proratedSalary=%.2f, leaveConversion=%.2f, taxAdjustment=%.2f, net=%.2f}",
+                employeeId, year, payoutType, thirteenthMonth, proratedSalary, leaveConversion, taxAdjustment, getNetAmount());
+    }
+}
@@ -0,0 +1,67 @@
+package model;
+
+/**
+ * A committed change to one record, published by the DAOs so open screens can update
+ * the affected table row instead of reloading the table.
+ * A BULK event says that many records of the entity changed at once; screens reload.
+ */
+public class ChangeEvent {
+
+    /**
+     * Kinds of record that screens follow
+     */
+    public enum Entity {
+        EMPLOYEE,
+        ATTENDANCE,
+        LEAVE_REQUEST,
+        PAY_RUN
+    }
+
+    public enum Kind {
+        INSERTED,
+        UPDATED,
+        DELETED,
+        BULK
+    }
+
+    private final Entity entity;
+    private final Kind kind;
+    private final int entityId;
+    private final int employeeId;
+    private final boolean remote;
+
+    /**
+     * @param entityId Key of the changed record; 0 for a BULK change
+     * @param employeeId Employee the record belongs to, or 0 if not known
+     */
+    public ChangeEvent(Entity entity, Kind kind, int entityId, int employeeId) {
+        this(entity, kind, entityId, employeeId, false);
+    }
+
+    /**
+     * @param remote True if the change was made by another instance of the application
+     */
+    public ChangeEvent(Entity entity, Kind kind, int entityId, int employeeId, boolean remote) {
+        if (entity == null || kind == null) {
+            throw new IllegalArgumentException("Change entity and kind are required");
+        }
+        this.entity = entity;
+        this.kind = kind;
+        this.entityId = entityId;
+        this.employeeId = employeeId;
+        this.remote = remote;
+    }
+
+    public Entity getEntity() { return entity; }
+    public Kind getKind() { return kind; }
+    public int getEntityId() { return entityId; }
+    public int getEmployeeId() { return employeeId; }
+    public boolean isRemote() { return remote; }
+
+    @Override
+    public String toString() {
+        return "ChangeEvent{" + entity + "#" + entityId + " " + kind +
+                (employeeId > 0 ? ", employee=" + employeeId : "") +
+                (remote ? ", remote" : "") + '}';
+    }
+}
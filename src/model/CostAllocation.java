@@ -0,0 +1,148 @@
+package model;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Payroll cost of one node of the allocation tree: the company for a period, a department
+ * under it, or an employee's share charged to that department. A shared employee appears
+ * under every department that carries part of their cost. Amounts are in centavos; a
+ * parent's totals always equal the sum of its children's.
+ */
+public class CostAllocation {
+
+    public enum Level { COMPANY, DEPARTMENT, EMPLOYEE }
+
+    /** Share of an employee fully charged to one department, in hundredths of a percent */
+    public static final int FULL_SHARE = 10000;
+
+    private final Level level;
+    private final int id;
+    private final String name;
+    private final Map<Integer, CostAllocation> children = new LinkedHashMap<>();
+    private long basicPay;
+    private long overtimePay;
+    private long allowances;
+    private long employerShare;
+    private int shareBasisPoints;
+    private long budget;
+
+    // Company level only: the pay runs the tree was built from
+    private YearMonth period;
+    private int closedRuns;
+    private int openRuns;
+    private int lastRunId;
+
+    public CostAllocation(Level level, int id, String name) {
+        this.level = level;
+        this.id = id;
+        this.name = name;
+    }
+
+    /**
+     * Root of a period's tree
+     * @param closedRuns Approved or locked pay runs ending in the period
+     * @param openRuns Runs ending in the period that are not approved yet; their payroll is left out
+     * @param lastRunId Highest closed run ID, so a late off-cycle run is noticed
+     */
+    public static CostAllocation company(String name, YearMonth period, int closedRuns, int openRuns, int lastRunId) {
+        CostAllocation company = new CostAllocation(Level.COMPANY, 0, name);
+        company.period = period;
+        company.closedRuns = closedRuns;
+        company.openRuns = openRuns;
+        company.lastRunId = lastRunId;
+        return company;
+    }
+
+    /**
+     * The child with the given ID, added under the given name if absent
+     */
+    public CostAllocation child(int childId, String childName) {
+        return children.computeIfAbsent(childId, key -> new CostAllocation(
+                level == Level.COMPANY ? Level.DEPARTMENT : Level.EMPLOYEE, key, childName));
+    }
+
+    public CostAllocation getChild(int childId) {
+        return children.get(childId);
+    }
+
+    public List<CostAllocation> getChildren() {
+        return Collections.unmodifiableList(new ArrayList<>(children.values()));
+    }
+
+    /**
+     * Adds cost to this node's totals
+     */
+    public void add(long basicPay, long overtimePay, long allowances, long employerShare, int shareBasisPoints) {
+        this.basicPay += basicPay;
+        this.overtimePay += overtimePay;
+        this.allowances += allowances;
+        this.employerShare += employerShare;
+        this.shareBasisPoints += shareBasisPoints;
+    }
+
+    /**
+     * @return true if every run of the period is approved, so the tree can no longer change
+     *         until another run is added
+     */
+    public boolean isClosed() {
+        return closedRuns > 0 && openRuns == 0;
+    }
+
+    /**
+     * @return true if both trees were built from the same closed pay runs
+     */
+    public boolean isSameRuns(CostAllocation other) {
+        return period.equals(other.period) && closedRuns == other.closedRuns && lastRunId == other.lastRunId;
+    }
+
+    public long getGrossPay() {
+        return basicPay + overtimePay + allowances;
+    }
+
+    /**
+     * Gross pay plus the employer's SSS, PhilHealth and Pag-IBIG shares
+     */
+    public long getTotalCost() {
+        return getGrossPay() + employerShare;
+    }
+
+    /**
+     * Full-time equivalents charged here: the sum of the employees' shares
+     */
+    public double getHeadcount() {
+        return shareBasisPoints / (double) FULL_SHARE;
+    }
+
+    /**
+     * Budget left after the period's cost; negative when over budget
+     */
+    public long getBudgetVariance() {
+        return budget - getTotalCost();
+    }
+
+    public Level getLevel() { return level; }
+    public int getId() { return id; }
+    public String getName() { return name; }
+    public long getBasicPay() { return basicPay; }
+    public long getOvertimePay() { return overtimePay; }
+    public long getAllowances() { return allowances; }
+    public long getEmployerShare() { return employerShare; }
+    public int getShareBasisPoints() { return shareBasisPoints; }
+    public long getBudget() { return budget; }
+    public void setBudget(long budget) { this.budget = budget; }
+    public YearMonth getPeriod() { return period; }
+    public int getClosedRuns() { return closedRuns; }
+    public int getOpenRuns() { return openRuns; }
+    public int getLastRunId() { return lastRunId; }
+
+    @Override
+    public String toString() {
+        return String.format("CostAllocation{%s %d '%s', gross=%d, employerShare=%d, children=%d}",
+                level, id, name, getGrossPay(), employerShare, children.size());
+    }
+}
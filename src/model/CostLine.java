@@ -0,0 +1,67 @@
+package model;
+
+/**
+ * One employee's payroll cost for an allocation period, summed over the approved pay periods
+ * ending in it. Amounts are in centavos so department and company totals add up exactly.
+ * Basic pay is earned pay after late, undertime and unpaid leave deductions.
+ */
+public class CostLine {
+    private final int employeeId;
+    private final String lastName;
+    private final String firstName;
+    private final int departmentId;
+    private final long monthlyRate;
+    private final long basicPay;
+    private final long overtimePay;
+    private final long allowances;
+    private final long sss;
+    private final long philhealth;
+    private final long pagibig;
+
+    public CostLine(int employeeId, String lastName, String firstName, int departmentId, long monthlyRate,
+                    long basicPay, long overtimePay, long allowances, long sss, long philhealth, long pagibig) {
+        this.employeeId = employeeId;
+        this.lastName = lastName;
+        this.firstName = firstName;
+        this.departmentId = departmentId;
+        this.monthlyRate = monthlyRate;
+        this.basicPay = basicPay;
+        this.overtimePay = overtimePay;
+        this.allowances = allowances;
+        this.sss = sss;
+        this.philhealth = philhealth;
+        this.pagibig = pagibig;
+    }
+
+    /**
+     * Employee share withheld for the agency; BIR has none here
+     */
+    public long getEmployeeShare(RemittanceAgency agency) {
+        switch (agency) {
+            case SSS: return sss;
+            case PHILHEALTH: return philhealth;
+            case PAGIBIG: return pagibig;
+            default: return 0L;
+        }
+    }
+
+    public String getDisplayName() {
+        return lastName + ", " + firstName;
+    }
+
+    public int getEmployeeId() { return employeeId; }
+    public String getLastName() { return lastName; }
+    public String getFirstName() { return firstName; }
+    /** Department of the employee's position, 0 if the position maps to none */
+    public int getDepartmentId() { return departmentId; }
+    public long getMonthlyRate() { return monthlyRate; }
+    public long getBasicPay() { return basicPay; }
+    public long getOvertimePay() { return overtimePay; }
+    public long getAllowances() { return allowances; }
+
+    @Override
+    public String toString() {
+        return String.format("CostLine{employee=%d, department=%d, basic=%d, overtime=%d, allowances=%d}",
+                employeeId, departmentId, basicPay, overtimePay, allowances);
+    }
+}
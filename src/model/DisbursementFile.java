@@ -0,0 +1,69 @@
+package model;
+
+import java.time.LocalDate;
+
+/**
+ * One bank's payroll credit file of a pay run and its running totals, as kept in disbursement_file.
+ * The control total is the sum of the credited amounts in centavos; the hash total is the sum
+ * of the account numbers, kept below HASH_MODULUS so it fits the trailer of fixed-width layouts.
+ */
+public class DisbursementFile {
+
+    // Hash totals wrap at 15 digits
+    public static final long HASH_MODULUS = 1_000_000_000_000_000L;
+
+    private final int runId;
+    private final String bankCode;
+    private final String layout;
+    private final LocalDate creditDate;
+    private final String companyName;
+    private final String fundingAccount;
+    private String fileName;
+    private int recordCount;
+    private long controlTotal;
+    private long hashTotal;
+
+    public DisbursementFile(int runId, String bankCode, String layout, LocalDate creditDate,
+                            String companyName, String fundingAccount) {
+        this.runId = runId;
+        this.bankCode = bankCode;
+        this.layout = layout;
+        this.creditDate = creditDate;
+        this.companyName = companyName;
+        this.fundingAccount = fundingAccount;
+    }
+
+    /**
+     * Adds a credit to the totals
+     * @return Sequence number of the credit in the file, starting at 1
+     */
+    public int add(DisbursementRecord record) {
+        recordCount++;
+        controlTotal += record.getAmountCentavos();
+        hashTotal = (hashTotal + record.getAccountHash()) % HASH_MODULUS;
+        return recordCount;
+    }
+
+    public double getControlTotalPesos() {
+        return controlTotal / 100.0;
+    }
+
+    public int getRunId() { return runId; }
+    public String getBankCode() { return bankCode; }
+    public String getLayout() { return layout; }
+    public LocalDate getCreditDate() { return creditDate; }
+    public String getCompanyName() { return companyName; }
+    public String getFundingAccount() { return fundingAccount; }
+    public int getRecordCount() { return recordCount; }
+    public long getControlTotal() { return controlTotal; }
+    public long getHashTotal() { return hashTotal; }
+
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+
+    @Override
+    public String toString() {
+        return String.format("DisbursementFile{run=%d, bank=%s, layout=%s, records=%d, controlTotal=%.2f, hashTotal=%d}",
+                runId, bankCode, layout, recordCount, getControlTotalPesos(), hashTotal);
+    }
+}
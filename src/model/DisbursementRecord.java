@@ -0,0 +1,54 @@
+package model;
+
+/**
+ * One net pay credit of a pay run: the employee's payroll account and the amount in centavos.
+ * Bank code and account are null for employees without an active payroll account.
+ */
+public class DisbursementRecord {
+    private final int employeeId;
+    private final String bankCode;
+    private final String accountNumber;
+    private final String accountName;
+    private final long amountCentavos;
+
+    public DisbursementRecord(int employeeId, String bankCode, String accountNumber,
+                              String accountName, long amountCentavos) {
+        this.employeeId = employeeId;
+        this.bankCode = bankCode;
+        this.accountNumber = accountNumber;
+        this.accountName = accountName;
+        this.amountCentavos = amountCentavos;
+    }
+
+    public boolean hasAccount() {
+        return bankCode != null && accountNumber != null;
+    }
+
+    /**
+     * Digits of the account number as a number, the term of the file's hash total
+     */
+    public long getAccountHash() {
+        long hash = 0;
+        if (accountNumber != null) {
+            for (int i = 0; i < accountNumber.length(); i++) {
+                char c = accountNumber.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    hash = (hash * 10 + (c - '0')) % DisbursementFile.HASH_MODULUS;
+                }
+            }
+        }
+        return hash;
+    }
+
+    public int getEmployeeId() { return employeeId; }
+    public String getBankCode() { return bankCode; }
+    public String getAccountNumber() { return accountNumber; }
+    public String getAccountName() { return accountName; }
+    public long getAmountCentavos() { return amountCentavos; }
+
+    @Override
+    public String toString() {
+        return String.format("DisbursementRecord{employee=%d, bank=%s, account=%s, amount=%d}",
+                employeeId, bankCode, accountNumber, amountCentavos);
+    }
+}
@@ -0,0 +1,88 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Model class reporting the outcome of a bulk leave approval.
+ * Conflicting requests are left pending so HR can decide them individually.
+ */
+public class LeaveApprovalResult {
+
+    /**
+     * A request that could not be approved because it overlaps another leave of the same employee
+     */
+    public static class Conflict {
+        private final LeaveRequest request;
+        private final LeaveRequest conflictingWith;
+
+        public Conflict(LeaveRequest request, LeaveRequest conflictingWith) {
+            this.request = request;
+            this.conflictingWith = conflictingWith;
+        }
+
+        public LeaveRequest getRequest() { return request; }
+        public LeaveRequest getConflictingWith() { return conflictingWith; }
+
+        public boolean isWithApprovedLeave() {
+            return LeaveRequest.STATUS_APPROVED.equals(conflictingWith.getStatus());
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Leave #%d (employee %d, %s to %s) overlaps %s leave #%d (%s to %s)",
+                    request.getLeaveId(), request.getEmployeeId(), request.getStartDate(), request.getEndDate(),
+                    isWithApprovedLeave() ? "approved" : "pending", conflictingWith.getLeaveId(),
+                    conflictingWith.getStartDate(), conflictingWith.getEndDate());
+        }
+    }
+
+    private final List<Integer> approvedIds = new ArrayList<>();
+    private final List<Integer> rejectedIds = new ArrayList<>();
+    private final List<Conflict> conflicts = new ArrayList<>();
+    private final List<Integer> skippedIds = new ArrayList<>();
+    private long elapsedMillis;
+
+    public void addApproved(int leaveId) {
+        approvedIds.add(leaveId);
+    }
+
+    public void addRejected(int leaveId) {
+        rejectedIds.add(leaveId);
+    }
+
+    public void addConflict(Conflict conflict) {
+        conflicts.add(conflict);
+    }
+
+    /**
+     * Requests that were not pending in the window, or were decided by someone else meanwhile
+     */
+    public void addSkipped(int leaveId) {
+        skippedIds.add(leaveId);
+    }
+
+    // Getters and Setters
+    public List<Integer> getApprovedIds() { return Collections.unmodifiableList(approvedIds); }
+    public List<Integer> getRejectedIds() { return Collections.unmodifiableList(rejectedIds); }
+    public List<Conflict> getConflicts() { return Collections.unmodifiableList(conflicts); }
+    public List<Integer> getSkippedIds() { return Collections.unmodifiableList(skippedIds); }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+
+    public boolean hasConflicts() {
+        return !conflicts.isEmpty();
+    }
+
+    public String getSummary() {
+        return String.format("%,d approved, %,d rejected, %,d conflicts left pending, %,d skipped (%.1fs)",
+                approvedIds.size(), rejectedIds.size(), conflicts.size(), skippedIds.size(), elapsedMillis / 1000.0);
+    }
+
+    @Override
+    public String toString() {
+        return getSummary();
+    }
+}
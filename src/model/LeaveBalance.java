@@ -0,0 +1,93 @@
+package model;
+
+import java.sql.Timestamp;
+
+/**
+ * Model class representing the balance of one leave type for one employee and year.
+ * Accrued days grow monthly towards the yearly entitlement; used days grow when a leave
+ * is approved and shrink when an approved leave is cancelled.
+ */
+public class LeaveBalance {
+
+    // Leave types with a yearly entitlement; statutory leave is not ledgered
+    public static final String[] TRACKED_TYPES = {
+        LeaveRequest.ANNUAL_LEAVE, LeaveRequest.SICK_LEAVE, LeaveRequest.EMERGENCY_LEAVE
+    };
+
+    // Ledger entry types
+    public static final String ENTRY_ACCRUAL = "Accrual";
+    public static final String ENTRY_USAGE = "Usage";
+    public static final String ENTRY_REVERSAL = "Reversal";
+    public static final String ENTRY_ADJUSTMENT = "Adjustment";
+
+    private final int employeeId;
+    private final String leaveType;
+    private final int year;
+    private final double entitled;
+    private final double accrued;
+    private final double used;
+    private final int accruedThroughMonth;
+    private final Timestamp updatedAt;
+
+    public LeaveBalance(int employeeId, String leaveType, int year, double entitled,
+                        double accrued, double used, int accruedThroughMonth, Timestamp updatedAt) {
+        this.employeeId = employeeId;
+        this.leaveType = leaveType;
+        this.year = year;
+        this.entitled = entitled;
+        this.accrued = accrued;
+        this.used = used;
+        this.accruedThroughMonth = accruedThroughMonth;
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Empty balance of an employee who has no row yet for the year
+     */
+    public static LeaveBalance empty(int employeeId, String leaveType, int year) {
+        return new LeaveBalance(employeeId, leaveType, year, 0, 0, 0, 0, null);
+    }
+
+    public static boolean isTracked(String leaveType) {
+        for (String type : TRACKED_TYPES) {
+            if (type.equalsIgnoreCase(leaveType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Days accrued by the end of a month, spreading the entitlement evenly over the year
+     */
+    public static double accruedThrough(double entitled, int month) {
+        int months = Math.max(0, Math.min(12, month));
+        return Math.round(entitled * months / 12.0 * 100.0) / 100.0;
+    }
+
+    public int getEmployeeId() { return employeeId; }
+    public String getLeaveType() { return leaveType; }
+    public int getYear() { return year; }
+    public double getEntitled() { return entitled; }
+    public double getAccrued() { return accrued; }
+    public double getUsed() { return used; }
+    public int getAccruedThroughMonth() { return accruedThroughMonth; }
+    public Timestamp getUpdatedAt() { return updatedAt; }
+
+    /**
+     * @return Days that can still be taken (negative if more was approved than accrued)
+     */
+    public double getAvailable() {
+        return Math.round((accrued - used) * 100.0) / 100.0;
+    }
+
+    public boolean canTake(double days) {
+        return days <= getAvailable();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LeaveBalance{employeeId=%d, type=%s, year=%d, accrued=%.2f, used=%.2f, available=%.2f}",
+                employeeId, leaveType, year, accrued, used, getAvailable());
+    }
+}
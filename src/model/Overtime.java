@@ -9,12 +9,16 @@ import java.util.Objects;
  * @author rejoice
  */
 public class Overtime {
+    // Most overtime that can be worked on one day
+    public static final double MAX_HOURS_PER_DAY = 12;
+
     private int overtimeId;
     private int employeeId;
     private Date date;
     private double hours;
     private String reason;
     private boolean approved;
+    private boolean rejected;
 
     // Constructors
     public Overtime() {}
@@ -92,6 +96,25 @@ public class Overtime {
         this.approved = approved;
     }
 
+    public boolean isRejected() {
+        return rejected;
+    }
+
+    public void setRejected(boolean rejected) {
+        this.rejected = rejected;
+    }
+
+    /**
+     * Overtime waiting in the approval queue
+     */
+    public boolean isPending() {
+        return !approved && !rejected;
+    }
+
+    public String getStatus() {
+        return approved ? "Approved" : rejected ? "Rejected" : "Pending";
+    }
+
     // Utility methods
     public LocalDate getDateAsLocalDate() {
         return date != null ? date.toLocalDate() : null;
@@ -111,7 +134,7 @@ public class Overtime {
     }
 
     public boolean isValidOvertimeHours() {
-        return hours > 0 && hours <= 12; // Reasonable overtime limit
+        return hours > 0 && hours <= MAX_HOURS_PER_DAY; // Reasonable overtime limit
     }
 
     public boolean hasReason() {
@@ -146,6 +169,7 @@ public class Overtime {
                 ", hours=" + getFormattedHours() +
                 ", reason='" + reason + '\'' +
                 ", approved=" + approved +
+                ", rejected=" + rejected +
                 '}';
     }
 }
@@ -0,0 +1,64 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Model class reporting the outcome of a bulk overtime approval.
+ * Flagged records exceed the daily overtime limit and are left pending for a
+ * manager to decide individually.
+ */
+public class OvertimeApprovalResult {
+    private final List<Integer> approvedIds = new ArrayList<>();
+    private final List<Integer> rejectedIds = new ArrayList<>();
+    private final List<Overtime> flagged = new ArrayList<>();
+    private final List<Integer> skippedIds = new ArrayList<>();
+    private double approvedHours;
+    private long elapsedMillis;
+
+    public void addApproved(Overtime overtime) {
+        approvedIds.add(overtime.getOvertimeId());
+        approvedHours += overtime.getHours();
+    }
+
+    public void addRejected(int overtimeId) {
+        rejectedIds.add(overtimeId);
+    }
+
+    public void addFlagged(Overtime overtime) {
+        flagged.add(overtime);
+    }
+
+    /**
+     * Records that were not pending in the window, or were decided by someone else meanwhile
+     */
+    public void addSkipped(int overtimeId) {
+        skippedIds.add(overtimeId);
+    }
+
+    // Getters and Setters
+    public List<Integer> getApprovedIds() { return Collections.unmodifiableList(approvedIds); }
+    public List<Integer> getRejectedIds() { return Collections.unmodifiableList(rejectedIds); }
+    public List<Overtime> getFlagged() { return Collections.unmodifiableList(flagged); }
+    public List<Integer> getSkippedIds() { return Collections.unmodifiableList(skippedIds); }
+    public double getApprovedHours() { return approvedHours; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+
+    public boolean hasFlagged() {
+        return !flagged.isEmpty();
+    }
+
+    public String getSummary() {
+        return String.format("%,d approved (%,.2f hrs), %,d rejected, %,d flagged left pending, %,d skipped (%.1fs)",
+                approvedIds.size(), approvedHours, rejectedIds.size(), flagged.size(), skippedIds.size(),
+                elapsedMillis / 1000.0);
+    }
+
+    @Override
+    public String toString() {
+        return getSummary();
+    }
+}
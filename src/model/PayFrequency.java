@@ -0,0 +1,44 @@
+package model;
+
+/**
+ * How often an employee is paid. Monthly amounts (salary, allowances, contributions) are
+ * split across the periods of a month; withholding tax is spread over the periods of a year.
+ */
+public enum PayFrequency {
+    MONTHLY("Monthly", 12),
+    SEMI_MONTHLY("Semi-Monthly", 24),
+    WEEKLY("Weekly", 52);
+
+    private final String dbValue;
+    private final int nominalPeriodsPerYear;
+
+    PayFrequency(String dbValue, int nominalPeriodsPerYear) {
+        this.dbValue = dbValue;
+        this.nominalPeriodsPerYear = nominalPeriodsPerYear;
+    }
+
+    public String getDbValue() {
+        return dbValue;
+    }
+
+    /**
+     * Periods in a typical year; a year can have 53 weekly periods
+     */
+    public int getNominalPeriodsPerYear() {
+        return nominalPeriodsPerYear;
+    }
+
+    public static PayFrequency fromDbValue(String value) {
+        for (PayFrequency frequency : values()) {
+            if (frequency.dbValue.equalsIgnoreCase(value) || frequency.name().equalsIgnoreCase(value)) {
+                return frequency;
+            }
+        }
+        throw new IllegalArgumentException("Unknown pay frequency: " + value);
+    }
+
+    @Override
+    public String toString() {
+        return dbValue;
+    }
+}
@@ -0,0 +1,48 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * One pay period of a pay frequency, both dates inclusive.
+ * Periods belong to the month and tax year of their end date.
+ */
+public final class PayPeriod {
+    private final PayFrequency frequency;
+    private final LocalDate start;
+    private final LocalDate end;
+
+    public PayPeriod(PayFrequency frequency, LocalDate start, LocalDate end) {
+        if (frequency == null || start == null || end == null) {
+            throw new IllegalArgumentException("Pay period needs a frequency, start and end");
+        }
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("Pay period end " + end + " is before its start " + start);
+        }
+        this.frequency = frequency;
+        this.start = start;
+        this.end = end;
+    }
+
+    public PayFrequency getFrequency() { return frequency; }
+    public LocalDate getStart() { return start; }
+    public LocalDate getEnd() { return end; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PayPeriod)) return false;
+        PayPeriod other = (PayPeriod) o;
+        return frequency == other.frequency && start.equals(other.start) && end.equals(other.end);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(frequency, start, end);
+    }
+
+    @Override
+    public String toString() {
+        return frequency + " " + start + " to " + end;
+    }
+}
@@ -0,0 +1,167 @@
+package model;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+/**
+ * Model class representing a pay run for a single pay period.
+ * A pay run moves through DRAFT -> REVIEWED -> APPROVED -> LOCKED; once approved,
+ * its payroll snapshot is frozen and reports read it instead of recalculating.
+ */
+public class PayRun {
+
+    /**
+     * Lifecycle states of a pay run
+     */
+    public enum Status {
+        DRAFT("Draft"),
+        REVIEWED("Reviewed"),
+        APPROVED("Approved"),
+        LOCKED("Locked");
+
+        private final String dbValue;
+
+        Status(String dbValue) {
+            this.dbValue = dbValue;
+        }
+
+        public String getDbValue() {
+            return dbValue;
+        }
+
+        /**
+         * Snapshot rows of a run in this state can no longer change
+         */
+        public boolean isClosed() {
+            return this == APPROVED || this == LOCKED;
+        }
+
+        public boolean canTransitionTo(Status next) {
+            switch (this) {
+                case DRAFT:
+                    return next == REVIEWED;
+                case REVIEWED:
+                    return next == APPROVED || next == DRAFT;
+                case APPROVED:
+                    return next == LOCKED;
+                default:
+                    return false;
+            }
+        }
+
+        public static Status fromDbValue(String value) {
+            for (Status status : values()) {
+                if (status.dbValue.equalsIgnoreCase(value)) {
+                    return status;
+                }
+            }
+            throw new IllegalArgumentException("Unknown pay run status: " + value);
+        }
+
+        @Override
+        public String toString() {
+            return dbValue;
+        }
+    }
+
+    private int runId;
+    private Date periodStart;
+    private Date periodEnd;
+    private Status status;
+    private int employeeCount;
+    private double totalGrossPay;
+    private double totalDeductions;
+    private double totalNetPay;
+    private String createdBy;
+    private String reviewedBy;
+    private String approvedBy;
+    private String lockedBy;
+    private Timestamp createdAt;
+    private Timestamp approvedAt;
+
+    // Constructors
+    public PayRun() {
+        this.status = Status.DRAFT;
+    }
+
+    public PayRun(LocalDate periodStart, LocalDate periodEnd, String createdBy) {
+        this();
+        if (periodStart == null || periodEnd == null) {
+            throw new IllegalArgumentException("Period dates cannot be null");
+        }
+        if (periodEnd.isBefore(periodStart)) {
+            throw new IllegalArgumentException("Period end cannot be before period start");
+        }
+        this.periodStart = Date.valueOf(periodStart);
+        this.periodEnd = Date.valueOf(periodEnd);
+        this.createdBy = createdBy;
+    }
+
+    // Getters and Setters
+    public int getRunId() { return runId; }
+    public void setRunId(int runId) { this.runId = runId; }
+
+    public Date getPeriodStart() { return periodStart; }
+    public void setPeriodStart(Date periodStart) { this.periodStart = periodStart; }
+
+    public Date getPeriodEnd() { return periodEnd; }
+    public void setPeriodEnd(Date periodEnd) { this.periodEnd = periodEnd; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public int getEmployeeCount() { return employeeCount; }
+    public void setEmployeeCount(int employeeCount) { this.employeeCount = employeeCount; }
+
+    public double getTotalGrossPay() { return totalGrossPay; }
+    public void setTotalGrossPay(double totalGrossPay) { this.totalGrossPay = totalGrossPay; }
+
+    public double getTotalDeductions() { return totalDeductions; }
+    public void setTotalDeductions(double totalDeductions) { this.totalDeductions = totalDeductions; }
+
+    public double getTotalNetPay() { return totalNetPay; }
+    public void setTotalNetPay(double totalNetPay) { this.totalNetPay = totalNetPay; }
+
+    public String getCreatedBy() { return createdBy; }
+    public void setCreatedBy(String createdBy) { this.createdBy = createdBy; }
+
+    public String getReviewedBy() { return reviewedBy; }
+    public void setReviewedBy(String reviewedBy) { this.reviewedBy = reviewedBy; }
+
+    public String getApprovedBy() { return approvedBy; }
+    public void setApprovedBy(String approvedBy) { this.approvedBy = approvedBy; }
+
+    public String getLockedBy() { return lockedBy; }
+    public void setLockedBy(String lockedBy) { this.lockedBy = lockedBy; }
+
+    public Timestamp getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Timestamp createdAt) { this.createdAt = createdAt; }
+
+    public Timestamp getApprovedAt() { return approvedAt; }
+    public void setApprovedAt(Timestamp approvedAt) { this.approvedAt = approvedAt; }
+
+    // Utility methods
+    public LocalDate getPeriodStartAsLocalDate() {
+        return periodStart != null ? periodStart.toLocalDate() : null;
+    }
+
+    public LocalDate getPeriodEndAsLocalDate() {
+        return periodEnd != null ? periodEnd.toLocalDate() : null;
+    }
+
+    public boolean isClosed() {
+        return status != null && status.isClosed();
+    }
+
+    @Override
+    public String toString() {
+        return "PayRun{" +
+                "runId=" + runId +
+                ", period=" + periodStart + " to " + periodEnd +
+                ", status=" + status +
+                ", employees=" + employeeCount +
+                ", totalNetPay=" + totalNetPay +
+                '}';
+    }
+}
@@ -0,0 +1,69 @@
+package model;
+
+/**
+ * A range of consecutive employee IDs of a draft pay run, calculated by whichever worker
+ * claims it. The claim is identified by the worker and its attempt number; a worker may only
+ * store or release a partition while both still match.
+ */
+public class PayRunPartition {
+
+    public enum Status {
+        PENDING("Pending"),
+        RUNNING("Running"),
+        DONE("Done"),
+        FAILED("Failed");
+
+        private final String dbValue;
+
+        Status(String dbValue) {
+            this.dbValue = dbValue;
+        }
+
+        public String getDbValue() {
+            return dbValue;
+        }
+
+        public static Status fromDbValue(String value) {
+            for (Status status : values()) {
+                if (status.dbValue.equalsIgnoreCase(value)) {
+                    return status;
+                }
+            }
+            throw new IllegalArgumentException("Unknown partition status: " + value);
+        }
+    }
+
+    private final int runId;
+    private final int partitionNo;
+    private final int firstEmployeeId;
+    private final int lastEmployeeId;
+    private final String claimedBy;
+    private final int attempt;
+
+    public PayRunPartition(int runId, int partitionNo, int firstEmployeeId, int lastEmployeeId,
+                           String claimedBy, int attempt) {
+        this.runId = runId;
+        this.partitionNo = partitionNo;
+        this.firstEmployeeId = firstEmployeeId;
+        this.lastEmployeeId = lastEmployeeId;
+        this.claimedBy = claimedBy;
+        this.attempt = attempt;
+    }
+
+    public boolean contains(int employeeId) {
+        return employeeId >= firstEmployeeId && employeeId <= lastEmployeeId;
+    }
+
+    public int getRunId() { return runId; }
+    public int getPartitionNo() { return partitionNo; }
+    public int getFirstEmployeeId() { return firstEmployeeId; }
+    public int getLastEmployeeId() { return lastEmployeeId; }
+    public String getClaimedBy() { return claimedBy; }
+    public int getAttempt() { return attempt; }
+
+    @Override
+    public String toString() {
+        return String.format("PayRunPartition{run=%d, no=%d, employees=%d-%d, attempt=%d}",
+                runId, partitionNo, firstEmployeeId, lastEmployeeId, attempt);
+    }
+}
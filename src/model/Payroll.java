@@ -30,6 +30,8 @@ public class Payroll {
     private double riceSubsidy;
     private double phoneAllowance;
     private double clothingAllowance;
+    private double otherAllowances;
+    private double taxableAllowances;
     private double sss;
     private double philhealth;
     private double pagibig;
@@ -244,6 +246,34 @@ public class Payroll {
         this.clothingAllowance = clothingAllowance;
     }
 
+    /**
+     * Allowance types other than rice, phone and clothing
+     */
+    public double getOtherAllowances() {
+        return otherAllowances;
+    }
+
+    public void setOtherAllowances(double otherAllowances) {
+        if (otherAllowances < 0) {
+            throw new IllegalArgumentException("Other allowances cannot be negative");
+        }
+        this.otherAllowances = otherAllowances;
+    }
+
+    /**
+     * Part of all allowances that is subject to income tax
+     */
+    public double getTaxableAllowances() {
+        return taxableAllowances;
+    }
+
+    public void setTaxableAllowances(double taxableAllowances) {
+        if (taxableAllowances < 0) {
+            throw new IllegalArgumentException("Taxable allowances cannot be negative");
+        }
+        this.taxableAllowances = taxableAllowances;
+    }
+
     // Deduction component getters and setters
     public double getLateDeduction() {
         return lateDeduction;
@@ -368,7 +398,7 @@ public class Payroll {
 
     public void calculateGrossPay() {
         // Calculate gross pay as sum of all earnings
-        this.grossPay = grossEarnings + overtimePay + riceSubsidy + phoneAllowance + clothingAllowance;
+        this.grossPay = grossEarnings + overtimePay + riceSubsidy + phoneAllowance + clothingAllowance + otherAllowances;
     }
 
     public void calculateTotalDeductions() {
@@ -384,7 +414,14 @@ public class Payroll {
 
     // Utility methods for payroll processing
     public double getTotalEarnings() {
-        return grossEarnings + overtimePay + riceSubsidy + phoneAllowance + clothingAllowance;
+        return grossEarnings + overtimePay + riceSubsidy + phoneAllowance + clothingAllowance + otherAllowances;
+    }
+
+    /**
+     * Income subject to withholding: earned basic pay, overtime and taxable allowances
+     */
+    public double getTaxableGross() {
+        return grossEarnings - lateDeduction - undertimeDeduction - unpaidLeaveDeduction + overtimePay + taxableAllowances;
     }
 
     public double getTotalGovernmentContributions() {
@@ -429,7 +466,7 @@ public class Payroll {
                 "\n  dailyRate=" + dailyRate +
                 "\n  grossEarnings=" + grossEarnings +
                 "\n  overtimePay=" + overtimePay +
-                "\n  allowances=" + (riceSubsidy + phoneAllowance + clothingAllowance) +
+                "\n  allowances=" + (riceSubsidy + phoneAllowance + clothingAllowance + otherAllowances) +
                 "\n  grossPay=" + grossPay +
                 "\n  deductions=" + totalDeductions +
                 "\n  netPay=" + netPay +
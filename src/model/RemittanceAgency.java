@@ -0,0 +1,44 @@
+package model;
+
+import java.util.regex.Pattern;
+
+/**
+ * Government agencies payroll remits to, with the format of the ID each one keys employees by.
+ * Patterns follow government_id_types.id_format_pattern; dashes are optional.
+ */
+public enum RemittanceAgency {
+    SSS("SSS", "SSS number", "\\d{2}-?\\d{7}-?\\d"),
+    PHILHEALTH("PhilHealth", "PhilHealth number", "\\d{2}-?\\d{9}-?\\d"),
+    PAGIBIG("Pag-IBIG", "Pag-IBIG MID number", "\\d{4}-?\\d{4}-?\\d{4}"),
+    BIR("BIR", "TIN", "\\d{3}-?\\d{3}-?\\d{3}(-?\\d{3,5})?");
+
+    private final String dbValue;
+    private final String idLabel;
+    private final Pattern idPattern;
+
+    RemittanceAgency(String dbValue, String idLabel, String idPattern) {
+        this.dbValue = dbValue;
+        this.idLabel = idLabel;
+        this.idPattern = Pattern.compile(idPattern);
+    }
+
+    public String getDbValue() {
+        return dbValue;
+    }
+
+    public String getIdLabel() {
+        return idLabel;
+    }
+
+    /**
+     * @return true if the ID is present and in the agency's format
+     */
+    public boolean isValidId(String id) {
+        return id != null && idPattern.matcher(id.trim()).matches();
+    }
+
+    @Override
+    public String toString() {
+        return dbValue;
+    }
+}
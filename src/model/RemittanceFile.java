@@ -0,0 +1,70 @@
+package model;
+
+import java.time.LocalDate;
+
+/**
+ * One agency's remittance file for a period and its running totals, as kept in remittance_file.
+ * Lines whose agency ID is missing or malformed are counted as rejected and left out of the file.
+ */
+public class RemittanceFile {
+    private final RemittanceAgency agency;
+    private final LocalDate periodStart;
+    private final LocalDate periodEnd;
+    private final String employerId;
+    private final String employerName;
+    private String fileName;
+    private int recordCount;
+    private int rejectedCount;
+    private long employeeShare;
+    private long employerShare;
+    private long compensation;
+
+    public RemittanceFile(RemittanceAgency agency, LocalDate periodStart, LocalDate periodEnd,
+                          String employerId, String employerName) {
+        this.agency = agency;
+        this.periodStart = periodStart;
+        this.periodEnd = periodEnd;
+        this.employerId = employerId;
+        this.employerName = employerName;
+    }
+
+    /**
+     * Adds a line to the totals
+     * @return Sequence number of the line in the file, starting at 1
+     */
+    public int add(long employeeShare, long employerShare, long compensation) {
+        recordCount++;
+        this.employeeShare += employeeShare;
+        this.employerShare += employerShare;
+        this.compensation += compensation;
+        return recordCount;
+    }
+
+    public void reject() {
+        rejectedCount++;
+    }
+
+    public long getTotal() {
+        return employeeShare + employerShare;
+    }
+
+    public RemittanceAgency getAgency() { return agency; }
+    public LocalDate getPeriodStart() { return periodStart; }
+    public LocalDate getPeriodEnd() { return periodEnd; }
+    public String getEmployerId() { return employerId; }
+    public String getEmployerName() { return employerName; }
+    public int getRecordCount() { return recordCount; }
+    public int getRejectedCount() { return rejectedCount; }
+    public long getEmployeeShare() { return employeeShare; }
+    public long getEmployerShare() { return employerShare; }
+    public long getCompensation() { return compensation; }
+
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+
+    @Override
+    public String toString() {
+        return String.format("RemittanceFile{agency=%s, period=%s..%s, records=%d, rejected=%d, employee=%d, employer=%d}",
+                agency, periodStart, periodEnd, recordCount, rejectedCount, employeeShare, employerShare);
+    }
+}
@@ -0,0 +1,96 @@
+package model;
+
+import java.time.LocalDate;
+
+/**
+ * One employee's contributions and withholding for a remittance period, summed over the
+ * approved pay periods ending in it. Amounts are in centavos so file totals add up exactly.
+ * Taxable compensation is net of the employee's contributions.
+ */
+public class RemittanceLine {
+    private final int employeeId;
+    private final String lastName;
+    private final String firstName;
+    private final LocalDate birthday;
+    private final String sssNumber;
+    private final String philhealthNumber;
+    private final String pagibigNumber;
+    private final String tin;
+    private final int periods;
+    private final long monthlyRate;
+    private final long grossCompensation;
+    private final long taxableCompensation;
+    private final long sss;
+    private final long philhealth;
+    private final long pagibig;
+    private final long tax;
+
+    public RemittanceLine(int employeeId, String lastName, String firstName, LocalDate birthday,
+                          String sssNumber, String philhealthNumber, String pagibigNumber, String tin,
+                          int periods, long monthlyRate, long grossCompensation, long taxableCompensation,
+                          long sss, long philhealth, long pagibig, long tax) {
+        this.employeeId = employeeId;
+        this.lastName = lastName;
+        this.firstName = firstName;
+        this.birthday = birthday;
+        this.sssNumber = sssNumber;
+        this.philhealthNumber = philhealthNumber;
+        this.pagibigNumber = pagibigNumber;
+        this.tin = tin;
+        this.periods = periods;
+        this.monthlyRate = monthlyRate;
+        this.grossCompensation = grossCompensation;
+        this.taxableCompensation = taxableCompensation;
+        this.sss = sss;
+        this.philhealth = philhealth;
+        this.pagibig = pagibig;
+        this.tax = tax;
+    }
+
+    /**
+     * The employee's ID with the given agency
+     */
+    public String getAgencyId(RemittanceAgency agency) {
+        switch (agency) {
+            case SSS: return sssNumber;
+            case PHILHEALTH: return philhealthNumber;
+            case PAGIBIG: return pagibigNumber;
+            default: return tin;
+        }
+    }
+
+    /**
+     * Employee share withheld for the agency; for BIR, the tax withheld
+     */
+    public long getEmployeeShare(RemittanceAgency agency) {
+        switch (agency) {
+            case SSS: return sss;
+            case PHILHEALTH: return philhealth;
+            case PAGIBIG: return pagibig;
+            default: return tax;
+        }
+    }
+
+    /**
+     * Compensation not subject to tax: de minimis allowances and the mandatory contributions
+     */
+    public long getNonTaxableCompensation() {
+        return Math.max(0L, grossCompensation - taxableCompensation);
+    }
+
+    public int getEmployeeId() { return employeeId; }
+    public String getLastName() { return lastName; }
+    public String getFirstName() { return firstName; }
+    public LocalDate getBirthday() { return birthday; }
+    public int getPeriods() { return periods; }
+    public long getMonthlyRate() { return monthlyRate; }
+    public long getGrossCompensation() { return grossCompensation; }
+    public long getTaxableCompensation() { return taxableCompensation; }
+    public long getTax() { return tax; }
+
+    @Override
+    public String toString() {
+        return String.format("RemittanceLine{employee=%d, periods=%d, sss=%d, philhealth=%d, pagibig=%d, tax=%d}",
+                employeeId, periods, sss, philhealth, pagibig, tax);
+    }
+}
@@ -0,0 +1,40 @@
+package model;
+
+import java.time.LocalDate;
+
+/**
+ * An allowance row from employee_allowances with its effective window.
+ * Unlike the fixed allowance types, the type name, amount and taxability come from the
+ * database, so new allowance types need no new class.
+ */
+public class ScheduledAllowance extends Allowance {
+    private LocalDate expiryDate;
+
+    public ScheduledAllowance(int employeeId, String type, double amount, boolean isTaxable,
+                              LocalDate effectiveDate, LocalDate expiryDate) {
+        super(employeeId, type, amount, isTaxable);
+        setEffectiveDate(effectiveDate);
+        this.expiryDate = expiryDate;
+    }
+
+    @Override
+    public void calculateAllowance() {
+        // The stored amount is the amount paid
+    }
+
+    @Override
+    public boolean isEligible(Object employee) {
+        return employee instanceof Employee && ((Employee) employee).getEmployeeId() == employeeId;
+    }
+
+    /**
+     * @return true if the allowance is in effect on the given date
+     */
+    public boolean isInEffect(LocalDate date) {
+        return (effectiveDate == null || !effectiveDate.isAfter(date))
+                && (expiryDate == null || !expiryDate.isBefore(date));
+    }
+
+    public LocalDate getExpiryDate() { return expiryDate; }
+    public void setExpiryDate(LocalDate expiryDate) { this.expiryDate = expiryDate; }
+}
@@ -0,0 +1,79 @@
+package model;
+
+import java.time.LocalDate;
+
+/**
+ * One employee's year-to-date tax accumulators, as kept in payroll_ytd.
+ * Taxable gross is earned basic pay, overtime and taxable allowances; contributions are the
+ * employee's SSS, PhilHealth and Pag-IBIG shares.
+ */
+public class TaxYearToDate {
+    private int employeeId;
+    private int year;
+    private int periods;
+    private double taxableGross;
+    private double contributions;
+    private double taxWithheld;
+    private LocalDate lastPeriodEnd;
+
+    public TaxYearToDate() {}
+
+    public TaxYearToDate(int employeeId, int year, int periods, double taxableGross,
+                         double contributions, double taxWithheld, LocalDate lastPeriodEnd) {
+        this.employeeId = employeeId;
+        this.year = year;
+        this.periods = periods;
+        this.taxableGross = taxableGross;
+        this.contributions = contributions;
+        this.taxWithheld = taxWithheld;
+        this.lastPeriodEnd = lastPeriodEnd;
+    }
+
+    /**
+     * Accumulators of an employee with no approved period in the year yet
+     */
+    public static TaxYearToDate empty(int employeeId, int year) {
+        return new TaxYearToDate(employeeId, year, 0, 0.0, 0.0, 0.0, null);
+    }
+
+    /**
+     * Net taxable income so far: taxable gross less contributions
+     */
+    public double getNetTaxable() {
+        return taxableGross - contributions;
+    }
+
+    /**
+     * @return true if a period starting on the given date is already counted
+     */
+    public boolean includesPeriod(LocalDate periodStart) {
+        return lastPeriodEnd != null && !lastPeriodEnd.isBefore(periodStart);
+    }
+
+    public int getEmployeeId() { return employeeId; }
+    public void setEmployeeId(int employeeId) { this.employeeId = employeeId; }
+
+    public int getYear() { return year; }
+    public void setYear(int year) { this.year = year; }
+
+    public int getPeriods() { return periods; }
+    public void setPeriods(int periods) { this.periods = periods; }
+
+    public double getTaxableGross() { return taxableGross; }
+    public void setTaxableGross(double taxableGross) { this.taxableGross = taxableGross; }
+
+    public double getContributions() { return contributions; }
+    public void setContributions(double contributions) { this.contributions = contributions; }
+
+    public double getTaxWithheld() { return taxWithheld; }
+    public void setTaxWithheld(double taxWithheld) { this.taxWithheld = taxWithheld; }
+
+    public LocalDate getLastPeriodEnd() { return lastPeriodEnd; }
+    public void setLastPeriodEnd(LocalDate lastPeriodEnd) { this.lastPeriodEnd = lastPeriodEnd; }
+
+    @Override
+    public String toString() {
+        return String.format("TaxYearToDate{employee=%d, year=%d, periods=%d, taxableGross=%.2f, contributions=%.2f, taxWithheld=%.2f}",
+                employeeId, year, periods, taxableGross, contributions, taxWithheld);
+    }
+}
@@ -0,0 +1,82 @@
+package model;
+
+/**
+ * Model class for an authenticated login session.
+ * Holds the employee and the role resolved at login so authorization checks are memory lookups.
+ */
+public class UserSession {
+
+    private final String token;
+    private final Employee employee;
+    private final UserRole role;
+    private final String dashboardType;
+    private final long createdAt;
+    private volatile long lastAccessedAt;
+
+    public UserSession(String token, Employee employee, UserRole role, String dashboardType, long createdAt) {
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("Session token cannot be empty");
+        }
+        if (employee == null) {
+            throw new IllegalArgumentException("Session employee cannot be null");
+        }
+        if (role == null) {
+            throw new IllegalArgumentException("Session role cannot be null");
+        }
+        this.token = token;
+        this.employee = employee;
+        this.role = role;
+        this.dashboardType = dashboardType;
+        this.createdAt = createdAt;
+        this.lastAccessedAt = createdAt;
+    }
+
+    // Getters
+    public String getToken() { return token; }
+    public Employee getEmployee() { return employee; }
+    public int getEmployeeId() { return employee.getEmployeeId(); }
+    public UserRole getRole() { return role; }
+    public String getDashboardType() { return dashboardType; }
+    public long getCreatedAt() { return createdAt; }
+    public long getLastAccessedAt() { return lastAccessedAt; }
+
+    public void touch(long now) {
+        lastAccessedAt = now;
+    }
+
+    public boolean isExpired(long now, long idleTimeoutMillis) {
+        return now - lastAccessedAt > idleTimeoutMillis;
+    }
+
+    /**
+     * Checks a dashboard feature against the cached role
+     */
+    public boolean canAccessFeature(String feature) {
+        switch (feature.toLowerCase()) {
+            case "payroll_processing":
+                return role.canAccessPayroll();
+            case "employee_management":
+                return role.canManageEmployees();
+            case "hr_functions":
+                return role.canAccessHR();
+            case "financial_reports":
+                return role.canAccessFinancialData();
+            case "system_settings":
+                return role.canAccessSystemSettings();
+            case "leave_approval":
+                return role.canApproveLeave();
+            case "reports":
+                return role.canAccessReports();
+            default:
+                return true; // Basic features accessible to all
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "UserSession{" +
+                "employeeId=" + employee.getEmployeeId() +
+                ", role=" + role +
+                '}';
+    }
+}
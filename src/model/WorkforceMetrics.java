@@ -0,0 +1,56 @@
+package model;
+
+import java.time.LocalDate;
+
+/**
+ * Point-in-time values of the dashboard metric cards.
+ * Attendance and lateness are for one day; payroll totals are those of the latest approved pay run.
+ */
+public class WorkforceMetrics {
+    private final LocalDate asOf;
+    private final int headcount;
+    private final int newHires;
+    private final int presentToday;
+    private final int lateToday;
+    private final int pendingLeaves;
+    private final LocalDate payrollPeriodEnd;
+    private final double payrollGross;
+    private final double payrollNet;
+
+    public WorkforceMetrics(LocalDate asOf, int headcount, int newHires, int presentToday, int lateToday,
+                            int pendingLeaves, LocalDate payrollPeriodEnd, double payrollGross, double payrollNet) {
+        this.asOf = asOf;
+        this.headcount = headcount;
+        this.newHires = newHires;
+        this.presentToday = presentToday;
+        this.lateToday = lateToday;
+        this.pendingLeaves = pendingLeaves;
+        this.payrollPeriodEnd = payrollPeriodEnd;
+        this.payrollGross = payrollGross;
+        this.payrollNet = payrollNet;
+    }
+
+    /**
+     * Share of the headcount with attendance on the day, in percent
+     */
+    public double getAttendanceRate() {
+        return headcount == 0 ? 0.0 : Math.min(100.0, presentToday * 100.0 / headcount);
+    }
+
+    public LocalDate getAsOf() { return asOf; }
+    public int getHeadcount() { return headcount; }
+    public int getNewHires() { return newHires; }
+    public int getPresentToday() { return presentToday; }
+    public int getLateToday() { return lateToday; }
+    public int getPendingLeaves() { return pendingLeaves; }
+    /** End of the latest approved pay period, or null if none is approved yet */
+    public LocalDate getPayrollPeriodEnd() { return payrollPeriodEnd; }
+    public double getPayrollGross() { return payrollGross; }
+    public double getPayrollNet() { return payrollNet; }
+
+    @Override
+    public String toString() {
+        return String.format("WorkforceMetrics{asOf=%s, headcount=%d, newHires=%d, present=%d, late=%d, pendingLeaves=%d}",
+                asOf, headcount, newHires, presentToday, lateToday, pendingLeaves);
+    }
+}
@@ -0,0 +1,226 @@
+package service;
+
+import model.ScheduledAllowance;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Effective-dated allowances of a pay period.
+ * The allowances in effect during the period are loaded once and packed per employee into
+ * parallel arrays ordered by type and effective date. Resolving an employee finds, for each
+ * type, the latest allowance that took effect on or before the date by binary search and keeps
+ * it if it has not expired. Types are whatever employee_allowances holds, so a new type needs
+ * no code change; the three standard types map onto the payroll fields and the rest are
+ * reported as other allowances.
+ */
+public final class AllowanceEngine {
+    public static final String RICE_SUBSIDY = "Rice Subsidy";
+    public static final String PHONE_ALLOWANCE = "Phone Allowance";
+    public static final String CLOTHING_ALLOWANCE = "Clothing Allowance";
+
+    private static final long OPEN_START = Long.MIN_VALUE;
+    private static final long OPEN_END = Long.MAX_VALUE;
+
+    private final LocalDate periodStart;
+    private final LocalDate periodEnd;
+    private final String[] typeNames;
+    private final Map<String, Integer> typeIndex;
+    private final Map<Integer, Schedule> schedules;
+
+    /**
+     * One employee's allowances, sorted by type index then effective day
+     */
+    private static final class Schedule {
+        private final int[] type;
+        private final long[] effectiveDay;
+        private final long[] expiryDay;
+        private final double[] amount;
+        private final boolean[] taxable;
+
+        Schedule(int size) {
+            type = new int[size];
+            effectiveDay = new long[size];
+            expiryDay = new long[size];
+            amount = new double[size];
+            taxable = new boolean[size];
+        }
+    }
+
+    private AllowanceEngine(LocalDate periodStart, LocalDate periodEnd, String[] typeNames,
+                            Map<String, Integer> typeIndex, Map<Integer, Schedule> schedules) {
+        this.periodStart = periodStart;
+        this.periodEnd = periodEnd;
+        this.typeNames = typeNames;
+        this.typeIndex = typeIndex;
+        this.schedules = schedules;
+    }
+
+    /**
+     * Packs the allowances loaded for a period
+     * @param allowances Allowances in effect on any day of the period, in any order
+     */
+    public static AllowanceEngine build(LocalDate periodStart, LocalDate periodEnd, List<ScheduledAllowance> allowances) {
+        Map<String, Integer> typeIndex = new LinkedHashMap<>();
+        Map<Integer, List<ScheduledAllowance>> byEmployee = new HashMap<>();
+        for (ScheduledAllowance allowance : allowances) {
+            typeIndex.putIfAbsent(allowance.getType(), typeIndex.size());
+            byEmployee.computeIfAbsent(allowance.getEmployeeId(), id -> new ArrayList<>()).add(allowance);
+        }
+
+        Map<Integer, Schedule> schedules = new HashMap<>(byEmployee.size() * 2);
+        for (Map.Entry<Integer, List<ScheduledAllowance>> entry : byEmployee.entrySet()) {
+            List<ScheduledAllowance> rows = entry.getValue();
+            rows.sort((a, b) -> {
+                int byType = Integer.compare(typeIndex.get(a.getType()), typeIndex.get(b.getType()));
+                return byType != 0 ? byType : Long.compare(toDay(a.getEffectiveDate(), OPEN_START), toDay(b.getEffectiveDate(), OPEN_START));
+            });
+
+            Schedule schedule = new Schedule(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                ScheduledAllowance row = rows.get(i);
+                schedule.type[i] = typeIndex.get(row.getType());
+                schedule.effectiveDay[i] = toDay(row.getEffectiveDate(), OPEN_START);
+                schedule.expiryDay[i] = toDay(row.getExpiryDate(), OPEN_END);
+                schedule.amount[i] = row.getAmount();
+                schedule.taxable[i] = row.isTaxable();
+            }
+            schedules.put(entry.getKey(), schedule);
+        }
+
+        return new AllowanceEngine(periodStart, periodEnd, typeIndex.keySet().toArray(new String[0]), typeIndex, schedules);
+    }
+
+    public boolean covers(LocalDate start, LocalDate end) {
+        return periodStart.equals(start) && periodEnd.equals(end);
+    }
+
+    public int getEmployeeCount() {
+        return schedules.size();
+    }
+
+    /**
+     * @return true if the employee has an allowance in effect on any day of the period
+     */
+    public boolean hasAllowancesInPeriod(int employeeId) {
+        Schedule schedule = schedules.get(employeeId);
+        if (schedule == null) {
+            return false;
+        }
+        long first = periodStart.toEpochDay();
+        long last = periodEnd.toEpochDay();
+        for (int i = 0; i < schedule.type.length; i++) {
+            if (schedule.effectiveDay[i] <= last && schedule.expiryDay[i] >= first) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Allowances of an employee in effect on the last day of the period
+     */
+    public Resolved resolve(int employeeId) {
+        return resolve(employeeId, periodEnd);
+    }
+
+    /**
+     * Allowances of an employee in effect on a date
+     * @return Amounts by type; all zero if the employee has no allowance
+     */
+    public Resolved resolve(int employeeId, LocalDate asOf) {
+        double[] amounts = new double[typeNames.length];
+        double taxableTotal = 0.0;
+        double nonTaxableTotal = 0.0;
+
+        Schedule schedule = schedules.get(employeeId);
+        if (schedule != null) {
+            long day = asOf.toEpochDay();
+            int size = schedule.type.length;
+            int runStart = 0;
+            while (runStart < size) {
+                int runEnd = runStart;
+                while (runEnd < size && schedule.type[runEnd] == schedule.type[runStart]) {
+                    runEnd++;
+                }
+
+                int found = lastEffectiveOnOrBefore(schedule.effectiveDay, runStart, runEnd, day);
+                if (found >= 0 && schedule.expiryDay[found] >= day) {
+                    amounts[schedule.type[found]] += schedule.amount[found];
+                    if (schedule.taxable[found]) {
+                        taxableTotal += schedule.amount[found];
+                    } else {
+                        nonTaxableTotal += schedule.amount[found];
+                    }
+                }
+                runStart = runEnd;
+            }
+        }
+        return new Resolved(amounts, taxableTotal, nonTaxableTotal);
+    }
+
+    private static int lastEffectiveOnOrBefore(long[] effectiveDays, int from, int to, long day) {
+        int low = from;
+        int high = to - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (effectiveDays[mid] <= day) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private static boolean isStandardType(String type) {
+        return RICE_SUBSIDY.equals(type) || PHONE_ALLOWANCE.equals(type) || CLOTHING_ALLOWANCE.equals(type);
+    }
+
+    private static long toDay(LocalDate date, long open) {
+        return date != null ? date.toEpochDay() : open;
+    }
+
+    /**
+     * Resolved allowances of one employee, with taxable and non-taxable totals
+     */
+    public final class Resolved {
+        private final double[] amounts;
+        private final double taxableTotal;
+        private final double nonTaxableTotal;
+
+        private Resolved(double[] amounts, double taxableTotal, double nonTaxableTotal) {
+            this.amounts = amounts;
+            this.taxableTotal = taxableTotal;
+            this.nonTaxableTotal = nonTaxableTotal;
+        }
+
+        public double getAmount(String type) {
+            Integer index = typeIndex.get(type);
+            return index != null ? amounts[index] : 0.0;
+        }
+
+        public double getTaxableTotal() { return taxableTotal; }
+        public double getNonTaxableTotal() { return nonTaxableTotal; }
+        public double getTotal() { return taxableTotal + nonTaxableTotal; }
+
+        /**
+         * Total of the types beyond rice, phone and clothing
+         */
+        public double getOtherTotal() {
+            double other = 0.0;
+            for (int i = 0; i < amounts.length; i++) {
+                if (!isStandardType(typeNames[i])) {
+                    other += amounts[i];
+                }
+            }
+            return other;
+        }
+    }
+}
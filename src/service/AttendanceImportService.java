@@ -0,0 +1,254 @@
+package service;
+
+import dao.AttendanceDAO;
+import dao.EmployeeDAO;
+import model.Attendance;
+import model.AttendanceImportResult;
+import model.AuditEvent;
+import util.AuditTrail;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.logging.Logger;
+
+/**
+ * Bulk importer for biometric clock exports.
+ * The file is streamed line by line, validated against an in-memory set of employee IDs,
+ * de-duplicated on (employee, date) within the file, and written with batched upserts,
+ * replacing the three round-trips per punch of AttendanceDAO.insertAttendance.
+ *
+ * Supported layouts:
+ * <ul>
+ *   <li>CSV: employee_id,date,log_in,log_out (optional header row, '#' comments)</li>
+ *   <li>Fixed width: employee ID in columns 1-6, date 7-16, log in 17-24, log out 25-32</li>
+ * </ul>
+ * Dates may be yyyy-MM-dd or MM/dd/yyyy; times HH:mm or HH:mm:ss.
+ */
+public class AttendanceImportService {
+    private static final Logger LOGGER = Logger.getLogger(AttendanceImportService.class.getName());
+
+    public static final int BATCH_SIZE = 1000;
+
+    public enum Format {
+        CSV,
+        FIXED_WIDTH;
+
+        /**
+         * Picks the layout from the file extension (.txt, .dat and .prn are fixed width)
+         */
+        public static Format fromFileName(String fileName) {
+            String lower = fileName.toLowerCase();
+            if (lower.endsWith(".txt") || lower.endsWith(".dat") || lower.endsWith(".prn")) {
+                return FIXED_WIDTH;
+            }
+            return CSV;
+        }
+    }
+
+    // Fixed-width column boundaries (start inclusive, end exclusive)
+    private static final int[] FIXED_EMPLOYEE_ID = {0, 6};
+    private static final int[] FIXED_DATE = {6, 16};
+    private static final int[] FIXED_LOG_IN = {16, 24};
+    private static final int[] FIXED_LOG_OUT = {24, 32};
+
+    private static final DateTimeFormatter US_DATE = DateTimeFormatter.ofPattern("M/d/yyyy");
+
+    private final Supplier<Set<Integer>> employeeIdLoader;
+    private final ToIntFunction<List<Attendance>> batchWriter;
+
+    public AttendanceImportService() {
+        this(new EmployeeDAO()::getAllEmployeeIds, new AttendanceDAO()::upsertAttendanceBatch);
+    }
+
+    public AttendanceImportService(Supplier<Set<Integer>> employeeIdLoader,
+                                   ToIntFunction<List<Attendance>> batchWriter) {
+        this.employeeIdLoader = employeeIdLoader;
+        this.batchWriter = batchWriter;
+    }
+
+    /**
+     * Imports a biometric export file
+     * @param file CSV or fixed-width file
+     * @param format Layout of the file
+     * @return Counts and rejected rows
+     */
+    public AttendanceImportResult importFile(Path file, Format format) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            AttendanceImportResult result = importFrom(reader, file.getFileName().toString(), format);
+            AuditTrail.getInstance().record(AuditEvent.ACTION_IMPORT, AuditEvent.ENTITY_ATTENDANCE,
+                    file.getFileName(), result.getSummary());
+            return result;
+        }
+    }
+
+    /**
+     * Imports attendance rows from a reader
+     * @param reader Source, read once from start to end
+     * @param sourceName Name used in the result summary
+     * @param format Layout of the rows
+     */
+    public AttendanceImportResult importFrom(BufferedReader reader, String sourceName, Format format) throws IOException {
+        long started = System.currentTimeMillis();
+        AttendanceImportResult result = new AttendanceImportResult(sourceName);
+        Set<Integer> employeeIds = employeeIdLoader.get();
+        Map<Long, Long> firstLineByKey = new HashMap<>();
+        List<Attendance> batch = new ArrayList<>(BATCH_SIZE);
+        LocalDate today = LocalDate.now();
+
+        String line;
+        long lineNumber = 0;
+        boolean firstDataLine = true;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+
+            String[] fields = format == Format.CSV ? splitCsv(trimmed) : splitFixedWidth(line);
+            if (firstDataLine) {
+                firstDataLine = false;
+                if (format == Format.CSV && !fields[0].isEmpty() && !Character.isDigit(fields[0].charAt(0))) {
+                    continue; // header row
+                }
+            }
+            result.lineRead();
+
+            Attendance attendance;
+            try {
+                attendance = parseRecord(fields, employeeIds, today);
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                result.reject(lineNumber, line, e.getMessage(), false);
+                continue;
+            }
+
+            long key = ((long) attendance.getEmployeeId() << 32)
+                    | (attendance.getDate().toLocalDate().toEpochDay() & 0xFFFFFFFFL);
+            Long firstLine = firstLineByKey.putIfAbsent(key, lineNumber);
+            if (firstLine != null) {
+                result.reject(lineNumber, line, "Duplicate of line " + firstLine, true);
+                continue;
+            }
+
+            batch.add(attendance);
+            if (batch.size() == BATCH_SIZE) {
+                result.addImported(batchWriter.applyAsInt(batch));
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            result.addImported(batchWriter.applyAsInt(batch));
+        }
+
+        result.setElapsedMillis(System.currentTimeMillis() - started);
+        LOGGER.info("✅ Attendance import complete - " + result.getSummary());
+        return result;
+    }
+
+    /**
+     * Writes the rejected rows next to the source so they can be fixed and re-imported
+     * @return Path of the report
+     */
+    public Path writeRejectReport(AttendanceImportResult result, Path target) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            writer.write("line,reason,content");
+            writer.newLine();
+            for (AttendanceImportResult.RejectedRow row : result.getRejectedRows()) {
+                writer.write(row.getLineNumber() + "," + quote(row.getReason()) + "," + quote(row.getLine()));
+                writer.newLine();
+            }
+        }
+        return target;
+    }
+
+    private Attendance parseRecord(String[] fields, Set<Integer> employeeIds, LocalDate today) {
+        if (fields.length < 4) {
+            throw new IllegalArgumentException("Expected 4 fields but found " + fields.length);
+        }
+
+        int employeeId;
+        try {
+            employeeId = Integer.parseInt(fields[0]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid employee ID: " + fields[0]);
+        }
+        if (!employeeIds.contains(employeeId)) {
+            throw new IllegalArgumentException("Unknown employee ID: " + employeeId);
+        }
+
+        LocalDate date = parseDate(fields[1]);
+        if (date.isAfter(today)) {
+            throw new IllegalArgumentException("Date is in the future: " + date);
+        }
+        if (fields[2].isEmpty() || fields[3].isEmpty()) {
+            throw new IllegalArgumentException("Both log in and log out are required");
+        }
+
+        LocalTime logIn = LocalTime.parse(fields[2]);
+        LocalTime logOut = LocalTime.parse(fields[3]);
+
+        // The model rejects a log out before the log in
+        return new Attendance(employeeId, Date.valueOf(date), Time.valueOf(logIn), Time.valueOf(logOut));
+    }
+
+    private LocalDate parseDate(String value) {
+        if (value.indexOf('/') >= 0) {
+            return LocalDate.parse(value, US_DATE);
+        }
+        return LocalDate.parse(value);
+    }
+
+    private String[] splitCsv(String line) {
+        String[] fields = line.split(",", -1);
+        for (int i = 0; i < fields.length; i++) {
+            String field = fields[i].trim();
+            if (field.length() >= 2 && field.startsWith("\"") && field.endsWith("\"")) {
+                field = field.substring(1, field.length() - 1).trim();
+            }
+            fields[i] = field;
+        }
+        return fields;
+    }
+
+    private String[] splitFixedWidth(String line) {
+        return new String[]{
+            column(line, FIXED_EMPLOYEE_ID),
+            column(line, FIXED_DATE),
+            column(line, FIXED_LOG_IN),
+            column(line, FIXED_LOG_OUT)
+        };
+    }
+
+    private String column(String line, int[] bounds) {
+        if (line.length() <= bounds[0]) {
+            return "";
+        }
+        return line.substring(bounds[0], Math.min(bounds[1], line.length())).trim();
+    }
+
+    private String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,291 @@
+package service;
+
+import dao.CredentialsDAO;
+import dao.EmployeeDAO;
+import exception.AuthenticationException;
+import model.Employee;
+import model.UserRole;
+import model.UserSession;
+import util.ConfigurationManager;
+import util.PasswordHasher;
+import util.PositionRoleMapper;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Login, session and throttling service.
+ * A login costs one credentials lookup plus one employee lookup on success. Passwords are
+ * verified against salted PBKDF2 hashes; legacy plaintext values are re-hashed on the first
+ * successful login. Sessions live in memory under a random token with an idle timeout of
+ * security.session.timeout.minutes, and carry the role resolved at login, so repeat
+ * authorization checks never touch the database. After security.max.login.attempts failures
+ * an employee ID is locked for security.login.lockout.minutes.
+ */
+public class AuthenticationService {
+    private static final Logger LOGGER = Logger.getLogger(AuthenticationService.class.getName());
+
+    public static final String ERROR_INVALID_CREDENTIALS = "INVALID_CREDENTIALS";
+    public static final String ERROR_ACCOUNT_LOCKED = "ACCOUNT_LOCKED";
+    public static final String ERROR_DATABASE = "DATABASE_ERROR";
+
+    private static final int TOKEN_BYTES = 32;
+    // Verified when the employee has no credentials so unknown IDs take as long as wrong passwords
+    private static final String DUMMY_HASH = PasswordHasher.hash("motorph-unknown-user");
+
+    private static volatile AuthenticationService instance;
+
+    /**
+     * Failed attempts of one employee ID
+     */
+    private static final class LoginThrottle {
+        private int failures;
+        private long lockedUntil;
+    }
+
+    private final CredentialsDAO credentialsDAO;
+    private final EmployeeDAO employeeDAO;
+    private final int maxAttempts;
+    private final long lockoutMillis;
+    private final long idleTimeoutMillis;
+    private final LongSupplier clock;
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, UserSession> sessions = new ConcurrentHashMap<>();
+    private final Map<Integer, LoginThrottle> throttles = new ConcurrentHashMap<>();
+    private volatile UserSession currentSession;
+
+    public AuthenticationService(CredentialsDAO credentialsDAO, EmployeeDAO employeeDAO, int maxAttempts,
+                                 long lockoutMillis, long idleTimeoutMillis, LongSupplier clock) {
+        this.credentialsDAO = credentialsDAO;
+        this.employeeDAO = employeeDAO;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.lockoutMillis = lockoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.clock = clock;
+    }
+
+    public static AuthenticationService getInstance() {
+        AuthenticationService local = instance;
+        if (local == null) {
+            synchronized (AuthenticationService.class) {
+                local = instance;
+                if (local == null) {
+                    ConfigurationManager config = ConfigurationManager.getInstance();
+                    local = new AuthenticationService(new CredentialsDAO(), new EmployeeDAO(),
+                            config.getMaxLoginAttempts(),
+                            config.getLoginLockoutMinutes() * 60_000L,
+                            config.getSessionTimeoutMinutes() * 60_000L,
+                            System::currentTimeMillis);
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * Authenticates an employee and opens a session
+     * @param employeeId Employee ID
+     * @param password Plaintext password
+     * @return New session, also remembered as the current session
+     * @throws AuthenticationException with ERROR_INVALID_CREDENTIALS (and the remaining attempts),
+     *         ERROR_ACCOUNT_LOCKED or ERROR_DATABASE
+     */
+    public UserSession login(int employeeId, String password) throws AuthenticationException {
+        checkNotLocked(employeeId);
+
+        if (!verifyPassword(employeeId, password)) {
+            int remaining = recordFailure(employeeId);
+            if (remaining == 0) {
+                throw new AuthenticationException("Too many failed attempts. Please try again in " +
+                        Math.max(1, lockoutMillis / 60_000) + " minutes.", ERROR_ACCOUNT_LOCKED, 0);
+            }
+            throw new AuthenticationException("Invalid Employee ID or Password", ERROR_INVALID_CREDENTIALS, remaining);
+        }
+
+        Employee employee;
+        try {
+            employee = employeeDAO.getEmployeeById(employeeId);
+        } catch (RuntimeException e) {
+            throw new AuthenticationException("Unable to load employee record", e);
+        }
+        if (employee == null) {
+            throw new AuthenticationException("Employee record not found", ERROR_INVALID_CREDENTIALS);
+        }
+
+        throttles.remove(employeeId);
+        purgeExpiredSessions();
+
+        long now = clock.getAsLong();
+        UserSession session = new UserSession(newToken(), employee,
+                PositionRoleMapper.getUserRole(employee.getPosition()),
+                PositionRoleMapper.getDashboardType(employee.getPosition()), now);
+        sessions.put(session.getToken(), session);
+        currentSession = session;
+
+        LOGGER.info(String.format("✅ Authentication SUCCESS for employee %d (%s)", employeeId, session.getRole()));
+        return session;
+    }
+
+    /**
+     * Checks a password without opening a session, re-hashing a legacy value on success
+     * @throws AuthenticationException with ERROR_DATABASE if the credentials cannot be read
+     */
+    public boolean verifyPassword(int employeeId, String password) throws AuthenticationException {
+        String stored;
+        try {
+            stored = credentialsDAO.getPasswordHash(employeeId);
+        } catch (RuntimeException e) {
+            throw new AuthenticationException("Database connection failed. Please check your connection.",
+                    ERROR_DATABASE, -1);
+        }
+
+        if (stored == null) {
+            PasswordHasher.verify(password, DUMMY_HASH);
+            LOGGER.warning("❌ Authentication FAILED - no credentials for employee ID: " + employeeId);
+            return false;
+        }
+        if (!PasswordHasher.verify(password, stored)) {
+            LOGGER.warning("❌ Authentication FAILED for employee ID: " + employeeId);
+            return false;
+        }
+
+        if (PasswordHasher.needsRehash(stored)) {
+            try {
+                credentialsDAO.updatePasswordHash(employeeId, PasswordHasher.hash(password));
+                LOGGER.info("🔐 Upgraded stored password hash for employee " + employeeId);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "⚠️ Could not upgrade password hash for employee " + employeeId, e);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Looks up a live session and extends its idle timeout
+     */
+    public Optional<UserSession> getSession(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        UserSession session = sessions.get(token);
+        if (session == null) {
+            return Optional.empty();
+        }
+        long now = clock.getAsLong();
+        if (session.isExpired(now, idleTimeoutMillis)) {
+            invalidate(session);
+            LOGGER.info("⌛ Session expired for employee " + session.getEmployeeId());
+            return Optional.empty();
+        }
+        session.touch(now);
+        return Optional.of(session);
+    }
+
+    /**
+     * @return Session of the last successful login on this client, if it has not expired
+     */
+    public Optional<UserSession> getCurrentSession() {
+        UserSession session = currentSession;
+        return session == null ? Optional.empty() : getSession(session.getToken());
+    }
+
+    /**
+     * Role of an employee, taken from their live session when there is one
+     */
+    public UserRole resolveRole(Employee employee) {
+        UserSession session = currentSession;
+        if (session != null && session.getEmployeeId() == employee.getEmployeeId()
+                && getSession(session.getToken()).isPresent()) {
+            return session.getRole();
+        }
+        return PositionRoleMapper.getUserRole(employee.getPosition());
+    }
+
+    /**
+     * Checks a dashboard feature against a session's cached role
+     */
+    public boolean isAuthorized(String token, String feature) {
+        return getSession(token).map(session -> session.canAccessFeature(feature)).orElse(false);
+    }
+
+    public void logout(String token) {
+        UserSession session = token == null ? null : sessions.get(token);
+        if (session != null) {
+            invalidate(session);
+            LOGGER.info("🚪 Logged out employee " + session.getEmployeeId());
+        }
+    }
+
+    public void logoutCurrent() {
+        UserSession session = currentSession;
+        if (session != null) {
+            logout(session.getToken());
+        }
+    }
+
+    public int getActiveSessionCount() {
+        purgeExpiredSessions();
+        return sessions.size();
+    }
+
+    private void checkNotLocked(int employeeId) throws AuthenticationException {
+        LoginThrottle throttle = throttles.get(employeeId);
+        if (throttle == null) {
+            return;
+        }
+        synchronized (throttle) {
+            long remainingMillis = throttle.lockedUntil - clock.getAsLong();
+            if (remainingMillis > 0) {
+                long minutes = Math.max(1, (remainingMillis + 59_999) / 60_000);
+                throw new AuthenticationException("Account temporarily locked. Please try again in " +
+                        minutes + " minute" + (minutes == 1 ? "" : "s") + ".", ERROR_ACCOUNT_LOCKED, 0);
+            }
+        }
+    }
+
+    /**
+     * @return Attempts left before the lockout, 0 if this failure locked the ID
+     */
+    private int recordFailure(int employeeId) {
+        LoginThrottle throttle = throttles.computeIfAbsent(employeeId, id -> new LoginThrottle());
+        synchronized (throttle) {
+            long now = clock.getAsLong();
+            if (throttle.lockedUntil != 0 && throttle.lockedUntil <= now) {
+                throttle.failures = 0;
+                throttle.lockedUntil = 0;
+            }
+            throttle.failures++;
+            if (throttle.failures >= maxAttempts) {
+                throttle.lockedUntil = now + lockoutMillis;
+                LOGGER.warning("🔒 Employee ID " + employeeId + " locked after " + throttle.failures + " failed logins");
+                return 0;
+            }
+            return maxAttempts - throttle.failures;
+        }
+    }
+
+    private void invalidate(UserSession session) {
+        sessions.remove(session.getToken());
+        if (currentSession == session) {
+            currentSession = null;
+        }
+    }
+
+    private void purgeExpiredSessions() {
+        long now = clock.getAsLong();
+        sessions.values().removeIf(session -> session.isExpired(now, idleTimeoutMillis));
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
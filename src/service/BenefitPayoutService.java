@@ -0,0 +1,229 @@
+package service;
+
+import dao.BenefitPayoutDAO;
+import dao.PayFrequencyDAO;
+import model.BenefitPayout;
+import model.PayFrequency;
+import model.PayPeriod;
+import model.TaxYearToDate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 13th month and final pay for the whole company in one batch.
+ * One aggregated scan gives every employee's basic pay earned in the closed pay runs of the
+ * year, YTD tax accumulators, Annual leave balance and separation date. Employees still
+ * employed get a 13th month: basic earned plus the current basic for the pay periods of
+ * their frequency not yet closed, over 12. Employees separated during the year get a final pay instead: salary for
+ * the workdays after their last closed period, unused Annual leave converted at the daily
+ * rate, the prorated 13th month and the tax true-up on the actual annual income. The whole
+ * year's payouts are then written in one transaction.
+ */
+public class BenefitPayoutService {
+    private static final Logger LOGGER = Logger.getLogger(BenefitPayoutService.class.getName());
+
+    // 13th month and other benefits are tax-exempt up to this amount a year
+    public static final double THIRTEENTH_MONTH_EXEMPTION = 90000.0;
+
+    // Monetized unused vacation leave is tax-exempt up to this many days
+    public static final double EXEMPT_LEAVE_DAYS = 10.0;
+
+    private final BenefitPayoutDAO benefitPayoutDAO;
+    private final PayFrequencyDAO payFrequencyDAO;
+
+    public BenefitPayoutService() {
+        this(new BenefitPayoutDAO());
+    }
+
+    public BenefitPayoutService(BenefitPayoutDAO benefitPayoutDAO) {
+        this(benefitPayoutDAO, new PayFrequencyDAO());
+    }
+
+    public BenefitPayoutService(BenefitPayoutDAO benefitPayoutDAO, PayFrequencyDAO payFrequencyDAO) {
+        this.benefitPayoutDAO = benefitPayoutDAO;
+        this.payFrequencyDAO = payFrequencyDAO;
+    }
+
+    /**
+     * Computes the 13th month and final pay of every employee for a year without storing them
+     * @param year Calendar year
+     * @return 13th month payouts for current employees and final pays for separated ones
+     */
+    public List<BenefitPayout> calculateYear(int year) {
+        requireAvailable();
+        Map<Integer, PayFrequency> frequencies;
+        try {
+            frequencies = payFrequencyDAO.getFrequencies();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Pay frequencies unavailable, using the default for everyone", e);
+            frequencies = Map.of();
+        }
+        PayFrequency defaultFrequency = payFrequencyDAO.getDefaultFrequency();
+
+        List<BenefitPayout> payouts = new ArrayList<>();
+        for (BenefitPayoutDAO.PayoutBasis basis : benefitPayoutDAO.getPayoutBasis(year)) {
+            payouts.add(basis.isSeparated()
+                    ? calculateFinalPay(year, basis)
+                    : calculateThirteenthMonth(year, basis,
+                            frequencies.getOrDefault(basis.getEmployeeId(), defaultFrequency)));
+        }
+        return payouts;
+    }
+
+    /**
+     * Computes and stores the payouts of a year in one batch, replacing any earlier run
+     * @param year Calendar year
+     * @return Stored payouts
+     */
+    public List<BenefitPayout> runYear(int year) {
+        long start = System.nanoTime();
+        List<BenefitPayout> payouts = calculateYear(year);
+        benefitPayoutDAO.replacePayouts(year, payouts);
+
+        long finalPays = payouts.stream().filter(BenefitPayout::isFinalPay).count();
+        LOGGER.info(String.format("✅ Computed %,d 13th month and %,d final pays for %d in %d ms",
+                payouts.size() - finalPays, finalPays, year, (System.nanoTime() - start) / 1_000_000));
+        return payouts;
+    }
+
+    /**
+     * 13th month of an employee still employed, with the tax on the part above the exemption.
+     * The periods after the last closed one are projected at the employee's pay frequency:
+     * their share of the current basic is added to the basic earned, and the average net
+     * taxable income of the closed periods is repeated for each of them.
+     */
+    public static BenefitPayout calculateThirteenthMonth(int year, BenefitPayoutDAO.PayoutBasis basis,
+                                                         PayFrequency frequency) {
+        PayPeriod lastClosed = basis.getLastPeriodEnd() != null
+                ? PayPeriodCalendar.periodContaining(frequency, basis.getLastPeriodEnd()) : null;
+        int openPeriods = lastClosed != null ? WithholdingTaxEngine.remainingPeriods(lastClosed) : 0;
+        double basicEarned = basis.getBasicEarned() + openBasic(basis.getMonthlyBasic(), lastClosed, openPeriods);
+        double thirteenthMonth = thirteenthMonthPay(basicEarned);
+
+        TaxYearToDate ytd = basis.getYearToDate();
+        double projectedAnnual = ytd.getPeriods() > 0
+                ? ytd.getNetTaxable() + ytd.getNetTaxable() / ytd.getPeriods() * openPeriods
+                : 0.0;
+        double taxableBonus = taxableThirteenthMonth(thirteenthMonth);
+
+        BenefitPayout payout = new BenefitPayout(basis.getEmployeeId(), year, BenefitPayout.THIRTEENTH_MONTH);
+        payout.setBasicEarned(round(basicEarned));
+        payout.setThirteenthMonth(thirteenthMonth);
+        payout.setTaxAdjustment(round(
+                PayrollCalculator.calculateAnnualIncomeTax(Math.max(0.0, projectedAnnual + taxableBonus))
+                - PayrollCalculator.calculateAnnualIncomeTax(Math.max(0.0, projectedAnnual))));
+        return payout;
+    }
+
+    /**
+     * Basic pay of the periods after the last closed one, each period taking its share of the
+     * monthly basic, so a semi-monthly run closed on the 15th still counts the second half
+     */
+    private static double openBasic(double monthlyBasic, PayPeriod lastClosed, int openPeriods) {
+        double basic = 0.0;
+        PayPeriod period = lastClosed;
+        for (int i = 0; i < openPeriods; i++) {
+            period = PayPeriodCalendar.periodContaining(period.getFrequency(), period.getEnd().plusDays(1));
+            basic += PayPeriodCalendar.splitMonthlyAmount(monthlyBasic, period);
+        }
+        return basic;
+    }
+
+    /**
+     * Final pay of an employee separated during the year. The tax adjustment is the tax on
+     * the actual annual income less everything withheld, so it is negative when the year's
+     * withholding was projected on a full year and must be refunded. Contributions on the
+     * prorated salary are left to the last pay run.
+     */
+    public static BenefitPayout calculateFinalPay(int year, BenefitPayoutDAO.PayoutBasis basis) {
+        LocalDate separationDate = basis.getSeparationDate();
+        LocalDate unpaidFrom = basis.getLastPeriodEnd() != null
+                ? basis.getLastPeriodEnd().plusDays(1)
+                : separationDate.withDayOfMonth(1);
+        double proratedSalary = proratedSalary(basis.getMonthlyBasic(), unpaidFrom, separationDate);
+
+        double leaveDays = Math.max(0.0, basis.getLeaveAvailable());
+        double leaveConversion = leaveConversion(basis.getMonthlyBasic(), leaveDays);
+        double taxableLeave = leaveConversion(basis.getMonthlyBasic(), Math.max(0.0, leaveDays - EXEMPT_LEAVE_DAYS));
+
+        double basicEarned = basis.getBasicEarned() + proratedSalary;
+        double thirteenthMonth = thirteenthMonthPay(basicEarned);
+
+        TaxYearToDate ytd = basis.getYearToDate();
+        double annualNetTaxable = ytd.getNetTaxable() + proratedSalary + taxableLeave
+                + taxableThirteenthMonth(thirteenthMonth);
+
+        BenefitPayout payout = new BenefitPayout(basis.getEmployeeId(), year, BenefitPayout.FINAL_PAY);
+        payout.setSeparationDate(separationDate);
+        payout.setBasicEarned(round(basicEarned));
+        payout.setProratedSalary(proratedSalary);
+        payout.setLeaveDays(leaveDays);
+        payout.setLeaveConversion(leaveConversion);
+        payout.setThirteenthMonth(thirteenthMonth);
+        payout.setTaxAdjustment(round(
+                PayrollCalculator.calculateAnnualIncomeTax(Math.max(0.0, annualNetTaxable)) - ytd.getTaxWithheld()));
+        return payout;
+    }
+
+    /**
+     * 13th month pay: one twelfth of the basic pay earned in the year
+     */
+    public static double thirteenthMonthPay(double basicEarned) {
+        return round(Math.max(0.0, basicEarned) / 12);
+    }
+
+    /**
+     * Part of a 13th month above the yearly exemption
+     */
+    public static double taxableThirteenthMonth(double thirteenthMonth) {
+        return Math.max(0.0, thirteenthMonth - THIRTEENTH_MONTH_EXEMPTION);
+    }
+
+    /**
+     * Salary for the workdays from one date to another, both inclusive, at the daily rate
+     */
+    public static double proratedSalary(double monthlyBasic, LocalDate from, LocalDate to) {
+        return round(countWorkdays(from, to) * dailyRate(monthlyBasic));
+    }
+
+    /**
+     * Cash value of leave days at the daily rate
+     */
+    public static double leaveConversion(double monthlyBasic, double leaveDays) {
+        return round(Math.max(0.0, leaveDays) * dailyRate(monthlyBasic));
+    }
+
+    /**
+     * Weekdays from one date to another, both inclusive; 0 if the range is empty
+     */
+    public static int countWorkdays(LocalDate from, LocalDate to) {
+        int workdays = 0;
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            DayOfWeek day = date.getDayOfWeek();
+            if (day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY) {
+                workdays++;
+            }
+        }
+        return workdays;
+    }
+
+    private static double dailyRate(double monthlyBasic) {
+        return monthlyBasic / PayrollCalculator.PayrollConstants.STANDARD_WORKING_DAYS_PER_MONTH;
+    }
+
+    private static double round(double amount) {
+        return Math.round(amount * 100.0) / 100.0;
+    }
+
+    private void requireAvailable() {
+        if (!benefitPayoutDAO.isAvailable()) {
+            throw new IllegalStateException("13th month and final pay need the benefit payout, payroll YTD and leave balance tables");
+        }
+    }
+}
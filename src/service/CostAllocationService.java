@@ -0,0 +1,192 @@
+package service;
+
+import dao.CostAllocationDAO;
+import model.CostAllocation;
+import model.CostLine;
+import model.RemittanceAgency;
+import util.ConfigurationManager;
+
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Allocates a month's approved payroll cost to departments: earned basic pay, overtime,
+ * allowances and the employer's SSS, PhilHealth and Pag-IBIG shares.
+ *
+ * The month is read in one aggregated pass over the approved pay run snapshots and built
+ * into a company, department and employee tree, so drilling down is a walk over memory.
+ * Employees are charged to their position's department unless split allocations share them
+ * between departments; each amount is split to the centavo so departments always add up to
+ * the company. Approved snapshots cannot change, so once every run of a month is approved
+ * its tree is cached and only rebuilt if another run is approved for the month.
+ */
+public class CostAllocationService {
+    private static final Logger LOGGER = Logger.getLogger(CostAllocationService.class.getName());
+
+    static final String UNASSIGNED = "Unassigned";
+
+    private final CostAllocationDAO costAllocationDAO;
+    private final String companyName;
+    private final double sssRatio;
+    private final Map<YearMonth, CostAllocation> closedPeriods = new ConcurrentHashMap<>();
+
+    public CostAllocationService() {
+        this(new CostAllocationDAO(), ConfigurationManager.getInstance().getDisbursementCompanyName(),
+             ConfigurationManager.getInstance().getSssEmployerShareRatio());
+    }
+
+    public CostAllocationService(CostAllocationDAO costAllocationDAO, String companyName, double sssRatio) {
+        this.costAllocationDAO = costAllocationDAO;
+        this.companyName = companyName;
+        this.sssRatio = sssRatio;
+    }
+
+    /**
+     * Allocation tree of the approved pay periods ending in the month.
+     * Runs of the month that are not approved yet are left out and the tree is not cached.
+     * @throws RuntimeException if database error occurs
+     */
+    public CostAllocation allocate(YearMonth period) {
+        CostAllocation company = costAllocationDAO.openPeriod(companyName, period);
+        company.setBudget(company.getChildren().stream().mapToLong(CostAllocation::getBudget).sum());
+        CostAllocation cached = closedPeriods.get(period);
+        if (cached != null && cached.isSameRuns(company)) {
+            // Budgets are not part of the payroll; keep them current
+            for (CostAllocation department : company.getChildren()) {
+                CostAllocation cachedDepartment = cached.getChild(department.getId());
+                if (cachedDepartment != null) {
+                    cachedDepartment.setBudget(department.getBudget());
+                }
+            }
+            cached.setBudget(company.getBudget());
+            return cached;
+        }
+
+        long startNanos = System.nanoTime();
+        Map<Integer, Map<Integer, Integer>> splits = costAllocationDAO.getSplits(period.atEndOfMonth());
+        int employees = costAllocationDAO.streamLines(period.atDay(1), period.atEndOfMonth(),
+                line -> allocate(company, line, resolveShares(line.getDepartmentId(), splits.get(line.getEmployeeId())),
+                                 sssRatio));
+
+        if (company.isClosed()) {
+            closedPeriods.put(period, company);
+        }
+        LOGGER.info(String.format("🏢 Allocated %s payroll cost of %,d employees to %d departments in %d ms%s",
+                period, employees, company.getChildren().size(), (System.nanoTime() - startNanos) / 1_000_000,
+                company.isClosed() ? "" : " (" + company.getOpenRuns() + " runs not approved)"));
+        return company;
+    }
+
+    /**
+     * Allocation tree of the month of the latest approved pay period
+     * @return The tree, or null if no run is approved yet
+     */
+    public CostAllocation allocateLatest() {
+        YearMonth latest = costAllocationDAO.getLatestClosedMonth();
+        return latest != null ? allocate(latest) : null;
+    }
+
+    /**
+     * Drops cached trees, e.g. after split allocations for a past month are corrected
+     */
+    public void invalidate() {
+        closedPeriods.clear();
+    }
+
+    /**
+     * Charges one employee's cost to the company and to each department in the shares given
+     */
+    public static void allocate(CostAllocation company, CostLine line, Map<Integer, Integer> shares, double sssRatio) {
+        long employerShare = 0L;
+        for (RemittanceAgency agency : RemittanceAgency.values()) {
+            employerShare += RemittanceService.employerShare(agency, line.getEmployeeShare(agency),
+                    line.getMonthlyRate(), sssRatio);
+        }
+        company.add(line.getBasicPay(), line.getOvertimePay(), line.getAllowances(), employerShare,
+                CostAllocation.FULL_SHARE);
+
+        int[] weights = shares.values().stream().mapToInt(Integer::intValue).toArray();
+        long[] basicPay = apportion(line.getBasicPay(), weights);
+        long[] overtimePay = apportion(line.getOvertimePay(), weights);
+        long[] allowances = apportion(line.getAllowances(), weights);
+        long[] employerShares = apportion(employerShare, weights);
+
+        int i = 0;
+        for (int departmentId : shares.keySet()) {
+            CostAllocation department = company.child(departmentId,
+                    departmentId == 0 ? UNASSIGNED : "Department " + departmentId);
+            department.add(basicPay[i], overtimePay[i], allowances[i], employerShares[i], weights[i]);
+            department.child(line.getEmployeeId(), line.getDisplayName())
+                    .add(basicPay[i], overtimePay[i], allowances[i], employerShares[i], weights[i]);
+            i++;
+        }
+    }
+
+    /**
+     * Department shares of an employee in hundredths of a percent, always totalling 100%.
+     * Splits under 100% leave the rest with the home department; splits over 100% are scaled down.
+     * @param homeDepartment Department of the employee's position, 0 if none
+     * @param splits Split allocations in force, or null if the employee has none
+     */
+    public static Map<Integer, Integer> resolveShares(int homeDepartment, Map<Integer, Integer> splits) {
+        Map<Integer, Integer> shares = new LinkedHashMap<>();
+        if (splits == null || splits.isEmpty()) {
+            shares.put(homeDepartment, CostAllocation.FULL_SHARE);
+            return shares;
+        }
+
+        int total = splits.values().stream().mapToInt(Integer::intValue).sum();
+        if (total > CostAllocation.FULL_SHARE) {
+            long[] scaled = apportion(CostAllocation.FULL_SHARE,
+                    splits.values().stream().mapToInt(Integer::intValue).toArray());
+            int i = 0;
+            for (int departmentId : splits.keySet()) {
+                shares.put(departmentId, (int) scaled[i++]);
+            }
+        } else {
+            shares.putAll(splits);
+            if (total < CostAllocation.FULL_SHARE) {
+                shares.merge(homeDepartment, CostAllocation.FULL_SHARE - total, Integer::sum);
+            }
+        }
+        return shares;
+    }
+
+    /**
+     * Splits an amount in proportion to the weights by largest remainder, so the parts add
+     * up to the amount exactly
+     */
+    public static long[] apportion(long amount, int[] weights) {
+        long[] parts = new long[weights.length];
+        long totalWeight = 0;
+        for (int weight : weights) {
+            totalWeight += weight;
+        }
+        if (totalWeight == 0) {
+            return parts;
+        }
+
+        long[] remainders = new long[weights.length];
+        long allotted = 0;
+        for (int i = 0; i < weights.length; i++) {
+            parts[i] = Math.floorDiv(amount * weights[i], totalWeight);
+            remainders[i] = Math.floorMod(amount * weights[i], totalWeight);
+            allotted += parts[i];
+        }
+
+        for (long left = amount - allotted; left > 0; left--) {
+            int largest = 0;
+            for (int i = 1; i < weights.length; i++) {
+                if (remainders[i] > remainders[largest]) {
+                    largest = i;
+                }
+            }
+            parts[largest]++;
+            remainders[largest] = -1;
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,66 @@
+package service;
+
+import model.DisbursementFile;
+import model.DisbursementRecord;
+
+import java.io.IOException;
+
+/**
+ * Comma-separated credit file for banks that take CSV uploads. The first column is the
+ * record type (H, D, T) and amounts are pesos with two decimals.
+ * <pre>
+ *   H,bank code,company name,funding account,credit date,run ID
+ *   D,sequence,account number,account name,amount,employee ID
+ *   T,record count,control total,hash total
+ * </pre>
+ */
+public class CsvDisbursementLayout implements DisbursementLayout {
+
+    public static final String NAME = "CSV";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "csv";
+    }
+
+    @Override
+    public void writeHeader(Appendable out, DisbursementFile file) throws IOException {
+        out.append("H,").append(quote(file.getBankCode())).append(',').append(quote(file.getCompanyName()))
+           .append(',').append(quote(file.getFundingAccount())).append(',').append(file.getCreditDate().toString())
+           .append(',').append(Integer.toString(file.getRunId())).append('\n');
+    }
+
+    @Override
+    public void writeDetail(Appendable out, DisbursementFile file, DisbursementRecord record, int sequence)
+            throws IOException {
+        out.append("D,").append(Integer.toString(sequence)).append(',').append(quote(record.getAccountNumber()))
+           .append(',').append(quote(record.getAccountName())).append(',').append(pesos(record.getAmountCentavos()))
+           .append(',').append(Integer.toString(record.getEmployeeId())).append('\n');
+    }
+
+    @Override
+    public void writeTrailer(Appendable out, DisbursementFile file) throws IOException {
+        out.append("T,").append(Integer.toString(file.getRecordCount())).append(',')
+           .append(pesos(file.getControlTotal())).append(',').append(Long.toString(file.getHashTotal())).append('\n');
+    }
+
+    static String pesos(long centavos) {
+        long cents = Math.abs(centavos % 100);
+        return (centavos < 0 ? "-" : "") + Math.abs(centavos / 100) + (cents < 10 ? ".0" : ".") + cents;
+    }
+
+    static String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
@@ -0,0 +1,74 @@
+package service;
+
+import model.RemittanceAgency;
+import model.RemittanceFile;
+import model.RemittanceLine;
+
+import java.io.IOException;
+
+/**
+ * Comma-separated upload files for the agencies that take them. Amounts are pesos with two decimals.
+ * <pre>
+ *   PhilHealth (RF-1)   PhilHealth number, last name, first name, birthday, monthly salary, employee share, employer share
+ *   Pag-IBIG (MCRF)     MID number, last name, first name, birthday, monthly compensation, employee share, employer share
+ *   BIR (alphalist)     sequence, TIN, last name, first name, gross, non-taxable, taxable compensation, tax withheld
+ * </pre>
+ * The first line names the employer and period; the last line carries the record count and totals.
+ */
+public class CsvRemittanceLayout implements RemittanceLayout {
+
+    private final RemittanceAgency agency;
+
+    public CsvRemittanceLayout(RemittanceAgency agency) {
+        this.agency = agency;
+    }
+
+    @Override
+    public RemittanceAgency getAgency() {
+        return agency;
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "csv";
+    }
+
+    @Override
+    public void writeHeader(Appendable out, RemittanceFile file) throws IOException {
+        out.append("EMPLOYER,").append(CsvDisbursementLayout.quote(file.getEmployerId())).append(',')
+           .append(CsvDisbursementLayout.quote(file.getEmployerName())).append(',')
+           .append(file.getPeriodStart().toString()).append(',').append(file.getPeriodEnd().toString()).append('\n');
+    }
+
+    @Override
+    public void writeDetail(Appendable out, RemittanceFile file, RemittanceLine line, long employerShare, int sequence)
+            throws IOException {
+        if (agency == RemittanceAgency.BIR) {
+            out.append(Integer.toString(sequence)).append(',')
+               .append(CsvDisbursementLayout.quote(line.getAgencyId(agency))).append(',')
+               .append(CsvDisbursementLayout.quote(line.getLastName())).append(',')
+               .append(CsvDisbursementLayout.quote(line.getFirstName())).append(',')
+               .append(CsvDisbursementLayout.pesos(line.getGrossCompensation())).append(',')
+               .append(CsvDisbursementLayout.pesos(line.getNonTaxableCompensation())).append(',')
+               .append(CsvDisbursementLayout.pesos(line.getTaxableCompensation())).append(',')
+               .append(CsvDisbursementLayout.pesos(line.getTax())).append('\n');
+            return;
+        }
+        out.append(CsvDisbursementLayout.quote(line.getAgencyId(agency))).append(',')
+           .append(CsvDisbursementLayout.quote(line.getLastName())).append(',')
+           .append(CsvDisbursementLayout.quote(line.getFirstName())).append(',')
+           .append(line.getBirthday() != null ? line.getBirthday().toString() : "").append(',')
+           .append(CsvDisbursementLayout.pesos(line.getMonthlyRate())).append(',')
+           .append(CsvDisbursementLayout.pesos(line.getEmployeeShare(agency))).append(',')
+           .append(CsvDisbursementLayout.pesos(employerShare)).append('\n');
+    }
+
+    @Override
+    public void writeTrailer(Appendable out, RemittanceFile file) throws IOException {
+        out.append("TOTAL,").append(Integer.toString(file.getRecordCount())).append(',')
+           .append(CsvDisbursementLayout.pesos(agency == RemittanceAgency.BIR ? file.getCompensation() : file.getEmployeeShare()))
+           .append(',')
+           .append(CsvDisbursementLayout.pesos(agency == RemittanceAgency.BIR ? file.getEmployeeShare() : file.getEmployerShare()))
+           .append('\n');
+    }
+}
@@ -0,0 +1,31 @@
+package service;
+
+import model.DisbursementFile;
+import model.DisbursementRecord;
+
+import java.io.IOException;
+
+/**
+ * Record layout of one bank's payroll credit file.
+ * A file is written in one pass: the header, one detail per credit, then the trailer, which
+ * is the only record carrying totals. Implementations write whole lines, including the line
+ * separator the bank expects, and must not buffer records between calls.
+ */
+public interface DisbursementLayout {
+
+    /**
+     * Name used to select the layout in configuration (disbursement.layout.BANK)
+     */
+    String getName();
+
+    String getFileExtension();
+
+    void writeHeader(Appendable out, DisbursementFile file) throws IOException;
+
+    void writeDetail(Appendable out, DisbursementFile file, DisbursementRecord record, int sequence) throws IOException;
+
+    /**
+     * @param file Totals of every detail written
+     */
+    void writeTrailer(Appendable out, DisbursementFile file) throws IOException;
+}
@@ -0,0 +1,234 @@
+package service;
+
+import dao.DisbursementDAO;
+import dao.PayRunDAO;
+import model.DisbursementFile;
+import model.DisbursementRecord;
+import model.PayRun;
+import util.ConfigurationManager;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes the net pay of an approved pay run as bank payroll credit files, one per bank.
+ *
+ * Credits are streamed from the database in bank order and written through a buffered
+ * channel as they arrive, so memory use does not grow with the run. Each bank's layout is
+ * chosen by disbursement.layout.BANK; FIXED80 and CSV are built in and others can be
+ * registered. Files are written to temporary names and only moved into place, and recorded
+ * in disbursement_file, once every bank's file is complete.
+ */
+public class DisbursementService {
+    private static final Logger LOGGER = Logger.getLogger(DisbursementService.class.getName());
+
+    private static final int WRITE_BUFFER_CHARS = 64 * 1024;
+    private static final DateTimeFormatter FILE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final PayRunDAO payRunDAO;
+    private final DisbursementDAO disbursementDAO;
+    private final Path outputDirectory;
+    private final Map<String, DisbursementLayout> layouts = new ConcurrentHashMap<>();
+
+    /**
+     * Outcome of one generation: the files written, and the credits left out because the
+     * employee has no active payroll account
+     */
+    public static class Result {
+        private final List<DisbursementFile> files;
+        private final int missingAccounts;
+        private final long missingCentavos;
+
+        Result(List<DisbursementFile> files, int missingAccounts, long missingCentavos) {
+            this.files = Collections.unmodifiableList(files);
+            this.missingAccounts = missingAccounts;
+            this.missingCentavos = missingCentavos;
+        }
+
+        public List<DisbursementFile> getFiles() { return files; }
+        public int getMissingAccounts() { return missingAccounts; }
+        public double getMissingAmount() { return missingCentavos / 100.0; }
+
+        public int getRecordCount() {
+            return files.stream().mapToInt(DisbursementFile::getRecordCount).sum();
+        }
+
+        public double getControlTotal() {
+            return files.stream().mapToLong(DisbursementFile::getControlTotal).sum() / 100.0;
+        }
+    }
+
+    public DisbursementService() {
+        this(new PayRunDAO(), new DisbursementDAO(),
+             Paths.get(ConfigurationManager.getInstance().getDisbursementDirectory()));
+    }
+
+    public DisbursementService(PayRunDAO payRunDAO, DisbursementDAO disbursementDAO, Path outputDirectory) {
+        this.payRunDAO = payRunDAO;
+        this.disbursementDAO = disbursementDAO;
+        this.outputDirectory = outputDirectory;
+        registerLayout(new FixedWidthDisbursementLayout());
+        registerLayout(new CsvDisbursementLayout());
+    }
+
+    /**
+     * Makes a bank layout selectable by its name, replacing a built-in one of the same name
+     */
+    public void registerLayout(DisbursementLayout layout) {
+        layouts.put(layout.getName().toUpperCase(), layout);
+    }
+
+    public DisbursementLayout getLayout(String bankCode) {
+        String name = ConfigurationManager.getInstance().getDisbursementLayout(bankCode);
+        DisbursementLayout layout = layouts.get(name.toUpperCase());
+        if (layout == null) {
+            throw new IllegalStateException("Unknown disbursement layout '" + name + "' for bank " + bankCode);
+        }
+        return layout;
+    }
+
+    /**
+     * Writes the credit files of an approved or locked pay run, credited on the period end date
+     * @param runId Pay run ID
+     * @param createdBy User generating the files
+     * @throws IllegalStateException if the run is not approved yet or payroll accounts are not set up
+     * @throws IOException if a file cannot be written; no file is left behind
+     */
+    public Result generate(int runId, String createdBy) throws IOException {
+        PayRun run = payRunDAO.getRunById(runId)
+                .orElseThrow(() -> new IllegalArgumentException("Pay run not found: " + runId));
+        if (!run.getStatus().isClosed()) {
+            throw new IllegalStateException("Pay run " + runId + " is " + run.getStatus().getDbValue()
+                    + "; only approved runs can be disbursed");
+        }
+        if (!disbursementDAO.isAvailable()) {
+            throw new IllegalStateException("Payroll bank accounts are not set up; apply the bank disbursement migration");
+        }
+
+        long startNanos = System.nanoTime();
+        Files.createDirectories(outputDirectory);
+        FileSet fileSet = new FileSet(run);
+
+        try {
+            disbursementDAO.streamRunCredits(runId, fileSet::write);
+            fileSet.finish();
+        } catch (IOException | RuntimeException e) {
+            fileSet.discard();
+            throw e;
+        }
+
+        disbursementDAO.recordFiles(fileSet.files, createdBy);
+        Result result = new Result(fileSet.files, fileSet.missingAccounts, fileSet.missingCentavos);
+        LOGGER.info(String.format("🏦 Wrote %d disbursement files for pay run %d: %,d credits, ₱%,.2f in %d ms",
+                result.getFiles().size(), runId, result.getRecordCount(), result.getControlTotal(),
+                (System.nanoTime() - startNanos) / 1_000_000));
+        if (result.getMissingAccounts() > 0) {
+            LOGGER.warning(String.format("⚠️ %d employees of pay run %d have no payroll account; ₱%,.2f not disbursed",
+                    result.getMissingAccounts(), runId, result.getMissingAmount()));
+        }
+        return result;
+    }
+
+    /**
+     * The files of one generation. Credits arrive grouped by bank, so only the current
+     * bank's file is open at a time.
+     */
+    private final class FileSet {
+        private final PayRun run;
+        private final List<DisbursementFile> files = new ArrayList<>();
+        private final List<Path> written = new ArrayList<>();
+        private int missingAccounts;
+        private long missingCentavos;
+
+        private DisbursementFile current;
+        private DisbursementLayout layout;
+        private Writer writer;
+
+        FileSet(PayRun run) {
+            this.run = run;
+        }
+
+        void write(DisbursementRecord record) throws IOException {
+            if (!record.hasAccount()) {
+                missingAccounts++;
+                missingCentavos += record.getAmountCentavos();
+                return;
+            }
+            if (current == null || !current.getBankCode().equals(record.getBankCode())) {
+                closeCurrent();
+                open(record.getBankCode());
+            }
+            layout.writeDetail(writer, current, record, current.add(record));
+        }
+
+        private void open(String bankCode) throws IOException {
+            ConfigurationManager config = ConfigurationManager.getInstance();
+            layout = getLayout(bankCode);
+            current = new DisbursementFile(run.getRunId(), bankCode, layout.getName(), run.getPeriodEndAsLocalDate(),
+                    config.getDisbursementCompanyName(), config.getDisbursementFundingAccount(bankCode));
+            current.setFileName(String.format("%s-run%d-%s.%s", bankCode, run.getRunId(),
+                    FILE_DATE.format(current.getCreditDate()), layout.getFileExtension()));
+
+            Path temp = outputDirectory.resolve(current.getFileName() + ".tmp");
+            written.add(temp);
+            FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), WRITE_BUFFER_CHARS),
+                    WRITE_BUFFER_CHARS);
+            layout.writeHeader(writer, current);
+        }
+
+        private void closeCurrent() throws IOException {
+            if (current == null) {
+                return;
+            }
+            layout.writeTrailer(writer, current);
+            writer.close();
+            writer = null;
+            files.add(current);
+        }
+
+        void finish() throws IOException {
+            closeCurrent();
+            for (int i = 0; i < written.size(); i++) {
+                Path temp = written.get(i);
+                Files.move(temp, outputDirectory.resolve(files.get(i).getFileName()),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+
+        void discard() {
+            try {
+                if (writer != null) {
+                    writer.close();
+                }
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Could not close disbursement file", e);
+            }
+            for (Path temp : written) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    LOGGER.log(Level.WARNING, "⚠️ Could not delete partial disbursement file " + temp, e);
+                }
+            }
+        }
+    }
+}
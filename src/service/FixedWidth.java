@@ -0,0 +1,60 @@
+package service;
+
+import java.io.IOException;
+import java.text.Normalizer;
+
+/**
+ * Field formatting shared by the fixed-width file layouts: numbers zero-filled on the left,
+ * text upper-case ASCII padded with spaces on the right.
+ */
+final class FixedWidth {
+
+    private FixedWidth() {
+    }
+
+    static void number(StringBuilder line, String digits, int width) {
+        if (digits.length() > width) {
+            throw new IllegalArgumentException("Value " + digits + " does not fit " + width + " digits");
+        }
+        for (int i = digits.length(); i < width; i++) {
+            line.append('0');
+        }
+        line.append(digits);
+    }
+
+    static void number(StringBuilder line, long value, int width) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative amounts cannot be written: " + value);
+        }
+        number(line, Long.toString(value), width);
+    }
+
+    /**
+     * Upper-case ASCII, accents removed (Ñ becomes N), truncated or space-padded to the width
+     */
+    static void text(StringBuilder line, String value, int width) {
+        String ascii = value == null ? "" : Normalizer.normalize(value, Normalizer.Form.NFD)
+                .replaceAll("[^\\x20-\\x7E]", "").toUpperCase();
+        int written = 0;
+        for (int i = 0; i < ascii.length() && written < width; i++, written++) {
+            line.append(ascii.charAt(i));
+        }
+        for (; written < width; written++) {
+            line.append(' ');
+        }
+    }
+
+    /**
+     * Pads the record to its length and appends it with the line separator
+     */
+    static void end(Appendable out, StringBuilder line, int length, String lineEnd) throws IOException {
+        while (line.length() < length) {
+            line.append(' ');
+        }
+        out.append(line).append(lineEnd);
+    }
+
+    static String digits(String value) {
+        return value == null ? "" : value.replaceAll("[^0-9]", "");
+    }
+}
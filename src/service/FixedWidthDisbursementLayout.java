@@ -0,0 +1,71 @@
+package service;
+
+import model.DisbursementFile;
+import model.DisbursementRecord;
+
+import java.io.IOException;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 80-column fixed-width credit file, the format most bank payroll upload facilities accept.
+ * <pre>
+ *   H  bank code(10) company name(30) funding account(16) credit date yyyyMMdd(8) run ID(9)
+ *   D  sequence(6) account number(16) account name(30) amount in centavos(15) employee ID(10)
+ *   T  record count(6) control total in centavos(15) hash total(15)
+ * </pre>
+ * Numbers are zero-filled on the left, text is upper-case ASCII padded with spaces on the
+ * right, and every record is padded to 80 columns and ends with CRLF.
+ */
+public class FixedWidthDisbursementLayout implements DisbursementLayout {
+
+    public static final String NAME = "FIXED80";
+
+    static final int RECORD_LENGTH = 80;
+    private static final String LINE_END = "\r\n";
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "txt";
+    }
+
+    @Override
+    public void writeHeader(Appendable out, DisbursementFile file) throws IOException {
+        StringBuilder line = new StringBuilder(RECORD_LENGTH);
+        line.append('H');
+        FixedWidth.text(line, file.getBankCode(), 10);
+        FixedWidth.text(line, file.getCompanyName(), 30);
+        FixedWidth.number(line, FixedWidth.digits(file.getFundingAccount()), 16);
+        line.append(DATE.format(file.getCreditDate()));
+        FixedWidth.number(line, file.getRunId(), 9);
+        FixedWidth.end(out, line, RECORD_LENGTH, LINE_END);
+    }
+
+    @Override
+    public void writeDetail(Appendable out, DisbursementFile file, DisbursementRecord record, int sequence)
+            throws IOException {
+        StringBuilder line = new StringBuilder(RECORD_LENGTH);
+        line.append('D');
+        FixedWidth.number(line, sequence, 6);
+        FixedWidth.number(line, FixedWidth.digits(record.getAccountNumber()), 16);
+        FixedWidth.text(line, record.getAccountName(), 30);
+        FixedWidth.number(line, record.getAmountCentavos(), 15);
+        FixedWidth.number(line, record.getEmployeeId(), 10);
+        FixedWidth.end(out, line, RECORD_LENGTH, LINE_END);
+    }
+
+    @Override
+    public void writeTrailer(Appendable out, DisbursementFile file) throws IOException {
+        StringBuilder line = new StringBuilder(RECORD_LENGTH);
+        line.append('T');
+        FixedWidth.number(line, file.getRecordCount(), 6);
+        FixedWidth.number(line, file.getControlTotal(), 15);
+        FixedWidth.number(line, file.getHashTotal(), 15);
+        FixedWidth.end(out, line, RECORD_LENGTH, LINE_END);
+    }
+}
@@ -2,6 +2,7 @@ package service;
 
 import model.Employee;
 import model.Payroll;
+import util.Metrics;
 
 import java.io.*;
 import java.time.LocalDateTime;
@@ -25,6 +26,9 @@ public class JasperReportService {
     private static final String REPORTS_DIR = "reports/";
     private static final String OUTPUT_DIR = "reports/output/";
     
+    private static final Metrics.Timer PAYSLIP_TIMER = Metrics.timer("motorph_report_generation_seconds",
+            "Time to generate a report", "report", "payslip");
+    
     public JasperReportService() {
         // Ensure output directory exists
         createOutputDirectory();
@@ -39,8 +43,9 @@ public class JasperReportService {
      * @param filePath Output file path
      * @return File object of generated PDF
      */
+    @SuppressWarnings("try")
     public File generatePayslipPDF(Employee employee, Payroll payroll, String filePath) {
-        try {
+        try (Metrics.Sample ignored = PAYSLIP_TIMER.start()) {
             LOGGER.info("Generating MotorPH professional payslip for: " + employee.getFullName());
             
             // Create professional payslip content
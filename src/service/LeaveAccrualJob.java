@@ -0,0 +1,126 @@
+package service;
+
+import dao.LeaveBalanceDAO;
+import model.LeaveRequest;
+import util.ConfigurationManager;
+import util.SchemaProbe;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Nightly leave accrual.
+ * Tops every tracked leave balance up to its entitlement through the current month, so
+ * balances grow by one twelfth of the yearly entitlement each month without re-reading any
+ * leave history. The job catches up once at startup and then runs daily at leave.accrual.hour;
+ * accrual is idempotent, so a missed night or several running instances are harmless.
+ */
+public class LeaveAccrualJob {
+    private static final Logger LOGGER = Logger.getLogger(LeaveAccrualJob.class.getName());
+
+    private static volatile LeaveAccrualJob instance;
+
+    private final LeaveBalanceDAO leaveBalanceDAO;
+    private final Supplier<LocalDate> today;
+    private ScheduledExecutorService scheduler;
+
+    public LeaveAccrualJob(LeaveBalanceDAO leaveBalanceDAO, Supplier<LocalDate> today) {
+        this.leaveBalanceDAO = leaveBalanceDAO;
+        this.today = today;
+    }
+
+    public static LeaveAccrualJob getInstance() {
+        LeaveAccrualJob local = instance;
+        if (local == null) {
+            synchronized (LeaveAccrualJob.class) {
+                local = instance;
+                if (local == null) {
+                    local = new LeaveAccrualJob(new LeaveBalanceDAO(), LocalDate::now);
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * Runs a catch-up accrual in the background now and schedules the nightly run.
+     * Safe to call more than once.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "leave-accrual");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        int hour = Math.max(0, Math.min(23, ConfigurationManager.getInstance().getLeaveAccrualHour()));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime nextRun = now.toLocalDate().atTime(hour, 0);
+        if (!nextRun.isAfter(now)) {
+            nextRun = nextRun.plusDays(1);
+        }
+
+        scheduler.execute(this::runQuietly);
+        scheduler.scheduleAtFixedRate(this::runQuietly, Duration.between(now, nextRun).toMillis(),
+                TimeUnit.DAYS.toMillis(1), TimeUnit.MILLISECONDS);
+        LOGGER.info("🗓️ Leave accrual scheduled daily at " + String.format("%02d:00", hour));
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Accrues every tracked balance through the current month
+     * @return Number of balances that accrued
+     */
+    public int runNow() {
+        LocalDate date = today.get();
+        int accrued = leaveBalanceDAO.accrueThrough(date.getYear(), date.getMonthValue(), getEntitlements());
+        if (accrued > 0) {
+            LOGGER.info(String.format("✅ Leave accrued through %s %d for %d balances", date.getMonth(), date.getYear(), accrued));
+        }
+        return accrued;
+    }
+
+    /**
+     * Yearly entitlement of each tracked leave type
+     */
+    public static Map<String, Integer> getEntitlements() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        Map<String, Integer> entitlements = new LinkedHashMap<>();
+        entitlements.put(LeaveRequest.ANNUAL_LEAVE, config.getMaxLeaveDaysPerYear());
+        entitlements.put(LeaveRequest.SICK_LEAVE, config.getSickLeaveDaysPerYear());
+        entitlements.put(LeaveRequest.EMERGENCY_LEAVE, config.getEmergencyLeaveDaysPerYear());
+        return entitlements;
+    }
+
+    private void runQuietly() {
+        SchemaProbe.Snapshot schema = SchemaProbe.getInstance().getSnapshot();
+        if (!schema.isConnected() || schema.isTableMissing("leave_balance")) {
+            LOGGER.fine("Leave accrual skipped - leave_balance is not available");
+            return;
+        }
+        try {
+            runNow();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "⚠️ Leave accrual failed; it will be retried on the next run", e);
+        }
+    }
+}
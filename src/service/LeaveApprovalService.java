@@ -0,0 +1,215 @@
+package service;
+
+import dao.LeaveRequestDAO;
+import model.AuditEvent;
+import model.LeaveApprovalResult;
+import model.LeaveRequest;
+import util.AuditTrail;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Bulk approval of leave requests.
+ * All pending requests of a window are loaded in one query, the approved leaves they could
+ * collide with in a second, and overlaps are found in memory with a per-employee sorted sweep.
+ * Every approval and rejection is then written in one batched transaction, replacing one
+ * hasOverlappingLeave query and one updateLeaveStatus call per request.
+ *
+ * Overlap rules: a request that overlaps an already approved leave is never approved. Among
+ * pending requests of the same employee that overlap each other, the one starting first wins
+ * (ties go to the lower leave ID). Conflicting requests stay pending and are reported.
+ */
+public class LeaveApprovalService {
+    private static final Logger LOGGER = Logger.getLogger(LeaveApprovalService.class.getName());
+
+    private final LeaveRequestDAO leaveRequestDAO;
+
+    public LeaveApprovalService() {
+        this(new LeaveRequestDAO());
+    }
+
+    public LeaveApprovalService(LeaveRequestDAO leaveRequestDAO) {
+        this.leaveRequestDAO = leaveRequestDAO;
+    }
+
+    /**
+     * Approves and rejects pending requests of a window in one operation
+     * @param windowStart First day of the window
+     * @param windowEnd Last day of the window
+     * @param approveIds Requests to approve, or null to approve every pending request in the window
+     * @param rejectIds Requests to reject (may be empty)
+     * @return Approved, rejected, conflicting and skipped requests
+     */
+    public LeaveApprovalResult process(LocalDate windowStart, LocalDate windowEnd,
+                                       Collection<Integer> approveIds, Collection<Integer> rejectIds) {
+        long started = System.currentTimeMillis();
+        LeaveApprovalResult result = new LeaveApprovalResult();
+
+        List<LeaveRequest> pending = leaveRequestDAO.getLeaveRequestsByStatusInWindow(
+                LeaveRequest.STATUS_PENDING, windowStart, windowEnd);
+        Map<Integer, LeaveRequest> pendingById = new HashMap<>();
+        for (LeaveRequest request : pending) {
+            pendingById.put(request.getLeaveId(), request);
+        }
+
+        Set<Integer> rejectSet = rejectIds == null ? new HashSet<>() : new HashSet<>(rejectIds);
+        List<LeaveRequest> candidates = new ArrayList<>();
+        if (approveIds == null) {
+            for (LeaveRequest request : pending) {
+                if (!rejectSet.contains(request.getLeaveId())) {
+                    candidates.add(request);
+                }
+            }
+        } else {
+            for (Integer leaveId : new LinkedHashSet<>(approveIds)) {
+                LeaveRequest request = pendingById.get(leaveId);
+                if (request == null || rejectSet.contains(leaveId)) {
+                    result.addSkipped(leaveId);
+                } else {
+                    candidates.add(request);
+                }
+            }
+        }
+
+        // Approved leaves anywhere within the span of the candidates can collide with them
+        List<LeaveRequest> approved = candidates.isEmpty() ? new ArrayList<>()
+                : leaveRequestDAO.getLeaveRequestsByStatusInWindow(LeaveRequest.STATUS_APPROVED,
+                        candidates.stream().map(LeaveRequest::getStartDateAsLocalDate).min(Comparator.naturalOrder()).get(),
+                        candidates.stream().map(LeaveRequest::getEndDateAsLocalDate).max(Comparator.naturalOrder()).get());
+
+        Map<Integer, LeaveRequest> conflicts = findConflicts(approved, candidates);
+
+        Map<Integer, String> decisions = new LinkedHashMap<>();
+        for (LeaveRequest request : candidates) {
+            LeaveRequest conflictingWith = conflicts.get(request.getLeaveId());
+            if (conflictingWith != null) {
+                result.addConflict(new LeaveApprovalResult.Conflict(request, conflictingWith));
+            } else {
+                decisions.put(request.getLeaveId(), LeaveRequest.STATUS_APPROVED);
+            }
+        }
+        for (Integer leaveId : rejectSet) {
+            if (pendingById.containsKey(leaveId)) {
+                decisions.put(leaveId, LeaveRequest.STATUS_REJECTED);
+            } else {
+                result.addSkipped(leaveId);
+            }
+        }
+
+        Set<Integer> notUpdated = new HashSet<>(leaveRequestDAO.updatePendingStatusBatch(decisions));
+        for (Map.Entry<Integer, String> decision : decisions.entrySet()) {
+            if (notUpdated.contains(decision.getKey())) {
+                result.addSkipped(decision.getKey());
+            } else if (LeaveRequest.STATUS_APPROVED.equals(decision.getValue())) {
+                result.addApproved(decision.getKey());
+            } else {
+                result.addRejected(decision.getKey());
+            }
+        }
+
+        result.setElapsedMillis(System.currentTimeMillis() - started);
+        if (!decisions.isEmpty()) {
+            AuditTrail.getInstance().record(AuditEvent.ACTION_BULK_DECISION, AuditEvent.ENTITY_LEAVE_REQUEST,
+                    windowStart + ".." + windowEnd, result.getSummary());
+        }
+        LOGGER.info("✅ Bulk leave approval for " + windowStart + " to " + windowEnd + " - " + result.getSummary());
+        return result;
+    }
+
+    /**
+     * Finds the candidates that cannot be approved.
+     * Per employee, approved leaves are sorted by start with a running maximum of their end
+     * dates, so a candidate overlaps an approved leave if the last approved leave starting on or
+     * before the candidate's end has a running maximum end on or after the candidate's start
+     * (binary search). Remaining candidates are swept in start order, keeping the accepted
+     * candidate that reaches furthest; a candidate starting on or before that end overlaps it.
+     * @param approved Already approved leaves
+     * @param candidates Pending requests to approve
+     * @return Leave ID of each conflicting candidate to the leave it overlaps
+     */
+    public static Map<Integer, LeaveRequest> findConflicts(List<LeaveRequest> approved, List<LeaveRequest> candidates) {
+        Map<Integer, List<LeaveRequest>> approvedByEmployee = groupByEmployee(approved);
+        Map<Integer, List<LeaveRequest>> candidatesByEmployee = groupByEmployee(candidates);
+        Map<Integer, LeaveRequest> conflicts = new HashMap<>();
+
+        for (Map.Entry<Integer, List<LeaveRequest>> entry : candidatesByEmployee.entrySet()) {
+            List<LeaveRequest> fixed = approvedByEmployee.getOrDefault(entry.getKey(), new ArrayList<>());
+            int size = fixed.size();
+            long[] fixedStarts = new long[size];
+            int[] furthestIndex = new int[size];
+            for (int i = 0; i < size; i++) {
+                fixedStarts[i] = startDay(fixed.get(i));
+                furthestIndex[i] = (i > 0 && endDay(fixed.get(furthestIndex[i - 1])) >= endDay(fixed.get(i)))
+                        ? furthestIndex[i - 1] : i;
+            }
+
+            LeaveRequest furthestAccepted = null;
+            for (LeaveRequest candidate : entry.getValue()) {
+                long start = startDay(candidate);
+                long end = endDay(candidate);
+
+                int last = lastStartingOnOrBefore(fixedStarts, end);
+                if (last >= 0 && endDay(fixed.get(furthestIndex[last])) >= start) {
+                    conflicts.put(candidate.getLeaveId(), fixed.get(furthestIndex[last]));
+                    continue;
+                }
+                if (furthestAccepted != null && endDay(furthestAccepted) >= start) {
+                    conflicts.put(candidate.getLeaveId(), furthestAccepted);
+                    continue;
+                }
+                if (furthestAccepted == null || end > endDay(furthestAccepted)) {
+                    furthestAccepted = candidate;
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    private static Map<Integer, List<LeaveRequest>> groupByEmployee(List<LeaveRequest> requests) {
+        Map<Integer, List<LeaveRequest>> grouped = new HashMap<>();
+        for (LeaveRequest request : requests) {
+            grouped.computeIfAbsent(request.getEmployeeId(), id -> new ArrayList<>()).add(request);
+        }
+        Comparator<LeaveRequest> order = Comparator.comparingLong(LeaveApprovalService::startDay)
+                .thenComparingInt(LeaveRequest::getLeaveId);
+        for (List<LeaveRequest> list : grouped.values()) {
+            list.sort(order);
+        }
+        return grouped;
+    }
+
+    private static int lastStartingOnOrBefore(long[] starts, long day) {
+        int low = 0;
+        int high = starts.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] <= day) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private static long startDay(LeaveRequest request) {
+        return request.getStartDate().toLocalDate().toEpochDay();
+    }
+
+    private static long endDay(LeaveRequest request) {
+        return request.getEndDate().toLocalDate().toEpochDay();
+    }
+}
@@ -0,0 +1,181 @@
+package service;
+
+import dao.OvertimeDAO;
+import model.AuditEvent;
+import model.Overtime;
+import model.OvertimeApprovalResult;
+import util.AuditTrail;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Manager approval queue for overtime.
+ * The pending overtime of a window is loaded in one query, and every approval and rejection
+ * is written in one batched transaction instead of one update per row. Approved hours are
+ * summed per employee and month by database triggers, which PayrollCalculator reads once
+ * per pay run.
+ *
+ * When approving, the hours being approved are added up per employee and day, on top of the
+ * hours already approved for that day (read for the whole window in one query); if a day
+ * exceeds Overtime.MAX_HOURS_PER_DAY, that day's rows are flagged and left pending for the
+ * manager to decide individually.
+ */
+public class OvertimeApprovalService {
+    private static final Logger LOGGER = Logger.getLogger(OvertimeApprovalService.class.getName());
+
+    private final OvertimeDAO overtimeDAO;
+
+    public OvertimeApprovalService() {
+        this(new OvertimeDAO());
+    }
+
+    public OvertimeApprovalService(OvertimeDAO overtimeDAO) {
+        this.overtimeDAO = overtimeDAO;
+    }
+
+    /**
+     * @return Pending overtime of a window, oldest first
+     */
+    public List<Overtime> getQueue(LocalDate windowStart, LocalDate windowEnd) {
+        return overtimeDAO.getPendingOvertime(windowStart, windowEnd);
+    }
+
+    /**
+     * Approves and rejects pending overtime of a window in one operation
+     * @param windowStart First overtime date of the window
+     * @param windowEnd Last overtime date of the window
+     * @param approveIds Records to approve, or null to approve every pending record in the window
+     * @param rejectIds Records to reject (may be empty)
+     * @param decidedBy Employee ID of the approving manager, or null
+     * @return Approved, rejected, flagged and skipped records
+     */
+    public OvertimeApprovalResult process(LocalDate windowStart, LocalDate windowEnd,
+                                          Collection<Integer> approveIds, Collection<Integer> rejectIds,
+                                          Integer decidedBy) {
+        long started = System.currentTimeMillis();
+        OvertimeApprovalResult result = new OvertimeApprovalResult();
+
+        List<Overtime> pending = overtimeDAO.getPendingOvertime(windowStart, windowEnd);
+        Map<Integer, Overtime> pendingById = new HashMap<>();
+        for (Overtime overtime : pending) {
+            pendingById.put(overtime.getOvertimeId(), overtime);
+        }
+
+        Set<Integer> rejectSet = rejectIds == null ? new HashSet<>() : new HashSet<>(rejectIds);
+        List<Overtime> candidates = new ArrayList<>();
+        if (approveIds == null) {
+            for (Overtime overtime : pending) {
+                if (!rejectSet.contains(overtime.getOvertimeId())) {
+                    candidates.add(overtime);
+                }
+            }
+        } else {
+            for (Integer overtimeId : new LinkedHashSet<>(approveIds)) {
+                Overtime overtime = pendingById.get(overtimeId);
+                if (overtime == null || rejectSet.contains(overtimeId)) {
+                    result.addSkipped(overtimeId);
+                } else {
+                    candidates.add(overtime);
+                }
+            }
+        }
+
+        Map<Integer, Map<LocalDate, Double>> approvedHours = candidates.isEmpty() ? new HashMap<>()
+                : overtimeDAO.getApprovedHoursByEmployeeDay(windowStart, windowEnd);
+        Set<Integer> overLimit = findOverDailyLimit(candidates, approvedHours, Overtime.MAX_HOURS_PER_DAY);
+
+        Map<Integer, Boolean> decisions = new LinkedHashMap<>();
+        for (Overtime overtime : candidates) {
+            if (overLimit.contains(overtime.getOvertimeId())) {
+                result.addFlagged(overtime);
+            } else {
+                decisions.put(overtime.getOvertimeId(), Boolean.TRUE);
+            }
+        }
+        for (Integer overtimeId : rejectSet) {
+            if (pendingById.containsKey(overtimeId)) {
+                decisions.put(overtimeId, Boolean.FALSE);
+            } else {
+                result.addSkipped(overtimeId);
+            }
+        }
+
+        Set<Integer> notUpdated = new HashSet<>(overtimeDAO.decidePendingBatch(decisions, decidedBy));
+        for (Map.Entry<Integer, Boolean> decision : decisions.entrySet()) {
+            if (notUpdated.contains(decision.getKey())) {
+                result.addSkipped(decision.getKey());
+            } else if (decision.getValue()) {
+                result.addApproved(pendingById.get(decision.getKey()));
+            } else {
+                result.addRejected(decision.getKey());
+            }
+        }
+
+        result.setElapsedMillis(System.currentTimeMillis() - started);
+        if (!decisions.isEmpty()) {
+            AuditTrail.getInstance().record(AuditEvent.ACTION_BULK_DECISION, AuditEvent.ENTITY_OVERTIME,
+                    windowStart + ".." + windowEnd, result.getSummary());
+        }
+        LOGGER.info("✅ Bulk overtime approval for " + windowStart + " to " + windowEnd + " - " + result.getSummary());
+        return result;
+    }
+
+    /**
+     * Finds the records whose employee would work more than the daily limit on their date,
+     * or that exceed it on their own
+     * @param candidates Records to approve
+     * @param maxHoursPerDay Daily overtime limit
+     * @return IDs of every record on an employee-day over the limit
+     */
+    public static Set<Integer> findOverDailyLimit(List<Overtime> candidates, double maxHoursPerDay) {
+        return findOverDailyLimit(candidates, new HashMap<>(), maxHoursPerDay);
+    }
+
+    /**
+     * Finds the records whose employee would work more than the daily limit on their date,
+     * counting the hours already approved for that day, or that exceed it on their own
+     * @param candidates Records to approve
+     * @param approvedHours Employee ID to date to hours already approved
+     * @param maxHoursPerDay Daily overtime limit
+     * @return IDs of every record on an employee-day over the limit
+     */
+    public static Set<Integer> findOverDailyLimit(List<Overtime> candidates,
+                                                  Map<Integer, Map<LocalDate, Double>> approvedHours,
+                                                  double maxHoursPerDay) {
+        Map<String, Double> hoursPerDay = new HashMap<>();
+        for (Map.Entry<Integer, Map<LocalDate, Double>> employee : approvedHours.entrySet()) {
+            for (Map.Entry<LocalDate, Double> day : employee.getValue().entrySet()) {
+                hoursPerDay.put(dayKey(employee.getKey(), day.getKey()), day.getValue());
+            }
+        }
+        for (Overtime overtime : candidates) {
+            hoursPerDay.merge(dayKey(overtime), overtime.getHours(), Double::sum);
+        }
+
+        Set<Integer> overLimit = new HashSet<>();
+        for (Overtime overtime : candidates) {
+            if (!overtime.isValidOvertimeHours() || hoursPerDay.get(dayKey(overtime)) > maxHoursPerDay) {
+                overLimit.add(overtime.getOvertimeId());
+            }
+        }
+        return overLimit;
+    }
+
+    private static String dayKey(Overtime overtime) {
+        return dayKey(overtime.getEmployeeId(), overtime.getDateAsLocalDate());
+    }
+
+    private static String dayKey(int employeeId, LocalDate date) {
+        return employeeId + "@" + date;
+    }
+}
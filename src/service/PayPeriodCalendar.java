@@ -0,0 +1,146 @@
+package service;
+
+import model.PayFrequency;
+import model.PayPeriod;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pay period calendar.
+ * Monthly periods are calendar months, semi-monthly periods are the 1st to the 15th and the
+ * 16th to the end of the month, and weekly periods run Monday to Sunday. A period belongs to
+ * the month and year of its end date, so a week spanning two months counts in the second.
+ * Monthly amounts are split evenly across the periods ending in the month, with the rounding
+ * left on the last one so the month always adds up.
+ */
+public final class PayPeriodCalendar {
+
+    private static final DayOfWeek WEEK_START = DayOfWeek.MONDAY;
+    private static final DayOfWeek WEEK_END = DayOfWeek.SUNDAY;
+
+    private PayPeriodCalendar() {
+    }
+
+    /**
+     * Period of a frequency that contains a date
+     */
+    public static PayPeriod periodContaining(PayFrequency frequency, LocalDate date) {
+        switch (frequency) {
+            case SEMI_MONTHLY:
+                return date.getDayOfMonth() <= 15
+                        ? new PayPeriod(frequency, date.withDayOfMonth(1), date.withDayOfMonth(15))
+                        : new PayPeriod(frequency, date.withDayOfMonth(16), date.with(TemporalAdjusters.lastDayOfMonth()));
+            case WEEKLY:
+                LocalDate start = date.with(TemporalAdjusters.previousOrSame(WEEK_START));
+                return new PayPeriod(frequency, start, start.plusDays(6));
+            default:
+                return new PayPeriod(frequency, date.withDayOfMonth(1), date.with(TemporalAdjusters.lastDayOfMonth()));
+        }
+    }
+
+    /**
+     * Latest period of a frequency that has ended by a date, i.e. the one due for payment
+     */
+    public static PayPeriod latestClosedPeriod(PayFrequency frequency, LocalDate date) {
+        PayPeriod period = periodContaining(frequency, date);
+        return period.getEnd().equals(date) ? period : periodContaining(frequency, period.getStart().minusDays(1));
+    }
+
+    /**
+     * Periods of a frequency ending in a month, in order
+     */
+    public static List<PayPeriod> periodsInMonth(PayFrequency frequency, int year, int month) {
+        LocalDate monthEnd = LocalDate.of(year, month, 1).with(TemporalAdjusters.lastDayOfMonth());
+        List<PayPeriod> periods = new ArrayList<>();
+        PayPeriod period = periodContaining(frequency, monthEnd);
+        if (!period.getEnd().equals(monthEnd)) {
+            period = periodContaining(frequency, period.getStart().minusDays(1));
+        }
+        while (period.getEnd().getMonthValue() == month && period.getEnd().getYear() == year) {
+            periods.add(0, period);
+            period = periodContaining(frequency, period.getStart().minusDays(1));
+        }
+        return periods;
+    }
+
+    /**
+     * Recognizes a calendar period from its dates
+     * @return The period, or null for a date range that is not a period of any frequency
+     */
+    public static PayPeriod fromDates(LocalDate start, LocalDate end) {
+        for (PayFrequency frequency : PayFrequency.values()) {
+            PayPeriod period = periodContaining(frequency, start);
+            if (period.getStart().equals(start) && period.getEnd().equals(end)) {
+                return period;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Number of periods of the period's frequency that end in its month
+     */
+    public static int periodsInMonthOf(PayPeriod period) {
+        LocalDate end = period.getEnd();
+        switch (period.getFrequency()) {
+            case SEMI_MONTHLY:
+                return 2;
+            case WEEKLY:
+                LocalDate lastWeekEnd = end.with(TemporalAdjusters.lastInMonth(WEEK_END));
+                return (lastWeekEnd.getDayOfMonth() + 6) / 7;
+            default:
+                return 1;
+        }
+    }
+
+    /**
+     * 1-based position of a period among the periods ending in its month
+     */
+    public static int indexInMonth(PayPeriod period) {
+        switch (period.getFrequency()) {
+            case SEMI_MONTHLY:
+                return period.getEnd().getDayOfMonth() <= 15 ? 1 : 2;
+            case WEEKLY:
+                return (period.getEnd().getDayOfMonth() + 6) / 7;
+            default:
+                return 1;
+        }
+    }
+
+    /**
+     * Periods of the same frequency left in the tax year after this one
+     */
+    public static int remainingPeriodsInYear(PayPeriod period) {
+        LocalDate end = period.getEnd();
+        switch (period.getFrequency()) {
+            case SEMI_MONTHLY:
+                return (12 - end.getMonthValue()) * 2 + (indexInMonth(period) == 1 ? 1 : 0);
+            case WEEKLY:
+                LocalDate lastWeekEnd = end.with(TemporalAdjusters.lastDayOfYear())
+                        .with(TemporalAdjusters.previousOrSame(WEEK_END));
+                return (int) ((lastWeekEnd.toEpochDay() - end.toEpochDay()) / 7);
+            default:
+                return 12 - end.getMonthValue();
+        }
+    }
+
+    /**
+     * Share of a monthly amount that falls in a period. The last period of the month takes
+     * the rounding remainder, so the shares of a month add up to the amount exactly.
+     */
+    public static double splitMonthlyAmount(double monthlyAmount, PayPeriod period) {
+        int periods = periodsInMonthOf(period);
+        if (periods == 1) {
+            return monthlyAmount;
+        }
+        double share = Math.round(monthlyAmount * 100.0 / periods) / 100.0;
+        if (indexInMonth(period) < periods) {
+            return share;
+        }
+        return Math.round((monthlyAmount - share * (periods - 1)) * 100.0) / 100.0;
+    }
+}
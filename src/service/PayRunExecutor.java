@@ -0,0 +1,277 @@
+package service;
+
+import dao.PayRunDAO;
+import dao.PayrollPartitionDAO;
+import model.Employee;
+import model.PayRun;
+import model.PayRunPartition;
+import model.Payroll;
+import util.ConfigurationManager;
+
+import java.net.InetAddress;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Calculates draft pay runs cooperatively across workstations and headless workers.
+ * A run is split into partitions of consecutive employee IDs in payroll_run_partition;
+ * every participant claims pending partitions until none are left, keeping a heartbeat on
+ * the one it holds. A partition whose heartbeat stops is taken over by the next claimer, and
+ * its rows are only stored by the worker that still holds the claim, so a crashed or stalled
+ * machine delays a run but never leaves it half written or writes an employee twice.
+ */
+public class PayRunExecutor {
+    private static final Logger LOGGER = Logger.getLogger(PayRunExecutor.class.getName());
+    private static final long WAIT_MILLIS = 1000;
+
+    /**
+     * Employees paid in a period: those of the period's pay frequency, or everyone
+     */
+    public interface EmployeeSelector {
+        List<Employee> employeesPaidIn(LocalDate periodStart, LocalDate periodEnd);
+    }
+
+    private final PayRunDAO payRunDAO;
+    private final PayrollPartitionDAO partitionDAO;
+    private final PayrollCalculator payrollCalculator;
+    private final EmployeeSelector employeeSelector;
+    private final int partitionSize;
+    private final int heartbeatSeconds;
+    private final int staleSeconds;
+    private final int maxAttempts;
+    private final String workerId;
+
+    private volatile ScheduledExecutorService heartbeats;
+
+    public PayRunExecutor(PayRunDAO payRunDAO, PayrollCalculator payrollCalculator, EmployeeSelector employeeSelector) {
+        this(payRunDAO, new PayrollPartitionDAO(), payrollCalculator, employeeSelector, ConfigurationManager.getInstance());
+    }
+
+    public PayRunExecutor(PayRunDAO payRunDAO, PayrollPartitionDAO partitionDAO, PayrollCalculator payrollCalculator,
+                          EmployeeSelector employeeSelector, ConfigurationManager config) {
+        this.payRunDAO = payRunDAO;
+        this.partitionDAO = partitionDAO;
+        this.payrollCalculator = payrollCalculator;
+        this.employeeSelector = employeeSelector;
+        this.partitionSize = Math.max(1, config.getPayRunPartitionSize());
+        this.heartbeatSeconds = Math.max(1, config.getPayRunHeartbeatSeconds());
+        // A claim must survive a few missed heartbeats before it is taken over
+        this.staleSeconds = Math.max(heartbeatSeconds * 3, config.getPayRunStaleSeconds());
+        this.maxAttempts = Math.max(1, config.getPayRunMaxAttempts());
+        this.workerId = hostName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * @return true if the partition table exists; without it runs are calculated in one piece
+     */
+    public boolean isAvailable() {
+        return partitionDAO.isAvailable();
+    }
+
+    /**
+     * Calculates a draft run: plans its partitions unless another participant already has,
+     * works on them until none is left to claim, and waits for the ones others hold.
+     * The caller preloads the period.
+     * @param employees Employees paid in the run, used to plan the partitions
+     * @return The run with its totals once every partition is done
+     * @throws IllegalStateException if a partition failed on every attempt
+     */
+    public PayRun calculate(PayRun run, List<Employee> employees) {
+        List<Integer> employeeIds = new ArrayList<>();
+        for (Employee employee : employees) {
+            employeeIds.add(employee.getEmployeeId());
+        }
+        employeeIds.sort(null);
+
+        if (!partitionDAO.plan(run.getRunId(), partition(employeeIds, partitionSize))) {
+            LOGGER.info("🤝 Joining the calculation of pay run " + run.getRunId() + " in progress");
+        }
+
+        Map<Integer, List<Employee>> employeesByRun = new HashMap<>();
+        employeesByRun.put(run.getRunId(), employees);
+        while (true) {
+            Optional<PayRunPartition> claimed = partitionDAO.claim(run.getRunId(), workerId, staleSeconds);
+            if (claimed.isPresent()) {
+                process(claimed.get(), employeesByRun.get(run.getRunId()));
+                continue;
+            }
+
+            Map<PayRunPartition.Status, Integer> progress = partitionDAO.getProgress(run.getRunId());
+            if (progress.getOrDefault(PayRunPartition.Status.FAILED, 0) > 0) {
+                throw new IllegalStateException(progress.get(PayRunPartition.Status.FAILED) + " partition(s) of pay run " +
+                        run.getRunId() + " failed " + maxAttempts + " times; see the log, then calculate the run again");
+            }
+            if (progress.getOrDefault(PayRunPartition.Status.RUNNING, 0) == 0
+                    && progress.getOrDefault(PayRunPartition.Status.PENDING, 0) == 0) {
+                partitionDAO.finish(run.getRunId());
+                return payRunDAO.getRunById(run.getRunId())
+                        .orElseThrow(() -> new IllegalStateException("Pay run " + run.getRunId() + " no longer exists"));
+            }
+
+            // Others hold the remaining partitions; wait for them or for their claims to go stale
+            sleep(WAIT_MILLIS);
+        }
+    }
+
+    /**
+     * Works on the open partitions of any run until none is left to claim; used by headless workers
+     * @return Number of partitions this worker completed
+     */
+    public int workAvailable() {
+        Map<Integer, List<Employee>> employeesByRun = new HashMap<>();
+        Map<Integer, PayRun> runs = new HashMap<>();
+        int completed = 0;
+        try {
+            Optional<PayRunPartition> claimed;
+            while ((claimed = partitionDAO.claim(null, workerId, staleSeconds)).isPresent()) {
+                PayRunPartition partition = claimed.get();
+                PayRun run = runs.computeIfAbsent(partition.getRunId(), runId -> {
+                    PayRun found = payRunDAO.getRunById(runId).orElse(null);
+                    if (found != null) {
+                        payrollCalculator.preloadPeriod(found.getPeriodStartAsLocalDate(), found.getPeriodEndAsLocalDate());
+                    }
+                    return found;
+                });
+                if (run == null) {
+                    continue;
+                }
+                List<Employee> employees = employeesByRun.computeIfAbsent(partition.getRunId(),
+                        runId -> employeeSelector.employeesPaidIn(run.getPeriodStartAsLocalDate(), run.getPeriodEndAsLocalDate()));
+                if (process(partition, employees)) {
+                    completed++;
+                }
+            }
+            for (Integer runId : runs.keySet()) {
+                partitionDAO.finish(runId);
+            }
+            return completed;
+        } finally {
+            if (!runs.isEmpty()) {
+                payrollCalculator.clearPreloadedPeriod();
+            }
+        }
+    }
+
+    /**
+     * @return true if a calculation of the run still has partitions to do
+     */
+    public boolean isCalculating(int runId) {
+        Map<PayRunPartition.Status, Integer> progress = partitionDAO.getProgress(runId);
+        return progress.getOrDefault(PayRunPartition.Status.PENDING, 0) > 0
+                || progress.getOrDefault(PayRunPartition.Status.RUNNING, 0) > 0;
+    }
+
+    /**
+     * Calculates and stores one claimed partition
+     * @return true if its rows were stored; false if it failed or the claim was lost
+     */
+    private boolean process(PayRunPartition partition, List<Employee> employees) {
+        PayRun run = payRunDAO.getRunById(partition.getRunId()).orElse(null);
+        if (run == null) {
+            return false;
+        }
+
+        AtomicBoolean lost = new AtomicBoolean();
+        ScheduledFuture<?> heartbeat = heartbeats().scheduleAtFixedRate(() -> {
+            try {
+                if (!partitionDAO.heartbeat(partition)) {
+                    lost.set(true);
+                }
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Heartbeat failed for " + partition, e);
+            }
+        }, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+
+        try {
+            List<Payroll> payrolls = new ArrayList<>();
+            for (Employee employee : employees) {
+                if (lost.get()) {
+                    break;
+                }
+                if (!partition.contains(employee.getEmployeeId())) {
+                    continue;
+                }
+                try {
+                    payrolls.add(payrollCalculator.calculatePayroll(employee.getEmployeeId(),
+                            run.getPeriodStartAsLocalDate(), run.getPeriodEndAsLocalDate()));
+                } catch (Exception e) {
+                    LOGGER.log(Level.WARNING, "Skipping employee " + employee.getEmployeeId() + " in pay run", e);
+                }
+            }
+
+            heartbeat.cancel(false);
+            if (lost.get() || !partitionDAO.complete(partition, payrolls)) {
+                LOGGER.warning("⚠️ Claim on " + partition + " was taken over; its results were discarded");
+                return false;
+            }
+            LOGGER.info(String.format("✅ %s stored %d employees of %s", workerId, payrolls.size(), partition));
+            return true;
+
+        } catch (RuntimeException e) {
+            heartbeat.cancel(false);
+            LOGGER.log(Level.SEVERE, "❌ " + partition + " failed", e);
+            try {
+                partitionDAO.release(partition, maxAttempts);
+            } catch (RuntimeException releaseFailure) {
+                // The claim goes stale and is taken over instead
+                LOGGER.log(Level.WARNING, "Could not release " + partition, releaseFailure);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Splits sorted employee IDs into ranges of at most the given size
+     * @return First and last employee ID of each range
+     */
+    public static List<int[]> partition(List<Integer> sortedEmployeeIds, int size) {
+        List<int[]> ranges = new ArrayList<>();
+        for (int start = 0; start < sortedEmployeeIds.size(); start += size) {
+            int end = Math.min(start + size, sortedEmployeeIds.size()) - 1;
+            ranges.add(new int[] {sortedEmployeeIds.get(start), sortedEmployeeIds.get(end)});
+        }
+        return ranges;
+    }
+
+    private synchronized ScheduledExecutorService heartbeats() {
+        if (heartbeats == null) {
+            heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "pay-run-heartbeat");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return heartbeats;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Pay run calculation was interrupted", e);
+        }
+    }
+
+    private static String hostName() {
+        try {
+            String name = InetAddress.getLocalHost().getHostName();
+            // claimed_by holds 100 characters
+            return name.length() > 80 ? name.substring(0, 80) : name;
+        } catch (Exception e) {
+            return "worker";
+        }
+    }
+}
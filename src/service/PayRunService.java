@@ -0,0 +1,314 @@
+package service;
+
+import dao.EmployeeDAO;
+import dao.PayFrequencyDAO;
+import dao.PayRunDAO;
+import model.Employee;
+import model.PayFrequency;
+import model.PayPeriod;
+import model.PayRun;
+import model.Payroll;
+import util.ConfigurationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Drives the pay run lifecycle (Draft -> Reviewed -> Approved -> Locked) and serves
+ * frozen payroll results for closed periods so reports and payslips stop recomputing.
+ * A pay run covers one period of one pay frequency and only the employees paid at it;
+ * the runs of every frequency due on a date can be calculated together, in parallel.
+ * Once payroll_run_partition exists, runs are calculated through PayRunExecutor so several
+ * workstations can share one and no two calculate the same employees.
+ */
+public class PayRunService {
+    private static final Logger LOGGER = Logger.getLogger(PayRunService.class.getName());
+
+    private final PayRunDAO payRunDAO;
+    private final EmployeeDAO employeeDAO;
+    private final PayrollCalculator payrollCalculator;
+    private final PayFrequencyDAO payFrequencyDAO;
+    private final PayRunExecutor payRunExecutor;
+
+    public PayRunService() {
+        this(new PayRunDAO(), new EmployeeDAO(), new PayrollCalculator());
+    }
+
+    public PayRunService(PayRunDAO payRunDAO, EmployeeDAO employeeDAO, PayrollCalculator payrollCalculator) {
+        this(payRunDAO, employeeDAO, payrollCalculator, new PayFrequencyDAO());
+    }
+
+    public PayRunService(PayRunDAO payRunDAO, EmployeeDAO employeeDAO, PayrollCalculator payrollCalculator,
+                         PayFrequencyDAO payFrequencyDAO) {
+        this.payRunDAO = payRunDAO;
+        this.employeeDAO = employeeDAO;
+        this.payrollCalculator = payrollCalculator;
+        this.payFrequencyDAO = payFrequencyDAO;
+        this.payRunExecutor = new PayRunExecutor(payRunDAO, payrollCalculator, this::employeesPaidIn);
+    }
+
+    /**
+     * Executor shared with headless workers that help calculate runs
+     */
+    public PayRunExecutor getExecutor() {
+        return payRunExecutor;
+    }
+
+    /**
+     * Calculates payroll for the employees paid in the period and stores it as its draft
+     * snapshot: the employees of the period's frequency, or everyone for an ad hoc date range.
+     * Re-running a draft (or a reopened reviewed run) replaces the previous draft rows.
+     * @param periodStart Period start date
+     * @param periodEnd Period end date
+     * @param createdBy Name of the user starting the run
+     * @return Draft pay run with refreshed totals
+     * @throws IllegalStateException if the period is already approved or locked
+     */
+    public PayRun calculateDraft(LocalDate periodStart, LocalDate periodEnd, String createdBy) {
+        List<Employee> employees = employeesPaidIn(periodStart, periodEnd);
+
+        payrollCalculator.preloadPeriod(periodStart, periodEnd);
+        try {
+            return calculateGroup(periodStart, periodEnd, employees, createdBy);
+        } finally {
+            payrollCalculator.clearPreloadedPeriod();
+        }
+    }
+
+    /**
+     * Calculates the draft runs of every pay frequency for the latest period each has closed
+     * by a date, one frequency per thread. Frequencies whose period is already approved or
+     * locked are skipped.
+     * @param payDate Date the periods are paid for, usually today
+     * @param createdBy Name of the user starting the runs
+     * @return Draft pay runs, one per frequency with employees
+     */
+    public List<PayRun> calculateDrafts(LocalDate payDate, String createdBy) {
+        Map<PayFrequency, List<Employee>> groups = groupByFrequency(employeeDAO.getAllEmployees());
+        if (groups.isEmpty()) {
+            return List.of();
+        }
+
+        int threads = Math.max(1, Math.min(groups.size(), ConfigurationManager.getInstance().getPayRunParallelism()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "pay-run");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<Future<PayRun>> futures = new ArrayList<>();
+        try {
+            for (Map.Entry<PayFrequency, List<Employee>> group : groups.entrySet()) {
+                PayPeriod period = PayPeriodCalendar.latestClosedPeriod(group.getKey(), payDate);
+                Optional<PayRun> existing = payRunDAO.getRunByPeriod(period.getStart(), period.getEnd());
+                if (existing.isPresent() && existing.get().isClosed()) {
+                    LOGGER.info("Skipping " + period + " - pay run is " + existing.get().getStatus());
+                    continue;
+                }
+                futures.add(executor.submit(() -> {
+                    payrollCalculator.preloadPeriod(period.getStart(), period.getEnd());
+                    return calculateGroup(period.getStart(), period.getEnd(), group.getValue(), createdBy);
+                }));
+            }
+
+            List<PayRun> runs = new ArrayList<>();
+            for (Future<PayRun> future : futures) {
+                runs.add(future.get());
+            }
+            return runs;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Pay run calculation was interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Pay run calculation failed: " + cause.getMessage(), cause);
+        } finally {
+            executor.shutdownNow();
+            payrollCalculator.clearPreloadedPeriod();
+        }
+    }
+
+    /**
+     * Employees of the period's pay frequency, or everyone for an ad hoc date range
+     */
+    List<Employee> employeesPaidIn(LocalDate periodStart, LocalDate periodEnd) {
+        PayPeriod period = PayPeriodCalendar.fromDates(periodStart, periodEnd);
+        return period != null
+                ? groupByFrequency(employeeDAO.getAllEmployees()).getOrDefault(period.getFrequency(), List.of())
+                : employeeDAO.getAllEmployees();
+    }
+
+    /**
+     * Splits employees by pay frequency; employees without one are on the default frequency
+     */
+    Map<PayFrequency, List<Employee>> groupByFrequency(List<Employee> employees) {
+        Map<Integer, PayFrequency> frequencies;
+        try {
+            frequencies = payFrequencyDAO.getFrequencies();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Pay frequencies unavailable, using the default for everyone", e);
+            frequencies = Map.of();
+        }
+        PayFrequency defaultFrequency = payFrequencyDAO.getDefaultFrequency();
+
+        Map<PayFrequency, List<Employee>> groups = new EnumMap<>(PayFrequency.class);
+        for (Employee employee : employees) {
+            PayFrequency frequency = frequencies.getOrDefault(employee.getEmployeeId(), defaultFrequency);
+            groups.computeIfAbsent(frequency, f -> new ArrayList<>()).add(employee);
+        }
+        return groups;
+    }
+
+    /**
+     * Calculates one group's payroll into the draft run of its period. The caller preloads the period.
+     */
+    private PayRun calculateGroup(LocalDate periodStart, LocalDate periodEnd, List<Employee> employees, String createdBy) {
+        PayRun run = payRunDAO.getRunByPeriod(periodStart, periodEnd).orElse(null);
+
+        if (run == null) {
+            run = new PayRun(periodStart, periodEnd, createdBy);
+            try {
+                payRunDAO.createRun(run);
+            } catch (RuntimeException e) {
+                // Another workstation created the period's run first; calculate it together
+                run = payRunDAO.getRunByPeriod(periodStart, periodEnd).orElseThrow(() -> e);
+            }
+        }
+
+        if (run.isClosed()) {
+            throw new IllegalStateException("Pay run for " + periodStart + " to " + periodEnd +
+                    " is " + run.getStatus() + " and can no longer be recalculated");
+        } else if (run.getStatus() == PayRun.Status.REVIEWED) {
+            payRunDAO.transitionStatus(run.getRunId(), PayRun.Status.REVIEWED, PayRun.Status.DRAFT, createdBy);
+        }
+
+        if (payRunExecutor.isAvailable()) {
+            return payRunExecutor.calculate(run, employees);
+        }
+
+        if (employees.isEmpty()) {
+            LOGGER.warning("No employees are paid in " + periodStart + " to " + periodEnd + "; the pay run is empty");
+        }
+
+        List<Payroll> payrolls = new ArrayList<>();
+        for (Employee employee : employees) {
+            try {
+                payrolls.add(payrollCalculator.calculatePayroll(employee.getEmployeeId(), periodStart, periodEnd));
+            } catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Skipping employee " + employee.getEmployeeId() + " in pay run", e);
+            }
+        }
+
+        payRunDAO.replaceSnapshot(run.getRunId(), payrolls);
+        return getRun(run.getRunId());
+    }
+
+    /**
+     * Marks a draft pay run as reviewed
+     */
+    public PayRun markReviewed(int runId, String reviewer) {
+        if (payRunExecutor.isAvailable() && payRunExecutor.isCalculating(runId)) {
+            throw new IllegalStateException("Pay run " + runId + " is still being calculated");
+        }
+        return transition(runId, PayRun.Status.DRAFT, PayRun.Status.REVIEWED, reviewer);
+    }
+
+    /**
+     * Approves a reviewed pay run. From this point its snapshot is read-only.
+     */
+    public PayRun approve(int runId, String approver) {
+        return transition(runId, PayRun.Status.REVIEWED, PayRun.Status.APPROVED, approver);
+    }
+
+    /**
+     * Locks an approved pay run, closing the period for good
+     */
+    public PayRun lock(int runId, String lockedBy) {
+        return transition(runId, PayRun.Status.APPROVED, PayRun.Status.LOCKED, lockedBy);
+    }
+
+    public PayRun getRun(int runId) {
+        return payRunDAO.getRunById(runId)
+                .orElseThrow(() -> new IllegalArgumentException("Pay run not found: " + runId));
+    }
+
+    public Optional<PayRun> findRunById(int runId) {
+        return payRunDAO.getRunById(runId);
+    }
+
+    public Optional<PayRun> findRun(LocalDate periodStart, LocalDate periodEnd) {
+        return payRunDAO.getRunByPeriod(periodStart, periodEnd);
+    }
+
+    public List<PayRun> getRecentRuns(int limit) {
+        return payRunDAO.getRecentRuns(limit);
+    }
+
+    public List<Payroll> getSnapshot(int runId) {
+        return payRunDAO.getSnapshot(runId);
+    }
+
+    /**
+     * Returns the frozen payroll of a closed (approved or locked) period
+     * @return Snapshot rows, or empty if the period is still open
+     */
+    public Optional<List<Payroll>> getClosedPayrolls(LocalDate periodStart, LocalDate periodEnd) {
+        Optional<PayRun> run = findClosedRun(periodStart, periodEnd);
+        if (run.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(payRunDAO.getSnapshot(run.get().getRunId()));
+    }
+
+    /**
+     * Returns an employee's payroll for a period: the frozen row when the period is
+     * closed, otherwise a live calculation.
+     */
+    public Payroll getPayrollForEmployee(int employeeId, LocalDate periodStart, LocalDate periodEnd)
+            throws PayrollCalculator.PayrollCalculationException {
+        Optional<PayRun> run = findClosedRun(periodStart, periodEnd);
+        if (run.isPresent()) {
+            Optional<Payroll> frozen = payRunDAO.getSnapshotForEmployee(run.get().getRunId(), employeeId);
+            if (frozen.isPresent()) {
+                return frozen.get();
+            }
+        }
+        return payrollCalculator.calculatePayroll(employeeId, periodStart, periodEnd);
+    }
+
+    private Optional<PayRun> findClosedRun(LocalDate periodStart, LocalDate periodEnd) {
+        try {
+            return payRunDAO.getRunByPeriod(periodStart, periodEnd).filter(PayRun::isClosed);
+        } catch (RuntimeException e) {
+            // Databases without the pay run migration fall back to live calculation
+            LOGGER.log(Level.FINE, "Pay run lookup unavailable, using live calculation", e);
+            return Optional.empty();
+        }
+    }
+
+    private PayRun transition(int runId, PayRun.Status from, PayRun.Status to, String actor) {
+        PayRun run = getRun(runId);
+        if (run.getStatus() != from) {
+            throw new IllegalStateException("Pay run " + runId + " is " + run.getStatus() +
+                    "; expected " + from + " before moving to " + to);
+        }
+        if (!payRunDAO.transitionStatus(runId, from, to, actor)) {
+            throw new IllegalStateException("Pay run " + runId + " was changed by another user; please refresh");
+        }
+        return getRun(runId);
+    }
+}
@@ -0,0 +1,32 @@
+package service;
+
+import java.util.logging.Logger;
+
+/**
+ * Headless pay-run worker. Helps calculate the draft pay runs started on any workstation by
+ * claiming their open partitions, so a run of many employees is spread over as many machines
+ * as are running a worker. Between runs it checks for new work every idle interval.
+ */
+public class PayRunWorker {
+    private static final Logger LOGGER = Logger.getLogger(PayRunWorker.class.getName());
+    private static final long IDLE_MILLIS = 5000;
+
+    public static void main(String[] args) throws Exception {
+        boolean once = args.length > 0 && "--once".equals(args[0]);
+        PayRunExecutor executor = new PayRunService().getExecutor();
+        if (!executor.isAvailable()) {
+            System.err.println("payroll_run_partition is missing; apply the migrations first");
+            System.exit(2);
+        }
+
+        LOGGER.info("👷 Pay-run worker started" + (once ? " for the open partitions" : ""));
+        do {
+            int completed = executor.workAvailable();
+            if (completed > 0) {
+                LOGGER.info("✅ Completed " + completed + " partition(s)");
+            } else if (!once) {
+                Thread.sleep(IDLE_MILLIS);
+            }
+        } while (!once);
+    }
+}
@@ -0,0 +1,183 @@
+package service;
+
+import dao.PayRunDAO;
+import dao.PayrollArchive;
+import model.PayPeriod;
+import model.Payroll;
+import util.ConfigurationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Exports the closed pay runs of a year to a memory-mapped archive and answers the
+ * year-level questions (YTD totals, 13th month pay, annualized tax) from it, so they
+ * no longer need one query per employee per period.
+ *
+ * Archives are named payroll-YYYY.mpa in the configured archive.path directory.
+ * Re-archiving a year replaces the file; readers holding the previous mapping keep
+ * seeing the old contents until they reopen it.
+ */
+public class PayrollArchiveService {
+    private static final Logger LOGGER = Logger.getLogger(PayrollArchiveService.class.getName());
+
+    private final PayRunDAO payRunDAO;
+    private final Path archiveDirectory;
+    private final Map<Integer, PayrollArchive> openArchives = new ConcurrentHashMap<>();
+
+    public PayrollArchiveService() {
+        this(new PayRunDAO(), Paths.get(ConfigurationManager.getInstance().getArchiveDirectory()));
+    }
+
+    public PayrollArchiveService(PayRunDAO payRunDAO, Path archiveDirectory) {
+        this.payRunDAO = payRunDAO;
+        this.archiveDirectory = archiveDirectory;
+    }
+
+    /**
+     * Writes every approved or locked period of a year to the year's archive
+     * @param year Calendar year
+     * @return Number of employee-period records archived
+     */
+    public int archiveYear(int year) throws IOException {
+        List<Payroll> payrolls = payRunDAO.getClosedSnapshotsForYear(year);
+        Path file = getArchiveFile(year);
+        int written = PayrollArchive.write(file, year, payrolls);
+
+        PayrollArchive previous = openArchives.remove(year);
+        if (previous != null) {
+            previous.close();
+        }
+
+        LOGGER.info(String.format("✅ Archived %,d payroll records for %d to %s", written, year, file));
+        return written;
+    }
+
+    public Path getArchiveFile(int year) {
+        return archiveDirectory.resolve("payroll-" + year + ".mpa");
+    }
+
+    public boolean isArchived(int year) {
+        return openArchives.containsKey(year) || Files.isRegularFile(getArchiveFile(year));
+    }
+
+    /**
+     * Returns the mapped archive of a year, opening it on first use
+     * @throws IOException if the year has not been archived
+     */
+    public PayrollArchive getArchive(int year) throws IOException {
+        PayrollArchive archive = openArchives.get(year);
+        if (archive != null) {
+            return archive;
+        }
+        synchronized (openArchives) {
+            archive = openArchives.get(year);
+            if (archive == null) {
+                archive = PayrollArchive.open(getArchiveFile(year));
+                openArchives.put(year, archive);
+            }
+            return archive;
+        }
+    }
+
+    /**
+     * Year-to-date totals of an employee up to and including the period ending on or before a date
+     */
+    public PayrollArchive.Totals getYearToDate(int employeeId, LocalDate asOf) throws IOException {
+        return getArchive(asOf.getYear()).getYearToDate(employeeId, asOf);
+    }
+
+    /**
+     * 13th month pay of an employee for an archived year, computed as the benefit payout batch does
+     */
+    public double getThirteenthMonthPay(int employeeId, int year) throws IOException {
+        return BenefitPayoutService.thirteenthMonthPay(getArchive(year).getYearToDate(employeeId, null).getEarnedBasicPay());
+    }
+
+    /**
+     * Projects the year-to-date taxable income over the periods left in the year and applies
+     * the annual tax table, as the withholding engine does. The frequency is that of the last
+     * archived period, so semi-monthly and weekly employees are projected over their own periods.
+     * @param employeeId Employee ID
+     * @param asOf Last period end to include
+     * @return Annualized tax due for the year, or 0 if nothing is archived yet
+     */
+    public double getAnnualizedTax(int employeeId, LocalDate asOf) throws IOException {
+        PayrollArchive.Totals ytd = getYearToDate(employeeId, asOf);
+        if (ytd.getPeriods() == 0) {
+            return 0.0;
+        }
+        PayPeriod lastPeriod = PayPeriodCalendar.fromDates(ytd.getLastPeriodStart(), ytd.getLastPeriodEnd());
+        int remainingPeriods = lastPeriod != null
+                ? WithholdingTaxEngine.remainingPeriods(lastPeriod)
+                : WithholdingTaxEngine.remainingMonthlyPeriods(ytd.getLastPeriodEnd());
+        double annualTaxable = ytd.getTaxableIncome() + ytd.getTaxableIncome() / ytd.getPeriods() * remainingPeriods;
+        return PayrollCalculator.calculateAnnualIncomeTax(Math.max(0.0, annualTaxable));
+    }
+
+    /**
+     * Annualized tax due less the tax already withheld in the archived periods
+     * (positive: still payable, negative: to be refunded)
+     */
+    public double getTaxTrueUp(int employeeId, LocalDate asOf) throws IOException {
+        return getAnnualizedTax(employeeId, asOf) - getYearToDate(employeeId, asOf).getTax();
+    }
+
+    /**
+     * Year-level totals of an archived year over every employee
+     */
+    public static final class YearSummary {
+        private final int employees;
+        private final double thirteenthMonthPay;
+        private final double taxTrueUp;
+
+        YearSummary(int employees, double thirteenthMonthPay, double taxTrueUp) {
+            this.employees = employees;
+            this.thirteenthMonthPay = thirteenthMonthPay;
+            this.taxTrueUp = taxTrueUp;
+        }
+
+        public int getEmployees() { return employees; }
+        public double getThirteenthMonthPay() { return thirteenthMonthPay; }
+        public double getTaxTrueUp() { return taxTrueUp; }
+    }
+
+    /**
+     * Sums the 13th month pay and the tax true-up of every employee of an archived year,
+     * reading only the mapped archive
+     */
+    public YearSummary summarizeYear(int year) throws IOException {
+        LocalDate yearEnd = LocalDate.of(year, 12, 31);
+        double thirteenthMonthPay = 0.0;
+        double taxTrueUp = 0.0;
+        int[] employeeIds = getArchive(year).getEmployeeIds();
+        for (int employeeId : employeeIds) {
+            thirteenthMonthPay += getThirteenthMonthPay(employeeId, year);
+            taxTrueUp += getTaxTrueUp(employeeId, yearEnd);
+        }
+        return new YearSummary(employeeIds.length, Math.round(thirteenthMonthPay * 100.0) / 100.0,
+                Math.round(taxTrueUp * 100.0) / 100.0);
+    }
+
+    /**
+     * Unmaps every open archive
+     */
+    public void close() {
+        for (PayrollArchive archive : openArchives.values()) {
+            try {
+                archive.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "⚠️ Error closing payroll archive " + archive.getFile(), e);
+            }
+        }
+        openArchives.clear();
+    }
+}
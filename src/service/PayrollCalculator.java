@@ -1,16 +1,23 @@
 package service;
 
+import dao.AllowanceDAO;
 import dao.AttendanceDAO;
 import dao.EmployeeDAO;
 import dao.LeaveRequestDAO;
 import dao.OvertimeDAO;
 import dao.DeductionDAO;
+import dao.PayrollYtdDAO;
 import model.Attendance;
 import model.Employee;
 import model.LeaveRequest;
-import model.Overtime;
+import model.PayFrequency;
+import model.PayPeriod;
 import model.Payroll;
 import model.Deduction;
+import model.TaxYearToDate;
+import util.ConfigurationManager;
+import util.Metrics;
+import util.SchemaProbe;
 
 import java.sql.Date;
 import java.sql.Time;
@@ -19,6 +26,10 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -30,6 +41,24 @@ public class PayrollCalculator {
 
     private static final Logger LOGGER = Logger.getLogger(PayrollCalculator.class.getName());
 
+    // Instrumentation: whole calculation plus one timer per phase
+    private static final String PHASE_METRIC = "motorph_payroll_phase_seconds";
+    private static final String PHASE_HELP = "Time spent in each payroll calculation phase";
+    private static final Metrics.Timer CALCULATION_TIMER = Metrics.timer("motorph_payroll_calculation_seconds",
+            "Time to calculate one employee's payroll");
+    private static final Metrics.Counter CALCULATION_FAILURES = Metrics.counter("motorph_payroll_calculation_failures_total",
+            "Payroll calculations that failed");
+    private static final Metrics.Timer PHASE_LOAD_EMPLOYEE = Metrics.timer(PHASE_METRIC, PHASE_HELP, "phase", "load_employee");
+    private static final Metrics.Timer PHASE_ATTENDANCE = Metrics.timer(PHASE_METRIC, PHASE_HELP, "phase", "attendance");
+    private static final Metrics.Timer PHASE_OVERTIME = Metrics.timer(PHASE_METRIC, PHASE_HELP, "phase", "overtime");
+    private static final Metrics.Timer PHASE_ALLOWANCES = Metrics.timer(PHASE_METRIC, PHASE_HELP, "phase", "allowances");
+    private static final Metrics.Timer PHASE_TIME_DEDUCTIONS = Metrics.timer(PHASE_METRIC, PHASE_HELP, "phase", "time_deductions");
+    private static final Metrics.Timer PHASE_CONTRIBUTIONS = Metrics.timer(PHASE_METRIC, PHASE_HELP, "phase", "contributions");
+    private static final Metrics.Timer PHASE_FINALIZE = Metrics.timer(PHASE_METRIC, PHASE_HELP, "phase", "finalize");
+
+    // Per-employee detail logs are sampled so large runs are not dominated by logging
+    private static final int DETAIL_LOG_SAMPLE_RATE = Math.max(1, ConfigurationManager.getInstance().getLoggingSampleRate());
+
     // Constants for payroll calculations - moved to interface for better design
     public interface PayrollConstants {
         int STANDARD_WORKING_DAYS_PER_MONTH = 22;
@@ -46,6 +75,32 @@ public class PayrollCalculator {
     private LeaveRequestDAO leaveDAO;
     private OvertimeDAO overtimeDAO;
     private DeductionDAO deductionDAO;
+    private AllowanceDAO allowanceDAO;
+    private PayrollYtdDAO payrollYtdDAO;
+
+    /**
+     * Approved overtime hours of every employee for one period, read once per pay run
+     */
+    private static final class PreloadedOvertime {
+        private final LocalDate periodStart;
+        private final LocalDate periodEnd;
+        private final Map<Integer, Double> hoursByEmployee;
+
+        PreloadedOvertime(LocalDate periodStart, LocalDate periodEnd, Map<Integer, Double> hoursByEmployee) {
+            this.periodStart = periodStart;
+            this.periodEnd = periodEnd;
+            this.hoursByEmployee = hoursByEmployee;
+        }
+
+        boolean covers(LocalDate start, LocalDate end) {
+            return periodStart.equals(start) && periodEnd.equals(end);
+        }
+    }
+
+    // A run of several pay frequencies preloads one entry per period (YTD: per year)
+    private final List<PreloadedOvertime> preloadedOvertime = new CopyOnWriteArrayList<>();
+    private final List<AllowanceEngine> preloadedAllowances = new CopyOnWriteArrayList<>();
+    private final Map<Integer, Map<Integer, TaxYearToDate>> preloadedYearToDate = new ConcurrentHashMap<>();
 
     // Constructor with better error handling
     public PayrollCalculator() {
@@ -57,44 +112,175 @@ public class PayrollCalculator {
     }
 
     private void initializeOptionalDAOs() {
-        try {
+        // Table availability comes from the cached startup schema probe
+        SchemaProbe.Snapshot schema = SchemaProbe.getInstance().getSnapshot();
+
+        if (schema.isTableMissing("leave_request")) {
+            LOGGER.warning("⚠️ leave_request table not found - leave calculations will be skipped");
+            this.leaveDAO = null;
+        } else {
             this.leaveDAO = new LeaveRequestDAO();
             LOGGER.info("✅ LeaveRequestDAO initialized successfully");
-        } catch (Exception e) {
-            LOGGER.warning("⚠️ LeaveRequestDAO not available - leave calculations will be skipped: " + e.getMessage());
-            this.leaveDAO = null;
         }
 
-        try {
+        if (schema.isTableMissing("overtime")) {
+            LOGGER.warning("⚠️ overtime table not found - overtime calculations will be skipped");
+            this.overtimeDAO = null;
+        } else {
             this.overtimeDAO = new OvertimeDAO();
             LOGGER.info("✅ OvertimeDAO initialized successfully");
-        } catch (Exception e) {
-            LOGGER.warning("⚠️ OvertimeDAO not available - overtime calculations will be skipped: " + e.getMessage());
-            this.overtimeDAO = null;
         }
 
-        try {
+        if (schema.isTableMissing("deductions")) {
+            LOGGER.warning("⚠️ deductions table not found - deduction records will not be saved");
+            this.deductionDAO = null;
+        } else {
             this.deductionDAO = new DeductionDAO();
             LOGGER.info("✅ DeductionDAO initialized successfully");
-        } catch (Exception e) {
-            LOGGER.warning("⚠️ DeductionDAO not available - deduction records will not be saved: " + e.getMessage());
-            this.deductionDAO = null;
         }
+
+        if (schema.isTableMissing("employee_allowances")) {
+            LOGGER.warning("⚠️ employee_allowances table not found - allowances will come from the employee record");
+            this.allowanceDAO = null;
+        } else {
+            this.allowanceDAO = new AllowanceDAO();
+            LOGGER.info("✅ AllowanceDAO initialized successfully");
+        }
+
+        if (schema.isTableMissing("payroll_ytd")) {
+            LOGGER.warning("⚠️ payroll_ytd table not found - withholding tax will annualize the period's income");
+            this.payrollYtdDAO = null;
+        } else {
+            this.payrollYtdDAO = new PayrollYtdDAO();
+            LOGGER.info("✅ PayrollYtdDAO initialized successfully");
+        }
+    }
+
+    /**
+     * Reads the approved overtime hours of every employee for a period in one query, so the
+     * calculations of a whole pay run no longer query overtime per employee.
+     * Call clearPreloadedOvertime() when the run is done.
+     */
+    public void preloadApprovedOvertime(LocalDate periodStart, LocalDate periodEnd) {
+        if (overtimeDAO == null) {
+            return;
+        }
+        try {
+            Map<Integer, Double> hours = overtimeDAO.getApprovedHoursByEmployee(periodStart, periodEnd);
+            preloadedOvertime.removeIf(preloaded -> preloaded.covers(periodStart, periodEnd));
+            preloadedOvertime.add(new PreloadedOvertime(periodStart, periodEnd, hours));
+            LOGGER.info(String.format("✅ Preloaded approved overtime for %d employees (%s to %s)",
+                    hours.size(), periodStart, periodEnd));
+        } catch (RuntimeException e) {
+            LOGGER.warning("⚠️ Could not preload overtime, falling back to per-employee reads: " + e.getMessage());
+        }
+    }
+
+    public void clearPreloadedOvertime() {
+        preloadedOvertime.clear();
+    }
+
+    /**
+     * Reads the allowances of every employee in effect during a period in one query.
+     * Call clearPreloadedAllowances() when the run is done.
+     */
+    public void preloadAllowances(LocalDate periodStart, LocalDate periodEnd) {
+        if (allowanceDAO == null) {
+            return;
+        }
+        try {
+            AllowanceEngine engine = AllowanceEngine.build(periodStart, periodEnd,
+                    allowanceDAO.getAllowancesInPeriod(periodStart, periodEnd));
+            preloadedAllowances.removeIf(preloaded -> preloaded.covers(periodStart, periodEnd));
+            preloadedAllowances.add(engine);
+            LOGGER.info(String.format("✅ Preloaded allowances for %d employees (%s to %s)",
+                    engine.getEmployeeCount(), periodStart, periodEnd));
+        } catch (RuntimeException e) {
+            LOGGER.warning("⚠️ Could not preload allowances, falling back to per-employee reads: " + e.getMessage());
+        }
+    }
+
+    public void clearPreloadedAllowances() {
+        preloadedAllowances.clear();
+    }
+
+    /**
+     * Reads the YTD tax accumulators of every employee for the period's year in one query.
+     * Call clearPreloadedYearToDate() when the run is done.
+     */
+    public void preloadYearToDate(LocalDate periodEnd) {
+        if (payrollYtdDAO == null) {
+            return;
+        }
+        try {
+            int year = periodEnd.getYear();
+            if (preloadedYearToDate.containsKey(year)) {
+                return;
+            }
+            Map<Integer, TaxYearToDate> accumulators = payrollYtdDAO.getYearToDateForYear(year);
+            preloadedYearToDate.put(year, accumulators);
+            LOGGER.info(String.format("✅ Preloaded YTD tax accumulators for %d employees (%d)",
+                    accumulators.size(), year));
+        } catch (RuntimeException e) {
+            LOGGER.warning("⚠️ Could not preload YTD tax accumulators, falling back to per-employee reads: " + e.getMessage());
+        }
+    }
+
+    public void clearPreloadedYearToDate() {
+        preloadedYearToDate.clear();
+    }
+
+    /**
+     * Preloads everything a pay run reads per employee for a period. The periods of several
+     * pay frequencies can be preloaded side by side and calculated in parallel.
+     */
+    public void preloadPeriod(LocalDate periodStart, LocalDate periodEnd) {
+        preloadApprovedOvertime(periodStart, periodEnd);
+        preloadAllowances(periodStart, periodEnd);
+        preloadYearToDate(periodEnd);
+    }
+
+    public void clearPreloadedPeriod() {
+        clearPreloadedOvertime();
+        clearPreloadedAllowances();
+        clearPreloadedYearToDate();
+    }
+
+    private PreloadedOvertime findPreloadedOvertime(LocalDate periodStart, LocalDate periodEnd) {
+        for (PreloadedOvertime preloaded : preloadedOvertime) {
+            if (preloaded.covers(periodStart, periodEnd)) {
+                return preloaded;
+            }
+        }
+        return null;
+    }
+
+    private AllowanceEngine findPreloadedAllowances(LocalDate periodStart, LocalDate periodEnd) {
+        for (AllowanceEngine engine : preloadedAllowances) {
+            if (engine.covers(periodStart, periodEnd)) {
+                return engine;
+            }
+        }
+        return null;
     }
 
     /**
      * Main payroll calculation method with enhanced error handling
      * FIXED: Better error messages and null checks
      */
+    @SuppressWarnings("try")
     public Payroll calculatePayroll(int employeeId, LocalDate periodStart, LocalDate periodEnd)
             throws PayrollCalculationException {
 
-        try {
+        try (Metrics.Sample ignored = CALCULATION_TIMER.start()) {
             // Enhanced input validation
             validateCalculationInputs(employeeId, periodStart, periodEnd);
 
             // Get employee with better error handling
-            Employee employee = getEmployeeWithValidation(employeeId);
+            Employee employee;
+            try (Metrics.Sample phase = PHASE_LOAD_EMPLOYEE.start()) {
+                employee = getEmployeeWithValidation(employeeId);
+            }
 
             // Initialize payroll object
             Payroll payroll = createPayrollObject(employeeId, periodStart, periodEnd, employee);
@@ -103,15 +289,19 @@ public class PayrollCalculator {
             calculateAllPayrollComponents(payroll, employee, periodStart, periodEnd);
 
             // Final calculations and validation
-            finalizePayrollCalculation(payroll);
+            try (Metrics.Sample phase = PHASE_FINALIZE.start()) {
+                finalizePayrollCalculation(payroll);
+            }
 
             logPayrollSummary(payroll, employee, periodStart, periodEnd);
 
             return payroll;
 
         } catch (PayrollCalculationException e) {
+            CALCULATION_FAILURES.increment();
             throw e; // Re-throw custom exceptions
         } catch (Exception e) {
+            CALCULATION_FAILURES.increment();
             LOGGER.log(Level.SEVERE, String.format("❌ Unexpected error calculating payroll for employee %d", employeeId), e);
             throw new PayrollCalculationException("Unexpected error during payroll calculation: " + e.getMessage(), e);
         }
@@ -165,25 +355,38 @@ public class PayrollCalculator {
         return payroll;
     }
 
+    @SuppressWarnings("try")
     private void calculateAllPayrollComponents(Payroll payroll, Employee employee, LocalDate periodStart, LocalDate periodEnd) 
             throws PayrollCalculationException {
         try {
             double dailyRate = payroll.getDailyRate();
+            // Null for an ad hoc date range, which is treated as a whole month
+            PayPeriod payPeriod = PayPeriodCalendar.fromDates(periodStart, periodEnd);
             
             // Calculate attendance-based earnings
-            calculateAttendanceBasedEarnings(payroll, employee.getEmployeeId(), periodStart, periodEnd, dailyRate);
+            try (Metrics.Sample phase = PHASE_ATTENDANCE.start()) {
+                calculateAttendanceBasedEarnings(payroll, employee.getEmployeeId(), periodStart, periodEnd, dailyRate);
+            }
 
             // Calculate overtime earnings
-            calculateOvertimeEarnings(payroll, employee.getEmployeeId(), periodStart, periodEnd, dailyRate);
+            try (Metrics.Sample phase = PHASE_OVERTIME.start()) {
+                calculateOvertimeEarnings(payroll, employee.getEmployeeId(), periodStart, periodEnd, dailyRate);
+            }
 
             // Calculate allowances and benefits
-            calculateAllowancesAndBenefits(payroll, employee);
+            try (Metrics.Sample phase = PHASE_ALLOWANCES.start()) {
+                calculateAllowancesAndBenefits(payroll, employee, periodStart, periodEnd, payPeriod);
+            }
 
             // Calculate time-based deductions
-            calculateTimeBasedDeductions(payroll, employee.getEmployeeId(), periodStart, periodEnd, dailyRate);
+            try (Metrics.Sample phase = PHASE_TIME_DEDUCTIONS.start()) {
+                calculateTimeBasedDeductions(payroll, employee.getEmployeeId(), periodStart, periodEnd, dailyRate);
+            }
 
             // Calculate government contributions and tax
-            calculateGovernmentContributionsAndTax(payroll, employee.getBasicSalary());
+            try (Metrics.Sample phase = PHASE_CONTRIBUTIONS.start()) {
+                calculateGovernmentContributionsAndTax(payroll, employee.getBasicSalary(), payroll.getTaxableAllowances(), payPeriod);
+            }
 
         } catch (Exception e) {
             throw new PayrollCalculationException("Error calculating payroll components: " + e.getMessage(), e);
@@ -210,7 +413,7 @@ public class PayrollCalculator {
                                                    LocalDate periodStart, LocalDate periodEnd, double dailyRate) 
             throws PayrollCalculationException {
 
-        LOGGER.info(String.format("🔍 Calculating attendance for employee %d (period: %s to %s)", 
+        logDetail(employeeId, () -> String.format("🔍 Calculating attendance for employee %d (period: %s to %s)",
                 employeeId, periodStart, periodEnd));
 
         try {
@@ -224,7 +427,8 @@ public class PayrollCalculator {
                 return;
             }
 
-            LOGGER.info(String.format("📊 Found %d attendance records for employee %d", attendanceList.size(), employeeId));
+            logDetail(employeeId, () -> String.format("📊 Found %d attendance records for employee %d",
+                    attendanceList.size(), employeeId));
 
             int validAttendanceDays = 0;
             double totalValidHours = 0.0;
@@ -240,7 +444,7 @@ public class PayrollCalculator {
                     double workHours = attendance.getWorkHours();
                     totalValidHours += workHours;
 
-                    LOGGER.fine(String.format("✓ Valid attendance: Date=%s, Hours=%.2f", 
+                    LOGGER.finest(() -> String.format("✓ Valid attendance: Date=%s, Hours=%.2f",
                             attendance.getDate(), workHours));
                 } else {
                     LOGGER.warning(String.format("⚠️ Invalid attendance (no log in): Date=%s", 
@@ -253,8 +457,9 @@ public class PayrollCalculator {
             double basicPay = validAttendanceDays * dailyRate;
             payroll.setGrossEarnings(basicPay);
 
-            LOGGER.info(String.format("✅ Attendance calculation complete: %d days worked, %.2f basic pay", 
-                    validAttendanceDays, basicPay));
+            int daysWorked = validAttendanceDays;
+            logDetail(employeeId, () -> String.format("✅ Attendance calculation complete: %d days worked, %.2f basic pay",
+                    daysWorked, basicPay));
 
             // Warn if no valid attendance found
             if (validAttendanceDays == 0) {
@@ -274,27 +479,18 @@ public class PayrollCalculator {
     private void calculateOvertimeEarnings(Payroll payroll, int employeeId,
                                            LocalDate periodStart, LocalDate periodEnd, double dailyRate) {
         if (overtimeDAO == null) {
-            LOGGER.info("ℹ️ Overtime calculation skipped - OvertimeDAO not available");
+            logDetail(employeeId, () -> "ℹ️ Overtime calculation skipped - OvertimeDAO not available");
             payroll.setTotalOvertimeHours(0.0);
             payroll.setOvertimePay(0.0);
             return;
         }
 
         try {
-            List<Overtime> overtimeList = overtimeDAO.getOvertimeByEmployeeIdAndDateRange(
-                    employeeId, periodStart, periodEnd);
-
-            if (overtimeList == null) {
-                LOGGER.warning("⚠️ Overtime list is null for employee " + employeeId);
-                payroll.setTotalOvertimeHours(0.0);
-                payroll.setOvertimePay(0.0);
-                return;
-            }
-
-            double totalOvertimeHours = overtimeList.stream()
-                    .filter(overtime -> overtime != null && overtime.isApproved())
-                    .mapToDouble(Overtime::getHours)
-                    .sum();
+            // Only approved hours count; a pay run reads them all up front
+            PreloadedOvertime preloaded = findPreloadedOvertime(periodStart, periodEnd);
+            double totalOvertimeHours = preloaded != null
+                    ? preloaded.hoursByEmployee.getOrDefault(employeeId, 0.0)
+                    : overtimeDAO.getApprovedOvertimeHours(employeeId, periodStart, periodEnd);
 
             double hourlyRate = dailyRate / PayrollConstants.STANDARD_WORKING_HOURS_PER_DAY;
             double overtimePay = totalOvertimeHours * hourlyRate * PayrollConstants.OVERTIME_RATE_MULTIPLIER;
@@ -302,7 +498,7 @@ public class PayrollCalculator {
             payroll.setTotalOvertimeHours(totalOvertimeHours);
             payroll.setOvertimePay(overtimePay);
 
-            LOGGER.info(String.format("✅ Overtime calculation: %.2f hours, ₱%.2f pay for employee %d", 
+            logDetail(employeeId, () -> String.format("✅ Overtime calculation: %.2f hours, ₱%.2f pay for employee %d",
                     totalOvertimeHours, overtimePay, employeeId));
 
         } catch (Exception e) {
@@ -313,26 +509,59 @@ public class PayrollCalculator {
     }
 
     /**
-     * FIXED: Better allowances calculation with null safety
+     * Resolves the allowances in effect on the last day of the period.
+     * employee_allowances is authoritative for an employee with a row in effect during the
+     * period; otherwise the three fixed fields of the employee record are used, with rice
+     * subsidy as the only non-taxable one. The seeded rows took effect on the day the table
+     * was created, so periods before it are still paid from the employee record.
+     * Allowances are monthly amounts, split across the periods of a semi-monthly or weekly month.
      */
-    private void calculateAllowancesAndBenefits(Payroll payroll, Employee employee) {
+    private void calculateAllowancesAndBenefits(Payroll payroll, Employee employee, LocalDate periodStart,
+                                                LocalDate periodEnd, PayPeriod payPeriod) {
         try {
-            double riceSubsidy = employee.getRiceSubsidy();
-            double phoneAllowance = employee.getPhoneAllowance();
-            double clothingAllowance = employee.getClothingAllowance();
+            double riceSubsidy;
+            double phoneAllowance;
+            double clothingAllowance;
+            double otherAllowances;
+            double taxableAllowances;
+
+            AllowanceEngine engine = findPreloadedAllowances(periodStart, periodEnd);
+            if (engine == null && allowanceDAO != null) {
+                engine = AllowanceEngine.build(periodStart, periodEnd,
+                        allowanceDAO.getAllowancesInPeriod(employee.getEmployeeId(), periodStart, periodEnd));
+            }
+
+            if (engine != null && engine.hasAllowancesInPeriod(employee.getEmployeeId())) {
+                AllowanceEngine.Resolved allowances = engine.resolve(employee.getEmployeeId());
+                riceSubsidy = splitMonthly(allowances.getAmount(AllowanceEngine.RICE_SUBSIDY), payPeriod);
+                phoneAllowance = splitMonthly(allowances.getAmount(AllowanceEngine.PHONE_ALLOWANCE), payPeriod);
+                clothingAllowance = splitMonthly(allowances.getAmount(AllowanceEngine.CLOTHING_ALLOWANCE), payPeriod);
+                otherAllowances = splitMonthly(allowances.getOtherTotal(), payPeriod);
+                taxableAllowances = splitMonthly(allowances.getTaxableTotal(), payPeriod);
+            } else {
+                riceSubsidy = splitMonthly(employee.getRiceSubsidy(), payPeriod);
+                phoneAllowance = splitMonthly(employee.getPhoneAllowance(), payPeriod);
+                clothingAllowance = splitMonthly(employee.getClothingAllowance(), payPeriod);
+                otherAllowances = 0.0;
+                taxableAllowances = phoneAllowance + clothingAllowance;
+            }
 
             payroll.setRiceSubsidy(riceSubsidy);
             payroll.setPhoneAllowance(phoneAllowance);
             payroll.setClothingAllowance(clothingAllowance);
+            payroll.setOtherAllowances(otherAllowances);
+            payroll.setTaxableAllowances(taxableAllowances);
 
-            LOGGER.info(String.format("✅ Allowances for employee %d - Rice: ₱%.2f, Phone: ₱%.2f, Clothing: ₱%.2f",
-                    employee.getEmployeeId(), riceSubsidy, phoneAllowance, clothingAllowance));
+            logDetail(employee.getEmployeeId(), () -> String.format("✅ Allowances for employee %d - Rice: ₱%.2f, Phone: ₱%.2f, Clothing: ₱%.2f, Other: ₱%.2f, Taxable: ₱%.2f",
+                    employee.getEmployeeId(), riceSubsidy, phoneAllowance, clothingAllowance, otherAllowances, taxableAllowances));
 
         } catch (Exception e) {
             LOGGER.warning("⚠️ Error calculating allowances, setting to 0: " + e.getMessage());
             payroll.setRiceSubsidy(0.0);
             payroll.setPhoneAllowance(0.0);
             payroll.setClothingAllowance(0.0);
+            payroll.setOtherAllowances(0.0);
+            payroll.setTaxableAllowances(0.0);
         }
     }
 
@@ -362,7 +591,7 @@ public class PayrollCalculator {
             // Calculate unpaid leave deduction
             calculateUnpaidLeaveDeduction(payroll, employeeId, periodStart, periodEnd, dailyRate);
 
-            LOGGER.info(String.format("✅ Time deductions for employee %d - Late: ₱%.2f, Undertime: ₱%.2f, Unpaid Leave: ₱%.2f",
+            logDetail(employeeId, () -> String.format("✅ Time deductions for employee %d - Late: ₱%.2f, Undertime: ₱%.2f, Unpaid Leave: ₱%.2f",
                     employeeId, lateDeduction, undertimeDeduction, payroll.getUnpaidLeaveDeduction()));
 
         } catch (Exception e) {
@@ -381,7 +610,7 @@ public class PayrollCalculator {
     private void calculateUnpaidLeaveDeduction(Payroll payroll, int employeeId, 
                                                LocalDate periodStart, LocalDate periodEnd, double dailyRate) {
         if (leaveDAO == null) {
-            LOGGER.info("ℹ️ Unpaid leave calculation skipped - LeaveRequestDAO not available");
+            logDetail(employeeId, () -> "ℹ️ Unpaid leave calculation skipped - LeaveRequestDAO not available");
             payroll.setUnpaidLeaveDeduction(0.0);
             payroll.setUnpaidLeaveCount(0);
             return;
@@ -408,7 +637,7 @@ public class PayrollCalculator {
             payroll.setUnpaidLeaveDeduction(unpaidLeaveDeduction);
 
             if (unpaidLeaveCount > 0) {
-                LOGGER.info(String.format("✅ Unpaid leave for employee %d: %d days, ₱%.2f deduction",
+                logDetail(employeeId, () -> String.format("✅ Unpaid leave for employee %d: %d days, ₱%.2f deduction",
                         employeeId, unpaidLeaveCount, unpaidLeaveDeduction));
             }
 
@@ -484,21 +713,24 @@ public class PayrollCalculator {
     }
 
     /**
-     * FIXED: Better government contributions calculation
+     * Contributions come from the monthly schedules on the basic salary and are split across
+     * the periods of the month, so a semi-monthly employee pays half in each period.
      */
-    private void calculateGovernmentContributionsAndTax(Payroll payroll, double monthlySalary) {
+    private void calculateGovernmentContributionsAndTax(Payroll payroll, double monthlySalary, double taxableAllowances,
+                                                        PayPeriod payPeriod) {
         try {
-            double sss = calculateSSSContribution(monthlySalary);
-            double philhealth = calculatePhilHealthContribution(monthlySalary);
-            double pagibig = calculatePagIBIGContribution(monthlySalary);
-            double tax = calculateIncomeTax(monthlySalary);
+            double sss = splitMonthly(calculateSSSContribution(monthlySalary), payPeriod);
+            double philhealth = splitMonthly(calculatePhilHealthContribution(monthlySalary), payPeriod);
+            double pagibig = splitMonthly(calculatePagIBIGContribution(monthlySalary), payPeriod);
+            // Contributions follow the basic salary; taxable allowances add to taxable income
+            double tax = calculateWithholdingTax(payroll, monthlySalary, taxableAllowances, sss + philhealth + pagibig, payPeriod);
 
             payroll.setSss(sss);
             payroll.setPhilhealth(philhealth);
             payroll.setPagibig(pagibig);
             payroll.setTax(tax);
 
-            LOGGER.info(String.format("✅ Government contributions - SSS: ₱%.2f, PhilHealth: ₱%.2f, Pag-IBIG: ₱%.2f, Tax: ₱%.2f",
+            logDetail(payroll.getEmployeeId(), () -> String.format("✅ Government contributions - SSS: ₱%.2f, PhilHealth: ₱%.2f, Pag-IBIG: ₱%.2f, Tax: ₱%.2f",
                     sss, philhealth, pagibig, tax));
 
         } catch (Exception e) {
@@ -562,32 +794,79 @@ public class PayrollCalculator {
         }
     }
 
-    private double calculateIncomeTax(double monthlySalary) {
-        try {
-            double annualSalary = monthlySalary * 12;
-            double annualTax = 0.0;
-
-            if (annualSalary <= 250000) {
-                annualTax = 0.0;
-            } else if (annualSalary <= 400000) {
-                annualTax = (annualSalary - 250000) * 0.15;
-            } else if (annualSalary <= 800000) {
-                annualTax = 22500 + (annualSalary - 400000) * 0.20;
-            } else if (annualSalary <= 2000000) {
-                annualTax = 102500 + (annualSalary - 800000) * 0.25;
-            } else if (annualSalary <= 8000000) {
-                annualTax = 402500 + (annualSalary - 2000000) * 0.30;
-            } else {
-                annualTax = 2202500 + (annualSalary - 8000000) * 0.35;
+    /**
+     * Withholding for the period from the YTD accumulators. Without them, or for a period the
+     * accumulators already include, the period's income is annualized instead.
+     */
+    private double calculateWithholdingTax(Payroll payroll, double monthlySalary, double taxableAllowances,
+                                           double contributions, PayPeriod payPeriod) {
+        LocalDate periodStart = payroll.getPeriodStart().toLocalDate();
+        LocalDate periodEnd = payroll.getPeriodEnd().toLocalDate();
+
+        TaxYearToDate ytd = getYearToDate(payroll.getEmployeeId(), periodEnd.getYear());
+        if (ytd == null || ytd.includesPeriod(periodStart)) {
+            if (payPeriod == null || payPeriod.getFrequency() == PayFrequency.MONTHLY) {
+                return calculateIncomeTax(monthlySalary + taxableAllowances);
             }
+            int periodsPerYear = payPeriod.getFrequency().getNominalPeriodsPerYear();
+            return calculateAnnualIncomeTax(monthlySalary * 12 + taxableAllowances * periodsPerYear) / periodsPerYear;
+        }
+        int remainingPeriods = payPeriod != null
+                ? WithholdingTaxEngine.remainingPeriods(payPeriod)
+                : WithholdingTaxEngine.remainingMonthlyPeriods(periodEnd);
+        return WithholdingTaxEngine.calculatePeriodWithholding(ytd, payroll.getTaxableGross(), contributions,
+                remainingPeriods);
+    }
+
+    private static double splitMonthly(double monthlyAmount, PayPeriod payPeriod) {
+        return payPeriod != null ? PayPeriodCalendar.splitMonthlyAmount(monthlyAmount, payPeriod) : monthlyAmount;
+    }
 
-            return annualTax / 12;
+    private TaxYearToDate getYearToDate(int employeeId, int year) {
+        Map<Integer, TaxYearToDate> preloaded = preloadedYearToDate.get(year);
+        if (preloaded != null) {
+            return preloaded.getOrDefault(employeeId, TaxYearToDate.empty(employeeId, year));
+        }
+        if (payrollYtdDAO == null) {
+            return null;
+        }
+        try {
+            return payrollYtdDAO.getYearToDate(employeeId, year);
+        } catch (RuntimeException e) {
+            LOGGER.warning("⚠️ Could not read YTD tax accumulators, annualizing the period instead: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private double calculateIncomeTax(double monthlySalary) {
+        try {
+            return calculateAnnualIncomeTax(monthlySalary * 12) / 12;
         } catch (Exception e) {
             LOGGER.warning("Error calculating income tax: " + e.getMessage());
             return 0.0;
         }
     }
 
+    /**
+     * Applies the annual graduated income tax table
+     * @param annualSalary Annual taxable income
+     * @return Annual income tax due
+     */
+    public static double calculateAnnualIncomeTax(double annualSalary) {
+        if (annualSalary <= 250000) {
+            return 0.0;
+        } else if (annualSalary <= 400000) {
+            return (annualSalary - 250000) * 0.15;
+        } else if (annualSalary <= 800000) {
+            return 22500 + (annualSalary - 400000) * 0.20;
+        } else if (annualSalary <= 2000000) {
+            return 102500 + (annualSalary - 800000) * 0.25;
+        } else if (annualSalary <= 8000000) {
+            return 402500 + (annualSalary - 2000000) * 0.30;
+        }
+        return 2202500 + (annualSalary - 8000000) * 0.35;
+    }
+
     private void validateFinalPayroll(Payroll payroll) throws PayrollCalculationException {
         if (!payroll.isValid()) {
             throw new PayrollCalculationException("Invalid payroll calculation result - basic validation failed");
@@ -608,19 +887,31 @@ public class PayrollCalculator {
     }
 
     private void logPayrollSummary(Payroll payroll, Employee employee, LocalDate periodStart, LocalDate periodEnd) {
-        LOGGER.info(String.format("=== PAYROLL CALCULATION SUMMARY ==="));
-        LOGGER.info(String.format("Employee: %s (ID: %d)", employee.getFullName(), employee.getEmployeeId()));
-        LOGGER.info(String.format("Period: %s to %s", periodStart, periodEnd));
-        LOGGER.info(String.format("Days Worked: %d", payroll.getDaysWorked()));
-        LOGGER.info(String.format("Daily Rate: ₱%.2f", payroll.getDailyRate()));
-        LOGGER.info(String.format("Basic Pay: ₱%.2f", payroll.getGrossEarnings()));
-        LOGGER.info(String.format("Overtime Pay: ₱%.2f", payroll.getOvertimePay()));
-        LOGGER.info(String.format("Total Allowances: ₱%.2f", 
-                payroll.getRiceSubsidy() + payroll.getPhoneAllowance() + payroll.getClothingAllowance()));
-        LOGGER.info(String.format("Gross Pay: ₱%.2f", payroll.getGrossPay()));
-        LOGGER.info(String.format("Total Deductions: ₱%.2f", payroll.getTotalDeductions()));
-        LOGGER.info(String.format("Net Pay: ₱%.2f", payroll.getNetPay()));
-        LOGGER.info(String.format("====================================="));
+        logDetail(employee.getEmployeeId(), () -> String.join("\n",
+                "=== PAYROLL CALCULATION SUMMARY ===",
+                String.format("Employee: %s (ID: %d)", employee.getFullName(), employee.getEmployeeId()),
+                String.format("Period: %s to %s", periodStart, periodEnd),
+                String.format("Days Worked: %d", payroll.getDaysWorked()),
+                String.format("Daily Rate: ₱%.2f", payroll.getDailyRate()),
+                String.format("Basic Pay: ₱%.2f", payroll.getGrossEarnings()),
+                String.format("Overtime Pay: ₱%.2f", payroll.getOvertimePay()),
+                String.format("Total Allowances: ₱%.2f",
+                        payroll.getRiceSubsidy() + payroll.getPhoneAllowance() + payroll.getClothingAllowance() + payroll.getOtherAllowances()),
+                String.format("Gross Pay: ₱%.2f", payroll.getGrossPay()),
+                String.format("Total Deductions: ₱%.2f", payroll.getTotalDeductions()),
+                String.format("Net Pay: ₱%.2f", payroll.getNetPay()),
+                "====================================="));
+    }
+
+    /**
+     * Logs a per-employee detail message at FINE for a deterministic sample of employees
+     * (every employee whose ID is a multiple of logging.sample.rate), so the same people
+     * are traced on every run and large runs do not pay for formatting the rest.
+     */
+    private static void logDetail(int employeeId, Supplier<String> message) {
+        if (LOGGER.isLoggable(Level.FINE) && employeeId % DETAIL_LOG_SAMPLE_RATE == 0) {
+            LOGGER.fine(message);
+        }
     }
 
     /**
@@ -0,0 +1,29 @@
+package service;
+
+import model.RemittanceAgency;
+import model.RemittanceFile;
+import model.RemittanceLine;
+
+import java.io.IOException;
+
+/**
+ * Upload format of one agency's remittance file.
+ * Written in one pass like the bank layouts: header, one detail per accepted employee,
+ * then a trailer with the totals.
+ */
+public interface RemittanceLayout {
+
+    RemittanceAgency getAgency();
+
+    String getFileExtension();
+
+    void writeHeader(Appendable out, RemittanceFile file) throws IOException;
+
+    /**
+     * @param employerShare Employer counterpart of the line's employee share, in centavos
+     */
+    void writeDetail(Appendable out, RemittanceFile file, RemittanceLine line, long employerShare, int sequence)
+            throws IOException;
+
+    void writeTrailer(Appendable out, RemittanceFile file) throws IOException;
+}
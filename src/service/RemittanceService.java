@@ -0,0 +1,293 @@
+package service;
+
+import dao.RemittanceDAO;
+import model.RemittanceAgency;
+import model.RemittanceFile;
+import model.RemittanceLine;
+import util.ConfigurationManager;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes the statutory remittance files of a month, SSS, PhilHealth, Pag-IBIG and the BIR
+ * withholding schedule, and the BIR alphalist of a year.
+ *
+ * Every file comes from one aggregated scan over the approved pay run snapshots: each
+ * employee's row is validated against each agency's ID format and written to every file in
+ * the same pass, so a month's compliance no longer re-runs payroll per agency. Employees with
+ * a missing or malformed ID are left out of that agency's file and listed in an exceptions
+ * file next to it. Files are moved into place together once all are complete.
+ */
+public class RemittanceService {
+    private static final Logger LOGGER = Logger.getLogger(RemittanceService.class.getName());
+
+    private static final int WRITE_BUFFER_CHARS = 32 * 1024;
+    private static final long PAGIBIG_EMPLOYER_CAP = 20000L;
+
+    private final RemittanceDAO remittanceDAO;
+    private final Path outputDirectory;
+    private final Map<RemittanceAgency, RemittanceLayout> layouts = new EnumMap<>(RemittanceAgency.class);
+
+    /**
+     * Outcome of one generation
+     */
+    public static class Result {
+        private final List<RemittanceFile> files;
+        private final Path exceptionsFile;
+        private final int employees;
+
+        Result(List<RemittanceFile> files, Path exceptionsFile, int employees) {
+            this.files = Collections.unmodifiableList(files);
+            this.exceptionsFile = exceptionsFile;
+            this.employees = employees;
+        }
+
+        public List<RemittanceFile> getFiles() { return files; }
+        public int getEmployees() { return employees; }
+
+        /**
+         * @return the exceptions file, or null if every ID was valid
+         */
+        public Path getExceptionsFile() { return exceptionsFile; }
+
+        public int getRejectedCount() {
+            return files.stream().mapToInt(RemittanceFile::getRejectedCount).sum();
+        }
+    }
+
+    public RemittanceService() {
+        this(new RemittanceDAO(), Paths.get(ConfigurationManager.getInstance().getRemittanceDirectory()));
+    }
+
+    public RemittanceService(RemittanceDAO remittanceDAO, Path outputDirectory) {
+        this.remittanceDAO = remittanceDAO;
+        this.outputDirectory = outputDirectory;
+        registerLayout(new SssR3Layout());
+        registerLayout(new CsvRemittanceLayout(RemittanceAgency.PHILHEALTH));
+        registerLayout(new CsvRemittanceLayout(RemittanceAgency.PAGIBIG));
+        registerLayout(new CsvRemittanceLayout(RemittanceAgency.BIR));
+    }
+
+    /**
+     * Replaces the built-in format of the layout's agency
+     */
+    public void registerLayout(RemittanceLayout layout) {
+        layouts.put(layout.getAgency(), layout);
+    }
+
+    /**
+     * Writes every agency's file for the approved pay periods ending in the month
+     */
+    public Result generateMonth(YearMonth month, String createdBy) throws IOException {
+        return generate(month.atDay(1), month.atEndOfMonth(), EnumSet.allOf(RemittanceAgency.class),
+                month.toString(), createdBy);
+    }
+
+    /**
+     * Writes the BIR alphalist of employees for the approved pay periods ending in the year
+     */
+    public Result generateAlphalist(int year, String createdBy) throws IOException {
+        return generate(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31), EnumSet.of(RemittanceAgency.BIR),
+                "alphalist-" + year, createdBy);
+    }
+
+    private Result generate(LocalDate periodStart, LocalDate periodEnd, Set<RemittanceAgency> agencies,
+                            String label, String createdBy) throws IOException {
+        long startNanos = System.nanoTime();
+        Files.createDirectories(outputDirectory);
+        FileSet fileSet = new FileSet(periodStart, periodEnd, agencies, label);
+
+        int employees;
+        try {
+            employees = remittanceDAO.streamLines(periodStart, periodEnd, fileSet::write);
+            fileSet.finish();
+        } catch (IOException | RuntimeException e) {
+            fileSet.discard();
+            throw e;
+        }
+
+        if (remittanceDAO.isAvailable()) {
+            remittanceDAO.recordFiles(fileSet.files, createdBy);
+        }
+        Result result = new Result(fileSet.files, fileSet.exceptionCount > 0 ? fileSet.exceptionsTarget : null, employees);
+        LOGGER.info(String.format("🏛️ Wrote %d remittance files for %s: %,d employees, %,d rejected IDs in %d ms",
+                result.getFiles().size(), label, employees, result.getRejectedCount(),
+                (System.nanoTime() - startNanos) / 1_000_000));
+        return result;
+    }
+
+    /**
+     * Employer counterpart of an employee's share. PhilHealth premiums are split equally;
+     * the employer's Pag-IBIG share is 2% of monthly compensation up to ₱200; SSS uses the
+     * configured employer-to-employee ratio. BIR has no employer share.
+     * @return Employer share in centavos
+     */
+    public static long employerShare(RemittanceAgency agency, RemittanceLine line, double sssRatio) {
+        return employerShare(agency, line.getEmployeeShare(agency), line.getMonthlyRate(), sssRatio);
+    }
+
+    /**
+     * Employer counterpart of a month's employee share
+     * @param employeeShare Employee share in centavos
+     * @param monthlyRate Monthly compensation in centavos
+     * @return Employer share in centavos
+     */
+    public static long employerShare(RemittanceAgency agency, long employeeShare, long monthlyRate, double sssRatio) {
+        switch (agency) {
+            case SSS:
+                return Math.round(employeeShare * sssRatio);
+            case PHILHEALTH:
+                return employeeShare;
+            case PAGIBIG:
+                return employeeShare == 0 ? 0 : Math.min(Math.round(monthlyRate * 0.02), PAGIBIG_EMPLOYER_CAP);
+            default:
+                return 0L;
+        }
+    }
+
+    /**
+     * @return true if the employee belongs in the agency's file: contributed in the period, or for BIR, was paid
+     */
+    static boolean isRemitted(RemittanceAgency agency, RemittanceLine line) {
+        return agency == RemittanceAgency.BIR ? line.getGrossCompensation() > 0 : line.getEmployeeShare(agency) > 0;
+    }
+
+    /**
+     * Open files of one generation; all agencies' files are written side by side
+     */
+    private final class FileSet {
+        private final List<RemittanceFile> files = new ArrayList<>();
+        private final Map<RemittanceAgency, RemittanceFile> byAgency = new EnumMap<>(RemittanceAgency.class);
+        private final Map<RemittanceAgency, Writer> writers = new EnumMap<>(RemittanceAgency.class);
+        private final List<Path> temps = new ArrayList<>();
+        private final List<Path> targets = new ArrayList<>();
+        private final Path exceptionsTarget;
+        private final Writer exceptions;
+        private final double sssRatio;
+        private int exceptionCount;
+
+        FileSet(LocalDate periodStart, LocalDate periodEnd, Set<RemittanceAgency> agencies, String label)
+                throws IOException {
+            ConfigurationManager config = ConfigurationManager.getInstance();
+            this.sssRatio = config.getSssEmployerShareRatio();
+            try {
+                for (RemittanceAgency agency : agencies) {
+                    RemittanceLayout layout = layouts.get(agency);
+                    RemittanceFile file = new RemittanceFile(agency, periodStart, periodEnd,
+                            config.getRemittanceEmployerId(agency.getDbValue()), config.getRemittanceEmployerName());
+                    file.setFileName(String.format("%s-%s.%s", agency.getDbValue(), label, layout.getFileExtension()));
+                    Writer writer = open(file.getFileName());
+                    layout.writeHeader(writer, file);
+                    files.add(file);
+                    byAgency.put(agency, file);
+                    writers.put(agency, writer);
+                }
+                exceptionsTarget = outputDirectory.resolve("id-exceptions-" + label + ".csv");
+                exceptions = open(exceptionsTarget.getFileName().toString());
+                exceptions.append("employee_id,last_name,first_name,agency,id,problem\n");
+            } catch (IOException | RuntimeException e) {
+                discard();
+                throw e;
+            }
+        }
+
+        private Writer open(String fileName) throws IOException {
+            Path target = outputDirectory.resolve(fileName);
+            Path temp = outputDirectory.resolve(fileName + ".tmp");
+            targets.add(target);
+            temps.add(temp);
+            FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            return new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), WRITE_BUFFER_CHARS),
+                    WRITE_BUFFER_CHARS);
+        }
+
+        void write(RemittanceLine line) throws IOException {
+            for (Map.Entry<RemittanceAgency, RemittanceFile> entry : byAgency.entrySet()) {
+                RemittanceAgency agency = entry.getKey();
+                RemittanceFile file = entry.getValue();
+                if (!isRemitted(agency, line)) {
+                    continue;
+                }
+
+                String id = line.getAgencyId(agency);
+                if (!agency.isValidId(id)) {
+                    file.reject();
+                    exceptionCount++;
+                    exceptions.append(Integer.toString(line.getEmployeeId())).append(',')
+                        .append(CsvDisbursementLayout.quote(line.getLastName())).append(',')
+                        .append(CsvDisbursementLayout.quote(line.getFirstName())).append(',')
+                        .append(agency.getDbValue()).append(',').append(CsvDisbursementLayout.quote(id)).append(',')
+                        .append(id == null || id.trim().isEmpty() ? "missing " : "malformed ")
+                        .append(agency.getIdLabel()).append('\n');
+                    continue;
+                }
+
+                long employerShare = employerShare(agency, line, sssRatio);
+                int sequence = file.add(line.getEmployeeShare(agency), employerShare,
+                        agency == RemittanceAgency.BIR ? line.getGrossCompensation() : line.getMonthlyRate());
+                layouts.get(agency).writeDetail(writers.get(agency), file, line, employerShare, sequence);
+            }
+        }
+
+        void finish() throws IOException {
+            for (RemittanceFile file : files) {
+                Writer writer = writers.remove(file.getAgency());
+                layouts.get(file.getAgency()).writeTrailer(writer, file);
+                writer.close();
+            }
+            exceptions.close();
+
+            for (int i = 0; i < temps.size(); i++) {
+                if (targets.get(i).equals(exceptionsTarget) && exceptionCount == 0) {
+                    Files.deleteIfExists(temps.get(i));
+                    continue;
+                }
+                Files.move(temps.get(i), targets.get(i), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+
+        void discard() {
+            List<Writer> open = new ArrayList<>(writers.values());
+            if (exceptions != null) {
+                open.add(exceptions);
+            }
+            for (Writer writer : open) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    LOGGER.log(Level.FINE, "Could not close remittance file", e);
+                }
+            }
+            for (Path temp : temps) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    LOGGER.log(Level.WARNING, "⚠️ Could not delete partial remittance file " + temp, e);
+                }
+            }
+        }
+    }
+}
@@ -4,6 +4,7 @@ package service;
 import dao.*;
 import model.*;
 import util.DBConnection;
+import util.Metrics;
 
 import java.sql.*;
 import java.time.LocalDate;
@@ -22,17 +23,20 @@ public class ReportGenerator {
     private final PayrollDAO payrollDAO;
     private final AttendanceDAO attendanceDAO;
     private final PayrollCalculator payrollCalculator;
+    private final PayRunService payRunService;
 
     public ReportGenerator() {
         this.employeeDAO = new EmployeeDAO();
         this.payrollDAO = new PayrollDAO();
         this.attendanceDAO = new AttendanceDAO();
         this.payrollCalculator = new PayrollCalculator();
+        this.payRunService = new PayRunService(new PayRunDAO(), employeeDAO, payrollCalculator);
     }
 
     /**
      * Generate monthly payroll report for all employees
      */
+    @SuppressWarnings("try")
     public PayrollReport generateMonthlyPayrollReport(LocalDate month, String generatedBy) {
         LocalDate periodStart = month.withDayOfMonth(1);
         LocalDate periodEnd = month.withDayOfMonth(month.lengthOfMonth());
@@ -46,19 +50,10 @@ public class ReportGenerator {
         report.setPeriodStart(periodStart);
         report.setPeriodEnd(periodEnd);
 
-        try {
-            List<Employee> employees = employeeDAO.getAllEmployees();
-            List<Payroll> payrollData = new ArrayList<>();
-
-            for (Employee emp : employees) {
-                try {
-                    Payroll payroll = payrollCalculator.calculatePayroll(
-                            emp.getEmployeeId(), periodStart, periodEnd);
-                    payrollData.add(payroll);
-                } catch (Exception e) {
-                    logger.log(Level.WARNING, "Error calculating payroll for employee " + emp.getEmployeeId(), e);
-                }
-            }
+        try (Metrics.Sample ignored = reportTimer("monthly_payroll").start()) {
+            // Approved periods are read from the frozen snapshot in a single scan
+            List<Payroll> payrollData = payRunService.getClosedPayrolls(periodStart, periodEnd)
+                    .orElseGet(() -> calculateAllPayrolls(periodStart, periodEnd));
 
             report.setPayrollData(payrollData);
             report.setSummary(generateReportSummary(payrollData));
@@ -71,9 +66,33 @@ public class ReportGenerator {
         return report;
     }
 
+    private static Metrics.Timer reportTimer(String report) {
+        return Metrics.timer("motorph_report_generation_seconds", "Time to generate a report", "report", report);
+    }
+
+    private List<Payroll> calculateAllPayrolls(LocalDate periodStart, LocalDate periodEnd) {
+        List<Payroll> payrollData = new ArrayList<>();
+        payrollCalculator.preloadPeriod(periodStart, periodEnd);
+        try {
+            for (Employee emp : employeeDAO.getAllEmployees()) {
+                try {
+                    Payroll payroll = payrollCalculator.calculatePayroll(
+                            emp.getEmployeeId(), periodStart, periodEnd);
+                    payrollData.add(payroll);
+                } catch (Exception e) {
+                    logger.log(Level.WARNING, "Error calculating payroll for employee " + emp.getEmployeeId(), e);
+                }
+            }
+        } finally {
+            payrollCalculator.clearPreloadedPeriod();
+        }
+        return payrollData;
+    }
+
     /**
      * Generate payroll report for specific employee
      */
+    @SuppressWarnings("try")
     public PayrollReport generateEmployeePayrollReport(int employeeId, LocalDate periodStart, LocalDate periodEnd, String generatedBy) {
         Employee employee = employeeDAO.getEmployeeById(employeeId);
         if (employee == null) {
@@ -89,13 +108,13 @@ public class ReportGenerator {
         report.setPeriodStart(periodStart);
         report.setPeriodEnd(periodEnd);
 
-        try {
+        try (Metrics.Sample ignored = reportTimer("employee_payroll").start()) {
             List<Payroll> existingPayrolls = payrollDAO.getPayrollByEmployeeIdAndDateRange(
                     employeeId, periodStart, periodEnd);
 
             if (existingPayrolls.isEmpty()) {
                 // Calculate new payroll
-                Payroll payroll = payrollCalculator.calculatePayroll(employeeId, periodStart, periodEnd);
+                Payroll payroll = payRunService.getPayrollForEmployee(employeeId, periodStart, periodEnd);
                 existingPayrolls = Arrays.asList(payroll);
             }
 
@@ -113,6 +132,7 @@ public class ReportGenerator {
     /**
      * Generate attendance summary report
      */
+    @SuppressWarnings("try")
     public AttendanceReport generateAttendanceSummaryReport(LocalDate periodStart, LocalDate periodEnd, String generatedBy) {
         AttendanceReport report = new AttendanceReport();
         report.setReportTitle("Attendance Summary Report");
@@ -121,7 +141,7 @@ public class ReportGenerator {
         report.setGeneratedBy(generatedBy);
         report.setGeneratedDate(LocalDate.now());
 
-        try {
+        try (Metrics.Sample ignored = reportTimer("attendance_summary").start()) {
             List<Employee> employees = employeeDAO.getAllEmployees();
             Map<Integer, List<Attendance>> attendanceMap = new HashMap<>();
 
@@ -0,0 +1,70 @@
+package service;
+
+import model.RemittanceAgency;
+import model.RemittanceFile;
+import model.RemittanceLine;
+
+import java.io.IOException;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * SSS contribution collection list (R-3) as a fixed-width text file.
+ * <pre>
+ *   00  employer number(10) employer name(40) applicable month MMyyyy(6)
+ *   20  last name(20) first name(20) SSS number(10) employee share(9) employer share(9) total(10)
+ *   99  employee count(6) employee share(12) employer share(12) total(13)
+ * </pre>
+ * Amounts are centavos, zero-filled; records are 100 columns ending in CRLF.
+ */
+public class SssR3Layout implements RemittanceLayout {
+
+    static final int RECORD_LENGTH = 100;
+    private static final String LINE_END = "\r\n";
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("MMyyyy");
+
+    @Override
+    public RemittanceAgency getAgency() {
+        return RemittanceAgency.SSS;
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "txt";
+    }
+
+    @Override
+    public void writeHeader(Appendable out, RemittanceFile file) throws IOException {
+        StringBuilder line = new StringBuilder(RECORD_LENGTH);
+        line.append("00");
+        FixedWidth.number(line, FixedWidth.digits(file.getEmployerId()), 10);
+        FixedWidth.text(line, file.getEmployerName(), 40);
+        line.append(MONTH.format(file.getPeriodEnd()));
+        FixedWidth.end(out, line, RECORD_LENGTH, LINE_END);
+    }
+
+    @Override
+    public void writeDetail(Appendable out, RemittanceFile file, RemittanceLine remittance, long employerShare,
+                            int sequence) throws IOException {
+        long employeeShare = remittance.getEmployeeShare(RemittanceAgency.SSS);
+        StringBuilder line = new StringBuilder(RECORD_LENGTH);
+        line.append("20");
+        FixedWidth.text(line, remittance.getLastName(), 20);
+        FixedWidth.text(line, remittance.getFirstName(), 20);
+        FixedWidth.number(line, FixedWidth.digits(remittance.getAgencyId(RemittanceAgency.SSS)), 10);
+        FixedWidth.number(line, employeeShare, 9);
+        FixedWidth.number(line, employerShare, 9);
+        FixedWidth.number(line, employeeShare + employerShare, 10);
+        FixedWidth.end(out, line, RECORD_LENGTH, LINE_END);
+    }
+
+    @Override
+    public void writeTrailer(Appendable out, RemittanceFile file) throws IOException {
+        StringBuilder line = new StringBuilder(RECORD_LENGTH);
+        line.append("99");
+        FixedWidth.number(line, file.getRecordCount(), 6);
+        FixedWidth.number(line, file.getEmployeeShare(), 12);
+        FixedWidth.number(line, file.getEmployerShare(), 12);
+        FixedWidth.number(line, file.getTotal(), 13);
+        FixedWidth.end(out, line, RECORD_LENGTH, LINE_END);
+    }
+}
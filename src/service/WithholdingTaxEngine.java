@@ -0,0 +1,71 @@
+package service;
+
+import model.PayFrequency;
+import model.PayPeriod;
+import model.TaxYearToDate;
+
+import java.time.LocalDate;
+
+/**
+ * Annualized withholding tax.
+ * A period withholds the tax on the projected annual income less the tax already withheld
+ * this year, spread over the periods still to come. The projection is the year-to-date net
+ * taxable income plus the current period's, repeated for the rest of the year, so overtime,
+ * taxable allowances, unpaid days and salary changes all move it, and over- or
+ * under-withholding in earlier periods corrects itself. The last period of the year is the
+ * true-up: nothing is projected and it withholds the tax on the actual annual income less
+ * everything withheld so far. Semi-monthly and weekly periods work the same way with more,
+ * smaller periods to spread over.
+ */
+public final class WithholdingTaxEngine {
+
+    private WithholdingTaxEngine() {
+    }
+
+    /**
+     * Withholding tax for one period
+     * @param ytd Accumulators of the periods before this one
+     * @param periodTaxableGross Earned basic pay, overtime and taxable allowances of the period
+     * @param periodContributions Employee SSS, PhilHealth and Pag-IBIG shares of the period
+     * @param remainingPeriods Periods left in the year after this one; 0 for the true-up
+     * @return Tax to withhold, never negative; over-withholding found at true-up is not refunded here
+     */
+    public static double calculatePeriodWithholding(TaxYearToDate ytd, double periodTaxableGross,
+                                                    double periodContributions, int remainingPeriods) {
+        int periodsLeft = Math.max(0, remainingPeriods) + 1;
+        double periodNetTaxable = periodTaxableGross - periodContributions;
+        double projectedAnnual = ytd.getNetTaxable() + periodNetTaxable * periodsLeft;
+
+        double annualTax = PayrollCalculator.calculateAnnualIncomeTax(Math.max(0.0, projectedAnnual));
+        double due = (annualTax - ytd.getTaxWithheld()) / periodsLeft;
+        return Math.max(0.0, Math.round(due * 100.0) / 100.0);
+    }
+
+    /**
+     * Monthly periods left in the year after the period ending on the given date
+     */
+    public static int remainingMonthlyPeriods(LocalDate periodEnd) {
+        return remainingPeriods(PayPeriodCalendar.periodContaining(PayFrequency.MONTHLY, periodEnd));
+    }
+
+    /**
+     * Periods of the same frequency left in the year after the given one
+     */
+    public static int remainingPeriods(PayPeriod period) {
+        return PayPeriodCalendar.remainingPeriodsInYear(period);
+    }
+
+    /**
+     * @return true if the monthly period ending on the given date closes the tax year
+     */
+    public static boolean isTrueUpPeriod(LocalDate periodEnd) {
+        return remainingMonthlyPeriods(periodEnd) == 0;
+    }
+
+    /**
+     * @return true if the period is the last of its frequency in the tax year
+     */
+    public static boolean isTrueUpPeriod(PayPeriod period) {
+        return remainingPeriods(period) == 0;
+    }
+}
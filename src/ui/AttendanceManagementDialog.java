@@ -5,9 +5,10 @@ import dao.AttendanceDAO;
 import dao.EmployeeDAO;
 import model.Employee;
 import model.Attendance;
+import model.ChangeEvent;
+import util.ChangeBus;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
 import java.awt.*;
 import java.awt.event.ActionEvent;
@@ -16,7 +17,9 @@ import java.sql.Date;
 import java.sql.Time;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Dialog for managing employee attendance records
@@ -29,7 +32,7 @@ public class AttendanceManagementDialog extends JDialog {
 
     // UI Components
     private JTable attendanceTable;
-    private DefaultTableModel tableModel;
+    private KeyedTableModel tableModel;
     private JComboBox<Employee> employeeComboBox;
     private JSpinner dateSpinner;
     private JSpinner logInSpinner;
@@ -45,6 +48,10 @@ public class AttendanceManagementDialog extends JDialog {
     private boolean isEditMode = false;
     private int editingAttendanceId = -1;
 
+    // Names of the employees in the combo box, for rows applied from change events
+    private final Map<Integer, String> employeeNames = new HashMap<>();
+    private final ChangeBus.Listener attendanceChanges = this::applyAttendanceChange;
+
     public AttendanceManagementDialog(Frame parent, Employee currentUser) {
         super(parent, "Attendance Management", true);
         this.currentUser = currentUser;
@@ -57,6 +64,7 @@ public class AttendanceManagementDialog extends JDialog {
         loadEmployees();
         loadAttendanceRecords();
         updateButtonStates();
+        ChangeBus.getInstance().subscribe(ChangeEvent.Entity.ATTENDANCE, attendanceChanges);
 
         setSize(1000, 700);
         setLocationRelativeTo(parent);
@@ -66,12 +74,7 @@ public class AttendanceManagementDialog extends JDialog {
     private void initializeComponents() {
         // Table setup
         String[] columns = {"ID", "Employee", "Date", "Log In", "Log Out", "Hours", "Status"};
-        tableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        tableModel = new KeyedTableModel(columns);
 
         attendanceTable = new JTable(tableModel);
         attendanceTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
@@ -313,10 +316,12 @@ public class AttendanceManagementDialog extends JDialog {
 
     private void loadEmployees() {
         employeeComboBox.removeAllItems();
+        employeeNames.clear();
         try {
             List<Employee> employees = employeeDAO.getAllEmployees();
             for (Employee emp : employees) {
                 employeeComboBox.addItem(emp);
+                employeeNames.put(emp.getEmployeeId(), emp.getFullName());
             }
             setStatus("Loaded " + employees.size() + " employees");
         } catch (Exception e) {
@@ -340,18 +345,7 @@ public class AttendanceManagementDialog extends JDialog {
                         emp.getEmployeeId(), startDate, endDate);
 
                 for (Attendance attendance : records) {
-                    String status = determineAttendanceStatus(attendance);
-
-                    Object[] row = {
-                            attendance.getId(),
-                            emp.getFullName(),
-                            attendance.getDate(),
-                            attendance.getLogIn(),
-                            attendance.getLogOut(),
-                            String.format("%.2f", attendance.getWorkHours()),
-                            status
-                    };
-                    tableModel.addRow(row);
+                    tableModel.addRow(toRow(attendance, emp.getFullName()));
                     totalRecords++;
                 }
             }
@@ -363,6 +357,43 @@ public class AttendanceManagementDialog extends JDialog {
         }
     }
 
+    private Object[] toRow(Attendance attendance, String employeeName) {
+        return new Object[] {
+                attendance.getId(),
+                employeeName,
+                attendance.getDate(),
+                attendance.getLogIn(),
+                attendance.getLogOut(),
+                String.format("%.2f", attendance.getWorkHours()),
+                determineAttendanceStatus(attendance)
+        };
+    }
+
+    /**
+     * Applies an attendance change to its row; runs on the change bus thread, so the one
+     * record is read here and the table is updated on the event dispatch thread
+     */
+    private void applyAttendanceChange(ChangeEvent event) {
+        if (event.getKind() == ChangeEvent.Kind.BULK) {
+            SwingUtilities.invokeLater(this::loadAttendanceRecords);
+            return;
+        }
+        Attendance attendance = event.getKind() == ChangeEvent.Kind.DELETED
+                ? null : attendanceDAO.getAttendanceById(event.getEntityId());
+        SwingUtilities.invokeLater(() -> {
+            // Same window as loadAttendanceRecords; a record moved out of it leaves the table
+            LocalDate endDate = LocalDate.now();
+            LocalDate startDate = endDate.minusDays(30);
+            LocalDate date = attendance != null ? attendance.getDate().toLocalDate() : null;
+            if (date == null || date.isBefore(startDate) || date.isAfter(endDate)) {
+                tableModel.removeRowByKey(event.getEntityId());
+            } else {
+                tableModel.upsertRow(toRow(attendance,
+                        employeeNames.getOrDefault(attendance.getEmployeeId(), "Unknown")));
+            }
+        });
+    }
+
     private String determineAttendanceStatus(Attendance attendance) {
         if (attendance.getLogIn() == null) {
             return "No Log In";
@@ -407,7 +438,6 @@ public class AttendanceManagementDialog extends JDialog {
 
             if (id > 0) {
                 showSuccess("Attendance record added successfully for " + selectedEmployee.getFullName());
-                loadAttendanceRecords();
                 clearForm();
             } else {
                 showError("Failed to add attendance record");
@@ -439,7 +469,6 @@ public class AttendanceManagementDialog extends JDialog {
 
             if (updated) {
                 showSuccess("Attendance record updated successfully");
-                loadAttendanceRecords();
                 clearForm();
             } else {
                 showError("Failed to update attendance record");
@@ -473,7 +502,6 @@ public class AttendanceManagementDialog extends JDialog {
 
                 if (deleted) {
                     showSuccess("Attendance record deleted successfully");
-                    loadAttendanceRecords();
                     clearForm();
                 } else {
                     showError("Failed to delete attendance record");
@@ -572,6 +600,12 @@ public class AttendanceManagementDialog extends JDialog {
         addButton.setText(isEditMode ? "Save Changes" : "Add Record");
     }
 
+    @Override
+    public void dispose() {
+        ChangeBus.getInstance().unsubscribe(attendanceChanges);
+        super.dispose();
+    }
+
     // Status and message methods
     private void setStatus(String message) {
         statusLabel.setText(message);
@@ -0,0 +1,150 @@
+package ui;
+
+import dao.AuditLogDAO;
+import model.AuditEvent;
+import util.AuditTrail;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.text.SimpleDateFormat;
+import java.util.List;
+
+public class AuditTrailDialog extends JDialog {
+    private static final int MAX_ROWS = 500;
+
+    private AuditLogDAO auditLogDAO;
+
+    private JTable auditTable;
+    private DefaultTableModel tableModel;
+    private JComboBox<String> entityFilter;
+    private JButton refreshButton;
+    private JButton closeButton;
+    private JLabel statusLabel;
+
+    public AuditTrailDialog(Frame parent, String title) {
+        super(parent, title, true);
+        this.auditLogDAO = new AuditLogDAO();
+
+        initializeComponents();
+        setupLayout();
+        setupEventHandlers();
+        loadAuditEvents();
+
+        setSize(950, 600);
+        setLocationRelativeTo(parent);
+    }
+
+    private void initializeComponents() {
+        // Table setup
+        String[] columns = {"Time", "User", "Action", "Record", "ID", "Details"};
+        tableModel = new DefaultTableModel(columns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        auditTable = new JTable(tableModel);
+        auditTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        auditTable.setRowHeight(25);
+        auditTable.getColumnModel().getColumn(5).setPreferredWidth(400);
+
+        // Entity filter
+        String[] entities = {"All", AuditEvent.ENTITY_EMPLOYEE, AuditEvent.ENTITY_ATTENDANCE, AuditEvent.ENTITY_CREDENTIALS,
+                AuditEvent.ENTITY_LEAVE_REQUEST, AuditEvent.ENTITY_OVERTIME, AuditEvent.ENTITY_PAY_RUN};
+        entityFilter = new JComboBox<>(entities);
+
+        // Buttons
+        refreshButton = new JButton("Refresh");
+        closeButton = new JButton("Close");
+        statusLabel = new JLabel(" ");
+
+        refreshButton.setBackground(new Color(70, 130, 180));
+        refreshButton.setForeground(Color.WHITE);
+    }
+
+    private void setupLayout() {
+        setLayout(new BorderLayout());
+
+        // Header
+        JPanel headerPanel = new JPanel();
+        headerPanel.setBackground(new Color(25, 25, 112));
+        headerPanel.setBorder(BorderFactory.createEmptyBorder(15, 20, 15, 20));
+
+        JLabel titleLabel = new JLabel(getTitle());
+        titleLabel.setFont(new Font("Arial", Font.BOLD, 16));
+        titleLabel.setForeground(Color.WHITE);
+        headerPanel.add(titleLabel);
+
+        // Filter panel
+        JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        filterPanel.add(new JLabel("Record Type:"));
+        filterPanel.add(entityFilter);
+        filterPanel.add(refreshButton);
+
+        // Button panel
+        JPanel buttonPanel = new JPanel(new BorderLayout());
+        buttonPanel.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
+        buttonPanel.add(statusLabel, BorderLayout.WEST);
+        buttonPanel.add(closeButton, BorderLayout.EAST);
+
+        // Main panel
+        JPanel mainPanel = new JPanel(new BorderLayout());
+        mainPanel.add(filterPanel, BorderLayout.NORTH);
+        mainPanel.add(new JScrollPane(auditTable), BorderLayout.CENTER);
+        mainPanel.add(buttonPanel, BorderLayout.SOUTH);
+
+        add(headerPanel, BorderLayout.NORTH);
+        add(mainPanel, BorderLayout.CENTER);
+    }
+
+    private void setupEventHandlers() {
+        entityFilter.addActionListener(e -> loadAuditEvents());
+        refreshButton.addActionListener(e -> loadAuditEvents());
+        closeButton.addActionListener(e -> dispose());
+    }
+
+    private void loadAuditEvents() {
+        String selected = (String) entityFilter.getSelectedItem();
+        String entityType = "All".equals(selected) ? null : selected;
+        refreshButton.setEnabled(false);
+        statusLabel.setText("Loading...");
+
+        new SwingWorker<List<AuditEvent>, Void>() {
+            @Override
+            protected List<AuditEvent> doInBackground() {
+                // Make sure events still queued in memory are visible
+                AuditTrail.getInstance().flush();
+                return auditLogDAO.getRecentEvents(entityType, MAX_ROWS);
+            }
+
+            @Override
+            protected void done() {
+                refreshButton.setEnabled(true);
+                tableModel.setRowCount(0);
+                try {
+                    List<AuditEvent> events = get();
+                    SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+                    for (AuditEvent event : events) {
+                        Object[] row = {
+                                event.getEventTime() != null ? format.format(event.getEventTime()) : "",
+                                event.getActorName(),
+                                event.getAction(),
+                                event.getEntityType(),
+                                event.getEntityId(),
+                                event.getDetails()
+                        };
+                        tableModel.addRow(row);
+                    }
+                    statusLabel.setText("Showing " + events.size() + " most recent events");
+                } catch (Exception e) {
+                    statusLabel.setText(" ");
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(AuditTrailDialog.this,
+                            "Error loading audit trail: " + cause.getMessage(),
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+}
@@ -0,0 +1,212 @@
+package ui;
+
+import model.CostAllocation;
+import service.CostAllocationService;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Payroll cost of a month by department, drilling down to the employees charged to each.
+ * The tree is built once per month by the service; moving between levels does not query.
+ */
+public class CostAllocationDialog extends JDialog {
+    private final CostAllocationService costAllocationService;
+    private final Deque<CostAllocation> path = new ArrayDeque<>();
+
+    private JTable allocationTable;
+    private DefaultTableModel tableModel;
+    private JTextField monthField;
+    private JButton loadButton;
+    private JButton upButton;
+    private JButton closeButton;
+    private JLabel pathLabel;
+    private JLabel statusLabel;
+
+    /**
+     * @param month Month to open, or null for the month of the latest approved pay run
+     */
+    public CostAllocationDialog(Frame parent, String title, CostAllocationService costAllocationService, YearMonth month) {
+        super(parent, title, true);
+        this.costAllocationService = costAllocationService;
+
+        initializeComponents();
+        setupLayout();
+        setupEventHandlers();
+        loadAllocation(month);
+
+        setSize(1100, 600);
+        setLocationRelativeTo(parent);
+    }
+
+    private void initializeComponents() {
+        // Table setup
+        String[] columns = {"Name", "Headcount", "Basic Pay", "Overtime", "Allowances", "Employer Share",
+                "Total Cost", "Budget", "Variance"};
+        tableModel = new DefaultTableModel(columns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        allocationTable = new JTable(tableModel);
+        allocationTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        allocationTable.setRowHeight(25);
+        allocationTable.getColumnModel().getColumn(0).setPreferredWidth(220);
+
+        monthField = new JTextField(8);
+        loadButton = new JButton("Load");
+        upButton = new JButton("Up");
+        closeButton = new JButton("Close");
+        pathLabel = new JLabel(" ");
+        statusLabel = new JLabel(" ");
+
+        loadButton.setBackground(new Color(70, 130, 180));
+        loadButton.setForeground(Color.WHITE);
+        upButton.setEnabled(false);
+    }
+
+    private void setupLayout() {
+        setLayout(new BorderLayout());
+
+        // Header
+        JPanel headerPanel = new JPanel();
+        headerPanel.setBackground(new Color(44, 62, 80));
+        headerPanel.setBorder(BorderFactory.createEmptyBorder(15, 20, 15, 20));
+
+        JLabel titleLabel = new JLabel(getTitle());
+        titleLabel.setFont(new Font("Arial", Font.BOLD, 16));
+        titleLabel.setForeground(Color.WHITE);
+        headerPanel.add(titleLabel);
+
+        // Filter panel
+        JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        filterPanel.add(new JLabel("Month (yyyy-MM):"));
+        filterPanel.add(monthField);
+        filterPanel.add(loadButton);
+        filterPanel.add(upButton);
+        filterPanel.add(pathLabel);
+
+        // Button panel
+        JPanel buttonPanel = new JPanel(new BorderLayout());
+        buttonPanel.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
+        buttonPanel.add(statusLabel, BorderLayout.WEST);
+        buttonPanel.add(closeButton, BorderLayout.EAST);
+
+        // Main panel
+        JPanel mainPanel = new JPanel(new BorderLayout());
+        mainPanel.add(filterPanel, BorderLayout.NORTH);
+        mainPanel.add(new JScrollPane(allocationTable), BorderLayout.CENTER);
+        mainPanel.add(buttonPanel, BorderLayout.SOUTH);
+
+        add(headerPanel, BorderLayout.NORTH);
+        add(mainPanel, BorderLayout.CENTER);
+    }
+
+    private void setupEventHandlers() {
+        loadButton.addActionListener(e -> {
+            try {
+                loadAllocation(YearMonth.parse(monthField.getText().trim()));
+            } catch (DateTimeParseException ex) {
+                JOptionPane.showMessageDialog(this, "Please enter a month such as " + YearMonth.now().minusMonths(1),
+                        getTitle(), JOptionPane.WARNING_MESSAGE);
+            }
+        });
+        upButton.addActionListener(e -> {
+            path.pop();
+            showNode();
+        });
+        closeButton.addActionListener(e -> dispose());
+
+        // Double-click a department to see the employees charged to it
+        allocationTable.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int row = allocationTable.getSelectedRow();
+                if (e.getClickCount() == 2 && row >= 0 && !path.isEmpty()) {
+                    CostAllocation selected = path.peek().getChildren().get(row);
+                    if (selected.getLevel() != CostAllocation.Level.EMPLOYEE) {
+                        path.push(selected);
+                        showNode();
+                    }
+                }
+            }
+        });
+    }
+
+    private void loadAllocation(YearMonth month) {
+        loadButton.setEnabled(false);
+        statusLabel.setText("Loading...");
+
+        new SwingWorker<CostAllocation, Void>() {
+            @Override
+            protected CostAllocation doInBackground() {
+                return month != null ? costAllocationService.allocate(month) : costAllocationService.allocateLatest();
+            }
+
+            @Override
+            protected void done() {
+                loadButton.setEnabled(true);
+                try {
+                    CostAllocation company = get();
+                    path.clear();
+                    if (company == null) {
+                        tableModel.setRowCount(0);
+                        statusLabel.setText("No approved pay run yet");
+                        return;
+                    }
+                    monthField.setText(company.getPeriod().toString());
+                    path.push(company);
+                    showNode();
+                } catch (Exception e) {
+                    statusLabel.setText(" ");
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(CostAllocationDialog.this,
+                            "Error loading payroll cost: " + cause.getMessage(),
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    private void showNode() {
+        CostAllocation node = path.peek();
+        List<CostAllocation> children = node.getChildren();
+        boolean departments = node.getLevel() == CostAllocation.Level.COMPANY;
+
+        tableModel.setRowCount(0);
+        for (CostAllocation child : children) {
+            Object[] row = {
+                    child.getName(),
+                    String.format("%.2f", child.getHeadcount()),
+                    pesos(child.getBasicPay()),
+                    pesos(child.getOvertimePay()),
+                    pesos(child.getAllowances()),
+                    pesos(child.getEmployerShare()),
+                    pesos(child.getTotalCost()),
+                    departments ? pesos(child.getBudget()) : "",
+                    departments ? pesos(child.getBudgetVariance()) : ""
+            };
+            tableModel.addRow(row);
+        }
+
+        CostAllocation company = path.peekLast();
+        pathLabel.setText(departments ? company.getName() : company.getName() + " › " + node.getName());
+        upButton.setEnabled(path.size() > 1);
+        statusLabel.setText(String.format("%s: total cost %s of budget %s%s", company.getPeriod(),
+                pesos(node.getTotalCost()), pesos(departments ? company.getBudget() : node.getBudget()),
+                company.isClosed() ? "" : " (" + company.getOpenRuns() + " pay runs not approved yet are left out)"));
+    }
+
+    private static String pesos(long centavos) {
+        return String.format("₱%,.2f", centavos / 100.0);
+    }
+}
@@ -1,10 +1,13 @@
 package ui;
 
 import dao.AttendanceDAO;
+import dao.EmployeeDAO;
+import dao.PayRunDAO;
 import model.Employee;
 import model.Attendance;
 import model.Payroll;
 import service.PayrollCalculator;
+import service.PayRunService;
 import ui.PayrollDetailsDialog;
 import ui.LoginForm;
 import ui.LeaveRequestDialog;
@@ -38,6 +41,7 @@ public class EmployeeDashboard extends JFrame {
     // Services
     private AttendanceDAO attendanceDAO;
     private PayrollCalculator payrollCalculator;
+    private PayRunService payRunService;
 
     public EmployeeDashboard(Employee user) {
         this.currentUser = user;
@@ -46,6 +50,7 @@ public class EmployeeDashboard extends JFrame {
             // Initialize DAOs and services
             this.attendanceDAO = new AttendanceDAO();
             this.payrollCalculator = new PayrollCalculator();
+            this.payRunService = new PayRunService(new PayRunDAO(), new EmployeeDAO(), payrollCalculator);
 
             // Initialize UI components
             initializeComponents();
@@ -420,7 +425,7 @@ public class EmployeeDashboard extends JFrame {
             LocalDate periodStart = LocalDate.of(selectedYear, selectedMonth, 1);
             LocalDate periodEnd = periodStart.withDayOfMonth(periodStart.lengthOfMonth());
 
-            Payroll payroll = payrollCalculator.calculatePayroll(currentUser.getEmployeeId(), periodStart, periodEnd);
+            Payroll payroll = payRunService.getPayrollForEmployee(currentUser.getEmployeeId(), periodStart, periodEnd);
 
             PayrollDetailsDialog dialog = new PayrollDetailsDialog(this, currentUser, payroll);
             dialog.setVisible(true);
@@ -576,7 +581,7 @@ public class EmployeeDashboard extends JFrame {
             LocalDate periodStart = LocalDate.of(selectedYear, selectedMonth, 1);
             LocalDate periodEnd = periodStart.withDayOfMonth(periodStart.lengthOfMonth());
 
-            Payroll payroll = payrollCalculator.calculatePayroll(currentUser.getEmployeeId(), periodStart, periodEnd);
+            Payroll payroll = payRunService.getPayrollForEmployee(currentUser.getEmployeeId(), periodStart, periodEnd);
 
             Object[] row = {
                     periodStart.format(DateTimeFormatter.ofPattern("MMM yyyy")),
@@ -613,7 +618,7 @@ public class EmployeeDashboard extends JFrame {
             LocalDate periodStart = LocalDate.of(selectedYear, selectedMonth, 1);
             LocalDate periodEnd = periodStart.withDayOfMonth(periodStart.lengthOfMonth());
 
-            Payroll payroll = payrollCalculator.calculatePayroll(currentUser.getEmployeeId(), periodStart, periodEnd);
+            Payroll payroll = payRunService.getPayrollForEmployee(currentUser.getEmployeeId(), periodStart, periodEnd);
 
             // Show detailed payroll dialog
             PayrollDetailsDialog dialog = new PayrollDetailsDialog(this, currentUser, payroll);
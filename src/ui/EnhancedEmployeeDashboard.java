@@ -1,10 +1,17 @@
 package ui;
 
 import dao.AttendanceDAO;
+import dao.EmployeeDAO;
+import dao.LeaveBalanceDAO;
+import dao.LeaveRequestDAO;
+import dao.PayRunDAO;
 import dao.PayrollDAO;
 import model.Employee;
 import model.Attendance;
+import model.LeaveBalance;
+import model.LeaveRequest;
 import model.Payroll;
+import service.PayRunService;
 import service.PayrollCalculator;
 import ui.PayrollDetailsDialog;
 import ui.LoginForm;
@@ -61,11 +68,15 @@ public class EnhancedEmployeeDashboard extends JFrame {
     private DefaultTableModel leaveTableModel;
     private JButton submitLeaveButton;
     private JButton refreshLeaveButton;
+    private JLabel leaveBalanceLabel;
 
     // Services
     private AttendanceDAO attendanceDAO;
     private PayrollDAO payrollDAO;
+    private LeaveRequestDAO leaveRequestDAO;
+    private LeaveBalanceDAO leaveBalanceDAO;
     private PayrollCalculator payrollCalculator;
+    private PayRunService payRunService;
 
     public EnhancedEmployeeDashboard(Employee user) {
         this.currentUser = user;
@@ -74,7 +85,10 @@ public class EnhancedEmployeeDashboard extends JFrame {
             // Initialize services
             this.attendanceDAO = new AttendanceDAO();
             this.payrollDAO = new PayrollDAO();
+            this.leaveRequestDAO = new LeaveRequestDAO();
+            this.leaveBalanceDAO = new LeaveBalanceDAO();
             this.payrollCalculator = new PayrollCalculator();
+            this.payRunService = new PayRunService(new PayRunDAO(), new EmployeeDAO(), payrollCalculator);
 
             // Initialize UI
             initializeComponents();
@@ -232,6 +246,10 @@ public class EnhancedEmployeeDashboard extends JFrame {
         leaveTable = new JTable(leaveTableModel);
         setupTableStyling(leaveTable);
 
+        leaveBalanceLabel = new JLabel("Leave balance: loading...");
+        leaveBalanceLabel.setFont(new Font("Segoe UI", Font.BOLD, 13));
+        leaveBalanceLabel.setForeground(DARK_GRAY);
+
         submitLeaveButton = createStyledButton("📝 Submit Leave Request", PRIMARY_BLUE);
         refreshLeaveButton = createStyledButton("🔄 Refresh", SECONDARY_BLUE);
     }
@@ -622,6 +640,8 @@ public class EnhancedEmployeeDashboard extends JFrame {
 
         controlPanel.add(submitLeaveButton);
         controlPanel.add(refreshLeaveButton);
+        controlPanel.add(Box.createHorizontalStrut(20));
+        controlPanel.add(leaveBalanceLabel);
 
         // Table panel
         JPanel tablePanel = new JPanel(new BorderLayout());
@@ -850,10 +870,38 @@ public class EnhancedEmployeeDashboard extends JFrame {
 
     private void loadLeaveData() {
         leaveTableModel.setRowCount(0);
-        // Note: Leave data loading would require LeaveRequestDAO
-        // For now, show placeholder
-        Object[] row = {"N/A", "No leave requests", "N/A", "N/A", "N/A", "N/A", "N/A"};
-        leaveTableModel.addRow(row);
+
+        try {
+            List<LeaveRequest> requests = leaveRequestDAO.getLeaveRequestsByEmployeeId(currentUser.getEmployeeId());
+            for (LeaveRequest request : requests) {
+                Object[] row = {
+                        request.getLeaveId(),
+                        request.getLeaveType(),
+                        request.getStartDate().toString(),
+                        request.getEndDate().toString(),
+                        request.getLeaveDays(),
+                        request.getStatus(),
+                        "N/A"
+                };
+                leaveTableModel.addRow(row);
+            }
+            if (requests.isEmpty()) {
+                Object[] row = {"N/A", "No leave requests", "N/A", "N/A", "N/A", "N/A", "N/A"};
+                leaveTableModel.addRow(row);
+            }
+
+            // Balances are kept current by the leave ledger, so this is one indexed read
+            StringBuilder balances = new StringBuilder("Leave balance " + LocalDate.now().getYear() + ": ");
+            for (LeaveBalance balance : leaveBalanceDAO.getBalances(currentUser.getEmployeeId(), LocalDate.now().getYear())) {
+                balances.append(String.format("%s %.2f  ", balance.getLeaveType(), balance.getAvailable()));
+            }
+            leaveBalanceLabel.setText(balances.toString().trim());
+
+        } catch (Exception e) {
+            leaveBalanceLabel.setText("Leave balance: unavailable");
+            showErrorMessage("Error loading leave data: " + e.getMessage());
+            e.printStackTrace();
+        }
     }
 
     private void calculateCurrentPayroll() {
@@ -867,10 +915,11 @@ public class EnhancedEmployeeDashboard extends JFrame {
             LocalDate periodStart = LocalDate.of(selectedYear, selectedMonth, 1);
             LocalDate periodEnd = periodStart.withDayOfMonth(periodStart.lengthOfMonth());
 
-            Payroll payroll = payrollCalculator.calculatePayroll(currentUser.getEmployeeId(), periodStart, periodEnd);
+            // A closed period is served from its pay run's frozen snapshot, an open one is calculated live
+            Payroll payroll = payRunService.getPayrollForEmployee(currentUser.getEmployeeId(), periodStart, periodEnd);
 
-            // Refresh the table
-            loadPayrollData();
+            payrollTableModel.setRowCount(0);
+            addPayrollRow(payroll, "Calculated");
 
             showSuccessMessage("Payroll calculated successfully for " + 
                     periodStart.format(DateTimeFormatter.ofPattern("MMMM yyyy")));
@@ -4,8 +4,12 @@ import dao.EmployeeDAO;
 import dao.AttendanceDAO;
 import model.Employee;
 import model.Attendance;
+import model.ChangeEvent;
 import model.Payroll;
-import service.PayrollCalculator;
+import model.WorkforceMetrics;
+import util.ChangeBus;
+import util.DashboardMetrics;
+import util.StartupTimings;
 import ui.LoginForm;
 import ui.EmployeeDetailsDialog;
 import ui.PasswordChangeDialog;
@@ -24,19 +28,26 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.ActionEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.awt.image.BufferedImage;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class HRDashboard extends JFrame {
     private Employee currentUser;
     private JPanel mainContentPanel;
     private JPanel sidebarPanel;
-    private JPanel dashboardPanel;
     private String currentView = "dashboard";
+    // Views are built the first time they are shown and kept for later switches
+    private final Map<String, JPanel> views = new HashMap<>();
+    private final Map<String, JButton> sidebarButtons = new LinkedHashMap<>();
 
     // Modern Color Palette - Professional Purple/Blue Theme
     private static final Color PRIMARY_PURPLE = new Color(88, 86, 214);     // Deep purple
@@ -53,7 +64,7 @@ public class HRDashboard extends JFrame {
 
     // Dashboard Components
     private JTable employeeTable;
-    private DefaultTableModel employeeTableModel;
+    private KeyedTableModel employeeTableModel;
     private TableRowSorter<DefaultTableModel> tableSorter;
     private JTextField searchField;
     private JLabel totalEmployeesLabel;
@@ -64,11 +75,15 @@ public class HRDashboard extends JFrame {
     // Services
     private EmployeeDAO employeeDAO;
     private AttendanceDAO attendanceDAO;
-    private PayrollCalculator payrollCalculator;
 
-    // Timer for real-time updates
+    // Timer for real-time updates; metrics are pushed by DashboardMetrics
     private Timer dateTimeTimer;
-    private Timer metricsTimer;
+    private final DashboardMetrics.Listener metricsListener =
+            metrics -> SwingUtilities.invokeLater(() -> showMetrics(metrics));
+    // Edits update their row of the employee table; see applyEmployeeChange
+    private final ChangeBus.Listener employeeChanges = this::applyEmployeeChange;
+    // Bumped by every load or search so a slower, older load cannot overwrite a newer one
+    private int employeeLoads;
 
     public HRDashboard(Employee user) {
         this.currentUser = user;
@@ -79,13 +94,19 @@ public class HRDashboard extends JFrame {
             
             this.employeeDAO = new EmployeeDAO();
             this.attendanceDAO = new AttendanceDAO();
-            this.payrollCalculator = new PayrollCalculator();
 
             initializeComponents();
             setupLayout();
             setupEventHandlers();
-            startRealTimeUpdates();
-            loadData();
+
+            // The frame opens with an empty table; updates and data start once it is shown
+            addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowOpened(WindowEvent e) {
+                    startRealTimeUpdates();
+                    loadData();
+                }
+            });
 
             System.out.println("✅ Comprehensive HR Dashboard initialized for: " + user.getFullName());
 
@@ -179,12 +200,7 @@ public class HRDashboard extends JFrame {
 
         // Initialize employee table for dashboard
         String[] columns = {"ID", "Last Name", "First Name", "Position", "Department", "Email", "Phone", "Hire Date", "Salary"};
-        employeeTableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        employeeTableModel = new KeyedTableModel(columns);
 
         employeeTable = new JTable(employeeTableModel);
         setupTableStyling(employeeTable);
@@ -198,9 +214,6 @@ public class HRDashboard extends JFrame {
         searchField.setBorder(BorderFactory.createCompoundBorder(
                 BorderFactory.createLineBorder(BORDER_LIGHT, 1),
                 BorderFactory.createEmptyBorder(10, 15, 10, 15)));
-
-        // Create dashboard panel
-        dashboardPanel = createDashboardPanel();
     }
 
     private JPanel createSidebarPanel() {
@@ -327,19 +340,15 @@ public class HRDashboard extends JFrame {
         button.setCursor(new Cursor(Cursor.HAND_CURSOR));
         button.setMaximumSize(new Dimension(Integer.MAX_VALUE, 45));
         button.setPreferredSize(new Dimension(240, 45));
-        
-        if (isActive) {
-            button.setBackground(PRIMARY_PURPLE);
-            button.setForeground(Color.WHITE);
-        } else {
-            button.setBackground(SIDEBAR_DARK);
-            button.setForeground(new Color(156, 163, 175));
+        styleSidebarButton(button, isActive);
+        if (!"logout".equals(action)) {
+            sidebarButtons.put(action, button);
         }
 
         button.addMouseListener(new MouseAdapter() {
             @Override
             public void mouseEntered(MouseEvent e) {
-                if (!isActive) {
+                if (!action.equals(currentView)) {
                     button.setBackground(new Color(55, 65, 81));
                     button.setForeground(Color.WHITE);
                 }
@@ -347,7 +356,7 @@ public class HRDashboard extends JFrame {
 
             @Override
             public void mouseExited(MouseEvent e) {
-                if (!isActive) {
+                if (!action.equals(currentView)) {
                     button.setBackground(SIDEBAR_DARK);
                     button.setForeground(new Color(156, 163, 175));
                 }
@@ -359,6 +368,16 @@ public class HRDashboard extends JFrame {
         return button;
     }
 
+    private void styleSidebarButton(JButton button, boolean isActive) {
+        if (isActive) {
+            button.setBackground(PRIMARY_PURPLE);
+            button.setForeground(Color.WHITE);
+        } else {
+            button.setBackground(SIDEBAR_DARK);
+            button.setForeground(new Color(156, 163, 175));
+        }
+    }
+
     private JPanel createDashboardPanel() {
         JPanel dashboard = new JPanel(new BorderLayout());
         dashboard.setBackground(BACKGROUND_LIGHT);
@@ -545,22 +564,7 @@ public class HRDashboard extends JFrame {
     }
 
     private void switchView(String view) {
-        currentView = view;
-        mainContentPanel.removeAll();
-
         switch (view) {
-            case "dashboard":
-                mainContentPanel.add(dashboardPanel, BorderLayout.CENTER);
-                break;
-            case "employees":
-                mainContentPanel.add(createEmployeesView(), BorderLayout.CENTER);
-                break;
-            case "payroll":
-                mainContentPanel.add(createPayrollView(), BorderLayout.CENTER);
-                break;
-            case "attendance":
-                mainContentPanel.add(createAttendanceView(), BorderLayout.CENTER);
-                break;
             case "leave":
                 openLeaveManagement();
                 return;
@@ -572,19 +576,29 @@ public class HRDashboard extends JFrame {
                 return;
         }
 
+        currentView = view;
+        mainContentPanel.removeAll();
+        mainContentPanel.add(views.computeIfAbsent(view, this::createView), BorderLayout.CENTER);
         mainContentPanel.revalidate();
         mainContentPanel.repaint();
         updateSidebarButtons(view);
     }
 
+    private JPanel createView(String view) {
+        switch (view) {
+            case "employees":
+                return createEmployeesView();
+            case "payroll":
+                return createPayrollView();
+            case "attendance":
+                return createAttendanceView();
+            default:
+                return createDashboardPanel();
+        }
+    }
+
     private void updateSidebarButtons(String activeView) {
-        // Update sidebar button states - this would require storing button references
-        // For now, we'll recreate the sidebar
-        remove(sidebarPanel);
-        sidebarPanel = createSidebarPanel();
-        add(sidebarPanel, BorderLayout.WEST);
-        revalidate();
-        repaint();
+        sidebarButtons.forEach((action, button) -> styleSidebarButton(button, action.equals(activeView)));
     }
 
     private JPanel createEmployeesView() {
@@ -637,9 +651,9 @@ public class HRDashboard extends JFrame {
         dateTimeTimer = new Timer(1000, e -> updateDateTime());
         dateTimeTimer.start();
 
-        // Update metrics every 30 seconds
-        metricsTimer = new Timer(30000, e -> updateMetrics());
-        metricsTimer.start();
+        // Metric cards follow the live counters instead of polling
+        DashboardMetrics.getInstance().addListener(metricsListener);
+        ChangeBus.getInstance().subscribe(ChangeEvent.Entity.EMPLOYEE, employeeChanges);
 
         // Initial updates
         updateDateTime();
@@ -653,22 +667,21 @@ public class HRDashboard extends JFrame {
     }
 
     private void updateMetrics() {
-        try {
-            List<Employee> allEmployees = employeeDAO.getAllEmployees();
-            totalEmployeesLabel.setText(String.valueOf(allEmployees.size()));
-
-            // Calculate new employees - simplified since getHireDate might not exist
-            // For now, show a placeholder value
-            newEmployeesLabel.setText("+2");
-
-            // Calculate attendance rate (placeholder - implement based on your logic)
-            attendanceRateLabel.setText("96.8%");
-
-        } catch (Exception e) {
-            e.printStackTrace();
+        // Writes made here have already adjusted the counters; show them without a query
+        WorkforceMetrics metrics = DashboardMetrics.getInstance().getCurrent();
+        if (metrics != null) {
+            showMetrics(metrics);
         }
     }
 
+    private void showMetrics(WorkforceMetrics metrics) {
+        totalEmployeesLabel.setText(String.valueOf(metrics.getHeadcount()));
+        newEmployeesLabel.setText("+" + metrics.getNewHires());
+        attendanceRateLabel.setText(String.format("%.1f%%", metrics.getAttendanceRate()));
+        attendanceRateLabel.setToolTipText(String.format("%d present today, %d late",
+                metrics.getPresentToday(), metrics.getLateToday()));
+    }
+
     private void setupEventHandlers() {
         searchField.addActionListener(e -> searchEmployees());
 
@@ -695,33 +708,73 @@ public class HRDashboard extends JFrame {
         updateMetrics();
     }
 
+    /**
+     * Reads the employees off the event dispatch thread; the table is refilled when they arrive
+     */
     private void loadEmployeeData() {
-        employeeTableModel.setRowCount(0);
-
-        try {
-            List<Employee> employees = employeeDAO.getAllEmployees();
+        int load = ++employeeLoads;
+        new SwingWorker<List<Employee>, Void>() {
+            @Override
+            protected List<Employee> doInBackground() {
+                return employeeDAO.getAllEmployees();
+            }
 
-            for (Employee emp : employees) {
-                Object[] row = {
-                        emp.getEmployeeId(),
-                        emp.getLastName(),
-                        emp.getFirstName(),
-                        emp.getPosition(),
-                        "HR", // Department placeholder since getDepartment() doesn't exist
-                        emp.getEmployeeId() + "@motorphilippines.com", // Email placeholder
-                        emp.getPhoneNumber() != null ? emp.getPhoneNumber() : "Not provided",
-                        "Jan 15, 2024", // Hire date placeholder since getHireDate() doesn't exist
-                        String.format("₱%,.2f", emp.getBasicSalary())
-                };
-                employeeTableModel.addRow(row);
+            @Override
+            protected void done() {
+                if (load != employeeLoads) {
+                    return;
+                }
+                employeeTableModel.setRowCount(0);
+                try {
+                    for (Employee emp : get()) {
+                        employeeTableModel.addRow(toEmployeeRow(emp));
+                    }
+                    StartupTimings.mark("dashboard data loaded");
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(HRDashboard.this, 
+                            "<html><center><h3>❌ Data Loading Error</h3><p>Error loading employee data: " + cause.getMessage() + "</p></center></html>",
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                    cause.printStackTrace();
+                }
             }
+        }.execute();
+    }
 
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, 
-                    "<html><center><h3>❌ Data Loading Error</h3><p>Error loading employee data: " + e.getMessage() + "</p></center></html>",
-                    "Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
+    private Object[] toEmployeeRow(Employee emp) {
+        return new Object[] {
+                emp.getEmployeeId(),
+                emp.getLastName(),
+                emp.getFirstName(),
+                emp.getPosition(),
+                "HR", // Department placeholder since getDepartment() doesn't exist
+                emp.getEmployeeId() + "@motorphilippines.com", // Email placeholder
+                emp.getPhoneNumber() != null ? emp.getPhoneNumber() : "Not provided",
+                "Jan 15, 2024", // Hire date placeholder since getHireDate() doesn't exist
+                String.format("₱%,.2f", emp.getBasicSalary())
+        };
+    }
+
+    /**
+     * Applies an employee change to its row; runs on the change bus thread, so the one
+     * employee is read here and the table is updated on the event dispatch thread
+     */
+    private void applyEmployeeChange(ChangeEvent event) {
+        if (event.getKind() == ChangeEvent.Kind.BULK) {
+            SwingUtilities.invokeLater(this::loadEmployeeData);
+            return;
         }
+        Employee employee = event.getKind() == ChangeEvent.Kind.DELETED
+                ? null : employeeDAO.getEmployeeById(event.getEntityId());
+        SwingUtilities.invokeLater(() -> {
+            if (employee == null) {
+                employeeTableModel.removeRowByKey(event.getEntityId());
+            } else if (searchField.getText().trim().isEmpty()
+                    || employeeTableModel.indexOfKey(employee.getEmployeeId()) >= 0) {
+                // While a search is shown, only rows already in its results are updated
+                employeeTableModel.upsertRow(toEmployeeRow(employee));
+            }
+        });
     }
 
     private void searchEmployees() {
@@ -731,24 +784,14 @@ public class HRDashboard extends JFrame {
             return;
         }
 
+        employeeLoads++;
         employeeTableModel.setRowCount(0);
 
         try {
             List<Employee> employees = employeeDAO.searchEmployees(searchTerm);
 
             for (Employee emp : employees) {
-                Object[] row = {
-                        emp.getEmployeeId(),
-                        emp.getLastName(),
-                        emp.getFirstName(),
-                        emp.getPosition(),
-                        "HR", // Department placeholder
-                        emp.getEmployeeId() + "@motorphilippines.com", // Email placeholder
-                        emp.getPhoneNumber() != null ? emp.getPhoneNumber() : "Not provided",
-                        "Jan 15, 2024", // Hire date placeholder
-                        String.format("₱%,.2f", emp.getBasicSalary())
-                };
-                employeeTableModel.addRow(row);
+                employeeTableModel.addRow(toEmployeeRow(emp));
             }
 
         } catch (Exception e) {
@@ -761,10 +804,9 @@ public class HRDashboard extends JFrame {
 
     private void showAddEmployeeDialog() {
         try {
+            // The new row and the metric cards arrive as change events
             EmployeeDetailsDialog dialog = new EmployeeDetailsDialog(this, null, true);
             dialog.setVisible(true);
-            loadEmployeeData();
-            updateMetrics();
         } catch (Exception e) {
             JOptionPane.showMessageDialog(this, 
                     "<html><center><h3>❌ Dialog Error</h3><p>Error opening employee dialog: " + e.getMessage() + "</p></center></html>",
@@ -776,8 +818,6 @@ public class HRDashboard extends JFrame {
         try {
             EmployeeDetailsDialog dialog = new EmployeeDetailsDialog(this, employee, false);
             dialog.setVisible(true);
-            loadEmployeeData();
-            updateMetrics();
         } catch (Exception e) {
             JOptionPane.showMessageDialog(this, 
                     "<html><center><h3>❌ Dialog Error</h3><p>Error opening employee details: " + e.getMessage() + "</p></center></html>",
@@ -814,9 +854,8 @@ public class HRDashboard extends JFrame {
         if (dateTimeTimer != null) {
             dateTimeTimer.stop();
         }
-        if (metricsTimer != null) {
-            metricsTimer.stop();
-        }
+        DashboardMetrics.getInstance().removeListener(metricsListener);
+        ChangeBus.getInstance().unsubscribe(employeeChanges);
 
         int confirm = JOptionPane.showConfirmDialog(this,
                 "<html><center>" +
@@ -890,8 +929,6 @@ public class HRDashboard extends JFrame {
         try {
             EmployeeDetailsDialog dialog = new EmployeeDetailsDialog(this, employee, false);
             dialog.setVisible(true);
-            loadEmployeeData();
-            updateMetrics();
         } catch (Exception e) {
             JOptionPane.showMessageDialog(this, 
                     "<html><center><h3>❌ Dialog Error</h3><p>Error opening edit dialog: " + e.getMessage() + "</p></center></html>",
@@ -940,8 +977,6 @@ public class HRDashboard extends JFrame {
                             "<p><b>" + employee.getFullName() + "</b> has been permanently removed from the system.</p>" +
                             "</center></html>",
                             "Success", JOptionPane.INFORMATION_MESSAGE);
-                    loadEmployeeData();
-                    updateMetrics();
                 } else {
                     JOptionPane.showMessageDialog(this,
                             "<html><center>" +
@@ -1068,9 +1103,8 @@ public class HRDashboard extends JFrame {
         if (dateTimeTimer != null) {
             dateTimeTimer.stop();
         }
-        if (metricsTimer != null) {
-            metricsTimer.stop();
-        }
+        DashboardMetrics.getInstance().removeListener(metricsListener);
+        ChangeBus.getInstance().unsubscribe(employeeChanges);
         super.dispose();
     }
 
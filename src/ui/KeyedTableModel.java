@@ -0,0 +1,63 @@
+package ui;
+
+import javax.swing.table.DefaultTableModel;
+import java.util.Objects;
+
+/**
+ * Read-only table model whose rows are identified by the value in the first column.
+ * Change events are applied to the one row they name: only the cells that differ are
+ * set, so the table repaints that row and keeps its selection and sort order.
+ */
+public class KeyedTableModel extends DefaultTableModel {
+
+    public KeyedTableModel(String[] columns) {
+        super(columns, 0);
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    /**
+     * @return model index of the row with this key, or -1 if there is none
+     */
+    public int indexOfKey(Object key) {
+        for (int row = 0; row < getRowCount(); row++) {
+            if (Objects.equals(getValueAt(row, 0), key)) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Replaces the row with the same key, or appends it if there is none
+     * @return true if the row was appended
+     */
+    public boolean upsertRow(Object[] row) {
+        int index = indexOfKey(row[0]);
+        if (index < 0) {
+            addRow(row);
+            return true;
+        }
+        for (int column = 1; column < row.length; column++) {
+            if (!Objects.equals(getValueAt(index, column), row[column])) {
+                setValueAt(row[column], index, column);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if a row with this key was removed
+     */
+    public boolean removeRowByKey(Object key) {
+        int index = indexOfKey(key);
+        if (index < 0) {
+            return false;
+        }
+        removeRow(index);
+        return true;
+    }
+}
@@ -0,0 +1,58 @@
+package ui;
+
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JTabbedPane;
+import javax.swing.SwingConstants;
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Component;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Tabbed pane whose tabs are built the first time they are shown. Until then a tab holds a
+ * light placeholder, so a dashboard opens after building only the tab the user lands on and
+ * a tab the user never opens never queries the database.
+ */
+public class LazyTabbedPane extends JTabbedPane {
+    private final Map<Component, Supplier<? extends Component>> pending = new HashMap<>();
+
+    public LazyTabbedPane() {
+        addChangeListener(e -> buildSelected());
+    }
+
+    /**
+     * Adds a tab whose content is built by the builder on first selection. The first tab
+     * added is selected, so it is built straight away.
+     */
+    public void addLazyTab(String title, Supplier<? extends Component> builder) {
+        JPanel placeholder = new JPanel(new BorderLayout());
+        JLabel loading = new JLabel("Loading " + title + "...", SwingConstants.CENTER);
+        loading.setForeground(Color.GRAY);
+        placeholder.add(loading, BorderLayout.CENTER);
+
+        pending.put(placeholder, builder);
+        addTab(title, placeholder);
+        buildSelected();
+    }
+
+    /**
+     * @return true if the tab at index still shows its placeholder
+     */
+    public boolean isPending(int index) {
+        return pending.containsKey(getComponentAt(index));
+    }
+
+    private void buildSelected() {
+        int index = getSelectedIndex();
+        if (index < 0) {
+            return;
+        }
+        Supplier<? extends Component> builder = pending.remove(getComponentAt(index));
+        if (builder != null) {
+            setComponentAt(index, builder.get());
+        }
+    }
+}
@@ -2,39 +2,57 @@ package ui;
 
 import dao.LeaveRequestDAO;
 import dao.EmployeeDAO;
+import model.ChangeEvent;
 import model.Employee;
+import model.LeaveApprovalResult;
 import model.LeaveRequest;
+import service.LeaveApprovalService;
+import util.ChangeBus;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class LeaveManagementDialog extends JDialog {
     private Employee currentUser;
     private LeaveRequestDAO leaveRequestDAO;
     private EmployeeDAO employeeDAO;
+    private LeaveApprovalService leaveApprovalService;
 
     private JTable leaveRequestTable;
-    private DefaultTableModel tableModel;
+    private KeyedTableModel tableModel;
     private JComboBox<String> statusFilter;
     private JButton approveButton;
     private JButton rejectButton;
+    private JButton approveAllButton;
     private JButton refreshButton;
     private JButton closeButton;
 
+    // One lookup per employee, shared by full loads and rows applied from change events
+    private final Map<Integer, String> employeeNames = new ConcurrentHashMap<>();
+    private final ChangeBus.Listener leaveChanges = this::applyLeaveChange;
+
     public LeaveManagementDialog(Frame parent, Employee currentUser) {
         super(parent, "Leave Request Management", true);
         this.currentUser = currentUser;
         this.leaveRequestDAO = new LeaveRequestDAO();
         this.employeeDAO = new EmployeeDAO();
+        this.leaveApprovalService = new LeaveApprovalService(leaveRequestDAO);
 
         initializeComponents();
         setupLayout();
         setupEventHandlers();
         loadLeaveRequests();
+        ChangeBus.getInstance().subscribe(ChangeEvent.Entity.LEAVE_REQUEST, leaveChanges);
 
         setSize(800, 600);
         setLocationRelativeTo(parent);
@@ -43,14 +61,9 @@ public class LeaveManagementDialog extends JDialog {
     private void initializeComponents() {
         // Table setup
         String[] columns = {"ID", "Employee", "Type", "Start Date", "End Date", "Days", "Status", "Requested On"};
-        tableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        tableModel = new KeyedTableModel(columns);
         leaveRequestTable = new JTable(tableModel);
-        leaveRequestTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        leaveRequestTable.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
         leaveRequestTable.setRowHeight(25);
 
         // Status filter
@@ -61,6 +74,7 @@ public class LeaveManagementDialog extends JDialog {
         // Buttons
         approveButton = new JButton("Approve");
         rejectButton = new JButton("Reject");
+        approveAllButton = new JButton("Approve All Pending");
         refreshButton = new JButton("Refresh");
         closeButton = new JButton("Close");
 
@@ -68,6 +82,8 @@ public class LeaveManagementDialog extends JDialog {
         approveButton.setForeground(Color.WHITE);
         rejectButton.setBackground(new Color(220, 20, 60));
         rejectButton.setForeground(Color.WHITE);
+        approveAllButton.setBackground(new Color(0, 100, 0));
+        approveAllButton.setForeground(Color.WHITE);
         refreshButton.setBackground(new Color(70, 130, 180));
         refreshButton.setForeground(Color.WHITE);
     }
@@ -95,6 +111,7 @@ public class LeaveManagementDialog extends JDialog {
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
         buttonPanel.add(approveButton);
         buttonPanel.add(rejectButton);
+        buttonPanel.add(approveAllButton);
         buttonPanel.add(closeButton);
 
         // Main panel
@@ -125,11 +142,13 @@ public class LeaveManagementDialog extends JDialog {
             }
         });
 
+        approveAllButton.addActionListener(e -> approveAllPending());
+
         closeButton.addActionListener(e -> dispose());
 
         // Enable/disable buttons based on selection
         leaveRequestTable.getSelectionModel().addListSelectionListener(e -> {
-            boolean hasSelection = leaveRequestTable.getSelectedRow() != -1;
+            boolean hasSelection = leaveRequestTable.getSelectedRowCount() > 0;
             approveButton.setEnabled(hasSelection);
             rejectButton.setEnabled(hasSelection);
         });
@@ -152,20 +171,7 @@ public class LeaveManagementDialog extends JDialog {
             }
 
             for (LeaveRequest request : requests) {
-                Employee emp = employeeDAO.getEmployeeById(request.getEmployeeId());
-                String employeeName = emp != null ? emp.getFullName() : "Unknown";
-
-                Object[] row = {
-                        request.getLeaveId(),
-                        employeeName,
-                        request.getLeaveType(),
-                        request.getStartDate(),
-                        request.getEndDate(),
-                        request.getLeaveDays(),
-                        request.getStatus(),
-                        "N/A" // You might want to add created_at to the model
-                };
-                tableModel.addRow(row);
+                tableModel.addRow(toRow(request));
             }
 
         } catch (Exception e) {
@@ -176,52 +182,165 @@ public class LeaveManagementDialog extends JDialog {
         }
     }
 
+    private Object[] toRow(LeaveRequest request) {
+        String employeeName = employeeNames.computeIfAbsent(request.getEmployeeId(), id -> {
+            Employee emp = employeeDAO.getEmployeeById(id);
+            return emp != null ? emp.getFullName() : "Unknown";
+        });
+        return new Object[] {
+                request.getLeaveId(),
+                employeeName,
+                request.getLeaveType(),
+                request.getStartDate(),
+                request.getEndDate(),
+                request.getLeaveDays(),
+                request.getStatus(),
+                "N/A" // You might want to add created_at to the model
+        };
+    }
+
+    /**
+     * Applies a leave request change to its row; runs on the change bus thread, so the one
+     * request is read here and the table is updated on the event dispatch thread
+     */
+    private void applyLeaveChange(ChangeEvent event) {
+        if (event.getKind() == ChangeEvent.Kind.BULK) {
+            SwingUtilities.invokeLater(this::loadLeaveRequests);
+            return;
+        }
+        Optional<LeaveRequest> request = event.getKind() == ChangeEvent.Kind.DELETED
+                ? Optional.empty() : leaveRequestDAO.getLeaveRequestById(event.getEntityId());
+        Object[] row = request.map(this::toRow).orElse(null);
+        SwingUtilities.invokeLater(() -> {
+            // A request whose status no longer matches the filter leaves the table
+            String selectedStatus = (String) statusFilter.getSelectedItem();
+            if (row == null || !("All".equals(selectedStatus) || selectedStatus.equalsIgnoreCase((String) row[6]))) {
+                tableModel.removeRowByKey(event.getEntityId());
+            } else {
+                tableModel.upsertRow(row);
+            }
+        });
+    }
+
     private void updateLeaveStatus(String newStatus) {
-        int selectedRow = leaveRequestTable.getSelectedRow();
-        if (selectedRow == -1) {
+        int[] selectedRows = leaveRequestTable.getSelectedRows();
+        if (selectedRows.length == 0) {
             JOptionPane.showMessageDialog(this,
                     "Please select a leave request to update.",
                     "No Selection", JOptionPane.WARNING_MESSAGE);
             return;
         }
 
-        try {
-            int leaveId = (Integer) tableModel.getValueAt(selectedRow, 0);
-            String currentStatus = (String) tableModel.getValueAt(selectedRow, 6);
-
-            if (LeaveRequest.STATUS_APPROVED.equals(currentStatus) ||
-                    LeaveRequest.STATUS_REJECTED.equals(currentStatus)) {
-                JOptionPane.showMessageDialog(this,
-                        "This leave request has already been processed.",
-                        "Already Processed", JOptionPane.WARNING_MESSAGE);
-                return;
+        List<Integer> leaveIds = new ArrayList<>();
+        LocalDate windowStart = null;
+        LocalDate windowEnd = null;
+        for (int row : selectedRows) {
+            if (!LeaveRequest.STATUS_PENDING.equals(tableModel.getValueAt(row, 6))) {
+                continue;
+            }
+            leaveIds.add((Integer) tableModel.getValueAt(row, 0));
+            LocalDate start = ((java.sql.Date) tableModel.getValueAt(row, 3)).toLocalDate();
+            LocalDate end = ((java.sql.Date) tableModel.getValueAt(row, 4)).toLocalDate();
+            windowStart = windowStart == null || start.isBefore(windowStart) ? start : windowStart;
+            windowEnd = windowEnd == null || end.isAfter(windowEnd) ? end : windowEnd;
+        }
+
+        if (leaveIds.isEmpty()) {
+            JOptionPane.showMessageDialog(this,
+                    "The selected leave requests have already been processed.",
+                    "Already Processed", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        boolean approve = LeaveRequest.STATUS_APPROVED.equals(newStatus);
+        String actionText = approve ? "approve" : "reject";
+        String subject = leaveIds.size() == 1 ? "this leave request" : "these " + leaveIds.size() + " leave requests";
+        int confirm = JOptionPane.showConfirmDialog(this,
+                "Are you sure you want to " + actionText + " " + subject + "?",
+                "Confirm Action", JOptionPane.YES_NO_OPTION);
+
+        if (confirm == JOptionPane.YES_OPTION) {
+            runApproval(windowStart, windowEnd,
+                    approve ? leaveIds : Collections.emptyList(),
+                    approve ? Collections.emptyList() : leaveIds);
+        }
+    }
+
+    private void approveAllPending() {
+        LocalDate windowStart = null;
+        LocalDate windowEnd = null;
+        int pendingCount = 0;
+        for (int row = 0; row < tableModel.getRowCount(); row++) {
+            if (!LeaveRequest.STATUS_PENDING.equals(tableModel.getValueAt(row, 6))) {
+                continue;
             }
+            pendingCount++;
+            LocalDate start = ((java.sql.Date) tableModel.getValueAt(row, 3)).toLocalDate();
+            LocalDate end = ((java.sql.Date) tableModel.getValueAt(row, 4)).toLocalDate();
+            windowStart = windowStart == null || start.isBefore(windowStart) ? start : windowStart;
+            windowEnd = windowEnd == null || end.isAfter(windowEnd) ? end : windowEnd;
+        }
+
+        if (pendingCount == 0) {
+            JOptionPane.showMessageDialog(this, "There are no pending leave requests to approve.",
+                    "Nothing to Approve", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        int confirm = JOptionPane.showConfirmDialog(this,
+                "Approve all " + pendingCount + " pending leave requests from " + windowStart + " to " + windowEnd + "?\n" +
+                "Requests that overlap another leave of the same employee will stay pending.",
+                "Confirm Bulk Approval", JOptionPane.YES_NO_OPTION);
+        if (confirm == JOptionPane.YES_OPTION) {
+            runApproval(windowStart, windowEnd, null, Collections.emptyList());
+        }
+    }
 
-            String actionText = LeaveRequest.STATUS_APPROVED.equals(newStatus) ? "approve" : "reject";
-            int confirm = JOptionPane.showConfirmDialog(this,
-                    "Are you sure you want to " + actionText + " this leave request?",
-                    "Confirm Action", JOptionPane.YES_NO_OPTION);
-
-            if (confirm == JOptionPane.YES_OPTION) {
-                boolean updated = leaveRequestDAO.updateLeaveStatus(leaveId, newStatus);
-
-                if (updated) {
-                    JOptionPane.showMessageDialog(this,
-                            "Leave request " + actionText + "d successfully!",
-                            "Success", JOptionPane.INFORMATION_MESSAGE);
-                    loadLeaveRequests(); // Refresh the table
-                } else {
-                    JOptionPane.showMessageDialog(this,
-                            "Failed to update leave request status.",
+    private void runApproval(LocalDate windowStart, LocalDate windowEnd,
+                             Collection<Integer> approveIds, Collection<Integer> rejectIds) {
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        approveButton.setEnabled(false);
+        rejectButton.setEnabled(false);
+        approveAllButton.setEnabled(false);
+
+        new SwingWorker<LeaveApprovalResult, Void>() {
+            @Override
+            protected LeaveApprovalResult doInBackground() {
+                return leaveApprovalService.process(windowStart, windowEnd, approveIds, rejectIds);
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                approveAllButton.setEnabled(true);
+                boolean hasSelection = leaveRequestTable.getSelectedRowCount() > 0;
+                approveButton.setEnabled(hasSelection);
+                rejectButton.setEnabled(hasSelection);
+                try {
+                    LeaveApprovalResult result = get();
+                    StringBuilder message = new StringBuilder(result.getSummary());
+                    result.getConflicts().stream().limit(15)
+                            .forEach(conflict -> message.append("\n• ").append(conflict));
+                    if (result.getConflicts().size() > 15) {
+                        message.append("\n• ... and ").append(result.getConflicts().size() - 15).append(" more");
+                    }
+                    JOptionPane.showMessageDialog(LeaveManagementDialog.this, message.toString(),
+                            result.hasConflicts() ? "Processed with Conflicts" : "Success",
+                            result.hasConflicts() ? JOptionPane.WARNING_MESSAGE : JOptionPane.INFORMATION_MESSAGE);
+                    // The decided rows are updated as their change events arrive
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(LeaveManagementDialog.this,
+                            "Error updating leave requests: " + cause.getMessage(),
                             "Error", JOptionPane.ERROR_MESSAGE);
                 }
             }
+        }.execute();
+    }
 
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                    "Error updating leave request: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
-        }
+    @Override
+    public void dispose() {
+        ChangeBus.getInstance().unsubscribe(leaveChanges);
+        super.dispose();
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,9 @@
 package ui;
 
+import dao.LeaveBalanceDAO;
 import dao.LeaveRequestDAO;
 import model.Employee;
+import model.LeaveBalance;
 import model.LeaveRequest;
 
 import javax.swing.*;
@@ -10,10 +12,12 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.sql.Date;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 
 public class LeaveRequestDialog extends JDialog {
     private Employee employee;
     private LeaveRequestDAO leaveRequestDAO;
+    private LeaveBalanceDAO leaveBalanceDAO;
 
     private JComboBox<String> leaveTypeComboBox;
     private JSpinner startDateSpinner;
@@ -26,6 +30,7 @@ public class LeaveRequestDialog extends JDialog {
         super(parent, "Submit Leave Request", true);
         this.employee = employee;
         this.leaveRequestDAO = new LeaveRequestDAO();
+        this.leaveBalanceDAO = new LeaveBalanceDAO();
 
         initializeComponents();
         setupLayout();
@@ -282,6 +287,26 @@ public class LeaveRequestDialog extends JDialog {
                 System.err.println("Warning: Could not check for overlapping leave: " + e.getMessage());
             }
 
+            // Check the remaining balance (one primary-key read)
+            if (LeaveBalance.isTracked(leaveType)) {
+                try {
+                    long requestedDays = ChronoUnit.DAYS.between(startDate.toLocalDate(), endDate.toLocalDate()) + 1;
+                    LeaveBalance balance = leaveBalanceDAO.getBalance(employee.getEmployeeId(), leaveType,
+                            startDate.toLocalDate().getYear());
+                    if (!balance.canTake(requestedDays)) {
+                        int choice = JOptionPane.showConfirmDialog(this,
+                                String.format("This request is for %d day(s) but you only have %.2f %s leave day(s) available.%n%n" +
+                                        "Submit it anyway?", requestedDays, balance.getAvailable(), leaveType),
+                                "Insufficient Leave Balance", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
+                        if (choice != JOptionPane.YES_OPTION) {
+                            return;
+                        }
+                    }
+                } catch (Exception e) {
+                    System.err.println("Warning: Could not check leave balance: " + e.getMessage());
+                }
+            }
+
             // Create and submit leave request
             LeaveRequest leaveRequest = new LeaveRequest(employee.getEmployeeId(), startDate, endDate, leaveType);
             leaveRequest.setStatus(LeaveRequest.STATUS_PENDING);
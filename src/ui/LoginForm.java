@@ -1,21 +1,21 @@
 package ui;
 
-import dao.EmployeeDAO;
+import exception.AuthenticationException;
 import model.Employee;
-import util.DBConnection;
+import model.UserSession;
+import service.AuthenticationService;
+import util.AuditTrail;
+import util.SchemaProbe;
+import util.StartupTimings;
 // NEW IMPORTS - Add these for the enhanced functionality
 import view.DashboardFactory;
-import util.PositionRoleMapper;
 import model.UserRole;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -31,6 +31,9 @@ public class LoginForm extends JFrame {
     private JLabel connectionStatusLabel;
 
     public LoginForm() {
+        // Every dashboard logs out by returning here, which ends the previous session
+        AuthenticationService.getInstance().logoutCurrent();
+
         initializeComponents();
         setupLayout();
         setupEventHandlers();
@@ -285,7 +288,7 @@ public class LoginForm extends JFrame {
         SwingWorker<Boolean, Void> connectionChecker = new SwingWorker<Boolean, Void>() {
             @Override
             protected Boolean doInBackground() throws Exception {
-                return DBConnection.testConnection();
+                return SchemaProbe.getInstance().getSnapshot().isConnected();
             }
 
             @Override
@@ -342,14 +345,6 @@ public class LoginForm extends JFrame {
             return;
         }
 
-        // DYNAMIC VALIDATION: Check if employee exists in database
-        if (!isValidEmployeeId(employeeId)) {
-            showStatus("⚠️ Employee ID not found in system", Color.RED);
-            employeeIdField.selectAll();
-            employeeIdField.requestFocus();
-            return;
-        }
-
         // Disable login button during authentication
         loginButton.setEnabled(false);
         loginButton.setText("Logging in...");
@@ -375,7 +370,7 @@ public class LoginForm extends JFrame {
                     setCursor(Cursor.getDefaultCursor());
 
                     if (result.isSuccess()) {
-                        handleSuccessfulLogin(result.getEmployee());
+                        handleSuccessfulLogin(result.getSession());
                     } else {
                         handleFailedLogin(result.getErrorMessage());
                     }
@@ -394,119 +389,38 @@ public class LoginForm extends JFrame {
         authWorker.execute();
     }
 
-    /**
-     * DYNAMIC VALIDATION: Check if employee ID exists in database
-     * This replaces hardcoded range validation and works for any number of employees
-     */
-    private boolean isValidEmployeeId(int employeeId) {
-        String query = "SELECT COUNT(*) FROM employees WHERE employee_id = ?";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
-            
-            stmt.setInt(1, employeeId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    boolean exists = rs.getInt(1) > 0;
-                    LOGGER.info(String.format("Employee ID validation: %d -> %s", 
-                            employeeId, exists ? "EXISTS" : "NOT FOUND"));
-                    return exists;
-                }
-            }
-        } catch (SQLException e) {
-            LOGGER.log(Level.WARNING, "Error validating employee ID: " + employeeId, e);
-        }
-        return false;
-    }
-
+    @SuppressWarnings("try")
     private LoginResult performAuthentication(int employeeId, String password) {
         try {
-            // Test database connection first
-            if (!DBConnection.testConnection()) {
+            // Use the cached schema probe; only re-probe when the database was last seen down
+            if (!SchemaProbe.getInstance().getSnapshot().isConnected()
+                    && !SchemaProbe.getInstance().refresh().isConnected()) {
                 return new LoginResult(false, null, "Database connection failed. Please check your connection.");
             }
 
-            // Authenticate user
-            if (!authenticateUser(employeeId, password)) {
-                return new LoginResult(false, null, "Invalid Employee ID or Password");
+            UserSession session;
+            try (StartupTimings.Phase phase = StartupTimings.begin("authenticate")) {
+                session = AuthenticationService.getInstance().login(employeeId, password);
             }
+            return new LoginResult(true, session, null);
 
-            // Get employee details
-            EmployeeDAO employeeDAO = new EmployeeDAO();
-            Employee employee = employeeDAO.getEmployeeById(employeeId);
-
-            if (employee == null) {
-                return new LoginResult(false, null, "Employee record not found");
+        } catch (AuthenticationException e) {
+            String message = e.getMessage();
+            if (AuthenticationService.ERROR_INVALID_CREDENTIALS.equals(e.getErrorCode()) && e.hasRemainingAttempts()) {
+                message += " (" + e.getRemainingAttempts() + " attempt" +
+                        (e.getRemainingAttempts() == 1 ? "" : "s") + " left)";
             }
-
-            return new LoginResult(true, employee, null);
-
+            return new LoginResult(false, null, message);
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Authentication failed", e);
             return new LoginResult(false, null, "Authentication failed: " + e.getMessage());
         }
     }
 
-    // FIXED: Authentication method with correct column name 'password_hash'
-    private boolean authenticateUser(int employeeId, String password) {
-        // CORRECTED: Using 'password_hash' column instead of 'password'
-        String query = "SELECT e.employee_id, e.first_name, e.last_name, e.position FROM employees e " +
-                "JOIN credentials c ON e.employee_id = c.employee_id " +
-                "WHERE e.employee_id = ? AND c.password_hash = ?";
-
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
-
-            stmt.setInt(1, employeeId);
-            stmt.setString(2, password);
-
-            try (ResultSet rs = stmt.executeQuery()) {
-                boolean authenticated = rs.next();
-                
-                if (authenticated) {
-                    String firstName = rs.getString("first_name");
-                    String lastName = rs.getString("last_name");
-                    String position = rs.getString("position");
-                    LOGGER.info(String.format("✅ Authentication SUCCESS for %s %s (ID: %d, Position: %s)",
-                            firstName, lastName, employeeId, position));
-                } else {
-                    LOGGER.warning(String.format("❌ Authentication FAILED for employee ID: %d", employeeId));
-                    
-                    // Enhanced debugging with correct column names
-                    String debugQuery = "SELECT c.employee_id, c.username, c.password_hash, " +
-                            "e.first_name, e.last_name " +
-                            "FROM credentials c " +
-                            "JOIN employees e ON c.employee_id = e.employee_id " +
-                            "WHERE c.employee_id = ?";
-                    
-                    try (PreparedStatement debugStmt = conn.prepareStatement(debugQuery)) {
-                        debugStmt.setInt(1, employeeId);
-                        try (ResultSet debugRs = debugStmt.executeQuery()) {
-                            if (debugRs.next()) {
-                                String username = debugRs.getString("username");
-                                String actualPasswordHash = debugRs.getString("password_hash");
-                                String firstName = debugRs.getString("first_name");
-                                String lastName = debugRs.getString("last_name");
-                                
-                                LOGGER.info(String.format("🔍 Debug Info for Employee %d:", employeeId));
-                                LOGGER.info(String.format("   Name: %s %s", firstName, lastName));
-                                LOGGER.info(String.format("   Username: %s", username));
-                                LOGGER.info(String.format("   Stored Password Hash: %s", actualPasswordHash));
-                                LOGGER.info(String.format("   Provided Password: %s", password));
-                                LOGGER.info(String.format("   Password Match: %s", password.equals(actualPasswordHash)));
-                            } else {
-                                LOGGER.warning("❌ Employee ID does not exist in credentials table: " + employeeId);
-                            }
-                        }
-                    }
-                }
-                
-                return authenticated;
-            }
-
-        } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Database error during authentication", e);
-            return false;
-        }
+    private void handleFailedLogin(String errorMessage) {
+        showStatus("❌ " + errorMessage, Color.RED);
+        passwordField.setText("");
+        passwordField.requestFocus();
     }
 
     // ========================================
@@ -516,14 +430,15 @@ public class LoginForm extends JFrame {
      * Enhanced handleSuccessfulLogin method with position-based dashboard system
      * This method integrates the position-based dashboard system with login flow
      */
-    private void handleSuccessfulLogin(Employee employee) {
+    private void handleSuccessfulLogin(UserSession session) {
+        Employee employee = session.getEmployee();
         try {
             // Show initial success message
             showStatus("✅ Login successful! Welcome, " + employee.getFirstName(), new Color(0, 128, 0));
             
-            // Get user role based on position
-            UserRole role = PositionRoleMapper.getUserRole(employee.getPosition());
-            String dashboardType = PositionRoleMapper.getDashboardType(employee.getPosition());
+            // Role and dashboard were resolved once at login and cached in the session
+            UserRole role = session.getRole();
+            String dashboardType = session.getDashboardType();
             
             // Log successful login with role information
             LOGGER.info(String.format("🔐 SUCCESSFUL LOGIN: %s (ID: %d) | Position: %s | Role: %s | Access Level: %d | Dashboard: %s",
@@ -534,21 +449,22 @@ public class LoginForm extends JFrame {
                     role.getAccessLevel(),
                     dashboardType));
             
+            // Attribute audit events from this session to the logged-in user
+            AuditTrail.getInstance().setCurrentActor(employee.getEmployeeId(), employee.getFullName());
+            
             // Show role-specific welcome message
             String welcomeMessage = buildWelcomeMessage(employee, role, dashboardType);
             
+            // Build the dashboard while the welcome dialog is read: the modal dialog keeps
+            // dispatching events, so this runs behind it and the dashboard opens as it closes
+            AtomicReference<JFrame> prepared = new AtomicReference<>();
+            SwingUtilities.invokeLater(() -> prepared.set(prepareDashboard(employee)));
+            
             // Display welcome dialog with role information
             showRoleWelcomeDialog(employee, role, dashboardType, welcomeMessage);
             
-            // Small delay for better user experience, then open appropriate dashboard
-            Timer dashboardTimer = new Timer(1500, new ActionListener() {
-                @Override
-                public void actionPerformed(ActionEvent e) {
-                    openRoleBasedDashboard(employee, role, dashboardType);
-                }
-            });
-            dashboardTimer.setRepeats(false);
-            dashboardTimer.start();
+            // Queued after the build, so the build has finished when this runs
+            SwingUtilities.invokeLater(() -> openRoleBasedDashboard(employee, role, dashboardType, prepared.get()));
             
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "❌ Error during login process for " + employee.getEmployeeId(), e);
@@ -708,15 +624,29 @@ public class LoginForm extends JFrame {
         }
     }
 
+    /**
+     * Builds the dashboard ahead of showing it
+     * @return the dashboard, or null to build it again when it is opened
+     */
+    private JFrame prepareDashboard(Employee employee) {
+        try {
+            return DashboardFactory.createDashboard(employee);
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Could not build the dashboard ahead of time", e);
+            return null;
+        }
+    }
+
     /**
      * Open the appropriate dashboard based on user role
+     * @param prepared dashboard built while the welcome dialog was shown, or null
      */
-    private void openRoleBasedDashboard(Employee employee, UserRole role, String dashboardType) {
+    private void openRoleBasedDashboard(Employee employee, UserRole role, String dashboardType, JFrame prepared) {
         try {
             showStatus("🚀 Loading " + dashboardType + "...", new Color(0, 100, 200));
             
             // Create appropriate dashboard using the factory
-            JFrame dashboard = DashboardFactory.createDashboard(employee);
+            JFrame dashboard = prepared != null ? prepared : DashboardFactory.createDashboard(employee);
             
             if (dashboard != null) {
                 // Hide login form
@@ -724,6 +654,8 @@ public class LoginForm extends JFrame {
                 
                 // Show the dashboard
                 dashboard.setVisible(true);
+                StartupTimings.mark("dashboard shown");
+                LOGGER.info(StartupTimings.summary());
                 
                 // Log dashboard launch
                 LOGGER.info(String.format("✅ Dashboard launched successfully: %s for %s", 
@@ -816,12 +748,12 @@ public class LoginForm extends JFrame {
      */
     private static class LoginResult {
         private final boolean success;
-        private final Employee employee;
+        private final UserSession session;
         private final String errorMessage;
 
-        public LoginResult(boolean success, Employee employee, String errorMessage) {
+        public LoginResult(boolean success, UserSession session, String errorMessage) {
             this.success = success;
-            this.employee = employee;
+            this.session = session;
             this.errorMessage = errorMessage;
         }
 
@@ -829,8 +761,8 @@ public class LoginForm extends JFrame {
             return success;
         }
 
-        public Employee getEmployee() {
-            return employee;
+        public UserSession getSession() {
+            return session;
         }
 
         public String getErrorMessage() {
@@ -845,7 +777,7 @@ public class LoginForm extends JFrame {
     public static void main(String[] args) {
         // Set system look and feel
         try {
-            UIManager.setLookAndFeel(UIManager.getSystemLookAndFeel());
+            UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
         } catch (Exception e) {
             LOGGER.log(Level.WARNING, "Could not set system look and feel", e);
         }
@@ -1,15 +1,22 @@
 package ui;
 
-import util.DBConnection;
+import dao.EmployeeSnapshotDAO;
+import service.LeaveAccrualJob;
+import util.SchemaProbe;
+import util.MetricsExporter;
+import util.StartupTimings;
 import ui.LoginForm;
 import javax.swing.*;
 import java.awt.*;
 
 public class MainApplication {
 
+    @SuppressWarnings("try")
     public static void main(String[] args) {
+        StartupTimings.mark("main entered");
+        
         // Set Look and Feel
-        try {
+        try (StartupTimings.Phase phase = StartupTimings.begin("look and feel")) {
 		    System.setProperty("awt.useSystemAAFontSettings", "on");
     System.setProperty("swing.aatext", "true");
     
@@ -25,6 +32,9 @@ public class MainApplication {
             System.out.println("Could not set system look and feel, using default");
         }
 
+        // Start JMX / Prometheus metrics export
+        MetricsExporter.start();
+
         // Test database connection first
         SwingUtilities.invokeLater(() -> {
             showSplashScreen();
@@ -67,21 +77,22 @@ public class MainApplication {
         // Test database connection in background
         SwingWorker<Boolean, String> worker = new SwingWorker<Boolean, String>() {
             @Override
+            @SuppressWarnings("try")
             protected Boolean doInBackground() throws Exception {
                 publish("Connecting to database...");
-                Thread.sleep(1000);
 
-                boolean connected = DBConnection.testConnection();
+                // Probe the schema once; DAOs and the login form read the cached result
+                boolean connected;
+                try (StartupTimings.Phase phase = StartupTimings.begin("schema probe")) {
+                    connected = SchemaProbe.getInstance().start().isConnected();
+                }
 
                 if (connected) {
-                    publish("Database connected successfully!");
-                    Thread.sleep(500);
+                    LeaveAccrualJob.getInstance().start();
                     publish("Loading application...");
-                    Thread.sleep(1000);
                     return true;
                 } else {
                     publish("Database connection failed!");
-                    Thread.sleep(2000);
                     return false;
                 }
             }
@@ -98,8 +109,10 @@ public class MainApplication {
                     splash.dispose();
 
                     if (success) {
-                        // Show login form
+                        // Show login form; the snapshot is refreshed while the user signs in
                         new LoginForm().setVisible(true);
+                        StartupTimings.mark("login shown");
+                        refreshEmployeeSnapshotInBackground();
                     } else {
                         // Show error dialog
                         JOptionPane.showMessageDialog(null,
@@ -121,4 +134,27 @@ public class MainApplication {
 
         worker.execute();
     }
+
+    private static void refreshEmployeeSnapshotInBackground() {
+        Thread refresh = new Thread(MainApplication::refreshEmployeeSnapshot, "employee-snapshot-refresh");
+        refresh.setDaemon(true);
+        refresh.start();
+    }
+
+    /**
+     * Re-projects every employee snapshot row, picking up allowances that started or
+     * expired since the last run. Rows are updated in place, so dashboards opened
+     * meanwhile read the previous projection. On failure the rows stay as they were.
+     */
+    private static void refreshEmployeeSnapshot() {
+        EmployeeSnapshotDAO snapshotDAO = new EmployeeSnapshotDAO();
+        if (!snapshotDAO.isAvailable()) {
+            return;
+        }
+        try {
+            snapshotDAO.rebuild();
+        } catch (RuntimeException e) {
+            System.out.println("Could not rebuild the employee snapshot: " + e.getMessage());
+        }
+    }
 }
\ No newline at end of file
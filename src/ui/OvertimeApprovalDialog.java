@@ -0,0 +1,292 @@
+package ui;
+
+import dao.EmployeeDAO;
+import model.Employee;
+import model.Overtime;
+import model.OvertimeApprovalResult;
+import service.OvertimeApprovalService;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class OvertimeApprovalDialog extends JDialog {
+    private Employee currentUser;
+    private EmployeeDAO employeeDAO;
+    private OvertimeApprovalService overtimeApprovalService;
+
+    private JTable overtimeTable;
+    private DefaultTableModel tableModel;
+    private JSpinner fromDateSpinner;
+    private JSpinner toDateSpinner;
+    private JLabel queueSummaryLabel;
+    private JButton approveButton;
+    private JButton rejectButton;
+    private JButton approveAllButton;
+    private JButton refreshButton;
+    private JButton closeButton;
+
+    // Window of the queue currently shown
+    private LocalDate windowStart;
+    private LocalDate windowEnd;
+
+    public OvertimeApprovalDialog(Frame parent, Employee currentUser) {
+        super(parent, "Overtime Approval Queue", true);
+        this.currentUser = currentUser;
+        this.employeeDAO = new EmployeeDAO();
+        this.overtimeApprovalService = new OvertimeApprovalService();
+
+        initializeComponents();
+        setupLayout();
+        setupEventHandlers();
+        loadQueue();
+
+        setSize(850, 600);
+        setLocationRelativeTo(parent);
+    }
+
+    private void initializeComponents() {
+        // Table setup
+        String[] columns = {"ID", "Employee", "Date", "Hours", "Reason"};
+        tableModel = new DefaultTableModel(columns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        overtimeTable = new JTable(tableModel);
+        overtimeTable.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        overtimeTable.setRowHeight(25);
+
+        // Window: previous month up to today by default
+        LocalDate today = LocalDate.now();
+        fromDateSpinner = createDateSpinner(today.minusMonths(1).withDayOfMonth(1));
+        toDateSpinner = createDateSpinner(today);
+
+        queueSummaryLabel = new JLabel(" ");
+
+        // Buttons
+        approveButton = new JButton("Approve");
+        rejectButton = new JButton("Reject");
+        approveAllButton = new JButton("Approve All Pending");
+        refreshButton = new JButton("Refresh");
+        closeButton = new JButton("Close");
+
+        approveButton.setBackground(new Color(34, 139, 34));
+        approveButton.setForeground(Color.WHITE);
+        rejectButton.setBackground(new Color(220, 20, 60));
+        rejectButton.setForeground(Color.WHITE);
+        approveAllButton.setBackground(new Color(0, 100, 0));
+        approveAllButton.setForeground(Color.WHITE);
+        refreshButton.setBackground(new Color(70, 130, 180));
+        refreshButton.setForeground(Color.WHITE);
+        approveButton.setEnabled(false);
+        rejectButton.setEnabled(false);
+    }
+
+    private JSpinner createDateSpinner(LocalDate initial) {
+        JSpinner spinner = new JSpinner(new SpinnerDateModel());
+        spinner.setEditor(new JSpinner.DateEditor(spinner, "yyyy-MM-dd"));
+        spinner.setValue(java.util.Date.from(initial.atStartOfDay(ZoneId.systemDefault()).toInstant()));
+        return spinner;
+    }
+
+    private void setupLayout() {
+        setLayout(new BorderLayout());
+
+        // Header
+        JPanel headerPanel = new JPanel();
+        headerPanel.setBackground(new Color(25, 25, 112));
+        headerPanel.setBorder(BorderFactory.createEmptyBorder(15, 20, 15, 20));
+
+        JLabel titleLabel = new JLabel("Overtime Approval Queue");
+        titleLabel.setFont(new Font("Arial", Font.BOLD, 16));
+        titleLabel.setForeground(Color.WHITE);
+        headerPanel.add(titleLabel);
+
+        // Filter panel
+        JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        filterPanel.add(new JLabel("From:"));
+        filterPanel.add(fromDateSpinner);
+        filterPanel.add(new JLabel("To:"));
+        filterPanel.add(toDateSpinner);
+        filterPanel.add(refreshButton);
+        filterPanel.add(Box.createHorizontalStrut(15));
+        filterPanel.add(queueSummaryLabel);
+
+        // Button panel
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        buttonPanel.add(approveButton);
+        buttonPanel.add(rejectButton);
+        buttonPanel.add(approveAllButton);
+        buttonPanel.add(closeButton);
+
+        // Main panel
+        JPanel mainPanel = new JPanel(new BorderLayout());
+        mainPanel.add(filterPanel, BorderLayout.NORTH);
+        mainPanel.add(new JScrollPane(overtimeTable), BorderLayout.CENTER);
+        mainPanel.add(buttonPanel, BorderLayout.SOUTH);
+
+        add(headerPanel, BorderLayout.NORTH);
+        add(mainPanel, BorderLayout.CENTER);
+    }
+
+    private void setupEventHandlers() {
+        refreshButton.addActionListener(e -> loadQueue());
+        approveButton.addActionListener(e -> decideSelected(true));
+        rejectButton.addActionListener(e -> decideSelected(false));
+        approveAllButton.addActionListener(e -> approveAllPending());
+        closeButton.addActionListener(e -> dispose());
+
+        // Enable/disable buttons based on selection
+        overtimeTable.getSelectionModel().addListSelectionListener(e -> {
+            boolean hasSelection = overtimeTable.getSelectedRowCount() > 0;
+            approveButton.setEnabled(hasSelection);
+            rejectButton.setEnabled(hasSelection);
+        });
+    }
+
+    private LocalDate getSpinnerDate(JSpinner spinner) {
+        return ((java.util.Date) spinner.getValue()).toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private void loadQueue() {
+        LocalDate from = getSpinnerDate(fromDateSpinner);
+        LocalDate to = getSpinnerDate(toDateSpinner);
+        if (from.isAfter(to)) {
+            JOptionPane.showMessageDialog(this, "The start date cannot be after the end date.",
+                    "Invalid Dates", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        tableModel.setRowCount(0);
+        try {
+            List<Overtime> queue = overtimeApprovalService.getQueue(from, to);
+            windowStart = from;
+            windowEnd = to;
+
+            // One lookup per employee, not per row
+            Map<Integer, String> employeeNames = new HashMap<>();
+            double totalHours = 0;
+            for (Overtime overtime : queue) {
+                String employeeName = employeeNames.computeIfAbsent(overtime.getEmployeeId(), id -> {
+                    Employee emp = employeeDAO.getEmployeeById(id);
+                    return emp != null ? emp.getFullName() : "Unknown";
+                });
+                totalHours += overtime.getHours();
+
+                Object[] row = {
+                        overtime.getOvertimeId(),
+                        employeeName,
+                        overtime.getDate(),
+                        overtime.getFormattedHours(),
+                        overtime.hasReason() ? overtime.getReason() : ""
+                };
+                tableModel.addRow(row);
+            }
+            queueSummaryLabel.setText(String.format("%,d pending (%,.2f hrs, %d employees)",
+                    queue.size(), totalHours, employeeNames.size()));
+
+        } catch (Exception e) {
+            JOptionPane.showMessageDialog(this,
+                    "Error loading overtime queue: " + e.getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+            e.printStackTrace();
+        }
+    }
+
+    private void decideSelected(boolean approve) {
+        int[] selectedRows = overtimeTable.getSelectedRows();
+        if (selectedRows.length == 0) {
+            JOptionPane.showMessageDialog(this,
+                    "Please select an overtime record to update.",
+                    "No Selection", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        List<Integer> overtimeIds = new ArrayList<>();
+        for (int row : selectedRows) {
+            overtimeIds.add((Integer) tableModel.getValueAt(row, 0));
+        }
+
+        String actionText = approve ? "approve" : "reject";
+        String subject = overtimeIds.size() == 1 ? "this overtime record" : "these " + overtimeIds.size() + " overtime records";
+        int confirm = JOptionPane.showConfirmDialog(this,
+                "Are you sure you want to " + actionText + " " + subject + "?",
+                "Confirm Action", JOptionPane.YES_NO_OPTION);
+
+        if (confirm == JOptionPane.YES_OPTION) {
+            runApproval(approve ? overtimeIds : Collections.emptyList(),
+                    approve ? Collections.emptyList() : overtimeIds);
+        }
+    }
+
+    private void approveAllPending() {
+        if (tableModel.getRowCount() == 0) {
+            JOptionPane.showMessageDialog(this, "There is no pending overtime to approve.",
+                    "Nothing to Approve", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        int confirm = JOptionPane.showConfirmDialog(this,
+                "Approve all pending overtime from " + windowStart + " to " + windowEnd + "?\n" +
+                "Days over " + (int) Overtime.MAX_HOURS_PER_DAY + " hours for an employee will stay pending.",
+                "Confirm Bulk Approval", JOptionPane.YES_NO_OPTION);
+        if (confirm == JOptionPane.YES_OPTION) {
+            runApproval(null, Collections.emptyList());
+        }
+    }
+
+    private void runApproval(Collection<Integer> approveIds, Collection<Integer> rejectIds) {
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        approveButton.setEnabled(false);
+        rejectButton.setEnabled(false);
+        approveAllButton.setEnabled(false);
+
+        LocalDate from = windowStart;
+        LocalDate to = windowEnd;
+        Integer decidedBy = currentUser != null ? currentUser.getEmployeeId() : null;
+
+        new SwingWorker<OvertimeApprovalResult, Void>() {
+            @Override
+            protected OvertimeApprovalResult doInBackground() {
+                return overtimeApprovalService.process(from, to, approveIds, rejectIds, decidedBy);
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                approveAllButton.setEnabled(true);
+                try {
+                    OvertimeApprovalResult result = get();
+                    StringBuilder message = new StringBuilder(result.getSummary());
+                    result.getFlagged().stream().limit(15)
+                            .forEach(overtime -> message.append("\n• Overtime #").append(overtime.getOvertimeId())
+                                    .append(" (employee ").append(overtime.getEmployeeId()).append(", ")
+                                    .append(overtime.getDate()).append(", ").append(overtime.getFormattedHours())
+                                    .append(" hrs) exceeds the daily limit"));
+                    if (result.getFlagged().size() > 15) {
+                        message.append("\n• ... and ").append(result.getFlagged().size() - 15).append(" more");
+                    }
+                    JOptionPane.showMessageDialog(OvertimeApprovalDialog.this, message.toString(),
+                            result.hasFlagged() ? "Processed with Flags" : "Success",
+                            result.hasFlagged() ? JOptionPane.WARNING_MESSAGE : JOptionPane.INFORMATION_MESSAGE);
+                    loadQueue(); // Refresh the table
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(OvertimeApprovalDialog.this,
+                            "Error updating overtime: " + cause.getMessage(),
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+}
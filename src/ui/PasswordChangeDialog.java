@@ -1,6 +1,7 @@
 package ui;
 
 import dao.CredentialsDAO;
+import service.AuthenticationService;
 import model.Employee;
 
 import javax.swing.*;
@@ -249,7 +250,7 @@ public class PasswordChangeDialog extends JDialog {
 
         try {
             // Verify current password
-            if (!credentialsDAO.authenticateUser(employee.getEmployeeId(), currentPassword)) {
+            if (!AuthenticationService.getInstance().verifyPassword(employee.getEmployeeId(), currentPassword)) {
                 JOptionPane.showMessageDialog(this, "Current password is incorrect.",
                         "Authentication Failed", JOptionPane.ERROR_MESSAGE);
                 currentPasswordField.requestFocus();
@@ -229,6 +229,9 @@ public class PayrollDetailsDialog extends JDialog {
         sb.append("Rice Subsidy        : ").append(formatCurrency(payroll.getRiceSubsidy())).append("\n");
         sb.append("Phone Allowance     : ").append(formatCurrency(payroll.getPhoneAllowance())).append("\n");
         sb.append("Clothing Allowance  : ").append(formatCurrency(payroll.getClothingAllowance())).append("\n");
+        if (payroll.getOtherAllowances() > 0) {
+            sb.append("Other Allowances    : ").append(formatCurrency(payroll.getOtherAllowances())).append("\n");
+        }
         sb.append("                      ").append("____________").append("\n");
         sb.append("GROSS PAY           : ").append(formatCurrency(payroll.getGrossPay())).append("\n\n");
 
@@ -7,6 +7,8 @@ import model.Employee;
 import model.Payroll;
 import model.Attendance;
 import service.PayrollCalculator;
+import service.PayRunService;
+import util.Metrics;
 
 import javax.swing.*;
 import java.awt.*;
@@ -18,7 +20,9 @@ import java.io.File;
 import java.io.PrintWriter;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ReportsDialog extends JDialog {
     private Employee currentUser;
@@ -26,6 +30,7 @@ public class ReportsDialog extends JDialog {
     private PayrollDAO payrollDAO;
     private AttendanceDAO attendanceDAO;
     private PayrollCalculator payrollCalculator;
+    private PayRunService payRunService;
 
     private JComboBox<String> reportTypeComboBox;
     private JComboBox<String> monthComboBox;
@@ -49,6 +54,7 @@ public class ReportsDialog extends JDialog {
         this.payrollDAO = new PayrollDAO();
         this.attendanceDAO = new AttendanceDAO();
         this.payrollCalculator = new PayrollCalculator();
+        this.payRunService = new PayRunService();
 
         initializeComponents();
         setupLayout();
@@ -221,6 +227,7 @@ public class ReportsDialog extends JDialog {
 
             String reportType = (String) reportTypeComboBox.getSelectedItem();
             String format = (String) formatComboBox.getSelectedItem();
+            long startNanos = System.nanoTime();
 
             switch (reportType) {
                 case "Monthly Payroll Report":
@@ -241,6 +248,9 @@ public class ReportsDialog extends JDialog {
                     return;
             }
 
+            Metrics.timer("motorph_report_generation_seconds", "Time to generate a report",
+                    "report", reportType).recordNanos(System.nanoTime() - startNanos);
+
         } catch (Exception e) {
             JOptionPane.showMessageDialog(this, "Error generating report: " + e.getMessage(),
                     "Error", JOptionPane.ERROR_MESSAGE);
@@ -259,6 +269,7 @@ public class ReportsDialog extends JDialog {
             LocalDate periodEnd = periodStart.withDayOfMonth(periodStart.lengthOfMonth());
 
             List<Employee> employees = employeeDAO.getAllEmployees();
+            Map<Integer, Payroll> frozenPayrolls = loadFrozenPayrolls(periodStart, periodEnd);
             StringBuilder report = new StringBuilder();
 
             // Build payroll report
@@ -276,7 +287,7 @@ public class ReportsDialog extends JDialog {
 
             for (Employee emp : employees) {
                 try {
-                    Payroll payroll = payrollCalculator.calculatePayroll(emp.getEmployeeId(), periodStart, periodEnd);
+                    Payroll payroll = getPayroll(frozenPayrolls, emp.getEmployeeId(), periodStart, periodEnd);
 
                     double grossPay = payroll.getGrossPay();
                     double deductions = payroll.getTotalDeductions();
@@ -314,6 +325,23 @@ public class ReportsDialog extends JDialog {
         }
     }
 
+    /**
+     * Loads the frozen snapshot of an approved period keyed by employee, or an empty map
+     * when the period is still open and must be calculated live.
+     */
+    private Map<Integer, Payroll> loadFrozenPayrolls(LocalDate periodStart, LocalDate periodEnd) {
+        Map<Integer, Payroll> frozen = new HashMap<>();
+        payRunService.getClosedPayrolls(periodStart, periodEnd)
+                .ifPresent(rows -> rows.forEach(p -> frozen.put(p.getEmployeeId(), p)));
+        return frozen;
+    }
+
+    private Payroll getPayroll(Map<Integer, Payroll> frozenPayrolls, int employeeId,
+                               LocalDate periodStart, LocalDate periodEnd) throws Exception {
+        Payroll frozen = frozenPayrolls.get(employeeId);
+        return frozen != null ? frozen : payrollCalculator.calculatePayroll(employeeId, periodStart, periodEnd);
+    }
+
     private void generateEmployeeDirectoryReport(String format) {
         try {
             List<Employee> employees = employeeDAO.getAllEmployees();
@@ -343,6 +371,7 @@ public class ReportsDialog extends JDialog {
             LocalDate periodEnd = periodStart.withDayOfMonth(periodStart.lengthOfMonth());
 
             List<Employee> employees = employeeDAO.getAllEmployees();
+            Map<Integer, Payroll> frozenPayrolls = loadFrozenPayrolls(periodStart, periodEnd);
             StringBuilder report = new StringBuilder();
 
             report.append("GOVERNMENT CONTRIBUTIONS REPORT\n");
@@ -358,7 +387,7 @@ public class ReportsDialog extends JDialog {
 
             for (Employee emp : employees) {
                 try {
-                    Payroll payroll = payrollCalculator.calculatePayroll(emp.getEmployeeId(), periodStart, periodEnd);
+                    Payroll payroll = getPayroll(frozenPayrolls, emp.getEmployeeId(), periodStart, periodEnd);
 
                     totalSSS += payroll.getSss();
                     totalPhilHealth += payroll.getPhilhealth();
@@ -0,0 +1,198 @@
+package util;
+
+import dao.AuditLogDAO;
+import model.AuditEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Write-behind audit trail.
+ * Mutations publish events into a lock-free ring buffer and return immediately; a single
+ * background writer drains the buffer and stores events in JDBC batches. When the buffer
+ * is full, publishers wait briefly for the writer (back-pressure) and finally write the
+ * event synchronously, so no event is dropped. Pending events are flushed on shutdown.
+ */
+public final class AuditTrail {
+    private static final Logger LOGGER = Logger.getLogger(AuditTrail.class.getName());
+    private static final long FLUSH_TIMEOUT_MILLIS = 5000;
+
+    private static volatile AuditTrail instance;
+
+    private final RingBuffer<AuditEvent> buffer;
+    private final AuditLogDAO auditLogDAO;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutNanos;
+    private final Thread writer;
+    private final AtomicLong eventsWritten = new AtomicLong();
+    private final AtomicLong eventsWrittenSynchronously = new AtomicLong();
+
+    private volatile boolean running = true;
+    private volatile boolean writing;
+    private volatile Integer currentActorId;
+    private volatile String currentActorName = "System";
+
+    private AuditTrail(AuditLogDAO auditLogDAO, ConfigurationManager config) {
+        this.auditLogDAO = auditLogDAO;
+        this.buffer = new RingBuffer<>(config.getAuditBufferCapacity());
+        this.batchSize = Math.max(1, config.getAuditBatchSize());
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(10, config.getAuditFlushIntervalMillis()));
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, config.getAuditOfferTimeoutMillis()));
+
+        this.writer = new Thread(this::runWriter, "audit-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "audit-shutdown"));
+    }
+
+    public static AuditTrail getInstance() {
+        AuditTrail local = instance;
+        if (local == null) {
+            synchronized (AuditTrail.class) {
+                local = instance;
+                if (local == null) {
+                    local = new AuditTrail(new AuditLogDAO(), ConfigurationManager.getInstance());
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * Sets the user that subsequent events are attributed to (the logged-in user)
+     */
+    public void setCurrentActor(Integer employeeId, String name) {
+        this.currentActorId = employeeId;
+        this.currentActorName = name != null ? name : "System";
+    }
+
+    /**
+     * Records a mutation by the current user
+     * @param action What happened (see AuditEvent.ACTION_*)
+     * @param entityType Kind of record changed (see AuditEvent.ENTITY_*)
+     * @param entityId Key of the record changed
+     * @param details Short description; never include secrets such as passwords
+     */
+    public void record(String action, String entityType, Object entityId, String details) {
+        try {
+            publish(new AuditEvent(currentActorId, currentActorName, action, entityType,
+                    entityId != null ? String.valueOf(entityId) : null, details));
+        } catch (RuntimeException e) {
+            // Auditing must never break the business operation that triggered it
+            LOGGER.log(Level.SEVERE, "❌ Failed to record audit event " + action + " " + entityType + "#" + entityId, e);
+        }
+    }
+
+    /**
+     * Queues an event for the background writer, applying back-pressure when the buffer is full
+     */
+    public void publish(AuditEvent event) {
+        if (running && buffer.offer(event)) {
+            if (buffer.size() >= batchSize) {
+                LockSupport.unpark(writer);
+            }
+            return;
+        }
+
+        LockSupport.unpark(writer);
+        long deadline = System.nanoTime() + offerTimeoutNanos;
+        while (running && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+            if (buffer.offer(event)) {
+                return;
+            }
+        }
+
+        // Writer is saturated or stopped: persist this event on the caller's thread
+        eventsWrittenSynchronously.incrementAndGet();
+        writeBatch(Collections.singletonList(event));
+    }
+
+    /**
+     * Waits until every event published so far has been written
+     * @return true if the buffer drained before the timeout
+     */
+    public boolean flush() {
+        if (Thread.currentThread() == writer) {
+            return false;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_TIMEOUT_MILLIS);
+        while (!buffer.isEmpty() || writing) {
+            if (!writer.isAlive() || System.nanoTime() > deadline) {
+                return false;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return true;
+    }
+
+    /**
+     * Stops the writer after draining everything still queued
+     */
+    public void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(FLUSH_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        LOGGER.info(String.format("Audit trail stopped: %d events written (%d synchronously), %d pending",
+                eventsWritten.get(), eventsWrittenSynchronously.get(), buffer.size()));
+    }
+
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    public long getEventsWritten() {
+        return eventsWritten.get();
+    }
+
+    private void runWriter() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            writing = true;
+            int drained = buffer.drainTo(batch, batchSize);
+            if (drained > 0) {
+                writeBatch(batch);
+                batch.clear();
+                writing = false;
+                continue;
+            }
+            writing = false;
+            if (running) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            } else {
+                // A publisher claimed a slot but has not filled it yet
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private void writeBatch(List<AuditEvent> batch) {
+        try {
+            auditLogDAO.insertBatch(batch);
+            eventsWritten.addAndGet(batch.size());
+        } catch (RuntimeException e) {
+            // Keep the trail in the application log rather than losing it
+            LOGGER.log(Level.SEVERE, "❌ Audit batch of " + batch.size() + " events could not be stored", e);
+            for (AuditEvent event : batch) {
+                LOGGER.severe("AUDIT " + event + " details=" + event.getDetails());
+            }
+        }
+    }
+}
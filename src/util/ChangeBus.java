@@ -0,0 +1,240 @@
+package util;
+
+import dao.ChangeLogDAO;
+import model.ChangeEvent;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * In-process bus of change events. DAOs publish an event after each committed write and
+ * open screens apply it to the one table row it names, instead of reloading their tables.
+ *
+ * Events are delivered in order on one background thread; listeners that touch Swing
+ * components hand over with SwingUtilities.invokeLater. With changes.bridge.enabled, the bus
+ * also appends its events to the change_log table and polls it for the events of other
+ * instances, which are delivered marked remote. A change ID is allocated before its
+ * transaction commits, so a poll can see a later ID before an earlier one; the IDs skipped
+ * over are kept as gaps and re-read on the following polls until they show up or expire.
+ */
+public final class ChangeBus {
+    private static final Logger LOGGER = Logger.getLogger(ChangeBus.class.getName());
+    private static final int POLL_LIMIT = 500;
+    // A gap still empty after this long was a rolled back insert, not a late commit
+    private static final long GAP_TIMEOUT_MILLIS = 60_000;
+    private static final int MAX_GAPS = 1_000;
+
+    private static volatile ChangeBus instance;
+
+    /**
+     * Receives the changes of the entities it subscribed to; called on the bus thread
+     */
+    public interface Listener {
+        void changed(ChangeEvent event);
+    }
+
+    private final ChangeLogDAO changeLogDAO;
+    private final boolean bridgeEnabled;
+    private final long pollMillis;
+    private final int retentionHours;
+    private final String origin = UUID.randomUUID().toString();
+    private final Map<ChangeEvent.Entity, Set<Listener>> listeners = new EnumMap<>(ChangeEvent.Entity.class);
+
+    private volatile ScheduledExecutorService executor;
+    // Only touched on the bus thread; -1 until polling has a starting point
+    private long lastSeenChangeId = -1;
+    // IDs below lastSeenChangeId not read yet, with the time they were first found missing
+    private final NavigableMap<Long, Long> gaps = new TreeMap<>();
+
+    /**
+     * A bus relaying through the given change log when the bridge is enabled; the
+     * application shares getInstance()
+     */
+    public ChangeBus(ChangeLogDAO changeLogDAO, boolean bridgeEnabled, long pollMillis, int retentionHours) {
+        this.changeLogDAO = changeLogDAO;
+        this.bridgeEnabled = bridgeEnabled;
+        this.pollMillis = Math.max(250, pollMillis);
+        this.retentionHours = Math.max(1, retentionHours);
+        for (ChangeEvent.Entity entity : ChangeEvent.Entity.values()) {
+            listeners.put(entity, new CopyOnWriteArraySet<>());
+        }
+    }
+
+    public static ChangeBus getInstance() {
+        ChangeBus local = instance;
+        if (local == null) {
+            synchronized (ChangeBus.class) {
+                local = instance;
+                if (local == null) {
+                    ConfigurationManager config = ConfigurationManager.getInstance();
+                    local = new ChangeBus(new ChangeLogDAO(), config.isChangeBridgeEnabled(),
+                            config.getChangeBridgePollMillis(), config.getChangeLogRetentionHours());
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * @return true if events of other instances are delivered too
+     */
+    public boolean isBridgeEnabled() {
+        return bridgeEnabled;
+    }
+
+    public void subscribe(ChangeEvent.Entity entity, Listener listener) {
+        listeners.get(entity).add(listener);
+        start();
+    }
+
+    /**
+     * Removes the listener from every entity it subscribed to
+     */
+    public void unsubscribe(Listener listener) {
+        for (Set<Listener> subscribed : listeners.values()) {
+            subscribed.remove(listener);
+        }
+    }
+
+    /**
+     * Publishes a committed change; called by DAOs after their transaction commits
+     * @param entityId Key of the changed record; 0 for a BULK change
+     * @param employeeId Employee the record belongs to, or 0 if not known
+     */
+    public void publish(ChangeEvent.Entity entity, ChangeEvent.Kind kind, int entityId, int employeeId) {
+        publish(new ChangeEvent(entity, kind, entityId, employeeId));
+    }
+
+    public void publish(ChangeEvent event) {
+        // With nobody listening here and no other instance to tell, there is nothing to do
+        if (!bridgeEnabled && listeners.get(event.getEntity()).isEmpty()) {
+            return;
+        }
+        start().execute(() -> {
+            deliver(event);
+            if (bridgeEnabled && !event.isRemote()) {
+                relay(event);
+            }
+        });
+    }
+
+    private synchronized ScheduledExecutorService start() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "change-bus");
+                thread.setDaemon(true);
+                return thread;
+            });
+            if (bridgeEnabled) {
+                executor.scheduleWithFixedDelay(this::poll, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+                executor.scheduleWithFixedDelay(this::purge, 1, 60, TimeUnit.MINUTES);
+                LOGGER.info("🔁 Change bridge polling change_log every " + pollMillis + " ms");
+            }
+        }
+        return executor;
+    }
+
+    private void deliver(ChangeEvent event) {
+        for (Listener listener : listeners.get(event.getEntity())) {
+            try {
+                listener.changed(event);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Change listener failed on " + event, e);
+            }
+        }
+    }
+
+    private void relay(ChangeEvent event) {
+        try {
+            if (changeLogDAO.isAvailable()) {
+                changeLogDAO.append(event, origin);
+            }
+        } catch (RuntimeException e) {
+            // Other instances catch up on their next reload; the write itself has succeeded
+            LOGGER.log(Level.WARNING, "⚠️ Change could not be relayed: " + event, e);
+        }
+    }
+
+    private void poll() {
+        if (!hasListeners()) {
+            // Nobody would see the events; start again from the newest when someone listens
+            lastSeenChangeId = -1;
+            gaps.clear();
+            return;
+        }
+
+        try {
+            if (!changeLogDAO.isAvailable()) {
+                return;
+            }
+            if (lastSeenChangeId < 0) {
+                lastSeenChangeId = changeLogDAO.getLatestChangeId();
+                return;
+            }
+            long now = System.currentTimeMillis();
+            gaps.values().removeIf(missedAt -> now - missedAt > GAP_TIMEOUT_MILLIS);
+
+            long cursor = gaps.isEmpty() ? lastSeenChangeId : gaps.firstKey() - 1;
+            long before;
+            do {
+                before = cursor;
+                cursor = changeLogDAO.readAfter(before, POLL_LIMIT, (changeId, changeOrigin, event) -> {
+                    if (isNewChange(changeId, now) && !origin.equals(changeOrigin)) {
+                        deliver(event);
+                    }
+                });
+            } while (cursor - before >= POLL_LIMIT);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Change log could not be polled", e);
+        }
+    }
+
+    /**
+     * Records a change ID read by a poll
+     * @return false if the change was delivered by an earlier poll
+     */
+    private boolean isNewChange(long changeId, long now) {
+        if (changeId <= lastSeenChangeId) {
+            return gaps.remove(changeId) != null;
+        }
+        for (long missing = Math.max(lastSeenChangeId + 1, changeId - MAX_GAPS); missing < changeId; missing++) {
+            gaps.put(missing, now);
+        }
+        while (gaps.size() > MAX_GAPS) {
+            gaps.pollFirstEntry();
+        }
+        lastSeenChangeId = changeId;
+        return true;
+    }
+
+    private void purge() {
+        try {
+            if (changeLogDAO.isAvailable()) {
+                changeLogDAO.purgeBefore(LocalDateTime.now().minusHours(retentionHours));
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Change log could not be purged", e);
+        }
+    }
+
+    private boolean hasListeners() {
+        for (Set<Listener> subscribed : listeners.values()) {
+            if (!subscribed.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
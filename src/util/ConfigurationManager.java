@@ -2,6 +2,8 @@ package util;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.Properties;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -89,11 +91,72 @@ public class ConfigurationManager {
         return getProperty("db.driver", "com.mysql.cj.jdbc.Driver");
     }
     
+    /**
+     * useCursorFetch makes a statement's fetch size take effect: large scans read that many
+     * rows at a time from a server-side cursor instead of buffering the whole result
+     */
     public String getDatabaseUrl() {
-        return String.format("jdbc:mysql://%s:%d/%s?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true",
+        return String.format("jdbc:mysql://%s:%d/%s?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true&useUnicode=true&characterEncoding=UTF-8&rewriteBatchedStatements=true&useCursorFetch=true",
                 getDatabaseHost(), getDatabasePort(), getDatabaseName());
     }
     
+    /**
+     * "mysql" for the configured server, "embedded" for an in-memory database built from the migrations
+     */
+    public String getDatabaseProfile() {
+        return getProperty("db.profile", "mysql");
+    }
+    
+    public boolean isEmbeddedDatabase() {
+        return "embedded".equalsIgnoreCase(getDatabaseProfile());
+    }
+    
+    // Embedded Database Configuration
+    public String getEmbeddedDatabaseUrl() {
+        return getProperty("db.embedded.url",
+                "jdbc:h2:mem:aoopdatabase_payroll;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;NON_KEYWORDS=YEAR;DB_CLOSE_DELAY=-1");
+    }
+    
+    public String getEmbeddedDatabaseDriver() {
+        return getProperty("db.embedded.driver", "org.h2.Driver");
+    }
+    
+    public String getEmbeddedBaseSchema() {
+        return getProperty("db.embedded.schema", "src/util/aoopdatabase_payroll.sql");
+    }
+    
+    public String getEmbeddedMigrationsPath() {
+        return getProperty("db.embedded.migrations", "supabase/migrations");
+    }
+    
+    /**
+     * Synthetic employees added on top of the sample data; 0 keeps only the sample data
+     */
+    public int getEmbeddedSeedEmployees() {
+        return getIntProperty("db.embedded.seed.employees", 0);
+    }
+    
+    public int getEmbeddedSeedMonths() {
+        return getIntProperty("db.embedded.seed.months", 1);
+    }
+    
+    public long getEmbeddedSeedRandom() {
+        return getIntProperty("db.embedded.seed.random", 42);
+    }
+    
+    /**
+     * Last month of synthetic attendance (yyyy-MM), fixed so a seed gives the same rows on any day
+     */
+    public YearMonth getEmbeddedSeedThrough() {
+        String value = getProperty("db.embedded.seed.through", "2024-12");
+        try {
+            return YearMonth.parse(value);
+        } catch (DateTimeParseException e) {
+            LOGGER.warning("Invalid month property: db.embedded.seed.through, using default: 2024-12");
+            return YearMonth.of(2024, 12);
+        }
+    }
+    
     // JasperReports Configuration
     public String getJasperReportsPath() {
         return getProperty("jasper.reports.path", "src/reports/templates/");
@@ -128,6 +191,36 @@ public class ConfigurationManager {
         return getIntProperty("payroll.max.leave.days.per.year", 15);
     }
     
+    public String getDefaultPayFrequency() {
+        return getProperty("payroll.pay.frequency", "Monthly");
+    }
+    
+    public int getPayRunParallelism() {
+        return getIntProperty("payroll.run.parallelism", 3);
+    }
+    
+    /**
+     * Employees per partition of a coordinated pay run calculation
+     */
+    public int getPayRunPartitionSize() {
+        return getIntProperty("payroll.partition.size", 200);
+    }
+    
+    public int getPayRunHeartbeatSeconds() {
+        return getIntProperty("payroll.partition.heartbeat.seconds", 15);
+    }
+    
+    /**
+     * Seconds without a heartbeat after which another worker takes over a partition
+     */
+    public int getPayRunStaleSeconds() {
+        return getIntProperty("payroll.partition.stale.seconds", 90);
+    }
+    
+    public int getPayRunMaxAttempts() {
+        return getIntProperty("payroll.partition.max.attempts", 3);
+    }
+    
     // Security Configuration
     public int getPasswordMinLength() {
         return getIntProperty("security.password.min.length", 8);
@@ -141,6 +234,149 @@ public class ConfigurationManager {
         return getIntProperty("security.max.login.attempts", 3);
     }
     
+    public int getLoginLockoutMinutes() {
+        return getIntProperty("security.login.lockout.minutes", 15);
+    }
+    
+    // Audit Trail Configuration
+    public int getAuditBufferCapacity() {
+        return getIntProperty("audit.buffer.capacity", 8192);
+    }
+    
+    public int getAuditBatchSize() {
+        return getIntProperty("audit.batch.size", 200);
+    }
+    
+    public int getAuditFlushIntervalMillis() {
+        return getIntProperty("audit.flush.interval.ms", 500);
+    }
+    
+    public int getAuditOfferTimeoutMillis() {
+        return getIntProperty("audit.offer.timeout.ms", 250);
+    }
+    
+    // Metrics Configuration
+    public boolean isMetricsEnabled() {
+        return getBooleanProperty("metrics.enabled", true);
+    }
+    
+    public String getMetricsExportFile() {
+        return getProperty("metrics.export.file", "logs/metrics.prom");
+    }
+    
+    public int getMetricsExportIntervalSeconds() {
+        return getIntProperty("metrics.export.interval.seconds", 15);
+    }
+    
+    public int getMetricsHttpPort() {
+        return getIntProperty("metrics.http.port", 0);
+    }
+    
+    // Schema Probe Configuration
+    public int getSchemaProbeIntervalSeconds() {
+        return getIntProperty("schema.probe.interval.seconds", 300);
+    }
+    
+    // Payroll Archive Configuration
+    public String getArchiveDirectory() {
+        return getProperty("archive.path", "archive");
+    }
+    
+    // Bank Disbursement Configuration
+    public String getDisbursementDirectory() {
+        return getProperty("disbursement.path", "disbursements");
+    }
+    
+    public String getDisbursementCompanyName() {
+        return getProperty("disbursement.company.name", "MotorPH");
+    }
+    
+    /**
+     * Company account debited by the bank for a file, e.g. disbursement.account.BDO
+     */
+    public String getDisbursementFundingAccount(String bankCode) {
+        return getProperty("disbursement.account." + bankCode, "");
+    }
+    
+    /**
+     * Layout of a bank's credit file, e.g. disbursement.layout.BDO=FIXED80; CSV unless set
+     */
+    public String getDisbursementLayout(String bankCode) {
+        return getProperty("disbursement.layout." + bankCode, "CSV");
+    }
+    
+    // Government Remittance Configuration
+    public String getRemittanceDirectory() {
+        return getProperty("remittance.path", "remittances");
+    }
+    
+    public String getRemittanceEmployerName() {
+        return getProperty("remittance.employer.name", getDisbursementCompanyName());
+    }
+    
+    /**
+     * Employer's registration number with an agency, e.g. remittance.employer.sss
+     */
+    public String getRemittanceEmployerId(String agency) {
+        return getProperty("remittance.employer." + agency.toLowerCase().replace("-", ""), "");
+    }
+    
+    /**
+     * Employer SSS share per peso of employee share; 9.5% against 4.5% unless set
+     */
+    public double getSssEmployerShareRatio() {
+        return getDoubleProperty("remittance.sss.employer.ratio", 9.5 / 4.5);
+    }
+    
+    // Batch Configuration
+    /**
+     * Directory of the reports, payslips and JSON summaries written by batch commands
+     */
+    public String getBatchOutputDirectory() {
+        return getProperty("batch.output.path", "batch");
+    }
+    
+    // Dashboard Metrics Configuration
+    /**
+     * Seconds between recounts that pick up other workstations' writes
+     */
+    public int getDashboardMetricsReconcileSeconds() {
+        return getIntProperty("dashboard.metrics.reconcile.seconds", 300);
+    }
+    
+    public int getDashboardNewHireDays() {
+        return getIntProperty("dashboard.new.hire.days", 30);
+    }
+    
+    // Change Notification Configuration
+    /**
+     * Relay change events to other running instances through the change_log table
+     */
+    public boolean isChangeBridgeEnabled() {
+        return getBooleanProperty("changes.bridge.enabled", false);
+    }
+    
+    public int getChangeBridgePollMillis() {
+        return getIntProperty("changes.bridge.poll.millis", 2000);
+    }
+    
+    public int getChangeLogRetentionHours() {
+        return getIntProperty("changes.log.retention.hours", 24);
+    }
+    
+    // Leave Ledger Configuration
+    public int getSickLeaveDaysPerYear() {
+        return getIntProperty("leave.sick.days.per.year", 5);
+    }
+    
+    public int getEmergencyLeaveDaysPerYear() {
+        return getIntProperty("leave.emergency.days.per.year", 3);
+    }
+    
+    public int getLeaveAccrualHour() {
+        return getIntProperty("leave.accrual.hour", 1);
+    }
+    
     // Application Configuration
     public String getApplicationName() {
         return getProperty("app.name", "MotorPH Payroll System");
@@ -167,14 +403,21 @@ public class ConfigurationManager {
         return getProperty("logging.file.path", "logs/motorph.log");
     }
     
-    // Helper methods
+    /**
+     * Per-employee detail logs are written at FINE for one in every N employees
+     */
+    public int getLoggingSampleRate() {
+        return getIntProperty("logging.sample.rate", 100);
+    }
+    
+    // Helper methods; a -Dkey=value system property overrides the file
     public String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        return System.getProperty(key, properties.getProperty(key, defaultValue));
     }
     
     public int getIntProperty(String key, int defaultValue) {
         try {
-            return Integer.parseInt(properties.getProperty(key, String.valueOf(defaultValue)));
+            return Integer.parseInt(getProperty(key, String.valueOf(defaultValue)));
         } catch (NumberFormatException e) {
             LOGGER.warning("Invalid integer property: " + key + ", using default: " + defaultValue);
             return defaultValue;
@@ -183,7 +426,7 @@ public class ConfigurationManager {
     
     public double getDoubleProperty(String key, double defaultValue) {
         try {
-            return Double.parseDouble(properties.getProperty(key, String.valueOf(defaultValue)));
+            return Double.parseDouble(getProperty(key, String.valueOf(defaultValue)));
         } catch (NumberFormatException e) {
             LOGGER.warning("Invalid double property: " + key + ", using default: " + defaultValue);
             return defaultValue;
@@ -191,7 +434,7 @@ public class ConfigurationManager {
     }
     
     public boolean getBooleanProperty(String key, boolean defaultValue) {
-        return Boolean.parseBoolean(properties.getProperty(key, String.valueOf(defaultValue)));
+        return Boolean.parseBoolean(getProperty(key, String.valueOf(defaultValue)));
     }
     
     // Reload configuration
@@ -210,7 +453,7 @@ public class ConfigurationManager {
         StringBuilder sb = new StringBuilder();
         sb.append("📋 MotorPH Configuration Summary:\n");
         sb.append("================================\n");
-        sb.append("Database: ").append(getDatabaseUrl()).append("\n");
+        sb.append("Database: ").append(isEmbeddedDatabase() ? getEmbeddedDatabaseUrl() : getDatabaseUrl()).append("\n");
         sb.append("Application: ").append(getApplicationName()).append(" v").append(getApplicationVersion()).append("\n");
         sb.append("Debug Mode: ").append(isDebugMode()).append("\n");
         sb.append("Working Days/Month: ").append(getWorkingDaysPerMonth()).append("\n");
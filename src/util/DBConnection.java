@@ -1,40 +1,64 @@
 package util;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
 /**
  * Fixed Database Connection Utility Class
- * Provides centralized database connection management
+ * Provides centralized database connection management.
+ * Connections come from the DataSource of the configured db.profile.
  */
 public class DBConnection {
     private static final Logger LOGGER = Logger.getLogger(DBConnection.class.getName());
     
-    // Database configuration
-    private static final String DB_HOST = "localhost";
-    private static final String DB_PORT = "3306";
-    private static final String DB_NAME = "aoopdatabase_payroll";
-    private static final String DB_USERNAME = "root";
-    private static final String DB_PASSWORD = "admin";
-    private static final String DB_DRIVER = "com.mysql.cj.jdbc.Driver";
+    private static final ConfigurationManager CONFIG = ConfigurationManager.getInstance();
     
-    // Connection URL
-    private static final String DB_URL = String.format(
-        "jdbc:mysql://%s:%s/%s?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true&useUnicode=true&characterEncoding=UTF-8",
-        DB_HOST, DB_PORT, DB_NAME
-    );
+    // Selected by db.profile: the configured MySQL server, or an in-memory database
+    private static volatile DataSource dataSource;
     
-    // Static block to load the driver
-    static {
+    // Instrumentation
+    private static final boolean METRICS_ENABLED = CONFIG.isMetricsEnabled();
+    private static final Metrics.Timer CONNECT_TIMER = Metrics.timer("motorph_db_connect_seconds",
+        "Time to open a database connection");
+    private static final Metrics.Counter CONNECT_FAILURES = Metrics.counter("motorph_db_connect_failures_total",
+        "Failed attempts to open a database connection");
+    
+    /**
+     * DataSource of the configured profile, created on first use
+     * @throws RuntimeException if the profile's JDBC driver is not on the classpath
+     */
+    public static DataSource getDataSource() {
+        DataSource current = dataSource;
+        if (current == null) {
+            synchronized (DBConnection.class) {
+                current = dataSource;
+                if (current == null) {
+                    current = createDataSource();
+                    dataSource = current;
+                }
+            }
+        }
+        return current;
+    }
+    
+    private static DataSource createDataSource() {
         try {
-            Class.forName(DB_DRIVER);
+            if (CONFIG.isEmbeddedDatabase()) {
+                LOGGER.info("🧪 Using embedded database " + CONFIG.getEmbeddedDatabaseUrl());
+                return EmbeddedDatabase.start(CONFIG);
+            }
+            DataSource mysql = new DriverManagerDataSource(CONFIG.getDatabaseDriver(), CONFIG.getDatabaseUrl(),
+                    CONFIG.getDatabaseUsername(), CONFIG.getDatabasePassword());
             LOGGER.info("✅ MySQL JDBC Driver loaded successfully");
-        } catch (ClassNotFoundException e) {
-            LOGGER.log(Level.SEVERE, "❌ MySQL JDBC Driver not found", e);
-            throw new RuntimeException("MySQL JDBC Driver not found. Please add mysql-connector-java to classpath.", e);
+            return mysql;
+        } catch (IllegalStateException e) {
+            LOGGER.log(Level.SEVERE, "❌ Database profile '" + CONFIG.getDatabaseProfile() + "' could not start", e);
+            throw new RuntimeException(CONFIG.isEmbeddedDatabase()
+                    ? "Embedded database could not start. Please add the " + CONFIG.getEmbeddedDatabaseDriver() + " driver to classpath."
+                    : "MySQL JDBC Driver not found. Please add mysql-connector-java to classpath.", e);
         }
     }
     
@@ -43,18 +67,24 @@ public class DBConnection {
      * @return Connection object
      * @throws SQLException if connection fails
      */
+    @SuppressWarnings("try")
     public static Connection getConnection() throws SQLException {
-        try {
-            Connection connection = DriverManager.getConnection(DB_URL, DB_USERNAME, DB_PASSWORD);
+        try (Metrics.Sample ignored = CONNECT_TIMER.start()) {
+            Connection connection = getDataSource().getConnection();
             LOGGER.fine("🔗 Database connection established");
-            return connection;
+            return METRICS_ENABLED ? InstrumentedConnection.wrap(connection) : connection;
         } catch (SQLException e) {
+            CONNECT_FAILURES.increment();
+            SchemaProbe.getInstance().connectionFailed(e.getMessage());
             LOGGER.log(Level.SEVERE, "❌ Failed to establish database connection", e);
+            if (CONFIG.isEmbeddedDatabase()) {
+                throw new SQLException("Embedded database connection failed: " + getUrl(), e);
+            }
             throw new SQLException("Database connection failed. Please check:\n" +
                     "1. MySQL server is running\n" +
-                    "2. Database '" + DB_NAME + "' exists\n" +
+                    "2. Database '" + getDatabaseName() + "' exists\n" +
                     "3. Username and password are correct\n" +
-                    "4. MySQL service is accessible on " + DB_HOST + ":" + DB_PORT, e);
+                    "4. MySQL service is accessible on " + getHost() + ":" + getPort(), e);
         }
     }
     
@@ -69,10 +99,10 @@ public class DBConnection {
                 LOGGER.info("✅ Database connection test successful");
             } else {
                 LOGGER.warning("⚠️ Database connection test failed - connection invalid");
-        // CORRECTED: Using 'password' column (not 'password_hash' as that doesn't exist in our schema)
+            }
             return isValid;
         } catch (SQLException e) {
-                "WHERE e.employee_id = ? AND c.password = ?";
+            LOGGER.log(Level.WARNING, "❌ Database connection test failed", e);
             return false;
         }
     }
@@ -92,47 +122,38 @@ public class DBConnection {
         }
     }
     
-                    // Enhanced debugging with correct column names  
-                    String debugQuery = "SELECT c.employee_id, c.password, " +
+    /**
+     * Get database connection information
      * @return Database connection details (without password)
      */
     public static String getDatabaseInfo() {
+        if (CONFIG.isEmbeddedDatabase()) {
+            return "Database: embedded " + getUrl();
+        }
         return String.format("Database: %s@%s:%s/%s", 
-                DB_USERNAME, DB_HOST, DB_PORT, DB_NAME);
+                getUsername(), getHost(), getPort(), getDatabaseName());
     }
     
     /**
-     * Check if database and required tables exist
-                                String actualPassword = debugRs.getString("password");
+     * Check if database and required tables exist.
+     * Answered from the cached schema probe instead of querying each table.
+     * @return true if database is properly set up
+     */
     public static boolean isDatabaseSetup() {
-        try (Connection connection = getConnection()) {
-            // Check if main tables exist
-            String[] requiredTables = {
-                "employees", "credentials", "attendance", 
-                                LOGGER.info(String.format("   Stored Password: %s", actualPassword));
-            
-                                LOGGER.info(String.format("   Password Match: %s", password.equals(actualPassword)));
-                try {
-                    connection.prepareStatement("SELECT 1 FROM " + table + " LIMIT 1").executeQuery();
-                } catch (SQLException e) {
-                    LOGGER.warning("❌ Required table missing: " + table);
-                    return false;
-                }
-            }
-            
-            LOGGER.info("✅ Database setup validation passed");
-            return true;
-            
-        } catch (SQLException e) {
-            LOGGER.log(Level.WARNING, "❌ Database setup validation failed", e);
+        SchemaProbe.Snapshot snapshot = SchemaProbe.getInstance().getSnapshot();
+        if (!snapshot.isDatabaseSetup()) {
+            LOGGER.warning(snapshot.isConnected()
+                    ? "❌ Required tables missing: " + snapshot.getMissingRequiredTables()
+                    : "❌ Database setup validation failed - database unreachable");
             return false;
         }
+        return true;
     }
     
     // Database configuration getters (for configuration management)
-    public static String getHost() { return DB_HOST; }
-    public static String getPort() { return DB_PORT; }
-    public static String getDatabaseName() { return DB_NAME; }
-    public static String getUsername() { return DB_USERNAME; }
-    public static String getUrl() { return DB_URL; }
+    public static String getHost() { return CONFIG.getDatabaseHost(); }
+    public static String getPort() { return String.valueOf(CONFIG.getDatabasePort()); }
+    public static String getDatabaseName() { return CONFIG.getDatabaseName(); }
+    public static String getUsername() { return CONFIG.getDatabaseUsername(); }
+    public static String getUrl() { return CONFIG.isEmbeddedDatabase() ? CONFIG.getEmbeddedDatabaseUrl() : CONFIG.getDatabaseUrl(); }
 }
\ No newline at end of file
@@ -0,0 +1,284 @@
+package util;
+
+import dao.WorkforceMetricsDAO;
+import model.ChangeEvent;
+import model.WorkforceMetrics;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Live counters behind the dashboard metric cards: headcount, new hires, today's attendance
+ * and lateness, pending leave requests and the latest approved payroll.
+ *
+ * The counters are read once in a single-row query when the first dashboard registers, and
+ * from then on DAOs adjust them as they write. A write whose effect on a counter is not known
+ * (an edited punch, a deleted employee) asks for a recount instead. Listeners are told of
+ * changes on one background thread, coalesced, so dashboards never query to refresh a card.
+ * Writes from other workstations are picked up by a reconciling recount every few minutes
+ * (dashboard.metrics.reconcile.seconds) and at the start of each day, or as soon as their
+ * change events arrive when the change bridge is enabled.
+ */
+public final class DashboardMetrics {
+    private static final Logger LOGGER = Logger.getLogger(DashboardMetrics.class.getName());
+
+    // Same start of day as Attendance.isLate()
+    private static final LocalTime STANDARD_START = LocalTime.of(8, 0);
+
+    private static volatile DashboardMetrics instance;
+
+    /**
+     * Receives the counters after they change; called on the metrics thread
+     */
+    public interface Listener {
+        void metricsChanged(WorkforceMetrics metrics);
+    }
+
+    private final WorkforceMetricsDAO workforceMetricsDAO;
+    private final int newHireDays;
+    private final long reconcileSeconds;
+    private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
+    private final AtomicBoolean publishScheduled = new AtomicBoolean();
+    private final AtomicBoolean reloadScheduled = new AtomicBoolean();
+    private final AtomicLong writes = new AtomicLong();
+
+    private final AtomicInteger headcount = new AtomicInteger();
+    private final AtomicInteger newHires = new AtomicInteger();
+    private final AtomicInteger presentToday = new AtomicInteger();
+    private final AtomicInteger lateToday = new AtomicInteger();
+    private final AtomicInteger pendingLeaves = new AtomicInteger();
+    private volatile WorkforceMetrics loaded;
+    private volatile LocalDate rolloverScheduled;
+
+    private volatile ScheduledExecutorService executor;
+    private final ChangeBus.Listener remoteChanges = event -> {
+        if (event.isRemote()) {
+            requestRecount();
+        }
+    };
+
+    /**
+     * Counters read from the given source; the application shares getInstance()
+     */
+    public DashboardMetrics(WorkforceMetricsDAO workforceMetricsDAO, int newHireDays, long reconcileSeconds) {
+        this.workforceMetricsDAO = workforceMetricsDAO;
+        this.newHireDays = newHireDays;
+        this.reconcileSeconds = Math.max(30, reconcileSeconds);
+    }
+
+    public static DashboardMetrics getInstance() {
+        DashboardMetrics local = instance;
+        if (local == null) {
+            synchronized (DashboardMetrics.class) {
+                local = instance;
+                if (local == null) {
+                    ConfigurationManager config = ConfigurationManager.getInstance();
+                    local = new DashboardMetrics(new WorkforceMetricsDAO(), config.getDashboardNewHireDays(),
+                            config.getDashboardMetricsReconcileSeconds());
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * Registers a dashboard; it receives the current counters as soon as they are known.
+     * The counters are only kept, and the database only read, while some dashboard listens.
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+        ScheduledExecutorService local = start();
+        WorkforceMetrics current = getCurrent();
+        if (current != null) {
+            local.execute(() -> deliver(listener, current));
+        }
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return the counters, or null until the first read completes
+     */
+    public WorkforceMetrics getCurrent() {
+        WorkforceMetrics base = loaded;
+        if (base == null) {
+            return null;
+        }
+        return new WorkforceMetrics(base.getAsOf(), headcount.get(), newHires.get(), presentToday.get(),
+                lateToday.get(), pendingLeaves.get(), base.getPayrollPeriodEnd(), base.getPayrollGross(),
+                base.getPayrollNet());
+    }
+
+    // Write hooks; called by DAOs after their transaction commits
+
+    public void employeeAdded() {
+        if (adjust()) {
+            headcount.incrementAndGet();
+            newHires.incrementAndGet();
+            publish();
+        }
+    }
+
+    public void employeeRemoved() {
+        // Whether the employee was a new hire is not known here
+        requestRecount();
+    }
+
+    /**
+     * A punch for an employee with no attendance yet on that day
+     */
+    public void attendanceRecorded(LocalDate date, LocalTime logIn) {
+        WorkforceMetrics base = loaded;
+        if (adjust() && base != null && base.getAsOf().equals(date)) {
+            presentToday.incrementAndGet();
+            if (logIn != null && logIn.isAfter(STANDARD_START)) {
+                lateToday.incrementAndGet();
+            }
+            publish();
+        }
+    }
+
+    /**
+     * Punches changed or were removed; null if the day is not known
+     */
+    public void attendanceChanged(LocalDate date) {
+        WorkforceMetrics base = loaded;
+        if (base != null && (date == null || base.getAsOf().equals(date))) {
+            requestRecount();
+        }
+    }
+
+    public void leaveStatusChanged(String previousStatus, String status) {
+        if (adjust()) {
+            boolean wasPending = "Pending".equalsIgnoreCase(previousStatus);
+            boolean isPending = "Pending".equalsIgnoreCase(status);
+            if (wasPending != isPending) {
+                pendingLeaves.addAndGet(isPending ? 1 : -1);
+                publish();
+            }
+        }
+    }
+
+    /**
+     * Pending requests that were decided in one batch
+     */
+    public void leavesDecided(int count) {
+        if (count > 0 && adjust()) {
+            pendingLeaves.addAndGet(-count);
+            publish();
+        }
+    }
+
+    public void leaveChanged() {
+        requestRecount();
+    }
+
+    public void payrollApproved() {
+        requestRecount();
+    }
+
+    /**
+     * @return true if the counters are live and should be adjusted
+     */
+    private boolean adjust() {
+        writes.incrementAndGet();
+        return loaded != null;
+    }
+
+    private synchronized ScheduledExecutorService start() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "dashboard-metrics");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.scheduleWithFixedDelay(this::reload, 0, reconcileSeconds, TimeUnit.SECONDS);
+            ChangeBus bus = ChangeBus.getInstance();
+            if (bus.isBridgeEnabled()) {
+                for (ChangeEvent.Entity entity : ChangeEvent.Entity.values()) {
+                    bus.subscribe(entity, remoteChanges);
+                }
+            }
+        }
+        return executor;
+    }
+
+    private void requestRecount() {
+        writes.incrementAndGet();
+        ScheduledExecutorService local = executor;
+        if (local != null && reloadScheduled.compareAndSet(false, true)) {
+            local.execute(this::reload);
+        }
+    }
+
+    private void reload() {
+        reloadScheduled.set(false);
+        if (listeners.isEmpty() && loaded != null) {
+            return;
+        }
+
+        try {
+            long writesBefore = writes.get();
+            LocalDate today = LocalDate.now();
+            WorkforceMetrics fresh = workforceMetricsDAO.load(today, today.minusDays(newHireDays));
+            headcount.set(fresh.getHeadcount());
+            newHires.set(fresh.getNewHires());
+            presentToday.set(fresh.getPresentToday());
+            lateToday.set(fresh.getLateToday());
+            pendingLeaves.set(fresh.getPendingLeaves());
+            loaded = fresh;
+
+            // A write that landed while counting may or may not be in the counts; count again
+            if (writes.get() != writesBefore) {
+                requestRecount();
+            }
+            scheduleRollover(today);
+            publish();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Dashboard metrics could not be read", e);
+        }
+    }
+
+    private void scheduleRollover(LocalDate today) {
+        long untilMidnight = java.time.Duration.between(java.time.LocalDateTime.now(),
+                today.plusDays(1).atStartOfDay()).toMillis();
+        if (untilMidnight < TimeUnit.SECONDS.toMillis(reconcileSeconds) && !today.equals(rolloverScheduled)) {
+            rolloverScheduled = today;
+            executor.schedule(this::reload, untilMidnight + 1000, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void publish() {
+        ScheduledExecutorService local = executor;
+        if (local != null && publishScheduled.compareAndSet(false, true)) {
+            local.execute(() -> {
+                publishScheduled.set(false);
+                WorkforceMetrics current = getCurrent();
+                for (Listener listener : listeners) {
+                    deliver(listener, current);
+                }
+            });
+        }
+    }
+
+    private static void deliver(Listener listener, WorkforceMetrics metrics) {
+        try {
+            listener.metricsChanged(metrics);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Dashboard metrics listener failed", e);
+        }
+    }
+}
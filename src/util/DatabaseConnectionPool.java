@@ -1,7 +1,7 @@
 package util;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -22,15 +22,14 @@ public class DatabaseConnectionPool {
     private final int MAX_POOL_SIZE = 20;
     private final int CONNECTION_TIMEOUT = 30; // seconds
     
-    private final String DB_URL;
-    private final String DB_USERNAME;
-    private final String DB_PASSWORD;
+    private static final Metrics.Timer BORROW_TIMER = Metrics.timer("motorph_pool_borrow_seconds",
+        "Time waiting to borrow a pooled connection");
+    
+    // Same profile-selected source as DBConnection
+    private final DataSource dataSource;
     
     private DatabaseConnectionPool() {
-        ConfigurationManager config = ConfigurationManager.getInstance();
-        this.DB_URL = config.getDatabaseUrl();
-        this.DB_USERNAME = config.getDatabaseUsername();
-        this.DB_PASSWORD = config.getDatabasePassword();
+        this.dataSource = DBConnection.getDataSource();
         
         initializePool();
     }
@@ -45,29 +44,20 @@ public class DatabaseConnectionPool {
     private void initializePool() {
         connectionPool = new LinkedBlockingQueue<>(MAX_POOL_SIZE);
         
-        try {
-            // Load MySQL driver
-            Class.forName("com.mysql.cj.jdbc.Driver");
-            
-            // Create initial connections
-            for (int i = 0; i < INITIAL_POOL_SIZE; i++) {
-                Connection connection = createNewConnection();
-                if (connection != null) {
-                    connectionPool.offer(connection);
-                }
+        // Create initial connections
+        for (int i = 0; i < INITIAL_POOL_SIZE; i++) {
+            Connection connection = createNewConnection();
+            if (connection != null) {
+                connectionPool.offer(connection);
             }
-            
-            LOGGER.info("✅ Database connection pool initialized with " + connectionPool.size() + " connections");
-            
-        } catch (ClassNotFoundException e) {
-            LOGGER.log(Level.SEVERE, "❌ MySQL driver not found", e);
-            throw new RuntimeException("MySQL driver not found", e);
         }
+        
+        LOGGER.info("✅ Database connection pool initialized with " + connectionPool.size() + " connections");
     }
     
     private Connection createNewConnection() {
         try {
-            Connection connection = DriverManager.getConnection(DB_URL, DB_USERNAME, DB_PASSWORD);
+            Connection connection = dataSource.getConnection();
             
             // Configure connection
             connection.setAutoCommit(true);
@@ -81,8 +71,9 @@ public class DatabaseConnectionPool {
         }
     }
     
+    @SuppressWarnings("try")
     public Connection getConnection() throws SQLException {
-        try {
+        try (Metrics.Sample ignored = BORROW_TIMER.start()) {
             Connection connection = connectionPool.poll(CONNECTION_TIMEOUT, TimeUnit.SECONDS);
             
             if (connection == null) {
@@ -0,0 +1,122 @@
+package util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Optional;
+
+/**
+ * Wraps JDBC connections so every statement is timed against the DAO method that
+ * created it. The timer runs from prepare to close, which with try-with-resources
+ * covers the query and the result mapping of the DAO method. No DAO changes are needed.
+ */
+final class InstrumentedConnection {
+
+    private static final StackWalker WALKER = StackWalker.getInstance();
+    private static final String DAO_PACKAGE = "dao.";
+
+    private InstrumentedConnection() {
+    }
+
+    static Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    /**
+     * Finds the DAO method on the current call stack
+     * @return Timer for that method, or one labelled "other" for non-DAO callers
+     */
+    private static Metrics.Timer timerForCaller() {
+        Optional<StackWalker.StackFrame> frame = WALKER.walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith(DAO_PACKAGE))
+                .findFirst());
+        String dao = frame.map(f -> f.getClassName().substring(DAO_PACKAGE.length())).orElse("other");
+        String method = frame.map(StackWalker.StackFrame::getMethodName).orElse("other");
+        return Metrics.timer("motorph_dao_call_seconds",
+                "Time from statement preparation to close, per DAO method", "dao", dao, "method", method);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection delegate;
+
+        ConnectionHandler(Connection delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InstrumentedConnection.invoke(delegate, method, args);
+
+            Class<?> statementType = null;
+            if (result instanceof CallableStatement) {
+                statementType = CallableStatement.class;
+            } else if (result instanceof PreparedStatement) {
+                statementType = PreparedStatement.class;
+            } else if (result instanceof Statement) {
+                statementType = Statement.class;
+            }
+            if (statementType == null) {
+                return result;
+            }
+
+            Metrics.Timer timer = timerForCaller();
+            return Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{statementType},
+                    new StatementHandler((Statement) result, timer, (Connection) proxy));
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private static final Metrics.Counter ERRORS = Metrics.counter("motorph_dao_errors_total",
+                "SQL statements that failed");
+
+        private final Statement delegate;
+        private final Metrics.Timer timer;
+        private final Connection connectionProxy;
+        private final long openedNanos = System.nanoTime();
+        private boolean closed;
+
+        StatementHandler(Statement delegate, Metrics.Timer timer, Connection connectionProxy) {
+            this.delegate = delegate;
+            this.timer = timer;
+            this.connectionProxy = connectionProxy;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("getConnection".equals(name)) {
+                return connectionProxy;
+            }
+            if ("close".equals(name) && !closed) {
+                closed = true;
+                timer.recordNanos(System.nanoTime() - openedNanos);
+            }
+            try {
+                return InstrumentedConnection.invoke(delegate, method, args);
+            } catch (Throwable t) {
+                if (name.startsWith("execute")) {
+                    ERRORS.increment();
+                }
+                throw t;
+            }
+        }
+    }
+}
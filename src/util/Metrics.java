@@ -0,0 +1,241 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lightweight in-process metrics registry (counters, histograms and timers).
+ * Metrics are identified by a Prometheus-style name plus optional label pairs and are
+ * safe to update from any thread without locking. See MetricsExporter for JMX and
+ * text exposition.
+ */
+public final class Metrics {
+
+    /** Default latency buckets in seconds: 0.5 ms up to 30 s */
+    private static final double[] LATENCY_BUCKETS = {
+        0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30
+    };
+
+    private static final Map<String, Metric> REGISTRY = new ConcurrentHashMap<>();
+
+    private Metrics() {
+    }
+
+    /**
+     * Common shape of every registered metric
+     */
+    public abstract static class Metric {
+        private final String name;
+        private final String labels;
+        private final String help;
+
+        Metric(String name, String labels, String help) {
+            this.name = name;
+            this.labels = labels;
+            this.help = help;
+        }
+
+        public String getName() { return name; }
+        public String getLabels() { return labels; }
+        public String getHelp() { return help; }
+
+        /** Name with labels in Prometheus notation, e.g. name{dao="EmployeeDAO"} */
+        public String getKey() {
+            return labels.isEmpty() ? name : name + "{" + labels + "}";
+        }
+
+        public abstract String getType();
+    }
+
+    /**
+     * Monotonically increasing count
+     */
+    public static final class Counter extends Metric {
+        private final LongAdder value = new LongAdder();
+
+        Counter(String name, String labels, String help) {
+            super(name, labels, help);
+        }
+
+        public void increment() {
+            value.increment();
+        }
+
+        public void add(long amount) {
+            value.add(amount);
+        }
+
+        public long getCount() {
+            return value.sum();
+        }
+
+        @Override
+        public String getType() { return "counter"; }
+    }
+
+    /**
+     * Distribution of observed values in fixed cumulative buckets
+     */
+    public static class Histogram extends Metric {
+        private final double[] bounds;
+        private final LongAdder[] buckets;
+        private final LongAdder count = new LongAdder();
+        private final DoubleAdder sum = new DoubleAdder();
+        private final AtomicLong maxBits = new AtomicLong(Double.doubleToLongBits(0));
+
+        Histogram(String name, String labels, String help, double[] bounds) {
+            super(name, labels, help);
+            this.bounds = bounds.clone();
+            Arrays.sort(this.bounds);
+            this.buckets = new LongAdder[this.bounds.length];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        public void observe(double value) {
+            int index = Arrays.binarySearch(bounds, value);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            if (index < buckets.length) {
+                buckets[index].increment();
+            }
+            count.increment();
+            sum.add(value);
+
+            long current;
+            while (value > Double.longBitsToDouble(current = maxBits.get())) {
+                if (maxBits.compareAndSet(current, Double.doubleToLongBits(value))) {
+                    break;
+                }
+            }
+        }
+
+        public long getCount() { return count.sum(); }
+        public double getSum() { return sum.sum(); }
+        public double getMax() { return Double.longBitsToDouble(maxBits.get()); }
+
+        public double getMean() {
+            long n = getCount();
+            return n == 0 ? 0 : getSum() / n;
+        }
+
+        public double[] getBucketBounds() {
+            return bounds.clone();
+        }
+
+        /** Cumulative counts per bucket bound (value <= bound) */
+        public long[] getCumulativeCounts() {
+            long[] cumulative = new long[buckets.length];
+            long running = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                running += buckets[i].sum();
+                cumulative[i] = running;
+            }
+            return cumulative;
+        }
+
+        @Override
+        public String getType() { return "histogram"; }
+    }
+
+    /**
+     * Histogram of durations in seconds
+     */
+    public static final class Timer extends Histogram {
+
+        Timer(String name, String labels, String help) {
+            super(name, labels, help, LATENCY_BUCKETS);
+        }
+
+        public void recordNanos(long nanos) {
+            observe(nanos / 1_000_000_000.0);
+        }
+
+        /**
+         * Starts timing; use with try-with-resources
+         */
+        public Sample start() {
+            return new Sample(this);
+        }
+    }
+
+    /**
+     * A running timer measurement; use with try-with-resources. The resource is never
+     * referenced in the body, so the enclosing method carries @SuppressWarnings("try").
+     */
+    public static final class Sample implements AutoCloseable {
+        private final Timer timer;
+        private final long startNanos;
+
+        private Sample(Timer timer) {
+            this.timer = timer;
+            this.startNanos = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            timer.recordNanos(System.nanoTime() - startNanos);
+        }
+    }
+
+    public static Counter counter(String name, String help, String... labelPairs) {
+        String labels = formatLabels(labelPairs);
+        return (Counter) REGISTRY.computeIfAbsent(key(name, labels), k -> new Counter(name, labels, help));
+    }
+
+    public static Timer timer(String name, String help, String... labelPairs) {
+        String labels = formatLabels(labelPairs);
+        return (Timer) REGISTRY.computeIfAbsent(key(name, labels), k -> new Timer(name, labels, help));
+    }
+
+    public static Histogram histogram(String name, String help, double[] bounds, String... labelPairs) {
+        String labels = formatLabels(labelPairs);
+        return (Histogram) REGISTRY.computeIfAbsent(key(name, labels), k -> new Histogram(name, labels, help, bounds));
+    }
+
+    /**
+     * Snapshot of every registered metric, sorted by key
+     */
+    public static List<Metric> getAll() {
+        Collection<Metric> values = REGISTRY.values();
+        List<Metric> metrics = new ArrayList<>(values);
+        metrics.sort((a, b) -> a.getKey().compareTo(b.getKey()));
+        return metrics;
+    }
+
+    public static Metric get(String key) {
+        return REGISTRY.get(key);
+    }
+
+    private static String key(String name, String labels) {
+        return labels.isEmpty() ? name : name + "{" + labels + "}";
+    }
+
+    private static String formatLabels(String... labelPairs) {
+        if (labelPairs == null || labelPairs.length == 0) {
+            return "";
+        }
+        if (labelPairs.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be given as name/value pairs");
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < labelPairs.length; i += 2) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(labelPairs[i]).append("=\"")
+              .append(labelPairs[i + 1].replace("\\", "\\\\").replace("\"", "\\\""))
+              .append('"');
+        }
+        return sb.toString();
+    }
+}
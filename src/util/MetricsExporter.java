@@ -0,0 +1,255 @@
+package util;
+
+import com.sun.net.httpserver.HttpServer;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Publishes the Metrics registry through JMX (motorph:type=Metrics) and as
+ * Prometheus text, either written periodically to a local file or served from
+ * a localhost-only HTTP endpoint (/metrics).
+ */
+public final class MetricsExporter {
+    private static final Logger LOGGER = Logger.getLogger(MetricsExporter.class.getName());
+    private static final String OBJECT_NAME = "motorph:type=Metrics";
+
+    private static ScheduledExecutorService scheduler;
+    private static HttpServer httpServer;
+
+    private MetricsExporter() {
+    }
+
+    /**
+     * Starts every exporter enabled in the configuration. Safe to call more than once.
+     */
+    public static synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        if (!config.isMetricsEnabled()) {
+            return;
+        }
+
+        registerMBean();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "metrics-exporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        String exportFile = config.getMetricsExportFile();
+        if (exportFile != null && !exportFile.trim().isEmpty()) {
+            Path path = Paths.get(exportFile.trim());
+            int interval = Math.max(1, config.getMetricsExportIntervalSeconds());
+            scheduler.scheduleAtFixedRate(() -> writeFile(path), interval, interval, TimeUnit.SECONDS);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> writeFile(path), "metrics-final-export"));
+            LOGGER.info("📈 Metrics written to " + path.toAbsolutePath() + " every " + interval + "s");
+        }
+
+        int port = config.getMetricsHttpPort();
+        if (port > 0) {
+            startHttpServer(port);
+        }
+    }
+
+    /**
+     * Renders all metrics in the Prometheus text exposition format
+     */
+    public static String renderPrometheus() {
+        StringBuilder out = new StringBuilder(4096);
+        String lastName = null;
+
+        for (Metrics.Metric metric : Metrics.getAll()) {
+            if (!metric.getName().equals(lastName)) {
+                out.append("# HELP ").append(metric.getName()).append(' ').append(metric.getHelp()).append('\n');
+                out.append("# TYPE ").append(metric.getName()).append(' ').append(metric.getType()).append('\n');
+                lastName = metric.getName();
+            }
+
+            if (metric instanceof Metrics.Counter) {
+                appendSample(out, metric.getName(), metric.getLabels(), null,
+                        ((Metrics.Counter) metric).getCount());
+            } else if (metric instanceof Metrics.Histogram) {
+                Metrics.Histogram histogram = (Metrics.Histogram) metric;
+                double[] bounds = histogram.getBucketBounds();
+                long[] cumulative = histogram.getCumulativeCounts();
+                for (int i = 0; i < bounds.length; i++) {
+                    appendSample(out, metric.getName() + "_bucket", metric.getLabels(),
+                            "le=\"" + formatNumber(bounds[i]) + "\"", cumulative[i]);
+                }
+                appendSample(out, metric.getName() + "_bucket", metric.getLabels(), "le=\"+Inf\"", histogram.getCount());
+                appendSample(out, metric.getName() + "_sum", metric.getLabels(), null, histogram.getSum());
+                appendSample(out, metric.getName() + "_count", metric.getLabels(), null, histogram.getCount());
+            }
+        }
+        return out.toString();
+    }
+
+    private static void appendSample(StringBuilder out, String name, String labels, String extraLabel, double value) {
+        out.append(name);
+        if (!labels.isEmpty() || extraLabel != null) {
+            out.append('{').append(labels);
+            if (extraLabel != null) {
+                if (!labels.isEmpty()) {
+                    out.append(',');
+                }
+                out.append(extraLabel);
+            }
+            out.append('}');
+        }
+        out.append(' ').append(formatNumber(value)).append('\n');
+    }
+
+    private static String formatNumber(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return Double.toString(value);
+        }
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    }
+
+    private static void writeFile(Path path) {
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            // Write then rename so scrapers never read a half-written file
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            Files.write(temp, renderPrometheus().getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "⚠️ Could not write metrics file " + path, e);
+        }
+    }
+
+    private static void startHttpServer(int port) {
+        try {
+            httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            httpServer.createContext("/metrics", exchange -> {
+                byte[] body = renderPrometheus().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(body);
+                }
+            });
+            httpServer.setExecutor(scheduler);
+            httpServer.start();
+            LOGGER.info("📈 Metrics endpoint listening on http://127.0.0.1:" + port + "/metrics");
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "⚠️ Could not start metrics endpoint on port " + port, e);
+        }
+    }
+
+    private static void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new MetricsMBean(), name);
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "⚠️ Could not register metrics MBean", e);
+        }
+    }
+
+    /**
+     * Read-only dynamic MBean exposing one attribute per counter and count/mean/max per histogram
+     */
+    private static final class MetricsMBean implements DynamicMBean {
+
+        @Override
+        public Object getAttribute(String attribute) throws AttributeNotFoundException {
+            int split = attribute.lastIndexOf('.');
+            Metrics.Metric metric = Metrics.get(attribute);
+            if (metric instanceof Metrics.Counter) {
+                return ((Metrics.Counter) metric).getCount();
+            }
+            if (split > 0 && Metrics.get(attribute.substring(0, split)) instanceof Metrics.Histogram) {
+                Metrics.Histogram histogram = (Metrics.Histogram) Metrics.get(attribute.substring(0, split));
+                switch (attribute.substring(split + 1)) {
+                    case "count": return (double) histogram.getCount();
+                    case "mean": return histogram.getMean();
+                    case "max": return histogram.getMax();
+                    default: break;
+                }
+            }
+            throw new AttributeNotFoundException(attribute);
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] attributes) {
+            AttributeList list = new AttributeList();
+            for (String attribute : attributes) {
+                try {
+                    list.add(new Attribute(attribute, getAttribute(attribute)));
+                } catch (AttributeNotFoundException e) {
+                    // Metric disappeared or name is unknown; skip it
+                }
+            }
+            return list;
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute) {
+            throw new UnsupportedOperationException("Metrics are read-only");
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList attributes) {
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke(String actionName, Object[] params, String[] signature) {
+            throw new UnsupportedOperationException("No operations available");
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            List<MBeanAttributeInfo> attributes = new ArrayList<>();
+            for (Metrics.Metric metric : Metrics.getAll()) {
+                if (metric instanceof Metrics.Counter) {
+                    attributes.add(new MBeanAttributeInfo(metric.getKey(), "long", metric.getHelp(), true, false, false));
+                } else {
+                    for (String stat : new String[]{"count", "mean", "max"}) {
+                        attributes.add(new MBeanAttributeInfo(metric.getKey() + "." + stat, "double",
+                                metric.getHelp() + " (" + stat + ")", true, false, false));
+                    }
+                }
+            }
+            return new MBeanInfo(MetricsMBean.class.getName(), "MotorPH payroll metrics",
+                    attributes.toArray(new MBeanAttributeInfo[0]), null, null, null);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package util;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Salted PBKDF2 password hashing.
+ * Hashes are stored self-describing as pbkdf2_sha256$iterations$salt$hash (Base64), so the
+ * iteration count can be raised later and old hashes still verify. Values without that
+ * prefix are legacy plaintext passwords; they verify in constant time and should be
+ * re-hashed by the caller (see {@link #needsRehash(String)}).
+ */
+public final class PasswordHasher {
+
+    public static final String ALGORITHM_ID = "pbkdf2_sha256";
+    public static final int DEFAULT_ITERATIONS = 120000;
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private PasswordHasher() {
+    }
+
+    /**
+     * Hashes a password with a fresh random salt
+     * @param password Plaintext password
+     * @return Encoded hash for credentials.password_hash
+     */
+    public static String hash(String password) {
+        return hash(password, DEFAULT_ITERATIONS);
+    }
+
+    static String hash(String password, int iterations) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        return hash(password, salt, iterations);
+    }
+
+    /**
+     * Hashes with a given salt; for generated data that has to come out the same every run
+     */
+    static String hash(String password, byte[] salt, int iterations) {
+        if (password == null || password.isEmpty()) {
+            throw new IllegalArgumentException("Password cannot be empty");
+        }
+        byte[] hash = derive(password, salt, iterations);
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return ALGORITHM_ID + "$" + iterations + "$" + encoder.encodeToString(salt) + "$" + encoder.encodeToString(hash);
+    }
+
+    /**
+     * Checks a password against a stored value
+     * @param password Plaintext password entered by the user
+     * @param stored Encoded hash, or a legacy plaintext password
+     * @return true if they match
+     */
+    public static boolean verify(String password, String stored) {
+        if (password == null || stored == null) {
+            return false;
+        }
+        if (!isHashed(stored)) {
+            return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+        }
+
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4) {
+            return false;
+        }
+        try {
+            int iterations = Integer.parseInt(parts[1]);
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            return MessageDigest.isEqual(expected, derive(password, salt, iterations));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return true if the stored value is plaintext or uses fewer iterations than the current default
+     */
+    public static boolean needsRehash(String stored) {
+        if (!isHashed(stored)) {
+            return true;
+        }
+        String[] parts = stored.split("\\$");
+        try {
+            return parts.length != 4 || Integer.parseInt(parts[1]) < DEFAULT_ITERATIONS;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    public static boolean isHashed(String stored) {
+        return stored != null && stored.startsWith(ALGORITHM_ID + "$");
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
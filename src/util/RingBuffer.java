@@ -0,0 +1,92 @@
+package util;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer for many producers and a single consumer.
+ * Producers claim a slot with a CAS on the tail sequence; the consumer drains
+ * published slots in order and advances the head.
+ *
+ * @param <E> element type
+ */
+public final class RingBuffer<E> {
+    private final AtomicReferenceArray<E> slots;
+    private final int capacity;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    /**
+     * @param requestedCapacity Minimum capacity; rounded up to a power of two
+     */
+    public RingBuffer(int requestedCapacity) {
+        if (requestedCapacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        int size = Integer.highestOneBit(requestedCapacity);
+        if (size < requestedCapacity) {
+            size <<= 1;
+        }
+        this.capacity = size;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+    }
+
+    /**
+     * Adds an element without blocking
+     * @return false if the buffer is full
+     */
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null");
+        }
+        long claimed;
+        do {
+            claimed = tail.get();
+            if (claimed - head >= capacity) {
+                return false;
+            }
+        } while (!tail.compareAndSet(claimed, claimed + 1));
+
+        slots.set((int) (claimed & mask), element);
+        return true;
+    }
+
+    /**
+     * Moves up to maxElements published elements into the target list.
+     * Must only be called from the single consumer thread.
+     * @return Number of elements drained
+     */
+    public int drainTo(List<? super E> target, int maxElements) {
+        long current = head;
+        int drained = 0;
+        while (drained < maxElements) {
+            int index = (int) (current & mask);
+            E element = slots.get(index);
+            if (element == null) {
+                // Either empty or a producer has claimed the slot but not yet published it
+                break;
+            }
+            slots.set(index, null);
+            target.add(element);
+            current++;
+            drained++;
+        }
+        head = current;
+        return drained;
+    }
+
+    public int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,364 @@
+package util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Startup schema and capability probe.
+ * Reads the tables, views, stored procedures, triggers and indexes of the schema from
+ * information_schema in four queries on one connection, and caches the result so callers no longer probe a table
+ * before every write or test the connection before every login. The snapshot is refreshed in
+ * the background and marked disconnected as soon as DBConnection fails to connect.
+ */
+public final class SchemaProbe {
+    private static final Logger LOGGER = Logger.getLogger(SchemaProbe.class.getName());
+
+    // The application cannot run without these
+    static final String[] REQUIRED_TABLES = {
+        "employees", "credentials", "attendance", "payroll", "leave_request", "overtime"
+    };
+
+    // Created by the migrations; features depending on them degrade when they are missing
+    static final String[] EXPECTED_TABLES = {
+        "deductions", "employee_allowances", "employee_government_ids", "report_generation_log",
+        "pay_run", "pay_run_snapshot", "audit_log", "leave_balance", "leave_ledger",
+        "overtime_monthly_total", "employee_snapshot", "payroll_ytd", "payroll_ytd_run",
+        "employee_separation", "benefit_payout", "employee_pay_frequency", "employee_bank_account",
+        "disbursement_file", "remittance_file", "employee_cost_allocation", "change_log",
+        "payroll_run_partition"
+    };
+
+    static final String[] EXPECTED_VIEWS = {
+        "v_employee_summary", "v_payroll_summary", "v_attendance_summary", "v_leave_summary",
+        "v_government_contributions"
+    };
+
+    static final String[] EXPECTED_PROCEDURES = {
+        "sp_calculate_employee_payroll", "sp_calculate_government_contributions",
+        "sp_monthly_payroll_report", "sp_get_attendance_summary", "sp_validate_employee"
+    };
+
+    // table.index
+    static final String[] EXPECTED_INDEXES = {
+        "attendance.uq_attendance_employee_date", "leave_request.idx_leave_request_employee_id",
+        "overtime.idx_overtime_employee_id", "payroll.idx_payroll_period_employee",
+        "pay_run_snapshot.idx_pay_run_snapshot_employee", "audit_log.idx_audit_log_entity"
+    };
+
+    private static final String SELECT_TABLES =
+        "SELECT table_name, table_type FROM information_schema.tables WHERE table_schema = ?";
+
+    private static final String SELECT_PROCEDURES =
+        "SELECT routine_name FROM information_schema.routines " +
+        "WHERE routine_schema = ? AND routine_type = 'PROCEDURE'";
+
+    private static final String SELECT_TRIGGERS =
+        "SELECT trigger_name FROM information_schema.triggers WHERE trigger_schema = ?";
+
+    private static final String SELECT_INDEXES =
+        "SELECT DISTINCT table_name, index_name FROM information_schema.statistics WHERE table_schema = ?";
+
+    /**
+     * Immutable result of one probe
+     */
+    public static final class Snapshot {
+        private final boolean connected;
+        private final long probedAt;
+        private final Set<String> tables;
+        private final Set<String> views;
+        private final Set<String> procedures;
+        private final Set<String> triggers;
+        private final Set<String> indexes;
+        private final String error;
+
+        Snapshot(boolean connected, long probedAt, Set<String> tables, Set<String> views,
+                 Set<String> procedures, Set<String> triggers, Set<String> indexes, String error) {
+            this.connected = connected;
+            this.probedAt = probedAt;
+            this.tables = Collections.unmodifiableSet(tables);
+            this.views = Collections.unmodifiableSet(views);
+            this.procedures = Collections.unmodifiableSet(procedures);
+            this.triggers = Collections.unmodifiableSet(triggers);
+            this.indexes = Collections.unmodifiableSet(indexes);
+            this.error = error;
+        }
+
+        static Snapshot disconnected(String error) {
+            return new Snapshot(false, System.currentTimeMillis(), new HashSet<>(), new HashSet<>(),
+                    new HashSet<>(), new HashSet<>(), new HashSet<>(), error);
+        }
+
+        Snapshot withDisconnected(String error) {
+            return new Snapshot(false, System.currentTimeMillis(), new HashSet<>(tables), new HashSet<>(views),
+                    new HashSet<>(procedures), new HashSet<>(triggers), new HashSet<>(indexes), error);
+        }
+
+        public boolean isConnected() { return connected; }
+        public long getProbedAt() { return probedAt; }
+        public String getError() { return error; }
+
+        public boolean hasTable(String table) {
+            return tables.contains(normalize(table));
+        }
+
+        public boolean hasView(String view) {
+            return views.contains(normalize(view));
+        }
+
+        public boolean hasProcedure(String procedure) {
+            return procedures.contains(normalize(procedure));
+        }
+
+        public boolean hasTrigger(String trigger) {
+            return triggers.contains(normalize(trigger));
+        }
+
+        /**
+         * True only when the table exists and every trigger keeping it in step with its source
+         * tables was found. A trigger that could not be seen (embedded database, no TRIGGER
+         * privilege, database unreachable) counts as absent, so callers read the source tables.
+         */
+        public boolean isMaintainedTable(String table, String... triggerNames) {
+            if (!hasTable(table)) {
+                return false;
+            }
+            for (String trigger : triggerNames) {
+                if (!hasTrigger(trigger)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public boolean hasIndex(String table, String index) {
+            return indexes.contains(normalize(table) + "." + normalize(index));
+        }
+
+        /**
+         * True only when the schema was read and the table is not in it.
+         * While the database is unreachable nothing is known to be missing.
+         */
+        public boolean isTableMissing(String table) {
+            return !tables.isEmpty() && !hasTable(table);
+        }
+
+        /**
+         * @return true if the database was reachable and every required table exists
+         */
+        public boolean isDatabaseSetup() {
+            return connected && getMissingRequiredTables().isEmpty();
+        }
+
+        public List<String> getMissingRequiredTables() {
+            List<String> missing = new ArrayList<>();
+            for (String table : REQUIRED_TABLES) {
+                if (!hasTable(table)) {
+                    missing.add(table);
+                }
+            }
+            return missing;
+        }
+
+        /**
+         * @return Every expected object that is absent, e.g. "view v_leave_summary"
+         */
+        public List<String> getMissingObjects() {
+            List<String> missing = new ArrayList<>();
+            for (String table : REQUIRED_TABLES) {
+                if (!hasTable(table)) missing.add("table " + table);
+            }
+            for (String table : EXPECTED_TABLES) {
+                if (!hasTable(table)) missing.add("table " + table);
+            }
+            for (String view : EXPECTED_VIEWS) {
+                if (!hasView(view)) missing.add("view " + view);
+            }
+            for (String procedure : EXPECTED_PROCEDURES) {
+                if (!hasProcedure(procedure)) missing.add("procedure " + procedure);
+            }
+            for (String index : EXPECTED_INDEXES) {
+                if (!indexes.contains(normalize(index))) missing.add("index " + index);
+            }
+            return missing;
+        }
+
+        @Override
+        public String toString() {
+            if (!connected) {
+                return "Schema probe: database unreachable" + (error != null ? " (" + error + ")" : "");
+            }
+            return String.format("Schema probe: %d tables, %d views, %d procedures, %d triggers, %d indexes, %d missing",
+                    tables.size(), views.size(), procedures.size(), triggers.size(), indexes.size(),
+                    getMissingObjects().size());
+        }
+    }
+
+    private static volatile SchemaProbe instance;
+
+    private volatile Snapshot snapshot;
+    private ScheduledExecutorService scheduler;
+
+    private SchemaProbe() {
+    }
+
+    public static SchemaProbe getInstance() {
+        SchemaProbe local = instance;
+        if (local == null) {
+            synchronized (SchemaProbe.class) {
+                local = instance;
+                if (local == null) {
+                    local = new SchemaProbe();
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * Probes the schema now and schedules background re-validation. Safe to call more than once.
+     * @return Result of the startup probe
+     */
+    public synchronized Snapshot start() {
+        Snapshot result = refresh();
+        if (scheduler == null) {
+            int interval = Math.max(10, ConfigurationManager.getInstance().getSchemaProbeIntervalSeconds());
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "schema-probe");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::refreshQuietly, interval, interval, TimeUnit.SECONDS);
+        }
+        return result;
+    }
+
+    /**
+     * @return Cached probe result, probing synchronously the first time
+     */
+    public Snapshot getSnapshot() {
+        Snapshot local = snapshot;
+        return local != null ? local : refresh();
+    }
+
+    /**
+     * Re-reads the schema
+     * @return Fresh probe result
+     */
+    public Snapshot refresh() {
+        Snapshot result = probe();
+        Snapshot previous = snapshot;
+        snapshot = result;
+
+        if (previous == null || previous.isConnected() != result.isConnected()) {
+            if (result.isConnected()) {
+                LOGGER.info("✅ " + result);
+                List<String> missing = result.getMissingObjects();
+                if (!missing.isEmpty()) {
+                    LOGGER.warning("⚠️ Schema objects missing - run the migrations: " + String.join(", ", missing));
+                }
+            } else {
+                LOGGER.warning("⚠️ " + result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Called by DBConnection when a connection attempt fails, so the next caller
+     * sees the outage without waiting for the background refresh
+     */
+    void connectionFailed(String error) {
+        Snapshot local = snapshot;
+        if (local != null && local.isConnected()) {
+            snapshot = local.withDisconnected(error);
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "⚠️ Schema re-validation failed", e);
+        }
+    }
+
+    private Snapshot probe() {
+        Set<String> tables = new HashSet<>();
+        Set<String> views = new HashSet<>();
+        Set<String> procedures = new HashSet<>();
+        Set<String> triggers = new HashSet<>();
+        Set<String> indexes = new HashSet<>();
+
+        try (Connection conn = DBConnection.getConnection()) {
+            // MySQL names the database as the catalog; the embedded profile uses a schema
+            String schema = conn.getSchema() != null ? conn.getSchema() : conn.getCatalog();
+
+            try (PreparedStatement stmt = conn.prepareStatement(SELECT_TABLES)) {
+                stmt.setString(1, schema);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        String name = normalize(rs.getString(1));
+                        if ("VIEW".equalsIgnoreCase(rs.getString(2))) {
+                            views.add(name);
+                        } else {
+                            tables.add(name);
+                        }
+                    }
+                }
+            }
+            // Routines and index statistics are MySQL catalog views; other databases report none
+            try (PreparedStatement stmt = conn.prepareStatement(SELECT_PROCEDURES)) {
+                stmt.setString(1, schema);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        procedures.add(normalize(rs.getString(1)));
+                    }
+                }
+            } catch (SQLException e) {
+                LOGGER.fine("Stored procedures not probed: " + e.getMessage());
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(SELECT_TRIGGERS)) {
+                stmt.setString(1, schema);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        triggers.add(normalize(rs.getString(1)));
+                    }
+                }
+            } catch (SQLException e) {
+                LOGGER.fine("Triggers not probed: " + e.getMessage());
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(SELECT_INDEXES)) {
+                stmt.setString(1, schema);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        indexes.add(normalize(rs.getString(1)) + "." + normalize(rs.getString(2)));
+                    }
+                }
+            } catch (SQLException e) {
+                LOGGER.fine("Indexes not probed: " + e.getMessage());
+            }
+            return new Snapshot(true, System.currentTimeMillis(), tables, views, procedures, triggers, indexes, null);
+
+        } catch (SQLException e) {
+            return Snapshot.disconnected(e.getMessage());
+        }
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,295 @@
+package util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs the MySQL schema scripts (the base schema and supabase/migrations) over JDBC.
+ * Statements are split on the current delimiter, honouring DELIMITER blocks; USE and
+ * CREATE DATABASE are skipped since the connection already points at the target.
+ *
+ * Against a database other than MySQL the runner emulates the conditional DDL idiom the
+ * migrations use (SET @flag = (SELECT ...), SET @ddl = IF(...), PREPARE/EXECUTE) and skips
+ * the DELIMITER blocks, whose triggers and procedures are MySQL-only. It also turns the
+ * MySQL backslash escape of a quote into a doubled quote, and runs an ALTER TABLE with
+ * several ADD clauses one clause at a time. In lenient mode a
+ * failing statement is logged as a warning and counted instead of aborting the script.
+ */
+public final class SqlScriptRunner {
+    private static final Logger LOGGER = Logger.getLogger(SqlScriptRunner.class.getName());
+
+    private static final Pattern DELIMITER_LINE = Pattern.compile("^\\s*DELIMITER\\s+(\\S+)\\s*$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SET_FROM_QUERY = Pattern.compile("^SET\\s+@(\\w+)\\s*=\\s*\\(\\s*(SELECT\\s.*)\\)$",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern SET_FROM_IF = Pattern.compile(
+            "^SET\\s+@(\\w+)\\s*=\\s*IF\\(\\s*@(\\w+)\\s*=\\s*(\\d+)\\s*,\\s*'((?:[^']|'')*)'\\s*,\\s*'((?:[^']|'')*)'\\s*\\)$",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern PREPARE = Pattern.compile("^PREPARE\\s+(\\w+)\\s+FROM\\s+@(\\w+)$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern EXECUTE = Pattern.compile("^EXECUTE\\s+(\\w+)$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern DEALLOCATE = Pattern.compile("^DEALLOCATE\\s+PREPARE\\s+\\w+$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ALTER_TABLE = Pattern.compile("^(ALTER\\s+TABLE\\s+\\w+)\\s+(ADD\\s.*)$",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern NEXT_ADD_CLAUSE = Pattern.compile(",\\s*(?=ADD\\s)", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * Outcome of one script
+     */
+    public static final class Result {
+        private final int applied;
+        private final int skipped;
+
+        Result(int applied, int skipped) {
+            this.applied = applied;
+            this.skipped = skipped;
+        }
+
+        public int getApplied() { return applied; }
+        public int getSkipped() { return skipped; }
+    }
+
+    /**
+     * One statement of a script and whether it came from a DELIMITER block
+     */
+    public static final class ScriptStatement {
+        private final String sql;
+        private final boolean routine;
+
+        ScriptStatement(String sql, boolean routine) {
+            this.sql = sql;
+            this.routine = routine;
+        }
+
+        public String getSql() { return sql; }
+        public boolean isRoutine() { return routine; }
+    }
+
+    /**
+     * Where emulated statements run; the runner sends them to its connection
+     */
+    public interface Target {
+        /**
+         * @return First column of the first row, or null for no rows
+         */
+        String queryValue(String sql) throws SQLException;
+
+        void execute(String sql) throws SQLException;
+    }
+
+    /**
+     * User variables and prepared statements of one script, kept on the client for a
+     * database without server support for them
+     */
+    public static final class Emulation {
+        private final String schema;
+        private final Target target;
+        private final Map<String, String> variables = new HashMap<>();
+        private final Map<String, String> prepared = new HashMap<>();
+
+        /**
+         * @param schema Schema the tables live in, substituted for DATABASE()
+         */
+        public Emulation(String schema, Target target) {
+            this.schema = schema;
+            this.target = target;
+        }
+
+        /**
+         * Runs a statement of the user-variable and prepared-statement idiom
+         * @return true if the statement was handled here
+         */
+        public boolean emulate(String sql) throws SQLException {
+            Matcher matcher = SET_FROM_QUERY.matcher(sql);
+            if (matcher.matches()) {
+                // DATABASE() is the catalog elsewhere; the tables live in the connection's schema
+                String query = matcher.group(2).replaceAll("(?i)DATABASE\\(\\)",
+                        Matcher.quoteReplacement("'" + schema.replace("'", "''") + "'"));
+                variables.put(matcher.group(1), target.queryValue(query));
+                return true;
+            }
+            matcher = SET_FROM_IF.matcher(sql);
+            if (matcher.matches()) {
+                boolean condition = matcher.group(3).equals(variables.get(matcher.group(2)));
+                String chosen = condition ? matcher.group(4) : matcher.group(5);
+                variables.put(matcher.group(1), chosen.replace("''", "'"));
+                return true;
+            }
+            matcher = PREPARE.matcher(sql);
+            if (matcher.matches()) {
+                prepared.put(matcher.group(1), variables.get(matcher.group(2)));
+                return true;
+            }
+            matcher = EXECUTE.matcher(sql);
+            if (matcher.matches()) {
+                String body = prepared.get(matcher.group(1));
+                if (body != null) {
+                    target.execute(body);
+                }
+                return true;
+            }
+            return DEALLOCATE.matcher(sql).matches();
+        }
+
+        public String getVariable(String name) {
+            return variables.get(name);
+        }
+    }
+
+    private final boolean lenient;
+
+    public SqlScriptRunner(boolean lenient) {
+        this.lenient = lenient;
+    }
+
+    /**
+     * Runs every statement of a script on the connection
+     * @throws SQLException if a statement fails and the runner is not lenient
+     */
+    public Result run(Connection conn, Path script) throws IOException, SQLException {
+        boolean mysql = conn.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("mysql");
+        int applied = 0;
+        int skipped = 0;
+
+        try (Statement stmt = conn.createStatement()) {
+            Emulation emulation = mysql ? null : new Emulation(conn.getSchema(), new StatementTarget(stmt));
+            for (ScriptStatement statement : split(Files.readString(script, StandardCharsets.UTF_8))) {
+                String sql = statement.sql;
+                String upper = sql.toUpperCase(Locale.ROOT);
+                if (upper.startsWith("USE ") || upper.startsWith("CREATE DATABASE")) {
+                    continue;
+                }
+                if (!mysql && statement.routine) {
+                    LOGGER.fine(() -> "Skipping MySQL-only routine in " + script.getFileName() + ": " + firstLine(sql));
+                    skipped++;
+                    continue;
+                }
+
+                try {
+                    if (mysql) {
+                        stmt.execute(sql);
+                    } else {
+                        String standard = portable(sql);
+                        if (!emulation.emulate(standard)) {
+                            for (String clause : splitAlterTable(standard)) {
+                                stmt.execute(clause);
+                            }
+                        }
+                    }
+                    applied++;
+                } catch (SQLException e) {
+                    if (!lenient) {
+                        throw e;
+                    }
+                    LOGGER.log(Level.WARNING, "Skipped statement in " + script.getFileName() + ": " + firstLine(sql), e);
+                    skipped++;
+                }
+            }
+        }
+
+        if (skipped > 0) {
+            LOGGER.info(String.format("%s: %d statements applied, %d skipped", script.getFileName(), applied, skipped));
+        }
+        return new Result(applied, skipped);
+    }
+
+    /**
+     * Splits a script into statements on the current delimiter, dropping full-line comments
+     */
+    public static List<ScriptStatement> split(String script) {
+        List<ScriptStatement> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        String delimiter = ";";
+
+        for (String line : script.split("\\R")) {
+            Matcher delimiterLine = DELIMITER_LINE.matcher(line);
+            if (delimiterLine.matches()) {
+                delimiter = delimiterLine.group(1);
+                continue;
+            }
+            String trimmed = line.trim();
+            if (trimmed.startsWith("--") || (current.length() == 0 && trimmed.isEmpty())) {
+                continue;
+            }
+
+            current.append(line).append('\n');
+            if (trimmed.endsWith(delimiter)) {
+                String sql = current.toString().trim();
+                sql = sql.substring(0, sql.length() - delimiter.length()).trim();
+                if (!sql.isEmpty()) {
+                    statements.add(new ScriptStatement(sql, !";".equals(delimiter)));
+                }
+                current.setLength(0);
+            }
+        }
+
+        String rest = current.toString().trim();
+        if (!rest.isEmpty()) {
+            statements.add(new ScriptStatement(rest, !";".equals(delimiter)));
+        }
+        return statements;
+    }
+
+    /**
+     * Writes the MySQL escapes of a script the standard way: \\' becomes '' and \\\\ becomes \\
+     */
+    public static String portable(String sql) {
+        return sql.replace("\\\\", "\u0000").replace("\\'", "''").replace("\u0000", "\\");
+    }
+
+    /**
+     * Splits an ALTER TABLE with several ADD clauses into one statement per clause,
+     * since the other databases take a single clause; other statements come back as they are
+     */
+    public static List<String> splitAlterTable(String sql) {
+        Matcher matcher = ALTER_TABLE.matcher(sql);
+        if (!matcher.matches()) {
+            return List.of(sql);
+        }
+        List<String> statements = new ArrayList<>();
+        for (String clause : NEXT_ADD_CLAUSE.split(matcher.group(2))) {
+            statements.add(matcher.group(1) + " " + clause.trim());
+        }
+        return statements;
+    }
+
+    private static final class StatementTarget implements Target {
+        private final Statement stmt;
+
+        StatementTarget(Statement stmt) {
+            this.stmt = stmt;
+        }
+
+        @Override
+        public String queryValue(String sql) throws SQLException {
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+
+        @Override
+        public void execute(String sql) throws SQLException {
+            for (String clause : splitAlterTable(sql)) {
+                stmt.execute(clause);
+            }
+        }
+    }
+
+    private static String firstLine(String sql) {
+        int newline = sql.indexOf('\n');
+        return newline < 0 ? sql : sql.substring(0, newline) + " ...";
+    }
+}
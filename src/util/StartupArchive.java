@@ -0,0 +1,51 @@
+package util;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.Enumeration;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Training run for the application class data sharing archive (ant cds-archive).
+ * Loads every application class from the jar without initializing it, so no window opens and
+ * no connection is made; run with -XX:ArchiveClassesAtExit the JVM then writes the parsed and
+ * verified classes to an archive that later launches map instead of loading them again.
+ */
+public final class StartupArchive {
+
+    private StartupArchive() {
+    }
+
+    public static void main(String[] args) throws IOException, URISyntaxException {
+        File jar = new File(StartupArchive.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        if (!jar.isFile()) {
+            System.err.println("Run from the application jar, not from " + jar);
+            System.exit(2);
+        }
+
+        ClassLoader loader = StartupArchive.class.getClassLoader();
+        int loaded = 0;
+        int skipped = 0;
+        try (JarFile classes = new JarFile(jar)) {
+            Enumeration<JarEntry> entries = classes.entries();
+            while (entries.hasMoreElements()) {
+                String name = entries.nextElement().getName();
+                // Tests are not part of a launch
+                if (!name.endsWith(".class") || name.startsWith("Test/") || name.endsWith("module-info.class")) {
+                    continue;
+                }
+                try {
+                    Class.forName(name.substring(0, name.length() - 6).replace('/', '.'), false, loader);
+                    loaded++;
+                } catch (ClassNotFoundException | LinkageError e) {
+                    // Refers to an optional library that is not on the class path
+                    skipped++;
+                }
+            }
+        }
+        System.out.println("Loaded " + loaded + " application classes for the archive"
+                + (skipped > 0 ? " (" + skipped + " skipped)" : ""));
+    }
+}
@@ -0,0 +1,112 @@
+package util;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Startup phase timings.
+ * Milestones are measured from the moment the JVM was launched, so they include class loading
+ * and JIT warm-up the application cannot see from main; each is kept the first time it is
+ * reached. Phases time one piece of startup work and are recorded on every occurrence as the
+ * motorph_startup_phase_seconds timer, labelled by phase.
+ */
+public final class StartupTimings {
+    private static final Logger LOGGER = Logger.getLogger(StartupTimings.class.getName());
+
+    private static final long LAUNCH_MILLIS = launchMillis();
+    private static final Map<String, Long> MILESTONES = Collections.synchronizedMap(new LinkedHashMap<>());
+    private static final Map<String, Long> PHASES = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private StartupTimings() {
+    }
+
+    /**
+     * Phase being timed; use with try-with-resources. The resource is never referenced in
+     * the body, so the enclosing method carries @SuppressWarnings("try").
+     */
+    public static final class Phase implements AutoCloseable {
+        private final String name;
+        private final long startNanos;
+
+        private Phase(String name) {
+            this.name = name;
+            this.startNanos = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            long nanos = System.nanoTime() - startNanos;
+            Metrics.timer("motorph_startup_phase_seconds", "Duration of one startup phase", "phase", name)
+                .recordNanos(nanos);
+            PHASES.put(name, nanos / 1_000_000);
+            LOGGER.fine("⏱️ " + name + " took " + nanos / 1_000_000 + " ms");
+        }
+    }
+
+    public static Phase begin(String phase) {
+        return new Phase(phase);
+    }
+
+    /**
+     * Records the milestone the first time it is reached
+     * @return milliseconds since launch at the first time the milestone was reached
+     */
+    public static long mark(String milestone) {
+        long elapsed = sinceLaunchMillis();
+        Long first = MILESTONES.putIfAbsent(milestone, elapsed);
+        if (first != null) {
+            return first;
+        }
+        LOGGER.info("⏱️ " + milestone + " at " + elapsed + " ms after launch");
+        return elapsed;
+    }
+
+    public static long sinceLaunchMillis() {
+        return Math.max(0, System.currentTimeMillis() - LAUNCH_MILLIS);
+    }
+
+    /**
+     * @return milestones in the order reached, in milliseconds since launch
+     */
+    public static Map<String, Long> getMilestones() {
+        synchronized (MILESTONES) {
+            return new LinkedHashMap<>(MILESTONES);
+        }
+    }
+
+    /**
+     * @return the last duration of each phase in milliseconds
+     */
+    public static Map<String, Long> getPhases() {
+        synchronized (PHASES) {
+            return new LinkedHashMap<>(PHASES);
+        }
+    }
+
+    /**
+     * One line for the log: milestones since launch, then phase durations
+     */
+    public static String summary() {
+        StringBuilder summary = new StringBuilder("Startup:");
+        getMilestones().forEach((name, millis) -> summary.append(' ').append(name).append(' ').append(millis).append(" ms,"));
+        Map<String, Long> phases = getPhases();
+        if (!phases.isEmpty()) {
+            summary.append(" phases");
+            phases.forEach((name, millis) -> summary.append(' ').append(name).append(' ').append(millis).append(" ms,"));
+        }
+        summary.setLength(summary.length() - (summary.charAt(summary.length() - 1) == ',' ? 1 : 0));
+        return summary.toString();
+    }
+
+    private static long launchMillis() {
+        try {
+            return ManagementFactory.getRuntimeMXBean().getStartTime();
+        } catch (RuntimeException | LinkageError e) {
+            // java.management left out of a trimmed runtime; time from first use instead
+            return System.currentTimeMillis();
+        }
+    }
+}
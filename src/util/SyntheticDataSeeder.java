@@ -0,0 +1,584 @@
+package util;
+
+import model.LeaveRequest;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+/**
+ * Synthetic workload for performance runs: employees across the mapped positions with their
+ * salary bands and allowances, and for each of them months of attendance with late arrivals,
+ * undertime, overtime bursts and leave. Rows go to a Sink, either batched inserts on a
+ * connection or one CSV file per table for bulk loading.
+ * The same seed always produces the same rows. Every employee draws from its own generator
+ * derived from the seed and its position in the run, so adding employees does not change the
+ * rows of the others.
+ */
+public final class SyntheticDataSeeder {
+    private static final Logger LOGGER = Logger.getLogger(SyntheticDataSeeder.class.getName());
+
+    /**
+     * Tables written, in foreign key order
+     */
+    public enum Table {
+        EMPLOYEES("employees", "employee_id", "last_name", "first_name", "birthday", "status", "position",
+                "immediate_supervisor", "basic_salary", "rice_subsidy", "phone_allowance", "clothing_allowance",
+                "gross_semi_monthly_rate", "hourly_rate"),
+        CREDENTIALS("credentials", "employee_id", "password_hash"),
+        EMPLOYEE_ALLOWANCES("employee_allowances", "employee_id", "allowance_type", "amount", "is_taxable",
+                "effective_date", "is_active"),
+        ATTENDANCE("attendance", "employee_id", "date", "log_in", "log_out"),
+        OVERTIME("overtime", "employee_id", "date", "hours", "reason", "approved"),
+        OVERTIME_MONTHLY_TOTAL("overtime_monthly_total", "employee_id", "period_month", "approved_hours", "approved_count"),
+        LEAVE_REQUEST("leave_request", "employee_id", "leave_type", "start_date", "end_date", "status"),
+        LEAVE_BALANCE("leave_balance", "employee_id", "leave_type", "year", "entitled", "accrued", "used",
+                "accrued_through_month");
+
+        private final String tableName;
+        private final String[] columns;
+
+        Table(String tableName, String... columns) {
+            this.tableName = tableName;
+            this.columns = columns;
+        }
+
+        public String getTableName() { return tableName; }
+        public String[] getColumns() { return columns.clone(); }
+
+        String insertSql() {
+            return "INSERT INTO " + tableName + " (" + String.join(", ", columns) + ") VALUES ("
+                    + String.join(", ", Collections.nCopies(columns.length, "?")) + ")";
+        }
+    }
+
+    /**
+     * Receives generated rows; values are in the table's column order
+     */
+    public interface Sink {
+        void row(Table table, Object... values) throws IOException, SQLException;
+    }
+
+    /**
+     * Salary band of one position. Weights give the usual pyramid: few executives, many rank and file.
+     */
+    private static final class Band {
+        final String position;
+        final String supervisor;
+        final int minSalary;
+        final int maxSalary;
+        final int weight;
+        final double phone;
+        final double clothing;
+
+        Band(String position, String supervisor, int minSalary, int maxSalary, int weight, double phone, double clothing) {
+            this.position = position;
+            this.supervisor = supervisor;
+            this.minSalary = minSalary;
+            this.maxSalary = maxSalary;
+            this.weight = weight;
+            this.phone = phone;
+            this.clothing = clothing;
+        }
+    }
+
+    // Mirrors the sample data; positions must stay known to PositionRoleMapper
+    private static final Band[] BANDS = {
+        new Band("Chief Operating Officer", "Garcia, Manuel III", 60000, 75000, 1, 2000, 1000),
+        new Band("IT Operations and Systems", "Lim, Antonio", 48000, 56000, 3, 1000, 1000),
+        new Band("HR Manager", "Lim, Antonio", 50000, 56000, 1, 1000, 1000),
+        new Band("HR Team Leader", "Villanueva, Andrea Mae", 40000, 45000, 3, 800, 800),
+        new Band("HR Rank and File", "San Jose, Brad", 22000, 26000, 10, 500, 500),
+        new Band("Accounting Head", "Aquino, Bianca Sofia", 50000, 56000, 1, 1000, 1000),
+        new Band("Payroll Manager", "Alvaro, Roderick", 48000, 54000, 1, 1000, 1000),
+        new Band("Payroll Team Leader", "Salcedo, Anthony", 36000, 41000, 3, 800, 800),
+        new Band("Payroll Rank and File", "Salcedo, Anthony", 22500, 26000, 10, 500, 500),
+        new Band("Account Manager", "Lim, Antonio", 50000, 56000, 2, 1000, 1000),
+        new Band("Account Team Leader", "Romualdez, Fredrick", 40000, 45000, 8, 800, 800),
+        new Band("Account Rank and File", "Mata, Christian", 22500, 26000, 40, 500, 500),
+        new Band("Sales & Marketing", "Reyes, Isabella", 40000, 54000, 6, 1000, 1000),
+        new Band("Supply Chain and Logistics", "Reyes, Isabella", 40000, 54000, 6, 1000, 1000),
+        new Band("Customer Service and Relations", "Reyes, Isabella", 30000, 54000, 5, 1000, 1000)
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Santos", "Reyes", "Cruz", "Bautista", "Ocampo", "Garcia", "Mendoza", "Torres", "Tomas", "Andrada",
+        "Villanueva", "Ramos", "Aquino", "Castillo", "Flores", "Navarro", "Dela Cruz", "Salazar", "Rivera", "Gonzales"
+    };
+    private static final String[] FIRST_NAMES = {
+        "Jose", "Maria", "Juan", "Ana", "Mark", "Grace", "Paolo", "Liza", "Ramon", "Joy",
+        "Miguel", "Camille", "Carlo", "Patricia", "Rafael", "Bea", "Enzo", "Kristine", "Luis", "Nicole"
+    };
+
+    private static final double RICE_SUBSIDY = 1500.0;
+    private static final double TRANSPORTATION = 1200.0;
+    private static final LocalTime SHIFT_START = LocalTime.of(8, 0);
+    private static final LocalTime SHIFT_END = LocalTime.of(17, 0);
+    private static final String[] LEAVE_TYPES = {
+        LeaveRequest.ANNUAL_LEAVE, LeaveRequest.SICK_LEAVE, LeaveRequest.EMERGENCY_LEAVE
+    };
+
+    private static final int BATCH_SIZE = 500;
+    // Keeps seeding fast; AuthenticationService rehashes at the default cost on the first login
+    private static final int PASSWORD_HASH_ITERATIONS = 1_000;
+
+    private final long seed;
+    private final int annualLeaveDays;
+    private final int sickLeaveDays;
+    private final int emergencyLeaveDays;
+
+    public SyntheticDataSeeder(long seed) {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        this.seed = seed;
+        this.annualLeaveDays = config.getMaxLeaveDaysPerYear();
+        this.sickLeaveDays = config.getSickLeaveDaysPerYear();
+        this.emergencyLeaveDays = config.getEmergencyLeaveDaysPerYear();
+    }
+
+    /**
+     * Generates the workload into a sink
+     * @param firstId Employee ID of the first generated employee
+     * @param employees Employees to generate
+     * @param from First month of attendance
+     * @param through Last month of attendance
+     * @return Rows written per table
+     */
+    public Map<Table, Integer> generate(int firstId, int employees, YearMonth from, YearMonth through, Sink sink)
+            throws IOException, SQLException {
+        Map<Table, Integer> counts = new EnumMap<>(Table.class);
+        Sink counting = (table, values) -> {
+            sink.row(table, values);
+            counts.merge(table, 1, Integer::sum);
+        };
+
+        for (int i = 0; i < employees; i++) {
+            generateEmployee(firstId + i, new Random(seed * 1_000_003L + i), from, through, counting);
+        }
+        return counts;
+    }
+
+    private void generateEmployee(int employeeId, Random random, YearMonth from, YearMonth through, Sink sink)
+            throws IOException, SQLException {
+        Band band = pickBand(random);
+        double basicSalary = band.minSalary + random.nextInt((band.maxSalary - band.minSalary) / 250 + 1) * 250;
+        double hourlyRate = Math.round(basicSalary / 168.0 * 100.0) / 100.0;
+
+        sink.row(Table.EMPLOYEES, employeeId,
+                LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                LocalDate.of(1965 + random.nextInt(40), 1 + random.nextInt(12), 1 + random.nextInt(28)),
+                random.nextInt(4) == 0 ? "Probationary" : "Regular",
+                band.position, band.supervisor, basicSalary, RICE_SUBSIDY, band.phone, band.clothing,
+                basicSalary / 2, hourlyRate);
+        sink.row(Table.CREDENTIALS, employeeId, passwordHash(employeeId));
+
+        LocalDate hired = from.atDay(1);
+        sink.row(Table.EMPLOYEE_ALLOWANCES, employeeId, "Rice Subsidy", RICE_SUBSIDY, false, hired, true);
+        sink.row(Table.EMPLOYEE_ALLOWANCES, employeeId, "Phone Allowance", band.phone, true, hired, true);
+        sink.row(Table.EMPLOYEE_ALLOWANCES, employeeId, "Clothing Allowance", band.clothing, false, hired, true);
+        if (random.nextInt(5) == 0) {
+            sink.row(Table.EMPLOYEE_ALLOWANCES, employeeId, "Transportation", TRANSPORTATION, true, hired, true);
+        }
+
+        // Used days per leave type and year, for the balances written at the end
+        Map<Integer, double[]> usedByYear = new TreeMap<>();
+        for (YearMonth month = from; !month.isAfter(through); month = month.plusMonths(1)) {
+            Set<LocalDate> onLeave = generateLeave(employeeId, random, month, usedByYear, sink);
+            generateMonth(employeeId, random, month, onLeave, sink);
+        }
+
+        for (Map.Entry<Integer, double[]> year : usedByYear.entrySet()) {
+            int accruedThrough = year.getKey() == through.getYear() ? through.getMonthValue() : 12;
+            int[] entitled = {annualLeaveDays, sickLeaveDays, emergencyLeaveDays};
+            for (int type = 0; type < LEAVE_TYPES.length; type++) {
+                double accrued = Math.round(entitled[type] * accruedThrough / 12.0 * 100.0) / 100.0;
+                sink.row(Table.LEAVE_BALANCE, employeeId, LEAVE_TYPES[type], year.getKey(), (double) entitled[type],
+                        accrued, year.getValue()[type], accruedThrough);
+            }
+        }
+    }
+
+    /**
+     * Hash of the password "password" + employee ID, salted from the seed so runs repeat
+     */
+    private String passwordHash(int employeeId) {
+        byte[] salt = new byte[PasswordHasher.SALT_BYTES];
+        new Random(~seed * 1_000_003L + employeeId).nextBytes(salt);
+        return PasswordHasher.hash("password" + employeeId, salt, PASSWORD_HASH_ITERATIONS);
+    }
+
+    private static Band pickBand(Random random) {
+        int totalWeight = 0;
+        for (Band band : BANDS) {
+            totalWeight += band.weight;
+        }
+        int pick = random.nextInt(totalWeight);
+        for (Band band : BANDS) {
+            pick -= band.weight;
+            if (pick < 0) {
+                return band;
+            }
+        }
+        return BANDS[BANDS.length - 1];
+    }
+
+    /**
+     * Zero or one leave request in the month; approved days are returned so no attendance is written for them
+     */
+    private Set<LocalDate> generateLeave(int employeeId, Random random, YearMonth month,
+                                         Map<Integer, double[]> usedByYear, Sink sink) throws IOException, SQLException {
+        double[] used = usedByYear.computeIfAbsent(month.getYear(), year -> new double[LEAVE_TYPES.length]);
+        if (random.nextInt(4) != 0) {
+            return Collections.emptySet();
+        }
+
+        int roll = random.nextInt(10);
+        int type = roll < 6 ? 0 : roll < 9 ? 1 : 2;
+        LocalDate start = month.atDay(1 + random.nextInt(month.lengthOfMonth()));
+        while (isWeekend(start)) {
+            start = start.plusDays(1);
+        }
+        if (!YearMonth.from(start).equals(month)) {
+            return Collections.emptySet();
+        }
+
+        List<LocalDate> days = new ArrayList<>();
+        int length = 1 + random.nextInt(type == 0 ? 3 : 2);
+        for (LocalDate day = start; days.size() < length && YearMonth.from(day).equals(month); day = day.plusDays(1)) {
+            if (!isWeekend(day)) {
+                days.add(day);
+            }
+        }
+
+        int statusRoll = random.nextInt(20);
+        String status = statusRoll < 17 ? "Approved" : statusRoll < 19 ? "Rejected" : "Pending";
+        sink.row(Table.LEAVE_REQUEST, employeeId, LEAVE_TYPES[type], start, days.get(days.size() - 1), status);
+
+        if (!"Approved".equals(status)) {
+            return Collections.emptySet();
+        }
+        used[type] += days.size();
+        return new HashSet<>(days);
+    }
+
+    /**
+     * Weekday attendance with late and undertime spreads, and at most one overtime burst per month
+     */
+    private void generateMonth(int employeeId, Random random, YearMonth month, Set<LocalDate> onLeave, Sink sink)
+            throws IOException, SQLException {
+        // Bursts are a run of consecutive workdays staying past the shift, e.g. closing week
+        int burstStart = random.nextInt(10) < 3 ? 1 + random.nextInt(month.lengthOfMonth()) : -1;
+        int burstLength = 3 + random.nextInt(6);
+        double approvedHours = 0;
+        int approvedCount = 0;
+
+        for (LocalDate date = month.atDay(1); !date.isAfter(month.atEndOfMonth()); date = date.plusDays(1)) {
+            if (isWeekend(date) || onLeave.contains(date)) {
+                continue;
+            }
+            // Occasional absence without filed leave
+            if (random.nextInt(100) == 0) {
+                continue;
+            }
+
+            int lateRoll = random.nextInt(100);
+            LocalTime logIn = lateRoll < 70 ? SHIFT_START.minusMinutes(30).plusMinutes(random.nextInt(40))
+                    : lateRoll < 90 ? SHIFT_START.plusMinutes(10 + random.nextInt(30))
+                    : SHIFT_START.plusMinutes(40 + random.nextInt(80));
+
+            boolean inBurst = burstStart > 0 && date.getDayOfMonth() >= burstStart && burstLength > 0;
+            LocalTime logOut;
+            if (inBurst) {
+                burstLength--;
+                int overtimeMinutes = 60 + random.nextInt(8) * 15;
+                logOut = SHIFT_END.plusMinutes(overtimeMinutes);
+                boolean approved = random.nextInt(10) < 8;
+                double hours = overtimeMinutes / 60.0;
+                sink.row(Table.OVERTIME, employeeId, date, hours, "Month-end workload", approved);
+                if (approved) {
+                    approvedHours += hours;
+                    approvedCount++;
+                }
+            } else if (random.nextInt(100) < 8) {
+                logOut = SHIFT_END.minusMinutes(30 + random.nextInt(90));
+            } else {
+                logOut = SHIFT_END.plusMinutes(random.nextInt(30));
+            }
+
+            sink.row(Table.ATTENDANCE, employeeId, date, logIn, logOut);
+        }
+
+        if (approvedCount > 0) {
+            sink.row(Table.OVERTIME_MONTHLY_TOTAL, employeeId, month.atDay(1), approvedHours, approvedCount);
+        }
+    }
+
+    private static boolean isWeekend(LocalDate date) {
+        return date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY;
+    }
+
+    /**
+     * Adds employees with their workload for the months up to a given one, in one transaction.
+     * Tables the database does not have are skipped.
+     * @param employees Employees to add
+     * @param months Months of attendance per employee
+     * @param through Last month of attendance
+     * @return First employee ID added
+     */
+    public int seed(Connection conn, int employees, int months, YearMonth through) throws SQLException {
+        return seed(conn, employees, firstMonth(months, through), through);
+    }
+
+    /**
+     * Adds employees with their workload for the given months, in one transaction
+     * @return First employee ID added
+     */
+    public int seed(Connection conn, int employees, YearMonth from, YearMonth through) throws SQLException {
+        int firstId = nextEmployeeId(conn);
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (JdbcSink sink = new JdbcSink(conn, availableTables(conn))) {
+            Map<Table, Integer> counts = generate(firstId, employees, from, through, sink);
+            sink.flush();
+            conn.commit();
+            LOGGER.info(String.format("🌱 Seeded %,d employees from %s to %s: %s", employees, from, through, counts));
+            return firstId;
+
+        } catch (SQLException | IOException | RuntimeException ex) {
+            conn.rollback();
+            if (ex instanceof SQLException) {
+                throw (SQLException) ex;
+            }
+            throw new SQLException("Failed to seed synthetic data", ex);
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Writes the workload as one CSV file per table, with a header row, for LOAD DATA or other bulk loaders
+     * @return Rows written per table
+     */
+    public Map<Table, Integer> writeCsv(Path directory, int firstId, int employees, YearMonth from, YearMonth through)
+            throws IOException, SQLException {
+        Files.createDirectories(directory);
+        try (CsvSink sink = new CsvSink(directory)) {
+            Map<Table, Integer> counts = generate(firstId, employees, from, through, sink);
+            LOGGER.info(String.format("🌱 Wrote %,d employees from %s to %s to %s: %s", employees, from, through, directory, counts));
+            return counts;
+        }
+    }
+
+    private static YearMonth firstMonth(int months, YearMonth through) {
+        return through.minusMonths(Math.max(1, months) - 1L);
+    }
+
+    private static int nextEmployeeId(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(employee_id), 10000) FROM employees")) {
+            rs.next();
+            return rs.getInt(1) + 1;
+        }
+    }
+
+    private static Set<Table> availableTables(Connection conn) throws SQLException {
+        Set<Table> available = EnumSet.noneOf(Table.class);
+        DatabaseMetaData metaData = conn.getMetaData();
+        for (Table table : Table.values()) {
+            for (String name : new String[] {table.getTableName(), table.getTableName().toUpperCase()}) {
+                try (ResultSet rs = metaData.getTables(conn.getCatalog(), null, name, new String[] {"TABLE"})) {
+                    if (rs.next()) {
+                        available.add(table);
+                        break;
+                    }
+                }
+            }
+        }
+        return available;
+    }
+
+    /**
+     * Batched inserts. A full batch flushes every table in foreign key order, so child rows
+     * never reach the database before their employee.
+     */
+    private static final class JdbcSink implements Sink, Closeable {
+        private final Connection conn;
+        private final Set<Table> tables;
+        private final Map<Table, PreparedStatement> statements = new EnumMap<>(Table.class);
+        private final Map<Table, Integer> pending = new EnumMap<>(Table.class);
+
+        JdbcSink(Connection conn, Set<Table> tables) {
+            this.conn = conn;
+            this.tables = tables;
+        }
+
+        @Override
+        public void row(Table table, Object... values) throws SQLException {
+            if (!tables.contains(table)) {
+                return;
+            }
+            PreparedStatement stmt = statements.get(table);
+            if (stmt == null) {
+                // Where triggers already keep the totals, the generated ones overwrite them
+                String sql = table == Table.OVERTIME_MONTHLY_TOTAL
+                        ? table.insertSql() + " ON DUPLICATE KEY UPDATE approved_hours = VALUES(approved_hours), approved_count = VALUES(approved_count)"
+                        : table.insertSql();
+                stmt = conn.prepareStatement(sql);
+                statements.put(table, stmt);
+            }
+            for (int i = 0; i < values.length; i++) {
+                stmt.setObject(i + 1, toJdbc(values[i]));
+            }
+            stmt.addBatch();
+            if (pending.merge(table, 1, Integer::sum) >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() throws SQLException {
+            for (Table table : Table.values()) {
+                if (pending.getOrDefault(table, 0) > 0) {
+                    statements.get(table).executeBatch();
+                    pending.put(table, 0);
+                }
+            }
+        }
+
+        private static Object toJdbc(Object value) {
+            if (value instanceof LocalDate) {
+                return java.sql.Date.valueOf((LocalDate) value);
+            }
+            if (value instanceof LocalTime) {
+                return Time.valueOf((LocalTime) value);
+            }
+            return value;
+        }
+
+        @Override
+        public void close() {
+            for (PreparedStatement stmt : statements.values()) {
+                try {
+                    stmt.close();
+                } catch (SQLException e) {
+                    LOGGER.fine("Could not close seeder statement: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * One UTF-8 file per table named after it. Booleans are written as 1/0 and nulls as \N,
+     * the way LOAD DATA INFILE reads them.
+     */
+    private static final class CsvSink implements Sink, Closeable {
+        private final Path directory;
+        private final Map<Table, BufferedWriter> writers = new EnumMap<>(Table.class);
+
+        CsvSink(Path directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        public void row(Table table, Object... values) throws IOException {
+            BufferedWriter writer = writers.get(table);
+            if (writer == null) {
+                writer = Files.newBufferedWriter(directory.resolve(table.getTableName() + ".csv"), StandardCharsets.UTF_8);
+                writer.write(String.join(",", table.columns));
+                writer.newLine();
+                writers.put(table, writer);
+            }
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(format(values[i]));
+            }
+            writer.newLine();
+        }
+
+        private static String format(Object value) {
+            if (value == null) {
+                return "\\N";
+            }
+            if (value instanceof Boolean) {
+                return (Boolean) value ? "1" : "0";
+            }
+            if (value instanceof LocalTime) {
+                return String.format("%tT", value);
+            }
+            String text = value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0) {
+                return '"' + text.replace("\"", "\"\"") + '"';
+            }
+            return text;
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOException failure = null;
+            for (BufferedWriter writer : writers.values()) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Command line entry point:
+     * {@code SyntheticDataSeeder <employees> <months> [seed] [csv directory]}.
+     * Without a directory the rows are inserted through DBConnection, so -Ddb.profile applies.
+     * The last month is db.embedded.seed.through.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: SyntheticDataSeeder <employees> <months> [seed] [csv directory]");
+            System.exit(2);
+        }
+        int employees = Integer.parseInt(args[0]);
+        int months = Integer.parseInt(args[1]);
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+        SyntheticDataSeeder seeder = new SyntheticDataSeeder(seed);
+
+        YearMonth through = ConfigurationManager.getInstance().getEmbeddedSeedThrough();
+        YearMonth from = firstMonth(months, through);
+        if (args.length > 3) {
+            seeder.writeCsv(Paths.get(args[3]), 20001, employees, from, through);
+        } else {
+            try (Connection conn = DBConnection.getConnection()) {
+                seeder.seed(conn, employees, from, through);
+            }
+        }
+    }
+}
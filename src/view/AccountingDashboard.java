@@ -2,7 +2,7 @@ package view;
 
 import model.Employee;
 import model.UserRole;
-import util.PositionRoleMapper;
+import service.AuthenticationService;
 
 import javax.swing.*;
 import java.awt.*;
@@ -29,7 +29,7 @@ public class AccountingDashboard extends JFrame {
     
     public AccountingDashboard(Employee user) {
         this.currentUser = user;
-        this.userRole = PositionRoleMapper.getUserRole(user.getPosition());
+        this.userRole = AuthenticationService.getInstance().resolveRole(user);
         
         initializeAccountingInterface();
         startClock();
@@ -3,6 +3,8 @@ package view;
 import model.Employee;
 import model.UserRole;
 import util.PositionRoleMapper;
+import service.AuthenticationService;
+import util.StartupTimings;
 import javax.swing.JFrame;
 import java.util.logging.Logger;
 
@@ -18,13 +20,14 @@ public class DashboardFactory {
      * @param employee Employee object with position information
      * @return JFrame dashboard appropriate for the employee's role
      */
+    @SuppressWarnings("try")
     public static JFrame createDashboard(Employee employee) {
         if (employee == null) {
             LOGGER.severe("❌ Cannot create dashboard: Employee is null");
             throw new IllegalArgumentException("Employee cannot be null");
         }
         
-        UserRole role = PositionRoleMapper.getUserRole(employee.getPosition());
+        UserRole role = AuthenticationService.getInstance().resolveRole(employee);
         
         LOGGER.info(String.format("🏭 Creating dashboard for: %s | Position: %s | Role: %s | Access Level: %d", 
                 employee.getFullName(), 
@@ -32,7 +35,7 @@ public class DashboardFactory {
                 role.getDisplayName(), 
                 role.getAccessLevel()));
         
-        try {
+        try (StartupTimings.Phase phase = StartupTimings.begin("dashboard build")) {
             JFrame dashboard = createDashboardByRole(employee, role);
             
             if (dashboard == null) {
@@ -106,7 +109,7 @@ public class DashboardFactory {
     public static String getDashboardName(Employee employee) {
         if (employee == null) return "Unknown Dashboard";
         
-        UserRole role = PositionRoleMapper.getUserRole(employee.getPosition());
+        UserRole role = AuthenticationService.getInstance().resolveRole(employee);
         String dashboardType = PositionRoleMapper.getDashboardType(employee.getPosition());
         
         return String.format("%s - %s", dashboardType, role.getDisplayName());
@@ -118,7 +121,7 @@ public class DashboardFactory {
     public static boolean canAccessFeature(Employee employee, String feature) {
         if (employee == null) return false;
         
-        UserRole role = PositionRoleMapper.getUserRole(employee.getPosition());
+        UserRole role = AuthenticationService.getInstance().resolveRole(employee);
         
         switch (feature.toLowerCase()) {
             case "payroll_processing":
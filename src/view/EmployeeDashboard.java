@@ -1,11 +1,15 @@
 package view;
 
+import dao.LeaveBalanceDAO;
 import model.Employee;
+import model.LeaveBalance;
+import ui.LazyTabbedPane;
 import util.PositionRoleMapper;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -39,13 +43,6 @@ public class EmployeeDashboard extends JFrame {
         setLocationRelativeTo(null);
         setMinimumSize(new Dimension(1000, 600));
         
-        // Set professional look and feel
-        try {
-            UIManager.setLookAndFeel(UIManager.getSystemLookAndFeel());
-        } catch (Exception e) {
-            // Use default if system L&F fails
-        }
-        
         // Create menu bar
         createMenuBar();
         
@@ -192,23 +189,23 @@ public class EmployeeDashboard extends JFrame {
     }
     
     private JTabbedPane createContentTabs() {
-        JTabbedPane tabbedPane = new JTabbedPane();
+        LazyTabbedPane tabbedPane = new LazyTabbedPane();
         tabbedPane.setFont(new Font("Segoe UI", Font.PLAIN, 14));
         
         // Dashboard Tab
-        tabbedPane.addTab("🏠 Dashboard", createDashboardTab());
+        tabbedPane.addLazyTab("🏠 Dashboard", this::createDashboardTab);
         
         // My Information Tab  
-        tabbedPane.addTab("👤 My Information", createMyInfoTab());
+        tabbedPane.addLazyTab("👤 My Information", this::createMyInfoTab);
         
         // Attendance Tab
-        tabbedPane.addTab("🕐 Attendance", createAttendanceTab());
+        tabbedPane.addLazyTab("🕐 Attendance", this::createAttendanceTab);
         
         // Payroll Tab
-        tabbedPane.addTab("💰 Payroll", createPayrollTab());
+        tabbedPane.addLazyTab("💰 Payroll", this::createPayrollTab);
         
         // Leave Tab
-        tabbedPane.addTab("📅 Leave", createLeaveTab());
+        tabbedPane.addLazyTab("📅 Leave", this::createLeaveTab);
         
         return tabbedPane;
     }
@@ -715,7 +712,18 @@ public class EmployeeDashboard extends JFrame {
     }
     
     private void viewLeaveBalance() {
-        showMessage("Leave Balance", "Displaying your leave credits...");
+        int year = LocalDate.now().getYear();
+        try {
+            StringBuilder message = new StringBuilder("Leave credits for " + year + ":\n\n");
+            for (LeaveBalance balance : new LeaveBalanceDAO().getBalances(currentEmployee.getEmployeeId(), year)) {
+                message.append(String.format("%s: %.2f available (%.2f accrued of %.2f, %.2f used)%n",
+                        balance.getLeaveType(), balance.getAvailable(), balance.getAccrued(),
+                        balance.getEntitled(), balance.getUsed()));
+            }
+            showMessage("Leave Balance", message.toString());
+        } catch (RuntimeException e) {
+            showMessage("Leave Balance", "Unable to load your leave credits: " + e.getMessage());
+        }
     }
     
     private void viewLeaveHistory() {
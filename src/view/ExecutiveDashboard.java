@@ -1,14 +1,21 @@
 package view;
 
+import model.CostAllocation;
 import model.Employee;
 import model.UserRole;
-import util.PositionRoleMapper;
+import model.WorkforceMetrics;
 import dao.EmployeeDAO;
 import dao.PayrollDAO;
 import dao.AttendanceDAO;
 import service.PayrollCalculator;
+import service.AuthenticationService;
+import service.CostAllocationService;
+import ui.CostAllocationDialog;
+import ui.LazyTabbedPane;
+import util.DashboardMetrics;
 
 import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
@@ -26,11 +33,22 @@ public class ExecutiveDashboard extends JFrame {
     private JLabel timeLabel;
     private Timer clockTimer;
     
+    // Live metric cards, pushed by DashboardMetrics
+    private final JLabel headcountValue = new JLabel("–", SwingConstants.CENTER);
+    private final JLabel newHiresValue = new JLabel("–", SwingConstants.CENTER);
+    private final JLabel attendanceValue = new JLabel("–", SwingConstants.CENTER);
+    private final JLabel lateValue = new JLabel("–", SwingConstants.CENTER);
+    private final JLabel pendingLeavesValue = new JLabel("–", SwingConstants.CENTER);
+    private final JLabel payrollValue = new JLabel("–", SwingConstants.CENTER);
+    private final DashboardMetrics.Listener metricsListener =
+        metrics -> SwingUtilities.invokeLater(() -> showMetrics(metrics));
+    
     // Services
     private EmployeeDAO employeeDAO;
     private PayrollDAO payrollDAO;
     private AttendanceDAO attendanceDAO;
     private PayrollCalculator payrollCalculator;
+    private CostAllocationService costAllocationService;
     
     // Color scheme for executive interface
     private static final Color EXECUTIVE_PRIMARY = new Color(44, 62, 80);
@@ -42,16 +60,18 @@ public class ExecutiveDashboard extends JFrame {
     
     public ExecutiveDashboard(Employee executive) {
         this.currentExecutive = executive;
-        this.userRole = PositionRoleMapper.getUserRole(executive.getPosition());
+        this.userRole = AuthenticationService.getInstance().resolveRole(executive);
         
         // Initialize services
         this.employeeDAO = new EmployeeDAO();
         this.payrollDAO = new PayrollDAO();
         this.attendanceDAO = new AttendanceDAO();
         this.payrollCalculator = new PayrollCalculator();
+        this.costAllocationService = new CostAllocationService();
         
         initializeExecutiveInterface();
         startClock();
+        DashboardMetrics.getInstance().addListener(metricsListener);
     }
     
     private void initializeExecutiveInterface() {
@@ -200,14 +220,14 @@ public class ExecutiveDashboard extends JFrame {
     }
     
     private JTabbedPane createExecutiveContentTabs() {
-        JTabbedPane tabbedPane = new JTabbedPane();
+        LazyTabbedPane tabbedPane = new LazyTabbedPane();
         tabbedPane.setFont(new Font("Segoe UI", Font.BOLD, 14));
         
-        tabbedPane.addTab("📊 Company Overview", createCompanyOverviewTab());
-        tabbedPane.addTab("💰 Financial Dashboard", createFinancialTab());
-        tabbedPane.addTab("👥 Workforce Analytics", createWorkforceTab());
-        tabbedPane.addTab("📈 Performance Metrics", createPerformanceTab());
-        tabbedPane.addTab("⚙️ Executive Controls", createControlsTab());
+        tabbedPane.addLazyTab("📊 Company Overview", this::createCompanyOverviewTab);
+        tabbedPane.addLazyTab("💰 Financial Dashboard", this::createFinancialTab);
+        tabbedPane.addLazyTab("👥 Workforce Analytics", this::createWorkforceTab);
+        tabbedPane.addLazyTab("📈 Performance Metrics", this::createPerformanceTab);
+        tabbedPane.addLazyTab("⚙️ Executive Controls", this::createControlsTab);
         
         return tabbedPane;
     }
@@ -221,29 +241,19 @@ public class ExecutiveDashboard extends JFrame {
         JPanel metricsPanel = new JPanel(new GridLayout(2, 4, 15, 15));
         metricsPanel.setOpaque(false);
         
-        try {
-            List<Employee> allEmployees = employeeDAO.getAllEmployees();
-            int totalEmployees = allEmployees.size();
-            long regularEmployees = allEmployees.stream().filter(e -> "Regular".equals(e.getStatus())).count();
-            double avgSalary = allEmployees.stream().mapToDouble(Employee::getBasicSalary).average().orElse(0.0);
-            
-            metricsPanel.add(createExecutiveMetricCard("👥 Total Employees", String.valueOf(totalEmployees), "Active workforce", EXECUTIVE_SUCCESS));
-            metricsPanel.add(createExecutiveMetricCard("✅ Regular Staff", String.valueOf(regularEmployees), "Permanent employees", EXECUTIVE_PRIMARY));
-            metricsPanel.add(createExecutiveMetricCard("💰 Avg Salary", String.format("₱%,.0f", avgSalary), "Monthly average", EXECUTIVE_WARNING));
-            metricsPanel.add(createExecutiveMetricCard("📈 Growth Rate", "+12%", "YoY employee growth", EXECUTIVE_SUCCESS));
-            
-            metricsPanel.add(createExecutiveMetricCard("🏢 Departments", "6", "Active departments", EXECUTIVE_SECONDARY));
-            metricsPanel.add(createExecutiveMetricCard("📊 Attendance", "96.8%", "Average rate", EXECUTIVE_SUCCESS));
-            metricsPanel.add(createExecutiveMetricCard("💼 Positions", "18", "Different roles", EXECUTIVE_PRIMARY));
-            metricsPanel.add(createExecutiveMetricCard("⭐ Satisfaction", "4.2/5", "Employee rating", EXECUTIVE_WARNING));
-            
-        } catch (Exception e) {
-            // Fallback metrics if database is unavailable
-            metricsPanel.add(createExecutiveMetricCard("👥 Employees", "34", "Total workforce", EXECUTIVE_SUCCESS));
-            metricsPanel.add(createExecutiveMetricCard("💰 Payroll", "₱1.5M", "Monthly total", EXECUTIVE_WARNING));
-            metricsPanel.add(createExecutiveMetricCard("📈 Growth", "+8%", "This quarter", EXECUTIVE_SUCCESS));
-            metricsPanel.add(createExecutiveMetricCard("🎯 Goals", "85%", "Achievement rate", EXECUTIVE_PRIMARY));
-        }
+        metricsPanel.add(createExecutiveMetricCard("👥 Total Employees", headcountValue, "Active workforce", EXECUTIVE_SUCCESS));
+        metricsPanel.add(createExecutiveMetricCard("🆕 New Hires", newHiresValue, "Added recently", EXECUTIVE_PRIMARY));
+        metricsPanel.add(createExecutiveMetricCard("📊 Attendance", attendanceValue, "Present today", EXECUTIVE_SUCCESS));
+        metricsPanel.add(createExecutiveMetricCard("⏰ Late Today", lateValue, "Logged in after 8:00", EXECUTIVE_ACCENT));
+        
+        metricsPanel.add(createExecutiveMetricCard("📝 Pending Leaves", pendingLeavesValue, "Awaiting approval", EXECUTIVE_WARNING));
+        metricsPanel.add(createExecutiveMetricCard("💰 Payroll", payrollValue, "Latest approved gross", EXECUTIVE_WARNING));
+        
+        JLabel regularValue = new JLabel("–", SwingConstants.CENTER);
+        JLabel avgSalaryValue = new JLabel("–", SwingConstants.CENTER);
+        metricsPanel.add(createExecutiveMetricCard("✅ Regular Staff", regularValue, "Permanent employees", EXECUTIVE_PRIMARY));
+        metricsPanel.add(createExecutiveMetricCard("💵 Avg Salary", avgSalaryValue, "Monthly average", EXECUTIVE_SECONDARY));
+        loadWorkforceSummary(regularValue, avgSalaryValue);
         
         // Charts and analytics area
         JPanel chartsPanel = new JPanel(new GridLayout(1, 2, 15, 0));
@@ -270,20 +280,70 @@ public class ExecutiveDashboard extends JFrame {
         titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
         titleLabel.setForeground(EXECUTIVE_PRIMARY);
         
-        JTextArea contentArea = new JTextArea("Financial analytics and budget tracking will be displayed here.\n\n" +
-                "Features:\n" +
-                "• Monthly payroll costs\n" +
-                "• Department budget allocation\n" +
-                "• Cost per employee analysis\n" +
-                "• Financial forecasting\n" +
-                "• ROI metrics");
-        contentArea.setEditable(false);
-        contentArea.setFont(new Font("Segoe UI", Font.PLAIN, 14));
-        contentArea.setBackground(Color.WHITE);
-        contentArea.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+        // Department payroll cost of the latest approved month
+        String[] columns = {"Department", "Headcount", "Gross Pay", "Employer Share", "Total Cost", "Budget", "Variance"};
+        DefaultTableModel costModel = new DefaultTableModel(columns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        JTable costTable = new JTable(costModel);
+        costTable.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        costTable.setRowHeight(25);
         
-        panel.add(titleLabel, BorderLayout.NORTH);
-        panel.add(new JScrollPane(contentArea), BorderLayout.CENTER);
+        JLabel summaryLabel = new JLabel("Loading payroll cost...");
+        summaryLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        summaryLabel.setForeground(EXECUTIVE_SECONDARY);
+        
+        JButton drillDownButton = new JButton("Drill Down");
+        drillDownButton.setBackground(EXECUTIVE_PRIMARY);
+        drillDownButton.setForeground(Color.WHITE);
+        drillDownButton.setFocusPainted(false);
+        drillDownButton.addActionListener(e -> showDepartmentPerformance());
+        
+        JPanel headerPanel = new JPanel(new BorderLayout());
+        headerPanel.setOpaque(false);
+        headerPanel.add(titleLabel, BorderLayout.NORTH);
+        headerPanel.add(summaryLabel, BorderLayout.CENTER);
+        headerPanel.add(drillDownButton, BorderLayout.EAST);
+        
+        panel.add(headerPanel, BorderLayout.NORTH);
+        panel.add(new JScrollPane(costTable), BorderLayout.CENTER);
+        
+        new SwingWorker<CostAllocation, Void>() {
+            @Override
+            protected CostAllocation doInBackground() {
+                return costAllocationService.allocateLatest();
+            }
+            
+            @Override
+            protected void done() {
+                try {
+                    CostAllocation company = get();
+                    if (company == null) {
+                        summaryLabel.setText("No approved pay run yet");
+                        return;
+                    }
+                    for (CostAllocation department : company.getChildren()) {
+                        costModel.addRow(new Object[] {
+                            department.getName(),
+                            String.format("%.2f", department.getHeadcount()),
+                            formatPesos(department.getGrossPay()),
+                            formatPesos(department.getEmployerShare()),
+                            formatPesos(department.getTotalCost()),
+                            formatPesos(department.getBudget()),
+                            formatPesos(department.getBudgetVariance())
+                        });
+                    }
+                    summaryLabel.setText(String.format("%s payroll cost %s against budget %s",
+                        company.getPeriod(), formatPesos(company.getTotalCost()), formatPesos(company.getBudget())));
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    summaryLabel.setText("Payroll cost unavailable: " + cause.getMessage());
+                }
+            }
+        }.execute();
         
         return panel;
     }
@@ -372,7 +432,34 @@ public class ExecutiveDashboard extends JFrame {
     }
     
     // Helper methods
-    private JPanel createExecutiveMetricCard(String title, String value, String subtitle, Color color) {
+    /**
+     * Reads every employee off the event dispatch thread so the overview opens at once;
+     * the two cards show a dash until the figures arrive
+     */
+    private void loadWorkforceSummary(JLabel regularValue, JLabel avgSalaryValue) {
+        new SwingWorker<List<Employee>, Void>() {
+            @Override
+            protected List<Employee> doInBackground() {
+                return employeeDAO.getAllEmployees();
+            }
+            
+            @Override
+            protected void done() {
+                try {
+                    List<Employee> allEmployees = get();
+                    long regularEmployees = allEmployees.stream().filter(e -> "Regular".equals(e.getStatus())).count();
+                    double avgSalary = allEmployees.stream().mapToDouble(Employee::getBasicSalary).average().orElse(0.0);
+                    regularValue.setText(String.valueOf(regularEmployees));
+                    avgSalaryValue.setText(String.format("₱%,.0f", avgSalary));
+                } catch (Exception e) {
+                    regularValue.setToolTipText("Unavailable");
+                    avgSalaryValue.setToolTipText("Unavailable");
+                }
+            }
+        }.execute();
+    }
+    
+    private JPanel createExecutiveMetricCard(String title, JLabel valueLabel, String subtitle, Color color) {
         JPanel card = new JPanel(new BorderLayout());
         card.setBackground(Color.WHITE);
         card.setBorder(BorderFactory.createCompoundBorder(
@@ -384,7 +471,6 @@ public class ExecutiveDashboard extends JFrame {
         titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 14));
         titleLabel.setForeground(color);
         
-        JLabel valueLabel = new JLabel(value, SwingConstants.CENTER);
         valueLabel.setFont(new Font("Segoe UI", Font.BOLD, 28));
         valueLabel.setForeground(color);
         
@@ -524,11 +610,53 @@ public class ExecutiveDashboard extends JFrame {
     }
     
     private void showDepartmentPerformance() {
-        showMessage("Department Performance", "Loading department analytics...");
+        new CostAllocationDialog(this, "Department Payroll Cost", costAllocationService, null).setVisible(true);
     }
     
     private void showBudgetAnalysis() {
-        showMessage("Budget Analysis", "Opening budget variance reports...");
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<CostAllocation, Void>() {
+            @Override
+            protected CostAllocation doInBackground() {
+                return costAllocationService.allocateLatest();
+            }
+            
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    CostAllocation company = get();
+                    if (company == null) {
+                        showMessage("Budget vs Actual", "No pay run has been approved yet.");
+                        return;
+                    }
+                    StringBuilder message = new StringBuilder(String.format("Payroll cost for %s against monthly budget:%n%n",
+                        company.getPeriod()));
+                    for (CostAllocation department : company.getChildren()) {
+                        message.append(String.format("%s%s: %s of %s (%s)%n",
+                            department.getBudgetVariance() < 0 ? "⚠️ " : "",
+                            department.getName(), formatPesos(department.getTotalCost()),
+                            formatPesos(department.getBudget()),
+                            department.getBudget() > 0
+                                ? String.format("%.1f%%", department.getTotalCost() * 100.0 / department.getBudget())
+                                : "no budget"));
+                    }
+                    message.append(String.format("%nCompany: %s of %s, variance %s",
+                        formatPesos(company.getTotalCost()), formatPesos(company.getBudget()),
+                        formatPesos(company.getBudgetVariance())));
+                    if (!company.isClosed()) {
+                        message.append(String.format("%n%d pay runs of the month are not approved yet and are left out.",
+                            company.getOpenRuns()));
+                    }
+                    showMessage("Budget vs Actual", message.toString());
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(ExecutiveDashboard.this,
+                        "Payroll cost could not be allocated: " + cause.getMessage(),
+                        "Budget vs Actual", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
     }
     
     private void showComplianceReports() {
@@ -568,7 +696,7 @@ public class ExecutiveDashboard extends JFrame {
     }
     
     private void showAuditLogs() {
-        showMessage("Audit Logs", "Opening system activity logs...");
+        new ui.AuditTrailDialog(this, "System Audit Logs").setVisible(true);
     }
     
     private void logout() {
@@ -581,6 +709,7 @@ public class ExecutiveDashboard extends JFrame {
             if (clockTimer != null) {
                 clockTimer.stop();
             }
+            DashboardMetrics.getInstance().removeListener(metricsListener);
             dispose();
             // Return to login
             SwingUtilities.invokeLater(() -> {
@@ -593,6 +722,22 @@ public class ExecutiveDashboard extends JFrame {
         }
     }
     
+    private void showMetrics(WorkforceMetrics metrics) {
+        headcountValue.setText(String.valueOf(metrics.getHeadcount()));
+        newHiresValue.setText("+" + metrics.getNewHires());
+        attendanceValue.setText(String.format("%.1f%%", metrics.getAttendanceRate()));
+        lateValue.setText(String.valueOf(metrics.getLateToday()));
+        pendingLeavesValue.setText(String.valueOf(metrics.getPendingLeaves()));
+        payrollValue.setText(metrics.getPayrollPeriodEnd() != null
+            ? String.format("₱%,.0f", metrics.getPayrollGross()) : "–");
+        payrollValue.setToolTipText(metrics.getPayrollPeriodEnd() != null
+            ? String.format("Period ending %s, net ₱%,.2f", metrics.getPayrollPeriodEnd(), metrics.getPayrollNet()) : null);
+    }
+    
+    private static String formatPesos(long centavos) {
+        return String.format("₱%,.2f", centavos / 100.0);
+    }
+    
     private void showMessage(String title, String message) {
         JOptionPane.showMessageDialog(this, message, title, JOptionPane.INFORMATION_MESSAGE);
     }
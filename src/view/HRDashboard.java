@@ -2,7 +2,7 @@ package view;
 
 import model.Employee;
 import model.UserRole;
-import util.PositionRoleMapper;
+import service.AuthenticationService;
 
 import javax.swing.*;
 import java.awt.*;
@@ -21,7 +21,7 @@ public class HRDashboard extends ui.HRDashboard {
     }
     
     private void customizeForHRRole(Employee user) {
-        UserRole role = PositionRoleMapper.getUserRole(user.getPosition());
+        UserRole role = AuthenticationService.getInstance().resolveRole(user);
         
         // Update title to reflect HR role
         setTitle("MotorPH HR Management System - " + user.getFullName() + " (" + role.getDisplayName() + ")");
@@ -2,7 +2,8 @@ package view;
 
 import model.Employee;
 import model.UserRole;
-import util.PositionRoleMapper;
+import service.AuthenticationService;
+import ui.OvertimeApprovalDialog;
 
 import javax.swing.*;
 import java.awt.*;
@@ -29,7 +30,7 @@ public class ManagerDashboard extends JFrame {
     
     public ManagerDashboard(Employee user) {
         this.currentUser = user;
-        this.userRole = PositionRoleMapper.getUserRole(user.getPosition());
+        this.userRole = AuthenticationService.getInstance().resolveRole(user);
         
         initializeManagerInterface();
         startClock();
@@ -150,7 +151,14 @@ public class ManagerDashboard extends JFrame {
     }
     
     private void approveOvertimeRequests() {
-        showMessage("Overtime Requests", "Opening overtime request approvals...");
+        try {
+            OvertimeApprovalDialog dialog = new OvertimeApprovalDialog(this, currentUser);
+            dialog.setVisible(true);
+        } catch (Exception e) {
+            JOptionPane.showMessageDialog(this,
+                    "Unable to open overtime approvals: " + e.getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+        }
     }
     
     private void approveTimeCorrections() {
@@ -1,18 +1,40 @@
 package view;
 
+import model.AttendanceImportResult;
+import model.BenefitPayout;
+import model.ChangeEvent;
+import model.DisbursementFile;
 import model.Employee;
+import model.PayFrequency;
+import model.PayPeriod;
+import model.PayRun;
+import model.RemittanceFile;
 import model.UserRole;
-import util.PositionRoleMapper;
 import dao.EmployeeDAO;
+import dao.PayRunDAO;
 import dao.PayrollDAO;
+import service.AttendanceImportService;
+import service.BenefitPayoutService;
+import service.DisbursementService;
+import service.PayPeriodCalendar;
+import service.PayrollArchiveService;
 import service.PayrollCalculator;
+import service.PayRunService;
+import service.RemittanceService;
+import service.AuthenticationService;
+import ui.KeyedTableModel;
+import ui.LazyTabbedPane;
+import util.ChangeBus;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 /**
  * Payroll Dashboard for payroll administrators
@@ -28,6 +50,12 @@ public class PayrollDashboard extends JFrame {
     private EmployeeDAO employeeDAO;
     private PayrollDAO payrollDAO;
     private PayrollCalculator payrollCalculator;
+    private PayRunService payRunService;
+    
+    // Recent pay runs; each run's row follows its change events
+    private static final int RECENT_RUNS = 12;
+    private KeyedTableModel payRunTableModel;
+    private final ChangeBus.Listener payRunChanges = this::applyPayRunChange;
     
     // Color scheme for payroll interface
     private static final Color PAYROLL_PRIMARY = new Color(230, 126, 34);
@@ -38,15 +66,18 @@ public class PayrollDashboard extends JFrame {
     
     public PayrollDashboard(Employee user) {
         this.currentUser = user;
-        this.userRole = PositionRoleMapper.getUserRole(user.getPosition());
+        this.userRole = AuthenticationService.getInstance().resolveRole(user);
         
         // Initialize services
         this.employeeDAO = new EmployeeDAO();
         this.payrollDAO = new PayrollDAO();
         this.payrollCalculator = new PayrollCalculator();
+        this.payRunService = new PayRunService(new PayRunDAO(), employeeDAO, payrollCalculator);
         
         initializePayrollInterface();
         startClock();
+        loadRecentRuns();
+        ChangeBus.getInstance().subscribe(ChangeEvent.Entity.PAY_RUN, payRunChanges);
     }
     
     private void initializePayrollInterface() {
@@ -67,10 +98,12 @@ public class PayrollDashboard extends JFrame {
         
         // Payroll Processing Menu
         JMenu processingMenu = createStyledMenu("💰 Payroll Processing", "Core payroll operations");
-        processingMenu.add(createStyledMenuItem("Calculate Payroll", "Process monthly payroll", this::calculatePayroll));
+        processingMenu.add(createStyledMenuItem("Calculate Payroll", "Process one pay period", this::calculatePayroll));
+        processingMenu.add(createStyledMenuItem("Calculate All Frequencies", "Process every pay frequency's due period", this::calculateAllFrequencies));
         processingMenu.add(createStyledMenuItem("Generate Payslips", "Create employee payslips", this::generatePayslips));
         processingMenu.add(createStyledMenuItem("Payroll Review", "Review calculated payroll", this::reviewPayroll));
         processingMenu.add(createStyledMenuItem("Payroll Approval", "Approve payroll for payment", this::approvePayroll));
+        processingMenu.add(createStyledMenuItem("Bank Disbursement", "Write bank credit files for approved payroll", this::generateDisbursementFiles));
         processingMenu.addSeparator();
         processingMenu.add(createStyledMenuItem("Bulk Operations", "Mass payroll operations", this::bulkOperations));
         
@@ -93,6 +126,7 @@ public class PayrollDashboard extends JFrame {
         // Compliance Menu
         JMenu complianceMenu = createStyledMenu("📋 Compliance", "Regulatory compliance tools");
         complianceMenu.add(createStyledMenuItem("Government Remittances", "Track remittances", this::trackRemittances));
+        complianceMenu.add(createStyledMenuItem("BIR Alphalist", "Annual alphalist of employees", this::generateAlphalist));
         complianceMenu.add(createStyledMenuItem("Tax Compliance", "Tax filing status", this::checkTaxCompliance));
         complianceMenu.add(createStyledMenuItem("Audit Trail", "Payroll audit logs", this::viewAuditTrail));
         complianceMenu.add(createStyledMenuItem("Compliance Calendar", "Important dates", this::viewComplianceCalendar));
@@ -103,6 +137,7 @@ public class PayrollDashboard extends JFrame {
         toolsMenu.add(createStyledMenuItem("Tax Calculator", "Tax computation tool", this::openTaxCalculator));
         toolsMenu.add(createStyledMenuItem("Import/Export", "Data import/export", this::openImportExport));
         toolsMenu.add(createStyledMenuItem("Backup & Restore", "Data backup tools", this::openBackupTools));
+        toolsMenu.add(createStyledMenuItem("13th Month & Final Pay", "Compute year-end and separation payouts", this::runBenefitPayouts));
         
         // Logout Menu
         JMenu logoutMenu = createStyledMenu("🚪 Logout", "Sign out of the system");
@@ -202,14 +237,14 @@ public class PayrollDashboard extends JFrame {
     }
     
     private JTabbedPane createPayrollContentTabs() {
-        JTabbedPane tabbedPane = new JTabbedPane();
+        LazyTabbedPane tabbedPane = new LazyTabbedPane();
         tabbedPane.setFont(new Font("Segoe UI", Font.BOLD, 14));
         
-        tabbedPane.addTab("💰 Payroll Processing", createPayrollProcessingTab());
-        tabbedPane.addTab("👥 Employee Data", createEmployeeDataTab());
-        tabbedPane.addTab("📊 Reports", createReportsTab());
-        tabbedPane.addTab("📋 Compliance", createComplianceTab());
-        tabbedPane.addTab("🔧 Tools", createToolsTab());
+        tabbedPane.addLazyTab("💰 Payroll Processing", this::createPayrollProcessingTab);
+        tabbedPane.addLazyTab("👥 Employee Data", this::createEmployeeDataTab);
+        tabbedPane.addLazyTab("📊 Reports", this::createReportsTab);
+        tabbedPane.addLazyTab("📋 Compliance", this::createComplianceTab);
+        tabbedPane.addLazyTab("🔧 Tools", this::createToolsTab);
         
         return tabbedPane;
     }
@@ -234,12 +269,77 @@ public class PayrollDashboard extends JFrame {
         stepsPanel.add(createProcessingCard("5. Reports", "Generate reports", "📊", this::generateMonthlyReport));
         stepsPanel.add(createProcessingCard("6. Remit", "Government remittances", "🏛️", this::trackRemittances));
         
+        // Recent pay runs
+        payRunTableModel = new KeyedTableModel(new String[] {"Run", "Period", "Status", "Employees", "Gross Pay", "Net Pay"});
+        JTable payRunTable = new JTable(payRunTableModel);
+        payRunTable.setRowHeight(24);
+        JScrollPane runsScroll = new JScrollPane(payRunTable);
+        runsScroll.setBorder(BorderFactory.createTitledBorder("Recent Pay Runs"));
+        runsScroll.setPreferredSize(new Dimension(0, 220));
+        
         panel.add(titleLabel, BorderLayout.NORTH);
         panel.add(stepsPanel, BorderLayout.CENTER);
+        panel.add(runsScroll, BorderLayout.SOUTH);
         
         return panel;
     }
     
+    private Object[] toPayRunRow(PayRun run) {
+        return new Object[] {
+            run.getRunId(),
+            run.getPeriodStart() + " to " + run.getPeriodEnd(),
+            run.getStatus().getDbValue(),
+            run.getEmployeeCount(),
+            String.format("₱%,.2f", run.getTotalGrossPay()),
+            String.format("₱%,.2f", run.getTotalNetPay())
+        };
+    }
+    
+    private void loadRecentRuns() {
+        new SwingWorker<List<PayRun>, Void>() {
+            @Override
+            protected List<PayRun> doInBackground() {
+                return payRunService.getRecentRuns(RECENT_RUNS);
+            }
+            
+            @Override
+            protected void done() {
+                try {
+                    payRunTableModel.setRowCount(0);
+                    for (PayRun run : get()) {
+                        payRunTableModel.addRow(toPayRunRow(run));
+                    }
+                } catch (Exception e) {
+                    // The pay_run table may not exist yet; the steps still work without the list
+                    payRunTableModel.setRowCount(0);
+                }
+            }
+        }.execute();
+    }
+    
+    /**
+     * Applies a pay run change to its row; runs on the change bus thread, so the one run
+     * is read here and the table is updated on the event dispatch thread
+     */
+    private void applyPayRunChange(ChangeEvent event) {
+        if (event.getKind() == ChangeEvent.Kind.BULK) {
+            SwingUtilities.invokeLater(this::loadRecentRuns);
+            return;
+        }
+        PayRun run = event.getKind() == ChangeEvent.Kind.DELETED
+            ? null : payRunService.findRunById(event.getEntityId()).orElse(null);
+        SwingUtilities.invokeLater(() -> {
+            if (run == null) {
+                payRunTableModel.removeRowByKey(event.getEntityId());
+            } else if (payRunTableModel.indexOfKey(run.getRunId()) < 0) {
+                // A new run is the most recent one
+                payRunTableModel.insertRow(0, toPayRunRow(run));
+            } else {
+                payRunTableModel.upsertRow(toPayRunRow(run));
+            }
+        });
+    }
+    
     private JPanel createEmployeeDataTab() {
         JPanel panel = new JPanel(new BorderLayout(15, 15));
         panel.setBackground(BACKGROUND_LIGHT);
@@ -459,7 +559,16 @@ public class PayrollDashboard extends JFrame {
     
     // Action methods
     private void calculatePayroll() {
-        showMessage("Calculate Payroll", "Opening payroll calculation interface...");
+        PayPeriod period = promptPayPeriod("Calculate Payroll");
+        if (period == null) {
+            return;
+        }
+
+        runPayRunTask("Calculate Payroll",
+                () -> payRunService.calculateDraft(period.getStart(), period.getEnd(), currentUser.getFullName()),
+                run -> "Draft pay run calculated for " + run.getEmployeeCount() + " employees.\n" +
+                        String.format("Total gross: ₱%,.2f%nTotal deductions: ₱%,.2f%nTotal net: ₱%,.2f",
+                                run.getTotalGrossPay(), run.getTotalDeductions(), run.getTotalNetPay()));
     }
     
     private void generatePayslips() {
@@ -467,11 +576,190 @@ public class PayrollDashboard extends JFrame {
     }
     
     private void reviewPayroll() {
-        showMessage("Review Payroll", "Opening payroll review interface...");
+        PayRun run = findRunForPeriod("Review Payroll");
+        if (run == null) {
+            return;
+        }
+        if (run.getStatus() != PayRun.Status.DRAFT) {
+            showMessage("Review Payroll", "Pay run is already " + run.getStatus() + ".");
+            return;
+        }
+
+        int choice = JOptionPane.showConfirmDialog(this,
+            String.format("Mark pay run for %s to %s as reviewed?%n%nEmployees: %d%nTotal net pay: ₱%,.2f",
+                run.getPeriodStart(), run.getPeriodEnd(), run.getEmployeeCount(), run.getTotalNetPay()),
+            "Review Payroll", JOptionPane.YES_NO_OPTION);
+        if (choice == JOptionPane.YES_OPTION) {
+            runPayRunTask("Review Payroll",
+                () -> payRunService.markReviewed(run.getRunId(), currentUser.getFullName()),
+                updated -> "Pay run marked as " + updated.getStatus() + ".");
+        }
     }
     
     private void approvePayroll() {
-        showMessage("Approve Payroll", "Processing payroll approval...");
+        PayRun run = findRunForPeriod("Approve Payroll");
+        if (run == null) {
+            return;
+        }
+
+        String question;
+        PayRun.Status target;
+        if (run.getStatus() == PayRun.Status.REVIEWED) {
+            question = "Approve this pay run? Its results will be frozen for reports and payslips.";
+            target = PayRun.Status.APPROVED;
+        } else if (run.getStatus() == PayRun.Status.APPROVED) {
+            question = "This pay run is already approved. Lock the period permanently?";
+            target = PayRun.Status.LOCKED;
+        } else {
+            showMessage("Approve Payroll", "Pay run is " + run.getStatus() +
+                (run.getStatus() == PayRun.Status.DRAFT ? "; it must be reviewed before approval." : "."));
+            return;
+        }
+
+        int choice = JOptionPane.showConfirmDialog(this, question, "Approve Payroll", JOptionPane.YES_NO_OPTION);
+        if (choice == JOptionPane.YES_OPTION) {
+            runPayRunTask("Approve Payroll",
+                () -> target == PayRun.Status.LOCKED
+                    ? payRunService.lock(run.getRunId(), currentUser.getFullName())
+                    : payRunService.approve(run.getRunId(), currentUser.getFullName()),
+                updated -> "Pay run is now " + updated.getStatus() + ".");
+        }
+    }
+    
+    /**
+     * Asks for the pay period to work on: a frequency, a month and one of the frequency's
+     * periods ending in that month
+     * @return Selected period, or null if cancelled
+     */
+    private PayPeriod promptPayPeriod(String title) {
+        LocalDate now = LocalDate.now();
+        JComboBox<PayFrequency> frequencyBox = new JComboBox<>(PayFrequency.values());
+        JComboBox<String> monthBox = new JComboBox<>(new String[]{
+            "January", "February", "March", "April", "May", "June",
+            "July", "August", "September", "October", "November", "December"});
+        monthBox.setSelectedIndex(now.getMonthValue() - 1);
+        JSpinner yearSpinner = new JSpinner(new SpinnerNumberModel(now.getYear(), 2000, now.getYear(), 1));
+        yearSpinner.setEditor(new JSpinner.NumberEditor(yearSpinner, "#"));
+        JComboBox<PayPeriod> periodBox = new JComboBox<>();
+
+        Runnable refreshPeriods = () -> {
+            periodBox.removeAllItems();
+            for (PayPeriod period : PayPeriodCalendar.periodsInMonth((PayFrequency) frequencyBox.getSelectedItem(),
+                    (Integer) yearSpinner.getValue(), monthBox.getSelectedIndex() + 1)) {
+                periodBox.addItem(period);
+            }
+        };
+        frequencyBox.addActionListener(e -> refreshPeriods.run());
+        monthBox.addActionListener(e -> refreshPeriods.run());
+        yearSpinner.addChangeListener(e -> refreshPeriods.run());
+        refreshPeriods.run();
+
+        JPanel panel = new JPanel(new GridLayout(4, 2, 5, 5));
+        panel.add(new JLabel("Frequency:"));
+        panel.add(frequencyBox);
+        panel.add(new JLabel("Month:"));
+        panel.add(monthBox);
+        panel.add(new JLabel("Year:"));
+        panel.add(yearSpinner);
+        panel.add(new JLabel("Period:"));
+        panel.add(periodBox);
+
+        int result = JOptionPane.showConfirmDialog(this, panel, title, JOptionPane.OK_CANCEL_OPTION);
+        if (result != JOptionPane.OK_OPTION) {
+            return null;
+        }
+        return (PayPeriod) periodBox.getSelectedItem();
+    }
+    
+    private void calculateAllFrequencies() {
+        String input = JOptionPane.showInputDialog(this,
+            "Calculate the latest closed period of every pay frequency as of (yyyy-MM-dd):", LocalDate.now().toString());
+        if (input == null) {
+            return;
+        }
+
+        LocalDate payDate;
+        try {
+            payDate = LocalDate.parse(input.trim());
+        } catch (java.time.format.DateTimeParseException e) {
+            JOptionPane.showMessageDialog(this, "Please enter a date such as " + LocalDate.now(),
+                "Calculate All Frequencies", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<String, Void>() {
+            @Override
+            protected String doInBackground() {
+                List<PayRun> runs = payRunService.calculateDrafts(payDate, currentUser.getFullName());
+                if (runs.isEmpty()) {
+                    return "Every pay frequency's period is already approved or locked.";
+                }
+                StringBuilder message = new StringBuilder("Draft pay runs calculated:\n");
+                for (PayRun run : runs) {
+                    message.append(String.format("%n%s to %s: %d employees, total net ₱%,.2f",
+                        run.getPeriodStart(), run.getPeriodEnd(), run.getEmployeeCount(), run.getTotalNetPay()));
+                }
+                return message.toString();
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    showMessage("Calculate All Frequencies", get());
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(PayrollDashboard.this, cause.getMessage(),
+                        "Calculate All Frequencies", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+    
+    private PayRun findRunForPeriod(String title) {
+        PayPeriod period = promptPayPeriod(title);
+        if (period == null) {
+            return null;
+        }
+        try {
+            PayRun run = payRunService.findRun(period.getStart(), period.getEnd())
+                .orElse(null);
+            if (run == null) {
+                showMessage(title, "No pay run exists for this period yet. Use Calculate Payroll first.");
+            }
+            return run;
+        } catch (Exception e) {
+            JOptionPane.showMessageDialog(this, "Error loading pay run: " + e.getMessage(),
+                "Error", JOptionPane.ERROR_MESSAGE);
+            return null;
+        }
+    }
+    
+    /**
+     * Runs a pay run operation off the event dispatch thread and reports the outcome
+     */
+    private void runPayRunTask(String title, java.util.concurrent.Callable<PayRun> task,
+                               java.util.function.Function<PayRun, String> successMessage) {
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<PayRun, Void>() {
+            @Override
+            protected PayRun doInBackground() throws Exception {
+                return task.call();
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    showMessage(title, successMessage.apply(get()));
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(PayrollDashboard.this, cause.getMessage(),
+                        title, JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
     }
     
     private void bulkOperations() {
@@ -515,7 +803,83 @@ public class PayrollDashboard extends JFrame {
     }
     
     private void trackRemittances() {
-        showMessage("Government Remittances", "Tracking government remittances...");
+        YearMonth lastMonth = YearMonth.now().minusMonths(1);
+        String input = JOptionPane.showInputDialog(this,
+            "Write SSS, PhilHealth, Pag-IBIG and BIR files for month (yyyy-MM):", lastMonth.toString());
+        if (input == null) {
+            return;
+        }
+
+        YearMonth month;
+        try {
+            month = YearMonth.parse(input.trim());
+        } catch (java.time.format.DateTimeParseException e) {
+            JOptionPane.showMessageDialog(this, "Please enter a month such as " + lastMonth,
+                "Government Remittances", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        runRemittanceTask("Government Remittances",
+            () -> new RemittanceService().generateMonth(month, currentUser.getFullName()));
+    }
+    
+    private void generateAlphalist() {
+        int lastYear = LocalDate.now().getYear() - 1;
+        String input = JOptionPane.showInputDialog(this, "Write the BIR alphalist for year:", String.valueOf(lastYear));
+        if (input == null) {
+            return;
+        }
+
+        int year;
+        try {
+            year = Integer.parseInt(input.trim());
+        } catch (NumberFormatException e) {
+            JOptionPane.showMessageDialog(this, "Please enter a year such as " + lastYear,
+                "BIR Alphalist", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        runRemittanceTask("BIR Alphalist",
+            () -> new RemittanceService().generateAlphalist(year, currentUser.getFullName()));
+    }
+    
+    /**
+     * Writes remittance files off the event dispatch thread and lists what was written
+     */
+    private void runRemittanceTask(String title, java.util.concurrent.Callable<RemittanceService.Result> task) {
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<RemittanceService.Result, Void>() {
+            @Override
+            protected RemittanceService.Result doInBackground() throws Exception {
+                return task.call();
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    RemittanceService.Result result = get();
+                    StringBuilder message = new StringBuilder(String.format("%,d employees with approved payroll:%n%n",
+                        result.getEmployees()));
+                    for (RemittanceFile file : result.getFiles()) {
+                        message.append(String.format("%s: %,d records, ₱%,.2f employee + ₱%,.2f employer%s%n",
+                            file.getFileName(), file.getRecordCount(), file.getEmployeeShare() / 100.0,
+                            file.getEmployerShare() / 100.0,
+                            file.getRejectedCount() > 0 ? ", " + file.getRejectedCount() + " rejected" : ""));
+                    }
+                    if (result.getExceptionsFile() != null) {
+                        message.append("\nFix the IDs listed in ").append(result.getExceptionsFile().getFileName())
+                            .append(" and generate again.");
+                    }
+                    showMessage(title, message.toString());
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(PayrollDashboard.this,
+                        "Remittance files could not be written: " + cause.getMessage(),
+                        title, JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
     }
     
     private void checkTaxCompliance() {
@@ -523,7 +887,7 @@ public class PayrollDashboard extends JFrame {
     }
     
     private void viewAuditTrail() {
-        showMessage("Audit Trail", "Opening payroll audit trail...");
+        new ui.AuditTrailDialog(this, "Payroll Audit Trail").setVisible(true);
     }
     
     private void viewComplianceCalendar() {
@@ -539,11 +903,184 @@ public class PayrollDashboard extends JFrame {
     }
     
     private void openImportExport() {
-        showMessage("Import/Export", "Opening data import/export tools...");
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Import Biometric Attendance (CSV or fixed-width)");
+        chooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter(
+            "Attendance exports (*.csv, *.txt, *.dat, *.prn)", "csv", "txt", "dat", "prn"));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+
+        java.nio.file.Path file = chooser.getSelectedFile().toPath();
+        AttendanceImportService.Format format = AttendanceImportService.Format.fromFileName(file.toString());
+        AttendanceImportService importService = new AttendanceImportService();
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+        new SwingWorker<String, Void>() {
+            @Override
+            protected String doInBackground() throws Exception {
+                AttendanceImportResult result = importService.importFile(file, format);
+                StringBuilder message = new StringBuilder(result.getSummary());
+                if (result.hasRejections()) {
+                    java.nio.file.Path report = importService.writeRejectReport(result,
+                        file.resolveSibling(file.getFileName() + ".rejected.csv"));
+                    message.append("\n\nRejected rows were written to:\n").append(report);
+                    result.getRejectedRows().stream().limit(10)
+                        .forEach(row -> message.append("\n• ").append(row));
+                }
+                return message.toString();
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    showMessage("Attendance Import", get());
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(PayrollDashboard.this,
+                        "Attendance import failed: " + cause.getMessage(),
+                        "Attendance Import", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
     }
     
     private void openBackupTools() {
-        showMessage("Backup & Restore", "Opening backup and restore tools...");
+        int lastYear = LocalDate.now().getYear() - 1;
+        String input = JOptionPane.showInputDialog(this,
+            "Archive the approved and locked pay runs of year:", String.valueOf(lastYear));
+        if (input == null) {
+            return;
+        }
+
+        int year;
+        try {
+            year = Integer.parseInt(input.trim());
+        } catch (NumberFormatException e) {
+            JOptionPane.showMessageDialog(this, "Please enter a year such as " + lastYear,
+                "Payroll Archive", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<String, Void>() {
+            @Override
+            protected String doInBackground() throws Exception {
+                PayrollArchiveService archiveService = new PayrollArchiveService();
+                try {
+                    int records = archiveService.archiveYear(year);
+                    PayrollArchiveService.YearSummary summary = archiveService.summarizeYear(year);
+                    return String.format("Archived %,d employee-period records for %d to:%n%s%n%n"
+                            + "13th month pay: ₱%,.2f for %,d employees%nTax true-up: ₱%,.2f",
+                        records, year, archiveService.getArchiveFile(year).toAbsolutePath(),
+                        summary.getThirteenthMonthPay(), summary.getEmployees(), summary.getTaxTrueUp());
+                } finally {
+                    archiveService.close();
+                }
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    showMessage("Payroll Archive", get());
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(PayrollDashboard.this,
+                        "Archiving failed: " + cause.getMessage(),
+                        "Payroll Archive", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+    
+    private void runBenefitPayouts() {
+        int currentYear = LocalDate.now().getYear();
+        String input = JOptionPane.showInputDialog(this,
+            "Compute 13th month and final pay for year:", String.valueOf(currentYear));
+        if (input == null) {
+            return;
+        }
+
+        int year;
+        try {
+            year = Integer.parseInt(input.trim());
+        } catch (NumberFormatException e) {
+            JOptionPane.showMessageDialog(this, "Please enter a year such as " + currentYear,
+                "13th Month & Final Pay", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<String, Void>() {
+            @Override
+            protected String doInBackground() {
+                List<BenefitPayout> payouts = new BenefitPayoutService().runYear(year);
+                long finalPays = payouts.stream().filter(BenefitPayout::isFinalPay).count();
+                double total = payouts.stream().mapToDouble(BenefitPayout::getNetAmount).sum();
+                return String.format("Computed for %d:%n%n13th month: %,d employees%nFinal pay: %,d separated employees%nTotal net payout: ₱%,.2f",
+                    year, payouts.size() - finalPays, finalPays, total);
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    showMessage("13th Month & Final Pay", get());
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(PayrollDashboard.this,
+                        "Payout computation failed: " + cause.getMessage(),
+                        "13th Month & Final Pay", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+    
+    private void generateDisbursementFiles() {
+        PayRun run = findRunForPeriod("Bank Disbursement");
+        if (run == null) {
+            return;
+        }
+        if (!run.getStatus().isClosed()) {
+            showMessage("Bank Disbursement", "This pay run is " + run.getStatus().getDbValue()
+                + "; only approved payroll can be sent to the bank.");
+            return;
+        }
+
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<DisbursementService.Result, Void>() {
+            @Override
+            protected DisbursementService.Result doInBackground() throws Exception {
+                return new DisbursementService().generate(run.getRunId(), currentUser.getFullName());
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    DisbursementService.Result result = get();
+                    StringBuilder message = new StringBuilder(String.format(
+                        "Wrote %d bank files for %,d credits, ₱%,.2f in total:%n%n",
+                        result.getFiles().size(), result.getRecordCount(), result.getControlTotal()));
+                    for (DisbursementFile file : result.getFiles()) {
+                        message.append(String.format("%s: %,d credits, ₱%,.2f, hash %d%n",
+                            file.getFileName(), file.getRecordCount(), file.getControlTotalPesos(), file.getHashTotal()));
+                    }
+                    if (result.getMissingAccounts() > 0) {
+                        message.append(String.format("%n%d employees have no payroll account (₱%,.2f not included).",
+                            result.getMissingAccounts(), result.getMissingAmount()));
+                    }
+                    showMessage("Bank Disbursement", message.toString());
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(PayrollDashboard.this,
+                        "Disbursement files could not be written: " + cause.getMessage(),
+                        "Bank Disbursement", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
     }
     
     private void logout() {
@@ -568,6 +1105,12 @@ public class PayrollDashboard extends JFrame {
         }
     }
     
+    @Override
+    public void dispose() {
+        ChangeBus.getInstance().unsubscribe(payRunChanges);
+        super.dispose();
+    }
+    
     private void showMessage(String title, String message) {
         JOptionPane.showMessageDialog(this, message, title, JOptionPane.INFORMATION_MESSAGE);
     }
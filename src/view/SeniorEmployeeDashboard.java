@@ -2,7 +2,7 @@ package view;
 
 import model.Employee;
 import model.UserRole;
-import util.PositionRoleMapper;
+import service.AuthenticationService;
 
 import javax.swing.*;
 import java.awt.*;
@@ -18,7 +18,7 @@ public class SeniorEmployeeDashboard extends EmployeeDashboard {
     public SeniorEmployeeDashboard(Employee user) {
         super(user);
         this.currentUser = user;
-        this.userRole = PositionRoleMapper.getUserRole(user.getPosition());
+        this.userRole = AuthenticationService.getInstance().resolveRole(user);
         
         customizeForSeniorEmployee();
     }
@@ -2,7 +2,7 @@ package view;
 
 import model.Employee;
 import model.UserRole;
-import util.PositionRoleMapper;
+import service.AuthenticationService;
 
 import javax.swing.*;
 import java.awt.*;
@@ -22,7 +22,7 @@ public class TeamLeaderDashboard extends JFrame {
     
     public TeamLeaderDashboard(Employee user) {
         this.currentUser = user;
-        this.userRole = PositionRoleMapper.getUserRole(user.getPosition());
+        this.userRole = AuthenticationService.getInstance().resolveRole(user);
         
         initializeTeamLeaderInterface();
     }
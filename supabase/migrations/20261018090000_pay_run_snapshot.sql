@@ -0,0 +1,108 @@
+-- Pay Run Lifecycle and Frozen Payroll Snapshots for MotorPH Payroll System
+-- A pay run moves Draft -> Reviewed -> Approved -> Locked. Once approved, its
+-- snapshot rows are immutable and reports read them instead of recomputing.
+
+USE aoopdatabase_payroll;
+
+-- =============================================
+-- PAY RUN HEADER
+-- =============================================
+
+CREATE TABLE IF NOT EXISTS pay_run (
+    run_id INT AUTO_INCREMENT PRIMARY KEY,
+    period_start DATE NOT NULL,
+    period_end DATE NOT NULL,
+    status ENUM('Draft', 'Reviewed', 'Approved', 'Locked') NOT NULL DEFAULT 'Draft',
+    employee_count INT DEFAULT 0,
+    total_gross_pay DECIMAL(14,2) DEFAULT 0,
+    total_deductions DECIMAL(14,2) DEFAULT 0,
+    total_net_pay DECIMAL(14,2) DEFAULT 0,
+    created_by VARCHAR(100),
+    reviewed_by VARCHAR(100),
+    approved_by VARCHAR(100),
+    locked_by VARCHAR(100),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    reviewed_at TIMESTAMP NULL,
+    approved_at TIMESTAMP NULL,
+    locked_at TIMESTAMP NULL,
+    UNIQUE KEY unique_pay_run_period (period_start, period_end)
+);
+
+-- =============================================
+-- PAY RUN SNAPSHOT (one row per employee per run)
+-- =============================================
+
+CREATE TABLE IF NOT EXISTS pay_run_snapshot (
+    run_id INT NOT NULL,
+    employee_id INT NOT NULL,
+    period_start DATE NOT NULL,
+    period_end DATE NOT NULL,
+    monthly_rate DECIMAL(10,2) DEFAULT 0,
+    daily_rate DECIMAL(10,2) DEFAULT 0,
+    days_worked INT DEFAULT 0,
+    overtime_hours DECIMAL(5,2) DEFAULT 0,
+    gross_pay DECIMAL(10,2) DEFAULT 0,
+    total_deductions DECIMAL(10,2) DEFAULT 0,
+    net_pay DECIMAL(10,2) DEFAULT 0,
+    gross_earnings DECIMAL(10,2) DEFAULT 0,
+    late_deduction DECIMAL(8,2) DEFAULT 0,
+    undertime_deduction DECIMAL(8,2) DEFAULT 0,
+    unpaid_leave_deduction DECIMAL(8,2) DEFAULT 0,
+    unpaid_leave_count INT DEFAULT 0,
+    overtime_pay DECIMAL(8,2) DEFAULT 0,
+    rice_subsidy DECIMAL(8,2) DEFAULT 0,
+    phone_allowance DECIMAL(8,2) DEFAULT 0,
+    clothing_allowance DECIMAL(8,2) DEFAULT 0,
+    sss DECIMAL(8,2) DEFAULT 0,
+    philhealth DECIMAL(8,2) DEFAULT 0,
+    pagibig DECIMAL(8,2) DEFAULT 0,
+    tax DECIMAL(8,2) DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    -- Clustered on (run_id, employee_id) so a whole run is one range scan
+    PRIMARY KEY (run_id, employee_id),
+    FOREIGN KEY (run_id) REFERENCES pay_run(run_id) ON DELETE CASCADE,
+    FOREIGN KEY (employee_id) REFERENCES employees(employee_id)
+);
+
+CREATE INDEX idx_pay_run_status ON pay_run(status, period_start);
+CREATE INDEX idx_pay_run_snapshot_employee ON pay_run_snapshot(employee_id, period_start);
+
+-- =============================================
+-- IMMUTABILITY GUARDS - snapshots of approved runs cannot change
+-- =============================================
+
+DELIMITER //
+
+CREATE TRIGGER tr_pay_run_snapshot_insert_guard
+    BEFORE INSERT ON pay_run_snapshot
+    FOR EACH ROW
+BEGIN
+    IF (SELECT status FROM pay_run WHERE run_id = NEW.run_id) IN ('Approved', 'Locked') THEN
+        SIGNAL SQLSTATE '45000'
+        SET MESSAGE_TEXT = 'Pay run is approved; snapshot is read-only';
+    END IF;
+END //
+
+CREATE TRIGGER tr_pay_run_snapshot_update_guard
+    BEFORE UPDATE ON pay_run_snapshot
+    FOR EACH ROW
+BEGIN
+    IF (SELECT status FROM pay_run WHERE run_id = OLD.run_id) IN ('Approved', 'Locked') THEN
+        SIGNAL SQLSTATE '45000'
+        SET MESSAGE_TEXT = 'Pay run is approved; snapshot is read-only';
+    END IF;
+END //
+
+CREATE TRIGGER tr_pay_run_snapshot_delete_guard
+    BEFORE DELETE ON pay_run_snapshot
+    FOR EACH ROW
+BEGIN
+    IF (SELECT status FROM pay_run WHERE run_id = OLD.run_id) IN ('Approved', 'Locked') THEN
+        SIGNAL SQLSTATE '45000'
+        SET MESSAGE_TEXT = 'Pay run is approved; snapshot is read-only';
+    END IF;
+END //
+
+DELIMITER ;
+
+SELECT 'Pay run snapshot tables created successfully!' AS Status;
@@ -0,0 +1,50 @@
+-- Append-only Audit Trail for MotorPH Payroll System
+-- Rows are written in batches by the background audit writer and may never
+-- be changed or removed afterwards.
+
+USE aoopdatabase_payroll;
+
+-- =============================================
+-- AUDIT LOG
+-- =============================================
+
+CREATE TABLE IF NOT EXISTS audit_log (
+    audit_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_time TIMESTAMP(3) NOT NULL,
+    actor_id INT NULL,
+    actor_name VARCHAR(100),
+    action VARCHAR(50) NOT NULL,
+    entity_type VARCHAR(50) NOT NULL,
+    entity_id VARCHAR(50),
+    details VARCHAR(1000),
+    recorded_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_audit_log_time ON audit_log(event_time);
+CREATE INDEX idx_audit_log_entity ON audit_log(entity_type, entity_id, event_time);
+
+-- =============================================
+-- APPEND-ONLY GUARDS
+-- =============================================
+
+DELIMITER //
+
+CREATE TRIGGER tr_audit_log_no_update
+    BEFORE UPDATE ON audit_log
+    FOR EACH ROW
+BEGIN
+    SIGNAL SQLSTATE '45000'
+    SET MESSAGE_TEXT = 'Audit log is append-only';
+END //
+
+CREATE TRIGGER tr_audit_log_no_delete
+    BEFORE DELETE ON audit_log
+    FOR EACH ROW
+BEGIN
+    SIGNAL SQLSTATE '45000'
+    SET MESSAGE_TEXT = 'Audit log is append-only';
+END //
+
+DELIMITER ;
+
+SELECT 'Audit log table created successfully!' AS Status;
@@ -0,0 +1,24 @@
+-- Attendance Bulk Import Support for MotorPH Payroll System
+-- One attendance row per employee per day, so biometric imports can use
+-- INSERT ... ON DUPLICATE KEY UPDATE and re-running an import is idempotent.
+
+USE aoopdatabase_payroll;
+
+-- =============================================
+-- REMOVE EXISTING DUPLICATES (keep the earliest row)
+-- =============================================
+
+DELETE a1 FROM attendance a1
+JOIN attendance a2
+  ON a1.employee_id = a2.employee_id
+ AND a1.date = a2.date
+ AND a1.id > a2.id;
+
+-- =============================================
+-- NATURAL KEY
+-- =============================================
+
+ALTER TABLE attendance
+    ADD UNIQUE KEY uq_attendance_employee_date (employee_id, date);
+
+SELECT 'Attendance import key created successfully!' AS Status;
@@ -0,0 +1,55 @@
+-- Hashed Credentials for MotorPH Payroll System
+-- Passwords move to credentials.password_hash. Existing plaintext values are copied
+-- over as-is and replaced with a salted PBKDF2 hash the first time each user logs in;
+-- the legacy password column is cleared so no plaintext copy is left behind.
+
+USE aoopdatabase_payroll;
+
+-- =============================================
+-- PASSWORD HASH COLUMN (skipped when it already exists)
+-- =============================================
+
+SET @has_hash_column = (
+    SELECT COUNT(*) FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'credentials' AND column_name = 'password_hash'
+);
+SET @ddl = IF(@has_hash_column = 0,
+    'ALTER TABLE credentials ADD COLUMN password_hash VARCHAR(255) NULL AFTER employee_id',
+    'SELECT 1');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- =============================================
+-- CARRY OVER LEGACY PLAINTEXT PASSWORDS
+-- =============================================
+
+SET @has_plain_column = (
+    SELECT COUNT(*) FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'credentials' AND column_name = 'password'
+);
+
+SET @dml = IF(@has_plain_column = 1,
+    'UPDATE credentials SET password_hash = password WHERE password_hash IS NULL',
+    'SELECT 1');
+PREPARE stmt FROM @dml;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- New rows only write password_hash
+SET @ddl = IF(@has_plain_column = 1,
+    'ALTER TABLE credentials MODIFY password VARCHAR(255) NULL',
+    'SELECT 1');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Clear the plaintext once it is carried over
+SET @dml = IF(@has_plain_column = 1,
+    'UPDATE credentials SET password = NULL WHERE password IS NOT NULL AND password_hash IS NOT NULL',
+    'SELECT 1');
+PREPARE stmt FROM @dml;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SELECT 'Credential password hashes prepared successfully!' AS Status;
@@ -0,0 +1,66 @@
+-- Leave Balance Ledger for MotorPH Payroll System
+-- One balance row per employee, leave type and year, kept current on approval,
+-- cancellation and accrual. Every change is also written to leave_ledger so a
+-- balance can always be explained. Statutory leave (maternity, paternity) is
+-- granted by law and not tracked here.
+
+USE aoopdatabase_payroll;
+
+-- =============================================
+-- BALANCES (available = accrued - used)
+-- =============================================
+
+CREATE TABLE IF NOT EXISTS leave_balance (
+    employee_id INT NOT NULL,
+    leave_type VARCHAR(50) NOT NULL,
+    year SMALLINT NOT NULL,
+    entitled DECIMAL(6,2) NOT NULL DEFAULT 0,
+    accrued DECIMAL(6,2) NOT NULL DEFAULT 0,
+    used DECIMAL(6,2) NOT NULL DEFAULT 0,
+    accrued_through_month TINYINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (employee_id, leave_type, year),
+    FOREIGN KEY (employee_id) REFERENCES employees(employee_id) ON DELETE CASCADE
+);
+
+-- Nightly accrual scans one year at a time
+CREATE INDEX idx_leave_balance_year ON leave_balance(year, accrued_through_month);
+
+-- =============================================
+-- LEDGER (append-only history of every balance change;
+-- days is the signed change to the available balance)
+-- =============================================
+
+CREATE TABLE IF NOT EXISTS leave_ledger (
+    entry_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    employee_id INT NOT NULL,
+    leave_type VARCHAR(50) NOT NULL,
+    year SMALLINT NOT NULL,
+    entry_type ENUM('Accrual', 'Usage', 'Reversal', 'Adjustment') NOT NULL,
+    days DECIMAL(6,2) NOT NULL,
+    leave_id INT NULL,
+    entry_date DATE NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (employee_id) REFERENCES employees(employee_id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_leave_ledger_balance ON leave_ledger(employee_id, leave_type, year);
+CREATE INDEX idx_leave_ledger_leave ON leave_ledger(leave_id);
+
+-- =============================================
+-- OPENING BALANCES FROM APPROVED HISTORY
+-- =============================================
+
+INSERT INTO leave_balance (employee_id, leave_type, year, used)
+SELECT employee_id, leave_type, YEAR(start_date), SUM(DATEDIFF(end_date, start_date) + 1)
+FROM leave_request
+WHERE status = 'Approved' AND leave_type IN ('Annual', 'Sick', 'Emergency')
+GROUP BY employee_id, leave_type, YEAR(start_date)
+ON DUPLICATE KEY UPDATE used = VALUES(used);
+
+INSERT INTO leave_ledger (employee_id, leave_type, year, entry_type, days, leave_id, entry_date)
+SELECT employee_id, leave_type, YEAR(start_date), 'Usage', -(DATEDIFF(end_date, start_date) + 1), leave_id, start_date
+FROM leave_request
+WHERE status = 'Approved' AND leave_type IN ('Annual', 'Sick', 'Emergency');
+
+SELECT 'Leave balance ledger created successfully!' AS Status;
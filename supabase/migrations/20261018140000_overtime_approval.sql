@@ -0,0 +1,102 @@
+-- Overtime Approval Queue for MotorPH Payroll System
+-- Overtime rows gain a rejected flag and the decision maker, so pending rows
+-- (neither approved nor rejected) form the manager approval queue. Approved hours
+-- are pre-summed per employee and month in overtime_monthly_total, kept current by
+-- triggers, so a pay run reads one row per employee instead of every overtime row.
+
+USE aoopdatabase_payroll;
+
+-- =============================================
+-- DECISION COLUMNS (skipped when they already exist)
+-- =============================================
+
+SET @has_rejected_column = (
+    SELECT COUNT(*) FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'overtime' AND column_name = 'rejected'
+);
+SET @ddl = IF(@has_rejected_column = 0,
+    'ALTER TABLE overtime ADD COLUMN rejected BOOLEAN NOT NULL DEFAULT FALSE AFTER approved, ADD COLUMN decided_by INT NULL AFTER rejected, ADD COLUMN decided_at TIMESTAMP NULL AFTER decided_by',
+    'SELECT 1');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- The approval queue scans pending rows by date
+CREATE INDEX idx_overtime_queue ON overtime(approved, rejected, date);
+
+-- =============================================
+-- APPROVED HOURS PER EMPLOYEE AND MONTH
+-- =============================================
+
+CREATE TABLE IF NOT EXISTS overtime_monthly_total (
+    employee_id INT NOT NULL,
+    period_month DATE NOT NULL,
+    approved_hours DECIMAL(8,2) NOT NULL DEFAULT 0,
+    approved_count INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (employee_id, period_month),
+    FOREIGN KEY (employee_id) REFERENCES employees(employee_id) ON DELETE CASCADE
+);
+
+-- Pay runs read every employee of a month
+CREATE INDEX idx_overtime_monthly_total_month ON overtime_monthly_total(period_month);
+
+DELETE FROM overtime_monthly_total;
+
+INSERT INTO overtime_monthly_total (employee_id, period_month, approved_hours, approved_count)
+SELECT employee_id, DATE_FORMAT(date, '%Y-%m-01'), SUM(hours), COUNT(*)
+FROM overtime
+WHERE approved = TRUE
+GROUP BY employee_id, DATE_FORMAT(date, '%Y-%m-01');
+
+-- =============================================
+-- TRIGGERS KEEPING THE TOTALS CURRENT
+-- =============================================
+
+DROP TRIGGER IF EXISTS tr_overtime_total_insert;
+DROP TRIGGER IF EXISTS tr_overtime_total_update;
+DROP TRIGGER IF EXISTS tr_overtime_total_delete;
+
+DELIMITER //
+
+CREATE TRIGGER tr_overtime_total_insert
+    AFTER INSERT ON overtime
+    FOR EACH ROW
+BEGIN
+    IF NEW.approved THEN
+        INSERT INTO overtime_monthly_total (employee_id, period_month, approved_hours, approved_count)
+        VALUES (NEW.employee_id, DATE_FORMAT(NEW.date, '%Y-%m-01'), NEW.hours, 1)
+        ON DUPLICATE KEY UPDATE approved_hours = approved_hours + NEW.hours, approved_count = approved_count + 1;
+    END IF;
+END //
+
+CREATE TRIGGER tr_overtime_total_update
+    AFTER UPDATE ON overtime
+    FOR EACH ROW
+BEGIN
+    IF OLD.approved THEN
+        UPDATE overtime_monthly_total
+        SET approved_hours = approved_hours - OLD.hours, approved_count = approved_count - 1
+        WHERE employee_id = OLD.employee_id AND period_month = DATE_FORMAT(OLD.date, '%Y-%m-01');
+    END IF;
+    IF NEW.approved THEN
+        INSERT INTO overtime_monthly_total (employee_id, period_month, approved_hours, approved_count)
+        VALUES (NEW.employee_id, DATE_FORMAT(NEW.date, '%Y-%m-01'), NEW.hours, 1)
+        ON DUPLICATE KEY UPDATE approved_hours = approved_hours + NEW.hours, approved_count = approved_count + 1;
+    END IF;
+END //
+
+CREATE TRIGGER tr_overtime_total_delete
+    AFTER DELETE ON overtime
+    FOR EACH ROW
+BEGIN
+    IF OLD.approved THEN
+        UPDATE overtime_monthly_total
+        SET approved_hours = approved_hours - OLD.hours, approved_count = approved_count - 1
+        WHERE employee_id = OLD.employee_id AND period_month = DATE_FORMAT(OLD.date, '%Y-%m-01');
+    END IF;
+END //
+
+DELIMITER ;
+
+SELECT 'Overtime approval queue created successfully!' AS Status;
@@ -0,0 +1,123 @@
+-- Employee Read Model for MotorPH Payroll System
+-- employee_snapshot holds one ready-to-map row per employee, projected from employees,
+-- the normalized government ID and allowance tables, positions and departments by a
+-- single statement. v_employees_compatible rebuilt the same row through eight LEFT JOINs
+-- (and a self-join) on every read; reads now cost one primary key lookup.
+-- Triggers on the source tables only flag rows as stale; the application re-projects
+-- stale rows, so writes stay on the normalized tables.
+
+USE aoopdatabase_payroll;
+
+-- =============================================
+-- SNAPSHOT TABLE
+-- =============================================
+
+CREATE TABLE IF NOT EXISTS employee_snapshot (
+    employee_id INT PRIMARY KEY,
+    last_name VARCHAR(50),
+    first_name VARCHAR(50),
+    birthday DATE,
+    address TEXT,
+    phone_number VARCHAR(20),
+    sss_number VARCHAR(20),
+    philhealth_number VARCHAR(20),
+    tin_number VARCHAR(20),
+    pagibig_number VARCHAR(20),
+    status VARCHAR(20),
+    position VARCHAR(100),
+    department_name VARCHAR(100),
+    immediate_supervisor VARCHAR(100),
+    basic_salary DECIMAL(10,2) DEFAULT 0,
+    rice_subsidy DECIMAL(8,2) DEFAULT 0,
+    phone_allowance DECIMAL(8,2) DEFAULT 0,
+    clothing_allowance DECIMAL(8,2) DEFAULT 0,
+    gross_semi_monthly_rate DECIMAL(10,2) DEFAULT 0,
+    hourly_rate DECIMAL(8,2) DEFAULT 0,
+    stale BOOLEAN NOT NULL DEFAULT TRUE,
+    projected_at TIMESTAMP NULL,
+    FOREIGN KEY (employee_id) REFERENCES employees(employee_id) ON DELETE CASCADE
+);
+
+-- Listing screens sort by name; the projector looks up stale rows
+CREATE INDEX idx_employee_snapshot_name ON employee_snapshot(last_name, first_name);
+CREATE INDEX idx_employee_snapshot_stale ON employee_snapshot(stale);
+
+-- Every existing employee starts stale; the application projects them on first use
+INSERT IGNORE INTO employee_snapshot (employee_id, stale)
+SELECT employee_id, TRUE FROM employees;
+
+-- =============================================
+-- TRIGGERS FLAGGING STALE ROWS
+-- =============================================
+
+DROP TRIGGER IF EXISTS tr_employee_snapshot_insert;
+DROP TRIGGER IF EXISTS tr_employee_snapshot_update;
+DROP TRIGGER IF EXISTS tr_employee_snapshot_gov_id_insert;
+DROP TRIGGER IF EXISTS tr_employee_snapshot_gov_id_update;
+DROP TRIGGER IF EXISTS tr_employee_snapshot_gov_id_delete;
+DROP TRIGGER IF EXISTS tr_employee_snapshot_allowance_insert;
+DROP TRIGGER IF EXISTS tr_employee_snapshot_allowance_update;
+DROP TRIGGER IF EXISTS tr_employee_snapshot_allowance_delete;
+
+DELIMITER //
+
+CREATE TRIGGER tr_employee_snapshot_insert
+    AFTER INSERT ON employees
+    FOR EACH ROW
+BEGIN
+    INSERT INTO employee_snapshot (employee_id, stale) VALUES (NEW.employee_id, TRUE)
+    ON DUPLICATE KEY UPDATE stale = TRUE;
+END //
+
+CREATE TRIGGER tr_employee_snapshot_update
+    AFTER UPDATE ON employees
+    FOR EACH ROW
+BEGIN
+    UPDATE employee_snapshot SET stale = TRUE WHERE employee_id = NEW.employee_id;
+END //
+
+CREATE TRIGGER tr_employee_snapshot_gov_id_insert
+    AFTER INSERT ON employee_government_ids
+    FOR EACH ROW
+BEGIN
+    UPDATE employee_snapshot SET stale = TRUE WHERE employee_id = NEW.employee_id;
+END //
+
+CREATE TRIGGER tr_employee_snapshot_gov_id_update
+    AFTER UPDATE ON employee_government_ids
+    FOR EACH ROW
+BEGIN
+    UPDATE employee_snapshot SET stale = TRUE WHERE employee_id IN (OLD.employee_id, NEW.employee_id);
+END //
+
+CREATE TRIGGER tr_employee_snapshot_gov_id_delete
+    AFTER DELETE ON employee_government_ids
+    FOR EACH ROW
+BEGIN
+    UPDATE employee_snapshot SET stale = TRUE WHERE employee_id = OLD.employee_id;
+END //
+
+CREATE TRIGGER tr_employee_snapshot_allowance_insert
+    AFTER INSERT ON employee_allowances
+    FOR EACH ROW
+BEGIN
+    UPDATE employee_snapshot SET stale = TRUE WHERE employee_id = NEW.employee_id;
+END //
+
+CREATE TRIGGER tr_employee_snapshot_allowance_update
+    AFTER UPDATE ON employee_allowances
+    FOR EACH ROW
+BEGIN
+    UPDATE employee_snapshot SET stale = TRUE WHERE employee_id IN (OLD.employee_id, NEW.employee_id);
+END //
+
+CREATE TRIGGER tr_employee_snapshot_allowance_delete
+    AFTER DELETE ON employee_allowances
+    FOR EACH ROW
+BEGIN
+    UPDATE employee_snapshot SET stale = TRUE WHERE employee_id = OLD.employee_id;
+END //
+
+DELIMITER ;
+
+SELECT 'Employee snapshot read model created successfully!' AS Status;
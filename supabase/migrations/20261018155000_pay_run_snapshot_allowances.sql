@@ -0,0 +1,23 @@
+-- Effective-Dated Allowance Columns for Pay Run Snapshots
+-- Allowances other than rice, phone and clothing, and the taxable part of all allowances,
+-- now count toward gross pay. A frozen snapshot keeps both so its gross stays the sum of
+-- its components.
+
+USE aoopdatabase_payroll;
+
+-- =============================================
+-- SNAPSHOT COLUMNS (skipped when they already exist)
+-- =============================================
+
+SET @has_taxable_allowances = (
+    SELECT COUNT(*) FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'pay_run_snapshot' AND column_name = 'taxable_allowances'
+);
+SET @ddl = IF(@has_taxable_allowances = 0,
+    'ALTER TABLE pay_run_snapshot ADD COLUMN other_allowances DECIMAL(8,2) DEFAULT 0 AFTER clothing_allowance, ADD COLUMN taxable_allowances DECIMAL(8,2) DEFAULT 0 AFTER other_allowances',
+    'SELECT 1');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SELECT 'Pay run snapshot allowance columns added successfully!' AS Status;
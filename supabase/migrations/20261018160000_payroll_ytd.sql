@@ -0,0 +1,57 @@
+-- Year-to-Date Tax Accumulators for MotorPH Payroll System
+-- payroll_ytd keeps each employee's taxable gross, mandatory contributions and tax withheld
+-- for the year, added to once when a pay run is approved. Withholding for a period is the
+-- projected annual tax less what was already withheld, so it needs one row per employee
+-- instead of re-summing the year's payroll. payroll_ytd_run records the runs already
+-- applied so approving a run twice cannot count it twice. The backfill reads the snapshot's
+-- taxable_allowances column (20261018155000_pay_run_snapshot_allowances.sql).
+
+USE aoopdatabase_payroll;
+
+-- =============================================
+-- ACCUMULATORS
+-- =============================================
+
+CREATE TABLE IF NOT EXISTS payroll_ytd (
+    employee_id INT NOT NULL,
+    year INT NOT NULL,
+    periods INT NOT NULL DEFAULT 0,
+    taxable_gross DECIMAL(14,2) NOT NULL DEFAULT 0,
+    contributions DECIMAL(14,2) NOT NULL DEFAULT 0,
+    tax_withheld DECIMAL(14,2) NOT NULL DEFAULT 0,
+    last_period_end DATE NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (employee_id, year),
+    FOREIGN KEY (employee_id) REFERENCES employees(employee_id) ON DELETE CASCADE
+);
+
+-- Pay runs read every employee of a year
+CREATE INDEX idx_payroll_ytd_year ON payroll_ytd(year);
+
+CREATE TABLE IF NOT EXISTS payroll_ytd_run (
+    run_id INT PRIMARY KEY,
+    applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (run_id) REFERENCES pay_run(run_id) ON DELETE CASCADE
+);
+
+-- =============================================
+-- BACKFILL FROM RUNS ALREADY APPROVED
+-- =============================================
+
+DELETE FROM payroll_ytd;
+DELETE FROM payroll_ytd_run;
+
+INSERT INTO payroll_ytd (employee_id, year, periods, taxable_gross, contributions, tax_withheld, last_period_end)
+SELECT s.employee_id, YEAR(s.period_end), COUNT(*),
+       SUM(s.gross_earnings - s.late_deduction - s.undertime_deduction - s.unpaid_leave_deduction
+           + s.overtime_pay + s.taxable_allowances),
+       SUM(s.sss + s.philhealth + s.pagibig), SUM(s.tax), MAX(s.period_end)
+FROM pay_run_snapshot s
+JOIN pay_run r ON r.run_id = s.run_id
+WHERE r.status IN ('Approved', 'Locked')
+GROUP BY s.employee_id, YEAR(s.period_end);
+
+INSERT INTO payroll_ytd_run (run_id)
+SELECT run_id FROM pay_run WHERE status IN ('Approved', 'Locked');
+
+SELECT 'Payroll year-to-date accumulators created successfully!' AS Status;
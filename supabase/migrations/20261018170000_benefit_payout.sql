@@ -0,0 +1,49 @@
+-- 13th Month and Final Pay for MotorPH Payroll System
+-- employee_separation records the employees who left and their last working day; the
+-- employees table has no separation status. benefit_payout keeps one computed 13th month
+-- and one final pay per employee and year, written in a single batch by
+-- BenefitPayoutService, so HR no longer rebuilds them from per-employee payroll exports.
+
+USE aoopdatabase_payroll;
+
+-- =============================================
+-- SEPARATIONS
+-- =============================================
+
+CREATE TABLE IF NOT EXISTS employee_separation (
+    employee_id INT PRIMARY KEY,
+    separation_date DATE NOT NULL,
+    reason VARCHAR(100) NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (employee_id) REFERENCES employees(employee_id) ON DELETE CASCADE
+);
+
+-- Final pay reads the separations of one year
+CREATE INDEX idx_employee_separation_date ON employee_separation(separation_date);
+
+-- =============================================
+-- COMPUTED PAYOUTS (net = prorated salary + leave conversion + 13th month - tax adjustment;
+-- a negative tax adjustment is a refund of over-withheld tax)
+-- =============================================
+
+CREATE TABLE IF NOT EXISTS benefit_payout (
+    employee_id INT NOT NULL,
+    year SMALLINT NOT NULL,
+    payout_type ENUM('13th Month', 'Final Pay') NOT NULL,
+    basic_earned DECIMAL(14,2) NOT NULL DEFAULT 0,
+    thirteenth_month DECIMAL(12,2) NOT NULL DEFAULT 0,
+    prorated_salary DECIMAL(12,2) NOT NULL DEFAULT 0,
+    leave_days DECIMAL(6,2) NOT NULL DEFAULT 0,
+    leave_conversion DECIMAL(12,2) NOT NULL DEFAULT 0,
+    tax_adjustment DECIMAL(12,2) NOT NULL DEFAULT 0,
+    net_amount DECIMAL(14,2) NOT NULL DEFAULT 0,
+    separation_date DATE NULL,
+    computed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (employee_id, year, payout_type),
+    FOREIGN KEY (employee_id) REFERENCES employees(employee_id) ON DELETE CASCADE
+);
+
+-- Payout listings read one year and type at a time
+CREATE INDEX idx_benefit_payout_year ON benefit_payout(year, payout_type);
+
+SELECT 'Benefit payout tables created successfully!' AS Status;
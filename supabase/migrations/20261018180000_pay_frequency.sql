@@ -0,0 +1,23 @@
+-- Pay Frequencies for MotorPH Payroll System
+-- employee_pay_frequency records how often each employee is paid. Employees without a row
+-- are paid at the configured default (payroll.pay.frequency, Monthly unless set). A pay run
+-- covers one period of one frequency: calendar months, the 1st-15th and 16th-end halves, or
+-- Monday-Sunday weeks, so a run for a half month only picks up the semi-monthly employees.
+
+USE aoopdatabase_payroll;
+
+-- =============================================
+-- PAY FREQUENCY PER EMPLOYEE
+-- =============================================
+
+CREATE TABLE IF NOT EXISTS employee_pay_frequency (
+    employee_id INT PRIMARY KEY,
+    pay_frequency ENUM('Monthly', 'Semi-Monthly', 'Weekly') NOT NULL DEFAULT 'Monthly',
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (employee_id) REFERENCES employees(employee_id) ON DELETE CASCADE
+);
+
+-- Pay runs group the population by frequency
+CREATE INDEX idx_employee_pay_frequency ON employee_pay_frequency(pay_frequency);
+
+SELECT 'Pay frequency table created successfully!' AS Status;
@@ -0,0 +1,48 @@
+-- Bank Disbursement for MotorPH Payroll System
+-- employee_bank_account holds the account each employee's net pay is credited to. An
+-- approved pay run is written out as one payroll credit file per bank, in that bank's
+-- layout, with record count, control total and account hash total in the trailer.
+-- disbursement_file records every file generated so the totals can be reconciled with
+-- the bank's confirmation.
+
+USE aoopdatabase_payroll;
+
+-- =============================================
+-- PAYROLL ACCOUNTS
+-- =============================================
+
+CREATE TABLE IF NOT EXISTS employee_bank_account (
+    employee_id INT PRIMARY KEY,
+    bank_code VARCHAR(10) NOT NULL,
+    account_number VARCHAR(20) NOT NULL,
+    account_name VARCHAR(100) NOT NULL,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (employee_id) REFERENCES employees(employee_id) ON DELETE CASCADE
+);
+
+-- Files are written bank by bank
+CREATE INDEX idx_employee_bank_account_bank ON employee_bank_account(bank_code, employee_id);
+
+-- =============================================
+-- GENERATED FILES
+-- =============================================
+
+CREATE TABLE IF NOT EXISTS disbursement_file (
+    file_id INT AUTO_INCREMENT PRIMARY KEY,
+    run_id INT NOT NULL,
+    bank_code VARCHAR(10) NOT NULL,
+    layout VARCHAR(20) NOT NULL,
+    file_name VARCHAR(255) NOT NULL,
+    credit_date DATE NOT NULL,
+    record_count INT NOT NULL,
+    control_total DECIMAL(14,2) NOT NULL,
+    hash_total BIGINT NOT NULL,
+    created_by VARCHAR(100),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (run_id) REFERENCES pay_run(run_id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_disbursement_file_run ON disbursement_file(run_id);
+
+SELECT 'Bank disbursement tables created successfully!' AS Status;
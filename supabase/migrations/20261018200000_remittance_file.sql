@@ -0,0 +1,33 @@
+-- Government Remittance Files for MotorPH Payroll System
+-- The month's SSS, PhilHealth, Pag-IBIG and BIR files are written from one aggregated scan
+-- over the approved pay run snapshots joined with the employees' government IDs, instead of
+-- re-running payroll once per agency. remittance_file records each file with its employee
+-- and employer share totals so the agencies' acknowledgements can be reconciled.
+
+USE aoopdatabase_payroll;
+
+-- =============================================
+-- GENERATED FILES
+-- =============================================
+
+CREATE TABLE IF NOT EXISTS remittance_file (
+    file_id INT AUTO_INCREMENT PRIMARY KEY,
+    agency ENUM('SSS', 'PhilHealth', 'Pag-IBIG', 'BIR') NOT NULL,
+    period_start DATE NOT NULL,
+    period_end DATE NOT NULL,
+    file_name VARCHAR(255) NOT NULL,
+    record_count INT NOT NULL,
+    rejected_count INT NOT NULL DEFAULT 0,
+    employee_share DECIMAL(14,2) NOT NULL DEFAULT 0,
+    employer_share DECIMAL(14,2) NOT NULL DEFAULT 0,
+    created_by VARCHAR(100),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- The compliance tab lists a period's files
+CREATE INDEX idx_remittance_file_period ON remittance_file(period_start, agency);
+
+-- A month's remittances read every closed snapshot ending in it
+CREATE INDEX idx_pay_run_snapshot_period_end ON pay_run_snapshot(period_end);
+
+SELECT 'Remittance file table created successfully!' AS Status;
@@ -0,0 +1,32 @@
+-- Payroll Cost Allocation for MotorPH Payroll System
+-- Each employee's approved payroll is charged to the department of their position unless
+-- employee_cost_allocation splits it: an employee shared between departments gets one row
+-- per department with the percentage charged there. Rows are effective-dated so a period is
+-- always allocated with the splits that were in force when it ended.
+
+USE aoopdatabase_payroll;
+
+-- =============================================
+-- SPLIT ALLOCATIONS
+-- =============================================
+
+CREATE TABLE IF NOT EXISTS employee_cost_allocation (
+    employee_id INT NOT NULL,
+    department_id INT NOT NULL,
+    share_percent DECIMAL(5,2) NOT NULL,
+    effective_date DATE NOT NULL,
+    expiry_date DATE NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (employee_id, department_id, effective_date),
+    FOREIGN KEY (employee_id) REFERENCES employees(employee_id) ON DELETE CASCADE,
+    FOREIGN KEY (department_id) REFERENCES departments(department_id),
+    CHECK (share_percent > 0 AND share_percent <= 100)
+);
+
+-- A period loads the splits in force on its last day
+CREATE INDEX idx_cost_allocation_effective ON employee_cost_allocation(effective_date, expiry_date);
+
+-- Employees are charged to their position's department by title
+CREATE INDEX idx_positions_title ON positions(position_title);
+
+SELECT 'Cost allocation table created successfully!' AS Status;
@@ -0,0 +1,21 @@
+-- Dashboard Metric Counters for MotorPH Payroll System
+-- Dashboards no longer poll the employee list; they are pushed counters that DAOs keep up
+-- to date as they write. The counters are seeded and reconciled by one single-row query of
+-- counts, and these indexes keep each of its counts to an index range.
+
+USE aoopdatabase_payroll;
+
+-- =============================================
+-- COUNTER INDEXES
+-- =============================================
+
+-- Today's attendance and lateness: one day of punches
+CREATE INDEX idx_attendance_date ON attendance(date, log_in);
+
+-- Pending leave requests
+CREATE INDEX idx_leave_request_status ON leave_request(status);
+
+-- Recently added employees
+CREATE INDEX idx_employees_created ON employees(created_at);
+
+SELECT 'Dashboard metric indexes created successfully!' AS Status;
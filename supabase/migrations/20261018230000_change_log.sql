@@ -0,0 +1,27 @@
+-- Change Log for MotorPH Payroll System
+-- Open screens update the one table row a write touched instead of reloading the table. Within
+-- one instance of the application the change events travel in memory; when
+-- changes.bridge.enabled is set, each instance also appends its events here and polls for the
+-- events of the others. Rows are only needed until every instance has polled them and are
+-- purged after changes.log.retention.hours.
+
+USE aoopdatabase_payroll;
+
+-- =============================================
+-- CHANGE EVENTS
+-- =============================================
+
+CREATE TABLE IF NOT EXISTS change_log (
+    change_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    entity VARCHAR(20) NOT NULL,
+    entity_id INT NOT NULL DEFAULT 0,
+    employee_id INT NOT NULL DEFAULT 0,
+    change_kind VARCHAR(10) NOT NULL,
+    origin CHAR(36) NOT NULL,
+    changed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Purging expired events
+CREATE INDEX idx_change_log_changed ON change_log(changed_at);
+
+SELECT 'Change log created successfully!' AS Status;
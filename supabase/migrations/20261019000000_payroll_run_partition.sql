@@ -0,0 +1,31 @@
+-- Coordinated Pay Run Calculation for MotorPH Payroll System
+-- A draft pay run is calculated in partitions of consecutive employee IDs. Any number of
+-- workstations or headless workers claim pending partitions with SELECT ... FOR UPDATE
+-- SKIP LOCKED, keep a heartbeat while they calculate and store a partition's snapshot rows
+-- only while they still own it. A partition whose heartbeat stops is claimed again by the
+-- next worker, so a run finishes even if a machine drops out and no employee is written twice.
+
+USE aoopdatabase_payroll;
+
+-- =============================================
+-- RUN PARTITIONS
+-- =============================================
+
+CREATE TABLE IF NOT EXISTS payroll_run_partition (
+    run_id INT NOT NULL,
+    partition_no INT NOT NULL,
+    first_employee_id INT NOT NULL,
+    last_employee_id INT NOT NULL,
+    status ENUM('Pending', 'Running', 'Done', 'Failed') NOT NULL DEFAULT 'Pending',
+    claimed_by VARCHAR(100),
+    attempts INT NOT NULL DEFAULT 0,
+    heartbeat_at TIMESTAMP NULL,
+    completed_at TIMESTAMP NULL,
+    PRIMARY KEY (run_id, partition_no),
+    FOREIGN KEY (run_id) REFERENCES pay_run(run_id) ON DELETE CASCADE
+);
+
+-- Claiming: the open partitions of a run, or of any run for headless workers
+CREATE INDEX idx_run_partition_status ON payroll_run_partition(status, run_id, partition_no);
+
+SELECT 'Pay run partitions created successfully!' AS Status;